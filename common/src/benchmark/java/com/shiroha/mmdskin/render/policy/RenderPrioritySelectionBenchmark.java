@@ -0,0 +1,100 @@
+package com.shiroha.mmdskin.render.policy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文件职责：测量每帧优先级选择在大量实体下的耗时，并与旧的"记录列表 + Comparator 整表排序"对比。
+ * 距离按帧预先生成并轮换，测量只包含候选收集与选择本身。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderPrioritySelectionBenchmark {
+    private static final int FRAMES = 64;
+    private static final int VISIBLE_CAP = 24;
+    private static final float PHYSICS_BUDGET_MS = 4.0f;
+    private static final int PHYSICS_WORKERS = 8;
+    private static final double PHYSICS_DISTANCE = 24.0d;
+
+    @Param({"500"})
+    public int entities;
+
+    private final PrioritySelectionPass pass = new PrioritySelectionPass();
+    private SubjectState[] states;
+    private double[][] distancesByFrame;
+    private long frame;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(11L);
+        states = new SubjectState[entities];
+        for (int i = 0; i < entities; i++) {
+            states[i] = new SubjectState();
+            states[i].physicsCostMs = 0.2f + random.nextFloat();
+        }
+        distancesByFrame = new double[FRAMES][entities];
+        for (double[] distances : distancesByFrame) {
+            for (int i = 0; i < entities; i++) {
+                distances[i] = random.nextDouble() * 128.0d * 128.0d;
+            }
+        }
+    }
+
+    @Benchmark
+    public int selectionPass() {
+        double[] distances = nextFrame();
+        pass.begin(PHYSICS_WORKERS);
+        for (int i = 0; i < entities; i++) {
+            pass.addCandidate(states[i], distances[i]);
+        }
+        pass.select(frame, VISIBLE_CAP, true, PHYSICS_BUDGET_MS, PHYSICS_DISTANCE);
+        return pass.visibleCount() + pass.physicsCount();
+    }
+
+    /** 旧实现：每帧分配候选列表并整表排序 */
+    @Benchmark
+    public int fullSortBaseline() {
+        double[] distances = nextFrame();
+        List<Candidate> candidates = new ArrayList<>(entities);
+        for (int i = 0; i < entities; i++) {
+            candidates.add(new Candidate(states[i], distances[i]));
+        }
+        candidates.sort(Comparator.comparingDouble(Candidate::distanceSq));
+        int visible = 0;
+        for (Candidate candidate : candidates) {
+            if (visible >= VISIBLE_CAP) {
+                break;
+            }
+            candidate.state().visibleFrame = frame;
+            visible++;
+        }
+        return visible;
+    }
+
+    private double[] nextFrame() {
+        frame++;
+        return distancesByFrame[(int) (frame % FRAMES)];
+    }
+
+    private record Candidate(SubjectState state, double distanceSq) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.shiroha.mmdskin.stage.client.camera;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文件职责：对比整段解码与流式解码一首舞台音频的耗时。
+ * 默认使用生成的 60 秒 WAV；可用 -p file=路径 测量真实的 mp3/ogg/wav 文件。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StageAudioDecodeBenchmark {
+    private static final int SAMPLE_RATE = 44100;
+    private static final int CHANNELS = 2;
+    private static final int SECONDS = 60;
+    private static final int CHUNK_FRAMES = SAMPLE_RATE / 4;
+    private static final int CHUNK_COUNT = 8;
+
+    @Param({""})
+    public String file;
+
+    private File source;
+    private boolean generated;
+
+    @Setup
+    public void setUp() throws IOException {
+        generated = file == null || file.isEmpty();
+        source = generated ? writeTestWav() : new File(file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (generated) {
+            Files.deleteIfExists(source.toPath());
+        }
+    }
+
+    /** 旧实现：把整首音频解码进一块不断扩容的内存 */
+    @Benchmark
+    public long fullDecode() throws IOException {
+        try (StageAudioDecoder decoder = StageAudioDecoder.open(source)) {
+            ShortBuffer out = ByteBuffer.allocateDirect(CHUNK_FRAMES * decoder.channels() * 2)
+                    .order(ByteOrder.nativeOrder()).asShortBuffer();
+            long frames = 0L;
+            short[] all = new short[0];
+            int read;
+            while ((read = decoder.read(out)) > 0) {
+                int samples = read * decoder.channels();
+                long needed = (frames + read) * decoder.channels();
+                if (needed > all.length) {
+                    all = Arrays.copyOf(all, (int) Math.max(needed, all.length * 2L));
+                }
+                out.flip();
+                out.get(all, (int) (frames * decoder.channels()), samples);
+                out.clear();
+                frames += read;
+            }
+            return frames;
+        }
+    }
+
+    /** 流式管线：解码线程填充固定数量的分块，消费端取用后回收 */
+    @Benchmark
+    public long streamingDecode() throws Exception {
+        long frames = 0L;
+        try (StageAudioStream stream = new StageAudioStream(StageAudioDecoder.open(source), CHUNK_FRAMES, CHUNK_COUNT)) {
+            stream.start();
+            StageAudioStream.Chunk chunk;
+            while ((chunk = stream.take(5000L)) != null) {
+                frames += chunk.frames;
+                boolean end = chunk.endOfStream;
+                stream.recycle(chunk);
+                if (end) {
+                    break;
+                }
+            }
+        }
+        return frames;
+    }
+
+    private static File writeTestWav() throws IOException {
+        int frames = SECONDS * SAMPLE_RATE;
+        byte[] pcm = new byte[frames * CHANNELS * 2];
+        for (int frame = 0; frame < frames; frame++) {
+            for (int channel = 0; channel < CHANNELS; channel++) {
+                short value = (short) ((frame * 7 + channel * 13) % 32749 - 16374);
+                int offset = (frame * CHANNELS + channel) * 2;
+                pcm[offset] = (byte) value;
+                pcm[offset + 1] = (byte) (value >> 8);
+            }
+        }
+        AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, CHANNELS, true, false);
+        File file = Files.createTempFile("stage_audio_bench", ".wav").toFile();
+        try (AudioInputStream input = new AudioInputStream(new ByteArrayInputStream(pcm), format, frames)) {
+            AudioSystem.write(input, AudioFileFormat.Type.WAVE, file);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,80 @@
+package com.shiroha.mmdskin.stage.protocol;
+
+import com.shiroha.mmdskin.stage.domain.model.StageCameraMode;
+import com.shiroha.mmdskin.stage.domain.model.StageDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/** 文件职责：对比 S3 文本协议与二进制协议在典型舞台包上的编码加解码耗时。 */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StagePacketCodecBenchmark {
+    @Param({"FRAME_SYNC", "READY_UPDATE", "PLAYBACK_START", "SESSION_STATE"})
+    public StagePacketType type;
+
+    private StagePacket packet;
+
+    @Setup
+    public void setUp() {
+        packet = samplePacket(type);
+    }
+
+    @Benchmark
+    public StagePacket textRoundTrip() {
+        return StagePacketCodec.decode(StagePacketCodec.encode(packet));
+    }
+
+    @Benchmark
+    public StagePacket binaryRoundTrip() {
+        return StageBinaryPacketCodec.decode(StageBinaryPacketCodec.encode(packet));
+    }
+
+    private static StagePacket samplePacket(StagePacketType type) {
+        StagePacket packet = new StagePacket(type);
+        packet.sessionId = UUID.randomUUID().toString();
+        switch (type) {
+            case READY_UPDATE -> {
+                packet.targetPlayerId = UUID.randomUUID().toString();
+                packet.ready = true;
+                packet.cameraMode = StageCameraMode.HOST_CAMERA;
+                packet.motionPackName = "guest_pack";
+                packet.motionFiles = List.of("dance_a.vmd", "dance_b.vmd");
+            }
+            case SESSION_STATE -> {
+                List<StageMemberSnapshot> members = new ArrayList<>();
+                for (int i = 0; i < 6; i++) {
+                    members.add(new StageMemberSnapshot(UUID.randomUUID().toString(), "Player" + i, "READY", "HOST_CAMERA"));
+                }
+                packet.members = members;
+            }
+            case PLAYBACK_START -> {
+                packet.descriptor = new StageDescriptor("demo_pack",
+                        List.of("dance_a.vmd", "dance_b.vmd", "dance_c.vmd"), "camera.vmd", "music.ogg");
+                packet.frame = 0.0f;
+                packet.heightOffset = 0.25f;
+            }
+            case FRAME_SYNC -> packet.frame = 1234.5f;
+            default -> {
+            }
+        }
+        return packet;
+    }
+}
@@ -38,7 +38,10 @@ public class NativeFunc {
 
     public native void DeleteModel(long model);
 
-    public native void UpdateModel(long model, float deltaTime);
+    public native boolean UpdateModel(long model, float deltaTime);
+
+    public native void UpdateModelsBatch(long[] models, float[] deltaTimes, boolean[] cpuSkinning,
+                                          float[] physicsCostsMs, boolean[] poseChanged, int count);
 
     public native long GetVertexCount(long model);
 
@@ -140,6 +143,12 @@ public class NativeFunc {
 
     public native boolean PreloadFbxFile(String path);
 
+    public native boolean PreloadFbxFileAsync(String path);
+
+    public native void SetFbxCacheBudget(long bytes);
+
+    public native long GetFbxCacheMemoryUsage();
+
     public native String ListFbxStacks(String path);
 
     public native void ClearFbxCache();
@@ -150,6 +159,10 @@ public class NativeFunc {
 
     public native void GetCameraTransform(long anim, float frame, ByteBuffer buffer);
 
+    public native long BakeAnimation(long anim, boolean includeBones);
+
+    public native long GetAnimationMemoryUsage(long anim);
+
     public native boolean HasBoneData(long anim);
 
     public native boolean HasMorphData(long anim);
@@ -186,10 +199,14 @@ public class NativeFunc {
 
     public native void SetPhysicsEnabled(long model, boolean enabled);
 
+    public native void SetPhysicsLod(long model, int level);
+
     public native boolean IsPhysicsEnabled(long model);
 
     public native boolean HasPhysics(long model);
 
+    public native float GetPhysicsStepTime(long model);
+
     public native String GetPhysicsDebugInfo(long model);
 
     public native boolean IsMaterialVisible(long model, int index);
@@ -228,7 +245,7 @@ public class NativeFunc {
 
     public native String GetGpuSkinningDebugInfo(long model);
 
-    public native void UpdateAnimationOnly(long model, float deltaTime);
+    public native boolean UpdateAnimationOnly(long model, float deltaTime);
 
     public native void InitGpuSkinningData(long model);
 
@@ -280,6 +297,10 @@ public class NativeFunc {
 
     public native int BatchGetSubMeshData(long model, java.nio.ByteBuffer buffer);
 
+    public native int FetchFrameSnapshot(long model, java.nio.ByteBuffer buffer);
+
+    public native long WriteVertexStreams(long model, long positionAddress, long normalAddress, long uvAddress);
+
     public native void SetPhysicsConfig(
         boolean enabled,
         float gravityY,
@@ -305,6 +326,10 @@ public class NativeFunc {
 
     public native int CopyBonePositionsToBuffer(long model, java.nio.ByteBuffer buffer);
 
+    public native int CopyBoneLocalPoseToBuffer(long model, java.nio.ByteBuffer buffer);
+
+    public native void SetSyncedBonePose(long model, java.nio.ByteBuffer buffer, int count);
+
     public native int CopyRealtimeUVsToBuffer(long model, java.nio.ByteBuffer buffer);
 
     public native long GetModelMemoryUsage(long model);
@@ -1,21 +1,12 @@
 package com.shiroha.mmdskin.asset.catalog;
 
 import com.shiroha.mmdskin.config.PathConstants;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 
-import java.io.File;
-import java.io.FileFilter;
-import java.util.ArrayList;
 import java.util.List;
 
-/** 文件职责：扫描并缓存本地模型目录的元数据条目。 */
+/** 文件职责：本地模型目录的元数据条目，以及玩家模型目录索引的静态入口。 */
 public class ModelCatalogEntry {
-    private static final Logger logger = LogManager.getLogger();
-
-    private record CacheSnapshot(List<ModelCatalogEntry> models, long timestamp) {}
-    private static volatile CacheSnapshot cache = null;
-    private static final long CACHE_TTL = 5000;
+    private static final ModelCatalogIndex PLAYER_MODELS = new ModelCatalogIndex(PathConstants::getEntityPlayerDir);
 
     private final String folderName;
     private final String folderPath;
@@ -60,93 +51,22 @@ public class ModelCatalogEntry {
         return isPMD ? "PMD" : "PMX";
     }
 
+    /** EntityPlayer 下全部模型，按名称排序；由常驻索引维护，目录变化时增量更新 */
     public static List<ModelCatalogEntry> scanModels() {
-        CacheSnapshot snapshot = cache;
-        long now = System.currentTimeMillis();
-        if (snapshot != null && (now - snapshot.timestamp()) < CACHE_TTL) {
-            return snapshot.models();
-        }
-
-        List<ModelCatalogEntry> models = new ArrayList<>();
-        File entityPlayerDir = PathConstants.getEntityPlayerDir();
-
-        if (!entityPlayerDir.exists() || !entityPlayerDir.isDirectory()) {
-            logger.warn("EntityPlayer 目录不存在: {}", entityPlayerDir.getAbsolutePath());
-            return models;
-        }
-
-        File[] modelDirs = entityPlayerDir.listFiles(File::isDirectory);
-        if (modelDirs == null) {
-            return models;
-        }
-
-        for (File modelDir : modelDirs) {
-            ModelCatalogEntry info = scanModelFolder(modelDir);
-            if (info != null) {
-                models.add(info);
-                logger.debug("发现模型: {} -> {}", info.getFolderName(), info.getModelFileName());
-            }
-        }
-
-        models.sort((a, b) -> a.getFolderName().compareToIgnoreCase(b.getFolderName()));
-        cache = new CacheSnapshot(models, System.currentTimeMillis());
-        return models;
+        return PLAYER_MODELS.models();
     }
 
+    /** 立即整体重扫（界面"刷新"按钮），差异仍以事件推送给监听者 */
     public static void invalidateCache() {
-        cache = null;
-    }
-
-    private static ModelCatalogEntry scanModelFolder(File modelDir) {
-        FileFilter pmxFilter = file -> file.isFile() && file.getName().toLowerCase().endsWith(".pmx");
-        FileFilter pmdFilter = file -> file.isFile() && file.getName().toLowerCase().endsWith(".pmd");
-        FileFilter vrmFilter = file -> file.isFile() && file.getName().toLowerCase().endsWith(".vrm");
-
-        File[] pmxFiles = modelDir.listFiles(pmxFilter);
-        if (pmxFiles != null && pmxFiles.length > 0) {
-            File selected = findPreferredModel(pmxFiles);
-            return new ModelCatalogEntry(modelDir.getName(), modelDir.getAbsolutePath(),
-                    selected.getAbsolutePath(), selected.getName(), false, false, selected.length());
-        }
-
-        File[] pmdFiles = modelDir.listFiles(pmdFilter);
-        if (pmdFiles != null && pmdFiles.length > 0) {
-            File selected = findPreferredModel(pmdFiles);
-            return new ModelCatalogEntry(modelDir.getName(), modelDir.getAbsolutePath(),
-                    selected.getAbsolutePath(), selected.getName(), true, false, selected.length());
-        }
-
-        File[] vrmFiles = modelDir.listFiles(vrmFilter);
-        if (vrmFiles != null && vrmFiles.length > 0) {
-            File selected = findPreferredModel(vrmFiles);
-            return new ModelCatalogEntry(modelDir.getName(), modelDir.getAbsolutePath(),
-                    selected.getAbsolutePath(), selected.getName(), false, true, selected.length());
-        }
-
-        return null;
+        PLAYER_MODELS.refresh();
     }
 
-    private static File findPreferredModel(File[] files) {
-        if (files.length == 1) {
-            return files[0];
-        }
-        for (File file : files) {
-            String name = file.getName().toLowerCase();
-            if (name.equals("model.pmx") || name.equals("model.pmd")) {
-                return file;
-            }
-        }
-        java.util.Arrays.sort(files, (a, b) -> a.getName().compareToIgnoreCase(b.getName()));
-        return files[0];
+    /** 按文件夹名查找，O(1) 且不访问文件系统，可在渲染路径上调用；初始扫描完成前可能返回 null */
+    public static ModelCatalogEntry findByFolderName(String folderName) {
+        return PLAYER_MODELS.find(folderName);
     }
 
-    public static ModelCatalogEntry findByFolderName(String folderName) {
-        List<ModelCatalogEntry> models = scanModels();
-        for (ModelCatalogEntry info : models) {
-            if (info.getFolderName().equals(folderName)) {
-                return info;
-            }
-        }
-        return null;
+    public static ModelCatalogIndex playerModelIndex() {
+        return PLAYER_MODELS;
     }
 }
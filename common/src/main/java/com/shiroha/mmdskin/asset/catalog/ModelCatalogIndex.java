@@ -0,0 +1,312 @@
+package com.shiroha.mmdskin.asset.catalog;
+
+import com.shiroha.mmdskin.util.DirectoryWatcher;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * 文件职责：模型目录的常驻索引，按文件夹名哈希查找且查找本身不访问文件系统。
+ * 初始扫描随监听一起在后台线程启动，查找在扫描完成前只返回已扫描到的条目而不等待；
+ * 根目录与各模型文件夹由后台线程监听，变化时只重扫受影响的文件夹并推送增删改事件；
+ * 无法监听时由列表查询（界面路径）按固定间隔整体重扫。
+ */
+public final class ModelCatalogIndex {
+    private static final Logger logger = LogManager.getLogger();
+
+    /** 无法监听根目录时列表快照的有效期 */
+    static final long UNWATCHED_REFRESH_MS = 5_000L;
+
+    private static final Comparator<ModelCatalogEntry> BY_NAME =
+            (a, b) -> a.getFolderName().compareToIgnoreCase(b.getFolderName());
+
+    private final Supplier<File> rootSupplier;
+    private final LongSupplier clock;
+    private final DirectoryWatcher watcher;
+    private final Executor loader;
+    private final AtomicBoolean loadStarted = new AtomicBoolean();
+    private final Map<String, ModelCatalogEntry> entriesByFolder = new ConcurrentHashMap<>();
+    private final Set<Consumer<Change>> listeners = new CopyOnWriteArraySet<>();
+    private volatile List<ModelCatalogEntry> sortedEntries = List.of();
+    private volatile boolean loaded;
+    private volatile boolean rootWatched;
+    private volatile long scannedAt;
+    private Path rootPath;
+
+    public ModelCatalogIndex(Supplier<File> rootSupplier) {
+        this(rootSupplier, System::currentTimeMillis, true, ModelCatalogIndex::startLoaderThread);
+        startLoading();
+    }
+
+    /** 测试用：初始扫描在首次查询时于调用线程同步完成 */
+    ModelCatalogIndex(Supplier<File> rootSupplier, LongSupplier clock, boolean watch) {
+        this(rootSupplier, clock, watch, Runnable::run);
+    }
+
+    ModelCatalogIndex(Supplier<File> rootSupplier, LongSupplier clock, boolean watch, Executor loader) {
+        this.rootSupplier = rootSupplier;
+        this.clock = clock;
+        this.watcher = watch ? new DirectoryWatcher("MMD-ModelCatalogWatcher", this::onDirectoryChanged) : null;
+        this.loader = loader;
+    }
+
+    /** 按文件夹名查找，只读内存；初始扫描未完成时可能返回 null，可用 isLoaded 区分 */
+    public ModelCatalogEntry find(String folderName) {
+        if (folderName == null) {
+            return null;
+        }
+        if (!loaded) {
+            startLoading();
+        }
+        return entriesByFolder.get(folderName);
+    }
+
+    /** 初始扫描是否已完成 */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /** 按名称排序的全部模型；根目录未被监听时按间隔重扫 */
+    public List<ModelCatalogEntry> models() {
+        ensureLoaded();
+        if (!rootWatched && clock.getAsLong() - scannedAt >= UNWATCHED_REFRESH_MS) {
+            refresh();
+        }
+        return sortedEntries;
+    }
+
+    /** 整体重扫根目录，与现有索引的差异以事件推送 */
+    public void refresh() {
+        publish(rescanAll());
+    }
+
+    public void addListener(Consumer<Change> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<Change> listener) {
+        listeners.remove(listener);
+    }
+
+    /** 列表查询在界面路径上，初始扫描未完成时同步等待（或代为完成）而不是返回空列表 */
+    private void ensureLoaded() {
+        if (!loaded) {
+            publish(loadOnce());
+        }
+    }
+
+    private void startLoading() {
+        if (!loadStarted.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            loader.execute(() -> publish(loadOnce()));
+        } catch (RejectedExecutionException e) {
+            logger.warn("模型目录初始扫描提交失败: {}", e.getMessage());
+            loadStarted.set(false);
+        }
+    }
+
+    private synchronized List<Change> loadOnce() {
+        return loaded ? List.of() : rescanAll();
+    }
+
+    private static void startLoaderThread(Runnable task) {
+        Thread thread = new Thread(task, "MMD-ModelCatalogLoader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void onDirectoryChanged(Path directory) {
+        List<Change> changes;
+        synchronized (this) {
+            if (rootPath == null) {
+                return;
+            }
+            if (directory.equals(rootPath)) {
+                changes = syncRoot();
+            } else if (rootPath.equals(directory.getParent())) {
+                changes = new ArrayList<>();
+                rescanFolder(directory.toFile(), changes);
+                rebuildSorted(changes);
+            } else {
+                return;
+            }
+        }
+        publish(changes);
+    }
+
+    private synchronized List<Change> rescanAll() {
+        File root = rootSupplier.get();
+        rootPath = root.toPath().toAbsolutePath().normalize();
+        rootWatched = watcher != null && watcher.watch(rootPath);
+        List<Change> changes = new ArrayList<>();
+        Set<String> present = new HashSet<>();
+        File[] folders = root.listFiles(File::isDirectory);
+        if (folders == null) {
+            logger.warn("模型目录不存在: {}", root.getAbsolutePath());
+        } else {
+            for (File folder : folders) {
+                present.add(folder.getName());
+                rescanFolder(folder, changes);
+            }
+        }
+        for (String folderName : List.copyOf(entriesByFolder.keySet())) {
+            if (!present.contains(folderName)) {
+                changes.add(new Change(ChangeKind.REMOVED, folderName, entriesByFolder.remove(folderName)));
+            }
+        }
+        scannedAt = clock.getAsLong();
+        loaded = true;
+        rebuildSorted(changes);
+        return changes;
+    }
+
+    /** 根目录变化：只扫描新增的文件夹并移除已删除的文件夹，其余文件夹由各自的监听负责 */
+    private List<Change> syncRoot() {
+        List<Change> changes = new ArrayList<>();
+        Set<String> present = new HashSet<>();
+        File[] folders = rootPath.toFile().listFiles(File::isDirectory);
+        if (folders != null) {
+            for (File folder : folders) {
+                present.add(folder.getName());
+                if (!entriesByFolder.containsKey(folder.getName())) {
+                    rescanFolder(folder, changes);
+                }
+            }
+        }
+        for (String folderName : List.copyOf(entriesByFolder.keySet())) {
+            if (!present.contains(folderName)) {
+                changes.add(new Change(ChangeKind.REMOVED, folderName, entriesByFolder.remove(folderName)));
+            }
+        }
+        rebuildSorted(changes);
+        return changes;
+    }
+
+    private void rescanFolder(File folder, List<Change> changes) {
+        if (watcher != null && folder.isDirectory()) {
+            watcher.watch(folder.toPath());
+        }
+        String folderName = folder.getName();
+        ModelCatalogEntry scanned = folder.isDirectory() ? scanFolder(folder) : null;
+        ModelCatalogEntry previous = scanned != null
+                ? entriesByFolder.put(folderName, scanned)
+                : entriesByFolder.remove(folderName);
+        if (previous == null && scanned != null) {
+            changes.add(new Change(ChangeKind.ADDED, folderName, scanned));
+        } else if (previous != null && scanned == null) {
+            changes.add(new Change(ChangeKind.REMOVED, folderName, previous));
+        } else if (previous != null && !sameModel(previous, scanned)) {
+            changes.add(new Change(ChangeKind.UPDATED, folderName, scanned));
+        }
+    }
+
+    private void rebuildSorted(List<Change> changes) {
+        if (changes.isEmpty() && !sortedEntries.isEmpty()) {
+            return;
+        }
+        List<ModelCatalogEntry> sorted = new ArrayList<>(entriesByFolder.values());
+        sorted.sort(BY_NAME);
+        sortedEntries = List.copyOf(sorted);
+    }
+
+    private void publish(List<Change> changes) {
+        for (Change change : changes) {
+            logger.debug("模型目录变化: {} {}", change.kind(), change.folderName());
+            for (Consumer<Change> listener : listeners) {
+                try {
+                    listener.accept(change);
+                } catch (RuntimeException e) {
+                    logger.warn("模型目录变化回调失败 {}: {}", change.folderName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** 单次列出文件夹内容，按 PMX > PMD > VRM 的优先级选出模型文件 */
+    static ModelCatalogEntry scanFolder(File folder) {
+        File[] files = folder.listFiles(File::isFile);
+        if (files == null) {
+            return null;
+        }
+        List<File> pmx = new ArrayList<>();
+        List<File> pmd = new ArrayList<>();
+        List<File> vrm = new ArrayList<>();
+        for (File file : files) {
+            String name = file.getName().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".pmx")) {
+                pmx.add(file);
+            } else if (name.endsWith(".pmd")) {
+                pmd.add(file);
+            } else if (name.endsWith(".vrm")) {
+                vrm.add(file);
+            }
+        }
+        if (!pmx.isEmpty()) {
+            return entryOf(folder, findPreferredModel(pmx), false, false);
+        }
+        if (!pmd.isEmpty()) {
+            return entryOf(folder, findPreferredModel(pmd), true, false);
+        }
+        if (!vrm.isEmpty()) {
+            return entryOf(folder, findPreferredModel(vrm), false, true);
+        }
+        return null;
+    }
+
+    private static ModelCatalogEntry entryOf(File folder, File modelFile, boolean isPmd, boolean isVrm) {
+        return new ModelCatalogEntry(folder.getName(), folder.getAbsolutePath(),
+                modelFile.getAbsolutePath(), modelFile.getName(), isPmd, isVrm, modelFile.length());
+    }
+
+    private static File findPreferredModel(List<File> files) {
+        if (files.size() == 1) {
+            return files.get(0);
+        }
+        for (File file : files) {
+            String name = file.getName().toLowerCase(Locale.ROOT);
+            if (name.equals("model.pmx") || name.equals("model.pmd")) {
+                return file;
+            }
+        }
+        File[] sorted = files.toArray(new File[0]);
+        Arrays.sort(sorted, (a, b) -> a.getName().compareToIgnoreCase(b.getName()));
+        return sorted[0];
+    }
+
+    private static boolean sameModel(ModelCatalogEntry a, ModelCatalogEntry b) {
+        return Objects.equals(a.getModelFilePath(), b.getModelFilePath())
+                && a.getFileSize() == b.getFileSize()
+                && a.isPMD() == b.isPMD()
+                && a.isVRM() == b.isVRM();
+    }
+
+    public enum ChangeKind {
+        ADDED,
+        UPDATED,
+        REMOVED
+    }
+
+    /** 目录变化事件；REMOVED 时 entry 为被移除前的条目 */
+    public record Change(ChangeKind kind, String folderName, ModelCatalogEntry entry) {
+    }
+}
@@ -1,10 +1,14 @@
 package com.shiroha.mmdskin.bridge.runtime;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import com.shiroha.mmdskin.NativeFunc;
 import java.nio.ByteBuffer;
+import java.util.List;
 
 /** 文件职责：收口动画句柄的 native 调用。 */
 public final class NativeAnimationBridge implements NativeAnimationPort {
+    private static final Gson GSON = new Gson();
 
     @Override
     public long loadAnimation(long modelHandle, String animationPath) {
@@ -50,4 +54,33 @@ public final class NativeAnimationBridge implements NativeAnimationPort {
     public void getCameraTransform(long animationHandle, float frame, ByteBuffer targetBuffer) {
         NativeFunc.GetInst().GetCameraTransform(animationHandle, frame, targetBuffer);
     }
+
+    @Override
+    public long bakeAnimation(long animationHandle, boolean includeBones) {
+        return NativeFunc.GetInst().BakeAnimation(animationHandle, includeBones);
+    }
+
+    @Override
+    public long getAnimationMemoryUsage(long animationHandle) {
+        return NativeFunc.GetInst().GetAnimationMemoryUsage(animationHandle);
+    }
+
+    @Override
+    public boolean preloadFbxAsync(String fbxPath) {
+        return NativeFunc.GetInst().PreloadFbxFileAsync(fbxPath);
+    }
+
+    @Override
+    public List<String> listFbxStacks(String fbxPath) {
+        String json = NativeFunc.GetInst().ListFbxStacks(fbxPath);
+        if (json == null) {
+            return null;
+        }
+        try {
+            String[] stacks = GSON.fromJson(json, String[].class);
+            return stacks != null ? List.of(stacks) : null;
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.shiroha.mmdskin.bridge.runtime;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 
 /** 文件职责：集中定义动画句柄、时间线与相机采样相关的 native 能力。 */
 public interface NativeAnimationPort {
@@ -22,4 +23,16 @@ public interface NativeAnimationPort {
     void seekLayer(long modelHandle, long layer, float frame);
 
     void getCameraTransform(long animationHandle, float frame, ByteBuffer targetBuffer);
+
+    /** 预烘焙相机（及可选骨骼）采样数组，返回占用字节数；不支持或句柄无效时返回 0 */
+    long bakeAnimation(long animationHandle, boolean includeBones);
+
+    /** 估算动画句柄的常驻内存（字节），句柄无效时返回 0 */
+    long getAnimationMemoryUsage(long animationHandle);
+
+    /** 提交 FBX 后台解析以预热缓存，立即返回；已缓存或已在解析时也返回 true */
+    boolean preloadFbxAsync(String fbxPath);
+
+    /** 列出 FBX 文件的动作栈名，无法解析时返回 null */
+    List<String> listFbxStacks(String fbxPath);
 }
@@ -0,0 +1,31 @@
+package com.shiroha.mmdskin.bridge.runtime;
+
+import java.nio.ByteBuffer;
+
+/** 文件职责：定义网络骨骼姿势同步所需的 native 采样与覆盖能力。 */
+public interface NativePoseSyncPort {
+
+    NativePoseSyncPort NOOP = new NativePoseSyncPort() {
+        @Override
+        public int getBoneCount(long modelHandle) {
+            return 0;
+        }
+
+        @Override
+        public int copyBoneLocalPoseToBuffer(long modelHandle, ByteBuffer targetBuffer) {
+            return 0;
+        }
+
+        @Override
+        public void setSyncedBonePose(long modelHandle, ByteBuffer poseBuffer, int count) {
+        }
+    };
+
+    int getBoneCount(long modelHandle);
+
+    /** 每根骨骼 7 个 float：tx, ty, tz, qx, qy, qz, qw（本地字节序） */
+    int copyBoneLocalPoseToBuffer(long modelHandle, ByteBuffer targetBuffer);
+
+    /** 每条记录 8 个 4 字节字段：index, tx, ty, tz, qx, qy, qz, qw；count 为 0 时清除覆盖 */
+    void setSyncedBonePose(long modelHandle, ByteBuffer poseBuffer, int count);
+}
@@ -15,9 +15,20 @@ public interface NativeRenderBackendPort extends NativeModelPort, NativeModelLoa
 
     void setPhysicsEnabled(long modelHandle, boolean enabled);
 
-    void updateModel(long modelHandle, float deltaTime);
+    /** 设置物理细节等级（0=每帧，1=1/2 频率，2=1/4 频率，3=冻结）。 */
+    void setPhysicsLod(long modelHandle, int level);
 
-    void updateAnimationOnly(long modelHandle, float deltaTime);
+    /** 平滑后的单帧物理步进耗时（毫秒），物理未运行过时为 0。 */
+    float getPhysicsStepTimeMs(long modelHandle);
+
+    /** 返回本次更新后姿势是否变化；未变化时 native 不重新蒙皮，顶点数据沿用上一帧。 */
+    boolean updateModel(long modelHandle, float deltaTime);
+
+    boolean updateAnimationOnly(long modelHandle, float deltaTime);
+
+    /** physicsCostsMs 为各模型最近的物理步进耗时，用于安排并行顺序；各模型姿势是否变化写入 poseChanged。 */
+    void updateModelsBatch(long[] modelHandles, float[] deltaTimes, boolean[] cpuSkinning, float[] physicsCostsMs,
+                           boolean[] poseChanged, int count);
 
     int getIndexElementSize(long modelHandle);
 
@@ -62,4 +73,8 @@ public interface NativeRenderBackendPort extends NativeModelPort, NativeModelLoa
     int getSubMeshCount(long modelHandle);
 
     int batchGetSubMeshData(long modelHandle, ByteBuffer targetBuffer);
+
+    int fetchFrameSnapshot(long modelHandle, ByteBuffer targetBuffer);
+
+    long writeVertexStreams(long modelHandle, long positionAddress, long normalAddress, long uvAddress);
 }
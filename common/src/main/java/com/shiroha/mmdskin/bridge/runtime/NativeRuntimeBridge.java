@@ -17,6 +17,7 @@ public final class NativeRuntimeBridge implements
         NativeModelQueryPort,
         NativeMorphPort,
         NativeScenePort,
+        NativePoseSyncPort,
         PlatformCapabilityPort {
     private static final Logger logger = LogManager.getLogger();
 
@@ -97,13 +98,29 @@ public final class NativeRuntimeBridge implements
     }
 
     @Override
-    public void updateModel(long modelHandle, float deltaTime) {
-        nativeFunc().UpdateModel(modelHandle, deltaTime);
+    public void setPhysicsLod(long modelHandle, int level) {
+        nativeFunc().SetPhysicsLod(modelHandle, level);
     }
 
     @Override
-    public void updateAnimationOnly(long modelHandle, float deltaTime) {
-        nativeFunc().UpdateAnimationOnly(modelHandle, deltaTime);
+    public float getPhysicsStepTimeMs(long modelHandle) {
+        return nativeFunc().GetPhysicsStepTime(modelHandle);
+    }
+
+    @Override
+    public boolean updateModel(long modelHandle, float deltaTime) {
+        return nativeFunc().UpdateModel(modelHandle, deltaTime);
+    }
+
+    @Override
+    public boolean updateAnimationOnly(long modelHandle, float deltaTime) {
+        return nativeFunc().UpdateAnimationOnly(modelHandle, deltaTime);
+    }
+
+    @Override
+    public void updateModelsBatch(long[] modelHandles, float[] deltaTimes, boolean[] cpuSkinning,
+                                  float[] physicsCostsMs, boolean[] poseChanged, int count) {
+        nativeFunc().UpdateModelsBatch(modelHandles, deltaTimes, cpuSkinning, physicsCostsMs, poseChanged, count);
     }
 
     @Override
@@ -240,6 +257,16 @@ public final class NativeRuntimeBridge implements
         return nativeFunc().CopyBonePositionsToBuffer(modelHandle, targetBuffer);
     }
 
+    @Override
+    public int copyBoneLocalPoseToBuffer(long modelHandle, ByteBuffer targetBuffer) {
+        return nativeFunc().CopyBoneLocalPoseToBuffer(modelHandle, targetBuffer);
+    }
+
+    @Override
+    public void setSyncedBonePose(long modelHandle, ByteBuffer poseBuffer, int count) {
+        nativeFunc().SetSyncedBonePose(modelHandle, poseBuffer, count);
+    }
+
     @Override
     public int copyOriginalPositionsToBuffer(long modelHandle, ByteBuffer targetBuffer, int vertexCount) {
         return nativeFunc().CopyOriginalPositionsToBuffer(modelHandle, targetBuffer, vertexCount);
@@ -370,6 +397,16 @@ public final class NativeRuntimeBridge implements
         return nativeFunc().BatchGetSubMeshData(modelHandle, targetBuffer);
     }
 
+    @Override
+    public int fetchFrameSnapshot(long modelHandle, ByteBuffer targetBuffer) {
+        return nativeFunc().FetchFrameSnapshot(modelHandle, targetBuffer);
+    }
+
+    @Override
+    public long writeVertexStreams(long modelHandle, long positionAddress, long normalAddress, long uvAddress) {
+        return nativeFunc().WriteVertexStreams(modelHandle, positionAddress, normalAddress, uvAddress);
+    }
+
     @Override
     public void resetAllMorphs(long modelHandle) {
         nativeFunc().ResetAllMorphs(modelHandle);
@@ -13,9 +13,13 @@ public abstract class AbstractMmdSkinConfig implements ConfigManager.IConfigProv
 
     @Override public boolean isOpenGLLightingEnabled() { return data.openGLEnableLighting; }
     @Override public int getModelPoolMaxCount() { return data.modelPoolMaxCount; }
+    @Override public int getModelCacheRamBudgetMb() { return data.modelCacheRamBudgetMb; }
+    @Override public int getModelCacheVramBudgetMb() { return data.modelCacheVramBudgetMb; }
     @Override public boolean isMMDShaderEnabled() { return data.mmdShaderEnabled; }
     @Override public boolean isGpuSkinningEnabled() { return data.gpuSkinningEnabled; }
     @Override public boolean isGpuMorphEnabled() { return data.gpuMorphEnabled; }
+    @Override public boolean isGpuBatchSkinningEnabled() { return data.gpuBatchSkinningEnabled; }
+    @Override public boolean isPersistentVertexStreamingEnabled() { return data.persistentVertexStreamingEnabled; }
     @Override public int getMaxBones() { return data.maxBones; }
     @Override public boolean isPerformanceProfilingEnabled() { return data.performanceProfilingEnabled; }
     @Override public int getPerformanceLogIntervalSeconds() { return data.performanceLogIntervalSeconds; }
@@ -49,7 +53,7 @@ public abstract class AbstractMmdSkinConfig implements ConfigManager.IConfigProv
     @Override public boolean isPhysicsJointsEnabled() { return data.physicsJointsEnabled; }
     @Override public boolean isPhysicsKinematicFilter() { return data.physicsKinematicFilter; }
     @Override public boolean isPhysicsDebugLog() { return data.physicsDebugLog; }
-    @Override public int getMaxPhysicsModelsPerFrame() { return data.maxPhysicsModelsPerFrame; }
+    @Override public float getPhysicsBudgetMs() { return data.physicsBudgetMs; }
     @Override public float getPhysicsLodMaxDistance() { return data.physicsLodMaxDistance; }
 
     @Override public boolean isFirstPersonModelEnabled() { return data.firstPersonModelEnabled; }
@@ -57,6 +61,13 @@ public abstract class AbstractMmdSkinConfig implements ConfigManager.IConfigProv
     @Override public float getFirstPersonCameraVerticalOffset() { return data.firstPersonCameraVerticalOffset; }
     @Override public boolean isDebugHudEnabled() { return data.debugHudEnabled; }
     @Override public int getTextureCacheBudgetMB() { return data.textureCacheBudgetMB; }
+    @Override public boolean isTextureDiskCacheEnabled() { return data.textureDiskCacheEnabled; }
+    @Override public boolean isTextureCompressionEnabled() { return data.textureCompressionEnabled; }
+    @Override public int getTextureDiskCacheLimitMB() { return data.textureDiskCacheLimitMB; }
+    @Override public boolean isTextureStreamingEnabled() { return data.textureStreamingEnabled; }
+    @Override public int getTextureVramBudgetMB() { return data.textureVramBudgetMB; }
+    @Override public boolean isBoneSyncEnabled() { return data.boneSyncEnabled; }
+    @Override public int getBoneSyncBudgetKBps() { return data.boneSyncBudgetKBps; }
     @Override public String getMobModelReplacement(String entityTypeId) {
         return data.mobModelReplacements.getOrDefault(entityTypeId, "");
     }
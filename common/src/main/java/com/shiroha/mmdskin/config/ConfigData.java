@@ -23,10 +23,14 @@ public class ConfigData {
 
     public boolean openGLEnableLighting = true;
     public int modelPoolMaxCount = 20;
+    public int modelCacheRamBudgetMb = 4096;
+    public int modelCacheVramBudgetMb = 2048;
     public boolean mmdShaderEnabled = false;
 
     public boolean gpuSkinningEnabled = false;
     public boolean gpuMorphEnabled = false;
+    public boolean gpuBatchSkinningEnabled = true;
+    public boolean persistentVertexStreamingEnabled = false;
     public int maxBones = 2048;
     public boolean performanceProfilingEnabled = false;
     public int performanceLogIntervalSeconds = 5;
@@ -61,7 +65,7 @@ public class ConfigData {
     public boolean physicsJointsEnabled = true;
     public boolean physicsKinematicFilter = true;
     public boolean physicsDebugLog = false;
-    public int maxPhysicsModelsPerFrame = 10;
+    public float physicsBudgetMs = 4.0f;
     public float physicsLodMaxDistance = 24.0f;
 
     public boolean firstPersonModelEnabled = false;
@@ -69,6 +73,14 @@ public class ConfigData {
     public float firstPersonCameraVerticalOffset = 0.0f;
 
     public int textureCacheBudgetMB = 256;
+    public boolean textureDiskCacheEnabled = true;
+    public boolean textureCompressionEnabled = false;
+    public int textureDiskCacheLimitMB = 2048;
+    public boolean textureStreamingEnabled = true;
+    public int textureVramBudgetMB = 2048;
+
+    public boolean boneSyncEnabled = true;
+    public int boneSyncBudgetKBps = 12;
 
     public boolean debugHudEnabled = false;
 
@@ -139,7 +151,7 @@ public class ConfigData {
         toonOutlineR = clamp(toonOutlineR, 0.0f, 1.0f);
         toonOutlineG = clamp(toonOutlineG, 0.0f, 1.0f);
         toonOutlineB = clamp(toonOutlineB, 0.0f, 1.0f);
-        maxPhysicsModelsPerFrame = Math.max(1, maxPhysicsModelsPerFrame);
+        physicsBudgetMs = clamp(physicsBudgetMs, 0.5f, 20.0f);
         physicsLodMaxDistance = Math.max(0.0f, physicsLodMaxDistance);
     }
 
@@ -23,6 +23,14 @@ public class ConfigManager {
         return provider != null ? provider.getModelPoolMaxCount() : 20;
     }
 
+    public static int getModelCacheRamBudgetMb() {
+        return provider != null ? provider.getModelCacheRamBudgetMb() : 4096;
+    }
+
+    public static int getModelCacheVramBudgetMb() {
+        return provider != null ? provider.getModelCacheVramBudgetMb() : 2048;
+    }
+
     public static boolean isMMDShaderEnabled() {
         return provider != null ? provider.isMMDShaderEnabled() : false;
     }
@@ -35,6 +43,14 @@ public class ConfigManager {
         return provider != null ? provider.isGpuMorphEnabled() : false;
     }
 
+    public static boolean isGpuBatchSkinningEnabled() {
+        return provider != null ? provider.isGpuBatchSkinningEnabled() : true;
+    }
+
+    public static boolean isPersistentVertexStreamingEnabled() {
+        return provider != null ? provider.isPersistentVertexStreamingEnabled() : false;
+    }
+
     public static int getMaxBones() {
         return provider != null ? provider.getMaxBones() : 2048;
     }
@@ -163,8 +179,8 @@ public class ConfigManager {
         return provider != null ? provider.isPhysicsDebugLog() : false;
     }
 
-    public static int getMaxPhysicsModelsPerFrame() {
-        return provider != null ? provider.getMaxPhysicsModelsPerFrame() : 10;
+    public static float getPhysicsBudgetMs() {
+        return provider != null ? provider.getPhysicsBudgetMs() : 4.0f;
     }
 
     public static float getPhysicsLodMaxDistance() {
@@ -187,6 +203,34 @@ public class ConfigManager {
         return provider != null ? provider.getTextureCacheBudgetMB() : 256;
     }
 
+    public static boolean isTextureDiskCacheEnabled() {
+        return provider != null ? provider.isTextureDiskCacheEnabled() : true;
+    }
+
+    public static boolean isTextureCompressionEnabled() {
+        return provider != null ? provider.isTextureCompressionEnabled() : false;
+    }
+
+    public static int getTextureDiskCacheLimitMB() {
+        return provider != null ? provider.getTextureDiskCacheLimitMB() : 2048;
+    }
+
+    public static boolean isTextureStreamingEnabled() {
+        return provider != null ? provider.isTextureStreamingEnabled() : true;
+    }
+
+    public static int getTextureVramBudgetMB() {
+        return provider != null ? provider.getTextureVramBudgetMB() : 2048;
+    }
+
+    public static boolean isBoneSyncEnabled() {
+        return provider != null ? provider.isBoneSyncEnabled() : true;
+    }
+
+    public static int getBoneSyncBudgetKBps() {
+        return provider != null ? provider.getBoneSyncBudgetKBps() : 12;
+    }
+
     public static boolean isDebugHudEnabled() {
         return provider != null ? provider.isDebugHudEnabled() : false;
     }
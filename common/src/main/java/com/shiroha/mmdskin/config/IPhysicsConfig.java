@@ -26,7 +26,7 @@ public interface IPhysicsConfig {
 
     default boolean isPhysicsDebugLog() { return false; }
 
-    default int getMaxPhysicsModelsPerFrame() { return 10; }
+    default float getPhysicsBudgetMs() { return 4.0f; }
 
     default float getPhysicsLodMaxDistance() { return 24.0f; }
 }
@@ -7,12 +7,21 @@ package com.shiroha.mmdskin.config;
 public interface IRenderConfig {
     boolean isOpenGLLightingEnabled();
     int getModelPoolMaxCount();
+
+    default int getModelCacheRamBudgetMb() { return 4096; }
+
+    default int getModelCacheVramBudgetMb() { return 2048; }
+
     boolean isMMDShaderEnabled();
 
     default boolean isGpuSkinningEnabled() { return false; }
 
     default boolean isGpuMorphEnabled() { return false; }
 
+    default boolean isGpuBatchSkinningEnabled() { return true; }
+
+    default boolean isPersistentVertexStreamingEnabled() { return false; }
+
     default int getMaxBones() { return 2048; }
 
     default boolean isPerformanceProfilingEnabled() { return false; }
@@ -38,4 +47,18 @@ public interface IRenderConfig {
     default boolean isDebugHudEnabled() { return false; }
 
     default int getTextureCacheBudgetMB() { return 256; }
+
+    default boolean isTextureDiskCacheEnabled() { return true; }
+
+    default boolean isTextureCompressionEnabled() { return false; }
+
+    default int getTextureDiskCacheLimitMB() { return 2048; }
+
+    default boolean isTextureStreamingEnabled() { return true; }
+
+    default int getTextureVramBudgetMB() { return 2048; }
+
+    default boolean isBoneSyncEnabled() { return true; }
+
+    default int getBoneSyncBudgetKBps() { return 12; }
 }
@@ -27,6 +27,8 @@ public final class PathConstants {
     public static final String CUSTOM_MORPH_DIR = "CustomMorph";
 
     public static final String SHADER_DIR = "shader";
+    public static final String TEXTURE_CACHE_DIR = ".cache/textures";
+    public static final String FBX_STACK_INDEX = ".cache/fbx_stacks.json";
 
     public static final String ACTION_WHEEL_CONFIG = "action_wheel.json";
     public static final String MODEL_SELECTOR_CONFIG = "model_selector.json";
@@ -98,6 +100,14 @@ public final class PathConstants {
         return new File(getSkinRootDir(), SHADER_DIR);
     }
 
+    public static File getTextureCacheDir() {
+        return new File(getSkinRootDir(), TEXTURE_CACHE_DIR);
+    }
+
+    public static File getFbxStackIndexFile() {
+        return new File(getSkinRootDir(), FBX_STACK_INDEX);
+    }
+
     public static File getModelDir(String modelName) {
         return new File(getEntityPlayerDir(), modelName);
     }
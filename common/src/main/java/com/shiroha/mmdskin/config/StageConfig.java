@@ -24,6 +24,8 @@ public class StageConfig {
     public boolean cinematicMode = true;
     public float cameraHeightOffset = 0.0f;
     public float audioVolume = 1.0f;
+    /** 开播时连同骨骼轨道一起预烘焙；长动作会占用较多内存，默认只烘焙相机 */
+    public boolean bakeBoneTracks = false;
 
     private StageConfig() {}
 
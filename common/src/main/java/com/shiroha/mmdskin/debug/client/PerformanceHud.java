@@ -4,6 +4,10 @@ import com.shiroha.mmdskin.bridge.runtime.NativeModelQueryPort;
 import com.shiroha.mmdskin.config.ConfigManager;
 import com.shiroha.mmdskin.model.runtime.ManagedModel;
 import com.shiroha.mmdskin.model.runtime.ModelInstance;
+import com.shiroha.mmdskin.model.runtime.SharedAnimationPool;
+import com.shiroha.mmdskin.model.runtime.cache.ModelCache;
+import com.shiroha.mmdskin.model.runtime.loading.ModelLoadCoordinator;
+import com.shiroha.mmdskin.player.sync.BoneSyncManager;
 import com.shiroha.mmdskin.render.bootstrap.ClientRenderRuntime;
 import com.shiroha.mmdskin.texture.runtime.TextureRepository;
 import java.util.ArrayList;
@@ -118,6 +122,23 @@ public class PerformanceHud {
             addLine(String.format("  Models   current %d  total %d", models.size(), totalLoaded), VALUE_COLOR);
         }
 
+        ModelCache.CacheStats cacheStats = ClientRenderRuntime.get().modelDiagnostics().cacheStats();
+        addLine(String.format("  Cache    hit %.1f%%  evicted %d  RAM %s / %s  VRAM %s / %s",
+                cacheStats.hitRate() * 100.0, cacheStats.evictions(),
+                fmtB(cacheStats.ramBytes()), fmtB(ConfigManager.getModelCacheRamBudgetMb() * 1024L * 1024L),
+                fmtB(cacheStats.vramBytes()), fmtB(ConfigManager.getModelCacheVramBudgetMb() * 1024L * 1024L)), VALUE_COLOR);
+
+        ModelLoadCoordinator.LoadStats loadStats = ClientRenderRuntime.get().modelDiagnostics().loadStats();
+        addLine(String.format("  Loading  queued %d  running %d  first render avg %dms  max %dms",
+                loadStats.queued(), loadStats.running(),
+                loadStats.averageTimeToFirstRenderMs(), loadStats.maxTimeToFirstRenderMs()),
+                loadStats.queued() > 0 ? WARN_COLOR : VALUE_COLOR);
+
+        SharedAnimationPool.PoolStats animStats = ManagedModel.animationPoolStats();
+        addLine(String.format("  Anims    shared %d  refs %d  RAM %s  saved %s",
+                animStats.animations(), animStats.references(),
+                fmtB(animStats.residentBytes()), fmtB(animStats.savedBytes())), VALUE_COLOR);
+
         int pendingTextures = TextureRepository.getPendingReleaseCount();
         long pendingTextureVram = TextureRepository.getPendingReleaseVram();
         if (pendingTextures > 0) {
@@ -125,6 +146,20 @@ public class PerformanceHud {
         } else {
             addLine(String.format("  Textures %d  VRAM %s", textureCount, fmtB(textureVram)), VALUE_COLOR);
         }
+        long residentTextureBytes = TextureRepository.getResidentTextureBytes();
+        long textureBudget = ConfigManager.getTextureVramBudgetMB() * 1024L * 1024L;
+        addLine(String.format("  TexVRAM  resident %s  requested %s  budget %s",
+                fmtB(residentTextureBytes), fmtB(TextureRepository.getRequestedTextureBytes()), fmtB(textureBudget)),
+                residentTextureBytes > textureBudget ? WARN_COLOR : VALUE_COLOR);
+        if (ConfigManager.isTextureDiskCacheEnabled()) {
+            addLine(String.format("  TexCache disk hit %d  miss %d",
+                    TextureRepository.getDiskCacheHitCount(), TextureRepository.getDiskCacheMissCount()), LABEL_COLOR);
+        }
+        if (ConfigManager.isBoneSyncEnabled()) {
+            addLine(String.format("  BoneSync tx %s  interval %dms  rx %s/s  remotes %d",
+                    fmtB(BoneSyncManager.getSentBytes()), BoneSyncManager.getSendIntervalMs(),
+                    fmtB(BoneSyncManager.getReceivedBytesPerSecond()), BoneSyncManager.getRemoteCount()), LABEL_COLOR);
+        }
 
         long totalRam = 0L;
         long totalVram = 0L;
@@ -150,7 +185,12 @@ public class PerformanceHud {
                 if (modelName.length() > 24) {
                     modelName = modelName.substring(0, 22) + "..";
                 }
-                addLine("  " + modelName, VALUE_COLOR);
+                long timeToFirstRender = ClientRenderRuntime.get().modelDiagnostics().timeToFirstRenderMs(managedModel.modelName());
+                if (timeToFirstRender >= 0L) {
+                    addLine(String.format("  %s  (first render %dms)", modelName, timeToFirstRender), VALUE_COLOR);
+                } else {
+                    addLine("  " + modelName, VALUE_COLOR);
+                }
 
                 long ram = model.getRamUsage();
                 long vram = model.getVramUsage();
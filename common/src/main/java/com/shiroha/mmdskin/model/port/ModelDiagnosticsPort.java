@@ -1,6 +1,8 @@
 package com.shiroha.mmdskin.model.port;
 
 import com.shiroha.mmdskin.model.runtime.ManagedModel;
+import com.shiroha.mmdskin.model.runtime.cache.ModelCache;
+import com.shiroha.mmdskin.model.runtime.loading.ModelLoadCoordinator;
 import java.util.List;
 
 /** 文件职责：为调试与监控界面提供模型运行时诊断快照。 */
@@ -11,4 +13,11 @@ public interface ModelDiagnosticsPort {
     int totalModelsLoaded();
 
     int pendingReleaseCount();
+
+    ModelCache.CacheStats cacheStats();
+
+    ModelLoadCoordinator.LoadStats loadStats();
+
+    /** 模型最近一次从入队到首次可渲染的耗时，未记录时返回 -1 */
+    long timeToFirstRenderMs(String modelName);
 }
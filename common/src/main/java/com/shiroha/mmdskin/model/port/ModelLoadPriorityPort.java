@@ -0,0 +1,28 @@
+package com.shiroha.mmdskin.model.port;
+
+import com.shiroha.mmdskin.model.runtime.ModelRequestKey;
+
+/** 文件职责：为模型加载队列提供基于相机距离的优先级与范围判定。 */
+public interface ModelLoadPriorityPort {
+
+    /** 无法定位请求主体时使用的优先级，排在所有已知主体之后 */
+    double UNTRACKED_PRIORITY = Double.MAX_VALUE;
+
+    ModelLoadPriorityPort NONE = new ModelLoadPriorityPort() {
+        @Override
+        public double loadPriority(ModelRequestKey requestKey) {
+            return 0.0d;
+        }
+
+        @Override
+        public boolean isOutOfRange(ModelRequestKey requestKey) {
+            return false;
+        }
+    };
+
+    /** 数值越小越先加载，通常为主体到相机的平方距离 */
+    double loadPriority(ModelRequestKey requestKey);
+
+    /** 主体已离开加载范围时返回 true，排队中的加载会被取消 */
+    boolean isOutOfRange(ModelRequestKey requestKey);
+}
@@ -0,0 +1,117 @@
+package com.shiroha.mmdskin.model.runtime;
+
+import com.shiroha.mmdskin.util.DirectoryWatcher;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * 文件职责：缓存动画目录的文件列表，避免每次查找未命中都 exists/listFiles。
+ * 目录首次查询时扫描一次并注册监听，目录变化后下次查询再重扫；无法监听的目录按固定间隔重扫。
+ */
+public final class AnimationDirectoryIndex {
+    /** 无法监听（如目录尚不存在）时快照的有效期 */
+    static final long UNWATCHED_REFRESH_MS = 5_000L;
+
+    private final Map<Path, Snapshot> snapshots = new ConcurrentHashMap<>();
+    /** 每个目录的变化次数，扫描期间发生变化的快照不会被视为有效 */
+    private final Map<Path, Long> changeCounts = new ConcurrentHashMap<>();
+    private final DirectoryWatcher watcher;
+    private final LongSupplier clock;
+    private final AtomicLong scans = new AtomicLong();
+    private volatile Consumer<Path> rescanListener = directory -> {};
+
+    public AnimationDirectoryIndex() {
+        this(System::currentTimeMillis, true);
+    }
+
+    AnimationDirectoryIndex(LongSupplier clock, boolean watch) {
+        this.clock = clock;
+        this.watcher = watch ? new DirectoryWatcher("MMD-AnimDirWatcher", this::invalidate) : null;
+    }
+
+    /** 目录下名为 fileName 的文件（大小写不敏感），不存在时返回 null */
+    public File find(String directory, String fileName) {
+        Snapshot snapshot = snapshot(directory);
+        return snapshot != null ? snapshot.filesByName().get(fileName.toLowerCase(Locale.ROOT)) : null;
+    }
+
+    /** 目录下的全部 FBX 文件，按文件名排序 */
+    public List<File> fbxFiles(String directory) {
+        Snapshot snapshot = snapshot(directory);
+        return snapshot != null ? snapshot.fbxFiles() : List.of();
+    }
+
+    public void invalidate(Path directory) {
+        changeCounts.merge(normalize(directory), 1L, Long::sum);
+    }
+
+    /** 已扫描过的目录因变化或过期被重扫时回调，供依赖文件修改时间的缓存同步失效 */
+    public void setRescanListener(Consumer<Path> listener) {
+        this.rescanListener = listener != null ? listener : directory -> {};
+    }
+
+    /** 累计目录扫描次数 */
+    public long scanCount() {
+        return scans.get();
+    }
+
+    private Snapshot snapshot(String directory) {
+        if (directory == null || directory.isBlank()) {
+            return null;
+        }
+        Path path = normalize(Path.of(directory));
+        long changeCount = changeCounts.getOrDefault(path, 0L);
+        Snapshot snapshot = snapshots.get(path);
+        if (snapshot != null && snapshot.changeCount() == changeCount
+                && (snapshot.watched() || clock.getAsLong() - snapshot.scannedAt() < UNWATCHED_REFRESH_MS)) {
+            return snapshot;
+        }
+
+        // 先注册监听再扫描，扫描期间的变化会推进 changeCount 使本次快照下次失效
+        boolean watched = watcher != null && watcher.watch(path);
+        boolean rescan = snapshot != null;
+        snapshot = scan(path, changeCount, watched);
+        snapshots.put(path, snapshot);
+        if (rescan) {
+            rescanListener.accept(path);
+        }
+        return snapshot;
+    }
+
+    private Snapshot scan(Path directory, long changeCount, boolean watched) {
+        scans.incrementAndGet();
+        File[] files = directory.toFile().listFiles(File::isFile);
+        Map<String, File> filesByName = new HashMap<>();
+        List<File> fbxFiles = new ArrayList<>();
+        if (files != null) {
+            Arrays.sort(files, Comparator.comparing(File::getName));
+            for (File file : files) {
+                String name = file.getName().toLowerCase(Locale.ROOT);
+                filesByName.putIfAbsent(name, file);
+                if (name.endsWith(".fbx")) {
+                    fbxFiles.add(file);
+                }
+            }
+        }
+        return new Snapshot(Map.copyOf(filesByName), List.copyOf(fbxFiles), clock.getAsLong(), changeCount, watched);
+    }
+
+    private static Path normalize(Path directory) {
+        return directory.toAbsolutePath().normalize();
+    }
+
+    private record Snapshot(Map<String, File> filesByName, List<File> fbxFiles,
+                            long scannedAt, long changeCount, boolean watched) {
+    }
+}
@@ -1,31 +1,41 @@
 package com.shiroha.mmdskin.model.runtime;
 
-import com.shiroha.mmdskin.bridge.runtime.NativeAnimationPort;
 import com.shiroha.mmdskin.config.ModelAnimConfig;
 import com.shiroha.mmdskin.config.PathConstants;
 import java.io.File;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-/** 文件职责：为单个模型实例管理动画句柄缓存与释放。 */
+/** 文件职责：为单个模型实例解析动画名并从共享句柄池取得、释放动画句柄。 */
 public final class AnimationLibrary {
     private static final Logger logger = LogManager.getLogger();
     private static final String[] ANIMATION_EXTENSIONS = {".vmd", ".fbx"};
     private static final Set<String> warnedAnimations = ConcurrentHashMap.newKeySet();
+    private static final AnimationDirectoryIndex directoryIndex = new AnimationDirectoryIndex();
     private static volatile String defaultAnimDir;
     private static volatile String customAnimDir;
 
-    private final NativeAnimationPort nativeAnimationPort;
+    private final SharedAnimationPool animationPool;
+    private final FbxStackIndex fbxStackIndex;
     private final ModelInstance modelInstance;
     private final Map<String, Long> handlesByName = new ConcurrentHashMap<>();
 
-    public AnimationLibrary(ModelInstance modelInstance, NativeAnimationPort nativeAnimationPort) {
+    public AnimationLibrary(ModelInstance modelInstance, SharedAnimationPool animationPool, FbxStackIndex fbxStackIndex) {
         this.modelInstance = modelInstance;
-        this.nativeAnimationPort = nativeAnimationPort;
+        this.animationPool = animationPool;
+        this.fbxStackIndex = fbxStackIndex;
         initializeDirectories();
+        preloadModelFbx();
+    }
+
+    /** 动画目录重扫时的回调，用于让共享句柄池重新读取该目录下文件的修改时间 */
+    public static void setDirectoryRescanListener(Consumer<Path> listener) {
+        directoryIndex.setRescanListener(listener);
     }
 
     public long animation(String animationName) {
@@ -36,7 +46,7 @@ public final class AnimationLibrary {
     }
 
     public void invalidate() {
-        handlesByName.values().forEach(this::deleteHandle);
+        handlesByName.values().forEach(this::releaseHandle);
         handlesByName.clear();
     }
 
@@ -79,14 +89,12 @@ public final class AnimationLibrary {
             logger.warn("Invalid mapped animation file name: {} (slot: {})", mappedFile, animationName);
             return 0L;
         }
-        File animsDir = PathConstants.getModelAnimsDirByPath(modelDir);
-        File target = new File(animsDir, mappedFile);
-        if (target.exists()) {
-            return nativeAnimationPort.loadAnimation(modelInstance.modelHandle(), target.getAbsolutePath());
+        File target = directoryIndex.find(PathConstants.getModelAnimsDirByPath(modelDir).getAbsolutePath(), mappedFile);
+        if (target == null) {
+            target = directoryIndex.find(modelDir, mappedFile);
         }
-        target = new File(modelDir, mappedFile);
-        if (target.exists()) {
-            return nativeAnimationPort.loadAnimation(modelInstance.modelHandle(), target.getAbsolutePath());
+        if (target != null) {
+            return acquire(target.getAbsolutePath());
         }
         logger.warn("Mapped animation file not found: {} -> {} (slot: {})", modelDir, mappedFile, animationName);
         return 0L;
@@ -97,30 +105,48 @@ public final class AnimationLibrary {
             return 0L;
         }
         for (String extension : ANIMATION_EXTENSIONS) {
-            File file = new File(directory, animationName + extension);
-            if (file.exists()) {
-                return nativeAnimationPort.loadAnimation(modelInstance.modelHandle(), file.getAbsolutePath());
+            File file = directoryIndex.find(directory, animationName + extension);
+            if (file != null) {
+                return acquire(file.getAbsolutePath());
             }
         }
 
-        File dirFile = new File(directory);
-        if (dirFile.isDirectory()) {
-            File[] fbxFiles = dirFile.listFiles((dir, name) -> name.toLowerCase().endsWith(".fbx"));
-            if (fbxFiles != null) {
-                for (File fbx : fbxFiles) {
-                    long handle = nativeAnimationPort.loadAnimation(modelInstance.modelHandle(), fbx.getAbsolutePath() + "#" + animationName);
-                    if (handle != 0L) {
-                        return handle;
-                    }
-                }
+        // 先查持久化的动作栈索引，只解析可能包含该动作栈的 FBX；
+        // 池会记住"某 FBX 中没有该动作栈"，目录重扫前不再重复解析
+        long handle = 0L;
+        for (File fbx : directoryIndex.fbxFiles(directory)) {
+            if (!fbxStackIndex.mayContain(fbx, animationName)) {
+                continue;
+            }
+            handle = acquire(fbx.getAbsolutePath() + "#" + animationName);
+            if (handle != 0L) {
+                break;
             }
         }
-        return 0L;
+        fbxStackIndex.saveIfDirty();
+        return handle;
+    }
+
+    /** 模型自带的 FBX 大概率会被用到，构造时提交后台解析，首次切换动作时不再阻塞渲染线程 */
+    private void preloadModelFbx() {
+        String modelDir = modelInstance.modelDir();
+        if (modelDir == null) {
+            return;
+        }
+        for (String directory : new String[]{PathConstants.getModelAnimsDirByPath(modelDir).getAbsolutePath(), modelDir}) {
+            for (File fbx : directoryIndex.fbxFiles(directory)) {
+                animationPool.preloadFbx(fbx.getAbsolutePath());
+            }
+        }
+    }
+
+    private long acquire(String animationPath) {
+        return animationPool.acquire(animationPath, modelInstance.modelHandle(), modelInstance.modelDir());
     }
 
-    private void deleteHandle(Long handle) {
+    private void releaseHandle(Long handle) {
         if (handle != null && handle != 0L) {
-            nativeAnimationPort.deleteAnimation(handle);
+            animationPool.release(handle);
         }
     }
 
@@ -0,0 +1,139 @@
+package com.shiroha.mmdskin.model.runtime;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.shiroha.mmdskin.bridge.runtime.NativeAnimationPort;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * 文件职责：持久化 FBX 文件的动作栈名列表（按路径 + 修改时间 + 大小校验）。
+ * 按动作名查找时先查索引，只有确实包含该动作栈的 FBX 才需要解析加载。
+ */
+public final class FbxStackIndex {
+    private static final Logger logger = LogManager.getLogger();
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Type MAP_TYPE = new TypeToken<Map<String, IndexEntry>>() {}.getType();
+
+    private final NativeAnimationPort nativeAnimationPort;
+    /** 为 null 时只在内存中缓存 */
+    private final File indexFile;
+    private final Map<String, IndexEntry> entries = new HashMap<>();
+    private boolean loaded;
+    private boolean dirty;
+
+    public FbxStackIndex(NativeAnimationPort nativeAnimationPort, File indexFile) {
+        this.nativeAnimationPort = nativeAnimationPort;
+        this.indexFile = indexFile;
+    }
+
+    /** FBX 文件的动作栈名列表；文件未修改时直接取索引，否则经 native 列出。无法列出时返回 null */
+    public synchronized List<String> stacks(File fbx) {
+        ensureLoaded();
+        String path = fbx.getAbsolutePath();
+        long lastModified = fbx.lastModified();
+        long length = fbx.length();
+        IndexEntry entry = entries.get(path);
+        if (entry != null && entry.lastModified == lastModified && entry.length == length && entry.stacks != null) {
+            return entry.stacks;
+        }
+
+        List<String> stacks = nativeAnimationPort.listFbxStacks(path);
+        if (stacks == null) {
+            return null;
+        }
+        entry = new IndexEntry();
+        entry.lastModified = lastModified;
+        entry.length = length;
+        entry.stacks = List.copyOf(stacks);
+        entries.put(path, entry);
+        dirty = true;
+        return entry.stacks;
+    }
+
+    /** FBX 是否可能包含该动作栈；匹配规则与 native 一致（忽略 ASCII 大小写，先精确后包含），无法列出时保守返回 true */
+    public boolean mayContain(File fbx, String stackName) {
+        List<String> stacks = stacks(fbx);
+        if (stacks == null) {
+            return true;
+        }
+        String target = asciiLowerCase(stackName);
+        for (String stack : stacks) {
+            if (asciiLowerCase(stack).contains(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** 有新条目时写回磁盘，并顺带清理已删除文件的条目 */
+    public synchronized void saveIfDirty() {
+        if (!dirty || indexFile == null) {
+            return;
+        }
+        entries.keySet().removeIf(path -> !new File(path).isFile());
+        File parent = indexFile.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            logger.warn("无法创建 FBX 动作栈索引目录: {}", parent);
+            return;
+        }
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(indexFile), StandardCharsets.UTF_8)) {
+            GSON.toJson(entries, MAP_TYPE, writer);
+            dirty = false;
+        } catch (IOException e) {
+            logger.error("保存 FBX 动作栈索引失败: {}", e.getMessage());
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (indexFile == null || !indexFile.isFile()) {
+            return;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(indexFile), StandardCharsets.UTF_8)) {
+            Map<String, IndexEntry> raw = GSON.fromJson(reader, MAP_TYPE);
+            if (raw != null) {
+                raw.forEach((path, entry) -> {
+                    if (path != null && entry != null && entry.stacks != null) {
+                        entries.put(path, entry);
+                    }
+                });
+            }
+        } catch (Exception e) {
+            logger.warn("加载 FBX 动作栈索引失败: {}", e.getMessage());
+        }
+    }
+
+    private static String asciiLowerCase(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                chars[i] = (char) (chars[i] + ('a' - 'A'));
+            }
+        }
+        return new String(chars);
+    }
+
+    private static final class IndexEntry {
+        private long lastModified;
+        private long length;
+        private List<String> stacks;
+    }
+}
@@ -3,7 +3,9 @@ package com.shiroha.mmdskin.model.runtime;
 import com.shiroha.mmdskin.model.runtime.AnimationLibrary;
 import com.shiroha.mmdskin.bridge.runtime.NativeAnimationPort;
 import com.shiroha.mmdskin.bridge.runtime.NativeMatrixPort;
+import com.shiroha.mmdskin.config.PathConstants;
 import com.shiroha.mmdskin.player.runtime.EntityAnimState;
+import java.util.List;
 import java.util.Properties;
 import java.util.Objects;
 
@@ -50,6 +52,26 @@ public final class ManagedModel {
         @Override
         public void getCameraTransform(long animationHandle, float frame, java.nio.ByteBuffer targetBuffer) {
         }
+
+        @Override
+        public long bakeAnimation(long animationHandle, boolean includeBones) {
+            return 0L;
+        }
+
+        @Override
+        public long getAnimationMemoryUsage(long animationHandle) {
+            return 0L;
+        }
+
+        @Override
+        public boolean preloadFbxAsync(String fbxPath) {
+            return false;
+        }
+
+        @Override
+        public List<String> listFbxStacks(String fbxPath) {
+            return null;
+        }
     };
     private static final NativeMatrixPort NOOP_MATRIX_PORT = new NativeMatrixPort() {
         @Override
@@ -73,6 +95,8 @@ public final class ManagedModel {
 
     private static volatile NativeAnimationPort animationPort = NOOP_ANIMATION_PORT;
     private static volatile NativeMatrixPort matrixPort = NOOP_MATRIX_PORT;
+    private static volatile SharedAnimationPool animationPool = new SharedAnimationPool(NOOP_ANIMATION_PORT);
+    private static volatile FbxStackIndex fbxStackIndex = new FbxStackIndex(NOOP_ANIMATION_PORT, null);
 
     private final ModelRequestKey requestKey;
     private final String modelName;
@@ -91,7 +115,7 @@ public final class ManagedModel {
         this.requestKey = Objects.requireNonNull(requestKey, "requestKey");
         this.modelName = Objects.requireNonNull(modelName, "modelName");
         this.modelInstance = Objects.requireNonNull(modelInstance, "modelInstance");
-        this.animationLibrary = new AnimationLibrary(modelInstance, animationPort);
+        this.animationLibrary = new AnimationLibrary(modelInstance, animationPool, fbxStackIndex);
         this.entityState = new EntityAnimState(3, matrixPort);
         this.properties = properties != null ? properties : new Properties();
         this.renderProperties = renderProperties != null ? renderProperties : ModelRenderProperties.DEFAULT;
@@ -99,9 +123,17 @@ public final class ManagedModel {
 
     public static void configureRuntimeCollaborators(NativeAnimationPort animationPort, NativeMatrixPort matrixPort) {
         ManagedModel.animationPort = animationPort != null ? animationPort : NOOP_ANIMATION_PORT;
+        ManagedModel.animationPool = new SharedAnimationPool(ManagedModel.animationPort);
+        AnimationLibrary.setDirectoryRescanListener(ManagedModel.animationPool::invalidateDirectory);
+        ManagedModel.fbxStackIndex = new FbxStackIndex(ManagedModel.animationPort, PathConstants.getFbxStackIndexFile());
         ManagedModel.matrixPort = matrixPort != null ? matrixPort : NOOP_MATRIX_PORT;
     }
 
+    /** 全部模型共享的动画句柄池统计 */
+    public static SharedAnimationPool.PoolStats animationPoolStats() {
+        return animationPool.stats();
+    }
+
     public ModelRequestKey requestKey() {
         return requestKey;
     }
@@ -3,6 +3,7 @@ package com.shiroha.mmdskin.model.runtime;
 import com.shiroha.mmdskin.config.ModelConfigData;
 import com.shiroha.mmdskin.config.ModelConfigManager;
 import com.shiroha.mmdskin.model.port.ModelDiagnosticsPort;
+import com.shiroha.mmdskin.model.port.ModelLoadPriorityPort;
 import com.shiroha.mmdskin.model.port.ModelRepositoryExtensionPort;
 import com.shiroha.mmdskin.model.port.ModelRepositoryPort;
 import com.shiroha.mmdskin.model.port.ModelRuntimeAccessPort;
@@ -24,7 +25,10 @@ public final class ModelRepository implements ModelRepositoryPort, ModelDiagnost
 
     private final ModelRuntimeAccessPort runtimeAccessPort;
     private final ModelRepositoryExtensionPort extensionPort;
-    private final ModelCache<ManagedModel> modelCache = new ModelCache<>("MMDModel");
+    private final ModelCache<ManagedModel> modelCache = new ModelCache<>(
+            "MMDModel",
+            model -> model.modelInstance() != null ? model.modelInstance().getRamUsage() : 0L,
+            model -> model.modelInstance() != null ? model.modelInstance().getVramUsage() : 0L);
     private final ModelLoadCoordinator loadCoordinator;
     private final AtomicInteger totalModelsLoaded = new AtomicInteger();
 
@@ -35,13 +39,19 @@ public final class ModelRepository implements ModelRepositoryPort, ModelDiagnost
 
     public ModelRepository(ModelRuntimeAccessPort runtimeAccessPort,
                            ModelRepositoryExtensionPort extensionPort) {
+        this(runtimeAccessPort, extensionPort, ModelLoadPriorityPort.NONE);
+    }
+
+    public ModelRepository(ModelRuntimeAccessPort runtimeAccessPort,
+                           ModelRepositoryExtensionPort extensionPort,
+                           ModelLoadPriorityPort loadPriorityPort) {
         if (runtimeAccessPort == null) {
             throw new IllegalArgumentException("runtimeAccessPort cannot be null");
         }
         this.runtimeAccessPort = runtimeAccessPort;
         this.extensionPort = extensionPort != null ? extensionPort : new ModelRepositoryExtensionPort() {
         };
-        this.loadCoordinator = new ModelLoadCoordinator(runtimeAccessPort);
+        this.loadCoordinator = new ModelLoadCoordinator(runtimeAccessPort, loadPriorityPort);
     }
 
     @Override
@@ -60,8 +70,7 @@ public final class ModelRepository implements ModelRepositoryPort, ModelDiagnost
         }
 
         ManagedModel loadedModel = loadCoordinator.resolveOrQueue(
-                requestKey.cacheKey(),
-                requestKey.modelName(),
+                requestKey,
                 result -> finalizeLoadedModel(requestKey, result));
         if (loadedModel != null) {
             modelCache.put(requestKey.cacheKey(), loadedModel);
@@ -104,6 +113,7 @@ public final class ModelRepository implements ModelRepositoryPort, ModelDiagnost
 
     @Override
     public void tick() {
+        loadCoordinator.reprioritize();
         modelCache.tick(this::disposeModel);
         runtimeAccessPort.tickTextures();
     }
@@ -133,6 +143,21 @@ public final class ModelRepository implements ModelRepositoryPort, ModelDiagnost
         return modelCache.pendingSize();
     }
 
+    @Override
+    public ModelCache.CacheStats cacheStats() {
+        return modelCache.stats();
+    }
+
+    @Override
+    public ModelLoadCoordinator.LoadStats loadStats() {
+        return loadCoordinator.loadStats();
+    }
+
+    @Override
+    public long timeToFirstRenderMs(String modelName) {
+        return loadCoordinator.timeToFirstRenderMs(modelName);
+    }
+
     private ManagedModel finalizeLoadedModel(ModelRequestKey requestKey, ModelLoadCoordinator.AsyncLoadResult result) {
         try {
             ModelInstance modelInstance = runtimeAccessPort.createModelFromHandle(
@@ -0,0 +1,152 @@
+package com.shiroha.mmdskin.model.runtime;
+
+import com.shiroha.mmdskin.bridge.runtime.NativeAnimationPort;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * 文件职责：进程级的动画句柄池，按文件路径 + 修改时间共享已解析的 native 动画并按引用计数释放。
+ * 文件修改时间只在首次使用时读取一次，所在目录重扫后才重新读取。
+ * VMD 在求值时才按骨骼名绑定到模型，所有模型共享同一句柄；
+ * FBX 加载时按模型手臂骨骼做重定向校正，结果依赖骨架，因此按骨架键区分。
+ */
+public final class SharedAnimationPool {
+    private static final Logger logger = LogManager.getLogger();
+    /** 失败记忆的上限，超出后淘汰最早记录的键 */
+    static final int MAX_MISSES = 256;
+
+    private final NativeAnimationPort nativeAnimationPort;
+    private final Map<AssetKey, Entry> entriesByKey = new HashMap<>();
+    private final Map<Long, Entry> entriesByHandle = new HashMap<>();
+    /** 文件路径到修改时间的缓存，避免每次 acquire 都访问文件系统 */
+    private final Map<String, Long> modifiedTimes = new HashMap<>();
+    /** 加载失败的键（如 FBX 中不存在的动作栈），所在目录重扫或超出上限时移除 */
+    private final Set<AssetKey> misses = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<AssetKey, Boolean> eldest) {
+            return size() > MAX_MISSES;
+        }
+    });
+
+    public SharedAnimationPool(NativeAnimationPort nativeAnimationPort) {
+        this.nativeAnimationPort = nativeAnimationPort;
+    }
+
+    /**
+     * 取得动画句柄并增加引用；路径可带 "#栈名" 后缀选择 FBX 动作栈。
+     * 失败时返回 0 且不占用引用。
+     */
+    public synchronized long acquire(String animationPath, long modelHandle, String skeletonKey) {
+        AssetKey key = keyOf(animationPath, skeletonKey);
+        Entry entry = entriesByKey.get(key);
+        if (entry != null) {
+            entry.references++;
+            return entry.handle;
+        }
+        if (misses.contains(key)) {
+            return 0L;
+        }
+
+        long handle = nativeAnimationPort.loadAnimation(modelHandle, animationPath);
+        if (handle == 0L) {
+            misses.add(key);
+            return 0L;
+        }
+        entry = new Entry(key, handle, nativeAnimationPort.getAnimationMemoryUsage(handle));
+        entriesByKey.put(key, entry);
+        entriesByHandle.put(handle, entry);
+        return handle;
+    }
+
+    /** 释放一次引用，引用归零时删除 native 动画；非本池句柄直接删除 */
+    public synchronized void release(long handle) {
+        if (handle == 0L) {
+            return;
+        }
+        Entry entry = entriesByHandle.get(handle);
+        if (entry == null) {
+            logger.warn("Releasing unpooled animation handle: {}", handle);
+            nativeAnimationPort.deleteAnimation(handle);
+            return;
+        }
+        if (--entry.references > 0) {
+            return;
+        }
+        entriesByHandle.remove(handle);
+        entriesByKey.remove(entry.key);
+        nativeAnimationPort.deleteAnimation(handle);
+    }
+
+    /** 目录内容可能已变化：丢弃该目录下文件的修改时间与失败记忆，下次 acquire 重新读取 */
+    public synchronized void invalidateDirectory(Path directory) {
+        Path normalized = normalize(directory);
+        modifiedTimes.keySet().removeIf(filePath -> normalized.equals(parentOf(filePath)));
+        misses.removeIf(key -> normalized.equals(parentOf(key.filePath())));
+    }
+
+    /** 提交 FBX 后台解析，使随后的 acquire 命中 native 解析缓存；不占用引用也不持有池锁 */
+    public boolean preloadFbx(String fbxPath) {
+        return nativeAnimationPort.preloadFbxAsync(fbxPath);
+    }
+
+    public synchronized PoolStats stats() {
+        int references = 0;
+        long residentBytes = 0L;
+        long savedBytes = 0L;
+        for (Entry entry : entriesByKey.values()) {
+            references += entry.references;
+            residentBytes += entry.bytes;
+            savedBytes += entry.bytes * (entry.references - 1L);
+        }
+        return new PoolStats(entriesByKey.size(), references, residentBytes, savedBytes);
+    }
+
+    private AssetKey keyOf(String animationPath, String skeletonKey) {
+        // 与 native 侧一致：仅当 '#' 之前是 .fbx 文件时才视为动作栈后缀
+        String filePath = animationPath;
+        int stackSeparator = animationPath.lastIndexOf('#');
+        if (stackSeparator >= 0 && animationPath.substring(0, stackSeparator).toLowerCase(Locale.ROOT).endsWith(".fbx")) {
+            filePath = animationPath.substring(0, stackSeparator);
+        }
+        boolean fbx = filePath.toLowerCase(Locale.ROOT).endsWith(".fbx");
+        long lastModified = modifiedTimes.computeIfAbsent(filePath, path -> new File(path).lastModified());
+        return new AssetKey(animationPath, filePath, lastModified, fbx && skeletonKey != null ? skeletonKey : "");
+    }
+
+    private static Path parentOf(String filePath) {
+        Path parent = Path.of(filePath).getParent();
+        return parent != null ? normalize(parent) : null;
+    }
+
+    private static Path normalize(Path directory) {
+        return directory.toAbsolutePath().normalize();
+    }
+
+    private record AssetKey(String path, String filePath, long lastModified, String skeleton) {
+    }
+
+    private static final class Entry {
+        private final AssetKey key;
+        private final long handle;
+        private final long bytes;
+        private int references = 1;
+
+        private Entry(AssetKey key, long handle, long bytes) {
+            this.key = key;
+            this.handle = handle;
+            this.bytes = bytes;
+        }
+    }
+
+    /** 共享动画数、引用总数、实际常驻字节以及相对每个引用各持一份所节省的字节 */
+    public record PoolStats(int animations, int references, long residentBytes, long savedBytes) {
+    }
+}
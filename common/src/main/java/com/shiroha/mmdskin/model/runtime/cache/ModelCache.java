@@ -6,168 +6,212 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 /**
  * 模型缓存管理器。
+ * 按访问顺序维护条目（LRU），以数量、内存与显存三项预算决定淘汰；
+ * 最近仍在使用的条目不会被淘汰。
  */
 public class ModelCache<T> {
     private static final Logger logger = LogManager.getLogger();
 
-    private final Map<String, CacheEntry<T>> active;
+    /** 在该时间内被访问过的条目视为正在使用 */
+    private static final long IN_USE_GRACE_MS = 5_000;
 
-    private final Map<String, CacheEntry<T>> pendingRelease;
-    private final String cacheName;
+    /** 重新计算条目权重的间隔 */
+    private static final long WEIGHT_REFRESH_INTERVAL_MS = 5_000;
+
+    private static final long BYTES_PER_MB = 1024L * 1024L;
 
-    private static final long IDLE_TTL_MS = 60_000;
+    private final LinkedHashMap<String, CacheEntry<T>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final String cacheName;
+    private final ToLongFunction<T> ramWeigher;
+    private final ToLongFunction<T> vramWeigher;
+    private final LongSupplier clock;
 
-    private static final long PENDING_TTL_MS = 60_000;
+    private long totalRamBytes;
+    private long totalVramBytes;
+    private long lastWeightRefresh;
+    private long hits;
+    private long misses;
+    private long evictions;
 
     public ModelCache(String name) {
-        this.cacheName = name;
-        this.active = new ConcurrentHashMap<>();
-        this.pendingRelease = new ConcurrentHashMap<>();
+        this(name, value -> 0L, value -> 0L);
     }
 
-    public CacheEntry<T> get(String key) {
+    public ModelCache(String name, ToLongFunction<T> ramWeigher, ToLongFunction<T> vramWeigher) {
+        this(name, ramWeigher, vramWeigher, System::currentTimeMillis);
+    }
 
-        CacheEntry<T> entry = active.get(key);
-        if (entry != null) {
-            entry.updateAccessTime();
-            return entry;
-        }
+    ModelCache(String name, ToLongFunction<T> ramWeigher, ToLongFunction<T> vramWeigher, LongSupplier clock) {
+        this.cacheName = name;
+        this.ramWeigher = ramWeigher;
+        this.vramWeigher = vramWeigher;
+        this.clock = clock;
+        this.lastWeightRefresh = clock.getAsLong();
+    }
 
-        entry = pendingRelease.remove(key);
-        if (entry != null) {
-            entry.updateAccessTime();
-            active.put(key, entry);
-            return entry;
+    public synchronized CacheEntry<T> get(String key) {
+        CacheEntry<T> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
         }
-
-        return null;
+        hits++;
+        entry.lastAccessTime = clock.getAsLong();
+        return entry;
     }
 
-    public void put(String key, T value) {
-        active.put(key, new CacheEntry<>(value));
+    public synchronized void put(String key, T value) {
+        CacheEntry<T> entry = new CacheEntry<>(value, clock.getAsLong());
+        weigh(entry);
+        CacheEntry<T> previous = entries.put(key, entry);
+        if (previous != null) {
+            unaccount(previous);
+        }
+        account(entry);
     }
 
-    public CacheEntry<T> remove(String key) {
-        CacheEntry<T> entry = active.remove(key);
-        if (entry != null) return entry;
-        return pendingRelease.remove(key);
+    public synchronized CacheEntry<T> remove(String key) {
+        CacheEntry<T> entry = entries.remove(key);
+        if (entry != null) {
+            unaccount(entry);
+        }
+        return entry;
     }
 
-    public int size() {
-        return active.size();
+    public synchronized int size() {
+        return entries.size();
     }
 
-    public int pendingSize() {
-        return pendingRelease.size();
+    /** 已超过使用宽限期、可被淘汰的条目数 */
+    public synchronized int pendingSize() {
+        long now = clock.getAsLong();
+        int idle = 0;
+        for (CacheEntry<T> entry : entries.values()) {
+            if (isInUse(entry, now)) {
+                break;
+            }
+            idle++;
+        }
+        return idle;
     }
 
     public void tick(Consumer<T> disposer) {
-        long now = System.currentTimeMillis();
-
-        List<String> idleKeys = null;
-        for (var entry : active.entrySet()) {
-            if (now - entry.getValue().lastAccessTime > IDLE_TTL_MS) {
-                if (idleKeys == null) idleKeys = new ArrayList<>();
-                idleKeys.add(entry.getKey());
+        List<Map.Entry<String, T>> evicted = null;
+        synchronized (this) {
+            long now = clock.getAsLong();
+            if (now - lastWeightRefresh >= WEIGHT_REFRESH_INTERVAL_MS) {
+                refreshWeights();
+                lastWeightRefresh = now;
             }
-        }
-        if (idleKeys != null) {
-            for (String key : idleKeys) {
-                CacheEntry<T> entry = active.remove(key);
-                if (entry != null) {
-                    entry.pendingSince = now;
-                    pendingRelease.put(key, entry);
+
+            int maxCount = ConfigManager.getModelPoolMaxCount();
+            long ramBudget = ConfigManager.getModelCacheRamBudgetMb() * BYTES_PER_MB;
+            long vramBudget = ConfigManager.getModelCacheVramBudgetMb() * BYTES_PER_MB;
+
+            Iterator<Map.Entry<String, CacheEntry<T>>> it = entries.entrySet().iterator();
+            while (it.hasNext() && isOverBudget(maxCount, ramBudget, vramBudget)) {
+                Map.Entry<String, CacheEntry<T>> eldest = it.next();
+                CacheEntry<T> entry = eldest.getValue();
+                if (isInUse(entry, now)) {
+                    break;
                 }
+                it.remove();
+                unaccount(entry);
+                evictions++;
+                if (evicted == null) evicted = new ArrayList<>();
+                evicted.add(Map.entry(eldest.getKey(), entry.value));
             }
         }
 
-        if (pendingRelease.isEmpty()) return;
-
-        List<String> expired = null;
-        for (var entry : pendingRelease.entrySet()) {
-            if (now - entry.getValue().pendingSince > PENDING_TTL_MS) {
-                if (expired == null) expired = new ArrayList<>();
-                expired.add(entry.getKey());
+        if (evicted != null) {
+            for (Map.Entry<String, T> entry : evicted) {
+                safeDispose(disposer, entry.getValue(), entry.getKey());
             }
         }
-        if (expired != null) {
-            for (String key : expired) {
-                CacheEntry<T> entry = pendingRelease.remove(key);
-                if (entry != null) {
-                    safeDispose(disposer, entry.value, key);
+    }
+
+    public void removeMatching(Predicate<String> keyMatcher, Consumer<T> disposer) {
+        List<Map.Entry<String, T>> removed = new ArrayList<>();
+        synchronized (this) {
+            var it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                var entry = it.next();
+                if (keyMatcher.test(entry.getKey())) {
+                    it.remove();
+                    unaccount(entry.getValue());
+                    removed.add(Map.entry(entry.getKey(), entry.getValue().value));
                 }
             }
         }
+        for (Map.Entry<String, T> entry : removed) {
+            safeDispose(disposer, entry.getValue(), entry.getKey());
+        }
+    }
 
-        int maxSize = ConfigManager.getModelPoolMaxCount();
-        int totalSize = active.size() + pendingRelease.size();
-        if (totalSize > maxSize && !pendingRelease.isEmpty()) {
-            evictPendingByLRU(totalSize - maxSize, disposer);
+    public synchronized void clear(Consumer<T> disposer) {
+        for (var entry : entries.entrySet()) {
+            safeDispose(disposer, entry.getValue().value, entry.getKey());
         }
+        entries.clear();
+        totalRamBytes = 0L;
+        totalVramBytes = 0L;
     }
 
-    private synchronized void evictPendingByLRU(int evictCount, Consumer<T> disposer) {
-        if (pendingRelease.isEmpty() || evictCount <= 0) return;
+    public synchronized void forEach(BiConsumer<String, CacheEntry<T>> action) {
+        entries.forEach(action);
+    }
 
-        List<Map.Entry<String, CacheEntry<T>>> sorted = new ArrayList<>(pendingRelease.entrySet());
-        sorted.sort((a, b) -> Long.compare(a.getValue().lastAccessTime, b.getValue().lastAccessTime));
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, entries.size(), totalRamBytes, totalVramBytes);
+    }
 
-        int evicted = 0;
-        for (var entry : sorted) {
-            if (evicted >= evictCount) break;
-            CacheEntry<T> removed = pendingRelease.remove(entry.getKey());
-            if (removed != null) {
-                safeDispose(disposer, removed.value, entry.getKey());
-                evicted++;
-            }
-        }
-        if (evicted > 0) {
-        }
+    private boolean isOverBudget(int maxCount, long ramBudget, long vramBudget) {
+        return entries.size() > maxCount
+                || (ramBudget > 0 && totalRamBytes > ramBudget)
+                || (vramBudget > 0 && totalVramBytes > vramBudget);
     }
 
-    public void removeMatching(Predicate<String> keyMatcher, Consumer<T> disposer) {
-        removeMatchingFrom(active, keyMatcher, disposer);
-        removeMatchingFrom(pendingRelease, keyMatcher, disposer);
+    private static boolean isInUse(CacheEntry<?> entry, long now) {
+        return now - entry.lastAccessTime < IN_USE_GRACE_MS;
     }
 
-    private void removeMatchingFrom(Map<String, CacheEntry<T>> map,
-                                     Predicate<String> keyMatcher,
-                                     Consumer<T> disposer) {
-        var it = map.entrySet().iterator();
-        while (it.hasNext()) {
-            var entry = it.next();
-            if (keyMatcher.test(entry.getKey())) {
-                it.remove();
-                safeDispose(disposer, entry.getValue().value, entry.getKey());
-            }
+    private void refreshWeights() {
+        for (CacheEntry<T> entry : entries.values()) {
+            unaccount(entry);
+            weigh(entry);
+            account(entry);
         }
     }
 
-    public synchronized void clear(Consumer<T> disposer) {
-        int activeCount = active.size();
-        for (CacheEntry<T> entry : active.values()) {
-            safeDispose(disposer, entry.value, null);
+    private void weigh(CacheEntry<T> entry) {
+        try {
+            entry.ramBytes = Math.max(0L, ramWeigher.applyAsLong(entry.value));
+            entry.vramBytes = Math.max(0L, vramWeigher.applyAsLong(entry.value));
+        } catch (Exception e) {
+            logger.warn("[{}] 计算缓存权重失败", cacheName, e);
         }
-        active.clear();
+    }
 
-        int pendingCount = pendingRelease.size();
-        for (CacheEntry<T> entry : pendingRelease.values()) {
-            safeDispose(disposer, entry.value, null);
-        }
-        pendingRelease.clear();
+    private void account(CacheEntry<T> entry) {
+        totalRamBytes += entry.ramBytes;
+        totalVramBytes += entry.vramBytes;
     }
 
-    public void forEach(BiConsumer<String, CacheEntry<T>> action) {
-        active.forEach(action);
+    private void unaccount(CacheEntry<T> entry) {
+        totalRamBytes -= entry.ramBytes;
+        totalVramBytes -= entry.vramBytes;
     }
 
     private void safeDispose(Consumer<T> disposer, T value, String key) {
@@ -185,15 +229,21 @@ public class ModelCache<T> {
 
         public volatile long lastAccessTime;
 
-        volatile long pendingSince;
+        long ramBytes;
 
-        public CacheEntry(T value) {
+        long vramBytes;
+
+        CacheEntry(T value, long now) {
             this.value = value;
-            this.lastAccessTime = System.currentTimeMillis();
+            this.lastAccessTime = now;
         }
+    }
 
-        public void updateAccessTime() {
-            this.lastAccessTime = System.currentTimeMillis();
+    /** 缓存命中与容量统计快照 */
+    public record CacheStats(long hits, long misses, long evictions, int size, long ramBytes, long vramBytes) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
         }
     }
 }
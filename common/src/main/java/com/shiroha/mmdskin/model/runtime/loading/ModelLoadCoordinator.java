@@ -1,30 +1,49 @@
 package com.shiroha.mmdskin.model.runtime.loading;
 
 import com.shiroha.mmdskin.asset.catalog.ModelCatalogEntry;
+import com.shiroha.mmdskin.model.port.ModelLoadPriorityPort;
 import com.shiroha.mmdskin.model.port.ModelRuntimeAccessPort;
 import com.shiroha.mmdskin.model.runtime.ManagedModel;
+import com.shiroha.mmdskin.model.runtime.ModelRequestKey;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-/** 文件职责：协调模型异步加载、失败退避与预解码纹理预热。 */
+/** 文件职责：按相机距离优先级协调模型异步加载、失败退避与并行纹理预解码。 */
 public final class ModelLoadCoordinator {
 
     private static final Logger logger = LogManager.getLogger();
 
     private static final long FAILED_RETRY_INTERVAL_MS = 10_000L;
 
+    private static final int LOADER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+    private static final int TEXTURE_DECODER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
     private final ModelRuntimeAccessPort runtimeAccessPort;
+    private final ModelLoadPriorityPort priorityPort;
 
     public static final class AsyncLoadResult {
         public final long modelHandle;
@@ -38,19 +57,70 @@ public final class ModelLoadCoordinator {
         }
     }
 
+    /** 加载队列与首帧耗时统计快照 */
+    public record LoadStats(int queued, int running, long completed, long cancelled,
+                            long lastTimeToFirstRenderMs, long averageTimeToFirstRenderMs,
+                            long maxTimeToFirstRenderMs) {
+    }
+
+    /** 按优先级排序的加载任务，优先级相同时保持提交顺序 */
+    private static final class LoadTask extends FutureTask<AsyncLoadResult> implements Comparable<LoadTask> {
+        private final long sequence;
+        private volatile double priority;
+
+        LoadTask(Callable<AsyncLoadResult> callable, long sequence, double priority) {
+            super(callable);
+            this.sequence = sequence;
+            this.priority = priority;
+        }
+
+        double priority() {
+            return priority;
+        }
+
+        void setPriority(double priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public int compareTo(LoadTask other) {
+            int byPriority = Double.compare(priority, other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
     private static final class PendingLoad {
         private final AtomicBoolean cancelled = new AtomicBoolean();
         private final AtomicBoolean completionClaimed = new AtomicBoolean();
-        private FutureTask<AsyncLoadResult> future;
+        private final ModelRequestKey requestKey;
+        private final long enqueuedAtNanos = System.nanoTime();
+        private volatile long startedAtNanos;
+        private LoadTask future;
 
-        Future<AsyncLoadResult> future() {
+        PendingLoad(ModelRequestKey requestKey) {
+            this.requestKey = requestKey;
+        }
+
+        ModelRequestKey requestKey() {
+            return requestKey;
+        }
+
+        LoadTask future() {
             return future;
         }
 
-        void attach(FutureTask<AsyncLoadResult> future) {
+        void attach(LoadTask future) {
             this.future = future;
         }
 
+        void markStarted() {
+            startedAtNanos = System.nanoTime();
+        }
+
+        boolean isStarted() {
+            return startedAtNanos != 0L;
+        }
+
         boolean claimCompletion() {
             return completionClaimed.compareAndSet(false, true);
         }
@@ -68,26 +138,43 @@ public final class ModelLoadCoordinator {
         }
     }
 
-    private final ExecutorService loadingExecutor = Executors.newSingleThreadExecutor(task -> {
-        Thread thread = new Thread(task, "MMD-ModelLoader");
-        thread.setDaemon(true);
-        return thread;
-    });
+    private final ThreadPoolExecutor loadingExecutor = new ThreadPoolExecutor(
+            LOADER_THREADS, LOADER_THREADS, 0L, TimeUnit.MILLISECONDS,
+            new PriorityBlockingQueue<>(), daemonThreadFactory("MMD-ModelLoader"));
+
+    private final ExecutorService textureDecodeExecutor = Executors.newFixedThreadPool(
+            TEXTURE_DECODER_THREADS, daemonThreadFactory("MMD-TextureDecoder"));
 
     private final ConcurrentHashMap<String, PendingLoad> pendingLoads = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Long> failedLoads = new ConcurrentHashMap<>();
     private final Set<String> missingModels = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<String, Long> timeToFirstRenderByModel = new ConcurrentHashMap<>();
+    private final AtomicLong taskSequence = new AtomicLong();
+    private final AtomicInteger runningLoads = new AtomicInteger();
+    private final AtomicLong completedLoads = new AtomicLong();
+    private final AtomicLong cancelledLoads = new AtomicLong();
+    private final AtomicLong totalTimeToFirstRenderMs = new AtomicLong();
+    private final AtomicLong lastTimeToFirstRenderMs = new AtomicLong();
+    private final AtomicLong maxTimeToFirstRenderMs = new AtomicLong();
 
     public ModelLoadCoordinator(ModelRuntimeAccessPort runtimeAccessPort) {
+        this(runtimeAccessPort, ModelLoadPriorityPort.NONE);
+    }
+
+    public ModelLoadCoordinator(ModelRuntimeAccessPort runtimeAccessPort, ModelLoadPriorityPort priorityPort) {
         if (runtimeAccessPort == null) {
             throw new IllegalArgumentException("runtimeAccessPort cannot be null");
         }
         this.runtimeAccessPort = runtimeAccessPort;
+        this.priorityPort = priorityPort != null ? priorityPort : ModelLoadPriorityPort.NONE;
+        // 预先启动全部工作线程，保证新任务总是经过优先级队列排序
+        this.loadingExecutor.prestartAllCoreThreads();
     }
 
-    public ManagedModel resolveOrQueue(String fullCacheKey,
-                                       String modelName,
+    public ManagedModel resolveOrQueue(ModelRequestKey requestKey,
                                        Function<AsyncLoadResult, ManagedModel> finalizer) {
+        String fullCacheKey = requestKey.cacheKey();
+        String modelName = requestKey.modelName();
         PendingLoad pendingLoad = pendingLoads.get(fullCacheKey);
         if (pendingLoad != null) {
             Future<AsyncLoadResult> future = pendingLoad.future();
@@ -106,16 +193,67 @@ public final class ModelLoadCoordinator {
 
         ModelCatalogEntry modelInfo = ModelCatalogEntry.findByFolderName(modelName);
         if (modelInfo == null) {
-            if (missingModels.add(modelName)) {
+            // 目录初始扫描未完成时只是暂未找到，下次请求再查
+            if (ModelCatalogEntry.playerModelIndex().isLoaded() && missingModels.add(modelName)) {
                 logger.warn("模型本地不存在，跳过加载: {}", modelName);
             }
             return null;
         }
 
-        startBackgroundLoad(fullCacheKey, modelInfo, modelName);
+        startBackgroundLoad(requestKey, modelInfo);
         return null;
     }
 
+    /** 按最新相机距离重排队列中尚未开始的加载，并取消已离开范围的请求 */
+    public void reprioritize() {
+        if (pendingLoads.isEmpty()) {
+            return;
+        }
+
+        BlockingQueue<Runnable> queue = loadingExecutor.getQueue();
+        pendingLoads.forEach((key, pendingLoad) -> {
+            LoadTask task = pendingLoad.future();
+            if (pendingLoad.isStarted() || task.isDone()) {
+                return;
+            }
+
+            if (priorityPort.isOutOfRange(pendingLoad.requestKey())) {
+                if (pendingLoads.remove(key, pendingLoad)) {
+                    loadingExecutor.remove(task);
+                    pendingLoad.cancel();
+                    cancelledLoads.incrementAndGet();
+                    logger.info("[异步加载] 主体已离开范围，取消排队中的加载: {}", key);
+                }
+                return;
+            }
+
+            double priority = priorityPort.loadPriority(pendingLoad.requestKey());
+            if (priority != task.priority() && queue.remove(task)) {
+                task.setPriority(priority);
+                queue.offer(task);
+            }
+        });
+    }
+
+    public LoadStats loadStats() {
+        long completed = completedLoads.get();
+        long average = completed > 0 ? totalTimeToFirstRenderMs.get() / completed : 0L;
+        return new LoadStats(
+                loadingExecutor.getQueue().size(),
+                runningLoads.get(),
+                completed,
+                cancelledLoads.get(),
+                lastTimeToFirstRenderMs.get(),
+                average,
+                maxTimeToFirstRenderMs.get());
+    }
+
+    /** 返回该模型最近一次从入队到首次可渲染的耗时，未记录时返回 -1 */
+    public long timeToFirstRenderMs(String modelName) {
+        Long elapsed = timeToFirstRenderByModel.get(modelName);
+        return elapsed != null ? elapsed : -1L;
+    }
+
     public boolean isPending(String fullCacheKey) {
         return pendingLoads.containsKey(fullCacheKey);
     }
@@ -151,18 +289,21 @@ public final class ModelLoadCoordinator {
         failedLoads.clear();
     }
 
-    private void startBackgroundLoad(String fullCacheKey, ModelCatalogEntry modelInfo, String modelName) {
-        long startTime = System.currentTimeMillis();
+    private void startBackgroundLoad(ModelRequestKey requestKey, ModelCatalogEntry modelInfo) {
+        String fullCacheKey = requestKey.cacheKey();
+        String modelName = requestKey.modelName();
 
-        PendingLoad pendingLoad = new PendingLoad();
-        FutureTask<AsyncLoadResult> future = new FutureTask<>(
-                () -> loadModelHandle(fullCacheKey, modelInfo, modelName, startTime, pendingLoad));
+        PendingLoad pendingLoad = new PendingLoad(requestKey);
+        LoadTask future = new LoadTask(
+                () -> loadModelHandle(fullCacheKey, modelInfo, modelName, pendingLoad),
+                taskSequence.incrementAndGet(),
+                priorityPort.loadPriority(requestKey));
         pendingLoad.attach(future);
         if (pendingLoads.putIfAbsent(fullCacheKey, pendingLoad) != null) {
             return;
         }
 
-        logger.info("[异步加载] 开始后台加载模型 {} ({})", modelName, modelInfo.getModelFileName());
+        logger.info("[异步加载] 模型加入加载队列 {} ({})", modelName, modelInfo.getModelFileName());
         try {
             loadingExecutor.execute(future);
         } catch (RuntimeException e) {
@@ -175,8 +316,10 @@ public final class ModelLoadCoordinator {
     private AsyncLoadResult loadModelHandle(String fullCacheKey,
                                             ModelCatalogEntry modelInfo,
                                             String modelName,
-                                            long startTime,
                                             PendingLoad pendingLoad) {
+        pendingLoad.markStarted();
+        runningLoads.incrementAndGet();
+        long startTime = System.currentTimeMillis();
         long handle = 0;
         try {
             handle = loadNativeModel(modelInfo);
@@ -216,6 +359,8 @@ public final class ModelLoadCoordinator {
                 }
             }
             return null;
+        } finally {
+            runningLoads.decrementAndGet();
         }
     }
 
@@ -229,7 +374,9 @@ public final class ModelLoadCoordinator {
         return runtimeAccessPort.loadPmxModel(modelInfo.getModelFilePath(), modelInfo.getFolderPath(), 3);
     }
 
+    /** 将模型引用的纹理拆分为并行解码子任务，全部完成后再交付模型 */
     private void preloadModelTextures(long modelHandle, String modelDir) {
+        Set<String> texturePaths = new LinkedHashSet<>();
         try {
             int materialCount = runtimeAccessPort.getMaterialCount(modelHandle);
             for (int i = 0; i < materialCount; i++) {
@@ -237,10 +384,25 @@ public final class ModelLoadCoordinator {
                 if (texturePath == null || texturePath.isEmpty()) {
                     continue;
                 }
-                runtimeAccessPort.preloadTexture(texturePath);
+                texturePaths.add(texturePath);
             }
-            runtimeAccessPort.preloadTexture(modelDir + "/lightMap.png");
         } catch (Exception e) {
+            logger.warn("[异步加载] 读取材质纹理列表失败（不影响后续加载）", e);
+        }
+        texturePaths.add(modelDir + "/lightMap.png");
+
+        List<Future<?>> decodes = new ArrayList<>(texturePaths.size());
+        try {
+            for (String texturePath : texturePaths) {
+                decodes.add(textureDecodeExecutor.submit(() -> runtimeAccessPort.preloadTexture(texturePath)));
+            }
+            for (Future<?> decode : decodes) {
+                decode.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            decodes.forEach(decode -> decode.cancel(false));
+        } catch (ExecutionException | RuntimeException e) {
             logger.warn("[异步加载] 纹理预解码部分失败（不影响后续加载）", e);
         }
     }
@@ -278,6 +440,7 @@ public final class ModelLoadCoordinator {
                 disposeManagedModel(model);
                 return null;
             }
+            recordTimeToFirstRender(pendingLoad, result.modelName);
             return model;
         } catch (CancellationException ignored) {
             return null;
@@ -299,7 +462,22 @@ public final class ModelLoadCoordinator {
         }
     }
 
+    private void recordTimeToFirstRender(PendingLoad pendingLoad, String modelName) {
+        long now = System.nanoTime();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(now - pendingLoad.enqueuedAtNanos);
+        long startedAt = pendingLoad.startedAtNanos;
+        long queuedMs = startedAt != 0L ? TimeUnit.NANOSECONDS.toMillis(startedAt - pendingLoad.enqueuedAtNanos) : 0L;
+
+        completedLoads.incrementAndGet();
+        totalTimeToFirstRenderMs.addAndGet(elapsedMs);
+        lastTimeToFirstRenderMs.set(elapsedMs);
+        maxTimeToFirstRenderMs.accumulateAndGet(elapsedMs, Math::max);
+        timeToFirstRenderByModel.put(modelName, elapsedMs);
+        logger.info("[异步加载] 首次可渲染耗时 {}ms（排队 {}ms）: {}", elapsedMs, queuedMs, modelName);
+    }
+
     private void cleanupPendingLoad(PendingLoad pendingLoad, Consumer<AsyncLoadResult> resultCleaner) {
+        loadingExecutor.remove(pendingLoad.future());
         pendingLoad.cancel();
         Future<AsyncLoadResult> future = pendingLoad.future();
         if (!future.isDone() || !pendingLoad.claimCompletion()) {
@@ -343,4 +521,13 @@ public final class ModelLoadCoordinator {
     private void markFailed(String fullCacheKey) {
         failedLoads.put(fullCacheKey, System.currentTimeMillis());
     }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 }
@@ -0,0 +1,123 @@
+package com.shiroha.mmdskin.player.sync;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * 文件职责：骨骼姿势同步包的二进制布局。
+ * 包头：版本、标志、序号、所依赖关键帧序号、发送端时间戳、模型骨骼数与条目数；
+ * 条目：骨骼索引增量（varint）、字段掩码、量化旋转（4 字节）与可选量化平移（6 字节）。
+ */
+final class BonePoseCodec {
+    static final int VERSION = 1;
+    static final int FLAG_KEYFRAME = 1;
+    static final int HAS_ROTATION = 1;
+    static final int HAS_TRANSLATION = 2;
+
+    /** 姿势数组中每根骨骼的 float 数：tx, ty, tz, qx, qy, qz, qw */
+    static final int FLOATS_PER_BONE = 7;
+
+    private static final int MAX_HEADER_BYTES = 2 + 5 + 5 + 4 + 5 + 5;
+    private static final int MAX_ENTRY_BYTES = 5 + 1 + 4 + 6;
+
+    private BonePoseCodec() {
+    }
+
+    static byte[] encode(int sequence, int keyframeSequence, boolean keyframe, int senderTimeMs, int boneCount,
+                         int[] indices, byte[] masks, int count, float[] pose) {
+        ByteBuffer out = ByteBuffer.allocate(MAX_HEADER_BYTES + MAX_ENTRY_BYTES * count).order(ByteOrder.LITTLE_ENDIAN);
+        out.put((byte) VERSION);
+        out.put((byte) (keyframe ? FLAG_KEYFRAME : 0));
+        writeVarInt(out, sequence);
+        writeVarInt(out, keyframeSequence);
+        out.putInt(senderTimeMs);
+        writeVarInt(out, boneCount);
+        writeVarInt(out, count);
+
+        int previous = -1;
+        for (int i = 0; i < count; i++) {
+            int bone = indices[i];
+            int base = bone * FLOATS_PER_BONE;
+            writeVarInt(out, bone - previous - 1);
+            previous = bone;
+            out.put(masks[i]);
+            if ((masks[i] & HAS_ROTATION) != 0) {
+                out.putInt(BonePoseQuantizer.packRotation(pose, base + 3));
+            }
+            if ((masks[i] & HAS_TRANSLATION) != 0) {
+                out.putShort(BonePoseQuantizer.quantizeTranslation(pose[base]));
+                out.putShort(BonePoseQuantizer.quantizeTranslation(pose[base + 1]));
+                out.putShort(BonePoseQuantizer.quantizeTranslation(pose[base + 2]));
+            }
+        }
+        return Arrays.copyOf(out.array(), out.position());
+    }
+
+    /** 解码失败返回 null */
+    static BonePoseFrame decode(byte[] data) {
+        if (data == null || data.length < 2) {
+            return null;
+        }
+        try {
+            ByteBuffer in = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+            if ((in.get() & 0xFF) != VERSION) {
+                return null;
+            }
+            boolean keyframe = (in.get() & FLAG_KEYFRAME) != 0;
+            int sequence = readVarInt(in);
+            int keyframeSequence = readVarInt(in);
+            int senderTimeMs = in.getInt();
+            int boneCount = readVarInt(in);
+            int count = readVarInt(in);
+            if (boneCount < 0 || count < 0 || count > boneCount || count > in.remaining()) {
+                return null;
+            }
+
+            BonePoseFrame frame = new BonePoseFrame(sequence, keyframeSequence, keyframe, senderTimeMs, boneCount, count);
+            int bone = -1;
+            for (int i = 0; i < count; i++) {
+                bone += readVarInt(in) + 1;
+                if (bone < 0 || bone >= boneCount) {
+                    return null;
+                }
+                byte mask = in.get();
+                frame.indices[i] = bone;
+                frame.masks[i] = mask;
+                int base = i * FLOATS_PER_BONE;
+                if ((mask & HAS_ROTATION) != 0) {
+                    BonePoseQuantizer.unpackRotation(in.getInt(), frame.values, base + 3);
+                }
+                if ((mask & HAS_TRANSLATION) != 0) {
+                    frame.values[base] = BonePoseQuantizer.dequantizeTranslation(in.getShort());
+                    frame.values[base + 1] = BonePoseQuantizer.dequantizeTranslation(in.getShort());
+                    frame.values[base + 2] = BonePoseQuantizer.dequantizeTranslation(in.getShort());
+                }
+            }
+            return in.hasRemaining() ? null : frame;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.get() & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varint 过长");
+    }
+}
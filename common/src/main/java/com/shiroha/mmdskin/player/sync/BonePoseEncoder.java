@@ -0,0 +1,183 @@
+package com.shiroha.mmdskin.player.sync;
+
+/**
+ * 文件职责：本地骨骼姿势的发送端状态机。
+ * 周期性发送完整关键帧，其间只发送相对最近关键帧超出阈值的骨骼；增量始终以关键帧为基准，
+ * 丢包只影响单个增量，不会累积误差。发送间隔随动作幅度与带宽预算自适应调整。
+ */
+final class BonePoseEncoder {
+    static final int MIN_INTERVAL_MS = 50;
+    static final int MAX_INTERVAL_MS = 250;
+    static final int KEYFRAME_INTERVAL_MS = 2000;
+    static final int HEARTBEAT_MS = 1000;
+
+    /** 约 0.6° */
+    static final float ROTATION_THRESHOLD = 0.01f;
+    static final float TRANSLATION_THRESHOLD = 0.01f;
+    /** 超过该角速度（弧度/发送间隔）时使用最短间隔 */
+    private static final float FAST_MOTION = 0.15f;
+    /** 增量条目超过骨骼数该比例时直接发送关键帧 */
+    private static final float KEYFRAME_CHANGE_RATIO = 0.6f;
+
+    private float[] keyframePose;
+    private float[] lastSentPose;
+    private int boneCount = -1;
+    private int sequence;
+    private int keyframeSequence;
+    private long keyframeTimeMs;
+    private long lastSendMs = Long.MIN_VALUE / 2;
+    private int intervalMs = MIN_INTERVAL_MS;
+
+    private int[] indices = new int[0];
+    private byte[] masks = new byte[0];
+
+    /** 已编码但尚未确认发出的包 */
+    record Packet(byte[] data, boolean keyframe, int sequence, float motion) {
+    }
+
+    int intervalMs() {
+        return intervalMs;
+    }
+
+    /**
+     * 为当前姿势构建同步包；未到发送时间或姿势无变化时返回 null。
+     * 返回的包需调用 {@link #commit} 后才会更新关键帧与发送状态。
+     */
+    Packet build(float[] pose, int bones, long nowMs) {
+        if (nowMs - lastSendMs < intervalMs) {
+            return null;
+        }
+
+        boolean keyframe = keyframePose == null || bones != boneCount
+                || nowMs - keyframeTimeMs >= KEYFRAME_INTERVAL_MS;
+        float motion = keyframe || lastSentPose == null ? Float.MAX_VALUE : maxDifference(pose, lastSentPose, bones);
+        if (!keyframe && motion < ROTATION_THRESHOLD && nowMs - lastSendMs < HEARTBEAT_MS) {
+            return null;
+        }
+
+        ensureCapacity(bones);
+        int count = 0;
+        if (!keyframe) {
+            count = collectChanged(pose, bones);
+            if (count > bones * KEYFRAME_CHANGE_RATIO) {
+                keyframe = true;
+            }
+        }
+        if (keyframe) {
+            for (int i = 0; i < bones; i++) {
+                indices[i] = i;
+                masks[i] = BonePoseCodec.HAS_ROTATION | BonePoseCodec.HAS_TRANSLATION;
+            }
+            count = bones;
+        }
+
+        int nextSequence = sequence + 1;
+        int baseline = keyframe ? nextSequence : keyframeSequence;
+        byte[] data = BonePoseCodec.encode(nextSequence, baseline, keyframe, (int) nowMs, bones,
+                indices, masks, count, pose);
+        return new Packet(data, keyframe, nextSequence, motion);
+    }
+
+    /** 包成功发出后提交状态，并按动作幅度与预算重新计算发送间隔 */
+    void commit(Packet packet, float[] pose, int bones, long nowMs, int budgetBytesPerSecond) {
+        sequence = packet.sequence();
+        if (packet.keyframe()) {
+            keyframeSequence = packet.sequence();
+            keyframeTimeMs = nowMs;
+            boneCount = bones;
+            keyframePose = quantizedCopy(pose, bones, keyframePose);
+        }
+        lastSentPose = copy(pose, bones, lastSentPose);
+        lastSendMs = nowMs;
+        intervalMs = nextInterval(packet.motion(), packet.data().length, budgetBytesPerSecond);
+    }
+
+    /** 发送被预算拒绝时退避，避免每 tick 重复编码 */
+    void backOff(int packetBytes, int budgetBytesPerSecond) {
+        intervalMs = Math.max(intervalMs, budgetInterval(packetBytes, budgetBytesPerSecond));
+    }
+
+    void reset() {
+        keyframePose = null;
+        lastSentPose = null;
+        boneCount = -1;
+        lastSendMs = Long.MIN_VALUE / 2;
+        intervalMs = MIN_INTERVAL_MS;
+    }
+
+    static int nextInterval(float motion, int packetBytes, int budgetBytesPerSecond) {
+        float t = Math.min(1.0f, motion / FAST_MOTION);
+        int byMotion = Math.round(MAX_INTERVAL_MS + (MIN_INTERVAL_MS - MAX_INTERVAL_MS) * t);
+        return Math.max(byMotion, budgetInterval(packetBytes, budgetBytesPerSecond));
+    }
+
+    private static int budgetInterval(int packetBytes, int budgetBytesPerSecond) {
+        if (budgetBytesPerSecond <= 0) {
+            return MIN_INTERVAL_MS;
+        }
+        return (int) Math.min(HEARTBEAT_MS, (long) packetBytes * 1000L / budgetBytesPerSecond);
+    }
+
+    private int collectChanged(float[] pose, int bones) {
+        int count = 0;
+        for (int bone = 0; bone < bones; bone++) {
+            int base = bone * BonePoseCodec.FLOATS_PER_BONE;
+            byte mask = 0;
+            if (BonePoseQuantizer.angleBetween(pose, base + 3, keyframePose, base + 3) > ROTATION_THRESHOLD) {
+                mask |= BonePoseCodec.HAS_ROTATION;
+            }
+            if (translationDelta(pose, keyframePose, base) > TRANSLATION_THRESHOLD) {
+                mask |= BonePoseCodec.HAS_TRANSLATION;
+            }
+            if (mask != 0) {
+                indices[count] = bone;
+                masks[count] = mask;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static float maxDifference(float[] pose, float[] previous, int bones) {
+        float max = 0.0f;
+        for (int bone = 0; bone < bones; bone++) {
+            int base = bone * BonePoseCodec.FLOATS_PER_BONE;
+            max = Math.max(max, BonePoseQuantizer.angleBetween(pose, base + 3, previous, base + 3));
+            max = Math.max(max, translationDelta(pose, previous, base));
+        }
+        return max;
+    }
+
+    private static float translationDelta(float[] a, float[] b, int base) {
+        return Math.max(Math.abs(a[base] - b[base]),
+                Math.max(Math.abs(a[base + 1] - b[base + 1]), Math.abs(a[base + 2] - b[base + 2])));
+    }
+
+    /** 关键帧基准取量化后的值，使增量判定与接收端看到的姿势一致 */
+    private static float[] quantizedCopy(float[] pose, int bones, float[] target) {
+        float[] out = copy(pose, bones, target);
+        for (int bone = 0; bone < bones; bone++) {
+            int base = bone * BonePoseCodec.FLOATS_PER_BONE;
+            BonePoseQuantizer.unpackRotation(BonePoseQuantizer.packRotation(pose, base + 3), out, base + 3);
+            for (int axis = 0; axis < 3; axis++) {
+                out[base + axis] = BonePoseQuantizer.dequantizeTranslation(
+                        BonePoseQuantizer.quantizeTranslation(pose[base + axis]));
+            }
+        }
+        return out;
+    }
+
+    private static float[] copy(float[] pose, int bones, float[] target) {
+        int length = bones * BonePoseCodec.FLOATS_PER_BONE;
+        float[] out = target != null && target.length == length ? target : new float[length];
+        System.arraycopy(pose, 0, out, 0, length);
+        return out;
+    }
+
+    private void ensureCapacity(int bones) {
+        if (indices.length < bones) {
+            indices = new int[bones];
+            masks = new byte[bones];
+        }
+    }
+}
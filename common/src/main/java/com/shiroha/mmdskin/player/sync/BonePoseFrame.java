@@ -0,0 +1,41 @@
+package com.shiroha.mmdskin.player.sync;
+
+/** 文件职责：一个已解码的骨骼姿势同步包，条目值已反量化。 */
+final class BonePoseFrame {
+    final int sequence;
+    final int keyframeSequence;
+    final boolean keyframe;
+    final int senderTimeMs;
+    final int boneCount;
+    final int count;
+    final int[] indices;
+    final byte[] masks;
+    /** 每个条目 7 个 float：tx, ty, tz, qx, qy, qz, qw；掩码未包含的字段保持 0 */
+    final float[] values;
+
+    BonePoseFrame(int sequence, int keyframeSequence, boolean keyframe, int senderTimeMs, int boneCount, int count) {
+        this.sequence = sequence;
+        this.keyframeSequence = keyframeSequence;
+        this.keyframe = keyframe;
+        this.senderTimeMs = senderTimeMs;
+        this.boneCount = boneCount;
+        this.count = count;
+        this.indices = new int[count];
+        this.masks = new byte[count];
+        this.values = new float[count * BonePoseCodec.FLOATS_PER_BONE];
+    }
+
+    /** 把条目覆盖到完整姿势数组上 */
+    void applyTo(float[] pose) {
+        for (int i = 0; i < count; i++) {
+            int src = i * BonePoseCodec.FLOATS_PER_BONE;
+            int dst = indices[i] * BonePoseCodec.FLOATS_PER_BONE;
+            if ((masks[i] & BonePoseCodec.HAS_TRANSLATION) != 0) {
+                System.arraycopy(values, src, pose, dst, 3);
+            }
+            if ((masks[i] & BonePoseCodec.HAS_ROTATION) != 0) {
+                System.arraycopy(values, src + 3, pose, dst + 3, 4);
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.shiroha.mmdskin.player.sync;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * 文件职责：单个远端玩家的骨骼姿势抖动缓冲。
+ * 增量包与所依赖的关键帧合成为完整姿势后按发送端时间入队；播放时刻落后于最新到达时刻一个
+ * 自适应延迟（随到达抖动和发送间隔变化），在相邻两帧之间插值，缺包时保持最后姿势而不外推。
+ */
+final class BonePoseJitterBuffer {
+    static final int MIN_DELAY_MS = 60;
+    static final int MAX_DELAY_MS = 400;
+    private static final int MAX_SNAPSHOTS = 16;
+
+    private final ArrayDeque<Snapshot> snapshots = new ArrayDeque<>();
+    private float[] keyframePose;
+    private int keyframeSequence;
+    private int boneCount = -1;
+    private boolean hasSequence;
+    private int lastSequence;
+
+    /** 发送端时间 + offset = 本地时间，取观测到的最小传输时延 */
+    private long clockOffset;
+    private boolean clockInitialized;
+    private float jitterMs;
+    private float intervalMs = BonePoseEncoder.MIN_INTERVAL_MS;
+    private int lastSenderTime;
+    private long lastArrivalMs;
+
+    private static final class Snapshot {
+        final int senderTimeMs;
+        final float[] pose;
+
+        Snapshot(int senderTimeMs, float[] pose) {
+            this.senderTimeMs = senderTimeMs;
+            this.pose = pose;
+        }
+    }
+
+    int boneCount() {
+        return boneCount;
+    }
+
+    long lastArrivalMs() {
+        return lastArrivalMs;
+    }
+
+    int delayMs() {
+        int delay = Math.round(Math.max(intervalMs * 1.5f, MIN_DELAY_MS) + jitterMs * 2.0f);
+        return Math.max(MIN_DELAY_MS, Math.min(MAX_DELAY_MS, delay));
+    }
+
+    /** @return 该包是否被接受 */
+    boolean push(BonePoseFrame frame, long arrivalMs) {
+        if (hasSequence && frame.sequence - lastSequence <= 0) {
+            return false;
+        }
+        float[] pose;
+        if (frame.keyframe) {
+            if (frame.count != frame.boneCount) {
+                return false;
+            }
+            if (frame.boneCount != boneCount) {
+                snapshots.clear();
+            }
+            boneCount = frame.boneCount;
+            keyframePose = new float[boneCount * BonePoseCodec.FLOATS_PER_BONE];
+            frame.applyTo(keyframePose);
+            keyframeSequence = frame.sequence;
+            pose = keyframePose.clone();
+        } else {
+            if (keyframePose == null || frame.keyframeSequence != keyframeSequence || frame.boneCount != boneCount) {
+                return false;
+            }
+            pose = keyframePose.clone();
+            frame.applyTo(pose);
+        }
+
+        hasSequence = true;
+        lastSequence = frame.sequence;
+        updateClock(frame.senderTimeMs, arrivalMs);
+        snapshots.addLast(new Snapshot(frame.senderTimeMs, pose));
+        while (snapshots.size() > MAX_SNAPSHOTS) {
+            snapshots.removeFirst();
+        }
+        return true;
+    }
+
+    /**
+     * 以本地时间采样插值姿势写入 out。
+     * @return 是否有可用姿势
+     */
+    boolean sample(long nowMs, float[] out) {
+        if (snapshots.isEmpty() || out.length < boneCount * BonePoseCodec.FLOATS_PER_BONE) {
+            return false;
+        }
+        long playback = nowMs - clockOffset - delayMs();
+
+        Snapshot previous = null;
+        Iterator<Snapshot> iterator = snapshots.iterator();
+        while (iterator.hasNext()) {
+            Snapshot next = iterator.next();
+            int ahead = next.senderTimeMs - (int) playback;
+            if (ahead >= 0) {
+                if (previous == null) {
+                    copy(next.pose, out);
+                } else {
+                    int span = next.senderTimeMs - previous.senderTimeMs;
+                    float t = span > 0 ? 1.0f - ahead / (float) span : 1.0f;
+                    interpolate(previous.pose, next.pose, t, out);
+                    dropBefore(previous);
+                }
+                return true;
+            }
+            previous = next;
+        }
+        copy(snapshots.getLast().pose, out);
+        dropBefore(snapshots.getLast());
+        return true;
+    }
+
+    private void updateClock(int senderTimeMs, long arrivalMs) {
+        long offset = arrivalMs - senderTimeMs;
+        if (!clockInitialized) {
+            clockOffset = offset;
+            clockInitialized = true;
+        } else {
+            int sendGap = senderTimeMs - lastSenderTime;
+            long arrivalGap = arrivalMs - lastArrivalMs;
+            jitterMs += (Math.abs(arrivalGap - sendGap) - jitterMs) / 16.0f;
+            intervalMs += (Math.max(0, sendGap) - intervalMs) / 8.0f;
+            // 取更小的时延作为基准；同时缓慢上浮以跟随两端时钟漂移
+            clockOffset = Math.min(clockOffset + 1, offset);
+        }
+        lastSenderTime = senderTimeMs;
+        lastArrivalMs = arrivalMs;
+    }
+
+    private void dropBefore(Snapshot keep) {
+        while (!snapshots.isEmpty() && snapshots.getFirst() != keep) {
+            snapshots.removeFirst();
+        }
+    }
+
+    private void copy(float[] pose, float[] out) {
+        System.arraycopy(pose, 0, out, 0, pose.length);
+    }
+
+    static void interpolate(float[] a, float[] b, float t, float[] out) {
+        int bones = a.length / BonePoseCodec.FLOATS_PER_BONE;
+        for (int bone = 0; bone < bones; bone++) {
+            int base = bone * BonePoseCodec.FLOATS_PER_BONE;
+            for (int axis = 0; axis < 3; axis++) {
+                out[base + axis] = a[base + axis] + (b[base + axis] - a[base + axis]) * t;
+            }
+            nlerp(a, b, base + 3, t, out);
+        }
+    }
+
+    /** 归一化线性插值；同步间隔内旋转量很小，与 slerp 的差异可忽略 */
+    private static void nlerp(float[] a, float[] b, int offset, float t, float[] out) {
+        float dot = a[offset] * b[offset] + a[offset + 1] * b[offset + 1]
+                + a[offset + 2] * b[offset + 2] + a[offset + 3] * b[offset + 3];
+        float sign = dot < 0.0f ? -1.0f : 1.0f;
+        float lengthSq = 0.0f;
+        for (int i = 0; i < 4; i++) {
+            float value = a[offset + i] + (b[offset + i] * sign - a[offset + i]) * t;
+            out[offset + i] = value;
+            lengthSq += value * value;
+        }
+        float inv = lengthSq > 0.0f ? 1.0f / (float) Math.sqrt(lengthSq) : 0.0f;
+        for (int i = 0; i < 4; i++) {
+            out[offset + i] *= inv;
+        }
+    }
+}
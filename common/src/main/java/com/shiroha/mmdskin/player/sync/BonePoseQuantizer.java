@@ -0,0 +1,96 @@
+package com.shiroha.mmdskin.player.sync;
+
+/**
+ * 文件职责：骨骼姿势的定点量化。
+ * 旋转使用 smallest-three 编码：2 位记录绝对值最大的分量，其余三个分量各 10 位；
+ * 平移使用 1/256 单位精度的 16 位定点数。
+ */
+final class BonePoseQuantizer {
+    private static final float COMPONENT_RANGE = (float) Math.sqrt(0.5d);
+    private static final int COMPONENT_MAX = (1 << 10) - 1;
+    static final float TRANSLATION_SCALE = 256.0f;
+
+    private BonePoseQuantizer() {
+    }
+
+    /** 从 pose 的 offset 处读取 (x, y, z, w) 四元数并打包为 32 位 */
+    static int packRotation(float[] pose, int offset) {
+        float x = pose[offset];
+        float y = pose[offset + 1];
+        float z = pose[offset + 2];
+        float w = pose[offset + 3];
+        float length = (float) Math.sqrt(x * x + y * y + z * z + w * w);
+        if (length < 1.0e-6f) {
+            x = 0.0f;
+            y = 0.0f;
+            z = 0.0f;
+            w = 1.0f;
+            length = 1.0f;
+        }
+        float[] components = {x, y, z, w};
+
+        int largest = 0;
+        for (int i = 1; i < 4; i++) {
+            if (Math.abs(components[i]) > Math.abs(components[largest])) {
+                largest = i;
+            }
+        }
+
+        // q 与 -q 表示同一旋转，翻转符号使最大分量为正，解码时即可省略其符号
+        float scale = (components[largest] < 0.0f ? -1.0f : 1.0f) / length;
+        int packed = largest << 30;
+        int shift = 20;
+        for (int i = 0; i < 4; i++) {
+            if (i == largest) {
+                continue;
+            }
+            packed |= quantizeComponent(components[i] * scale) << shift;
+            shift -= 10;
+        }
+        return packed;
+    }
+
+    /** 解包旋转并以 (x, y, z, w) 写入 out 的 offset 处 */
+    static void unpackRotation(int packed, float[] out, int offset) {
+        int largest = packed >>> 30;
+        float sumSquares = 0.0f;
+        int shift = 20;
+        for (int i = 0; i < 4; i++) {
+            if (i == largest) {
+                continue;
+            }
+            float value = dequantizeComponent((packed >>> shift) & COMPONENT_MAX);
+            out[offset + i] = value;
+            sumSquares += value * value;
+            shift -= 10;
+        }
+        out[offset + largest] = (float) Math.sqrt(Math.max(0.0f, 1.0f - sumSquares));
+    }
+
+    static short quantizeTranslation(float value) {
+        float scaled = Math.round(value * TRANSLATION_SCALE);
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, scaled));
+    }
+
+    static float dequantizeTranslation(short value) {
+        return value / TRANSLATION_SCALE;
+    }
+
+    /** 两个单位四元数之间的旋转角（弧度） */
+    static float angleBetween(float[] a, int aOffset, float[] b, int bOffset) {
+        float dot = a[aOffset] * b[bOffset] + a[aOffset + 1] * b[bOffset + 1]
+                + a[aOffset + 2] * b[bOffset + 2] + a[aOffset + 3] * b[bOffset + 3];
+        dot = Math.min(1.0f, Math.abs(dot));
+        return 2.0f * (float) Math.acos(dot);
+    }
+
+    private static int quantizeComponent(float value) {
+        float normalized = (value + COMPONENT_RANGE) / (2.0f * COMPONENT_RANGE);
+        int quantized = Math.round(normalized * COMPONENT_MAX);
+        return Math.max(0, Math.min(COMPONENT_MAX, quantized));
+    }
+
+    private static float dequantizeComponent(int value) {
+        return value / (float) COMPONENT_MAX * (2.0f * COMPONENT_RANGE) - COMPONENT_RANGE;
+    }
+}
@@ -0,0 +1,89 @@
+package com.shiroha.mmdskin.player.sync;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 文件职责：按玩家统计骨骼同步字节数，并以 1 秒滑动窗口限制带宽。
+ * 客户端用它约束自身发送，服务端用它在转发前丢弃超出上限的包。
+ */
+public final class BoneSyncBandwidthLimiter {
+    private static final long WINDOW_MS = 1000L;
+
+    private final Map<UUID, Counter> counters = new ConcurrentHashMap<>();
+
+    private static final class Counter {
+        long windowStartMs = Long.MIN_VALUE / 2;
+        long windowBytes;
+        long totalBytes;
+        long droppedPackets;
+    }
+
+    /**
+     * 尝试在当前窗口内计入 bytes。
+     * @return 未超出预算时返回 true 并计入统计；否则返回 false 并记一次丢弃
+     */
+    public boolean tryConsume(UUID playerUUID, int bytes, long nowMs, int budgetBytesPerSecond) {
+        Counter counter = counters.computeIfAbsent(playerUUID, key -> new Counter());
+        synchronized (counter) {
+            if (nowMs - counter.windowStartMs >= WINDOW_MS) {
+                counter.windowStartMs = nowMs;
+                counter.windowBytes = 0;
+            }
+            if (budgetBytesPerSecond > 0 && counter.windowBytes + bytes > budgetBytesPerSecond) {
+                counter.droppedPackets++;
+                return false;
+            }
+            counter.windowBytes += bytes;
+            counter.totalBytes += bytes;
+            return true;
+        }
+    }
+
+    /** 只计数不限流（接收侧统计） */
+    public void record(UUID playerUUID, int bytes, long nowMs) {
+        tryConsume(playerUUID, bytes, nowMs, 0);
+    }
+
+    public long totalBytes(UUID playerUUID) {
+        Counter counter = counters.get(playerUUID);
+        if (counter == null) {
+            return 0L;
+        }
+        synchronized (counter) {
+            return counter.totalBytes;
+        }
+    }
+
+    public long droppedPackets(UUID playerUUID) {
+        Counter counter = counters.get(playerUUID);
+        if (counter == null) {
+            return 0L;
+        }
+        synchronized (counter) {
+            return counter.droppedPackets;
+        }
+    }
+
+    /** 所有玩家最近一个窗口内的字节数之和 */
+    public long windowBytes(long nowMs) {
+        long sum = 0L;
+        for (Counter counter : counters.values()) {
+            synchronized (counter) {
+                if (nowMs - counter.windowStartMs < WINDOW_MS) {
+                    sum += counter.windowBytes;
+                }
+            }
+        }
+        return sum;
+    }
+
+    public void remove(UUID playerUUID) {
+        counters.remove(playerUUID);
+    }
+
+    public void clear() {
+        counters.clear();
+    }
+}
@@ -1,35 +1,61 @@
 package com.shiroha.mmdskin.player.sync;
 
+import com.shiroha.mmdskin.bridge.runtime.NativePoseSyncPort;
+import com.shiroha.mmdskin.config.ConfigManager;
 import com.shiroha.mmdskin.player.model.PlayerModelResolver;
 import net.minecraft.client.Minecraft;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-/** 文件职责：骨骼同步总调度器。 */
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 文件职责：骨骼同步总调度器。
+ * 本地侧每 tick 采样本地玩家模型的骨骼局部姿势，经编码器按自适应频率与带宽预算发送；
+ * 远端侧把收到的包送入各玩家的抖动缓冲，渲染前插值后覆盖到对应模型上。
+ */
 public final class BoneSyncManager {
 
     private static final Logger logger = LogManager.getLogger();
-    private static volatile boolean enabled = false;
-    private static final long SAMPLE_INTERVAL_MS = 100;
-    private static long lastSampleTime;
+    /** 超过该时长未收到新包即停止覆盖，回退到本地动画 */
+    private static final long STALE_MS = 2000L;
+    private static final int RECORD_BYTES = 32;
+
+    private static volatile NativePoseSyncPort posePort = NativePoseSyncPort.NOOP;
+
+    private static final BonePoseEncoder encoder = new BonePoseEncoder();
+    private static final BoneSyncBandwidthLimiter sendLimiter = new BoneSyncBandwidthLimiter();
+    private static final BoneSyncBandwidthLimiter receiveCounter = new BoneSyncBandwidthLimiter();
+    private static final Map<UUID, RemoteState> remotes = new ConcurrentHashMap<>();
+
+    private static ByteBuffer localBuffer;
+    private static float[] localPose = new float[0];
+    private static UUID localPlayerUUID;
+
+    private static final class RemoteState {
+        final BonePoseJitterBuffer buffer = new BonePoseJitterBuffer();
+        float[] sample = new float[0];
+        ByteBuffer records;
+        long appliedHandle;
+    }
 
     private BoneSyncManager() {
     }
 
-    public static void setEnabled(boolean enable) {
-        enabled = enable;
+    public static void configureRuntimeCollaborators(NativePoseSyncPort posePort) {
+        BoneSyncManager.posePort = posePort != null ? posePort : NativePoseSyncPort.NOOP;
     }
 
     public static boolean isEnabled() {
-        return enabled;
+        return ConfigManager.isBoneSyncEnabled();
     }
 
     public static void tickLocal() {
-        if (!enabled) return;
-
-        long now = System.currentTimeMillis();
-        if (now - lastSampleTime < SAMPLE_INTERVAL_MS) return;
-        lastSampleTime = now;
+        if (!isEnabled()) return;
 
         try {
             Minecraft mc = Minecraft.getInstance();
@@ -38,13 +64,174 @@ public final class BoneSyncManager {
             PlayerModelResolver.Result resolved = PlayerModelResolver.resolve(mc.player);
             if (resolved == null) return;
 
+            long modelHandle = resolved.model().modelInstance().getModelHandle();
+            if (modelHandle == 0L) return;
+
+            localPlayerUUID = mc.player.getUUID();
+            int bones = samplePose(modelHandle);
+            if (bones <= 0) return;
+
+            long now = System.currentTimeMillis();
+            BonePoseEncoder.Packet packet = encoder.build(localPose, bones, now);
+            if (packet == null) return;
+
+            int budget = ConfigManager.getBoneSyncBudgetKBps() * 1024;
+            if (!sendLimiter.tryConsume(localPlayerUUID, packet.data().length, now, budget)) {
+                encoder.backOff(packet.data().length, budget);
+                return;
+            }
+            BoneSyncNetworkHandler.send(packet.data());
+            encoder.commit(packet, localPose, bones, now, budget);
         } catch (Exception e) {
             logger.error("骨骼同步采样失败", e);
         }
     }
 
+    /** 网络线程或主线程收到远端玩家的姿势包 */
+    public static void onRemotePose(UUID playerUUID, byte[] data) {
+        if (playerUUID == null || data == null || !isEnabled()) return;
+
+        long now = System.currentTimeMillis();
+        receiveCounter.record(playerUUID, data.length, now);
+        BonePoseFrame frame = BonePoseCodec.decode(data);
+        if (frame == null) {
+            logger.debug("丢弃无法解析的骨骼同步包: {}", playerUUID);
+            return;
+        }
+        RemoteState state = remotes.computeIfAbsent(playerUUID, key -> new RemoteState());
+        synchronized (state) {
+            state.buffer.push(frame, now);
+        }
+    }
+
+    /**
+     * 渲染前把远端玩家的插值姿势写入模型；active 为 false 或数据过期时撤销覆盖。
+     */
+    public static void applyRemotePose(UUID playerUUID, long modelHandle, boolean active) {
+        if (playerUUID == null || modelHandle == 0L || playerUUID.equals(localPlayerUUID)) return;
+        RemoteState state = remotes.get(playerUUID);
+        if (state == null) return;
+
+        try {
+            synchronized (state) {
+                long now = System.currentTimeMillis();
+                int bones = state.buffer.boneCount();
+                boolean usable = active && isEnabled()
+                        && now - state.buffer.lastArrivalMs() < STALE_MS
+                        && bones > 0 && bones == posePort.getBoneCount(modelHandle);
+                if (!usable) {
+                    clearApplied(state);
+                    return;
+                }
+
+                if (state.sample.length != bones * BonePoseCodec.FLOATS_PER_BONE) {
+                    state.sample = new float[bones * BonePoseCodec.FLOATS_PER_BONE];
+                }
+                if (!state.buffer.sample(now, state.sample)) {
+                    clearApplied(state);
+                    return;
+                }
+                if (state.appliedHandle != 0L && state.appliedHandle != modelHandle) {
+                    clearApplied(state);
+                }
+
+                ByteBuffer records = writeRecords(state, bones);
+                posePort.setSyncedBonePose(modelHandle, records, bones);
+                state.appliedHandle = modelHandle;
+            }
+        } catch (Exception e) {
+            logger.error("远端骨骼姿势应用失败: {}", playerUUID, e);
+        }
+    }
+
+    public static long getSentBytes() {
+        UUID local = localPlayerUUID;
+        return local != null ? sendLimiter.totalBytes(local) : 0L;
+    }
+
+    public static long getReceivedBytes(UUID playerUUID) {
+        return receiveCounter.totalBytes(playerUUID);
+    }
+
+    /** 最近 1 秒内所有远端玩家的接收字节数 */
+    public static long getReceivedBytesPerSecond() {
+        return receiveCounter.windowBytes(System.currentTimeMillis());
+    }
+
+    public static int getRemoteCount() {
+        return remotes.size();
+    }
+
+    public static int getSendIntervalMs() {
+        return encoder.intervalMs();
+    }
+
+    /** 远端玩家离开当前世界：丢弃其抖动缓冲与接收计数，并撤销模型上的同步姿势覆盖 */
+    public static void onRemotePlayerLeave(UUID playerUUID) {
+        RemoteState state = remotes.remove(playerUUID);
+        if (state != null) {
+            synchronized (state) {
+                clearApplied(state);
+            }
+        }
+        receiveCounter.remove(playerUUID);
+    }
+
     public static void onDisconnect() {
-        enabled = false;
-        lastSampleTime = 0;
+        for (RemoteState state : remotes.values()) {
+            synchronized (state) {
+                clearApplied(state);
+            }
+        }
+        remotes.clear();
+        encoder.reset();
+        sendLimiter.clear();
+        receiveCounter.clear();
+        localPlayerUUID = null;
+    }
+
+    private static int samplePose(long modelHandle) {
+        int bones = posePort.getBoneCount(modelHandle);
+        if (bones <= 0) return 0;
+
+        int floats = bones * BonePoseCodec.FLOATS_PER_BONE;
+        if (localBuffer == null || localBuffer.capacity() < floats * 4) {
+            localBuffer = ByteBuffer.allocateDirect(floats * 4).order(ByteOrder.nativeOrder());
+        }
+        localBuffer.clear();
+        int copied = posePort.copyBoneLocalPoseToBuffer(modelHandle, localBuffer);
+        if (copied != bones) return 0;
+
+        if (localPose.length != floats) {
+            localPose = new float[floats];
+        }
+        localBuffer.position(0);
+        localBuffer.asFloatBuffer().get(localPose, 0, floats);
+        return bones;
+    }
+
+    private static ByteBuffer writeRecords(RemoteState state, int bones) {
+        int bytes = bones * RECORD_BYTES;
+        if (state.records == null || state.records.capacity() < bytes) {
+            state.records = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        }
+        ByteBuffer records = state.records;
+        records.clear();
+        for (int bone = 0; bone < bones; bone++) {
+            int base = bone * BonePoseCodec.FLOATS_PER_BONE;
+            records.putInt(bone);
+            for (int i = 0; i < BonePoseCodec.FLOATS_PER_BONE; i++) {
+                records.putFloat(state.sample[base + i]);
+            }
+        }
+        records.flip();
+        return records;
+    }
+
+    private static void clearApplied(RemoteState state) {
+        if (state.appliedHandle != 0L) {
+            posePort.setSyncedBonePose(state.appliedHandle, null, 0);
+            state.appliedHandle = 0L;
+        }
     }
 }
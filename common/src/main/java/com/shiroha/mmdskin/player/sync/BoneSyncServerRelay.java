@@ -0,0 +1,33 @@
+package com.shiroha.mmdskin.player.sync;
+
+import java.util.UUID;
+
+/**
+ * 文件职责：服务端骨骼同步转发闸门。
+ * 服务端不知道各客户端配置的预算，按配置上限的 1.5 倍放行，防止异常客户端放大转发流量。
+ */
+public final class BoneSyncServerRelay {
+    /** 客户端预算上限 64 KB/s 的 1.5 倍 */
+    static final int RELAY_BYTES_PER_SECOND = 96 * 1024;
+
+    private static final BoneSyncBandwidthLimiter LIMITER = new BoneSyncBandwidthLimiter();
+
+    private BoneSyncServerRelay() {
+    }
+
+    public static boolean allow(UUID playerUUID, int bytes) {
+        return LIMITER.tryConsume(playerUUID, bytes, System.currentTimeMillis(), RELAY_BYTES_PER_SECOND);
+    }
+
+    public static long totalBytes(UUID playerUUID) {
+        return LIMITER.totalBytes(playerUUID);
+    }
+
+    public static void onPlayerLeave(UUID playerUUID) {
+        LIMITER.remove(playerUUID);
+    }
+
+    public static void clear() {
+        LIMITER.clear();
+    }
+}
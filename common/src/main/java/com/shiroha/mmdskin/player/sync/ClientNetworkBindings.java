@@ -26,6 +26,8 @@ public final class ClientNetworkBindings {
 
         StageNetworkHandler.setStageMultiSender(payload ->
                 sender.sendString(NetworkMessageType.STAGE_MULTI, payload));
+        StageNetworkHandler.setStageBinarySender(payload ->
+                sender.sendBinary(NetworkMessageType.STAGE_BINARY, payload));
         BoneSyncNetworkHandler.setNetworkSender(boneData ->
                 sender.sendBinary(NetworkMessageType.BONE_SYNC, boneData));
     }
@@ -48,6 +50,7 @@ public final class ClientNetworkBindings {
         MODEL_SELECT,
         MORPH_SYNC,
         STAGE_MULTI,
+        STAGE_BINARY,
         BONE_SYNC
     }
 }
@@ -0,0 +1,36 @@
+package com.shiroha.mmdskin.player.sync;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * 文件职责：服务端兴趣管理转发的一条平台无关消息。
+ * 字段与 {@link com.shiroha.mmdskin.ui.network.NetworkOpCode} 的四种载荷形态一一对应，由平台层还原为网络包。
+ */
+public record InterestMessage(int opCode, UUID subject, int intArg, String text, byte[] binary) {
+
+    public static InterestMessage ofText(int opCode, UUID subject, String text) {
+        return new InterestMessage(opCode, subject, 0, text, null);
+    }
+
+    public static InterestMessage ofInt(int opCode, UUID subject, int intArg) {
+        return new InterestMessage(opCode, subject, intArg, null, null);
+    }
+
+    public static InterestMessage ofBinary(int opCode, UUID subject, byte[] binary) {
+        return new InterestMessage(opCode, subject, 0, null, binary);
+    }
+
+    /** 线上字节数估算：操作码 + UUID + 载荷（含长度前缀） */
+    public int payloadBytes() {
+        int size = 4 + 16;
+        if (binary != null) {
+            size += 2 + binary.length;
+        } else if (text != null) {
+            size += 2 + text.getBytes(StandardCharsets.UTF_8).length;
+        } else {
+            size += 4;
+        }
+        return size;
+    }
+}
@@ -4,6 +4,7 @@ import com.shiroha.mmdskin.ui.config.ModelSelectorConfig;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -13,6 +14,8 @@ public final class PlayerModelSyncService {
     private static final Logger LOGGER = LogManager.getLogger();
 
     private static final Map<UUID, String> REMOTE_PLAYER_MODELS = new ConcurrentHashMap<>();
+    /** 任一玩家的模型选择变化时递增，供按实体缓存模型查询结果的调用方判断失效 */
+    private static final AtomicLong MODEL_REVISION = new AtomicLong();
 
     private static volatile BiConsumer<UUID, String> networkBroadcaster;
 
@@ -33,9 +36,10 @@ public final class PlayerModelSyncService {
     public static void onRemotePlayerModelReceived(UUID playerUUID, String modelName) {
         if (modelName == null || modelName.isEmpty()) {
             REMOTE_PLAYER_MODELS.remove(playerUUID);
-            return;
+        } else {
+            REMOTE_PLAYER_MODELS.put(playerUUID, modelName);
         }
-        REMOTE_PLAYER_MODELS.put(playerUUID, modelName);
+        markModelsChanged();
     }
 
     public static String getPlayerModel(UUID playerUUID, String playerName, boolean localPlayer) {
@@ -53,11 +57,22 @@ public final class PlayerModelSyncService {
     public static void onPlayerLeave(UUID playerUUID) {
         if (REMOTE_PLAYER_MODELS.remove(playerUUID) != null) {
             LOGGER.debug("清理离线玩家模型缓存: {}", playerUUID);
+            markModelsChanged();
         }
     }
 
     public static void onDisconnect() {
         REMOTE_PLAYER_MODELS.clear();
+        markModelsChanged();
+    }
+
+    /** 本地配置中的玩家模型映射变化时也需调用 */
+    public static void markModelsChanged() {
+        MODEL_REVISION.incrementAndGet();
+    }
+
+    public static long modelRevision() {
+        return MODEL_REVISION.get();
     }
 
     public static Map<UUID, String> getAllRemotePlayerModels() {
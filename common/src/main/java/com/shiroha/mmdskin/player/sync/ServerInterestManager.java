@@ -0,0 +1,280 @@
+package com.shiroha.mmdskin.player.sync;
+
+import com.shiroha.mmdskin.ui.network.NetworkOpCode;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 文件职责：服务端兴趣区域（AOI）管理。
+ * 每个服务端 tick 按距离计算“谁能看到谁”，只向视野内的玩家转发模型、表情、动作与骨骼同步；
+ * 模型与表情视为状态，在目标进入视野时按需补发；同一 tick 内的表情/动作更新只保留最新一条。
+ * 所有方法只应在服务端主线程调用。
+ */
+public final class ServerInterestManager {
+    private static final ServerInterestManager INSTANCE = new ServerInterestManager();
+
+    /** 离开视野需额外超出的距离，避免在边界处反复进出 */
+    static final double EXIT_MARGIN = 16.0;
+
+    public record TrackedPlayer(UUID uuid, String dimension, double x, double y, double z) {
+    }
+
+    @FunctionalInterface
+    public interface Delivery {
+        void send(UUID target, InterestMessage message);
+    }
+
+    private record PendingKey(UUID subject, int opCode) {
+    }
+
+    private final Map<UUID, TrackedPlayer> players = new HashMap<>();
+    /** 观察者 -> 视野内的其他玩家 */
+    private final Map<UUID, Set<UUID>> visible = new HashMap<>();
+    /** 目标 -> 能看到它的观察者，与 visible 在进出视野时同步维护，转发时无需遍历全部观察者 */
+    private final Map<UUID, Set<UUID>> observers = new HashMap<>();
+    /** 观察者 -> 目标 -> 已下发的模型名 / 表情 */
+    private final Map<UUID, Map<UUID, String>> deliveredModels = new HashMap<>();
+    private final Map<UUID, Map<UUID, String>> deliveredMorphs = new HashMap<>();
+    private final Map<UUID, String> morphStates = new HashMap<>();
+    private final Set<UUID> dirtyMorphs = new HashSet<>();
+    private final Map<PendingKey, InterestMessage> pendingEvents = new LinkedHashMap<>();
+
+    private long broadcastPackets;
+    private long broadcastBytes;
+    private long sentPackets;
+    private long sentBytes;
+    private long coalescedMessages;
+
+    ServerInterestManager() {
+    }
+
+    public static ServerInterestManager get() {
+        return INSTANCE;
+    }
+
+    /**
+     * 接收一条来自 subject 的同步消息。
+     * 模型选择需已写入 {@link ServerModelRegistry}；表情与动作在下一次 {@link #tick} 合并下发，其余消息立即转发给视野内的玩家。
+     */
+    public void submit(UUID subject, InterestMessage message, Delivery delivery) {
+        accountBroadcast(Math.max(0, players.size() - 1), message.payloadBytes());
+        switch (message.opCode()) {
+            case NetworkOpCode.MODEL_SELECT -> {
+                // 状态已在注册表中，tick 时按差异下发
+            }
+            case NetworkOpCode.MORPH_SYNC -> {
+                morphStates.put(subject, message.text() != null ? message.text() : "");
+                if (!dirtyMorphs.add(subject)) {
+                    coalescedMessages++;
+                }
+            }
+            case NetworkOpCode.CUSTOM_ANIM -> {
+                if (pendingEvents.put(new PendingKey(subject, message.opCode()), message) != null) {
+                    coalescedMessages++;
+                }
+            }
+            default -> {
+                for (UUID observer : observersOf(subject)) {
+                    deliver(observer, message, delivery);
+                }
+            }
+        }
+    }
+
+    /** 观察者请求全部模型：重置其已下发记录，视野内的模型在下一 tick 补发，视野外的在进入视野时补发 */
+    public void onRequestAllModels(UUID observer) {
+        deliveredModels.remove(observer);
+        deliveredMorphs.remove(observer);
+    }
+
+    public void tick(Collection<TrackedPlayer> online, double range, Delivery delivery) {
+        players.clear();
+        for (TrackedPlayer player : online) {
+            players.put(player.uuid(), player);
+        }
+        dropOfflinePlayers();
+
+        for (TrackedPlayer observer : online) {
+            Set<UUID> seen = visible.computeIfAbsent(observer.uuid(), key -> new HashSet<>());
+            for (TrackedPlayer subject : online) {
+                if (subject == observer) {
+                    continue;
+                }
+                boolean wasVisible = seen.contains(subject.uuid());
+                if (inRange(observer, subject, wasVisible ? range + EXIT_MARGIN : range)) {
+                    if (!wasVisible) {
+                        seen.add(subject.uuid());
+                        observers.computeIfAbsent(subject.uuid(), key -> new HashSet<>()).add(observer.uuid());
+                    }
+                    syncStates(observer.uuid(), subject.uuid(), delivery);
+                } else if (wasVisible) {
+                    seen.remove(subject.uuid());
+                    unlink(subject.uuid(), observer.uuid());
+                }
+            }
+        }
+        dirtyMorphs.clear();
+
+        for (Iterator<Map.Entry<PendingKey, InterestMessage>> it = pendingEvents.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<PendingKey, InterestMessage> entry = it.next();
+            it.remove();
+            for (UUID observer : observersOf(entry.getKey().subject())) {
+                deliver(observer, entry.getValue(), delivery);
+            }
+        }
+    }
+
+    public boolean isVisible(UUID observer, UUID subject) {
+        Set<UUID> seen = visible.get(observer);
+        return seen != null && seen.contains(subject);
+    }
+
+    public void onPlayerLeave(UUID playerUUID) {
+        players.remove(playerUUID);
+        removeObserver(playerUUID);
+        removeSubject(playerUUID);
+        deliveredModels.remove(playerUUID);
+        deliveredMorphs.remove(playerUUID);
+        morphStates.remove(playerUUID);
+        dirtyMorphs.remove(playerUUID);
+        for (Map<UUID, String> delivered : deliveredModels.values()) {
+            delivered.remove(playerUUID);
+        }
+        for (Map<UUID, String> delivered : deliveredMorphs.values()) {
+            delivered.remove(playerUUID);
+        }
+        pendingEvents.keySet().removeIf(key -> key.subject().equals(playerUUID));
+    }
+
+    public void clear() {
+        players.clear();
+        visible.clear();
+        observers.clear();
+        deliveredModels.clear();
+        deliveredMorphs.clear();
+        morphStates.clear();
+        dirtyMorphs.clear();
+        pendingEvents.clear();
+        broadcastPackets = 0;
+        broadcastBytes = 0;
+        sentPackets = 0;
+        sentBytes = 0;
+        coalescedMessages = 0;
+    }
+
+    /** 相比全服广播少发的包数 */
+    public long getSuppressedPackets() {
+        return Math.max(0L, broadcastPackets - sentPackets);
+    }
+
+    /** 相比全服广播节省的字节数 */
+    public long getSavedBytes() {
+        return Math.max(0L, broadcastBytes - sentBytes);
+    }
+
+    public long getSentPackets() {
+        return sentPackets;
+    }
+
+    public long getCoalescedMessages() {
+        return coalescedMessages;
+    }
+
+    private void syncStates(UUID observer, UUID subject, Delivery delivery) {
+        String model = ServerModelRegistry.getModel(subject);
+        Map<UUID, String> models = deliveredModels.computeIfAbsent(observer, key -> new HashMap<>());
+        if (!Objects.equals(models.get(subject), model) && (model != null || models.containsKey(subject))) {
+            deliver(observer, InterestMessage.ofText(NetworkOpCode.MODEL_SELECT, subject, model != null ? model : ""), delivery);
+            models.put(subject, model);
+        }
+
+        String morph = morphStates.get(subject);
+        Map<UUID, String> morphs = deliveredMorphs.computeIfAbsent(observer, key -> new HashMap<>());
+        if (morph != null && !morph.equals(morphs.get(subject))) {
+            deliver(observer, InterestMessage.ofText(NetworkOpCode.MORPH_SYNC, subject, morph), delivery);
+            morphs.put(subject, morph);
+        }
+    }
+
+    private Set<UUID> observersOf(UUID subject) {
+        return observers.getOrDefault(subject, Set.of());
+    }
+
+    /** 清理未调用 onPlayerLeave 就从在线列表消失的玩家，保持正反两个方向的视野索引一致 */
+    private void dropOfflinePlayers() {
+        List<UUID> offline = new ArrayList<>();
+        for (UUID observer : visible.keySet()) {
+            if (!players.containsKey(observer)) {
+                offline.add(observer);
+            }
+        }
+        for (UUID subject : observers.keySet()) {
+            if (!players.containsKey(subject)) {
+                offline.add(subject);
+            }
+        }
+        for (UUID player : offline) {
+            removeObserver(player);
+            removeSubject(player);
+        }
+    }
+
+    private void removeObserver(UUID observer) {
+        Set<UUID> seen = visible.remove(observer);
+        if (seen != null) {
+            for (UUID subject : seen) {
+                unlink(subject, observer);
+            }
+        }
+    }
+
+    private void removeSubject(UUID subject) {
+        Set<UUID> watchers = observers.remove(subject);
+        if (watchers != null) {
+            for (UUID observer : watchers) {
+                Set<UUID> seen = visible.get(observer);
+                if (seen != null) {
+                    seen.remove(subject);
+                }
+            }
+        }
+    }
+
+    private void unlink(UUID subject, UUID observer) {
+        Set<UUID> watchers = observers.get(subject);
+        if (watchers != null && watchers.remove(observer) && watchers.isEmpty()) {
+            observers.remove(subject);
+        }
+    }
+
+    private void deliver(UUID target, InterestMessage message, Delivery delivery) {
+        sentPackets++;
+        sentBytes += message.payloadBytes();
+        delivery.send(target, message);
+    }
+
+    private void accountBroadcast(int packets, int bytesPerPacket) {
+        broadcastPackets += packets;
+        broadcastBytes += (long) packets * bytesPerPacket;
+    }
+
+    private static boolean inRange(TrackedPlayer a, TrackedPlayer b, double range) {
+        if (!Objects.equals(a.dimension(), b.dimension())) {
+            return false;
+        }
+        double dx = a.x() - b.x();
+        double dy = a.y() - b.y();
+        double dz = a.z() - b.z();
+        return dx * dx + dy * dy + dz * dz <= range * range;
+    }
+}
@@ -0,0 +1,38 @@
+package com.shiroha.mmdskin.player.sync;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** 文件职责：在服务端 tick 末尾采集在线玩家位置并驱动兴趣管理，平台层只需提供发送实现。 */
+public final class ServerInterestTicker {
+    private static final Logger LOGGER = LogManager.getLogger();
+    /** 每分钟输出一次转发统计 */
+    private static final int STATS_INTERVAL_TICKS = 1200;
+
+    private ServerInterestTicker() {
+    }
+
+    public static void tick(MinecraftServer server, ServerInterestManager.Delivery delivery) {
+        List<ServerInterestManager.TrackedPlayer> tracked = new ArrayList<>();
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            tracked.add(new ServerInterestManager.TrackedPlayer(
+                    player.getUUID(),
+                    player.level().dimension().location().toString(),
+                    player.getX(), player.getY(), player.getZ()));
+        }
+        double range = server.getPlayerList().getViewDistance() * 16.0;
+        ServerInterestManager manager = ServerInterestManager.get();
+        manager.tick(tracked, range, delivery);
+
+        if (server.getTickCount() % STATS_INTERVAL_TICKS == 0 && LOGGER.isDebugEnabled()) {
+            LOGGER.debug("兴趣管理: 已发送 {} 包, 少发 {} 包, 节省 {} 字节, 合并 {} 条",
+                    manager.getSentPackets(), manager.getSuppressedPackets(),
+                    manager.getSavedBytes(), manager.getCoalescedMessages());
+        }
+    }
+}
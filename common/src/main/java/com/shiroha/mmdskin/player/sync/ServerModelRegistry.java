@@ -7,7 +7,7 @@ import java.util.function.BiConsumer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-/** 文件职责：维护服务端玩家模型选择表，并向新加入玩家回放当前状态。 */
+/** 文件职责：维护服务端玩家模型选择表，供兴趣管理按视野向其他玩家下发。 */
 public final class ServerModelRegistry {
     private static final Logger LOGGER = LogManager.getLogger();
 
@@ -24,6 +24,10 @@ public final class ServerModelRegistry {
         PLAYER_MODELS.put(playerUUID, modelName);
     }
 
+    public static String getModel(UUID playerUUID) {
+        return PLAYER_MODELS.get(playerUUID);
+    }
+
     public static void onPlayerLeave(UUID playerUUID) {
         PLAYER_MODELS.remove(playerUUID);
     }
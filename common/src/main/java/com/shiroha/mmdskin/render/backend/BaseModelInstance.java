@@ -6,6 +6,7 @@ import com.shiroha.mmdskin.model.runtime.ModelInstance;
 import com.shiroha.mmdskin.render.scene.RenderScene;
 import com.shiroha.mmdskin.render.pipeline.LivingEntityModelStateHelper;
 import com.shiroha.mmdskin.render.pipeline.RenderPerformanceProfiler;
+import com.shiroha.mmdskin.render.policy.PhysicsLod;
 import com.shiroha.mmdskin.render.policy.WorldRenderPolicy;
 import com.shiroha.mmdskin.stage.client.camera.MMDCameraController;
 import com.shiroha.mmdskin.texture.runtime.TextureRepository;
@@ -52,6 +53,8 @@ public abstract class BaseModelInstance implements ModelInstance {
     protected final AtomicLong nativeUpdateRevision = new AtomicLong(0L);
     private boolean physicsStateInitialized = false;
     private boolean physicsEnabled = true;
+    private PhysicsLod nativePhysicsLod = PhysicsLod.FULL;
+    private float physicsCostMs;
 
     public void setVrActive(boolean active) { this.vrActive = active; }
 
@@ -71,14 +74,20 @@ public abstract class BaseModelInstance implements ModelInstance {
         if (model == 0 || !isReady()) return;
 
         WorldRenderPolicy.Decision worldDecision = nonWorldDecision();
+        physicsCostMs = 0.0f;
         if (context != null && context.isWorldScene()) {
             worldDecision = WorldRenderPolicy.get().resolve(model, entityIn);
             if (!worldDecision.shouldRender()) {
                 return;
             }
+            if (worldDecision.physicsLod().isSimulated()) {
+                physicsCostMs = backendPort().getPhysicsStepTimeMs(model);
+                WorldRenderPolicy.get().recordPhysicsCost(entityIn, physicsCostMs);
+            }
         } else {
-            applyPhysicsState(RuntimeConfigPortHolder.get().isPhysicsEnabled());
+            applyPhysicsState(RuntimeConfigPortHolder.get().isPhysicsEnabled() ? PhysicsLod.FULL : PhysicsLod.OFF);
         }
+        TextureRepository.requestResidency(textureKeys, worldDecision.distanceSq());
 
         if (entityIn instanceof LivingEntity living) {
             handleLivingEntity(living, entityYaw, entityPitch, entityTrans,
@@ -86,11 +95,11 @@ public abstract class BaseModelInstance implements ModelInstance {
             return;
         }
 
-        applyPhysicsState(worldDecision.physicsEnabled());
+        applyPhysicsState(worldDecision.physicsLod());
         if (worldDecision.shouldUpdate()) {
-            update();
+            requestUpdate(context);
         }
-        doRenderModel(entityIn, entityYaw, entityPitch, entityTrans, mat, packedLight);
+        drawModel(context, entityIn, entityYaw, entityPitch, entityTrans, mat, packedLight);
     }
 
     @Override
@@ -151,7 +160,7 @@ public abstract class BaseModelInstance implements ModelInstance {
                                      int packedLight, RenderScene context, WorldRenderPolicy.Decision worldDecision) {
         boolean stagePlaying = MMDCameraController.getInstance().isStagePlayingModel(model);
 
-        applyPhysicsState(worldDecision.physicsEnabled());
+        applyPhysicsState(worldDecision.physicsLod());
 
         if (worldDecision.shouldUpdate()) {
             long syncTimer = RenderPerformanceProfiler.get().startTimer();
@@ -166,31 +175,77 @@ public abstract class BaseModelInstance implements ModelInstance {
                     vrActive);
             RenderPerformanceProfiler.get().endTimer(RenderPerformanceProfiler.SECTION_LIVING_STATE_SYNC, syncTimer);
 
+            requestUpdate(context);
+        }
+        drawModel(context, entityIn, entityYaw, entityPitch, entityTrans, mat, packedLight);
+    }
+
+    /**
+     * 世界场景的模型交给帧级更新阶段，在本帧实体阶段末尾与其他模型一起并行更新；
+     * 物品栏等非世界场景与 VR 模型仍立即更新，保证预览与追踪无额外延迟。
+     */
+    private void requestUpdate(RenderScene context) {
+        if (context != null && context.isWorldScene() && !vrActive) {
+            ModelUpdatePhase.get().schedule(this);
+        } else {
             update();
         }
+    }
+
+    /** 世界实体阶段内的绘制推迟到本帧批量更新之后，其余场景立即绘制。 */
+    private void drawModel(RenderScene context, Entity entityIn, float entityYaw, float entityPitch,
+                           Vector3f entityTrans, PoseStack mat, int packedLight) {
+        if (context != null && context.isWorldScene() && !vrActive
+                && ModelUpdatePhase.get().deferDraw(this, entityIn, entityYaw, entityPitch, entityTrans, mat, packedLight)) {
+            return;
+        }
         doRenderModel(entityIn, entityYaw, entityPitch, entityTrans, mat, packedLight);
     }
 
     protected boolean update() {
+        float deltaTime = consumeDeltaTime();
+        if (deltaTime <= 0.0f) return false;
+
+        long updateTimer = RenderPerformanceProfiler.get().startTimer();
+        boolean poseChanged = onUpdate(deltaTime);
+        RenderPerformanceProfiler.get().endTimer(RenderPerformanceProfiler.SECTION_NATIVE_MODEL_UPDATE, updateTimer);
+        completeNativeUpdate(poseChanged);
+        return true;
+    }
+
+    /** 推进更新时钟并返回本次步长；首次调用或时间未前进时返回 0。 */
+    final float consumeDeltaTime() {
         long currentTime = System.currentTimeMillis();
         if (lastUpdateTime < 0) {
             lastUpdateTime = currentTime;
-            return false;
+            return 0.0f;
         }
 
         float deltaTime = (currentTime - lastUpdateTime) / 1000.0f;
         lastUpdateTime = currentTime;
 
-        if (deltaTime <= 0.0f) return false;
-        if (deltaTime > MAX_DELTA_TIME) deltaTime = MAX_DELTA_TIME;
+        if (deltaTime <= 0.0f) return 0.0f;
+        return Math.min(deltaTime, MAX_DELTA_TIME);
+    }
 
-        long updateTimer = RenderPerformanceProfiler.get().startTimer();
-        onUpdate(deltaTime);
-        RenderPerformanceProfiler.get().endTimer(RenderPerformanceProfiler.SECTION_NATIVE_MODEL_UPDATE, updateTimer);
-        nativeUpdateRevision.incrementAndGet();
+    /** 姿势未变化时不推进修订号，渲染器据此跳过上传、计算着色器派发与子网格读取。 */
+    final void completeNativeUpdate(boolean poseChanged) {
+        RenderPerformanceProfiler.get().recordModelUpdate(poseChanged);
+        if (poseChanged) {
+            nativeUpdateRevision.incrementAndGet();
+        }
+    }
+
+    /** 批量更新时是否需要 native 侧执行 CPU 蒙皮。 */
+    protected boolean requiresCpuSkinning() {
         return true;
     }
 
+    /** 本帧渲染时读取的物理步进耗时（毫秒），物理未参与步进时为 0；供批量更新安排并行顺序。 */
+    final float physicsCostMs() {
+        return physicsCostMs;
+    }
+
     protected long getNativeUpdateRevision() {
         return nativeUpdateRevision.get();
     }
@@ -222,6 +277,7 @@ public abstract class BaseModelInstance implements ModelInstance {
     }
 
     protected void disposeModelHandle() {
+        ModelUpdatePhase.get().cancel(this);
         if (model != 0) {
             backendPort().deleteModel(model);
             model = 0;
@@ -285,32 +341,39 @@ public abstract class BaseModelInstance implements ModelInstance {
     protected abstract void doRenderModel(Entity entityIn, float entityYaw, float entityPitch,
                                            Vector3f entityTrans, PoseStack mat, int packedLight);
 
-    protected abstract void onUpdate(float deltaTime);
+    /** 推进 native 动画；返回姿势是否变化。 */
+    protected abstract boolean onUpdate(float deltaTime);
 
     protected boolean isReady() {
         return true;
     }
 
-    private void applyPhysicsState(boolean enabled) {
+    /** OFF 关闭物理（物理骨骼回到动画姿势）；其余等级保持物理开启，仅改变步进频率或冻结 */
+    private void applyPhysicsState(PhysicsLod lod) {
         if (model == 0) {
             return;
         }
 
+        boolean enabled = lod != PhysicsLod.OFF;
         if (!physicsStateInitialized || physicsEnabled != enabled) {
             backendPort().setPhysicsEnabled(model, enabled);
             physicsEnabled = enabled;
             physicsStateInitialized = true;
         }
+        if (enabled && nativePhysicsLod != lod) {
+            backendPort().setPhysicsLod(model, lod.nativeLevel());
+            nativePhysicsLod = lod;
+        }
     }
 
     private static final WorldRenderPolicy.Decision NON_WORLD_DECISION =
-            new WorldRenderPolicy.Decision(true, true, true);
+            new WorldRenderPolicy.Decision(true, true, PhysicsLod.FULL, 0.0d);
 
     private WorldRenderPolicy.Decision nonWorldDecision() {
         boolean physics = RuntimeConfigPortHolder.get().isPhysicsEnabled();
         if (physics) {
             return NON_WORLD_DECISION;
         }
-        return new WorldRenderPolicy.Decision(true, true, false);
+        return new WorldRenderPolicy.Decision(true, true, PhysicsLod.OFF, 0.0d);
     }
 }
@@ -0,0 +1,214 @@
+package com.shiroha.mmdskin.render.backend;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.shiroha.mmdskin.bridge.runtime.NativeRenderBackendPort;
+import com.shiroha.mmdskin.render.backend.gpu.GpuSkinningBatch;
+import com.shiroha.mmdskin.render.pipeline.RenderPerformanceProfiler;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import net.minecraft.world.entity.Entity;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.joml.Vector3f;
+
+/**
+ * 文件职责：收集世界帧内需要更新的模型，一次性提交 native 并行更新。
+ * 世界实体阶段内的绘制先记录下来，阶段结束时先批量更新与 GPU 蒙皮，再按记录顺序绘制，
+ * 使模型在同一帧内完成更新与绘制；阶段之外（Iris 阴影、未挂钩的渲染路径）仍在下一帧开始时更新。
+ */
+public final class ModelUpdatePhase {
+    private static final Logger logger = LogManager.getLogger();
+    private static final ModelUpdatePhase INSTANCE = new ModelUpdatePhase();
+    private static final int INITIAL_CAPACITY = 32;
+
+    private final List<BaseModelInstance> scheduled = new ArrayList<>();
+    private final Set<BaseModelInstance> scheduledSet = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private BaseModelInstance[] batchInstances = new BaseModelInstance[INITIAL_CAPACITY];
+    private long[] batchHandles = new long[INITIAL_CAPACITY];
+    private float[] batchDeltas = new float[INITIAL_CAPACITY];
+    private boolean[] batchCpuSkinning = new boolean[INITIAL_CAPACITY];
+    private float[] batchPhysicsCosts = new float[INITIAL_CAPACITY];
+    private boolean[] batchPoseChanged = new boolean[INITIAL_CAPACITY];
+
+    private boolean batchSupported = true;
+
+    private final List<DeferredDraw> deferredDraws = new ArrayList<>();
+    private int deferredCount = 0;
+    private boolean entityPassActive = false;
+
+    private ModelUpdatePhase() {
+    }
+
+    public static ModelUpdatePhase get() {
+        return INSTANCE;
+    }
+
+    synchronized void schedule(BaseModelInstance instance) {
+        if (scheduledSet.add(instance)) {
+            scheduled.add(instance);
+        }
+    }
+
+    synchronized void cancel(BaseModelInstance instance) {
+        if (scheduledSet.remove(instance)) {
+            scheduled.remove(instance);
+        }
+    }
+
+    /** 世界实体渲染循环开始时调用；之后的世界模型绘制推迟到 {@link #endEntityPass()}。 */
+    public void beginEntityPass() {
+        if (entityPassActive) {
+            endEntityPass();
+        }
+        entityPassActive = true;
+    }
+
+    /** 世界实体渲染循环结束时调用：先提交本帧的批量更新与 GPU 蒙皮，再绘制记录的模型。 */
+    public void endEntityPass() {
+        entityPassActive = false;
+        runScheduledUpdates();
+        GpuSkinningBatch.get().dispatchPending();
+
+        int count = deferredCount;
+        deferredCount = 0;
+        try {
+            for (int i = 0; i < count; i++) {
+                deferredDraws.get(i).draw();
+            }
+        } finally {
+            for (int i = 0; i < count; i++) {
+                deferredDraws.get(i).clear();
+            }
+        }
+    }
+
+    /** 实体阶段内记录一次绘制并返回 true；阶段之外返回 false，由调用方立即绘制。 */
+    boolean deferDraw(BaseModelInstance instance, Entity entity, float entityYaw, float entityPitch,
+                      Vector3f entityTrans, PoseStack mat, int packedLight) {
+        if (!entityPassActive) {
+            return false;
+        }
+        if (deferredCount == deferredDraws.size()) {
+            deferredDraws.add(new DeferredDraw());
+        }
+        deferredDraws.get(deferredCount++).set(instance, entity, entityYaw, entityPitch, entityTrans, mat, packedLight);
+        return true;
+    }
+
+    /** 在新世界帧开始、任何模型渲染之前调用；返回本次批量更新的模型数。 */
+    public synchronized int runScheduledUpdates() {
+        if (scheduled.isEmpty()) {
+            return 0;
+        }
+
+        long updateTimer = RenderPerformanceProfiler.get().startTimer();
+        ensureCapacity(scheduled.size());
+
+        NativeRenderBackendPort batchPort = null;
+        int count = 0;
+        for (BaseModelInstance instance : scheduled) {
+            if (instance.getModelHandle() == 0) {
+                continue;
+            }
+            float deltaTime = instance.consumeDeltaTime();
+            if (deltaTime <= 0.0f) {
+                continue;
+            }
+
+            NativeRenderBackendPort port = instance.backendPort();
+            if (batchPort == null) {
+                batchPort = port;
+            }
+            if (!batchSupported || port != batchPort) {
+                instance.completeNativeUpdate(instance.onUpdate(deltaTime));
+                continue;
+            }
+
+            batchInstances[count] = instance;
+            batchHandles[count] = instance.getModelHandle();
+            batchDeltas[count] = deltaTime;
+            batchCpuSkinning[count] = instance.requiresCpuSkinning();
+            batchPhysicsCosts[count] = instance.physicsCostMs();
+            count++;
+        }
+        scheduled.clear();
+        scheduledSet.clear();
+
+        if (count > 0) {
+            submitBatch(batchPort, count);
+        }
+        RenderPerformanceProfiler.get().endTimer(RenderPerformanceProfiler.SECTION_NATIVE_MODEL_UPDATE, updateTimer);
+        return count;
+    }
+
+    private void submitBatch(NativeRenderBackendPort port, int count) {
+        try {
+            port.updateModelsBatch(batchHandles, batchDeltas, batchCpuSkinning, batchPhysicsCosts, batchPoseChanged,
+                    count);
+        } catch (UnsatisfiedLinkError e) {
+            logger.warn("批量更新 JNI 方法未找到，已回退为逐模型更新，请重新编译 Rust 库");
+            batchSupported = false;
+            for (int i = 0; i < count; i++) {
+                batchPoseChanged[i] = batchInstances[i].onUpdate(batchDeltas[i]);
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            batchInstances[i].completeNativeUpdate(batchPoseChanged[i]);
+            batchInstances[i] = null;
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (batchHandles.length >= required) {
+            return;
+        }
+        int capacity = Math.max(required, batchHandles.length * 2);
+        batchInstances = Arrays.copyOf(batchInstances, capacity);
+        batchHandles = Arrays.copyOf(batchHandles, capacity);
+        batchDeltas = Arrays.copyOf(batchDeltas, capacity);
+        batchCpuSkinning = Arrays.copyOf(batchCpuSkinning, capacity);
+        batchPhysicsCosts = Arrays.copyOf(batchPhysicsCosts, capacity);
+        batchPoseChanged = Arrays.copyOf(batchPoseChanged, capacity);
+    }
+
+    /** 一次推迟的绘制；姿势矩阵与平移在记录时复制，条目在帧间复用。 */
+    private static final class DeferredDraw {
+        private final PoseStack pose = new PoseStack();
+        private final Vector3f entityTrans = new Vector3f();
+        private BaseModelInstance instance;
+        private Entity entity;
+        private float entityYaw;
+        private float entityPitch;
+        private int packedLight;
+
+        void set(BaseModelInstance instance, Entity entity, float entityYaw, float entityPitch,
+                 Vector3f entityTrans, PoseStack mat, int packedLight) {
+            this.instance = instance;
+            this.entity = entity;
+            this.entityYaw = entityYaw;
+            this.entityPitch = entityPitch;
+            this.entityTrans.set(entityTrans);
+            this.pose.last().pose().set(mat.last().pose());
+            this.pose.last().normal().set(mat.last().normal());
+            this.packedLight = packedLight;
+        }
+
+        void draw() {
+            if (instance.getModelHandle() == 0) {
+                return;
+            }
+            instance.doRenderModel(entity, entityYaw, entityPitch, entityTrans, pose, packedLight);
+        }
+
+        void clear() {
+            instance = null;
+            entity = null;
+        }
+    }
+}
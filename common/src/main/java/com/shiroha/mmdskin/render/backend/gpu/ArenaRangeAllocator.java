@@ -0,0 +1,89 @@
+package com.shiroha.mmdskin.render.backend.gpu;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/** 文件职责：管理 arena 中的空闲区间（首次适配分配，释放时合并相邻区间）。 */
+final class ArenaRangeAllocator {
+    private final TreeMap<Long, Long> freeRanges = new TreeMap<>();
+    private long capacity;
+    private long used;
+
+    ArenaRangeAllocator(long capacity) {
+        this.capacity = Math.max(0L, capacity);
+        if (this.capacity > 0) {
+            freeRanges.put(0L, this.capacity);
+        }
+    }
+
+    /** 分配指定长度的区间，返回起始偏移；空间不足时返回 -1。 */
+    long allocate(long length) {
+        if (length <= 0) {
+            return -1L;
+        }
+        for (Map.Entry<Long, Long> range : freeRanges.entrySet()) {
+            long offset = range.getKey();
+            long rangeLength = range.getValue();
+            if (rangeLength < length) {
+                continue;
+            }
+            freeRanges.remove(offset);
+            if (rangeLength > length) {
+                freeRanges.put(offset + length, rangeLength - length);
+            }
+            used += length;
+            return offset;
+        }
+        return -1L;
+    }
+
+    void free(long offset, long length) {
+        if (length <= 0 || offset < 0 || offset + length > capacity) {
+            return;
+        }
+        long start = offset;
+        long end = offset + length;
+
+        Map.Entry<Long, Long> previous = freeRanges.floorEntry(start);
+        if (previous != null && previous.getKey() + previous.getValue() == start) {
+            start = previous.getKey();
+            freeRanges.remove(previous.getKey());
+        }
+        Long nextLength = freeRanges.remove(end);
+        if (nextLength != null) {
+            end += nextLength;
+        }
+        freeRanges.put(start, end - start);
+        used -= length;
+    }
+
+    /** 扩容到新的总长度，新增部分并入末尾空闲区间。 */
+    void grow(long newCapacity) {
+        if (newCapacity <= capacity) {
+            return;
+        }
+        long start = capacity;
+        Map.Entry<Long, Long> last = freeRanges.lastEntry();
+        if (last != null && last.getKey() + last.getValue() == capacity) {
+            start = last.getKey();
+            freeRanges.remove(start);
+        }
+        freeRanges.put(start, newCapacity - start);
+        capacity = newCapacity;
+    }
+
+    /** 放入指定长度的区间至少需要的总容量（复用末尾空闲区间）。 */
+    long requiredCapacity(long length) {
+        Map.Entry<Long, Long> last = freeRanges.lastEntry();
+        long trailingFree = last != null && last.getKey() + last.getValue() == capacity ? last.getValue() : 0L;
+        return capacity + Math.max(0L, length - trailingFree);
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    long used() {
+        return used;
+    }
+}
@@ -0,0 +1,124 @@
+package com.shiroha.mmdskin.render.backend.gpu;
+
+import java.nio.ByteBuffer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.lwjgl.opengl.GL46C;
+
+/**
+ * 文件职责：多模型共享的 GPU 缓冲区 arena。
+ * 多条数据流共用同一套区间分配（单位为元素），扩容时整体复制到更大的缓冲区。
+ */
+final class GpuSkinningArena {
+    private static final Logger logger = LogManager.getLogger();
+
+    private final String name;
+    private final int[] strides;
+    private final int[] buffers;
+    private final long maxBytesPerStream;
+    private final ArenaRangeAllocator allocator;
+
+    GpuSkinningArena(String name, long initialUnits, long maxBytesPerStream, int... strides) {
+        this.name = name;
+        this.strides = strides.clone();
+        this.buffers = new int[strides.length];
+        this.maxBytesPerStream = maxBytesPerStream;
+        this.allocator = new ArenaRangeAllocator(initialUnits);
+        for (int i = 0; i < strides.length; i++) {
+            buffers[i] = createBuffer((long) strides[i] * initialUnits);
+        }
+    }
+
+    /** 分配 units 个元素，必要时扩容；超出驱动 SSBO 上限时返回 -1。 */
+    long allocate(long units) {
+        long offset = allocator.allocate(units);
+        if (offset >= 0) {
+            return offset;
+        }
+
+        long required = allocator.requiredCapacity(units);
+        long maxUnits = maxBytesPerStream / maxStride();
+        if (required > maxUnits) {
+            logger.warn("{} arena 已达到 SSBO 上限（需要 {} 个元素，上限 {}）", name, required, maxUnits);
+            return -1L;
+        }
+        grow(Math.min(maxUnits, Math.max(required, allocator.capacity() * 2)));
+        return allocator.allocate(units);
+    }
+
+    void free(long offset, long units) {
+        if (offset >= 0) {
+            allocator.free(offset, units);
+        }
+    }
+
+    void upload(int stream, long unitOffset, ByteBuffer data) {
+        GL46C.glBindBuffer(GL46C.GL_COPY_WRITE_BUFFER, buffers[stream]);
+        GL46C.glBufferSubData(GL46C.GL_COPY_WRITE_BUFFER, unitOffset * strides[stream], data);
+        GL46C.glBindBuffer(GL46C.GL_COPY_WRITE_BUFFER, 0);
+    }
+
+    int buffer(int stream) {
+        return buffers[stream];
+    }
+
+    long byteOffset(int stream, long unitOffset) {
+        return unitOffset * strides[stream];
+    }
+
+    long capacityBytes() {
+        long total = 0;
+        for (int stride : strides) {
+            total += stride * allocator.capacity();
+        }
+        return total;
+    }
+
+    long usedUnits() {
+        return allocator.used();
+    }
+
+    void dispose() {
+        for (int i = 0; i < buffers.length; i++) {
+            if (buffers[i] > 0) {
+                GL46C.glDeleteBuffers(buffers[i]);
+                buffers[i] = 0;
+            }
+        }
+    }
+
+    private void grow(long newUnits) {
+        long oldUnits = allocator.capacity();
+        for (int i = 0; i < buffers.length; i++) {
+            int grown = createBuffer((long) strides[i] * newUnits);
+            if (oldUnits > 0) {
+                GL46C.glBindBuffer(GL46C.GL_COPY_READ_BUFFER, buffers[i]);
+                GL46C.glBindBuffer(GL46C.GL_COPY_WRITE_BUFFER, grown);
+                GL46C.glCopyBufferSubData(GL46C.GL_COPY_READ_BUFFER, GL46C.GL_COPY_WRITE_BUFFER,
+                        0L, 0L, (long) strides[i] * oldUnits);
+            }
+            GL46C.glDeleteBuffers(buffers[i]);
+            buffers[i] = grown;
+        }
+        GL46C.glBindBuffer(GL46C.GL_COPY_READ_BUFFER, 0);
+        GL46C.glBindBuffer(GL46C.GL_COPY_WRITE_BUFFER, 0);
+        allocator.grow(newUnits);
+        logger.debug("{} arena 扩容: {} -> {} 个元素", name, oldUnits, newUnits);
+    }
+
+    private int maxStride() {
+        int max = 1;
+        for (int stride : strides) {
+            max = Math.max(max, stride);
+        }
+        return max;
+    }
+
+    private static int createBuffer(long size) {
+        int buffer = GL46C.glGenBuffers();
+        GL46C.glBindBuffer(GL46C.GL_COPY_WRITE_BUFFER, buffer);
+        GL46C.glBufferData(GL46C.GL_COPY_WRITE_BUFFER, Math.max(size, 16L), GL46C.GL_DYNAMIC_DRAW);
+        GL46C.glBindBuffer(GL46C.GL_COPY_WRITE_BUFFER, 0);
+        return buffer;
+    }
+}
@@ -0,0 +1,380 @@
+package com.shiroha.mmdskin.render.backend.gpu;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.shiroha.mmdskin.bridge.runtime.NativeRenderBackendPort;
+import com.shiroha.mmdskin.render.pipeline.RenderPerformanceProfiler;
+import com.shiroha.mmdskin.render.shader.BatchSkinningComputeShader;
+import com.shiroha.mmdskin.render.shader.SSBOBindings;
+import com.shiroha.mmdskin.render.shader.ShaderConstants;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.lwjgl.opengl.GL46C;
+import org.lwjgl.system.MemoryUtil;
+
+/**
+ * 文件职责：帧级批量 GPU 蒙皮。
+ * 模型的静态顶点数据与蒙皮输出位于共享 arena；每帧把脏模型的骨骼矩阵与 morph 权重打包进共享 SSBO，
+ * 按模型记录表一次间接派发、一次内存屏障，绘制时各模型读取输出 arena 中的子区间。
+ */
+public final class GpuSkinningBatch {
+    private static final Logger logger = LogManager.getLogger();
+    private static final GpuSkinningBatch INSTANCE = new GpuSkinningBatch();
+
+    static final int STREAM_ORIG_POSITIONS = 0;
+    static final int STREAM_ORIG_NORMALS = 1;
+    static final int STREAM_BONE_INDICES = 2;
+    static final int STREAM_BONE_WEIGHTS = 3;
+    static final int STREAM_ORIG_UVS = 4;
+    static final int STREAM_SKINNED_POSITIONS = 5;
+    static final int STREAM_SKINNED_NORMALS = 6;
+    static final int STREAM_SKINNED_UVS = 7;
+
+    private static final int INITIAL_VERTEX_UNITS = 1 << 16;
+    private static final int INITIAL_MORPH_UNITS = 1 << 20;
+    private static final int INITIAL_STAGING_BYTES = 64 * 1024;
+    private static final int INITIAL_PENDING = 32;
+
+    /** arena 中一个模型占用的区间 */
+    record Allocation(long vertexBase, int vertexCount, long morphBase, long morphUnits,
+                      int vertexMorphCount, long uvMorphBase, int uvMorphCount) {
+    }
+
+    private final List<GpuSkinningModelInstance> instances = new ArrayList<>();
+    private GpuSkinningModelInstance[] pending = new GpuSkinningModelInstance[INITIAL_PENDING];
+
+    private BatchSkinningComputeShader shader;
+    private GpuSkinningArena vertexArena;
+    private GpuSkinningArena morphArena;
+    private ByteBuffer boneStaging;
+    private ByteBuffer weightStaging;
+    private ByteBuffer recordStaging;
+    private IntBuffer indirectArgs;
+    private int boneMatrixBuffer;
+    private int weightBuffer;
+    private int recordBuffer;
+    private int indirectBuffer;
+    private int maxGroupCount;
+
+    private boolean initialized;
+    private boolean unavailable;
+
+    private GpuSkinningBatch() {
+    }
+
+    public static GpuSkinningBatch get() {
+        return INSTANCE;
+    }
+
+    /** 首次使用时编译着色器并创建 arena；失败后不再重试，模型回退为逐模型派发。 */
+    synchronized boolean ensureInitialized() {
+        if (initialized) {
+            return true;
+        }
+        if (unavailable) {
+            return false;
+        }
+
+        BatchSkinningComputeShader batchShader = new BatchSkinningComputeShader();
+        if (!batchShader.init()) {
+            logger.warn("批量蒙皮着色器初始化失败，回退为逐模型派发");
+            unavailable = true;
+            return false;
+        }
+
+        long maxBlockSize = GL46C.glGetInteger64(GL46C.GL_MAX_SHADER_STORAGE_BLOCK_SIZE);
+        maxGroupCount = GL46C.glGetIntegeri(GL46C.GL_MAX_COMPUTE_WORK_GROUP_COUNT, 0);
+        shader = batchShader;
+        vertexArena = new GpuSkinningArena("skinning-vertex", INITIAL_VERTEX_UNITS, maxBlockSize,
+                12, 12, 16, 16, 8, 12, 12, 8);
+        morphArena = new GpuSkinningArena("skinning-morph", INITIAL_MORPH_UNITS, maxBlockSize, 4);
+
+        boneStaging = MemoryUtil.memAlloc(INITIAL_STAGING_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        weightStaging = MemoryUtil.memAlloc(INITIAL_STAGING_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        recordStaging = MemoryUtil.memAlloc(INITIAL_STAGING_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        indirectArgs = MemoryUtil.memAllocInt(3);
+        boneMatrixBuffer = GL46C.glGenBuffers();
+        weightBuffer = GL46C.glGenBuffers();
+        recordBuffer = GL46C.glGenBuffers();
+        indirectBuffer = GL46C.glGenBuffers();
+        GL46C.glBindBuffer(GL46C.GL_DISPATCH_INDIRECT_BUFFER, indirectBuffer);
+        GL46C.glBufferData(GL46C.GL_DISPATCH_INDIRECT_BUFFER, 12L, GL46C.GL_DYNAMIC_DRAW);
+        GL46C.glBindBuffer(GL46C.GL_DISPATCH_INDIRECT_BUFFER, 0);
+
+        initialized = true;
+        return true;
+    }
+
+    /**
+     * 把模型的静态顶点数据与 morph 偏移写入 arena。
+     * 返回 null 表示 arena 已满，调用方继续使用独立缓冲区。
+     */
+    synchronized Allocation allocate(NativeRenderBackendPort nativeBackend, long model, int vertexCount,
+                                     ByteBuffer positions, ByteBuffer normals,
+                                     ByteBuffer boneIndices, ByteBuffer boneWeights, ByteBuffer uvs,
+                                     int vertexMorphCount, int uvMorphCount) {
+        if (!initialized || vertexCount <= 0) {
+            return null;
+        }
+
+        long vertexMorphUnits = vertexMorphCount > 0 ? nativeBackend.getGpuMorphOffsetsSize(model) / 4 : 0L;
+        long uvMorphUnits = uvMorphCount > 0 ? nativeBackend.getGpuUvMorphOffsetsSize(model) / 4 : 0L;
+        long morphUnits = vertexMorphUnits + uvMorphUnits;
+        if (morphUnits * 4 > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        long vertexBase = vertexArena.allocate(vertexCount);
+        if (vertexBase < 0) {
+            return null;
+        }
+        long morphBase = 0L;
+        if (morphUnits > 0) {
+            morphBase = morphArena.allocate(morphUnits);
+            if (morphBase < 0) {
+                vertexArena.free(vertexBase, vertexCount);
+                return null;
+            }
+        }
+
+        vertexArena.upload(STREAM_ORIG_POSITIONS, vertexBase, positions.position(0));
+        vertexArena.upload(STREAM_ORIG_NORMALS, vertexBase, normals.position(0));
+        vertexArena.upload(STREAM_BONE_INDICES, vertexBase, boneIndices.position(0));
+        vertexArena.upload(STREAM_BONE_WEIGHTS, vertexBase, boneWeights.position(0));
+        vertexArena.upload(STREAM_ORIG_UVS, vertexBase, uvs.position(0));
+
+        if (vertexMorphUnits > 0) {
+            uploadMorphOffsets(morphBase, vertexMorphUnits,
+                    buffer -> nativeBackend.copyGpuMorphOffsetsToBuffer(model, buffer));
+        }
+        if (uvMorphUnits > 0) {
+            uploadMorphOffsets(morphBase + vertexMorphUnits, uvMorphUnits,
+                    buffer -> nativeBackend.copyGpuUvMorphOffsetsToBuffer(model, buffer));
+        }
+
+        return new Allocation(vertexBase, vertexCount, morphBase, morphUnits,
+                vertexMorphUnits > 0 ? vertexMorphCount : 0,
+                morphBase + vertexMorphUnits, uvMorphUnits > 0 ? uvMorphCount : 0);
+    }
+
+    synchronized void release(Allocation allocation) {
+        if (allocation == null || !initialized) {
+            return;
+        }
+        vertexArena.free(allocation.vertexBase(), allocation.vertexCount());
+        if (allocation.morphUnits() > 0) {
+            morphArena.free(allocation.morphBase(), allocation.morphUnits());
+        }
+    }
+
+    synchronized void register(GpuSkinningModelInstance target) {
+        instances.add(target);
+    }
+
+    synchronized void unregister(GpuSkinningModelInstance target) {
+        instances.remove(target);
+    }
+
+    /** 在世界帧开始、模型批量更新之后调用：一次派发所有蒙皮版本已变化的模型，返回模型数。 */
+    public synchronized int dispatchPending() {
+        if (!initialized || instances.isEmpty() || !RenderSystem.isOnRenderThread()) {
+            return 0;
+        }
+
+        int count = 0;
+        for (GpuSkinningModelInstance instance : instances) {
+            if (instance.initialized && instance.nativeUpdateRevisionValue() != instance.lastGpuUploadRevision) {
+                if (count == pending.length) {
+                    pending = Arrays.copyOf(pending, count * 2);
+                }
+                pending[count++] = instance;
+            }
+        }
+        if (count > 0) {
+            dispatchBatch(count);
+        }
+        return count;
+    }
+
+    /** 渲染时仍为脏状态的模型（未经过帧级更新阶段）单独派发。 */
+    synchronized void dispatch(GpuSkinningModelInstance target) {
+        if (!initialized) {
+            return;
+        }
+        pending[0] = target;
+        dispatchBatch(1);
+    }
+
+    int skinnedPositionsBuffer() {
+        return vertexArena.buffer(STREAM_SKINNED_POSITIONS);
+    }
+
+    int skinnedNormalsBuffer() {
+        return vertexArena.buffer(STREAM_SKINNED_NORMALS);
+    }
+
+    int skinnedUvBuffer() {
+        return vertexArena.buffer(STREAM_SKINNED_UVS);
+    }
+
+    long byteOffset(int stream, long vertexBase) {
+        return vertexArena.byteOffset(stream, vertexBase);
+    }
+
+    private void dispatchBatch(int count) {
+        var profiler = RenderPerformanceProfiler.get();
+        int savedProgram = GL46C.glGetInteger(GL46C.GL_CURRENT_PROGRAM);
+        var savedSSBO = new SSBOBindings();
+
+        int recordCount = 0;
+        int groupCount = 0;
+        int boneUnits = 0;
+        int weightUnits = 0;
+        for (int i = 0; i < count; i++) {
+            GpuSkinningModelInstance target = pending[i];
+            pending[i] = null;
+            Allocation allocation = target.batchAllocation;
+            int groups = (allocation.vertexCount() + BatchSkinningComputeShader.LOCAL_SIZE_X - 1)
+                    / BatchSkinningComputeShader.LOCAL_SIZE_X;
+            if (recordCount > 0 && (long) groupCount + groups > maxGroupCount) {
+                submit(recordCount, groupCount, boneUnits, weightUnits);
+                recordCount = 0;
+                groupCount = 0;
+                boneUnits = 0;
+                weightUnits = 0;
+            }
+
+            long revision = target.nativeUpdateRevisionValue();
+            NativeRenderBackendPort nativeBackend = target.nativeBackendPort();
+            long modelHandle = target.nativeModelHandle();
+
+            long boneTimer = profiler.startTimer();
+            int boneBase = boneUnits;
+            boneStaging = ensureStaging(boneStaging, (long) (boneBase + target.boneCount) * 64);
+            int copiedBones = target.boneCount > 0
+                    ? nativeBackend.copySkinningMatricesToBuffer(modelHandle,
+                            MemoryUtil.memSlice(boneStaging, boneBase * 64, target.boneCount * 64))
+                    : 0;
+            boneUnits += target.boneCount;
+            profiler.endTimer(RenderPerformanceProfiler.SECTION_BONE_UPLOAD, boneTimer);
+
+            int morphWeightBase = weightUnits;
+            int uvMorphWeightBase = weightUnits + allocation.vertexMorphCount();
+            int weightCount = allocation.vertexMorphCount() + allocation.uvMorphCount();
+            if (weightCount > 0) {
+                long morphTimer = profiler.startTimer();
+                weightStaging = ensureStaging(weightStaging, (long) (weightUnits + weightCount) * 4);
+                if (allocation.vertexMorphCount() > 0) {
+                    nativeBackend.copyGpuMorphWeightsToBuffer(modelHandle,
+                            MemoryUtil.memSlice(weightStaging, morphWeightBase * 4, allocation.vertexMorphCount() * 4));
+                }
+                if (allocation.uvMorphCount() > 0) {
+                    nativeBackend.copyGpuUvMorphWeightsToBuffer(modelHandle,
+                            MemoryUtil.memSlice(weightStaging, uvMorphWeightBase * 4, allocation.uvMorphCount() * 4));
+                }
+                weightUnits += weightCount;
+                profiler.endTimer(RenderPerformanceProfiler.SECTION_MORPH_UPLOAD, morphTimer);
+            }
+
+            recordStaging = ensureStaging(recordStaging, (long) (recordCount + 1) * BatchSkinningComputeShader.RECORD_SIZE);
+            int record = recordCount * BatchSkinningComputeShader.RECORD_SIZE;
+            recordStaging.putInt(record, (int) allocation.vertexBase());
+            recordStaging.putInt(record + 4, allocation.vertexCount());
+            recordStaging.putInt(record + 8, groupCount);
+            recordStaging.putInt(record + 12, boneBase);
+            recordStaging.putInt(record + 16, Math.min(copiedBones, ShaderConstants.MAX_BONES));
+            recordStaging.putInt(record + 20, morphWeightBase);
+            recordStaging.putInt(record + 24, allocation.vertexMorphCount());
+            recordStaging.putInt(record + 28, (int) allocation.morphBase());
+            recordStaging.putInt(record + 32, uvMorphWeightBase);
+            recordStaging.putInt(record + 36, allocation.uvMorphCount());
+            recordStaging.putInt(record + 40, (int) allocation.uvMorphBase());
+            recordStaging.putInt(record + 44, 0);
+            recordCount++;
+            groupCount += groups;
+
+            if (target.materialMorphResultCountValue() > 0) {
+                long materialMorphTimer = profiler.startTimer();
+                target.loadMaterialMorphResults();
+                profiler.endTimer(RenderPerformanceProfiler.SECTION_MATERIAL_MORPH_FETCH, materialMorphTimer);
+            }
+
+            long subMeshTimer = profiler.startTimer();
+            target.subMeshDataBuf.clear();
+            nativeBackend.batchGetSubMeshData(modelHandle, target.subMeshDataBuf);
+            profiler.endTimer(RenderPerformanceProfiler.SECTION_SUB_MESH_FETCH, subMeshTimer);
+
+            target.lastGpuUploadRevision = revision;
+        }
+        submit(recordCount, groupCount, boneUnits, weightUnits);
+
+        GL46C.glMemoryBarrier(GL46C.GL_VERTEX_ATTRIB_ARRAY_BARRIER_BIT | GL46C.GL_SHADER_STORAGE_BARRIER_BIT);
+        savedSSBO.restore();
+        GL46C.glUseProgram(savedProgram);
+    }
+
+    private void submit(int recordCount, int groupCount, int boneUnits, int weightUnits) {
+        if (recordCount == 0) {
+            return;
+        }
+        long computeTimer = RenderPerformanceProfiler.get().startTimer();
+        orphanAndUpload(boneMatrixBuffer, boneStaging, (long) boneUnits * 64);
+        orphanAndUpload(weightBuffer, weightStaging, (long) weightUnits * 4);
+        orphanAndUpload(recordBuffer, recordStaging, (long) recordCount * BatchSkinningComputeShader.RECORD_SIZE);
+
+        indirectArgs.put(0, groupCount).put(1, 1).put(2, 1);
+        GL46C.glBindBuffer(GL46C.GL_DISPATCH_INDIRECT_BUFFER, indirectBuffer);
+        GL46C.glBufferSubData(GL46C.GL_DISPATCH_INDIRECT_BUFFER, 0L, indirectArgs);
+        GL46C.glBindBuffer(GL46C.GL_DISPATCH_INDIRECT_BUFFER, 0);
+
+        shader.dispatchIndirect(new BatchSkinningComputeShader.Bindings(
+                vertexArena.buffer(STREAM_ORIG_POSITIONS),
+                vertexArena.buffer(STREAM_ORIG_NORMALS),
+                vertexArena.buffer(STREAM_BONE_INDICES),
+                vertexArena.buffer(STREAM_BONE_WEIGHTS),
+                vertexArena.buffer(STREAM_ORIG_UVS),
+                vertexArena.buffer(STREAM_SKINNED_POSITIONS),
+                vertexArena.buffer(STREAM_SKINNED_NORMALS),
+                vertexArena.buffer(STREAM_SKINNED_UVS),
+                morphArena.buffer(0),
+                weightBuffer,
+                boneMatrixBuffer,
+                recordBuffer
+        ), recordCount, indirectBuffer);
+        RenderPerformanceProfiler.get().endTimer(RenderPerformanceProfiler.SECTION_COMPUTE_DISPATCH, computeTimer);
+    }
+
+    private void uploadMorphOffsets(long unitOffset, long units, Consumer<ByteBuffer> source) {
+        ByteBuffer offsets = MemoryUtil.memAlloc((int) (units * 4));
+        offsets.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            source.accept(offsets);
+            offsets.position(0);
+            morphArena.upload(0, unitOffset, offsets);
+        } finally {
+            MemoryUtil.memFree(offsets);
+        }
+    }
+
+    /** 整体替换数据存储（orphan），避免与上一批次仍在读取的数据同步。 */
+    private static void orphanAndUpload(int buffer, ByteBuffer staging, long size) {
+        long uploadSize = Math.max(size, 16L);
+        GL46C.glBindBuffer(GL46C.GL_COPY_WRITE_BUFFER, buffer);
+        GL46C.nglBufferData(GL46C.GL_COPY_WRITE_BUFFER, uploadSize, MemoryUtil.memAddress(staging), GL46C.GL_STREAM_DRAW);
+        GL46C.glBindBuffer(GL46C.GL_COPY_WRITE_BUFFER, 0);
+    }
+
+    private static ByteBuffer ensureStaging(ByteBuffer staging, long required) {
+        if (required <= staging.capacity()) {
+            return staging;
+        }
+        int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(required, (long) staging.capacity() * 2));
+        return MemoryUtil.memRealloc(staging, capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
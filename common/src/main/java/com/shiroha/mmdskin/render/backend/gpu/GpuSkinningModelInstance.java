@@ -4,6 +4,7 @@ import com.mojang.blaze3d.platform.GlStateManager;
 import com.mojang.blaze3d.vertex.BufferUploader;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.shiroha.mmdskin.bridge.runtime.NativeRenderBackendPort;
+import com.shiroha.mmdskin.config.ConfigManager;
 import com.shiroha.mmdskin.render.backend.BaseModelInstance;
 import com.shiroha.mmdskin.render.material.ModelMaterial;
 import com.shiroha.mmdskin.render.shader.ShaderConstants;
@@ -49,6 +50,8 @@ public class GpuSkinningModelInstance extends BaseModelInstance {
     int skinnedNormalsBuffer;
 
     int boneMatrixSSBO;
+    int boneCount;
+    GpuSkinningBatch.Allocation batchAllocation;
 
     @SuppressWarnings("unused")
     ByteBuffer posBuffer;
@@ -173,6 +176,7 @@ public class GpuSkinningModelInstance extends BaseModelInstance {
         ByteBuffer matMorphResultsByteBuf = null;
         ByteBuffer subMeshDataBufLocal = null;
         ModelMaterial lightMapMaterial = null;
+        GpuSkinningBatch.Allocation batchAllocation = null;
         List<String> textureKeys = new ArrayList<>();
 
         try {
@@ -188,11 +192,6 @@ public class GpuSkinningModelInstance extends BaseModelInstance {
 
             vao = GL46C.glGenVertexArrays();
             indexVbo = GL46C.glGenBuffers();
-            posVbo = GL46C.glGenBuffers();
-            norVbo = GL46C.glGenBuffers();
-            uv0Vbo = GL46C.glGenBuffers();
-            boneIdxVbo = GL46C.glGenBuffers();
-            boneWgtVbo = GL46C.glGenBuffers();
             colorVbo = GL46C.glGenBuffers();
             uv1Vbo = GL46C.glGenBuffers();
             uv2Vbo = GL46C.glGenBuffers();
@@ -221,41 +220,60 @@ public class GpuSkinningModelInstance extends BaseModelInstance {
             if (nativeBackend.copyOriginalPositionsToBuffer(model, posBuffer, vertexCount) == 0) {
                 logger.warn("Failed to copy original vertex positions");
             }
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, posVbo);
-            GL46C.glBufferData(GL46C.GL_ARRAY_BUFFER, posBuffer, GL46C.GL_STATIC_DRAW);
 
             ByteBuffer norBuffer = ByteBuffer.allocateDirect(vertexCount * 12);
             norBuffer.order(ByteOrder.LITTLE_ENDIAN);
             if (nativeBackend.copyOriginalNormalsToBuffer(model, norBuffer, vertexCount) == 0) {
                 logger.warn("Failed to copy original normals");
             }
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, norVbo);
-            GL46C.glBufferData(GL46C.GL_ARRAY_BUFFER, norBuffer, GL46C.GL_STATIC_DRAW);
 
             ByteBuffer uv0Buffer = ByteBuffer.allocateDirect(vertexCount * 8);
             uv0Buffer.order(ByteOrder.LITTLE_ENDIAN);
             long uvData = nativeBackend.getUvDataAddress(model);
             nativeBackend.copyNativeDataToBuffer(uv0Buffer, uvData, vertexCount * 8);
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, uv0Vbo);
-            GL46C.glBufferData(GL46C.GL_ARRAY_BUFFER, uv0Buffer, GL46C.GL_STATIC_DRAW);
 
             ByteBuffer boneIndicesByteBuffer = ByteBuffer.allocateDirect(vertexCount * 16);
             boneIndicesByteBuffer.order(ByteOrder.LITTLE_ENDIAN);
             if (nativeBackend.copyBoneIndicesToBuffer(model, boneIndicesByteBuffer, vertexCount) == 0) {
                 logger.warn("Failed to copy bone indices");
             }
-            IntBuffer boneIndicesBuffer = boneIndicesByteBuffer.asIntBuffer();
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, boneIdxVbo);
-            GL46C.glBufferData(GL46C.GL_ARRAY_BUFFER, boneIndicesBuffer, GL46C.GL_STATIC_DRAW);
 
             ByteBuffer boneWeightsByteBuffer = ByteBuffer.allocateDirect(vertexCount * 16);
             boneWeightsByteBuffer.order(ByteOrder.LITTLE_ENDIAN);
             if (nativeBackend.copyBoneWeightsToBuffer(model, boneWeightsByteBuffer, vertexCount) == 0) {
                 logger.warn("Failed to copy bone weights");
             }
-            FloatBuffer boneWeightsFloatBuffer = boneWeightsByteBuffer.asFloatBuffer();
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, boneWgtVbo);
-            GL46C.glBufferData(GL46C.GL_ARRAY_BUFFER, boneWeightsFloatBuffer, GL46C.GL_STATIC_DRAW);
+
+            nativeBackend.initGpuMorphData(model);
+            int morphCount = nativeBackend.getVertexMorphCount(model);
+            nativeBackend.initGpuUvMorphData(model);
+            int uvMorphCount = nativeBackend.getUvMorphCount(model);
+
+            if (ConfigManager.isGpuBatchSkinningEnabled() && GpuSkinningBatch.get().ensureInitialized()) {
+                batchAllocation = GpuSkinningBatch.get().allocate(nativeBackend, model, vertexCount,
+                        posBuffer, norBuffer, boneIndicesByteBuffer, boneWeightsByteBuffer, uv0Buffer,
+                        morphCount, uvMorphCount);
+            }
+
+            if (batchAllocation == null) {
+                posVbo = GL46C.glGenBuffers();
+                norVbo = GL46C.glGenBuffers();
+                uv0Vbo = GL46C.glGenBuffers();
+                boneIdxVbo = GL46C.glGenBuffers();
+                boneWgtVbo = GL46C.glGenBuffers();
+                GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, posVbo);
+                GL46C.glBufferData(GL46C.GL_ARRAY_BUFFER, posBuffer.position(0), GL46C.GL_STATIC_DRAW);
+                GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, norVbo);
+                GL46C.glBufferData(GL46C.GL_ARRAY_BUFFER, norBuffer.position(0), GL46C.GL_STATIC_DRAW);
+                GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, uv0Vbo);
+                GL46C.glBufferData(GL46C.GL_ARRAY_BUFFER, uv0Buffer.position(0), GL46C.GL_STATIC_DRAW);
+                IntBuffer boneIndicesBuffer = boneIndicesByteBuffer.position(0).asIntBuffer();
+                GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, boneIdxVbo);
+                GL46C.glBufferData(GL46C.GL_ARRAY_BUFFER, boneIndicesBuffer, GL46C.GL_STATIC_DRAW);
+                FloatBuffer boneWeightsFloatBuffer = boneWeightsByteBuffer.position(0).asFloatBuffer();
+                GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, boneWgtVbo);
+                GL46C.glBufferData(GL46C.GL_ARRAY_BUFFER, boneWeightsFloatBuffer, GL46C.GL_STATIC_DRAW);
+            }
 
             ByteBuffer colorBuffer = ByteBuffer.allocateDirect(vertexCount * 16);
             colorBuffer.order(ByteOrder.LITTLE_ENDIAN);
@@ -332,30 +350,25 @@ public class GpuSkinningModelInstance extends BaseModelInstance {
                 lightMapMaterial.hasAlpha = true;
             }
 
-            boneMatricesBuffer = MemoryUtil.memAllocFloat(boneCount * 16);
-            boneMatricesByteBuffer = MemoryUtil.memAlloc(boneCount * 64);
-            boneMatricesByteBuffer.order(ByteOrder.LITTLE_ENDIAN);
-
-            outputBuffers = SkinningComputeShader.createOutputBuffers(vertexCount);
-            boneMatrixSsbo = SkinningComputeShader.createBoneMatrixBuffer();
-
             modelViewMatBuff = MemoryUtil.memAllocFloat(16);
             projMatBuff = MemoryUtil.memAllocFloat(16);
 
-            nativeBackend.initGpuMorphData(model);
-            int morphCount = nativeBackend.getVertexMorphCount(model);
-            if (morphCount > 0) {
-                morphWeightsBuffer = MemoryUtil.memAllocFloat(morphCount);
-                morphBuffers = SkinningComputeShader.createMorphBuffers(morphCount);
-            }
+            if (batchAllocation == null) {
+                boneMatricesBuffer = MemoryUtil.memAllocFloat(boneCount * 16);
+                boneMatricesByteBuffer = MemoryUtil.memAlloc(boneCount * 64);
+                boneMatricesByteBuffer.order(ByteOrder.LITTLE_ENDIAN);
 
-            nativeBackend.initGpuUvMorphData(model);
-            int uvMorphCount = nativeBackend.getUvMorphCount(model);
-            if (uvMorphCount > 0) {
-                uvMorphWeightsBuf = MemoryUtil.memAllocFloat(uvMorphCount);
-                uvMorphBuffers = SkinningComputeShader.createUvMorphBuffers(uvMorphCount);
-                skinnedUvBuf = SkinningComputeShader.createSkinnedUvBuffer(vertexCount);
-            } else {
+                outputBuffers = SkinningComputeShader.createOutputBuffers(vertexCount);
+                boneMatrixSsbo = SkinningComputeShader.createBoneMatrixBuffer();
+
+                if (morphCount > 0) {
+                    morphWeightsBuffer = MemoryUtil.memAllocFloat(morphCount);
+                    morphBuffers = SkinningComputeShader.createMorphBuffers(morphCount);
+                }
+                if (uvMorphCount > 0) {
+                    uvMorphWeightsBuf = MemoryUtil.memAllocFloat(uvMorphCount);
+                    uvMorphBuffers = SkinningComputeShader.createUvMorphBuffers(uvMorphCount);
+                }
                 skinnedUvBuf = SkinningComputeShader.createSkinnedUvBuffer(vertexCount);
             }
 
@@ -381,9 +394,13 @@ public class GpuSkinningModelInstance extends BaseModelInstance {
             result.colorBufferObject = colorVbo;
             result.uv1BufferObject = uv1Vbo;
             result.uv2BufferObject = uv2Vbo;
-            result.skinnedPositionsBuffer = outputBuffers[0];
-            result.skinnedNormalsBuffer = outputBuffers[1];
+            if (outputBuffers != null) {
+                result.skinnedPositionsBuffer = outputBuffers[0];
+                result.skinnedNormalsBuffer = outputBuffers[1];
+            }
             result.boneMatrixSSBO = boneMatrixSsbo;
+            result.boneCount = boneCount;
+            result.batchAllocation = batchAllocation;
             result.posBuffer = posBuffer;
             result.norBuffer = norBuffer;
             result.uv0Buffer = uv0Buffer;
@@ -400,7 +417,7 @@ public class GpuSkinningModelInstance extends BaseModelInstance {
             result.modelViewMatBuff = modelViewMatBuff;
             result.projMatBuff = projMatBuff;
             result.vertexMorphCount = morphCount;
-            if (morphCount > 0) {
+            if (morphCount > 0 && batchAllocation == null) {
                 result.morphWeightsBuffer = morphWeightsBuffer;
                 result.morphWeightsByteBuffer = ByteBuffer.allocateDirect(morphCount * 4);
                 result.morphWeightsByteBuffer.order(ByteOrder.LITTLE_ENDIAN);
@@ -410,7 +427,7 @@ public class GpuSkinningModelInstance extends BaseModelInstance {
 
             result.uvMorphCount = uvMorphCount;
             result.skinnedUvBuffer = skinnedUvBuf;
-            if (uvMorphCount > 0) {
+            if (uvMorphCount > 0 && batchAllocation == null) {
                 result.uvMorphWeightsBuffer = uvMorphWeightsBuf;
                 result.uvMorphWeightsByteBuffer = ByteBuffer.allocateDirect(uvMorphCount * 4);
                 result.uvMorphWeightsByteBuffer.order(ByteOrder.LITTLE_ENDIAN);
@@ -425,26 +442,33 @@ public class GpuSkinningModelInstance extends BaseModelInstance {
             subMeshDataBufLocal.order(ByteOrder.LITTLE_ENDIAN);
             result.subMeshDataBuf = subMeshDataBufLocal;
 
-            result.cachedDispatchParams = new SkinningComputeShader.DispatchParams(
-                    result.positionBufferObject,
-                    result.normalBufferObject,
-                    result.boneIndicesBufferObject,
-                    result.boneWeightsBufferObject,
-                    result.uv0BufferObject,
-                    result.skinnedPositionsBuffer,
-                    result.skinnedNormalsBuffer,
-                    result.skinnedUvBuffer,
-                    result.boneMatrixSSBO,
-                    result.morphOffsetsSSBO,
-                    result.morphWeightsSSBO,
-                    result.vertexMorphCount,
-                    result.uvMorphOffsetsSSBO,
-                    result.uvMorphWeightsSSBO,
-                    result.uvMorphCount,
-                    result.vertexCount
-            );
+            if (batchAllocation == null) {
+                result.cachedDispatchParams = new SkinningComputeShader.DispatchParams(
+                        result.positionBufferObject,
+                        result.normalBufferObject,
+                        result.boneIndicesBufferObject,
+                        result.boneWeightsBufferObject,
+                        result.uv0BufferObject,
+                        result.skinnedPositionsBuffer,
+                        result.skinnedNormalsBuffer,
+                        result.skinnedUvBuffer,
+                        result.boneMatrixSSBO,
+                        result.morphOffsetsSSBO,
+                        result.morphWeightsSSBO,
+                        result.vertexMorphCount,
+                        result.uvMorphOffsetsSSBO,
+                        result.uvMorphWeightsSSBO,
+                        result.uvMorphCount,
+                        result.vertexCount
+                );
+            }
 
             result.initialized = true;
+            if (batchAllocation != null) {
+                result.morphDataUploaded = true;
+                result.uvMorphDataUploaded = true;
+                GpuSkinningBatch.get().register(result);
+            }
 
             nativeBackend.setAutoBlinkEnabled(model, true);
             GL46C.glBindVertexArray(0);
@@ -476,6 +500,7 @@ public class GpuSkinningModelInstance extends BaseModelInstance {
                 GL46C.glDeleteBuffers(uvMorphBuffers[1]);
             }
             if (skinnedUvBuf > 0) GL46C.glDeleteBuffers(skinnedUvBuf);
+            if (batchAllocation != null) GpuSkinningBatch.get().release(batchAllocation);
             if (lightMapMaterial != null && lightMapMaterial.ownsTexture && lightMapMaterial.tex > 0) {
                 GL46C.glDeleteTextures(lightMapMaterial.tex);
             }
@@ -517,8 +542,13 @@ public class GpuSkinningModelInstance extends BaseModelInstance {
     }
 
     @Override
-    protected void onUpdate(float deltaTime) {
-        backendPort().updateAnimationOnly(model, deltaTime);
+    protected boolean onUpdate(float deltaTime) {
+        return backendPort().updateAnimationOnly(model, deltaTime);
+    }
+
+    @Override
+    protected boolean requiresCpuSkinning() {
+        return false;
     }
 
     @Override
@@ -567,6 +597,40 @@ public class GpuSkinningModelInstance extends BaseModelInstance {
         return getNativeUpdateRevision();
     }
 
+    /** 蒙皮输出所在缓冲区；批量模式下为共享 arena，需配合对应偏移读取本模型的子区间。 */
+    int positionStreamBuffer() {
+        return batchAllocation != null ? GpuSkinningBatch.get().skinnedPositionsBuffer() : skinnedPositionsBuffer;
+    }
+
+    long positionStreamOffset() {
+        return batchAllocation != null
+                ? GpuSkinningBatch.get().byteOffset(GpuSkinningBatch.STREAM_SKINNED_POSITIONS, batchAllocation.vertexBase())
+                : 0L;
+    }
+
+    int normalStreamBuffer() {
+        return batchAllocation != null ? GpuSkinningBatch.get().skinnedNormalsBuffer() : skinnedNormalsBuffer;
+    }
+
+    long normalStreamOffset() {
+        return batchAllocation != null
+                ? GpuSkinningBatch.get().byteOffset(GpuSkinningBatch.STREAM_SKINNED_NORMALS, batchAllocation.vertexBase())
+                : 0L;
+    }
+
+    int uvStreamBuffer() {
+        if (batchAllocation != null) {
+            return GpuSkinningBatch.get().skinnedUvBuffer();
+        }
+        return skinnedUvBuffer > 0 ? skinnedUvBuffer : uv0BufferObject;
+    }
+
+    long uvStreamOffset() {
+        return batchAllocation != null
+                ? GpuSkinningBatch.get().byteOffset(GpuSkinningBatch.STREAM_SKINNED_UVS, batchAllocation.vertexBase())
+                : 0L;
+    }
+
     Quaternionf workingQuaternion() {
         return tempQuat;
     }
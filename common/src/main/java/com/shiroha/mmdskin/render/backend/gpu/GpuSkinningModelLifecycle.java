@@ -23,6 +23,11 @@ final class GpuSkinningModelLifecycle {
         total += (long) target.vertexCount * 16;
         total += (long) target.vertexCount * 8 * 2;
         total += (long) target.vertexCount * 12 * 2;
+        if (target.batchAllocation != null) {
+            total += (long) target.vertexCount * 8;
+            total += target.batchAllocation.morphUnits() * 4;
+            return total;
+        }
         total += (long) ShaderConstants.MAX_BONES * 64;
         if (target.vertexMorphCount > 0) {
             total += target.nativeBackendPort().getGpuMorphOffsetsSize(target.nativeModelHandle());
@@ -79,6 +84,11 @@ final class GpuSkinningModelLifecycle {
         }
 
         target.initialized = false;
+        if (target.batchAllocation != null) {
+            GpuSkinningBatch.get().unregister(target);
+            GpuSkinningBatch.get().release(target.batchAllocation);
+            target.batchAllocation = null;
+        }
         target.releaseBaseResources();
 
         GL46C.glDeleteVertexArrays(target.vertexArrayObject);
@@ -125,6 +125,10 @@ final class GpuSkinningModelRenderer {
         if (target.lastGpuUploadRevision == currentRevision) {
             return;
         }
+        if (target.batchAllocation != null) {
+            GpuSkinningBatch.get().dispatch(target);
+            return;
+        }
 
         long boneTimer = RenderPerformanceProfiler.get().startTimer();
         GpuSkinningModelUploader.uploadBoneMatrices(target);
@@ -222,19 +226,19 @@ final class GpuSkinningModelRenderer {
         }
         if (target.positionLocation != -1) {
             GL46C.glEnableVertexAttribArray(target.positionLocation);
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.skinnedPositionsBuffer);
-            GL46C.glVertexAttribPointer(target.positionLocation, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.positionStreamBuffer());
+            GL46C.glVertexAttribPointer(target.positionLocation, 3, GL46C.GL_FLOAT, false, 0, target.positionStreamOffset());
         }
         if (target.normalLocation != -1) {
             GL46C.glEnableVertexAttribArray(target.normalLocation);
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.skinnedNormalsBuffer);
-            GL46C.glVertexAttribPointer(target.normalLocation, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.normalStreamBuffer());
+            GL46C.glVertexAttribPointer(target.normalLocation, 3, GL46C.GL_FLOAT, false, 0, target.normalStreamOffset());
         }
-        int activeUvBuffer = target.skinnedUvBuffer > 0 ? target.skinnedUvBuffer : target.uv0BufferObject;
+        int activeUvBuffer = target.uvStreamBuffer();
         if (target.uv0Location != -1) {
             GL46C.glEnableVertexAttribArray(target.uv0Location);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, activeUvBuffer);
-            GL46C.glVertexAttribPointer(target.uv0Location, 2, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(target.uv0Location, 2, GL46C.GL_FLOAT, false, 0, target.uvStreamOffset());
         }
         if (target.uv1Location != -1) {
             GL46C.glEnableVertexAttribArray(target.uv1Location);
@@ -243,18 +247,18 @@ final class GpuSkinningModelRenderer {
         }
         if (target.I_positionLocation != -1) {
             GL46C.glEnableVertexAttribArray(target.I_positionLocation);
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.skinnedPositionsBuffer);
-            GL46C.glVertexAttribPointer(target.I_positionLocation, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.positionStreamBuffer());
+            GL46C.glVertexAttribPointer(target.I_positionLocation, 3, GL46C.GL_FLOAT, false, 0, target.positionStreamOffset());
         }
         if (target.I_normalLocation != -1) {
             GL46C.glEnableVertexAttribArray(target.I_normalLocation);
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.skinnedNormalsBuffer);
-            GL46C.glVertexAttribPointer(target.I_normalLocation, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.normalStreamBuffer());
+            GL46C.glVertexAttribPointer(target.I_normalLocation, 3, GL46C.GL_FLOAT, false, 0, target.normalStreamOffset());
         }
         if (target.I_uv0Location != -1) {
             GL46C.glEnableVertexAttribArray(target.I_uv0Location);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, activeUvBuffer);
-            GL46C.glVertexAttribPointer(target.I_uv0Location, 2, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(target.I_uv0Location, 2, GL46C.GL_FLOAT, false, 0, target.uvStreamOffset());
         }
 
         drawAllSubMeshes(target, minecraft);
@@ -295,19 +299,19 @@ final class GpuSkinningModelRenderer {
 
         if (toonPosLoc != -1) {
             GL46C.glEnableVertexAttribArray(toonPosLoc);
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.skinnedPositionsBuffer);
-            GL46C.glVertexAttribPointer(toonPosLoc, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.positionStreamBuffer());
+            GL46C.glVertexAttribPointer(toonPosLoc, 3, GL46C.GL_FLOAT, false, 0, target.positionStreamOffset());
         }
         if (toonNorLoc != -1) {
             GL46C.glEnableVertexAttribArray(toonNorLoc);
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.skinnedNormalsBuffer);
-            GL46C.glVertexAttribPointer(toonNorLoc, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.normalStreamBuffer());
+            GL46C.glVertexAttribPointer(toonNorLoc, 3, GL46C.GL_FLOAT, false, 0, target.normalStreamOffset());
         }
         if (uvLoc != -1) {
             GL46C.glEnableVertexAttribArray(uvLoc);
-            int toonUvBuffer = target.skinnedUvBuffer > 0 ? target.skinnedUvBuffer : target.uv0BufferObject;
+            int toonUvBuffer = target.uvStreamBuffer();
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, toonUvBuffer);
-            GL46C.glVertexAttribPointer(uvLoc, 2, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(uvLoc, 2, GL46C.GL_FLOAT, false, 0, target.uvStreamOffset());
         }
 
         GpuSkinningModelInstance.toonShaderCpu.setProjectionMatrix(target.projMatBuff);
@@ -333,22 +337,22 @@ final class GpuSkinningModelRenderer {
         int posLoc = GpuSkinningModelInstance.toonShaderCpu.getOutlinePositionLocation();
         int norLoc = GpuSkinningModelInstance.toonShaderCpu.getOutlineNormalLocation();
         int uvLoc = GpuSkinningModelInstance.toonShaderCpu.getOutlineUv0Location();
-        int outlineUvBuffer = target.skinnedUvBuffer > 0 ? target.skinnedUvBuffer : target.uv0BufferObject;
+        int outlineUvBuffer = target.uvStreamBuffer();
 
         if (posLoc != -1) {
             GL46C.glEnableVertexAttribArray(posLoc);
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.skinnedPositionsBuffer);
-            GL46C.glVertexAttribPointer(posLoc, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.positionStreamBuffer());
+            GL46C.glVertexAttribPointer(posLoc, 3, GL46C.GL_FLOAT, false, 0, target.positionStreamOffset());
         }
         if (norLoc != -1) {
             GL46C.glEnableVertexAttribArray(norLoc);
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.skinnedNormalsBuffer);
-            GL46C.glVertexAttribPointer(norLoc, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.normalStreamBuffer());
+            GL46C.glVertexAttribPointer(norLoc, 3, GL46C.GL_FLOAT, false, 0, target.normalStreamOffset());
         }
         if (uvLoc != -1) {
             GL46C.glEnableVertexAttribArray(uvLoc);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, outlineUvBuffer);
-            GL46C.glVertexAttribPointer(uvLoc, 2, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(uvLoc, 2, GL46C.GL_FLOAT, false, 0, target.uvStreamOffset());
         }
 
         GpuSkinningModelInstance.toonShaderCpu.setOutlineProjectionMatrix(target.projMatBuff);
@@ -0,0 +1,88 @@
+package com.shiroha.mmdskin.render.backend.opengl;
+
+import com.shiroha.mmdskin.bridge.runtime.NativeRenderBackendPort;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.lwjgl.system.MemoryUtil;
+
+/** 文件职责：持有 CPU 蒙皮帧快照缓冲区，按 native 打包布局切分各段视图。 */
+final class OpenGlFrameSnapshot {
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int FLAG_POSITIONS = 1;
+    static final int FLAG_NORMALS = 1 << 1;
+    static final int FLAG_UVS = 1 << 2;
+    static final int FLAG_SUB_MESHES = 1 << 3;
+    static final int FLAG_MATERIAL_MORPHS = 1 << 4;
+
+    private static final int REVISION_OFFSET = 8;
+    private static final int SKIP_MASK_OFFSET = 28;
+    private static final long NO_REVISION = -1L;
+
+    private final ByteBuffer buffer;
+    final ByteBuffer positions;
+    final ByteBuffer normals;
+    final ByteBuffer uvs;
+    final ByteBuffer subMeshes;
+    final ByteBuffer materialMorphs;
+
+    private OpenGlFrameSnapshot(ByteBuffer buffer, int vertexCount, int subMeshCount, int materialMorphCount) {
+        this.buffer = buffer;
+        int positionsOffset = HEADER_SIZE;
+        int normalsOffset = positionsOffset + vertexCount * 12;
+        int uvsOffset = normalsOffset + vertexCount * 12;
+        int subMeshesOffset = uvsOffset + vertexCount * 8;
+        int materialMorphsOffset = subMeshesOffset + subMeshCount * 20;
+        this.positions = view(positionsOffset, vertexCount * 12);
+        this.normals = view(normalsOffset, vertexCount * 12);
+        this.uvs = view(uvsOffset, vertexCount * 8);
+        this.subMeshes = view(subMeshesOffset, subMeshCount * 20);
+        this.materialMorphs = view(materialMorphsOffset, materialMorphCount * 56 * 4);
+        invalidate();
+    }
+
+    static int sizeOf(int vertexCount, int subMeshCount, int materialMorphCount) {
+        return HEADER_SIZE + vertexCount * 32 + subMeshCount * 20 + materialMorphCount * 56 * 4;
+    }
+
+    static OpenGlFrameSnapshot allocate(int vertexCount, int subMeshCount, int materialMorphCount) {
+        ByteBuffer buffer = MemoryUtil.memCalloc(sizeOf(vertexCount, subMeshCount, materialMorphCount));
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return new OpenGlFrameSnapshot(buffer, vertexCount, subMeshCount, materialMorphCount);
+    }
+
+    /** 拉取一帧快照；返回本次写入的段标志，native 不可用或布局不一致时返回 -1。 */
+    int fetch(NativeRenderBackendPort nativeBackend, long modelHandle) {
+        int flags = nativeBackend.fetchFrameSnapshot(modelHandle, buffer);
+        if (flags < 0 || buffer.getInt(0) != VERSION) {
+            return -1;
+        }
+        return flags;
+    }
+
+    /** 丢弃已持有的版本号，下一次拉取会重新写出全部顶点段。 */
+    void invalidate() {
+        buffer.putLong(REVISION_OFFSET, NO_REVISION);
+    }
+
+    /** 设置由调用方自行拉取、native 不再写入快照的段。 */
+    void skipSections(int mask) {
+        buffer.putInt(SKIP_MASK_OFFSET, mask);
+    }
+
+    long revision() {
+        return buffer.getLong(REVISION_OFFSET);
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    void free() {
+        MemoryUtil.memFree(buffer);
+    }
+
+    private ByteBuffer view(int offset, int length) {
+        return MemoryUtil.memSlice(buffer, offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
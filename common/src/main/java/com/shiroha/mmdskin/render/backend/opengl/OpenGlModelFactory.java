@@ -2,6 +2,7 @@ package com.shiroha.mmdskin.render.backend.opengl;
 
 import com.mojang.blaze3d.vertex.BufferUploader;
 import com.shiroha.mmdskin.bridge.runtime.NativeRenderBackendPort;
+import com.shiroha.mmdskin.config.ConfigManager;
 import com.shiroha.mmdskin.render.bootstrap.ClientRenderRuntime;
 import com.shiroha.mmdskin.render.material.ModelMaterial;
 import com.shiroha.mmdskin.texture.runtime.TextureRepository;
@@ -66,6 +67,7 @@ final class OpenGlModelFactory {
         FloatBuffer light0Buff = null;
         FloatBuffer light1Buff = null;
         ByteBuffer matMorphResultsByteBuf = null;
+        OpenGlFrameSnapshot frameSnapshot = null;
 
         try {
             vertexArrayObject = GL46C.glGenVertexArrays();
@@ -78,10 +80,14 @@ final class OpenGlModelFactory {
             uv2BufferObject = GL46C.glGenBuffers();
 
             int vertexCount = (int) nativeBackend.getVertexCount(model);
-            ByteBuffer posBuffer = MemoryUtil.memAlloc(vertexCount * 12);
+            int subMeshCount = nativeBackend.getSubMeshCount(model);
+            int matMorphCount = nativeBackend.getMaterialMorphResultCount(model);
+            // 位置/法线/UV/子网格表均为帧快照的分段视图，单次 JNI 调用即可整体刷新
+            frameSnapshot = OpenGlFrameSnapshot.allocate(vertexCount, subMeshCount, Math.max(matMorphCount, 0));
+            ByteBuffer posBuffer = frameSnapshot.positions;
             ByteBuffer colorBuffer = MemoryUtil.memAlloc(vertexCount * 16);
-            ByteBuffer norBuffer = MemoryUtil.memAlloc(vertexCount * 12);
-            ByteBuffer uv0Buffer = MemoryUtil.memAlloc(vertexCount * 8);
+            ByteBuffer norBuffer = frameSnapshot.normals;
+            ByteBuffer uv0Buffer = frameSnapshot.uvs;
             ByteBuffer uv1Buffer = MemoryUtil.memAlloc(vertexCount * 8);
             ByteBuffer uv2Buffer = MemoryUtil.memAlloc(vertexCount * 8);
             colorBuffer.order(ByteOrder.LITTLE_ENDIAN);
@@ -170,14 +176,35 @@ final class OpenGlModelFactory {
 
             int posAndNorSize = vertexCount * 12;
             int uv0Size = vertexCount * 8;
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, positionBufferObject);
-            GL46C.glBufferData(GL46C.GL_ARRAY_BUFFER, posAndNorSize, GL46C.GL_DYNAMIC_DRAW);
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, normalBufferObject);
-            GL46C.glBufferData(GL46C.GL_ARRAY_BUFFER, posAndNorSize, GL46C.GL_DYNAMIC_DRAW);
+            boolean hasUvMorph = nativeBackend.getUvMorphCount(model) > 0;
             long uv0Data = nativeBackend.getUvDataAddress(model);
             nativeBackend.copyNativeDataToBuffer(uv0Buffer, uv0Data, uv0Size);
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, uv0BufferObject);
-            GL46C.glBufferData(GL46C.GL_ARRAY_BUFFER, uv0Buffer, GL46C.GL_DYNAMIC_DRAW);
+
+            OpenGlVertexStream vertexStream = null;
+            if (ConfigManager.isPersistentVertexStreamingEnabled() && OpenGlVertexStream.isSupported()) {
+                vertexStream = OpenGlVertexStream.create(positionBufferObject, normalBufferObject,
+                        hasUvMorph ? uv0BufferObject : 0, vertexCount, uv0Buffer);
+                if (vertexStream == null) {
+                    // 不可变存储无法再 glBufferData，换用新的缓冲区对象走常规路径
+                    GL46C.glDeleteBuffers(positionBufferObject);
+                    GL46C.glDeleteBuffers(normalBufferObject);
+                    GL46C.glDeleteBuffers(uv0BufferObject);
+                    positionBufferObject = GL46C.glGenBuffers();
+                    normalBufferObject = GL46C.glGenBuffers();
+                    uv0BufferObject = GL46C.glGenBuffers();
+                }
+            }
+
+            if (vertexStream == null) {
+                GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, positionBufferObject);
+                GL46C.glBufferData(GL46C.GL_ARRAY_BUFFER, posAndNorSize, GL46C.GL_DYNAMIC_DRAW);
+                GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, normalBufferObject);
+                GL46C.glBufferData(GL46C.GL_ARRAY_BUFFER, posAndNorSize, GL46C.GL_DYNAMIC_DRAW);
+            }
+            if (vertexStream == null || !hasUvMorph) {
+                GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, uv0BufferObject);
+                GL46C.glBufferData(GL46C.GL_ARRAY_BUFFER, uv0Buffer, GL46C.GL_DYNAMIC_DRAW);
+            }
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, uv1BufferObject);
             GL46C.glBufferData(GL46C.GL_ARRAY_BUFFER, uv1Buffer, GL46C.GL_STATIC_DRAW);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, colorBufferObject);
@@ -207,7 +234,7 @@ final class OpenGlModelFactory {
             result.indexType = indexType;
             result.mats = mats;
             result.lightMapMaterial = lightMapMaterial;
-            result.hasUvMorph = nativeBackend.getUvMorphCount(model) > 0;
+            result.hasUvMorph = hasUvMorph;
 
             modelViewMatBuff = MemoryUtil.memAllocFloat(16);
             projMatBuff = MemoryUtil.memAllocFloat(16);
@@ -218,7 +245,6 @@ final class OpenGlModelFactory {
             result.light0Buff = light0Buff;
             result.light1Buff = light1Buff;
 
-            int matMorphCount = nativeBackend.getMaterialMorphResultCount(model);
             if (matMorphCount > 0) {
                 int floatCount = matMorphCount * 56;
                 matMorphResultsByteBuf = MemoryUtil.memAlloc(floatCount * 4);
@@ -226,9 +252,15 @@ final class OpenGlModelFactory {
                 result.applyMaterialMorphState(matMorphCount, matMorphResultsByteBuf);
             }
 
-            result.subMeshCount = nativeBackend.getSubMeshCount(model);
-            result.subMeshDataBuf = MemoryUtil.memAlloc(result.subMeshCount * 20);
-            result.subMeshDataBuf.order(ByteOrder.LITTLE_ENDIAN);
+            result.subMeshCount = subMeshCount;
+            result.subMeshDataBuf = frameSnapshot.subMeshes;
+            result.frameSnapshot = frameSnapshot;
+            if (vertexStream != null) {
+                result.vertexStream = vertexStream;
+                frameSnapshot.skipSections(OpenGlFrameSnapshot.FLAG_POSITIONS
+                        | OpenGlFrameSnapshot.FLAG_NORMALS
+                        | OpenGlFrameSnapshot.FLAG_UVS);
+            }
 
             nativeBackend.setAutoBlinkEnabled(model, true);
             return result;
@@ -251,6 +283,7 @@ final class OpenGlModelFactory {
             if (light0Buff != null) MemoryUtil.memFree(light0Buff);
             if (light1Buff != null) MemoryUtil.memFree(light1Buff);
             if (matMorphResultsByteBuf != null) MemoryUtil.memFree(matMorphResultsByteBuf);
+            if (frameSnapshot != null) frameSnapshot.free();
             return null;
         }
     }
@@ -15,6 +15,7 @@ import net.minecraft.client.renderer.ShaderInstance;
 import net.minecraft.world.entity.Entity;
 import org.joml.Quaternionf;
 import org.joml.Vector3f;
+import org.lwjgl.system.MemoryUtil;
 
 /** 文件职责：承载 CPU/OpenGL 蒙皮模型实例状态。 */
 public class OpenGlModelInstance extends BaseModelInstance {
@@ -87,6 +88,13 @@ public class OpenGlModelInstance extends BaseModelInstance {
     boolean hasUvMorph = false;
     int subMeshCount;
     ByteBuffer subMeshDataBuf;
+    OpenGlFrameSnapshot frameSnapshot;
+    boolean frameSnapshotSupported = true;
+    int frameSnapshotFlags;
+    OpenGlVertexStream vertexStream;
+    long positionStreamOffset;
+    long normalStreamOffset;
+    long uv0StreamOffset;
     int lastBlockBrightness = Integer.MIN_VALUE;
     int lastSkyBrightness = Integer.MIN_VALUE;
     long lastPositionRevision = -1L;
@@ -143,8 +151,8 @@ public class OpenGlModelInstance extends BaseModelInstance {
     }
 
     @Override
-    protected void onUpdate(float deltaTime) {
-        backendPort().updateModel(model, deltaTime);
+    protected boolean onUpdate(float deltaTime) {
+        return backendPort().updateModel(model, deltaTime);
     }
 
     @Override
@@ -222,6 +230,14 @@ public class OpenGlModelInstance extends BaseModelInstance {
         fetchMaterialMorphResults();
     }
 
+    void applyMaterialMorphSnapshot(ByteBuffer snapshotSection) {
+        if (materialMorphResultCount <= 0 || materialMorphResultsByteBuffer == null) {
+            return;
+        }
+        MemoryUtil.memCopy(snapshotSection, materialMorphResultsByteBuffer);
+        materialMorphResultsByteBuffer.rewind();
+    }
+
     float effectiveMaterialAlpha(int materialIndex, float baseAlpha) {
         return getEffectiveMaterialAlpha(materialIndex, baseAlpha);
     }
@@ -11,22 +11,22 @@ final class OpenGlModelLifecycle {
     static void dispose(OpenGlModelInstance target) {
         target.releaseBaseResources();
 
-        if (target.posBuffer != null) {
-            MemoryUtil.memFree(target.posBuffer);
-            target.posBuffer = null;
+        if (target.vertexStream != null) {
+            target.vertexStream.dispose();
+            target.vertexStream = null;
         }
+        if (target.frameSnapshot != null) {
+            target.frameSnapshot.free();
+            target.frameSnapshot = null;
+        }
+        target.posBuffer = null;
+        target.norBuffer = null;
+        target.uv0Buffer = null;
+        target.subMeshDataBuf = null;
         if (target.colorBuffer != null) {
             MemoryUtil.memFree(target.colorBuffer);
             target.colorBuffer = null;
         }
-        if (target.norBuffer != null) {
-            MemoryUtil.memFree(target.norBuffer);
-            target.norBuffer = null;
-        }
-        if (target.uv0Buffer != null) {
-            MemoryUtil.memFree(target.uv0Buffer);
-            target.uv0Buffer = null;
-        }
         if (target.uv1Buffer != null) {
             MemoryUtil.memFree(target.uv1Buffer);
             target.uv1Buffer = null;
@@ -51,10 +51,6 @@ final class OpenGlModelLifecycle {
             MemoryUtil.memFree(target.light1Buff);
             target.light1Buff = null;
         }
-        if (target.subMeshDataBuf != null) {
-            MemoryUtil.memFree(target.subMeshDataBuf);
-            target.subMeshDataBuf = null;
-        }
 
         if (target.lightMapMaterial != null && target.lightMapMaterial.ownsTexture && target.lightMapMaterial.tex > 0) {
             GL46C.glDeleteTextures(target.lightMapMaterial.tex);
@@ -75,9 +71,11 @@ final class OpenGlModelLifecycle {
         long total = 0;
         int indexCount = (int) target.nativeBackendPort().getIndexCount(target.nativeModelHandle());
         total += (long) indexCount * target.indexElementSize;
-        total += (long) target.vertexCount * 12 * 2;
+        int streamFrames = target.vertexStream != null ? OpenGlVertexStream.FRAME_COUNT : 1;
+        int uvFrames = target.vertexStream != null && target.hasUvMorph ? OpenGlVertexStream.FRAME_COUNT : 1;
+        total += (long) target.vertexCount * 12 * 2 * streamFrames;
         total += (long) target.vertexCount * 16;
-        total += (long) target.vertexCount * 8 * 3;
+        total += (long) target.vertexCount * 8 * (2 + uvFrames);
         return total;
     }
 
@@ -4,6 +4,7 @@ import com.mojang.blaze3d.platform.GlStateManager;
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.BufferUploader;
 import com.mojang.blaze3d.vertex.PoseStack;
+import com.shiroha.mmdskin.bridge.runtime.NativeRenderBackendPort;
 import com.shiroha.mmdskin.config.ConfigManager;
 import com.shiroha.mmdskin.compat.iris.IrisCompat;
 import com.shiroha.mmdskin.render.bootstrap.ClientRenderRuntime;
@@ -49,14 +50,7 @@ final class OpenGlModelRenderer {
         float baseScale = target.modelScaleValue();
         deliverStack.scale(baseScale, baseScale, baseScale);
 
-        long materialMorphTimer = RenderPerformanceProfiler.get().startTimer();
-        target.loadMaterialMorphResults();
-        RenderPerformanceProfiler.get().endTimer(RenderPerformanceProfiler.SECTION_MATERIAL_MORPH_FETCH, materialMorphTimer);
-
-        long subMeshTimer = RenderPerformanceProfiler.get().startTimer();
-        target.subMeshDataBuf.clear();
-        nativeBackend.batchGetSubMeshData(modelHandle, target.subMeshDataBuf);
-        RenderPerformanceProfiler.get().endTimer(RenderPerformanceProfiler.SECTION_SUB_MESH_FETCH, subMeshTimer);
+        fetchFrameData(target, nativeBackend, modelHandle);
 
         boolean useToon = initializeToonShaderIfNeeded();
         if (useToon) {
@@ -64,6 +58,7 @@ final class OpenGlModelRenderer {
             try {
                 renderToon(target, minecraft, light.intensity(), deliverStack);
             } finally {
+                fenceVertexStream(target);
                 RenderPerformanceProfiler.get().endTimer(RenderPerformanceProfiler.SECTION_DRAW, drawTimer);
             }
             return;
@@ -73,10 +68,97 @@ final class OpenGlModelRenderer {
         try {
             renderStandard(target, minecraft, light, deliverStack);
         } finally {
+            fenceVertexStream(target);
             RenderPerformanceProfiler.get().endTimer(RenderPerformanceProfiler.SECTION_DRAW, drawTimer);
         }
     }
 
+    private static void fenceVertexStream(OpenGlModelInstance target) {
+        if (target.vertexStream != null) {
+            target.vertexStream.fenceCurrentFrame();
+        }
+    }
+
+    private static void fetchFrameData(OpenGlModelInstance target, NativeRenderBackendPort nativeBackend, long modelHandle) {
+        if (target.frameSnapshotSupported) {
+            long snapshotTimer = RenderPerformanceProfiler.get().startTimer();
+            int flags = fetchFrameSnapshot(target, nativeBackend, modelHandle);
+            RenderPerformanceProfiler.get().endTimer(RenderPerformanceProfiler.SECTION_FRAME_SNAPSHOT, snapshotTimer);
+            if (flags >= 0) {
+                // 标志累积到真正上传为止，避免着色器绑定失败时丢失本次顶点变化
+                target.frameSnapshotFlags |= flags;
+                if ((flags & OpenGlFrameSnapshot.FLAG_MATERIAL_MORPHS) != 0) {
+                    target.applyMaterialMorphSnapshot(target.frameSnapshot.materialMorphs);
+                }
+                if (target.vertexStream != null) {
+                    updateVertexStream(target, nativeBackend, modelHandle);
+                }
+                return;
+            }
+        }
+
+        long materialMorphTimer = RenderPerformanceProfiler.get().startTimer();
+        target.loadMaterialMorphResults();
+        RenderPerformanceProfiler.get().endTimer(RenderPerformanceProfiler.SECTION_MATERIAL_MORPH_FETCH, materialMorphTimer);
+
+        long subMeshTimer = RenderPerformanceProfiler.get().startTimer();
+        target.subMeshDataBuf.clear();
+        nativeBackend.batchGetSubMeshData(modelHandle, target.subMeshDataBuf);
+        RenderPerformanceProfiler.get().endTimer(RenderPerformanceProfiler.SECTION_SUB_MESH_FETCH, subMeshTimer);
+    }
+
+    private static int fetchFrameSnapshot(OpenGlModelInstance target, NativeRenderBackendPort nativeBackend, long modelHandle) {
+        int flags;
+        try {
+            flags = target.frameSnapshot.fetch(nativeBackend, modelHandle);
+        } catch (UnsatisfiedLinkError e) {
+            logger.warn("帧快照 JNI 方法未找到，已回退为逐缓冲区拉取，请重新编译 Rust 库");
+            disableFrameSnapshot(target);
+            return -1;
+        }
+        if (flags < 0) {
+            logger.warn("帧快照拉取失败（容量 {} 字节），该模型回退为逐缓冲区拉取", target.frameSnapshot.capacity());
+            disableFrameSnapshot(target);
+        }
+        return flags;
+    }
+
+    private static void updateVertexStream(OpenGlModelInstance target, NativeRenderBackendPort nativeBackend, long modelHandle) {
+        try {
+            if (target.vertexStream.update(nativeBackend, modelHandle, target.frameSnapshot.revision())) {
+                target.positionStreamOffset = target.vertexStream.positionOffset();
+                target.normalStreamOffset = target.vertexStream.normalOffset();
+                target.uv0StreamOffset = target.vertexStream.uvOffset();
+            }
+        } catch (UnsatisfiedLinkError e) {
+            logger.warn("顶点流 JNI 方法未找到，已回退为 glBufferSubData 上传，请重新编译 Rust 库");
+            disableVertexStream(target);
+        }
+    }
+
+    /** 回退后仍复用同一批缓冲区对象（带 DYNAMIC_STORAGE 标志），从槽位 0 开始常规上传。 */
+    private static void disableVertexStream(OpenGlModelInstance target) {
+        if (target.vertexStream == null) {
+            return;
+        }
+        target.vertexStream.dispose();
+        target.vertexStream = null;
+        target.positionStreamOffset = 0L;
+        target.normalStreamOffset = 0L;
+        target.uv0StreamOffset = 0L;
+        if (target.frameSnapshot != null) {
+            target.frameSnapshot.skipSections(0);
+            target.frameSnapshot.invalidate();
+        }
+    }
+
+    private static void disableFrameSnapshot(OpenGlModelInstance target) {
+        disableVertexStream(target);
+        target.frameSnapshotSupported = false;
+        target.frameSnapshotFlags = 0;
+        target.lastPositionRevision = -1L;
+    }
+
     private static boolean initializeToonShaderIfNeeded() {
         if (!ConfigManager.isToonRenderingEnabled()) {
             return false;
@@ -151,36 +233,65 @@ final class OpenGlModelRenderer {
 
     private static void uploadDynamicBuffers(OpenGlModelInstance target, int blockLight, int skyLight,
                                              float skyDarken, boolean irisActive) {
-        long currentRevision = target.nativeUpdateRevisionValue();
-        if (target.lastPositionRevision != currentRevision) {
-            var nativeBackend = target.nativeBackendPort();
-            long modelHandle = target.nativeModelHandle();
-            int posAndNorSize = target.vertexCount * 12;
-
-            long posData = nativeBackend.getPositionDataAddress(modelHandle);
-            nativeBackend.copyNativeDataToBuffer(target.posBuffer, posData, posAndNorSize);
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.vertexBufferObject);
-            GL46C.glBufferSubData(GL46C.GL_ARRAY_BUFFER, 0, target.posBuffer);
+        uploadVertexStreams(target);
 
-            long normalData = nativeBackend.getNormalDataAddress(modelHandle);
-            nativeBackend.copyNativeDataToBuffer(target.norBuffer, normalData, posAndNorSize);
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.normalBufferObject);
-            GL46C.glBufferSubData(GL46C.GL_ARRAY_BUFFER, 0, target.norBuffer);
+        int blockBrightness = LightingHelper.computeBlockBrightness(blockLight);
+        int skyBrightness = LightingHelper.computeSkyBrightness(skyLight, skyDarken, irisActive);
+        uploadLightBufferIfNeeded(target, blockBrightness, skyBrightness);
+    }
 
-            if (target.hasUvMorph) {
-                int uv0Size = target.vertexCount * 8;
-                long uv0Data = nativeBackend.getUvDataAddress(modelHandle);
-                nativeBackend.copyNativeDataToBuffer(target.uv0Buffer, uv0Data, uv0Size);
+    private static void uploadVertexStreams(OpenGlModelInstance target) {
+        if (target.vertexStream != null) {
+            // native 已直接写入映射显存，只需切换属性偏移
+            target.frameSnapshotFlags = 0;
+            return;
+        }
+        if (target.frameSnapshotSupported) {
+            int flags = target.frameSnapshotFlags;
+            if ((flags & OpenGlFrameSnapshot.FLAG_POSITIONS) != 0) {
+                GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.vertexBufferObject);
+                GL46C.glBufferSubData(GL46C.GL_ARRAY_BUFFER, 0, target.posBuffer);
+            }
+            if ((flags & OpenGlFrameSnapshot.FLAG_NORMALS) != 0) {
+                GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.normalBufferObject);
+                GL46C.glBufferSubData(GL46C.GL_ARRAY_BUFFER, 0, target.norBuffer);
+            }
+            if (target.hasUvMorph && (flags & OpenGlFrameSnapshot.FLAG_UVS) != 0) {
                 GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.texcoordBufferObject);
                 GL46C.glBufferSubData(GL46C.GL_ARRAY_BUFFER, 0, target.uv0Buffer);
             }
+            target.frameSnapshotFlags = 0;
+            return;
+        }
 
-            target.lastPositionRevision = currentRevision;
+        long currentRevision = target.nativeUpdateRevisionValue();
+        if (target.lastPositionRevision == currentRevision) {
+            return;
         }
 
-        int blockBrightness = LightingHelper.computeBlockBrightness(blockLight);
-        int skyBrightness = LightingHelper.computeSkyBrightness(skyLight, skyDarken, irisActive);
-        uploadLightBufferIfNeeded(target, blockBrightness, skyBrightness);
+        var nativeBackend = target.nativeBackendPort();
+        long modelHandle = target.nativeModelHandle();
+        int posAndNorSize = target.vertexCount * 12;
+
+        long posData = nativeBackend.getPositionDataAddress(modelHandle);
+        nativeBackend.copyNativeDataToBuffer(target.posBuffer, posData, posAndNorSize);
+        GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.vertexBufferObject);
+        GL46C.glBufferSubData(GL46C.GL_ARRAY_BUFFER, 0, target.posBuffer);
+
+        long normalData = nativeBackend.getNormalDataAddress(modelHandle);
+        nativeBackend.copyNativeDataToBuffer(target.norBuffer, normalData, posAndNorSize);
+        GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.normalBufferObject);
+        GL46C.glBufferSubData(GL46C.GL_ARRAY_BUFFER, 0, target.norBuffer);
+
+        if (target.hasUvMorph) {
+            int uv0Size = target.vertexCount * 8;
+            long uv0Data = nativeBackend.getUvDataAddress(modelHandle);
+            nativeBackend.copyNativeDataToBuffer(target.uv0Buffer, uv0Data, uv0Size);
+            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.texcoordBufferObject);
+            GL46C.glBufferSubData(GL46C.GL_ARRAY_BUFFER, 0, target.uv0Buffer);
+        }
+
+        target.lastPositionRevision = currentRevision;
     }
 
     private static void uploadLightBufferIfNeeded(OpenGlModelInstance target, int blockBrightness, int skyBrightness) {
@@ -260,17 +371,17 @@ final class OpenGlModelRenderer {
         if (target.positionLocation != -1) {
             GL46C.glEnableVertexAttribArray(target.positionLocation);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.vertexBufferObject);
-            GL46C.glVertexAttribPointer(target.positionLocation, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(target.positionLocation, 3, GL46C.GL_FLOAT, false, 0, target.positionStreamOffset);
         }
         if (target.normalLocation != -1) {
             GL46C.glEnableVertexAttribArray(target.normalLocation);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.normalBufferObject);
-            GL46C.glVertexAttribPointer(target.normalLocation, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(target.normalLocation, 3, GL46C.GL_FLOAT, false, 0, target.normalStreamOffset);
         }
         if (target.uv0Location != -1) {
             GL46C.glEnableVertexAttribArray(target.uv0Location);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.texcoordBufferObject);
-            GL46C.glVertexAttribPointer(target.uv0Location, 2, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(target.uv0Location, 2, GL46C.GL_FLOAT, false, 0, target.uv0StreamOffset);
         }
         if (target.uv1Location != -1) {
             GL46C.glEnableVertexAttribArray(target.uv1Location);
@@ -290,17 +401,17 @@ final class OpenGlModelRenderer {
         if (target.K_positionLocation != -1) {
             GL46C.glEnableVertexAttribArray(target.K_positionLocation);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.vertexBufferObject);
-            GL46C.glVertexAttribPointer(target.K_positionLocation, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(target.K_positionLocation, 3, GL46C.GL_FLOAT, false, 0, target.positionStreamOffset);
         }
         if (target.K_normalLocation != -1) {
             GL46C.glEnableVertexAttribArray(target.K_normalLocation);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.normalBufferObject);
-            GL46C.glVertexAttribPointer(target.K_normalLocation, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(target.K_normalLocation, 3, GL46C.GL_FLOAT, false, 0, target.normalStreamOffset);
         }
         if (target.K_uv0Location != -1) {
             GL46C.glEnableVertexAttribArray(target.K_uv0Location);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.texcoordBufferObject);
-            GL46C.glVertexAttribPointer(target.K_uv0Location, 2, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(target.K_uv0Location, 2, GL46C.GL_FLOAT, false, 0, target.uv0StreamOffset);
         }
         if (target.K_projMatLocation != -1) {
             target.projMatBuff.position(0);
@@ -340,17 +451,17 @@ final class OpenGlModelRenderer {
         if (target.I_positionLocation != -1) {
             GL46C.glEnableVertexAttribArray(target.I_positionLocation);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.vertexBufferObject);
-            GL46C.glVertexAttribPointer(target.I_positionLocation, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(target.I_positionLocation, 3, GL46C.GL_FLOAT, false, 0, target.positionStreamOffset);
         }
         if (target.I_normalLocation != -1) {
             GL46C.glEnableVertexAttribArray(target.I_normalLocation);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.normalBufferObject);
-            GL46C.glVertexAttribPointer(target.I_normalLocation, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(target.I_normalLocation, 3, GL46C.GL_FLOAT, false, 0, target.normalStreamOffset);
         }
         if (target.I_uv0Location != -1) {
             GL46C.glEnableVertexAttribArray(target.I_uv0Location);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.texcoordBufferObject);
-            GL46C.glVertexAttribPointer(target.I_uv0Location, 2, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(target.I_uv0Location, 2, GL46C.GL_FLOAT, false, 0, target.uv0StreamOffset);
         }
     }
 
@@ -416,30 +527,7 @@ final class OpenGlModelRenderer {
             }
         }
 
-        long currentRevision = target.nativeUpdateRevisionValue();
-        if (target.lastPositionRevision != currentRevision) {
-            var nativeBackend = target.nativeBackendPort();
-            long modelHandle = target.nativeModelHandle();
-            int posAndNorSize = target.vertexCount * 12;
-            long posData = nativeBackend.getPositionDataAddress(modelHandle);
-            nativeBackend.copyNativeDataToBuffer(target.posBuffer, posData, posAndNorSize);
-            long normalData = nativeBackend.getNormalDataAddress(modelHandle);
-            nativeBackend.copyNativeDataToBuffer(target.norBuffer, normalData, posAndNorSize);
-
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.vertexBufferObject);
-            GL46C.glBufferSubData(GL46C.GL_ARRAY_BUFFER, 0, target.posBuffer);
-            GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.normalBufferObject);
-            GL46C.glBufferSubData(GL46C.GL_ARRAY_BUFFER, 0, target.norBuffer);
-            if (target.hasUvMorph) {
-                int uv0Size = target.vertexCount * 8;
-                long uv0Data = nativeBackend.getUvDataAddress(modelHandle);
-                nativeBackend.copyNativeDataToBuffer(target.uv0Buffer, uv0Data, uv0Size);
-                GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.texcoordBufferObject);
-                GL46C.glBufferSubData(GL46C.GL_ARRAY_BUFFER, 0, target.uv0Buffer);
-            }
-
-            target.lastPositionRevision = currentRevision;
-        }
+        uploadVertexStreams(target);
 
         target.modelViewMatBuff.clear();
         target.projMatBuff.clear();
@@ -470,17 +558,17 @@ final class OpenGlModelRenderer {
         if (posLoc != -1) {
             GL46C.glEnableVertexAttribArray(posLoc);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.vertexBufferObject);
-            GL46C.glVertexAttribPointer(posLoc, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(posLoc, 3, GL46C.GL_FLOAT, false, 0, target.positionStreamOffset);
         }
         if (norLoc != -1) {
             GL46C.glEnableVertexAttribArray(norLoc);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.normalBufferObject);
-            GL46C.glVertexAttribPointer(norLoc, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(norLoc, 3, GL46C.GL_FLOAT, false, 0, target.normalStreamOffset);
         }
         if (uvLoc != -1) {
             GL46C.glEnableVertexAttribArray(uvLoc);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.texcoordBufferObject);
-            GL46C.glVertexAttribPointer(uvLoc, 2, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(uvLoc, 2, GL46C.GL_FLOAT, false, 0, target.uv0StreamOffset);
         }
 
         OpenGlModelInstance.toonShaderCpu.setOutlineProjectionMatrix(target.projMatBuff);
@@ -517,17 +605,17 @@ final class OpenGlModelRenderer {
         if (posLoc != -1) {
             GL46C.glEnableVertexAttribArray(posLoc);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.vertexBufferObject);
-            GL46C.glVertexAttribPointer(posLoc, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(posLoc, 3, GL46C.GL_FLOAT, false, 0, target.positionStreamOffset);
         }
         if (norLoc != -1) {
             GL46C.glEnableVertexAttribArray(norLoc);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.normalBufferObject);
-            GL46C.glVertexAttribPointer(norLoc, 3, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(norLoc, 3, GL46C.GL_FLOAT, false, 0, target.normalStreamOffset);
         }
         if (uvLoc != -1) {
             GL46C.glEnableVertexAttribArray(uvLoc);
             GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, target.texcoordBufferObject);
-            GL46C.glVertexAttribPointer(uvLoc, 2, GL46C.GL_FLOAT, false, 0, 0);
+            GL46C.glVertexAttribPointer(uvLoc, 2, GL46C.GL_FLOAT, false, 0, target.uv0StreamOffset);
         }
 
         OpenGlModelInstance.toonShaderCpu.setProjectionMatrix(target.projMatBuff);
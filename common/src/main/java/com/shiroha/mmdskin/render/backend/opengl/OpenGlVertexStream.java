@@ -0,0 +1,162 @@
+package com.shiroha.mmdskin.render.backend.opengl;
+
+import com.shiroha.mmdskin.bridge.runtime.NativeRenderBackendPort;
+import java.nio.ByteBuffer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GL46C;
+import org.lwjgl.opengl.GLCapabilities;
+import org.lwjgl.system.MemoryUtil;
+
+/** 文件职责：管理持久映射的三重缓冲顶点流，native 蒙皮结果直接写入映射显存。 */
+final class OpenGlVertexStream {
+    private static final Logger logger = LogManager.getLogger();
+    static final int FRAME_COUNT = 3;
+    private static final int STORAGE_FLAGS = GL46C.GL_MAP_WRITE_BIT
+            | GL46C.GL_MAP_PERSISTENT_BIT
+            | GL46C.GL_MAP_COHERENT_BIT
+            | GL46C.GL_DYNAMIC_STORAGE_BIT;
+    private static final int MAP_FLAGS = GL46C.GL_MAP_WRITE_BIT
+            | GL46C.GL_MAP_PERSISTENT_BIT
+            | GL46C.GL_MAP_COHERENT_BIT;
+
+    private static volatile boolean unsupportedLogged = false;
+
+    private final int vec3FrameSize;
+    private final int uvFrameSize;
+    private final long positionAddress;
+    private final long normalAddress;
+    private final long uvAddress;
+    private final long[] fences = new long[FRAME_COUNT];
+    private int frameIndex;
+    private long lastRevision = -1L;
+
+    private OpenGlVertexStream(int vertexCount, long positionAddress, long normalAddress, long uvAddress) {
+        this.vec3FrameSize = vertexCount * 12;
+        this.uvFrameSize = vertexCount * 8;
+        this.positionAddress = positionAddress;
+        this.normalAddress = normalAddress;
+        this.uvAddress = uvAddress;
+    }
+
+    static boolean isSupported() {
+        GLCapabilities caps = GL.getCapabilities();
+        boolean supported = caps.OpenGL44 || caps.GL_ARB_buffer_storage;
+        if (!supported && !unsupportedLogged) {
+            unsupportedLogged = true;
+            logger.info("当前驱动不支持 ARB_buffer_storage，持久映射顶点流已禁用");
+        }
+        return supported;
+    }
+
+    /**
+     * 为已生成的缓冲区对象分配不可变的持久映射存储；UV 缓冲区为 0 时 UV 保持静态上传。
+     * 失败时返回 null，调用方继续使用 glBufferData 路径。
+     */
+    static OpenGlVertexStream create(int positionBuffer, int normalBuffer, int uvBuffer,
+                                     int vertexCount, ByteBuffer initialUvs) {
+        if (vertexCount <= 0) {
+            return null;
+        }
+        long vec3Size = (long) vertexCount * 12 * FRAME_COUNT;
+        long positionAddress = allocateMapped(positionBuffer, vec3Size);
+        long normalAddress = allocateMapped(normalBuffer, vec3Size);
+        long uvAddress = 0L;
+        if (uvBuffer != 0) {
+            uvAddress = allocateMapped(uvBuffer, (long) vertexCount * 8 * FRAME_COUNT);
+        }
+        GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, 0);
+        if (positionAddress == 0L || normalAddress == 0L || (uvBuffer != 0 && uvAddress == 0L)) {
+            logger.warn("持久映射顶点流分配失败，回退为 glBufferSubData 上传");
+            return null;
+        }
+
+        if (uvAddress != 0L) {
+            int uvSize = vertexCount * 8;
+            long source = MemoryUtil.memAddress(initialUvs);
+            for (int i = 0; i < FRAME_COUNT; i++) {
+                MemoryUtil.memCopy(source, uvAddress + (long) i * uvSize, uvSize);
+            }
+        }
+        return new OpenGlVertexStream(vertexCount, positionAddress, normalAddress, uvAddress);
+    }
+
+    /**
+     * 蒙皮版本变化且 GPU 已释放下一帧槽位时切换过去，由 native 直接写入。
+     * 返回 false 表示版本未变化、GPU 仍在读取下一槽位或 native 未写入，继续使用当前槽位。
+     */
+    boolean update(NativeRenderBackendPort nativeBackend, long modelHandle, long revision) {
+        if (revision == lastRevision) {
+            return false;
+        }
+
+        int nextIndex = (frameIndex + 1) % FRAME_COUNT;
+        if (!frameReleased(nextIndex)) {
+            return false;
+        }
+        long written = nativeBackend.writeVertexStreams(
+                modelHandle,
+                positionAddress + (long) nextIndex * vec3FrameSize,
+                normalAddress + (long) nextIndex * vec3FrameSize,
+                uvAddress == 0L ? 0L : uvAddress + (long) nextIndex * uvFrameSize);
+        if (written < 0L) {
+            return false;
+        }
+        frameIndex = nextIndex;
+        lastRevision = written;
+        return true;
+    }
+
+    /** 当前槽位的绘制命令提交后调用，GPU 读完之前该槽位不会被再次写入。 */
+    void fenceCurrentFrame() {
+        long previous = fences[frameIndex];
+        if (previous != 0L) {
+            GL46C.glDeleteSync(previous);
+        }
+        fences[frameIndex] = GL46C.glFenceSync(GL46C.GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+    }
+
+    long positionOffset() {
+        return (long) frameIndex * vec3FrameSize;
+    }
+
+    long normalOffset() {
+        return (long) frameIndex * vec3FrameSize;
+    }
+
+    long uvOffset() {
+        return uvAddress == 0L ? 0L : (long) frameIndex * uvFrameSize;
+    }
+
+    /** 释放栅栏；映射随缓冲区对象删除一并解除。 */
+    void dispose() {
+        for (int i = 0; i < FRAME_COUNT; i++) {
+            if (fences[i] != 0L) {
+                GL46C.glDeleteSync(fences[i]);
+                fences[i] = 0L;
+            }
+        }
+    }
+
+    /** 不阻塞地检查槽位的栅栏；GPU 尚未读完时返回 false 并保留栅栏，本帧沿用当前槽位，下次再检查。 */
+    private boolean frameReleased(int index) {
+        long fence = fences[index];
+        if (fence == 0L) {
+            return true;
+        }
+        int status = GL46C.glClientWaitSync(fence, GL46C.GL_SYNC_FLUSH_COMMANDS_BIT, 0L);
+        if (status == GL46C.GL_TIMEOUT_EXPIRED) {
+            return false;
+        }
+        GL46C.glDeleteSync(fence);
+        fences[index] = 0L;
+        return true;
+    }
+
+    private static long allocateMapped(int buffer, long size) {
+        GL46C.glBindBuffer(GL46C.GL_ARRAY_BUFFER, buffer);
+        GL46C.glBufferStorage(GL46C.GL_ARRAY_BUFFER, size, STORAGE_FLAGS);
+        return GL46C.nglMapBufferRange(GL46C.GL_ARRAY_BUFFER, 0L, size, MAP_FLAGS);
+    }
+}
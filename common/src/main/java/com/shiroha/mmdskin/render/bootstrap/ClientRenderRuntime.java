@@ -5,6 +5,7 @@ import com.shiroha.mmdskin.bridge.runtime.NativeModelLoadPort;
 import com.shiroha.mmdskin.bridge.runtime.NativeModelPort;
 import com.shiroha.mmdskin.bridge.runtime.NativeModelQueryPort;
 import com.shiroha.mmdskin.bridge.runtime.NativeMorphPort;
+import com.shiroha.mmdskin.bridge.runtime.NativePoseSyncPort;
 import com.shiroha.mmdskin.bridge.runtime.NativeRenderBackendPort;
 import com.shiroha.mmdskin.bridge.runtime.NativeRuntimeBridgeHolder;
 import com.shiroha.mmdskin.bridge.runtime.NativeRuntimePort;
@@ -12,6 +13,7 @@ import com.shiroha.mmdskin.bridge.runtime.NativeScenePort;
 import com.shiroha.mmdskin.bridge.runtime.NativeTextureBridgeHolder;
 import com.shiroha.mmdskin.bridge.runtime.PlatformCapabilityPort;
 import com.shiroha.mmdskin.compat.vr.DefaultVrRuntimePort;
+import com.shiroha.mmdskin.config.PathConstants;
 import com.shiroha.mmdskin.config.PhysicsConfigSnapshot;
 import com.shiroha.mmdskin.config.RuntimeConfigPort;
 import com.shiroha.mmdskin.config.RuntimeConfigPortHolder;
@@ -25,11 +27,13 @@ import com.shiroha.mmdskin.model.runtime.ManagedModel;
 import com.shiroha.mmdskin.model.runtime.ModelRepository;
 import com.shiroha.mmdskin.player.render.ItemRenderHelper;
 import com.shiroha.mmdskin.player.runtime.FirstPersonManager;
+import com.shiroha.mmdskin.player.sync.BoneSyncManager;
 import com.shiroha.mmdskin.api.MmdSkinApi;
 import com.shiroha.mmdskin.compat.vr.VRBoneDriver;
 import com.shiroha.mmdskin.debug.client.PerformanceHud;
 import com.shiroha.mmdskin.render.backend.RenderBackendRegistry;
 import com.shiroha.mmdskin.render.pipeline.LivingEntityModelStateHelper;
+import com.shiroha.mmdskin.render.policy.RenderPriorityService;
 import com.shiroha.mmdskin.render.port.RenderBackendSettingsPort;
 import com.shiroha.mmdskin.scene.client.SceneModelManager;
 import com.shiroha.mmdskin.texture.runtime.TextureRepository;
@@ -51,6 +55,7 @@ public final class ClientRenderRuntime {
         PlatformCapabilityPort platformCapabilityPort = nativeRuntimePort;
         this.renderBackendRegistry = new RenderBackendRegistry(nativeRenderBackendPort, platformCapabilityPort, runtimeConfigPort);
         TextureRepository.Init();
+        TextureRepository.configureDiskCache(PathConstants.getTextureCacheDir().toPath());
         this.renderBackendRegistry.initialize();
         NativeModelPort modelPort = (NativeModelPort) nativeRuntimePort;
         NativeModelLoadPort modelLoadPort = (NativeModelLoadPort) nativeRuntimePort;
@@ -59,7 +64,8 @@ public final class ClientRenderRuntime {
         NativeMorphPort morphPort = (NativeMorphPort) nativeRuntimePort;
         this.modelRepository = new ModelRepository(
                 new DefaultModelRuntimeAccessPort(renderBackendRegistry, modelLoadPort, modelPort),
-                MaidModelRepositoryExtension.INSTANCE);
+                MaidModelRepositoryExtension.INSTANCE,
+                RenderPriorityService.get());
         ManagedModel.configureRuntimeCollaborators(NativeAnimationBridgeHolder.get(), nativeRuntimePort);
         ItemRenderHelper.configureRuntimeCollaborators(nativeRuntimePort);
         TextureRepository.configureRuntimeCollaborators(NativeTextureBridgeHolder.get());
@@ -71,6 +77,7 @@ public final class ClientRenderRuntime {
         SceneModelManager.getInstance().configureRuntimeCollaborators(scenePort);
         ExpressionApplicationService.configureRuntimeCollaborators(morphPort);
         ModelMorphCatalog.configureRuntimeCollaborators(modelQueryPort);
+        BoneSyncManager.configureRuntimeCollaborators((NativePoseSyncPort) nativeRuntimePort);
         MmdSkinApi.configureRuntimeCollaborators(modelPort, modelQueryPort);
     }
 
@@ -2,6 +2,7 @@ package com.shiroha.mmdskin.render.pipeline;
 
 import com.shiroha.mmdskin.bridge.runtime.NativeScenePort;
 import com.shiroha.mmdskin.player.runtime.FirstPersonManager;
+import com.shiroha.mmdskin.player.sync.BoneSyncManager;
 import com.shiroha.mmdskin.render.scene.RenderScene;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.LivingEntity;
@@ -60,6 +61,9 @@ public final class LivingEntityModelStateHelper {
             HeadAngleHelper.updateHeadAngle(scenePort, modelHandle, entity, entityYaw, tickDelta, context);
             EyeTrackingHelper.updateEyeTracking(scenePort, modelHandle, entity, entityYaw, tickDelta, modelName);
         }
+        if (entity instanceof Player player) {
+            BoneSyncManager.applyRemotePose(player.getUUID(), modelHandle, !stagePlaying && !vrActive);
+        }
 
         Vec3 renderOrigin = entity instanceof Player player
                 ? resolveRenderOrigin(player, tickDelta)
@@ -16,6 +16,7 @@ public final class RenderPerformanceProfiler {
     public static final String SECTION_MATERIAL_MORPH_FETCH = "materialMorphFetch";
     public static final String SECTION_COMPUTE_DISPATCH = "computeDispatch";
     public static final String SECTION_SUB_MESH_FETCH = "subMeshFetch";
+    public static final String SECTION_FRAME_SNAPSHOT = "frameSnapshot";
     public static final String SECTION_DRAW = "draw";
 
     private static final Logger logger = LogManager.getLogger();
@@ -28,6 +29,8 @@ public final class RenderPerformanceProfiler {
     private long profiledFrameCount = 0L;
     private long profiledVisibleModels = 0L;
     private long profiledPhysicsModels = 0L;
+    private long profiledPoseUpdates = 0L;
+    private long profiledPoseSkips = 0L;
 
     private RenderPerformanceProfiler() {
         profilingTotalsNanos.put(SECTION_LIVING_STATE_SYNC, 0L);
@@ -37,6 +40,7 @@ public final class RenderPerformanceProfiler {
         profilingTotalsNanos.put(SECTION_MATERIAL_MORPH_FETCH, 0L);
         profilingTotalsNanos.put(SECTION_COMPUTE_DISPATCH, 0L);
         profilingTotalsNanos.put(SECTION_SUB_MESH_FETCH, 0L);
+        profilingTotalsNanos.put(SECTION_FRAME_SNAPSHOT, 0L);
         profilingTotalsNanos.put(SECTION_DRAW, 0L);
     }
 
@@ -56,6 +60,19 @@ public final class RenderPerformanceProfiler {
         profilingTotalsNanos.merge(section, System.nanoTime() - startTimeNanos, Long::sum);
     }
 
+    /** 记录一次模型更新；姿势未变化（跳过蒙皮与上传）计入跳过率。 */
+    public synchronized void recordModelUpdate(boolean poseChanged) {
+        if (!config.isPerformanceProfilingEnabled()) {
+            return;
+        }
+
+        if (poseChanged) {
+            profiledPoseUpdates++;
+        } else {
+            profiledPoseSkips++;
+        }
+    }
+
     public synchronized void completeFrame(int visibleModels, int physicsModels) {
         if (!config.isPerformanceProfilingEnabled()) {
             resetProfiling();
@@ -82,6 +99,12 @@ public final class RenderPerformanceProfiler {
                 .append(", avgPhysics=")
                 .append(String.format("%.2f", profiledPhysicsModels / (double) profiledFrameCount));
 
+        long poseTotal = profiledPoseUpdates + profiledPoseSkips;
+        if (poseTotal > 0) {
+            message.append(", poseSkipRate=")
+                    .append(String.format("%.1f%%", profiledPoseSkips * 100.0d / poseTotal));
+        }
+
         for (Map.Entry<String, Long> entry : profilingTotalsNanos.entrySet()) {
             double avgMs = entry.getValue() / 1_000_000.0d / profiledFrameCount;
             message.append(", ").append(entry.getKey()).append('=')
@@ -97,6 +120,8 @@ public final class RenderPerformanceProfiler {
         profiledFrameCount = 0L;
         profiledVisibleModels = 0L;
         profiledPhysicsModels = 0L;
+        profiledPoseUpdates = 0L;
+        profiledPoseSkips = 0L;
         for (Map.Entry<String, Long> entry : profilingTotalsNanos.entrySet()) {
             entry.setValue(0L);
         }
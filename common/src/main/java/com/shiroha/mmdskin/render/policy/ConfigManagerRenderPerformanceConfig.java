@@ -54,8 +54,8 @@ public final class ConfigManagerRenderPerformanceConfig implements RenderPerform
     }
 
     @Override
-    public int getMaxPhysicsModelsPerFrame() {
-        return ConfigManager.getMaxPhysicsModelsPerFrame();
+    public float getPhysicsBudgetMs() {
+        return ConfigManager.getPhysicsBudgetMs();
     }
 
     @Override
@@ -0,0 +1,56 @@
+package com.shiroha.mmdskin.render.policy;
+
+/**
+ * 文件职责：定义模型的物理细节等级。
+ * 中距离模型降频步进并在两次步进之间插值，远距离或超出时间预算的模型冻结在最后一次模拟的姿势，
+ * 只有全局关闭物理时才回到动画姿势。
+ */
+public enum PhysicsLod {
+    FULL(0, 1),
+    HALF(1, 2),
+    QUARTER(2, 4),
+    FROZEN(3, 0),
+    OFF(-1, 0);
+
+    private final int nativeLevel;
+    private final int stepInterval;
+
+    PhysicsLod(int nativeLevel, int stepInterval) {
+        this.nativeLevel = nativeLevel;
+        this.stepInterval = stepInterval;
+    }
+
+    /** 传给 native SetPhysicsLod 的等级；OFF 不下发，改为关闭物理 */
+    public int nativeLevel() {
+        return nativeLevel;
+    }
+
+    /** 物理步进间隔帧数；不步进时为 0 */
+    public int stepInterval() {
+        return stepInterval;
+    }
+
+    /** 本等级下物理是否仍在步进 */
+    public boolean isSimulated() {
+        return stepInterval > 0;
+    }
+
+    /** 按到相机的距离平方分级：物理最大距离的 1/2 内全频，3/4 内半频，其余 1/4 频，超出后冻结 */
+    public static PhysicsLod forDistance(double distanceSq, double maxDistance) {
+        if (maxDistance <= 0.0d) {
+            return FULL;
+        }
+        double fullDistance = maxDistance * 0.5d;
+        double halfDistance = maxDistance * 0.75d;
+        if (distanceSq <= fullDistance * fullDistance) {
+            return FULL;
+        }
+        if (distanceSq <= halfDistance * halfDistance) {
+            return HALF;
+        }
+        if (distanceSq <= maxDistance * maxDistance) {
+            return QUARTER;
+        }
+        return FROZEN;
+    }
+}
@@ -0,0 +1,131 @@
+package com.shiroha.mmdskin.render.policy;
+
+import java.util.Arrays;
+
+/**
+ * 文件职责：可复用的按距离排序候选缓冲区，距离与下标存放在原始数组中。
+ * 只需前 K 个最近候选时做部分选择（快速选择 + 前缀插入排序），不做整表排序；容量只增不减，稳态下不分配。
+ */
+final class PriorityCandidateBuffer<T> {
+    /** 前缀不超过该长度时直接插入排序 */
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+
+    private Object[] items = new Object[64];
+    private double[] distances = new double[64];
+    private int[] order = new int[64];
+    private int size;
+
+    void clear() {
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+    }
+
+    void add(T item, double distanceSq) {
+        if (size == items.length) {
+            int capacity = size * 2;
+            items = Arrays.copyOf(items, capacity);
+            distances = Arrays.copyOf(distances, capacity);
+            order = Arrays.copyOf(order, capacity);
+        }
+        items[size] = item;
+        distances[size] = distanceSq;
+        order[size] = size;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** 把最近的 limit 个候选按距离升序排到前面，返回实际排好的数量；其余名次的顺序不确定 */
+    int selectNearest(int limit) {
+        int k = Math.min(limit, size);
+        if (k <= 0) {
+            return 0;
+        }
+        if (k < size) {
+            quickSelect(k - 1);
+        }
+        sortPrefix(0, k - 1);
+        return k;
+    }
+
+    @SuppressWarnings("unchecked")
+    T itemAt(int rank) {
+        return (T) items[order[rank]];
+    }
+
+    double distanceAt(int rank) {
+        return distances[order[rank]];
+    }
+
+    /** 使 order[0..n] 恰好是最近的 n+1 个（前缀内部无序） */
+    private void quickSelect(int n) {
+        int left = 0;
+        int right = size - 1;
+        while (right > left) {
+            if (right - left < INSERTION_SORT_THRESHOLD) {
+                sortPrefix(left, right);
+                return;
+            }
+            int pivotIndex = partition(left, right, medianOfThree(left, (left + right) >>> 1, right));
+            if (pivotIndex == n) {
+                return;
+            }
+            if (pivotIndex < n) {
+                left = pivotIndex + 1;
+            } else {
+                right = pivotIndex - 1;
+            }
+        }
+    }
+
+    private int partition(int left, int right, int pivotIndex) {
+        double pivot = distances[order[pivotIndex]];
+        swap(pivotIndex, right);
+        int store = left;
+        for (int i = left; i < right; i++) {
+            if (distances[order[i]] < pivot) {
+                swap(store, i);
+                store++;
+            }
+        }
+        swap(store, right);
+        return store;
+    }
+
+    private int medianOfThree(int a, int b, int c) {
+        double da = distances[order[a]];
+        double db = distances[order[b]];
+        double dc = distances[order[c]];
+        if (da < db) {
+            return db < dc ? b : (da < dc ? c : a);
+        }
+        return da < dc ? a : (db < dc ? c : b);
+    }
+
+    private void sortPrefix(int from, int to) {
+        if (to - from < INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i <= to; i++) {
+                int current = order[i];
+                double distance = distances[current];
+                int j = i - 1;
+                while (j >= from && distances[order[j]] > distance) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = current;
+            }
+            return;
+        }
+        int pivotIndex = partition(from, to, medianOfThree(from, (from + to) >>> 1, to));
+        sortPrefix(from, pivotIndex - 1);
+        sortPrefix(pivotIndex + 1, to);
+    }
+
+    private void swap(int a, int b) {
+        int tmp = order[a];
+        order[a] = order[b];
+        order[b] = tmp;
+    }
+}
@@ -0,0 +1,121 @@
+package com.shiroha.mmdskin.render.policy;
+
+import java.util.Arrays;
+
+/**
+ * 文件职责：每帧的渲染优先级选择：按距离挑出可见模型，并由近到远分配物理细节等级与时间预算。
+ * native 物理在线程池中按模型并行步进，预算按预计墙钟耗时计：每个模型的耗时计入负载最小的工作线程，
+ * 以最忙线程的负载作为本帧物理耗时。只处理已收集的实体状态，不依赖游戏对象；缓冲区跨帧复用，稳态下不分配。
+ */
+final class PrioritySelectionPass {
+    /** 尚未测得物理步进耗时的模型按该值计入物理预算 */
+    static final float DEFAULT_PHYSICS_COST_MS = 0.5f;
+
+    private final PriorityCandidateBuffer<SubjectState> candidates = new PriorityCandidateBuffer<>();
+    private double[] workerLoads = new double[1];
+    private int workers = 1;
+    private int visible;
+    private int physics;
+    private double physicsWallMs;
+
+    /** 开始新的一帧；physicsWorkers 为 native 并行步进物理的线程数 */
+    void begin(int physicsWorkers) {
+        candidates.clear();
+        workers = Math.max(1, physicsWorkers);
+        if (workerLoads.length < workers) {
+            workerLoads = new double[workers];
+        }
+        Arrays.fill(workerLoads, 0, workers, 0.0d);
+        visible = 0;
+        physics = 0;
+        physicsWallMs = 0.0d;
+    }
+
+    /** 本地玩家始终渲染并全频步进物理，不参与排名，但其耗时计入预算 */
+    void addLocalPlayer(SubjectState state, long frame, boolean physicsEnabled) {
+        state.visibleFrame = frame;
+        visible++;
+        if (physicsEnabled) {
+            state.physicsLod = PhysicsLod.FULL;
+            state.physicsFrame = frame;
+            physics++;
+            int worker = lightestWorker();
+            workerLoads[worker] += estimatedPhysicsCost(state);
+            physicsWallMs = Math.max(physicsWallMs, workerLoads[worker]);
+        }
+    }
+
+    void addCandidate(SubjectState state, double distanceSq) {
+        candidates.add(state, distanceSq);
+    }
+
+    /** 选出本帧可见与参与物理的模型，写入各自状态的帧号与物理等级 */
+    void select(long frame, int visibleCap, boolean physicsEnabled, float physicsBudgetMs, double physicsDistance) {
+        // 物理只对可见模型生效：受可见预算限制时只需最近的若干个做部分选择，其余名次无需有序
+        int ranked;
+        if (visibleCap > 0) {
+            ranked = candidates.selectNearest(Math.max(0, visibleCap - visible));
+        } else if (physicsEnabled) {
+            ranked = candidates.selectNearest(candidates.size());
+        } else {
+            ranked = candidates.size();
+        }
+        boolean physicsOpen = physicsEnabled;
+        for (int rank = 0; rank < ranked; rank++) {
+            SubjectState state = candidates.itemAt(rank);
+            state.visibleFrame = frame;
+            visible++;
+            if (!physicsEnabled) {
+                continue;
+            }
+            // 由近到远按距离分级并把降频后的预计耗时计入最空闲的线程，预计墙钟耗时超出预算后
+            // 更远的模型全部冻结，保持距离优先级稳定
+            PhysicsLod lod = physicsOpen ? PhysicsLod.forDistance(candidates.distanceAt(rank), physicsDistance)
+                    : PhysicsLod.FROZEN;
+            if (lod.isSimulated()) {
+                double cost = estimatedPhysicsCost(state) / lod.stepInterval();
+                int worker = lightestWorker();
+                double projected = Math.max(physicsWallMs, workerLoads[worker] + cost);
+                if (physicsBudgetMs > 0.0f && projected > physicsBudgetMs) {
+                    physicsOpen = false;
+                    lod = PhysicsLod.FROZEN;
+                } else {
+                    physics++;
+                    workerLoads[worker] += cost;
+                    physicsWallMs = projected;
+                }
+            }
+            state.physicsLod = lod;
+            state.physicsFrame = frame;
+        }
+        candidates.clear();
+    }
+
+    int visibleCount() {
+        return visible;
+    }
+
+    int physicsCount() {
+        return physics;
+    }
+
+    /** 本帧已启用物理的模型并行步进的预计墙钟耗时（毫秒） */
+    double physicsWallMs() {
+        return physicsWallMs;
+    }
+
+    private int lightestWorker() {
+        int lightest = 0;
+        for (int i = 1; i < workers; i++) {
+            if (workerLoads[i] < workerLoads[lightest]) {
+                lightest = i;
+            }
+        }
+        return lightest;
+    }
+
+    private static float estimatedPhysicsCost(SubjectState state) {
+        float cost = state.physicsCostMs;
+        return cost > 0.0f ? cost : DEFAULT_PHYSICS_COST_MS;
+    }
+}
@@ -18,7 +18,8 @@ public interface RenderPerformanceConfig {
 
     boolean isPhysicsEnabled();
 
-    int getMaxPhysicsModelsPerFrame();
+    /** 每帧物理并行步进的预计墙钟耗时预算（毫秒），不大于 0 表示不限制 */
+    float getPhysicsBudgetMs();
 
     float getPhysicsLodMaxDistance();
 }
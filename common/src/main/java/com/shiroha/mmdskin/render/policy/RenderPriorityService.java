@@ -1,59 +1,88 @@
 package com.shiroha.mmdskin.render.policy;
 
 import com.shiroha.mmdskin.config.UIConstants;
+import com.shiroha.mmdskin.model.port.ModelLoadPriorityPort;
+import com.shiroha.mmdskin.model.runtime.ModelRequestKey;
+import com.shiroha.mmdskin.model.runtime.ModelSubjectKind;
 import com.shiroha.mmdskin.player.sync.PlayerModelSyncService;
+import com.shiroha.mmdskin.render.backend.ModelUpdatePhase;
+import com.shiroha.mmdskin.render.backend.gpu.GpuSkinningBatch;
 import com.shiroha.mmdskin.render.entity.MobReplacementService;
 import com.shiroha.mmdskin.render.pipeline.RenderPerformanceProfiler;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import com.shiroha.mmdskin.asset.catalog.ModelCatalogEntry;
+import java.util.Iterator;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.player.AbstractClientPlayer;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
 
-/** 文件职责：基于可见性与距离预算决定渲染更新优先级。 */
-public final class RenderPriorityService {
+/**
+ * 文件职责：基于可见性、距离与物理时间预算决定渲染更新、物理细节等级与模型加载优先级。
+ * 每个实体的距离、入选帧号与模型名查询结果保存在常驻的 SubjectState 中原地更新，
+ * 渲染路径与加载线程的读取均无锁；重建只在帧键变化时于渲染线程上进行，
+ * 本类负责遍历世界实体收集状态，排名与预算分配由 PrioritySelectionPass 完成。
+ */
+public final class RenderPriorityService implements ModelLoadPriorityPort {
     private static final RenderPriorityService INSTANCE = new RenderPriorityService();
+    /** 模型名查询结果的最长缓存帧数，用于兜底配置文件中生物替换映射的修改 */
+    private static final long MODEL_LOOKUP_MAX_AGE_FRAMES = 120L;
+    /** 未出现超过该帧数的实体状态会被清理 */
+    private static final long SUBJECT_EXPIRY_FRAMES = 600L;
+    private static final long PRUNE_INTERVAL_FRAMES = 256L;
+    /** native 物理在 rayon 线程池中按模型并行步进，线程数默认等于 CPU 核数 */
+    private static final int PHYSICS_WORKERS = Math.max(1, Runtime.getRuntime().availableProcessors());
+
     private final RenderPerformanceConfig config = ConfigManagerRenderPerformanceConfig.get();
 
     private final ConcurrentMap<Long, Long> lastAnimationUpdateFrameByModel = new ConcurrentHashMap<>();
-    private final Set<UUID> prioritizedVisibleEntities = new HashSet<>();
-    private final Set<UUID> prioritizedPhysicsEntities = new HashSet<>();
-
-    private long currentFrameKey = Long.MIN_VALUE;
-    private long currentFrameIndex = 0L;
+    private final ConcurrentMap<UUID, SubjectState> subjects = new ConcurrentHashMap<>();
+    private final PrioritySelectionPass selectionPass = new PrioritySelectionPass();
+    /** 模型目录变化时递增，使所有缓存的模型名查询失效 */
+    private final AtomicLong catalogEpoch = new AtomicLong();
+
+    private volatile long currentFrameKey = Long.MIN_VALUE;
+    private volatile long currentFrameIndex = 0L;
+    /** 最近一次完成重建的帧号；读取方以 ">= publishedFrame" 判断状态是否属于当前帧 */
+    private volatile long publishedFrame = 0L;
     private int visibleModelsThisFrame = 0;
     private int physicsModelsThisFrame = 0;
+    private volatile boolean subjectSnapshotValid = false;
+    private volatile double loadRangeSq = Double.MAX_VALUE;
 
     private RenderPriorityService() {
+        ModelCatalogEntry.playerModelIndex().addListener(change -> catalogEpoch.incrementAndGet());
     }
 
     public static RenderPriorityService get() {
         return INSTANCE;
     }
 
-    public synchronized void beginWorldFrame() {
+    public void beginWorldFrame() {
         long nextFrameKey = computeFrameKey();
         if (nextFrameKey == currentFrameKey) {
             return;
         }
+        synchronized (this) {
+            if (nextFrameKey == currentFrameKey) {
+                return;
+            }
+            if (currentFrameKey != Long.MIN_VALUE) {
+                RenderPerformanceProfiler.get().completeFrame(visibleModelsThisFrame, physicsModelsThisFrame);
+            }
 
-        if (currentFrameKey != Long.MIN_VALUE) {
-            RenderPerformanceProfiler.get().completeFrame(visibleModelsThisFrame, physicsModelsThisFrame);
+            currentFrameKey = nextFrameKey;
+            currentFrameIndex++;
+            rebuildPrioritySets();
         }
-
-        currentFrameKey = nextFrameKey;
-        currentFrameIndex++;
-        rebuildPrioritySets();
+        ModelUpdatePhase.get().runScheduledUpdates();
+        GpuSkinningBatch.get().dispatchPending();
     }
 
-    public synchronized boolean shouldUsePlayerModel(AbstractClientPlayer player) {
+    public boolean shouldUsePlayerModel(AbstractClientPlayer player) {
         beginWorldFrame();
         if (player == null) {
             return false;
@@ -63,12 +92,17 @@ public final class RenderPriorityService {
         if (minecraft.player != null && minecraft.player.getUUID().equals(player.getUUID())) {
             return true;
         }
-        return prioritizedVisibleEntities.contains(player.getUUID());
+        SubjectState state = subjects.get(player.getUUID());
+        return state != null && state.visibleFrame >= publishedFrame;
     }
 
-    public synchronized boolean shouldUseMobReplacement(LivingEntity entity) {
+    public boolean shouldUseMobReplacement(LivingEntity entity) {
         beginWorldFrame();
-        return entity != null && prioritizedVisibleEntities.contains(entity.getUUID());
+        if (entity == null) {
+            return false;
+        }
+        SubjectState state = subjects.get(entity.getUUID());
+        return state != null && state.visibleFrame >= publishedFrame;
     }
 
     public boolean shouldUpdateAnimation(long modelHandle, double distanceSq, boolean localPlayer) {
@@ -92,15 +126,57 @@ public final class RenderPriorityService {
         return false;
     }
 
-    public synchronized boolean shouldEnablePhysics(Entity entity, boolean localPlayer) {
+    /** 未在本帧分级的实体按冻结处理，保持最后一次模拟的物理姿势 */
+    public PhysicsLod physicsLod(Entity entity, boolean localPlayer) {
         beginWorldFrame();
         if (!config.isPhysicsEnabled()) {
-            return false;
+            return PhysicsLod.OFF;
         }
         if (localPlayer) {
-            return true;
+            return PhysicsLod.FULL;
+        }
+        if (entity == null) {
+            return PhysicsLod.OFF;
+        }
+        SubjectState state = subjects.get(entity.getUUID());
+        return state != null && state.physicsFrame >= publishedFrame ? state.physicsLod : PhysicsLod.FROZEN;
+    }
+
+    /** 记录实体对应模型最近一次物理步进的耗时（毫秒）；冻结后保留最后的测量值用于预算估算 */
+    public void recordPhysicsCost(Entity entity, float stepTimeMs) {
+        if (entity == null || stepTimeMs <= 0.0f) {
+            return;
+        }
+        SubjectState state = subjects.get(entity.getUUID());
+        if (state != null) {
+            state.physicsCostMs = stepTimeMs;
+        }
+    }
+
+    @Override
+    public double loadPriority(ModelRequestKey requestKey) {
+        if (requestKey == null) {
+            return UNTRACKED_PRIORITY;
+        }
+        if (requestKey.subjectKind() == ModelSubjectKind.SCENE) {
+            return 0.0d;
+        }
+        UUID subject = parseSubject(requestKey);
+        SubjectState state = subject != null ? trackedSubject(subject) : null;
+        return state != null ? state.distanceSq : UNTRACKED_PRIORITY;
+    }
+
+    @Override
+    public boolean isOutOfRange(ModelRequestKey requestKey) {
+        if (!subjectSnapshotValid || requestKey == null || requestKey.subjectKind() == ModelSubjectKind.SCENE) {
+            return false;
+        }
+        UUID subject = parseSubject(requestKey);
+        if (subject == null) {
+            return false;
         }
-        return entity != null && prioritizedPhysicsEntities.contains(entity.getUUID());
+        SubjectState state = trackedSubject(subject);
+        return state == null || state.distanceSq > loadRangeSq;
     }
 
     public double distanceSqToCamera(Entity entity, boolean localPlayer) {
@@ -117,6 +193,11 @@ public final class RenderPriorityService {
         return entity.distanceToSqr(cameraEntity);
     }
 
+    private SubjectState trackedSubject(UUID subject) {
+        SubjectState state = subjects.get(subject);
+        return state != null && state.seenFrame >= publishedFrame ? state : null;
+    }
+
     private int resolveAnimationUpdateInterval(double distanceSq) {
         double mediumDistance = config.getAnimationLodMediumDistance();
         double farDistance = config.getAnimationLodFarDistance();
@@ -140,82 +221,98 @@ public final class RenderPriorityService {
     }
 
     private void rebuildPrioritySets() {
-        prioritizedVisibleEntities.clear();
-        prioritizedPhysicsEntities.clear();
+        long frame = currentFrameIndex;
+        selectionPass.begin(PHYSICS_WORKERS);
         visibleModelsThisFrame = 0;
         physicsModelsThisFrame = 0;
 
         Minecraft minecraft = Minecraft.getInstance();
+        subjectSnapshotValid = minecraft.level != null;
         if (minecraft.level == null) {
+            publishedFrame = frame;
             return;
         }
+        double loadRange = minecraft.options.getEffectiveRenderDistance() * 16.0d;
+        loadRangeSq = loadRange * loadRange;
+        long modelEpoch = PlayerModelSyncService.modelRevision() + catalogEpoch.get();
+        boolean physicsEnabled = config.isPhysicsEnabled();
+        UUID localUuid = minecraft.player != null ? minecraft.player.getUUID() : null;
 
-        List<PrioritizedEntity> candidates = new ArrayList<>();
-
-        for (AbstractClientPlayer player : minecraft.level.players()) {
-            if (shouldConsiderPlayer(player)) {
-                boolean localPlayer = minecraft.player != null && minecraft.player.getUUID().equals(player.getUUID());
-                candidates.add(new PrioritizedEntity(player, distanceSqToCamera(player, localPlayer), localPlayer));
-            }
-        }
-
+        // entitiesForRendering 已包含玩家，一次遍历同时记录距离并收集候选
         for (Entity entity : minecraft.level.entitiesForRendering()) {
-            if (entity instanceof LivingEntity living && !(entity instanceof AbstractClientPlayer)) {
-                String replacementModel = MobReplacementService.getReplacementModelName(living);
-                if (replacementModel != null) {
-                    candidates.add(new PrioritizedEntity(living, distanceSqToCamera(living, false), false));
-                }
+            if (!(entity instanceof LivingEntity living)) {
+                continue;
             }
-        }
-
-        candidates.sort(Comparator
-                .comparing(PrioritizedEntity::localPlayer).reversed()
-                .thenComparingDouble(PrioritizedEntity::distanceSq));
-
-        int visibleCap = config.getMaxVisibleModelsPerFrame();
-        int physicsCap = config.getMaxPhysicsModelsPerFrame();
-        double physicsDistance = config.getPhysicsLodMaxDistance();
-        double physicsDistanceSq = physicsDistance * physicsDistance;
-
-        for (PrioritizedEntity candidate : candidates) {
-            Entity entity = candidate.entity();
-            UUID uuid = entity.getUUID();
-            if (candidate.localPlayer() || visibleCap <= 0 || prioritizedVisibleEntities.size() < visibleCap) {
-                prioritizedVisibleEntities.add(uuid);
+            UUID uuid = living.getUUID();
+            boolean localPlayer = uuid.equals(localUuid);
+            SubjectState state = subjects.get(uuid);
+            if (state == null) {
+                state = new SubjectState();
+                subjects.put(uuid, state);
             }
+            double distanceSq = distanceSqToCamera(living, localPlayer);
+            state.distanceSq = distanceSq;
+            state.seenFrame = frame;
 
-            if (!config.isPhysicsEnabled()) {
-                continue;
-            }
-            if (candidate.localPlayer()) {
-                prioritizedPhysicsEntities.add(uuid);
+            if (living.isSpectator() || !hasModel(state, living, localPlayer, modelEpoch, frame)) {
                 continue;
             }
-            if (physicsDistance > 0.0d && candidate.distanceSq() > physicsDistanceSq) {
+            if (localPlayer) {
+                selectionPass.addLocalPlayer(state, frame, physicsEnabled);
                 continue;
             }
-            if (physicsCap <= 0 || prioritizedPhysicsEntities.size() < physicsCap) {
-                prioritizedPhysicsEntities.add(uuid);
-            }
+            selectionPass.addCandidate(state, distanceSq);
         }
 
-        visibleModelsThisFrame = prioritizedVisibleEntities.size();
-        physicsModelsThisFrame = prioritizedPhysicsEntities.size();
+        selectionPass.select(frame, config.getMaxVisibleModelsPerFrame(), physicsEnabled,
+                config.getPhysicsBudgetMs(), config.getPhysicsLodMaxDistance());
+
+        visibleModelsThisFrame = selectionPass.visibleCount();
+        physicsModelsThisFrame = selectionPass.physicsCount();
+        publishedFrame = frame;
+        if (frame % PRUNE_INTERVAL_FRAMES == 0L) {
+            pruneSubjects(frame);
+        }
     }
 
-    private boolean shouldConsiderPlayer(AbstractClientPlayer player) {
-        if (player == null || player.isSpectator()) {
-            return false;
+    /** 模型名查询按实体缓存，模型同步或目录变化时失效，并定期刷新以覆盖配置文件修改 */
+    private boolean hasModel(SubjectState state, LivingEntity living, boolean localPlayer, long modelEpoch, long frame) {
+        if (state.modelEpoch == modelEpoch && frame - state.modelCheckedFrame < MODEL_LOOKUP_MAX_AGE_FRAMES) {
+            return state.hasModel;
+        }
+        boolean hasModel;
+        if (living instanceof AbstractClientPlayer player) {
+            hasModel = shouldConsiderPlayer(player, localPlayer);
+        } else {
+            hasModel = MobReplacementService.getReplacementModelName(living) != null;
+        }
+        state.hasModel = hasModel;
+        state.modelEpoch = modelEpoch;
+        state.modelCheckedFrame = frame;
+        return hasModel;
+    }
+
+    private void pruneSubjects(long frame) {
+        Iterator<SubjectState> iterator = subjects.values().iterator();
+        while (iterator.hasNext()) {
+            if (frame - iterator.next().seenFrame > SUBJECT_EXPIRY_FRAMES) {
+                iterator.remove();
+            }
         }
+    }
 
-        Minecraft minecraft = Minecraft.getInstance();
-        boolean localPlayer = minecraft.player != null && minecraft.player.getUUID().equals(player.getUUID());
+    private static boolean shouldConsiderPlayer(AbstractClientPlayer player, boolean localPlayer) {
         String selectedModel = PlayerModelSyncService.getPlayerModel(player.getUUID(), player.getName().getString(), localPlayer);
         return selectedModel != null
                 && !selectedModel.isBlank()
                 && !UIConstants.DEFAULT_MODEL_NAME.equals(selectedModel);
     }
 
-    private record PrioritizedEntity(Entity entity, double distanceSq, boolean localPlayer) {
+    private static UUID parseSubject(ModelRequestKey requestKey) {
+        try {
+            return UUID.fromString(requestKey.subjectId());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 }
@@ -0,0 +1,14 @@
+package com.shiroha.mmdskin.render.policy;
+
+/** 文件职责：单个实体的常驻优先级状态；只由渲染线程写入，其他线程只读。 */
+final class SubjectState {
+    volatile double distanceSq;
+    volatile long seenFrame = -1L;
+    volatile long visibleFrame = -1L;
+    volatile long physicsFrame = -1L;
+    volatile PhysicsLod physicsLod = PhysicsLod.FROZEN;
+    volatile float physicsCostMs;
+    long modelEpoch = -1L;
+    long modelCheckedFrame;
+    boolean hasModel;
+}
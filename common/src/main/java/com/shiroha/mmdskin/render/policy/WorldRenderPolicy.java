@@ -22,8 +22,13 @@ public final class WorldRenderPolicy {
         boolean localPlayer = isLocalPlayer(entity);
         double distanceSq = priorityService.distanceSqToCamera(entity, localPlayer);
         boolean shouldUpdate = priorityService.shouldUpdateAnimation(modelHandle, distanceSq, localPlayer);
-        boolean physicsEnabled = shouldUpdate && priorityService.shouldEnablePhysics(entity, localPlayer);
-        return new Decision(true, shouldUpdate, physicsEnabled);
+        PhysicsLod physicsLod = shouldUpdate ? priorityService.physicsLod(entity, localPlayer) : PhysicsLod.OFF;
+        return new Decision(true, shouldUpdate, physicsLod, distanceSq);
+    }
+
+    /** 上报模型最近的物理步进耗时，供下一帧的物理时间预算使用。 */
+    public void recordPhysicsCost(Entity entity, float stepTimeMs) {
+        RenderPriorityService.get().recordPhysicsCost(entity, stepTimeMs);
     }
 
     private boolean isLocalPlayer(Entity entity) {
@@ -35,6 +40,6 @@ public final class WorldRenderPolicy {
         return minecraft.player != null && minecraft.player.getUUID().equals(player.getUUID());
     }
 
-    public record Decision(boolean shouldRender, boolean shouldUpdate, boolean physicsEnabled) {
+    public record Decision(boolean shouldRender, boolean shouldUpdate, PhysicsLod physicsLod, double distanceSq) {
     }
 }
@@ -0,0 +1,108 @@
+package com.shiroha.mmdskin.render.shader;
+
+import com.shiroha.mmdskin.util.AssetsUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.lwjgl.opengl.GL43C;
+
+import static com.shiroha.mmdskin.render.shader.ShaderConstants.MAX_BONES;
+
+/**
+ * 多模型批量 GPU 蒙皮 Compute Shader。
+ * 所有模型的输入输出位于共享 arena，按模型记录表一次间接派发完成。
+ */
+public class BatchSkinningComputeShader {
+    private static final Logger logger = LogManager.getLogger();
+
+    public static final int LOCAL_SIZE_X = 256;
+    /** 模型记录大小（12 个 uint，std430） */
+    public static final int RECORD_SIZE = 48;
+
+    private int program = 0;
+    private boolean initialized = false;
+
+    private int recordCountLocation = -1;
+    private int maxBonesLocation = -1;
+
+    private static final int BINDING_ORIG_POSITIONS = 0;
+    private static final int BINDING_ORIG_NORMALS = 1;
+    private static final int BINDING_BONE_INDICES = 2;
+    private static final int BINDING_BONE_WEIGHTS = 3;
+    private static final int BINDING_BONE_MATRICES = 4;
+    private static final int BINDING_MORPH_OFFSETS = 5;
+    private static final int BINDING_MORPH_WEIGHTS = 6;
+    private static final int BINDING_SKINNED_POSITIONS = 7;
+    private static final int BINDING_SKINNED_NORMALS = 8;
+    private static final int BINDING_ORIG_UVS = 9;
+    private static final int BINDING_SKINNED_UVS = 12;
+    private static final int BINDING_MODEL_RECORDS = 13;
+
+    private static final String COMPUTE_SHADER_SOURCE =
+            AssetsUtil.getAssetsAsString("shader/compute_skinning_batch.comp.glsl");
+
+    public record Bindings(
+            int origPositions, int origNormals, int boneIndices, int boneWeights, int origUvs,
+            int skinnedPositions, int skinnedNormals, int skinnedUvs,
+            int morphOffsets, int morphWeights, int boneMatrices, int modelRecords
+    ) {
+    }
+
+    public boolean init() {
+        if (initialized) return true;
+
+        try {
+            program = ShaderCompiler.compileComputeProgram(COMPUTE_SHADER_SOURCE, "批量蒙皮 Compute Shader");
+            if (program == 0) return false;
+
+            recordCountLocation = GL43C.glGetUniformLocation(program, "RecordCount");
+            maxBonesLocation = GL43C.glGetUniformLocation(program, "MaxBones");
+
+            initialized = true;
+            return true;
+
+        } catch (Exception e) {
+            logger.error("批量蒙皮 Compute Shader 初始化异常", e);
+            return false;
+        }
+    }
+
+    /**
+     * 绑定 arena 并按间接参数缓冲区派发；调用方负责保存/恢复状态并在全部派发后统一插入屏障。
+     */
+    public void dispatchIndirect(Bindings b, int recordCount, int indirectBuffer) {
+        if (!initialized || program == 0 || recordCount <= 0) return;
+
+        GL43C.glUseProgram(program);
+        if (recordCountLocation >= 0) GL43C.glUniform1i(recordCountLocation, recordCount);
+        if (maxBonesLocation >= 0) GL43C.glUniform1i(maxBonesLocation, MAX_BONES);
+
+        GL43C.glBindBufferBase(GL43C.GL_SHADER_STORAGE_BUFFER, BINDING_ORIG_POSITIONS, b.origPositions());
+        GL43C.glBindBufferBase(GL43C.GL_SHADER_STORAGE_BUFFER, BINDING_ORIG_NORMALS, b.origNormals());
+        GL43C.glBindBufferBase(GL43C.GL_SHADER_STORAGE_BUFFER, BINDING_BONE_INDICES, b.boneIndices());
+        GL43C.glBindBufferBase(GL43C.GL_SHADER_STORAGE_BUFFER, BINDING_BONE_WEIGHTS, b.boneWeights());
+        GL43C.glBindBufferBase(GL43C.GL_SHADER_STORAGE_BUFFER, BINDING_BONE_MATRICES, b.boneMatrices());
+        GL43C.glBindBufferBase(GL43C.GL_SHADER_STORAGE_BUFFER, BINDING_MORPH_OFFSETS, b.morphOffsets());
+        GL43C.glBindBufferBase(GL43C.GL_SHADER_STORAGE_BUFFER, BINDING_MORPH_WEIGHTS, b.morphWeights());
+        GL43C.glBindBufferBase(GL43C.GL_SHADER_STORAGE_BUFFER, BINDING_SKINNED_POSITIONS, b.skinnedPositions());
+        GL43C.glBindBufferBase(GL43C.GL_SHADER_STORAGE_BUFFER, BINDING_SKINNED_NORMALS, b.skinnedNormals());
+        GL43C.glBindBufferBase(GL43C.GL_SHADER_STORAGE_BUFFER, BINDING_ORIG_UVS, b.origUvs());
+        GL43C.glBindBufferBase(GL43C.GL_SHADER_STORAGE_BUFFER, BINDING_SKINNED_UVS, b.skinnedUvs());
+        GL43C.glBindBufferBase(GL43C.GL_SHADER_STORAGE_BUFFER, BINDING_MODEL_RECORDS, b.modelRecords());
+
+        GL43C.glBindBuffer(GL43C.GL_DISPATCH_INDIRECT_BUFFER, indirectBuffer);
+        GL43C.glDispatchComputeIndirect(0L);
+        GL43C.glBindBuffer(GL43C.GL_DISPATCH_INDIRECT_BUFFER, 0);
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    public void cleanup() {
+        if (program > 0) {
+            GL43C.glDeleteProgram(program);
+            program = 0;
+        }
+        initialized = false;
+    }
+}
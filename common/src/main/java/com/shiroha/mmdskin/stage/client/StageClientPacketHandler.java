@@ -1,8 +1,10 @@
 package com.shiroha.mmdskin.stage.client;
 
 import com.shiroha.mmdskin.stage.application.StageSessionService;
+import com.shiroha.mmdskin.stage.client.network.StageNetworkHandler;
 import com.shiroha.mmdskin.stage.client.sync.StageAnimSyncHelper;
 import com.shiroha.mmdskin.stage.domain.model.StageCameraMode;
+import com.shiroha.mmdskin.stage.protocol.StageBinaryPacketCodec;
 import com.shiroha.mmdskin.stage.protocol.StagePacket;
 import com.shiroha.mmdskin.stage.protocol.StagePacketCodec;
 import net.minecraft.client.Minecraft;
@@ -34,7 +36,15 @@ public final class StageClientPacketHandler {
     }
 
     public void handle(UUID senderUUID, String rawData) {
-        StagePacket packet = StagePacketCodec.decode(rawData);
+        dispatch(senderUUID, StagePacketCodec.decode(rawData));
+    }
+
+    public void handle(UUID senderUUID, byte[] binaryData) {
+        StageNetworkHandler.onBinaryPacketReceived();
+        dispatch(senderUUID, StageBinaryPacketCodec.decode(binaryData));
+    }
+
+    private void dispatch(UUID senderUUID, StagePacket packet) {
         if (packet == null) {
             LOGGER.warn("[多人舞台] 收到无法识别的新协议数据包");
             return;
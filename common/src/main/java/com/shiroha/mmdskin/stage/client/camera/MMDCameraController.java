@@ -25,9 +25,8 @@ public final class MMDCameraController {
     private static final float VMD_FPS = 30.0f;
     private static final long DOUBLE_ESC_WINDOW_NS = 600_000_000L;
     private static final int SYNC_INTERVAL_FRAMES = 60;
-    private static final float CATCHUP_SPEED_MAX = 1.15f;
-    private static final float CATCHUP_SPEED_MIN = 0.85f;
-    private static final float SYNC_TOLERANCE = 2.0f;
+    /** 超过该时长未收到主机帧同步时，主时钟回退到本地音频或墙钟 */
+    private static final long HOST_CLOCK_TIMEOUT_NS = 5_000_000_000L;
     private static final float INTRO_DURATION = 2.0f;
     private static final float OUTRO_DURATION = 2.5f;
 
@@ -60,6 +59,7 @@ public final class MMDCameraController {
     private float cameraFov = 70.0f;
 
     private long lastTickTimeNs;
+    private long lastHostSyncNs;
     private boolean escWasPressed;
     private long lastEscTimeNs;
 
@@ -153,6 +153,11 @@ public final class MMDCameraController {
             playerStageAnimationPort.prepareLocalModelForStage(modelHandle);
         }
 
+        long bakedBytes = playbackSession.bakeStageAnimations(animationPort, StageConfig.getInstance().bakeBoneTracks);
+        if (bakedBytes > 0L) {
+            LOGGER.info("[舞台模式] 已预烘焙动画采样，占用 {} KB", bakedBytes / 1024);
+        }
+
         audioPlayer.setVolume(StageConfig.getInstance().audioVolume);
         if (audioPath != null && !audioPath.isEmpty()) {
             if (audioPlayer.load(audioPath)) {
@@ -164,6 +169,7 @@ public final class MMDCameraController {
 
         stateMachine.enterPlaying();
         lastTickTimeNs = System.nanoTime();
+        lastHostSyncNs = 0L;
         escWasPressed = false;
         lastEscTimeNs = 0L;
         environmentController.resetStageInputState();
@@ -391,6 +397,7 @@ public final class MMDCameraController {
         }
 
         lastTickTimeNs = System.nanoTime();
+        lastHostSyncNs = 0L;
         escWasPressed = false;
         environmentController.resetStageInputState();
         playbackSession.clearPresentationState();
@@ -406,6 +413,7 @@ public final class MMDCameraController {
         }
         playbackSession.configureWatchCamera(cameraAnimHandle, heightOffset, animationPort);
         if (cameraAnimHandle != 0L && animationPort.hasCameraData(cameraAnimHandle)) {
+            animationPort.bakeAnimation(cameraAnimHandle, false);
             cameraData.setAnimHandle(cameraAnimHandle);
         }
     }
@@ -504,7 +512,8 @@ public final class MMDCameraController {
         if (!stateMachine.isWatching() && !stateMachine.isPlaying()) {
             return;
         }
-        playbackSession.setTargetSyncFrame(hostFrame);
+        lastHostSyncNs = System.nanoTime();
+        playbackSession.observeClock(StageMasterClock.Source.HOST, hostFrame / VMD_FPS);
     }
 
     public boolean isWatching() {
@@ -571,13 +580,8 @@ public final class MMDCameraController {
             lastEscTimeNs = 0L;
         }
 
-        StagePlaybackAdvance advance = playbackSession.advance(
-                deltaTime,
-                VMD_FPS,
-                CATCHUP_SPEED_MAX,
-                CATCHUP_SPEED_MIN,
-                SYNC_TOLERANCE
-        );
+        updateClockReference(now);
+        StagePlaybackAdvance advance = playbackSession.advance(deltaTime, VMD_FPS);
         if (advance.completed()) {
             endPlayback();
             return;
@@ -632,13 +636,8 @@ public final class MMDCameraController {
         float deltaTime = StageCameraTimeline.cappedDeltaSeconds(now, lastTickTimeNs);
         lastTickTimeNs = now;
 
-        StagePlaybackAdvance advance = playbackSession.advance(
-                deltaTime,
-                VMD_FPS,
-                CATCHUP_SPEED_MAX,
-                CATCHUP_SPEED_MIN,
-                SYNC_TOLERANCE
-        );
+        updateClockReference(now);
+        StagePlaybackAdvance advance = playbackSession.advance(deltaTime, VMD_FPS);
         if (advance.completed()) {
             exitWatchMode(true);
             return;
@@ -723,6 +722,25 @@ public final class MMDCameraController {
         syncAudioPosition(frame / VMD_FPS);
     }
 
+    /**
+     * 推进流式音频缓冲并为主时钟选择参考源：仍在接收主机帧同步时以主机为准，否则以本地音频播放位置为准。
+     * 音频不是参考源时按主时钟微调其播放速率，使音频、相机与 {@link StagePlayerSyncPort} 驱动的模型动作保持锁定。
+     */
+    private void updateClockReference(long now) {
+        audioPlayer.update();
+        if (!audioPlayer.hasPlaybackClock()) {
+            return;
+        }
+        boolean hostReference = lastHostSyncNs != 0L && now - lastHostSyncNs < HOST_CLOCK_TIMEOUT_NS;
+        if (!hostReference && playbackSession.playbackSpeed() == 1.0f) {
+            playbackSession.observeClock(StageMasterClock.Source.AUDIO, audioPlayer.getPlaybackPosition());
+            audioPlayer.setPlaybackRate(1.0f);
+        } else {
+            audioPlayer.setPlaybackRate((float) playbackSession.clock()
+                    .slaveRate(audioPlayer.getPlaybackPosition(), playbackSession.playbackSpeed()));
+        }
+    }
+
     private StageCameraPose currentPose() {
         return new StageCameraPose(cameraX, cameraY, cameraZ, cameraPitch, cameraYaw, cameraRoll, cameraFov);
     }
@@ -5,6 +5,7 @@ import org.joml.Vector3f;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.List;
 
 /** 负责读取并缓存 JNI 返回的 MMD 相机帧数据。 */
 public class MMDCameraData {
@@ -49,6 +50,26 @@ public class MMDCameraData {
         @Override
         public void getCameraTransform(long animationHandle, float frame, ByteBuffer targetBuffer) {
         }
+
+        @Override
+        public long bakeAnimation(long animationHandle, boolean includeBones) {
+            return 0L;
+        }
+
+        @Override
+        public long getAnimationMemoryUsage(long animationHandle) {
+            return 0L;
+        }
+
+        @Override
+        public boolean preloadFbxAsync(String fbxPath) {
+            return false;
+        }
+
+        @Override
+        public List<String> listFbxStacks(String fbxPath) {
+            return null;
+        }
     };
 
     private final ByteBuffer buffer;
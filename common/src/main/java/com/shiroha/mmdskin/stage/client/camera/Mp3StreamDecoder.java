@@ -0,0 +1,173 @@
+package com.shiroha.mmdskin.stage.client.camera;
+
+import javazoom.jl.decoder.Bitstream;
+import javazoom.jl.decoder.BitstreamException;
+import javazoom.jl.decoder.Decoder;
+import javazoom.jl.decoder.DecoderException;
+import javazoom.jl.decoder.Header;
+import javazoom.jl.decoder.SampleBuffer;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ShortBuffer;
+
+/**
+ * 文件职责：基于 JLayer 的 MP3 流式解码，每次只解码填满输出所需的帧。
+ * 定位时重开文件跳过目标之前的帧头，从目标前 {@link #PRIMING_FRAMES} 帧开始解码以恢复比特池，再丢弃多余样本实现采样级精度。
+ */
+final class Mp3StreamDecoder implements StageAudioDecoder {
+    /** Layer III 的主数据可引用前几帧的比特池，定位后需预解码的帧数 */
+    private static final int PRIMING_FRAMES = 2;
+
+    private final File file;
+    private Bitstream bitstream;
+    private Decoder decoder;
+    private int sampleRate;
+    private int channels;
+    private long totalFrames;
+
+    private short[] pending = new short[0];
+    private int pendingOffset;
+    private int pendingLength;
+
+    Mp3StreamDecoder(File file) throws IOException {
+        this.file = file;
+        open();
+        Header first = readHeader();
+        if (first == null) {
+            close();
+            throw new IOException("MP3 文件中没有可解码的帧: " + file.getName());
+        }
+        sampleRate = first.frequency();
+        channels = first.mode() == Header.SINGLE_CHANNEL ? 1 : 2;
+        double totalMs = first.total_ms((int) Math.min(Integer.MAX_VALUE, file.length()));
+        totalFrames = totalMs > 0 ? Math.round(totalMs * sampleRate / 1000.0) : -1L;
+        decodeCurrent(first);
+    }
+
+    @Override
+    public int sampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public int channels() {
+        return channels;
+    }
+
+    /** 由首帧码率估算，VBR 文件可能有少量偏差 */
+    @Override
+    public long totalFrames() {
+        return totalFrames;
+    }
+
+    @Override
+    public int read(ShortBuffer out) throws IOException {
+        int written = 0;
+        while (out.remaining() >= channels) {
+            if (pendingOffset >= pendingLength && !decodeNext()) {
+                break;
+            }
+            int count = Math.min(pendingLength - pendingOffset, out.remaining() - out.remaining() % channels);
+            out.put(pending, pendingOffset, count);
+            pendingOffset += count;
+            written += count;
+        }
+        return written / channels;
+    }
+
+    @Override
+    public void seek(long frame) throws IOException {
+        close();
+        open();
+        pendingOffset = 0;
+        pendingLength = 0;
+
+        long target = Math.max(0L, frame);
+        long position = 0L;
+        Header header;
+        // 只读帧头跳过，直到距目标还有 PRIMING_FRAMES 帧
+        while ((header = readHeader()) != null) {
+            int frameSamples = samplesPerFrame(header);
+            if (position + (long) frameSamples * (PRIMING_FRAMES + 1) > target) {
+                decodeCurrent(header);
+                break;
+            }
+            closeFrame();
+            position += frameSamples;
+        }
+        if (header == null) {
+            return;
+        }
+
+        while (true) {
+            long available = (pendingLength - pendingOffset) / channels;
+            if (position + available > target) {
+                pendingOffset += (int) (target - position) * channels;
+                return;
+            }
+            position += available;
+            if (!decodeNext()) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            bitstream.close();
+        } catch (BitstreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private void open() throws IOException {
+        bitstream = new Bitstream(new BufferedInputStream(new FileInputStream(file), 64 * 1024));
+        decoder = new Decoder();
+    }
+
+    private boolean decodeNext() throws IOException {
+        Header header = readHeader();
+        if (header == null) {
+            return false;
+        }
+        decodeCurrent(header);
+        return true;
+    }
+
+    /** 解码当前帧；解码器复用同一块输出缓冲，下一帧解码前需消费完 */
+    private void decodeCurrent(Header header) throws IOException {
+        try {
+            SampleBuffer output = (SampleBuffer) decoder.decodeFrame(header, bitstream);
+            pending = output.getBuffer();
+            pendingLength = output.getBufferLength();
+            pendingOffset = 0;
+        } catch (DecoderException e) {
+            throw new IOException("MP3 帧解码失败", e);
+        } finally {
+            closeFrame();
+        }
+    }
+
+    private Header readHeader() throws IOException {
+        try {
+            return bitstream.readFrame();
+        } catch (BitstreamException e) {
+            throw new IOException("MP3 帧头读取失败", e);
+        }
+    }
+
+    private void closeFrame() {
+        bitstream.closeFrame();
+    }
+
+    private static int samplesPerFrame(Header header) {
+        if (header.layer() == 1) {
+            return 384;
+        }
+        return header.layer() == 3 && header.version() != Header.MPEG1 ? 576 : 1152;
+    }
+}
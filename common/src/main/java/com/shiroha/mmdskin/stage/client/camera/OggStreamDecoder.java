@@ -0,0 +1,81 @@
+package com.shiroha.mmdskin.stage.client.camera;
+
+import org.lwjgl.stb.STBVorbis;
+import org.lwjgl.stb.STBVorbisInfo;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.file.Files;
+
+/**
+ * 文件职责：基于 stb_vorbis 的 OGG 流式解码。
+ * 仅常驻压缩数据（通过内存打开以兼容非 ASCII 路径），PCM 按需解码；stb_vorbis_seek 本身即为采样级定位。
+ */
+final class OggStreamDecoder implements StageAudioDecoder {
+    private final ByteBuffer encoded;
+    private final long handle;
+    private final int sampleRate;
+    private final int channels;
+    private final long totalFrames;
+
+    OggStreamDecoder(File file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        encoded = MemoryUtil.memAlloc(bytes.length);
+        encoded.put(bytes).flip();
+
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer error = stack.mallocInt(1);
+            handle = STBVorbis.stb_vorbis_open_memory(encoded, error, null);
+            if (handle == MemoryUtil.NULL) {
+                MemoryUtil.memFree(encoded);
+                throw new IOException("STB Vorbis 打开失败, 错误码 " + error.get(0));
+            }
+            STBVorbisInfo info = STBVorbisInfo.malloc(stack);
+            STBVorbis.stb_vorbis_get_info(handle, info);
+            sampleRate = info.sample_rate();
+            channels = info.channels();
+        }
+        totalFrames = Integer.toUnsignedLong(STBVorbis.stb_vorbis_stream_length_in_samples(handle));
+    }
+
+    @Override
+    public int sampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public int channels() {
+        return channels;
+    }
+
+    @Override
+    public long totalFrames() {
+        return totalFrames;
+    }
+
+    @Override
+    public int read(ShortBuffer out) throws IOException {
+        int frames = STBVorbis.stb_vorbis_get_samples_short_interleaved(handle, channels, out);
+        out.position(out.position() + frames * channels);
+        return frames;
+    }
+
+    @Override
+    public void seek(long frame) throws IOException {
+        long target = Math.max(0L, Math.min(frame, totalFrames));
+        if (!STBVorbis.stb_vorbis_seek(handle, (int) target)) {
+            throw new IOException("STB Vorbis 定位失败: " + target);
+        }
+    }
+
+    @Override
+    public void close() {
+        STBVorbis.stb_vorbis_close(handle);
+        MemoryUtil.memFree(encoded);
+    }
+}
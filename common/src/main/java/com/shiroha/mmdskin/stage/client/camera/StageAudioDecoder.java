@@ -0,0 +1,38 @@
+package com.shiroha.mmdskin.stage.client.camera;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ShortBuffer;
+
+/**
+ * 文件职责：舞台音频的流式解码器。
+ * 输出固定为 16 位交错 PCM，按采样帧（每声道一个样本）读取与定位；实例只应在单个解码线程上使用。
+ */
+interface StageAudioDecoder extends Closeable {
+
+    int sampleRate();
+
+    int channels();
+
+    /** 总采样帧数，无法确定时返回 -1 */
+    long totalFrames();
+
+    /** 向 out 写入整数个采样帧，返回写入的帧数；返回 0 表示已到结尾 */
+    int read(ShortBuffer out) throws IOException;
+
+    /** 精确定位到指定采样帧，之后的 {@link #read} 从该帧开始输出 */
+    void seek(long frame) throws IOException;
+
+    static StageAudioDecoder open(File file) throws IOException {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        String ext = dot >= 0 ? name.substring(dot + 1).toLowerCase() : "";
+        return switch (ext) {
+            case "mp3" -> new Mp3StreamDecoder(file);
+            case "ogg" -> new OggStreamDecoder(file);
+            case "wav" -> new WavStreamDecoder(file);
+            default -> throw new IOException("不支持的音频格式: " + ext);
+        };
+    }
+}
@@ -1,44 +1,62 @@
 package com.shiroha.mmdskin.stage.client.camera;
 
-import javazoom.jl.decoder.*;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.lwjgl.openal.AL10;
 import org.lwjgl.openal.AL11;
-import org.lwjgl.stb.STBVorbis;
-import org.lwjgl.system.MemoryStack;
-import org.lwjgl.system.MemoryUtil;
 
-import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
 
-import java.io.*;
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
-import java.nio.ShortBuffer;
-import java.nio.file.Files;
-
-/** 负责舞台模式音频的解码、加载与 OpenAL 播放控制。 */
+/**
+ * 负责舞台模式音频的流式解码与 OpenAL 播放控制。
+ * 后台线程按块解码，客户端线程在 {@link #update()} 中把块轮换写入少量 OpenAL 缓冲；
+ * 播放位置由队首缓冲的起始采样帧加 AL_SAMPLE_OFFSET 得出，可作为舞台帧推进的采样级时钟。
+ */
 public class StageAudioPlayer {
     private static final Logger logger = LogManager.getLogger();
 
-    private int alBuffer = 0;
+    /** 每块时长（秒）；OpenAL 队列约 1 秒，后台再预解码约 2 秒 */
+    private static final float CHUNK_SECONDS = 0.25f;
+    private static final int AL_BUFFER_COUNT = 4;
+    private static final int DECODE_CHUNK_COUNT = 8;
+    /** 加载后等待首块解码完成的上限，避免开播瞬间空转 */
+    private static final long PREFILL_TIMEOUT_MS = 200L;
+
+    private record QueuedBuffer(int bufferId, long startFrame, int frames) {
+    }
+
     private int alSource = 0;
+    private int[] alBuffers = new int[0];
+    private final ArrayDeque<Integer> freeBuffers = new ArrayDeque<>();
+    private final ArrayDeque<QueuedBuffer> queuedBuffers = new ArrayDeque<>();
+    private StageAudioStream stream;
+    private int alFormat;
+    private int sampleRate;
     private boolean initialized = false;
 
+    /** 期望处于播放状态（含因缓冲不足暂时停下的情况） */
+    private boolean playing = false;
+    private boolean paused = false;
+    private boolean endOfStream = false;
+    /** 队列为空时的播放位置：最近一次出队缓冲的末尾或定位目标 */
+    private long resumeFrame = 0L;
+    private long underruns = 0L;
+
     private String audioPath = null;
     private float durationSeconds = 0.0f;
 
     private float volume = 1.0f;
+    private float playbackRate = 1.0f;
 
     public boolean load(String filePath) {
         cleanup();
-        
+
         if (filePath == null || filePath.isEmpty()) return false;
-        
+
         File file = new File(filePath);
-        
+
         try {
             if (!file.exists() || !file.isFile()) {
                 logger.warn("[StageAudio] 文件不存在或不是文件: {}", filePath);
@@ -48,297 +66,290 @@ public class StageAudioPlayer {
             logger.error("[StageAudio] 路径校验失败: {} - {}", filePath, e.getMessage());
             return false;
         }
-        
-        String ext = getExtension(filePath).toLowerCase();
-        
-        PcmData pcm;
+
+        StageAudioDecoder decoder;
         try {
-            switch (ext) {
-                case "mp3":
-                    pcm = decodeMp3(file);
-                    break;
-                case "ogg":
-                    pcm = decodeOgg(file);
-                    break;
-                case "wav":
-                    pcm = decodeWav(file);
-                    break;
-                default:
-                    logger.warn("[StageAudio] 不支持的音频格式: {}", ext);
-                    return false;
-            }
-        } catch (Exception e) {
+            decoder = StageAudioDecoder.open(file);
+        } catch (IOException | RuntimeException | LinkageError e) {
             logger.error("[StageAudio] 解码失败: {} - {}", filePath, e.getMessage());
             return false;
         }
-        
-        if (pcm == null || pcm.data == null || pcm.data.limit() == 0) {
-            logger.warn("[StageAudio] 解码结果为空: {}", filePath);
-            return false;
-        }
-        
-        int alFormat = getAlFormat(pcm.channels, pcm.bitsPerSample);
-        if (alFormat == 0) {
-            logger.error("[StageAudio] 不支持的 PCM 格式: ch={}, bits={}", pcm.channels, pcm.bitsPerSample);
-            MemoryUtil.memFree(pcm.data);
+
+        int format = getAlFormat(decoder.channels());
+        if (format == 0) {
+            logger.error("[StageAudio] 不支持的声道数: {}", decoder.channels());
+            closeQuietly(decoder);
             return false;
         }
-        
-        alBuffer = AL10.alGenBuffers();
-        AL10.alBufferData(alBuffer, alFormat, pcm.data, pcm.sampleRate);
-        
-        int err = AL10.alGetError();
-        if (err != AL10.AL_NO_ERROR) {
-            logger.error("[StageAudio] alBufferData 错误: 0x{}", Integer.toHexString(err));
-            AL10.alDeleteBuffers(alBuffer);
-            alBuffer = 0;
-            MemoryUtil.memFree(pcm.data);
-            return false;
+
+        sampleRate = decoder.sampleRate();
+        alFormat = format;
+        long totalFrames = decoder.totalFrames();
+        durationSeconds = totalFrames > 0 ? (float) totalFrames / sampleRate : 0.0f;
+
+        int chunkFrames = Math.max(1024, Math.round(sampleRate * CHUNK_SECONDS));
+        stream = new StageAudioStream(decoder, chunkFrames, DECODE_CHUNK_COUNT);
+        stream.start();
+
+        alBuffers = new int[AL_BUFFER_COUNT];
+        AL10.alGenBuffers(alBuffers);
+        for (int buffer : alBuffers) {
+            freeBuffers.add(buffer);
         }
-        
         alSource = AL10.alGenSources();
-        AL10.alSourcei(alSource, AL10.AL_BUFFER, alBuffer);
         AL10.alSourcef(alSource, AL10.AL_GAIN, volume);
+        playbackRate = 1.0f;
+        AL10.alSourcef(alSource, AL10.AL_PITCH, playbackRate);
         AL10.alSourcei(alSource, AL10.AL_SOURCE_RELATIVE, AL10.AL_TRUE);
         AL10.alSource3f(alSource, AL10.AL_POSITION, 0, 0, 0);
 
-        int totalSamples = pcm.data.remaining() / (pcm.channels * (pcm.bitsPerSample / 8));
-        durationSeconds = (float) totalSamples / pcm.sampleRate;
+        int err = AL10.alGetError();
+        if (err != AL10.AL_NO_ERROR) {
+            logger.error("[StageAudio] OpenAL 初始化错误: 0x{}", Integer.toHexString(err));
+            cleanup();
+            return false;
+        }
 
-        MemoryUtil.memFree(pcm.data);
-        
         this.audioPath = filePath;
         this.initialized = true;
-        
+
+        prefill();
+        if (queuedBuffers.isEmpty()) {
+            logger.warn("[StageAudio] 首块解码超时，将在后续帧补齐: {}", filePath);
+        }
+        logger.debug("[StageAudio] 流式加载 {}: {} Hz, {} 声道, 常驻 PCM {} KB",
+                filePath, sampleRate, decoder.channels(), stream.residentBytes() / 1024);
         return true;
     }
-    
+
     public void play() {
         if (!initialized) return;
-        AL10.alSourceRewind(alSource);
-        AL10.alSourcePlay(alSource);
+        if (getPlaybackFrame() != 0L || endOfStream) {
+            seekFrame(0L);
+        }
+        playing = true;
+        paused = false;
+        update();
     }
-    
+
     public void stop() {
         if (!initialized) return;
+        playing = false;
+        paused = false;
         AL10.alSourceStop(alSource);
     }
-    
+
     public void pause() {
         if (!initialized) return;
+        paused = true;
         AL10.alSourcePause(alSource);
     }
-    
+
     public void resume() {
+        if (!initialized || !paused) return;
+        paused = false;
+        update();
+    }
+
+    /**
+     * 每帧在客户端线程调用：回收播放完的缓冲，写入新解码的块，缓冲不足导致停播时自动续播。
+     */
+    public void update() {
         if (!initialized) return;
-        int state = AL10.alGetSourcei(alSource, AL10.AL_SOURCE_STATE);
-        if (state == AL10.AL_PAUSED) {
-            AL10.alSourcePlay(alSource);
+
+        int processed = AL10.alGetSourcei(alSource, AL10.AL_BUFFERS_PROCESSED);
+        for (int i = 0; i < processed && !queuedBuffers.isEmpty(); i++) {
+            int buffer = AL10.alSourceUnqueueBuffers(alSource);
+            QueuedBuffer done = queuedBuffers.pollFirst();
+            resumeFrame = done.startFrame() + done.frames();
+            freeBuffers.add(buffer);
+        }
+
+        fillBuffers();
+
+        if (playing && !paused && !queuedBuffers.isEmpty()) {
+            int state = AL10.alGetSourcei(alSource, AL10.AL_SOURCE_STATE);
+            if (state != AL10.AL_PLAYING) {
+                if (state == AL10.AL_STOPPED) {
+                    underruns++;
+                }
+                AL10.alSourcePlay(alSource);
+            }
         }
     }
-    
+
     public boolean isPlaying() {
-        if (!initialized) return false;
-        return AL10.alGetSourcei(alSource, AL10.AL_SOURCE_STATE) == AL10.AL_PLAYING;
+        if (!initialized || !playing || paused) return false;
+        return !endOfStream || !queuedBuffers.isEmpty()
+                || AL10.alGetSourcei(alSource, AL10.AL_SOURCE_STATE) == AL10.AL_PLAYING;
+    }
+
+    /** 当前正在输出的采样帧 */
+    public long getPlaybackFrame() {
+        if (!initialized) return 0L;
+        QueuedBuffer head = queuedBuffers.peekFirst();
+        if (head == null) {
+            return resumeFrame;
+        }
+        int offset = AL10.alGetSourcei(alSource, AL11.AL_SAMPLE_OFFSET);
+        return head.startFrame() + Math.max(0, offset);
     }
-    
+
     public float getPlaybackPosition() {
-        if (!initialized) return 0.0f;
-        return AL10.alGetSourcef(alSource, AL11.AL_SEC_OFFSET);
+        if (!initialized || sampleRate <= 0) return 0.0f;
+        return (float) ((double) getPlaybackFrame() / sampleRate);
+    }
+
+    /** 音频时钟可用：正在出声且有已排队的数据 */
+    public boolean hasPlaybackClock() {
+        return isPlaying() && !queuedBuffers.isEmpty();
     }
-    
+
     public void setPlaybackPosition(float seconds) {
         if (!initialized) return;
-        seconds = Math.max(0, Math.min(seconds, durationSeconds));
-        AL10.alSourcef(alSource, AL11.AL_SEC_OFFSET, seconds);
+        seconds = Math.max(0, durationSeconds > 0 ? Math.min(seconds, durationSeconds) : seconds);
+        seekFrame(Math.round((double) seconds * sampleRate));
     }
-    
+
     public void setVolume(float vol) {
         this.volume = Math.max(0.0f, Math.min(1.0f, vol));
         if (initialized) {
             AL10.alSourcef(alSource, AL10.AL_GAIN, this.volume);
         }
     }
-    
+
+    /** 通过 AL_PITCH 微调播放速率，供音频跟随主时钟时使用；变化极小时不重复提交 */
+    public void setPlaybackRate(float rate) {
+        float clamped = Math.max(0.5f, Math.min(2.0f, rate));
+        if (!initialized || Math.abs(clamped - playbackRate) < 1.0e-4f) return;
+        playbackRate = clamped;
+        AL10.alSourcef(alSource, AL10.AL_PITCH, playbackRate);
+    }
+
+    public float getPlaybackRate() {
+        return playbackRate;
+    }
+
     public float getVolume() {
         return volume;
     }
-    
+
     public float getDuration() {
         return durationSeconds;
     }
-    
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /** 播放过程中缓冲耗尽的次数 */
+    public long getUnderrunCount() {
+        return underruns;
+    }
+
     public boolean isLoaded() {
         return initialized;
     }
-    
+
     public String getAudioPath() {
         return audioPath;
     }
-    
+
     public void cleanup() {
         if (alSource != 0) {
             AL10.alSourceStop(alSource);
+            AL10.alSourcei(alSource, AL10.AL_BUFFER, 0);
             AL10.alDeleteSources(alSource);
             alSource = 0;
         }
-        if (alBuffer != 0) {
-            AL10.alDeleteBuffers(alBuffer);
-            alBuffer = 0;
+        if (alBuffers.length > 0) {
+            AL10.alDeleteBuffers(alBuffers);
+            alBuffers = new int[0];
         }
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+        freeBuffers.clear();
+        queuedBuffers.clear();
         initialized = false;
+        playing = false;
+        paused = false;
+        endOfStream = false;
+        resumeFrame = 0L;
+        underruns = 0L;
         audioPath = null;
         durationSeconds = 0.0f;
     }
-    
-    private static class PcmData {
-        ByteBuffer data;
-        int sampleRate;
-        int channels;
-        int bitsPerSample;
-        
-        PcmData(ByteBuffer data, int sampleRate, int channels, int bitsPerSample) {
-            this.data = data;
-            this.sampleRate = sampleRate;
-            this.channels = channels;
-            this.bitsPerSample = bitsPerSample;
+
+    /** 采样级定位：清空已排队的缓冲，后台从目标帧重新解码，原本在播放则继续播放 */
+    private void seekFrame(long frame) {
+        AL10.alSourceStop(alSource);
+        AL10.alSourcei(alSource, AL10.AL_BUFFER, 0);
+        for (QueuedBuffer queued : queuedBuffers) {
+            freeBuffers.add(queued.bufferId());
         }
+        queuedBuffers.clear();
+        endOfStream = false;
+        resumeFrame = frame;
+        stream.seek(frame);
+        prefill();
     }
-    
-    private PcmData decodeMp3(File file) throws Exception {
-        ByteArrayOutputStream pcmOut = new ByteArrayOutputStream();
-        
-        int sampleRate = 0;
-        int channels = 0;
-        
-        try (FileInputStream fis = new FileInputStream(file)) {
-            Bitstream bitstream = new Bitstream(fis);
-            Decoder decoder = new Decoder();
-            
-            Header header;
-            while ((header = bitstream.readFrame()) != null) {
-                if (sampleRate == 0) {
-                    sampleRate = header.frequency();
-                    channels = header.mode() == Header.SINGLE_CHANNEL ? 1 : 2;
-                }
-                
-                SampleBuffer output = (SampleBuffer) decoder.decodeFrame(header, bitstream);
-                short[] samples = output.getBuffer();
-                int len = output.getBufferLength();
-
-                for (int i = 0; i < len; i++) {
-                    pcmOut.write(samples[i] & 0xFF);
-                    pcmOut.write((samples[i] >> 8) & 0xFF);
-                }
-                
-                bitstream.closeFrame();
+
+    /** 阻塞等待首块解码完成并入队，最多 {@link #PREFILL_TIMEOUT_MS} */
+    private void prefill() {
+        try {
+            StageAudioStream.Chunk chunk = stream.take(PREFILL_TIMEOUT_MS);
+            if (chunk != null) {
+                queueChunk(chunk);
             }
-            
-            bitstream.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        
-        byte[] pcmBytes = pcmOut.toByteArray();
-        if (pcmBytes.length == 0 || sampleRate == 0) return null;
-        
-        ByteBuffer buffer = MemoryUtil.memAlloc(pcmBytes.length);
-        buffer.put(pcmBytes).flip();
-        
-        return new PcmData(buffer, sampleRate, channels, 16);
+        fillBuffers();
     }
-    
-    private PcmData decodeOgg(File file) throws Exception {
-        byte[] fileBytes = Files.readAllBytes(file.toPath());
-        ByteBuffer fileBuffer = MemoryUtil.memAlloc(fileBytes.length);
-        fileBuffer.put(fileBytes).flip();
-        
-        try (MemoryStack stack = MemoryStack.stackPush()) {
-            IntBuffer channelsBuffer = stack.mallocInt(1);
-            IntBuffer sampleRateBuffer = stack.mallocInt(1);
-            
-            ShortBuffer decoded = STBVorbis.stb_vorbis_decode_memory(
-                fileBuffer, channelsBuffer, sampleRateBuffer
-            );
-            
-            MemoryUtil.memFree(fileBuffer);
-            
-            if (decoded == null) {
-                logger.error("[StageAudio] STB Vorbis 解码失败");
-                return null;
-            }
-            
-            int channels = channelsBuffer.get(0);
-            int sampleRate = sampleRateBuffer.get(0);
-            
-            ByteBuffer pcmBuffer = MemoryUtil.memAlloc(decoded.remaining() * 2);
-            while (decoded.hasRemaining()) {
-                short s = decoded.get();
-                pcmBuffer.put((byte) (s & 0xFF));
-                pcmBuffer.put((byte) ((s >> 8) & 0xFF));
+
+    private void fillBuffers() {
+        while (!freeBuffers.isEmpty() && !endOfStream) {
+            StageAudioStream.Chunk chunk = stream.poll();
+            if (chunk == null) {
+                if (stream.hasFailed()) {
+                    endOfStream = true;
+                }
+                return;
             }
-            pcmBuffer.flip();
-            
-            MemoryUtil.memFree(decoded);
-            
-            return new PcmData(pcmBuffer, sampleRate, channels, 16);
+            queueChunk(chunk);
         }
     }
-    
-    private PcmData decodeWav(File file) throws Exception {
-        try (AudioInputStream ais = AudioSystem.getAudioInputStream(file)) {
-            AudioFormat fmt = ais.getFormat();
-            
-            AudioFormat targetFmt = fmt;
-            boolean needConvert = fmt.getEncoding() != AudioFormat.Encoding.PCM_SIGNED;
-            AudioInputStream targetAis = needConvert 
-                ? AudioSystem.getAudioInputStream(
-                    new AudioFormat(
-                        AudioFormat.Encoding.PCM_SIGNED,
-                        fmt.getSampleRate(),
-                        16,
-                        fmt.getChannels(),
-                        fmt.getChannels() * 2,
-                        fmt.getSampleRate(),
-                        false
-                    ), ais)
-                : ais;
-            
-            try {
-                if (needConvert) {
-                    targetFmt = targetAis.getFormat();
-                }
-                
-                byte[] pcmBytes = targetAis.readAllBytes();
-                
-                ByteBuffer buffer = MemoryUtil.memAlloc(pcmBytes.length);
-                buffer.put(pcmBytes).flip();
-                
-                return new PcmData(
-                    buffer,
-                    (int) targetFmt.getSampleRate(),
-                    targetFmt.getChannels(),
-                    targetFmt.getSampleSizeInBits()
-                );
-            } finally {
-                if (needConvert) {
-                    targetAis.close();
-                }
+
+    private void queueChunk(StageAudioStream.Chunk chunk) {
+        try {
+            if (chunk.endOfStream) {
+                endOfStream = true;
+            }
+            if (chunk.frames == 0) {
+                return;
             }
+            int buffer = freeBuffers.poll();
+            AL10.alBufferData(buffer, alFormat, chunk.data, sampleRate);
+            AL10.alSourceQueueBuffers(alSource, buffer);
+            queuedBuffers.addLast(new QueuedBuffer(buffer, chunk.startFrame, chunk.frames));
+        } finally {
+            stream.recycle(chunk);
         }
     }
-    
-    private static int getAlFormat(int channels, int bitsPerSample) {
-        if (channels == 1) {
-            if (bitsPerSample == 8) return AL10.AL_FORMAT_MONO8;
-            if (bitsPerSample == 16) return AL10.AL_FORMAT_MONO16;
-        } else if (channels == 2) {
-            if (bitsPerSample == 8) return AL10.AL_FORMAT_STEREO8;
-            if (bitsPerSample == 16) return AL10.AL_FORMAT_STEREO16;
+
+    private static void closeQuietly(StageAudioDecoder decoder) {
+        try {
+            decoder.close();
+        } catch (IOException e) {
+            logger.warn("[StageAudio] 关闭解码器失败: {}", e.getMessage());
         }
-        return 0;
     }
-    
-    private static String getExtension(String path) {
-        int dot = path.lastIndexOf('.');
-        return dot >= 0 ? path.substring(dot + 1) : "";
+
+    private static int getAlFormat(int channels) {
+        if (channels == 1) return AL10.AL_FORMAT_MONO16;
+        if (channels == 2) return AL10.AL_FORMAT_STEREO16;
+        return 0;
     }
 }
@@ -0,0 +1,221 @@
+package com.shiroha.mmdskin.stage.client.camera;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文件职责：舞台音频的后台解码管线。
+ * 解码线程把 PCM 写入固定数量的循环块，消费方取出后回收；常驻内存只有这些块，与音频时长无关。
+ * 定位通过代号区分新旧数据：请求定位后旧代号的块在取出时被直接回收。
+ */
+final class StageAudioStream implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger();
+    private static final long IDLE_WAIT_MS = 50L;
+
+    /** 一块解码后的 16 位交错 PCM，startFrame 为首个采样帧在整首音频中的位置 */
+    static final class Chunk {
+        final ByteBuffer data;
+        long startFrame;
+        int frames;
+        int generation;
+        boolean endOfStream;
+
+        private Chunk(int capacityBytes) {
+            this.data = ByteBuffer.allocateDirect(capacityBytes).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    private final StageAudioDecoder decoder;
+    private final int chunkFrames;
+    private final int chunkCount;
+    private final ArrayBlockingQueue<Chunk> free;
+    private final ArrayBlockingQueue<Chunk> filled;
+    private final Object lock = new Object();
+    private final Thread thread;
+
+    private long pendingSeek = -1L;
+    private int generation;
+    private volatile boolean closed;
+    private volatile boolean failed;
+    private boolean decoderClosed;
+
+    StageAudioStream(StageAudioDecoder decoder, int chunkFrames, int chunkCount) {
+        this.decoder = decoder;
+        this.chunkFrames = chunkFrames;
+        this.chunkCount = chunkCount;
+        this.free = new ArrayBlockingQueue<>(chunkCount);
+        this.filled = new ArrayBlockingQueue<>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            free.add(new Chunk(chunkFrames * decoder.channels() * 2));
+        }
+        this.thread = new Thread(this::run, "MMD-StageAudio-Decode");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    int sampleRate() {
+        return decoder.sampleRate();
+    }
+
+    int channels() {
+        return decoder.channels();
+    }
+
+    long totalFrames() {
+        return decoder.totalFrames();
+    }
+
+    /** 常驻 PCM 块占用的字节数 */
+    long residentBytes() {
+        return (long) chunkCount * chunkFrames * decoder.channels() * 2L;
+    }
+
+    boolean hasFailed() {
+        return failed;
+    }
+
+    /** 取出下一块当前代号的数据，尚未解码好时返回 null；用完后需调用 {@link #recycle} */
+    Chunk poll() {
+        Chunk chunk;
+        while ((chunk = filled.poll()) != null) {
+            if (chunk.generation == currentGeneration()) {
+                return chunk;
+            }
+            free.offer(chunk);
+        }
+        return null;
+    }
+
+    /** 阻塞等待下一块当前代号的数据，供预填充与基准测试使用 */
+    Chunk take(long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (true) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0L) {
+                return null;
+            }
+            Chunk chunk = filled.poll(remaining, TimeUnit.NANOSECONDS);
+            if (chunk == null) {
+                return null;
+            }
+            if (chunk.generation == currentGeneration()) {
+                return chunk;
+            }
+            free.offer(chunk);
+        }
+    }
+
+    void recycle(Chunk chunk) {
+        free.offer(chunk);
+    }
+
+    /** 请求从指定采样帧重新解码，已解码的旧数据全部作废 */
+    void seek(long frame) {
+        synchronized (lock) {
+            pendingSeek = Math.max(0L, frame);
+            generation++;
+            lock.notifyAll();
+        }
+        Chunk chunk;
+        while ((chunk = filled.poll()) != null) {
+            free.offer(chunk);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+        thread.interrupt();
+        if (!thread.isAlive()) {
+            closeDecoder();
+        }
+    }
+
+    private int currentGeneration() {
+        synchronized (lock) {
+            return generation;
+        }
+    }
+
+    private void run() {
+        long position = 0L;
+        boolean endOfStream = false;
+        try {
+            while (!closed) {
+                long seekTarget;
+                int chunkGeneration;
+                synchronized (lock) {
+                    seekTarget = pendingSeek;
+                    pendingSeek = -1L;
+                    chunkGeneration = generation;
+                    if (seekTarget < 0L && endOfStream) {
+                        lock.wait(IDLE_WAIT_MS);
+                        continue;
+                    }
+                }
+                if (seekTarget >= 0L) {
+                    // 定位期间若有新请求，本轮产出的块会因代号过期被丢弃，下一轮再定位
+                    decoder.seek(seekTarget);
+                    position = seekTarget;
+                    endOfStream = false;
+                }
+
+                Chunk chunk = free.poll(IDLE_WAIT_MS, TimeUnit.MILLISECONDS);
+                if (chunk == null) {
+                    continue;
+                }
+                chunk.data.clear();
+                var samples = chunk.data.asShortBuffer();
+                int frames = 0;
+                while (frames < chunkFrames) {
+                    int read = decoder.read(samples);
+                    if (read <= 0) {
+                        endOfStream = true;
+                        break;
+                    }
+                    frames += read;
+                }
+                chunk.data.limit(frames * decoder.channels() * 2);
+                chunk.startFrame = position;
+                chunk.frames = frames;
+                chunk.generation = chunkGeneration;
+                chunk.endOfStream = endOfStream;
+                position += frames;
+                filled.offer(chunk);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            failed = true;
+            logger.error("[StageAudio] 后台解码失败: {}", e.getMessage());
+        } finally {
+            closeDecoder();
+        }
+    }
+
+    private void closeDecoder() {
+        synchronized (decoder) {
+            if (decoderClosed) {
+                return;
+            }
+            decoderClosed = true;
+            try {
+                decoder.close();
+            } catch (IOException e) {
+                logger.warn("[StageAudio] 关闭解码器失败: {}", e.getMessage());
+            }
+        }
+    }
+}
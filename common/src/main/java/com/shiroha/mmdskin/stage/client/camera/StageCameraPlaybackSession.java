@@ -4,8 +4,6 @@ import com.shiroha.mmdskin.bridge.runtime.NativeAnimationPort;
 
 /** 文件职责：封装舞台相机播放与观演阶段的运行时会话数据。 */
 final class StageCameraPlaybackSession {
-    private static final float UNSET_SYNC_FRAME = -1.0f;
-
     private float currentFrame = 0.0f;
     private float maxFrame = 0.0f;
     private float playbackSpeed = 1.0f;
@@ -19,7 +17,7 @@ final class StageCameraPlaybackSession {
     private String modelName;
 
     private int frameSyncCounter = 0;
-    private float targetSyncFrame = UNSET_SYNC_FRAME;
+    private final StageMasterClock clock = new StageMasterClock();
 
     boolean configureStagePlayback(long motionAnim,
                                    long cameraAnim,
@@ -35,7 +33,7 @@ final class StageCameraPlaybackSession {
         this.cameraHeightOffset = cameraHeightOffset;
         this.currentFrame = 0.0f;
         this.frameSyncCounter = 0;
-        this.targetSyncFrame = UNSET_SYNC_FRAME;
+        this.clock.reset(0.0);
         return this.cameraAnimHandle != 0L;
     }
 
@@ -57,24 +55,24 @@ final class StageCameraPlaybackSession {
         }
     }
 
-    StagePlaybackAdvance advance(float deltaTime,
-                                 float fps,
-                                 float catchupSpeedMax,
-                                 float catchupSpeedMin,
-                                 float syncTolerance) {
-        StagePlaybackAdvance advance = StageCameraTimeline.advanceFrame(
-                currentFrame,
-                targetSyncFrame,
-                playbackSpeed,
-                deltaTime,
-                maxFrame,
-                fps,
-                catchupSpeedMax,
-                catchupSpeedMin,
-                syncTolerance
-        );
+    /**
+     * 预烘焙本次播放的相机与动作采样数组，返回占用的总字节数。
+     * 相机句柄只烘焙相机轨道；includeBones 时动作句柄额外烘焙骨骼轨道，两者为同一句柄时只烘焙一次。
+     */
+    long bakeStageAnimations(NativeAnimationPort animationPort, boolean includeBones) {
+        long bytes = 0L;
+        if (cameraAnimHandle != 0L) {
+            bytes += animationPort.bakeAnimation(cameraAnimHandle, includeBones && cameraAnimHandle == motionAnimHandle);
+        }
+        if (includeBones && motionAnimHandle != 0L && motionAnimHandle != cameraAnimHandle) {
+            bytes += animationPort.bakeAnimation(motionAnimHandle, true);
+        }
+        return bytes;
+    }
+
+    StagePlaybackAdvance advance(float deltaTime, float fps) {
+        StagePlaybackAdvance advance = StageCameraTimeline.advanceFrame(clock, deltaTime, playbackSpeed, maxFrame, fps);
         this.currentFrame = advance.frame();
-        this.targetSyncFrame = advance.targetSyncFrame();
         return advance;
     }
 
@@ -87,8 +85,13 @@ final class StageCameraPlaybackSession {
         return false;
     }
 
-    void setTargetSyncFrame(float targetSyncFrame) {
-        this.targetSyncFrame = targetSyncFrame;
+    /** 输入参考源给出的播放位置（秒），由主时钟滤波后体现在后续推进中 */
+    void observeClock(StageMasterClock.Source source, double referenceSeconds) {
+        clock.observe(source, referenceSeconds);
+    }
+
+    StageMasterClock clock() {
+        return clock;
     }
 
     void clearPresentationState() {
@@ -99,7 +102,7 @@ final class StageCameraPlaybackSession {
         this.currentFrame = 0.0f;
         this.maxFrame = 0.0f;
         this.frameSyncCounter = 0;
-        this.targetSyncFrame = UNSET_SYNC_FRAME;
+        this.clock.reset(0.0);
     }
 
     void clearWatchCameraHandle() {
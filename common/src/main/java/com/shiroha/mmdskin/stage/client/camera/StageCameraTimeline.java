@@ -32,32 +32,23 @@ final class StageCameraTimeline {
         return interpolate(start, end, easeInOutQuart(elapsed / duration));
     }
 
-    static StagePlaybackAdvance advanceFrame(float currentFrame,
-                                             float targetSyncFrame,
-                                             float playbackSpeed,
+    /** 按主时钟推进一帧：帧位置完全由时钟换算，漂移修正体现在时钟速率上而非追赶速度 */
+    static StagePlaybackAdvance advanceFrame(StageMasterClock clock,
                                              float deltaTime,
+                                             float playbackSpeed,
                                              float maxFrame,
-                                             float fps,
-                                             float catchupSpeedMax,
-                                             float catchupSpeedMin,
-                                             float syncTolerance) {
-        float effectiveSpeed = playbackSpeed;
-        float nextTargetSyncFrame = targetSyncFrame;
-        if (targetSyncFrame >= 0) {
-            float drift = targetSyncFrame - currentFrame;
-            if (Math.abs(drift) > syncTolerance) {
-                effectiveSpeed = drift > 0 ? catchupSpeedMax : catchupSpeedMin;
-            } else {
-                nextTargetSyncFrame = -1.0f;
-            }
-        }
-
-        float nextFrame = currentFrame + deltaTime * fps * effectiveSpeed;
+                                             float fps) {
+        float nextFrame = (float) (clock.advance(deltaTime, playbackSpeed) * fps);
         boolean completed = nextFrame >= maxFrame;
         if (completed) {
             nextFrame = maxFrame;
         }
-        return new StagePlaybackAdvance(nextFrame, nextTargetSyncFrame, effectiveSpeed, completed);
+        return new StagePlaybackAdvance(
+                nextFrame,
+                (float) (clock.phaseError() * fps),
+                (float) (playbackSpeed * clock.rate()),
+                completed
+        );
     }
 
     static StageCameraPose playbackPose(MMDCameraData cameraData,
@@ -0,0 +1,118 @@
+package com.shiroha.mmdskin.stage.client.camera;
+
+/**
+ * 文件职责：舞台播放的主时钟，以秒为单位给出当前媒体位置。
+ * 位置按墙钟增量推进，参考源（音频播放位置、主机帧同步）的观测值经二阶锁相环滤波：
+ * 比例项在两次观测之间按指数收敛相位误差，积分项学习参考源相对墙钟的频率偏差，
+ * 速率修正限制在 ±{@link #MAX_RATE_ADJUST} 内，偏差超过 {@link #SNAP_THRESHOLD_SECONDS} 时直接对齐。
+ * 所有输入由调用方传入，不读取系统时间，便于用时序轨迹回放测试。
+ */
+final class StageMasterClock {
+    /**
+     * 参考源及其锁相环增益：比例增益（1/秒）决定相位误差的收敛速度，积分增益（1/秒²）决定频率偏差的学习速度。
+     * 音频每帧观测且只有混音周期量化噪声，可用较高增益；主机同步约 2 秒一次且带网络延迟抖动，增益更低以免把抖动变成速度摆动。
+     */
+    enum Source {
+        WALL(0.0, 0.0),
+        HOST(0.3, 0.01),
+        AUDIO(0.8, 0.05);
+
+        final double proportionalGain;
+        final double integralGain;
+
+        Source(double proportionalGain, double integralGain) {
+            this.proportionalGain = proportionalGain;
+            this.integralGain = integralGain;
+        }
+    }
+
+    /** 从属播放器向主时钟收敛的比例增益（1/秒） */
+    static final double SLAVE_GAIN = 0.8;
+    /** 速率修正上限，远小于旧的 ±15% 追赶速度，肉眼难以察觉 */
+    static final double MAX_RATE_ADJUST = 0.05;
+    static final double MAX_FREQUENCY_OFFSET = 0.02;
+    static final double SNAP_THRESHOLD_SECONDS = 0.25;
+
+    private Source source = Source.WALL;
+    private double position;
+    private double phaseError;
+    private double frequencyOffset;
+    private double rate = 1.0;
+    private double sinceObservation;
+    private long snapCount;
+
+    void reset(double seconds) {
+        position = seconds;
+        phaseError = 0.0;
+        frequencyOffset = 0.0;
+        rate = 1.0;
+        sinceObservation = 0.0;
+        source = Source.WALL;
+    }
+
+    /**
+     * 推进 deltaSeconds 墙钟时间，返回推进后的媒体位置。
+     * 假定参考源以 speed * (1 + 频率偏差) 的速度前进，相位误差按比例项的修正量递减。
+     */
+    double advance(double deltaSeconds, double speed) {
+        double correction = clamp(frequencyOffset + source.proportionalGain * phaseError, MAX_RATE_ADJUST);
+        rate = 1.0 + correction;
+        position += deltaSeconds * speed * rate;
+        phaseError -= deltaSeconds * speed * (correction - frequencyOffset);
+        sinceObservation += deltaSeconds;
+        return position;
+    }
+
+    /** 输入一次参考源观测；切换参考源时重新学习频率偏差 */
+    void observe(Source observed, double referenceSeconds) {
+        if (observed != source) {
+            source = observed;
+            frequencyOffset = 0.0;
+            sinceObservation = 0.0;
+        }
+        double error = referenceSeconds - position;
+        if (Math.abs(error) > SNAP_THRESHOLD_SECONDS) {
+            position = referenceSeconds;
+            phaseError = 0.0;
+            snapCount++;
+        } else {
+            phaseError = error;
+            frequencyOffset = clamp(frequencyOffset + source.integralGain * error * sinceObservation, MAX_FREQUENCY_OFFSET);
+        }
+        sinceObservation = 0.0;
+    }
+
+    /** 跟随本时钟的从属播放器（如非主时钟的音频）应使用的播放速率 */
+    double slaveRate(double slaveSeconds, double speed) {
+        return speed * (1.0 + clamp(SLAVE_GAIN * (position - slaveSeconds), MAX_RATE_ADJUST));
+    }
+
+    double position() {
+        return position;
+    }
+
+    /** 最近一次推进使用的速率倍数（不含播放倍速） */
+    double rate() {
+        return rate;
+    }
+
+    double phaseError() {
+        return phaseError;
+    }
+
+    double frequencyOffset() {
+        return frequencyOffset;
+    }
+
+    Source source() {
+        return source;
+    }
+
+    long snapCount() {
+        return snapCount;
+    }
+
+    private static double clamp(double value, double limit) {
+        return Math.max(-limit, Math.min(limit, value));
+    }
+}
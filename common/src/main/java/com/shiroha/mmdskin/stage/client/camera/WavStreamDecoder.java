@@ -0,0 +1,107 @@
+package com.shiroha.mmdskin.stage.client.camera;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ShortBuffer;
+
+/** 文件职责：基于 JavaSound 的 WAV 流式解码，非 16 位有符号 PCM 时由 JavaSound 转换；定位通过重开文件并跳过精确字节数实现。 */
+final class WavStreamDecoder implements StageAudioDecoder {
+    private final File file;
+    private AudioInputStream stream;
+    private int sampleRate;
+    private int channels;
+    private long totalFrames;
+    private byte[] bytes = new byte[0];
+
+    WavStreamDecoder(File file) throws IOException {
+        this.file = file;
+        open();
+    }
+
+    @Override
+    public int sampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public int channels() {
+        return channels;
+    }
+
+    @Override
+    public long totalFrames() {
+        return totalFrames;
+    }
+
+    @Override
+    public int read(ShortBuffer out) throws IOException {
+        int frameBytes = channels * 2;
+        int want = (out.remaining() / channels) * frameBytes;
+        if (want == 0) {
+            return 0;
+        }
+        if (bytes.length < want) {
+            bytes = new byte[want];
+        }
+        int total = 0;
+        while (total < want) {
+            int n = stream.read(bytes, total, want - total);
+            if (n < 0) {
+                break;
+            }
+            total += n;
+        }
+        total -= total % frameBytes;
+        for (int i = 0; i < total; i += 2) {
+            out.put((short) ((bytes[i] & 0xFF) | (bytes[i + 1] << 8)));
+        }
+        return total / frameBytes;
+    }
+
+    @Override
+    public void seek(long frame) throws IOException {
+        stream.close();
+        open();
+        long remaining = Math.max(0L, frame) * channels * 2L;
+        while (remaining > 0) {
+            long skipped = stream.skip(remaining);
+            if (skipped <= 0) {
+                // 部分转换流不支持 skip，退化为读取丢弃
+                if (bytes.length == 0) {
+                    bytes = new byte[8192];
+                }
+                int n = stream.read(bytes, 0, (int) Math.min(bytes.length, remaining));
+                if (n < 0) {
+                    break;
+                }
+                skipped = n;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+
+    private void open() throws IOException {
+        AudioInputStream source;
+        try {
+            source = AudioSystem.getAudioInputStream(file);
+        } catch (UnsupportedAudioFileException e) {
+            throw new IOException("无法识别的 WAV 文件: " + file.getName(), e);
+        }
+        AudioFormat format = source.getFormat();
+        AudioFormat target = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, format.getSampleRate(), 16,
+                format.getChannels(), format.getChannels() * 2, format.getSampleRate(), false);
+        stream = format.matches(target) ? source : AudioSystem.getAudioInputStream(target, source);
+        sampleRate = (int) target.getSampleRate();
+        channels = target.getChannels();
+        totalFrames = source.getFrameLength() != AudioSystem.NOT_SPECIFIED ? source.getFrameLength() : -1L;
+    }
+}
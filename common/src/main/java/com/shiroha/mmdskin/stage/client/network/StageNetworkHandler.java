@@ -3,6 +3,7 @@ package com.shiroha.mmdskin.stage.client.network;
 import com.shiroha.mmdskin.stage.domain.model.StageCameraMode;
 import com.shiroha.mmdskin.stage.domain.model.StageDescriptor;
 import com.shiroha.mmdskin.stage.domain.model.StageInviteDecision;
+import com.shiroha.mmdskin.stage.protocol.StageBinaryPacketCodec;
 import com.shiroha.mmdskin.stage.protocol.StagePacket;
 import com.shiroha.mmdskin.stage.protocol.StagePacketCodec;
 import com.shiroha.mmdskin.stage.protocol.StagePacketType;
@@ -21,6 +22,9 @@ public final class StageNetworkHandler {
     private static final Logger LOGGER = LogManager.getLogger();
 
     private static Consumer<String> stageMultiSender;
+    private static Consumer<byte[]> stageBinarySender;
+    /** 当前连接的服务端已用二进制舞台包回复过，之后才改用二进制发送 */
+    private static volatile boolean serverBinaryConfirmed;
 
     private StageNetworkHandler() {
     }
@@ -29,6 +33,21 @@ public final class StageNetworkHandler {
         stageMultiSender = sender;
     }
 
+    /** 注册二进制通道；服务端确认支持前仍发送 S3 文本包，并在包内声明本端可接收二进制 */
+    public static void setStageBinarySender(Consumer<byte[]> sender) {
+        stageBinarySender = sender;
+    }
+
+    /** 收到服务端的二进制舞台包，说明服务端支持二进制，当前连接之后改用二进制发送 */
+    public static void onBinaryPacketReceived() {
+        serverBinaryConfirmed = true;
+    }
+
+    /** 断开连接后回到文本协议，下一个服务端需重新确认 */
+    public static void onDisconnect() {
+        serverBinaryConfirmed = false;
+    }
+
     public static void sendStageInvite(UUID targetUUID, UUID sessionId) {
         StagePacket packet = directedPacket(StagePacketType.INVITE_REQUEST, targetUUID, sessionId);
         sendStagePacket(packet);
@@ -132,6 +151,18 @@ public final class StageNetworkHandler {
     }
 
     private static void sendStagePacket(StagePacket packet) {
+        Consumer<byte[]> binarySender = stageBinarySender;
+        if (binarySender != null && serverBinaryConfirmed) {
+            try {
+                binarySender.accept(StageBinaryPacketCodec.encode(packet));
+                return;
+            } catch (Exception e) {
+                LOGGER.warn("[多人舞台] 二进制舞台包发送失败，回退文本协议", e);
+            }
+        }
+        if (binarySender != null) {
+            packet.binaryCapable = Boolean.TRUE;
+        }
         sendMulti(StagePacketCodec.encode(packet));
     }
 
@@ -0,0 +1,487 @@
+package com.shiroha.mmdskin.stage.protocol;
+
+import com.shiroha.mmdskin.stage.domain.model.StageCameraMode;
+import com.shiroha.mmdskin.stage.domain.model.StageDescriptor;
+import com.shiroha.mmdskin.stage.domain.model.StageInviteDecision;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 文件职责：舞台协议的紧凑二进制编解码。
+ * 布局：格式版本、类型序号、字段存在位图（varint），随后按位图顺序写入字段；
+ * UUID 以 16 字节原始形式存储，动作文件与成员状态等重复字符串经字符串表去重后以索引引用。
+ */
+public final class StageBinaryPacketCodec {
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final int HAS_SESSION_ID = 1;
+    private static final int HAS_TARGET_PLAYER_ID = 1 << 1;
+    private static final int HAS_INVITE_DECISION = 1 << 2;
+    private static final int HAS_READY = 1 << 3;
+    private static final int READY_VALUE = 1 << 4;
+    private static final int HAS_CAMERA_MODE = 1 << 5;
+    private static final int HAS_FRAME = 1 << 6;
+    private static final int HAS_HEIGHT_OFFSET = 1 << 7;
+    private static final int HAS_DESCRIPTOR = 1 << 8;
+    private static final int HAS_MOTION_PACK_NAME = 1 << 9;
+    private static final int HAS_MOTION_FILES = 1 << 10;
+    private static final int HAS_MEMBERS = 1 << 11;
+    private static final int HAS_STRING_TABLE = 1 << 12;
+
+    private static final int ID_RAW_UUID = 0;
+    private static final int ID_STRING = 1;
+
+    private static final StagePacketType[] TYPES = StagePacketType.values();
+    private static final StageInviteDecision[] DECISIONS = StageInviteDecision.values();
+    private static final StageCameraMode[] CAMERA_MODES = StageCameraMode.values();
+
+    private StageBinaryPacketCodec() {
+    }
+
+    public static byte[] encode(StagePacket packet) {
+        StringTable table = StringTable.of(packet);
+        int flags = flagsOf(packet, table);
+
+        Writer out = new Writer(estimateSize(packet));
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(packet.type.ordinal());
+        out.writeVarInt(flags);
+
+        if ((flags & HAS_STRING_TABLE) != 0) {
+            out.writeVarInt(table.entries.size());
+            for (String entry : table.entries) {
+                out.writeNullableString(entry);
+            }
+        }
+        if ((flags & HAS_SESSION_ID) != 0) {
+            out.writeId(packet.sessionId);
+        }
+        if ((flags & HAS_TARGET_PLAYER_ID) != 0) {
+            out.writeId(packet.targetPlayerId);
+        }
+        if ((flags & HAS_INVITE_DECISION) != 0) {
+            out.writeByte(packet.inviteDecision.ordinal());
+        }
+        if ((flags & HAS_CAMERA_MODE) != 0) {
+            out.writeByte(packet.cameraMode.ordinal());
+        }
+        if ((flags & HAS_FRAME) != 0) {
+            out.writeFloat(packet.frame);
+        }
+        if ((flags & HAS_HEIGHT_OFFSET) != 0) {
+            out.writeFloat(packet.heightOffset);
+        }
+        if ((flags & HAS_DESCRIPTOR) != 0) {
+            StageDescriptor descriptor = packet.descriptor;
+            out.writeNullableString(descriptor.getPackName());
+            table.writeList(out, descriptor.getMotionFiles());
+            out.writeNullableString(descriptor.getCameraFile());
+            out.writeNullableString(descriptor.getAudioFile());
+        }
+        if ((flags & HAS_MOTION_PACK_NAME) != 0) {
+            out.writeNullableString(packet.motionPackName);
+        }
+        if ((flags & HAS_MOTION_FILES) != 0) {
+            table.writeList(out, packet.motionFiles);
+        }
+        if ((flags & HAS_MEMBERS) != 0) {
+            out.writeVarInt(packet.members.size());
+            for (StageMemberSnapshot member : packet.members) {
+                out.writeNullableId(member.uuid);
+                out.writeNullableString(member.name);
+                out.writeVarInt(table.indexOf(member.state));
+                out.writeVarInt(table.indexOf(member.cameraMode));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static StagePacket decode(byte[] data) {
+        if (data == null || data.length < 3) {
+            return null;
+        }
+        try {
+            Reader in = new Reader(data);
+            int version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                LOGGER.warn("[舞台协议] 不支持的二进制格式版本: {}", version);
+                return null;
+            }
+            StagePacket packet = new StagePacket(in.readEnum(TYPES));
+            int flags = in.readVarInt();
+
+            String[] table = new String[0];
+            if ((flags & HAS_STRING_TABLE) != 0) {
+                table = new String[in.readCount()];
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = in.readNullableString();
+                }
+            }
+            if ((flags & HAS_SESSION_ID) != 0) {
+                packet.sessionId = in.readId();
+            }
+            if ((flags & HAS_TARGET_PLAYER_ID) != 0) {
+                packet.targetPlayerId = in.readId();
+            }
+            if ((flags & HAS_INVITE_DECISION) != 0) {
+                packet.inviteDecision = in.readEnum(DECISIONS);
+            }
+            if ((flags & HAS_READY) != 0) {
+                packet.ready = (flags & READY_VALUE) != 0;
+            }
+            if ((flags & HAS_CAMERA_MODE) != 0) {
+                packet.cameraMode = in.readEnum(CAMERA_MODES);
+            }
+            if ((flags & HAS_FRAME) != 0) {
+                packet.frame = in.readFloat();
+            }
+            if ((flags & HAS_HEIGHT_OFFSET) != 0) {
+                packet.heightOffset = in.readFloat();
+            }
+            if ((flags & HAS_DESCRIPTOR) != 0) {
+                String packName = in.readNullableString();
+                List<String> motionFiles = in.readIndexedList(table);
+                String cameraFile = in.readNullableString();
+                String audioFile = in.readNullableString();
+                packet.descriptor = new StageDescriptor(packName, motionFiles, cameraFile, audioFile);
+            }
+            if ((flags & HAS_MOTION_PACK_NAME) != 0) {
+                packet.motionPackName = in.readNullableString();
+            }
+            if ((flags & HAS_MOTION_FILES) != 0) {
+                packet.motionFiles = in.readIndexedList(table);
+            }
+            if ((flags & HAS_MEMBERS) != 0) {
+                int count = in.readCount();
+                List<StageMemberSnapshot> members = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    String uuid = in.readNullableId();
+                    String name = in.readNullableString();
+                    String state = in.readIndexed(table);
+                    String cameraMode = in.readIndexed(table);
+                    members.add(new StageMemberSnapshot(uuid, name, state, cameraMode));
+                }
+                packet.members = members;
+            }
+            if (in.remaining() != 0) {
+                LOGGER.warn("[舞台协议] 二进制数据包尾部存在 {} 字节多余数据", in.remaining());
+                return null;
+            }
+            return packet;
+        } catch (RuntimeException e) {
+            LOGGER.warn("[舞台协议] 二进制数据包解析失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static int flagsOf(StagePacket packet, StringTable table) {
+        int flags = 0;
+        if (packet.sessionId != null) flags |= HAS_SESSION_ID;
+        if (packet.targetPlayerId != null) flags |= HAS_TARGET_PLAYER_ID;
+        if (packet.inviteDecision != null) flags |= HAS_INVITE_DECISION;
+        if (packet.ready != null) {
+            flags |= HAS_READY;
+            if (packet.ready) flags |= READY_VALUE;
+        }
+        if (packet.cameraMode != null) flags |= HAS_CAMERA_MODE;
+        if (packet.frame != null) flags |= HAS_FRAME;
+        if (packet.heightOffset != null) flags |= HAS_HEIGHT_OFFSET;
+        if (packet.descriptor != null) flags |= HAS_DESCRIPTOR;
+        if (packet.motionPackName != null) flags |= HAS_MOTION_PACK_NAME;
+        if (packet.motionFiles != null && !packet.motionFiles.isEmpty()) flags |= HAS_MOTION_FILES;
+        if (packet.members != null && !packet.members.isEmpty()) flags |= HAS_MEMBERS;
+        if (!table.entries.isEmpty()) flags |= HAS_STRING_TABLE;
+        return flags;
+    }
+
+    private static int estimateSize(StagePacket packet) {
+        int size = 48;
+        if (packet.descriptor != null) size += 128;
+        if (packet.members != null) size += packet.members.size() * 48;
+        return size;
+    }
+
+    /** 编码期字符串表：按首次出现顺序去重，索引 0 保留给 null */
+    private static final class StringTable {
+        private final List<String> entries = new ArrayList<>();
+        private final Map<String, Integer> indices = new HashMap<>();
+
+        static StringTable of(StagePacket packet) {
+            StringTable table = new StringTable();
+            if (packet.descriptor != null) {
+                table.addAll(packet.descriptor.getMotionFiles());
+            }
+            table.addAll(packet.motionFiles);
+            if (packet.members != null) {
+                for (StageMemberSnapshot member : packet.members) {
+                    table.add(member.state);
+                    table.add(member.cameraMode);
+                }
+            }
+            return table;
+        }
+
+        private void addAll(List<String> values) {
+            if (values != null) {
+                for (String value : values) {
+                    add(value);
+                }
+            }
+        }
+
+        private void add(String value) {
+            if (value != null && !indices.containsKey(value)) {
+                entries.add(value);
+                indices.put(value, entries.size());
+            }
+        }
+
+        int indexOf(String value) {
+            return value == null ? 0 : indices.get(value);
+        }
+
+        void writeList(Writer out, List<String> values) {
+            if (values == null) {
+                out.writeVarInt(0);
+                return;
+            }
+            out.writeVarInt(values.size());
+            for (String value : values) {
+                out.writeVarInt(indexOf(value));
+            }
+        }
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int size;
+
+        Writer(int initialCapacity) {
+            buffer = new byte[initialCapacity];
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeFloat(float value) {
+            int bits = Float.floatToRawIntBits(value);
+            ensure(4);
+            buffer[size++] = (byte) bits;
+            buffer[size++] = (byte) (bits >>> 8);
+            buffer[size++] = (byte) (bits >>> 16);
+            buffer[size++] = (byte) (bits >>> 24);
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        /** 长度加一写入，0 表示 null */
+        void writeNullableString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        /** 规范 UUID 文本压缩为 16 字节，其余标识保留原文以保证往返一致 */
+        void writeId(String value) {
+            UUID uuid = canonicalUuid(value);
+            if (uuid != null) {
+                writeByte(ID_RAW_UUID);
+                writeLong(uuid.getMostSignificantBits());
+                writeLong(uuid.getLeastSignificantBits());
+            } else {
+                writeByte(ID_STRING);
+                writeNullableString(value);
+            }
+        }
+
+        void writeNullableId(String value) {
+            if (value == null) {
+                writeByte(ID_STRING);
+                writeVarInt(0);
+            } else {
+                writeId(value);
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        private static UUID canonicalUuid(String value) {
+            if (value == null || value.length() != 36) {
+                return null;
+            }
+            try {
+                UUID uuid = UUID.fromString(value);
+                return uuid.toString().equals(value) ? uuid : null;
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int remaining() {
+            return data.length - position;
+        }
+
+        int readByte() {
+            require(1);
+            return data[position++] & 0xFF;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("varint 过长");
+        }
+
+        /** 读取元素个数，每个元素至少占 1 字节，超出剩余长度即视为损坏 */
+        int readCount() {
+            int count = readVarInt();
+            if (count < 0 || count > remaining()) {
+                throw new IllegalArgumentException("非法元素个数: " + count);
+            }
+            return count;
+        }
+
+        float readFloat() {
+            require(4);
+            int bits = (data[position] & 0xFF)
+                    | (data[position + 1] & 0xFF) << 8
+                    | (data[position + 2] & 0xFF) << 16
+                    | (data[position + 3] & 0xFF) << 24;
+            position += 4;
+            return Float.intBitsToFloat(bits);
+        }
+
+        long readLong() {
+            require(8);
+            long value = 0L;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (data[position++] & 0xFFL);
+            }
+            return value;
+        }
+
+        String readNullableString() {
+            int length = readVarInt();
+            if (length == 0) {
+                return null;
+            }
+            int byteLength = length - 1;
+            require(byteLength);
+            String value = new String(data, position, byteLength, StandardCharsets.UTF_8);
+            position += byteLength;
+            return value;
+        }
+
+        String readId() {
+            String value = readNullableId();
+            if (value == null) {
+                throw new IllegalArgumentException("标识字段缺失");
+            }
+            return value;
+        }
+
+        String readNullableId() {
+            int kind = readByte();
+            if (kind == ID_RAW_UUID) {
+                return new UUID(readLong(), readLong()).toString();
+            }
+            if (kind == ID_STRING) {
+                return readNullableString();
+            }
+            throw new IllegalArgumentException("未知标识编码: " + kind);
+        }
+
+        String readIndexed(String[] table) {
+            int index = readVarInt();
+            if (index == 0) {
+                return null;
+            }
+            if (index < 0 || index > table.length) {
+                throw new IllegalArgumentException("字符串表索引越界: " + index);
+            }
+            return table[index - 1];
+        }
+
+        List<String> readIndexedList(String[] table) {
+            int count = readCount();
+            if (count == 0) {
+                return Collections.emptyList();
+            }
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(readIndexed(table));
+            }
+            return values;
+        }
+
+        <E extends Enum<E>> E readEnum(E[] values) {
+            int ordinal = readByte();
+            if (ordinal >= values.length) {
+                throw new IllegalArgumentException("枚举序号越界: " + ordinal);
+            }
+            return values[ordinal];
+        }
+
+        private void require(int bytes) {
+            if (bytes < 0 || position + bytes > data.length) {
+                throw new IllegalArgumentException("数据包长度不足");
+            }
+        }
+    }
+}
@@ -21,6 +21,8 @@ public final class StagePacket {
     public String motionPackName;
     public List<String> motionFiles = Collections.emptyList();
     public List<StageMemberSnapshot> members = Collections.emptyList();
+    /** 发送方能处理二进制舞台包；仅随 S3 文本包发送，旧版本忽略该字段 */
+    public Boolean binaryCapable;
 
     public StagePacket() {
     }
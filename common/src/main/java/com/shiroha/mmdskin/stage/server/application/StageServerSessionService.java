@@ -5,6 +5,7 @@ import com.shiroha.mmdskin.stage.domain.model.StageDescriptor;
 import com.shiroha.mmdskin.stage.domain.model.StageMemberState;
 import com.shiroha.mmdskin.stage.protocol.StageMemberSnapshot;
 import com.shiroha.mmdskin.stage.protocol.StagePacket;
+import com.shiroha.mmdskin.stage.protocol.StageBinaryPacketCodec;
 import com.shiroha.mmdskin.stage.protocol.StagePacketCodec;
 import com.shiroha.mmdskin.stage.protocol.StagePacketType;
 import com.shiroha.mmdskin.stage.server.application.port.StageServerPlatformPort;
@@ -37,12 +38,23 @@ public final class StageServerSessionService {
         return INSTANCE;
     }
 
+    /** 旧客户端的 S3 文本协议入口 */
     public synchronized void handlePacket(StageServerPlatformPort platform, StageServerPlayer sender, String rawData) {
-        StagePacket packet = StagePacketCodec.decode(rawData);
+        dispatch(platform, sender, StagePacketCodec.decode(rawData));
+    }
+
+    public synchronized void handlePacket(StageServerPlatformPort platform, StageServerPlayer sender, byte[] binaryData) {
+        dispatch(platform, sender, StageBinaryPacketCodec.decode(binaryData));
+    }
+
+    private void dispatch(StageServerPlatformPort platform, StageServerPlayer sender, StagePacket packet) {
         if (packet == null) {
             LOGGER.warn("[多人舞台] 服务端收到无效协议数据包");
             return;
         }
+        if (Boolean.TRUE.equals(packet.binaryCapable) && sender != null) {
+            platform.markBinaryCapable(sender.getUuid());
+        }
 
         switch (packet.type) {
             case INVITE_REQUEST -> handleInviteRequest(platform, sender, packet);
@@ -12,4 +12,8 @@ public interface StageServerPlatformPort {
     List<StageServerPlayer> getOnlinePlayers();
 
     void sendPacket(UUID targetPlayerId, UUID sourcePlayerId, StagePacket packet);
+
+    /** 玩家声明可接收二进制舞台包，之后发给该玩家的包改用二进制 */
+    default void markBinaryCapable(UUID playerId) {
+    }
 }
@@ -0,0 +1,231 @@
+package com.shiroha.mmdskin.texture.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 文件职责：在 CPU 上把 RGB/RGBA mip 链编码为 BC1/BC3 块压缩格式。
+ * 颜色端点取像素在主轴上的投影极值，Alpha 块使用 8 级插值。
+ */
+final class TextureBlockCompressor {
+
+    private static final int POWER_ITERATIONS = 4;
+
+    private TextureBlockCompressor() {
+    }
+
+    /** 不透明纹理编码为 BC1，含非满 Alpha 的纹理编码为 BC3；已压缩的链原样返回 */
+    static TextureMipChain compress(TextureMipChain chain) {
+        if (chain.format().compressed) {
+            return chain;
+        }
+        int channels = chain.format().unitBytes;
+        boolean opaque = channels == 3 || isOpaque(chain.level(0));
+        TextureMipChain.Format target = opaque ? TextureMipChain.Format.BC1 : TextureMipChain.Format.BC3;
+
+        List<byte[]> levels = new ArrayList<>(chain.levelCount());
+        for (int level = 0; level < chain.levelCount(); level++) {
+            levels.add(compressLevel(chain.level(level), chain.levelWidth(level), chain.levelHeight(level), channels, target));
+        }
+        return new TextureMipChain(target, chain.width(), chain.height(), chain.hasAlpha(), levels);
+    }
+
+    static byte[] compressLevel(byte[] pixels, int width, int height, int channels, TextureMipChain.Format target) {
+        byte[] out = new byte[target.levelBytes(width, height)];
+        int[] block = new int[16 * 4];
+        int blocksX = (width + 3) / 4;
+        int blocksY = (height + 3) / 4;
+        int outOffset = 0;
+        for (int by = 0; by < blocksY; by++) {
+            for (int bx = 0; bx < blocksX; bx++) {
+                fetchBlock(pixels, width, height, channels, bx * 4, by * 4, block);
+                if (target == TextureMipChain.Format.BC3) {
+                    encodeAlphaBlock(block, out, outOffset);
+                    outOffset += 8;
+                }
+                encodeColorBlock(block, out, outOffset);
+                outOffset += 8;
+            }
+        }
+        return out;
+    }
+
+    private static boolean isOpaque(byte[] rgba) {
+        for (int i = 3; i < rgba.length; i += 4) {
+            if (rgba[i] != (byte) 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** 读取 4x4 块，越界像素复制边缘像素 */
+    private static void fetchBlock(byte[] pixels, int width, int height, int channels, int x0, int y0, int[] block) {
+        for (int y = 0; y < 4; y++) {
+            int sy = Math.min(y0 + y, height - 1);
+            for (int x = 0; x < 4; x++) {
+                int sx = Math.min(x0 + x, width - 1);
+                int src = (sy * width + sx) * channels;
+                int dst = (y * 4 + x) * 4;
+                block[dst] = pixels[src] & 0xFF;
+                block[dst + 1] = pixels[src + 1] & 0xFF;
+                block[dst + 2] = pixels[src + 2] & 0xFF;
+                block[dst + 3] = channels == 4 ? pixels[src + 3] & 0xFF : 0xFF;
+            }
+        }
+    }
+
+    private static void encodeColorBlock(int[] block, byte[] out, int offset) {
+        float meanR = 0f;
+        float meanG = 0f;
+        float meanB = 0f;
+        for (int i = 0; i < 16; i++) {
+            meanR += block[i * 4];
+            meanG += block[i * 4 + 1];
+            meanB += block[i * 4 + 2];
+        }
+        meanR /= 16f;
+        meanG /= 16f;
+        meanB /= 16f;
+
+        float crr = 0f, crg = 0f, crb = 0f, cgg = 0f, cgb = 0f, cbb = 0f;
+        for (int i = 0; i < 16; i++) {
+            float r = block[i * 4] - meanR;
+            float g = block[i * 4 + 1] - meanG;
+            float b = block[i * 4 + 2] - meanB;
+            crr += r * r;
+            crg += r * g;
+            crb += r * b;
+            cgg += g * g;
+            cgb += g * b;
+            cbb += b * b;
+        }
+
+        float axisR = 1f;
+        float axisG = 1f;
+        float axisB = 1f;
+        for (int iter = 0; iter < POWER_ITERATIONS; iter++) {
+            float r = crr * axisR + crg * axisG + crb * axisB;
+            float g = crg * axisR + cgg * axisG + cgb * axisB;
+            float b = crb * axisR + cgb * axisG + cbb * axisB;
+            float len = Math.max(Math.abs(r), Math.max(Math.abs(g), Math.abs(b)));
+            if (len < 1e-6f) {
+                break;
+            }
+            axisR = r / len;
+            axisG = g / len;
+            axisB = b / len;
+        }
+
+        int minIndex = 0;
+        int maxIndex = 0;
+        float minProj = Float.MAX_VALUE;
+        float maxProj = -Float.MAX_VALUE;
+        for (int i = 0; i < 16; i++) {
+            float proj = block[i * 4] * axisR + block[i * 4 + 1] * axisG + block[i * 4 + 2] * axisB;
+            if (proj < minProj) {
+                minProj = proj;
+                minIndex = i;
+            }
+            if (proj > maxProj) {
+                maxProj = proj;
+                maxIndex = i;
+            }
+        }
+
+        int c0 = toRgb565(block[maxIndex * 4], block[maxIndex * 4 + 1], block[maxIndex * 4 + 2]);
+        int c1 = toRgb565(block[minIndex * 4], block[minIndex * 4 + 1], block[minIndex * 4 + 2]);
+        if (c0 < c1) {
+            int swap = c0;
+            c0 = c1;
+            c1 = swap;
+        }
+
+        int indices = 0;
+        if (c0 != c1) {
+            int[] palette = new int[4 * 3];
+            expandRgb565(c0, palette, 0);
+            expandRgb565(c1, palette, 3);
+            for (int c = 0; c < 3; c++) {
+                palette[6 + c] = (2 * palette[c] + palette[3 + c] + 1) / 3;
+                palette[9 + c] = (palette[c] + 2 * palette[3 + c] + 1) / 3;
+            }
+            for (int i = 0; i < 16; i++) {
+                int best = 0;
+                int bestDist = Integer.MAX_VALUE;
+                for (int p = 0; p < 4; p++) {
+                    int dr = block[i * 4] - palette[p * 3];
+                    int dg = block[i * 4 + 1] - palette[p * 3 + 1];
+                    int db = block[i * 4 + 2] - palette[p * 3 + 2];
+                    int dist = dr * dr + dg * dg + db * db;
+                    if (dist < bestDist) {
+                        bestDist = dist;
+                        best = p;
+                    }
+                }
+                indices |= best << (i * 2);
+            }
+        }
+
+        out[offset] = (byte) c0;
+        out[offset + 1] = (byte) (c0 >>> 8);
+        out[offset + 2] = (byte) c1;
+        out[offset + 3] = (byte) (c1 >>> 8);
+        out[offset + 4] = (byte) indices;
+        out[offset + 5] = (byte) (indices >>> 8);
+        out[offset + 6] = (byte) (indices >>> 16);
+        out[offset + 7] = (byte) (indices >>> 24);
+    }
+
+    private static void encodeAlphaBlock(int[] block, byte[] out, int offset) {
+        int a0 = 0;
+        int a1 = 255;
+        for (int i = 0; i < 16; i++) {
+            int alpha = block[i * 4 + 3];
+            a0 = Math.max(a0, alpha);
+            a1 = Math.min(a1, alpha);
+        }
+
+        long indices = 0L;
+        if (a0 != a1) {
+            int[] palette = new int[8];
+            palette[0] = a0;
+            palette[1] = a1;
+            for (int p = 1; p < 7; p++) {
+                palette[p + 1] = ((7 - p) * a0 + p * a1 + 3) / 7;
+            }
+            for (int i = 0; i < 16; i++) {
+                int alpha = block[i * 4 + 3];
+                int best = 0;
+                int bestDist = Integer.MAX_VALUE;
+                for (int p = 0; p < 8; p++) {
+                    int dist = Math.abs(alpha - palette[p]);
+                    if (dist < bestDist) {
+                        bestDist = dist;
+                        best = p;
+                    }
+                }
+                indices |= (long) best << (i * 3);
+            }
+        }
+
+        out[offset] = (byte) a0;
+        out[offset + 1] = (byte) a1;
+        for (int i = 0; i < 6; i++) {
+            out[offset + 2 + i] = (byte) (indices >>> (i * 8));
+        }
+    }
+
+    static int toRgb565(int r, int g, int b) {
+        return ((r * 31 + 127) / 255) << 11 | ((g * 63 + 127) / 255) << 5 | ((b * 31 + 127) / 255);
+    }
+
+    static void expandRgb565(int color, int[] out, int offset) {
+        int r = (color >>> 11) & 0x1F;
+        int g = (color >>> 5) & 0x3F;
+        int b = color & 0x1F;
+        out[offset] = (r << 3) | (r >>> 2);
+        out[offset + 1] = (g << 2) | (g >>> 4);
+        out[offset + 2] = (b << 3) | (b >>> 2);
+    }
+}
@@ -0,0 +1,238 @@
+package com.shiroha.mmdskin.texture.runtime;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 文件职责：按源文件路径、大小与修改时间在磁盘上缓存解码后的 mip 链。
+ * 键只需读取文件属性，可在渲染线程上计算；命中时直接读取像素或 BC 块数据，跳过图片解码；写入在后台线程原子完成。
+ */
+final class TextureDiskCache {
+    private static final Logger logger = LogManager.getLogger();
+
+    static final String EXTENSION = ".mmdtex";
+    private static final int MAGIC = 0x4D4D4454;
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path root;
+    private final ExecutorService writer;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    TextureDiskCache(Path root) {
+        this.root = root;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "MMD-TextureCacheWriter");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /** 由源文件绝对路径、大小与修改时间得到的 SHA-1 十六进制键，文件不存在或读取属性失败时返回 null */
+    static String sourceKey(Path source) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+            String identity = source.toAbsolutePath().normalize() + "|" + attributes.size()
+                    + "|" + attributes.lastModifiedTime().toMillis();
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(digest.digest(identity.getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            logger.debug("读取纹理源文件属性失败: {}", source, e);
+            return null;
+        }
+    }
+
+    /** 读取缓存条目；不存在或损坏时返回 null，损坏文件会被删除 */
+    TextureMipChain load(String key, boolean compressed) {
+        TextureMipChain chain = reload(key, compressed);
+        (chain != null ? hits : misses).incrementAndGet();
+        return chain;
+    }
+
+    /** 供纹理流送重新读取完整 mip 链，不计入命中统计 */
+    TextureMipChain reload(String key, boolean compressed) {
+        Path file = entryPath(key, compressed);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            TextureMipChain chain = read(in);
+            touch(file);
+            return chain;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("纹理缓存条目无效，将重新生成: {}", file.getFileName(), e);
+            deleteQuietly(file);
+            return null;
+        }
+    }
+
+    /** 在后台线程写入缓存；compressed 为 true 且链尚未压缩时先做块压缩 */
+    void storeAsync(String key, TextureMipChain chain, boolean compressed) {
+        writer.execute(() -> {
+            try {
+                TextureMipChain output = compressed ? TextureBlockCompressor.compress(chain) : chain;
+                store(key, output, compressed);
+            } catch (RuntimeException e) {
+                logger.warn("写入纹理缓存失败: {}", key, e);
+            }
+        });
+    }
+
+    void store(String key, TextureMipChain chain, boolean compressed) {
+        Path file = entryPath(key, compressed);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(root);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                write(out, chain);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("写入纹理缓存失败: {}", file.getFileName(), e);
+            deleteQuietly(tmp);
+        }
+    }
+
+    /** 在后台线程按最近使用时间淘汰条目，使目录总大小不超过 maxBytes */
+    void trimAsync(long maxBytes) {
+        writer.execute(() -> trim(maxBytes));
+    }
+
+    void trim(long maxBytes) {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        List<CacheFile> files = new ArrayList<>();
+        long total = 0L;
+        try (Stream<Path> stream = Files.list(root)) {
+            for (Path path : (Iterable<Path>) stream::iterator) {
+                if (!path.getFileName().toString().endsWith(EXTENSION)) {
+                    continue;
+                }
+                long size = Files.size(path);
+                files.add(new CacheFile(path, Files.getLastModifiedTime(path).toMillis(), size));
+                total += size;
+            }
+        } catch (IOException e) {
+            logger.warn("扫描纹理缓存目录失败: {}", root, e);
+            return;
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+
+        files.sort(Comparator.comparingLong(CacheFile::lastModified));
+        int removed = 0;
+        for (CacheFile file : files) {
+            if (total <= maxBytes) {
+                break;
+            }
+            deleteQuietly(file.path());
+            total -= file.size();
+            removed++;
+        }
+        logger.info("纹理缓存超出上限，已淘汰 {} 个条目", removed);
+    }
+
+    long hitCount() {
+        return hits.get();
+    }
+
+    long missCount() {
+        return misses.get();
+    }
+
+    Path entryPath(String key, boolean compressed) {
+        return root.resolve(key + (compressed ? ".bc" : ".raw") + EXTENSION);
+    }
+
+    static void write(DataOutputStream out, TextureMipChain chain) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeByte(chain.format().ordinal());
+        out.writeBoolean(chain.hasAlpha());
+        out.writeInt(chain.width());
+        out.writeInt(chain.height());
+        out.writeInt(chain.levelCount());
+        for (int level = 0; level < chain.levelCount(); level++) {
+            byte[] data = chain.level(level);
+            out.writeInt(data.length);
+            out.write(data);
+        }
+    }
+
+    static TextureMipChain read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("纹理缓存魔数不匹配");
+        }
+        if (in.readInt() != FORMAT_VERSION) {
+            throw new IOException("纹理缓存版本不匹配");
+        }
+        int formatIndex = in.readUnsignedByte();
+        TextureMipChain.Format[] formats = TextureMipChain.Format.values();
+        if (formatIndex >= formats.length) {
+            throw new IOException("未知纹理格式: " + formatIndex);
+        }
+        TextureMipChain.Format format = formats[formatIndex];
+        boolean hasAlpha = in.readBoolean();
+        int width = in.readInt();
+        int height = in.readInt();
+        int levelCount = in.readInt();
+        if (width <= 0 || height <= 0 || levelCount <= 0 || levelCount > TextureMipChain.mipLevelCount(width, height)) {
+            throw new IOException("纹理缓存尺寸无效: " + width + "x" + height + " levels=" + levelCount);
+        }
+
+        List<byte[]> levels = new ArrayList<>(levelCount);
+        for (int level = 0; level < levelCount; level++) {
+            int expected = format.levelBytes(TextureMipChain.levelWidth(width, level), TextureMipChain.levelHeight(height, level));
+            int length = in.readInt();
+            if (length != expected) {
+                throw new IOException("纹理缓存层级大小不匹配: " + length + " != " + expected);
+            }
+            byte[] data = new byte[length];
+            in.readFully(data);
+            levels.add(data);
+        }
+        return new TextureMipChain(format, width, height, hasAlpha, levels);
+    }
+
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private record CacheFile(Path path, long lastModified, long size) {
+    }
+}
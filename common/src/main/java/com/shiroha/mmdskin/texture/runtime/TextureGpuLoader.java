@@ -2,6 +2,7 @@ package com.shiroha.mmdskin.texture.runtime;
 
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.shiroha.mmdskin.bridge.runtime.NativeTexturePort;
+import org.lwjgl.opengl.GL;
 import org.lwjgl.opengl.GL46C;
 import org.lwjgl.system.MemoryUtil;
 
@@ -59,7 +60,47 @@ final class TextureGpuLoader {
         }
     }
 
+    /** 解码并拷贝到堆内存，生成完整 mip 链，供磁盘缓存与块压缩使用 */
+    static TextureMipChain decodeMipChain(String filename, NativeTexturePort port) {
+        long handle = port.loadTexture(filename);
+        if (handle == 0) return null;
+        ByteBuffer buf = null;
+        try {
+            int width = port.textureWidth(handle);
+            int height = port.textureHeight(handle);
+            if (width <= 0 || height <= 0) return null;
+            long dataAddr = port.textureData(handle);
+            boolean hasAlpha = port.textureHasAlpha(handle);
+            int size = width * height * (hasAlpha ? 4 : 3);
+            buf = MemoryUtil.memAlloc(size);
+            port.copyTextureData(buf, dataAddr, size);
+            buf.rewind();
+            byte[] pixels = new byte[size];
+            buf.get(pixels);
+            return TextureMipChain.fromPixels(pixels, width, height, hasAlpha);
+        } finally {
+            if (buf != null) MemoryUtil.memFree(buf);
+            port.deleteTexture(handle);
+        }
+    }
+
+    /** 检测当前上下文是否支持 S3TC（BC1/BC3）纹理，须在渲染线程调用 */
+    static boolean detectBlockCompression() {
+        try {
+            return GL.getCapabilities().GL_EXT_texture_compression_s3tc;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
     static TextureRepository.Texture uploadPredecoded(TextureRepository.PredecodedTexture pre) {
+        if (pre.mipChain() != null) {
+            try {
+                return uploadMipChain(pre.mipChain());
+            } finally {
+                pre.release();
+            }
+        }
         int texId = GL46C.glGenTextures();
         try {
             GL46C.glBindTexture(GL46C.GL_TEXTURE_2D, texId);
@@ -74,6 +115,59 @@ final class TextureGpuLoader {
         }
     }
 
+    static TextureRepository.Texture uploadMipChain(TextureMipChain chain) {
+        return uploadMipChain(chain, 0);
+    }
+
+    /** 从 baseLevel 开始上传，较高分辨率层级不占用显存 */
+    static TextureRepository.Texture uploadMipChain(TextureMipChain chain, int baseLevel) {
+        int texId = GL46C.glGenTextures();
+        try {
+            TextureRepository.Texture t = new TextureRepository.Texture();
+            t.tex = texId;
+            t.hasAlpha = chain.hasAlpha();
+            t.vramSize = uploadLevels(texId, chain, baseLevel);
+            return t;
+        } catch (RuntimeException | Error e) {
+            deleteGlTexture(texId);
+            throw e;
+        }
+    }
+
+    /** 在同一纹理对象上按新的基准层级重建 mip 链，材质持有的纹理 ID 保持不变 */
+    static long respecify(int texId, TextureMipChain chain, int baseLevel) {
+        return uploadLevels(texId, chain, baseLevel);
+    }
+
+    private static long uploadLevels(int texId, TextureMipChain chain, int baseLevel) {
+        ByteBuffer staging = MemoryUtil.memAlloc(chain.level(baseLevel).length);
+        try {
+            GL46C.glBindTexture(GL46C.GL_TEXTURE_2D, texId);
+            TextureMipChain.Format format = chain.format();
+            GL46C.glPixelStorei(GL46C.GL_UNPACK_ALIGNMENT, format == TextureMipChain.Format.RGBA8 ? 4 : 1);
+            long bytes = 0L;
+            for (int level = baseLevel; level < chain.levelCount(); level++) {
+                byte[] data = chain.level(level);
+                staging.clear();
+                staging.put(data).flip();
+                int w = chain.levelWidth(level);
+                int h = chain.levelHeight(level);
+                int target = level - baseLevel;
+                if (format.compressed) {
+                    GL46C.glCompressedTexImage2D(GL46C.GL_TEXTURE_2D, target, format.glInternalFormat(), w, h, 0, staging);
+                } else {
+                    int glFormat = format == TextureMipChain.Format.RGBA8 ? GL46C.GL_RGBA : GL46C.GL_RGB;
+                    GL46C.glTexImage2D(GL46C.GL_TEXTURE_2D, target, glFormat, w, h, 0, glFormat, GL46C.GL_UNSIGNED_BYTE, staging);
+                }
+                bytes += data.length;
+            }
+            configureTexture(chain.levelCount() - baseLevel);
+            return bytes;
+        } finally {
+            MemoryUtil.memFree(staging);
+        }
+    }
+
     static void deleteGlTexture(TextureRepository.Texture tex) {
         if (tex != null) {
             deleteGlTexture(tex.tex);
@@ -101,8 +195,13 @@ final class TextureGpuLoader {
     }
 
     private static void configureTexture() {
-        GL46C.glTexParameteri(GL46C.GL_TEXTURE_2D, GL46C.GL_TEXTURE_MAX_LEVEL, 0);
-        GL46C.glTexParameteri(GL46C.GL_TEXTURE_2D, GL46C.GL_TEXTURE_MIN_FILTER, GL46C.GL_LINEAR);
+        configureTexture(1);
+    }
+
+    private static void configureTexture(int levelCount) {
+        GL46C.glTexParameteri(GL46C.GL_TEXTURE_2D, GL46C.GL_TEXTURE_MAX_LEVEL, levelCount - 1);
+        GL46C.glTexParameteri(GL46C.GL_TEXTURE_2D, GL46C.GL_TEXTURE_MIN_FILTER,
+                levelCount > 1 ? GL46C.GL_LINEAR_MIPMAP_LINEAR : GL46C.GL_LINEAR);
         GL46C.glTexParameteri(GL46C.GL_TEXTURE_2D, GL46C.GL_TEXTURE_MAG_FILTER, GL46C.GL_LINEAR);
         GL46C.glBindTexture(GL46C.GL_TEXTURE_2D, 0);
     }
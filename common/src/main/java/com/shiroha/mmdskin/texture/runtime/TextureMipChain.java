@@ -0,0 +1,157 @@
+package com.shiroha.mmdskin.texture.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** 文件职责：描述一张纹理的完整 mip 链像素数据，并提供 CPU 侧盒式滤波生成。 */
+final class TextureMipChain {
+
+    enum Format {
+        RGB8(false, 3),
+        RGBA8(false, 4),
+        BC1(true, 8),
+        BC3(true, 16);
+
+        /** 块压缩格式内部格式（EXT_texture_compression_s3tc） */
+        static final int GL_COMPRESSED_RGB_S3TC_DXT1 = 0x83F0;
+        static final int GL_COMPRESSED_RGBA_S3TC_DXT5 = 0x83F3;
+
+        final boolean compressed;
+
+        /** 非压缩格式为每像素字节数，压缩格式为每 4x4 块字节数 */
+        final int unitBytes;
+
+        Format(boolean compressed, int unitBytes) {
+            this.compressed = compressed;
+            this.unitBytes = unitBytes;
+        }
+
+        int levelBytes(int width, int height) {
+            if (!compressed) {
+                return width * height * unitBytes;
+            }
+            return ((width + 3) / 4) * ((height + 3) / 4) * unitBytes;
+        }
+
+        int glInternalFormat() {
+            return this == BC1 ? GL_COMPRESSED_RGB_S3TC_DXT1 : GL_COMPRESSED_RGBA_S3TC_DXT5;
+        }
+    }
+
+    private final Format format;
+    private final int width;
+    private final int height;
+    private final boolean hasAlpha;
+    private final List<byte[]> levels;
+
+    TextureMipChain(Format format, int width, int height, boolean hasAlpha, List<byte[]> levels) {
+        if (levels.isEmpty()) {
+            throw new IllegalArgumentException("mip 链不能为空");
+        }
+        for (int level = 0; level < levels.size(); level++) {
+            int expected = format.levelBytes(levelWidth(width, level), levelHeight(height, level));
+            if (levels.get(level).length != expected) {
+                throw new IllegalArgumentException("mip 层级 " + level + " 大小不匹配: " + levels.get(level).length + " != " + expected);
+            }
+        }
+        this.format = format;
+        this.width = width;
+        this.height = height;
+        this.hasAlpha = hasAlpha;
+        this.levels = List.copyOf(levels);
+    }
+
+    /** 由基础层像素生成完整 mip 链（直到 1x1），每级使用 2x2 盒式滤波 */
+    static TextureMipChain fromPixels(byte[] basePixels, int width, int height, boolean hasAlpha) {
+        Format format = hasAlpha ? Format.RGBA8 : Format.RGB8;
+        int channels = format.unitBytes;
+        List<byte[]> levels = new ArrayList<>(mipLevelCount(width, height));
+        levels.add(basePixels);
+
+        byte[] src = basePixels;
+        int srcW = width;
+        int srcH = height;
+        while (srcW > 1 || srcH > 1) {
+            int dstW = Math.max(1, srcW >> 1);
+            int dstH = Math.max(1, srcH >> 1);
+            byte[] dst = new byte[dstW * dstH * channels];
+            for (int y = 0; y < dstH; y++) {
+                int y0 = Math.min(y * 2, srcH - 1);
+                int y1 = Math.min(y * 2 + 1, srcH - 1);
+                for (int x = 0; x < dstW; x++) {
+                    int x0 = Math.min(x * 2, srcW - 1);
+                    int x1 = Math.min(x * 2 + 1, srcW - 1);
+                    int p00 = (y0 * srcW + x0) * channels;
+                    int p01 = (y0 * srcW + x1) * channels;
+                    int p10 = (y1 * srcW + x0) * channels;
+                    int p11 = (y1 * srcW + x1) * channels;
+                    int out = (y * dstW + x) * channels;
+                    for (int c = 0; c < channels; c++) {
+                        int sum = (src[p00 + c] & 0xFF) + (src[p01 + c] & 0xFF)
+                                + (src[p10 + c] & 0xFF) + (src[p11 + c] & 0xFF);
+                        dst[out + c] = (byte) ((sum + 2) >> 2);
+                    }
+                }
+            }
+            levels.add(dst);
+            src = dst;
+            srcW = dstW;
+            srcH = dstH;
+        }
+        return new TextureMipChain(format, width, height, hasAlpha, levels);
+    }
+
+    static int mipLevelCount(int width, int height) {
+        int size = Math.max(1, Math.max(width, height));
+        return 32 - Integer.numberOfLeadingZeros(size);
+    }
+
+    static int levelWidth(int baseWidth, int level) {
+        return Math.max(1, baseWidth >> level);
+    }
+
+    static int levelHeight(int baseHeight, int level) {
+        return Math.max(1, baseHeight >> level);
+    }
+
+    Format format() {
+        return format;
+    }
+
+    int width() {
+        return width;
+    }
+
+    int height() {
+        return height;
+    }
+
+    boolean hasAlpha() {
+        return hasAlpha;
+    }
+
+    int levelCount() {
+        return levels.size();
+    }
+
+    int levelWidth(int level) {
+        return levelWidth(width, level);
+    }
+
+    int levelHeight(int level) {
+        return levelHeight(height, level);
+    }
+
+    byte[] level(int level) {
+        return levels.get(level);
+    }
+
+    /** 所有层级合计字节数，即上传后占用的显存估算 */
+    long totalBytes() {
+        long total = 0L;
+        for (byte[] level : levels) {
+            total += level.length;
+        }
+        return total;
+    }
+}
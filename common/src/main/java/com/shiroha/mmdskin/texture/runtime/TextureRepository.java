@@ -1,7 +1,9 @@
 package com.shiroha.mmdskin.texture.runtime;
 
 import com.shiroha.mmdskin.bridge.runtime.NativeTexturePort;
+import com.shiroha.mmdskin.config.ConfigManager;
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -24,11 +26,15 @@ public class TextureRepository {
     private static volatile Map<String, TextureSlot> textureSlots;
     private static volatile NativeTexturePort texturePort = NOOP_TEXTURE_PORT;
     private static volatile VramBudgetManager budgetManager;
+    private static volatile TextureDiskCache diskCache;
+    private static volatile TextureStreamer streamer;
+    private static volatile boolean blockCompressionSupported;
     private static final AtomicInteger activeTextureCount = new AtomicInteger();
 
     public static void Init() {
         textureSlots = new ConcurrentHashMap<>();
         budgetManager = new VramBudgetManager();
+        streamer = new TextureStreamer();
         activeTextureCount.set(0);
     }
 
@@ -36,6 +42,14 @@ public class TextureRepository {
         TextureRepository.texturePort = port != null ? port : NOOP_TEXTURE_PORT;
     }
 
+    /** 启用磁盘纹理缓存，须在渲染线程调用以检测块压缩支持 */
+    public static void configureDiskCache(Path cacheDir) {
+        blockCompressionSupported = TextureGpuLoader.detectBlockCompression();
+        TextureDiskCache cache = new TextureDiskCache(cacheDir);
+        cache.trimAsync(ConfigManager.getTextureDiskCacheLimitMB() * 1024L * 1024L);
+        diskCache = cache;
+    }
+
     public static void preloadTexture(String filename) {
         Map<String, TextureSlot> localSlots = textureSlots;
         if (localSlots == null) return;
@@ -51,7 +65,7 @@ public class TextureRepository {
                 } else if (slot.texture != null || slot.predecoded != null) {
                     return;
                 } else {
-                    slot.predecoded = TextureGpuLoader.decode(filename, texturePort);
+                    slot.predecoded = decodeForPreload(filename);
                     if (slot.predecoded != null) {
                         slot.retired = false;
                         return;
@@ -102,14 +116,14 @@ public class TextureRepository {
                 PredecodedTexture predecoded = slot.predecoded;
                 if (predecoded != null) {
                     slot.predecoded = null;
-                    Texture uploaded = TextureGpuLoader.uploadPredecoded(predecoded);
+                    Texture uploaded = uploadPredecoded(predecoded);
                     slot.texture = uploaded;
                     slot.retired = false;
                     activeTextureCount.incrementAndGet();
                     return uploaded;
                 }
 
-                Texture loaded = TextureGpuLoader.loadToGpu(filename, texturePort);
+                Texture loaded = loadToGpu(filename);
                 if (loaded != null) {
                     slot.texture = loaded;
                     slot.retired = false;
@@ -162,6 +176,25 @@ public class TextureRepository {
     public static void tick() {
         VramBudgetManager bm = budgetManager;
         if (bm != null) bm.tick(textureSlots, activeTextureCount);
+        TextureStreamer localStreamer = streamer;
+        if (localStreamer != null) {
+            localStreamer.tick(textureSlots, bm, activeDiskCache(), ConfigManager.isTextureStreamingEnabled(),
+                    ConfigManager.getTextureVramBudgetMB() * 1024L * 1024L);
+        }
+    }
+
+    /** 渲染时登记纹理使用者到相机的平方距离，下一 tick 据此调整常驻层级 */
+    public static void requestResidency(List<String> filenames, double distanceSq) {
+        Map<String, TextureSlot> localSlots = textureSlots;
+        if (filenames == null || localSlots == null) return;
+        for (String filename : filenames) {
+            TextureSlot slot = localSlots.get(filename);
+            if (slot == null) continue;
+            synchronized (slot) {
+                Texture texture = slot.texture;
+                if (texture != null && texture.stream != null) texture.stream.request(distanceSq);
+            }
+        }
     }
 
     public static void Cleanup() {
@@ -221,6 +254,101 @@ public class TextureRepository {
         return bm != null ? bm.getPendingReleaseVram() : 0L;
     }
 
+    /** 流送统计：实际常驻（活跃 + 待释放）字节数 */
+    public static long getResidentTextureBytes() {
+        TextureStreamer localStreamer = streamer;
+        return localStreamer != null ? localStreamer.residentBytes() : 0L;
+    }
+
+    /** 流送统计：按当前距离期望常驻的活跃纹理字节数（不受预算约束） */
+    public static long getRequestedTextureBytes() {
+        TextureStreamer localStreamer = streamer;
+        return localStreamer != null ? localStreamer.requestedBytes() : 0L;
+    }
+
+    public static long getDiskCacheHitCount() {
+        TextureDiskCache cache = diskCache;
+        return cache != null ? cache.hitCount() : 0L;
+    }
+
+    public static long getDiskCacheMissCount() {
+        TextureDiskCache cache = diskCache;
+        return cache != null ? cache.missCount() : 0L;
+    }
+
+    private static TextureDiskCache activeDiskCache() {
+        TextureDiskCache cache = diskCache;
+        return cache != null && ConfigManager.isTextureDiskCacheEnabled() ? cache : null;
+    }
+
+    private static boolean shouldCompress() {
+        return blockCompressionSupported && ConfigManager.isTextureCompressionEnabled();
+    }
+
+    /** 工作线程预解码：优先读取磁盘缓存，未命中时解码、生成 mip 并按需块压缩后回写 */
+    private static PredecodedTexture decodeForPreload(String filename) {
+        TextureDiskCache cache = activeDiskCache();
+        String key = cache != null ? TextureDiskCache.sourceKey(Path.of(filename)) : null;
+        if (key == null) {
+            return TextureGpuLoader.decode(filename, texturePort);
+        }
+
+        boolean compress = shouldCompress();
+        TextureMipChain chain = cache.load(key, compress);
+        if (chain == null) {
+            chain = TextureGpuLoader.decodeMipChain(filename, texturePort);
+            if (chain == null) return null;
+            if (compress) chain = TextureBlockCompressor.compress(chain);
+            cache.storeAsync(key, chain, compress);
+        }
+        PredecodedTexture predecoded = new PredecodedTexture(chain);
+        predecoded.cacheKey = key;
+        predecoded.cacheCompressed = compress;
+        return predecoded;
+    }
+
+    private static Texture uploadPredecoded(PredecodedTexture predecoded) {
+        TextureMipChain chain = predecoded.mipChain();
+        if (chain == null || predecoded.cacheKey == null) {
+            return TextureGpuLoader.uploadPredecoded(predecoded);
+        }
+        try {
+            return uploadMipChain(chain, predecoded.cacheKey, predecoded.cacheCompressed);
+        } finally {
+            predecoded.release();
+        }
+    }
+
+    /** 开启流送时先以低分辨率层级常驻，之后由 TextureStreamer 按距离升级 */
+    private static Texture uploadMipChain(TextureMipChain chain, String cacheKey, boolean cacheCompressed) {
+        if (!ConfigManager.isTextureStreamingEnabled() || chain.levelCount() <= 1) {
+            return TextureGpuLoader.uploadMipChain(chain);
+        }
+        TextureStreamState state = new TextureStreamState(cacheKey, cacheCompressed, chain,
+                TextureStreamer.MIN_RESIDENT_SIZE, TextureStreamer.initialBaseLevel(chain));
+        Texture texture = TextureGpuLoader.uploadMipChain(chain, state.residentBaseLevel);
+        texture.stream = state;
+        return texture;
+    }
+
+    /** 渲染线程同步加载：缓存未命中时上传未压缩 mip 链，块压缩交给后台写入线程 */
+    private static Texture loadToGpu(String filename) {
+        TextureDiskCache cache = activeDiskCache();
+        String key = cache != null ? TextureDiskCache.sourceKey(Path.of(filename)) : null;
+        if (key == null) {
+            return TextureGpuLoader.loadToGpu(filename, texturePort);
+        }
+
+        boolean compress = shouldCompress();
+        TextureMipChain chain = cache.load(key, compress);
+        if (chain == null) {
+            chain = TextureGpuLoader.decodeMipChain(filename, texturePort);
+            if (chain == null) return null;
+            cache.storeAsync(key, chain, compress);
+        }
+        return uploadMipChain(chain, key, compress);
+    }
+
     private static void clearSlot(TextureSlot slot) {
         Texture texture = slot.texture;
         VramBudgetManager bm = budgetManager;
@@ -251,6 +379,7 @@ public class TextureRepository {
         public long vramSize;
         final AtomicInteger refCount = new AtomicInteger(0);
         volatile long lastReleaseTime;
+        TextureStreamState stream;
     }
 
     static final class TextureSlot {
@@ -263,6 +392,9 @@ public class TextureRepository {
 
     static final class PredecodedTexture {
         private ByteBuffer pixelData;
+        private TextureMipChain mipChain;
+        String cacheKey;
+        boolean cacheCompressed;
         final int width;
         final int height;
         final boolean hasAlpha;
@@ -274,13 +406,23 @@ public class TextureRepository {
             this.hasAlpha = hasAlpha;
         }
 
+        PredecodedTexture(TextureMipChain mipChain) {
+            this.mipChain = mipChain;
+            this.width = mipChain.width();
+            this.height = mipChain.height();
+            this.hasAlpha = mipChain.hasAlpha();
+        }
+
         ByteBuffer pixelData() { return pixelData; }
 
+        TextureMipChain mipChain() { return mipChain; }
+
         void release() {
             if (pixelData != null) {
                 MemoryUtil.memFree(pixelData);
                 pixelData = null;
             }
+            mipChain = null;
         }
     }
 }
@@ -0,0 +1,73 @@
+package com.shiroha.mmdskin.texture.runtime;
+
+import java.util.concurrent.CompletableFuture;
+
+/** 文件职责：记录单张流送纹理的常驻 mip 层级、距离请求与重载状态。 */
+final class TextureStreamState {
+
+    final String cacheKey;
+    final boolean cacheCompressed;
+    final int baseWidth;
+    final int baseHeight;
+
+    /** 完整 mip 链各层字节数；磁盘条目格式变化（如后台压缩完成）后会被刷新 */
+    long[] levelBytes;
+
+    /** 允许降到的最高基准层级，保证常驻纹理不小于最小尺寸 */
+    final int maxBaseLevel;
+
+    int residentBaseLevel;
+    int targetBaseLevel;
+    int downgradeTicks;
+
+    /** 两次 tick 之间渲染请求的最近平方距离 */
+    double nearestRequestSq = Double.POSITIVE_INFINITY;
+    double lastDistanceSq = Double.POSITIVE_INFINITY;
+    long lastRequestTick;
+
+    CompletableFuture<TextureMipChain> pendingLoad;
+    long retryAfterTick;
+
+    TextureStreamState(String cacheKey, boolean cacheCompressed, TextureMipChain chain, int minResidentSize, int residentBaseLevel) {
+        this.cacheKey = cacheKey;
+        this.cacheCompressed = cacheCompressed;
+        this.baseWidth = chain.width();
+        this.baseHeight = chain.height();
+        this.levelBytes = levelBytesOf(chain);
+        this.maxBaseLevel = maxBaseLevel(chain.width(), chain.height(), chain.levelCount(), minResidentSize);
+        this.residentBaseLevel = Math.min(residentBaseLevel, maxBaseLevel);
+        this.targetBaseLevel = this.residentBaseLevel;
+    }
+
+    static int maxBaseLevel(int width, int height, int levelCount, int minResidentSize) {
+        int level = 0;
+        while (level + 1 < levelCount
+                && Math.max(TextureMipChain.levelWidth(width, level + 1), TextureMipChain.levelHeight(height, level + 1)) >= minResidentSize) {
+            level++;
+        }
+        return level;
+    }
+
+    static long[] levelBytesOf(TextureMipChain chain) {
+        long[] bytes = new long[chain.levelCount()];
+        for (int level = 0; level < bytes.length; level++) {
+            bytes[level] = chain.level(level).length;
+        }
+        return bytes;
+    }
+
+    /** 从指定基准层级开始常驻时占用的字节数 */
+    long bytesFrom(int baseLevel) {
+        long total = 0L;
+        for (int level = Math.max(0, baseLevel); level < levelBytes.length; level++) {
+            total += levelBytes[level];
+        }
+        return total;
+    }
+
+    void request(double distanceSq) {
+        if (distanceSq < nearestRequestSq) {
+            nearestRequestSq = distanceSq;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.shiroha.mmdskin.texture.runtime;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 文件职责：按模型到相机的距离决定纹理常驻 mip 层级，并执行全局显存硬预算。
+ * 远处纹理只保留低分辨率层级，靠近时从磁盘缓存重新读取完整链并原地重建。
+ */
+final class TextureStreamer {
+    private static final Logger logger = LogManager.getLogger();
+
+    /** 该距离（格）以内使用完整分辨率，之后距离每翻倍降低一级 */
+    static final double FULL_DETAIL_DISTANCE = 12.0d;
+    static final int MIN_RESIDENT_SIZE = 64;
+    static final int INITIAL_RESIDENT_SIZE = 256;
+
+    private static final int DOWNGRADE_DELAY_TICKS = 40;
+    private static final int STALE_REQUEST_TICKS = 100;
+    private static final int RETRY_DELAY_TICKS = 20;
+    private static final int MAX_INFLIGHT_LOADS = 4;
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "MMD-TextureStreamer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long tickIndex;
+    private volatile long residentBytes;
+    private volatile long requestedBytes;
+
+    /** 首次上传时的基准层级：最长边不超过 INITIAL_RESIDENT_SIZE */
+    static int initialBaseLevel(TextureMipChain chain) {
+        int level = 0;
+        while (level + 1 < chain.levelCount()
+                && Math.max(chain.levelWidth(level), chain.levelHeight(level)) > INITIAL_RESIDENT_SIZE) {
+            level++;
+        }
+        return level;
+    }
+
+    static int desiredBaseLevel(double distanceSq, int maxBaseLevel) {
+        if (distanceSq <= FULL_DETAIL_DISTANCE * FULL_DETAIL_DISTANCE) {
+            return 0;
+        }
+        if (Double.isInfinite(distanceSq)) {
+            return maxBaseLevel;
+        }
+        double ratio = Math.sqrt(distanceSq) / FULL_DETAIL_DISTANCE;
+        int level = (int) Math.ceil(Math.log(ratio) / Math.log(2.0d));
+        return Math.min(Math.max(level, 0), maxBaseLevel);
+    }
+
+    /**
+     * 预算不足时从最远的纹理开始逐级提高基准层级。
+     * @return 规划后的总字节数（含 fixedBytes）
+     */
+    static long planTargets(List<TextureStreamState> states, long budgetBytes, long fixedBytes) {
+        long total = fixedBytes;
+        for (TextureStreamState state : states) {
+            total += state.bytesFrom(state.targetBaseLevel);
+        }
+        if (budgetBytes <= 0L || total <= budgetBytes) {
+            return total;
+        }
+
+        PriorityQueue<TextureStreamState> farthestFirst = new PriorityQueue<>(
+                Comparator.comparingDouble((TextureStreamState s) -> s.lastDistanceSq).reversed());
+        for (TextureStreamState state : states) {
+            if (state.targetBaseLevel < state.maxBaseLevel) {
+                farthestFirst.add(state);
+            }
+        }
+        while (total > budgetBytes && !farthestFirst.isEmpty()) {
+            TextureStreamState state = farthestFirst.poll();
+            long before = state.bytesFrom(state.targetBaseLevel);
+            state.targetBaseLevel++;
+            total -= before - state.bytesFrom(state.targetBaseLevel);
+            if (state.targetBaseLevel < state.maxBaseLevel) {
+                farthestFirst.add(state);
+            }
+        }
+        return total;
+    }
+
+    void tick(Map<String, TextureRepository.TextureSlot> slots, VramBudgetManager budgetManager,
+              TextureDiskCache diskCache, boolean streaming, long budgetBytes) {
+        tickIndex++;
+        if (slots == null) {
+            return;
+        }
+
+        List<Streamed> streamed = new ArrayList<>();
+        long fixedActive = 0L;
+        for (TextureRepository.TextureSlot slot : slots.values()) {
+            synchronized (slot) {
+                TextureRepository.Texture texture = slot.texture;
+                if (texture == null || slot.pending) {
+                    continue;
+                }
+                if (texture.stream != null) {
+                    streamed.add(new Streamed(texture, texture.stream));
+                } else {
+                    fixedActive += texture.vramSize;
+                }
+            }
+        }
+
+        long requested = fixedActive;
+        List<TextureStreamState> states = new ArrayList<>(streamed.size());
+        for (Streamed entry : streamed) {
+            requested += entry.state().bytesFrom(updateTarget(entry.state(), streaming));
+            states.add(entry.state());
+        }
+
+        long projected = planTargets(states, 0L, fixedActive);
+        long pending = budgetManager != null ? budgetManager.getPendingReleaseVram() : 0L;
+        if (budgetManager != null && budgetBytes > 0L && projected + pending > budgetBytes) {
+            budgetManager.evictPending(slots, projected + pending - budgetBytes);
+            pending = budgetManager.getPendingReleaseVram();
+        }
+        if (streaming) {
+            planTargets(states, budgetBytes, fixedActive + pending);
+        }
+
+        applyTargets(streamed, diskCache);
+
+        long resident = fixedActive + pending;
+        for (Streamed entry : streamed) {
+            resident += entry.texture().vramSize;
+        }
+        residentBytes = resident;
+        requestedBytes = requested;
+    }
+
+    long residentBytes() {
+        return residentBytes;
+    }
+
+    long requestedBytes() {
+        return requestedBytes;
+    }
+
+    /** 消费本 tick 的距离请求并按迟滞规则设置目标层级，返回不受预算约束的期望层级 */
+    private int updateTarget(TextureStreamState state, boolean streaming) {
+        if (Double.isFinite(state.nearestRequestSq)) {
+            state.lastDistanceSq = state.nearestRequestSq;
+            state.lastRequestTick = tickIndex;
+        } else if (tickIndex - state.lastRequestTick > STALE_REQUEST_TICKS) {
+            state.lastDistanceSq = Double.POSITIVE_INFINITY;
+        }
+        state.nearestRequestSq = Double.POSITIVE_INFINITY;
+
+        int desired = streaming ? desiredBaseLevel(state.lastDistanceSq, state.maxBaseLevel) : 0;
+        if (desired < state.residentBaseLevel) {
+            state.downgradeTicks = 0;
+            state.targetBaseLevel = desired;
+        } else if (desired > state.residentBaseLevel) {
+            state.downgradeTicks++;
+            state.targetBaseLevel = state.downgradeTicks >= DOWNGRADE_DELAY_TICKS ? desired : state.residentBaseLevel;
+        } else {
+            state.downgradeTicks = 0;
+            state.targetBaseLevel = state.residentBaseLevel;
+        }
+        return desired;
+    }
+
+    private void applyTargets(List<Streamed> streamed, TextureDiskCache diskCache) {
+        streamed.sort(Comparator.comparingDouble(entry -> entry.state().lastDistanceSq));
+        int inflight = 0;
+        for (Streamed entry : streamed) {
+            if (entry.state().pendingLoad != null) {
+                inflight++;
+            }
+        }
+
+        for (Streamed entry : streamed) {
+            TextureStreamState state = entry.state();
+            if (state.pendingLoad != null) {
+                if (!state.pendingLoad.isDone()) {
+                    continue;
+                }
+                TextureMipChain chain = state.pendingLoad.exceptionally(e -> null).join();
+                state.pendingLoad = null;
+                inflight--;
+                if (chain == null) {
+                    state.retryAfterTick = tickIndex + RETRY_DELAY_TICKS;
+                } else if (state.targetBaseLevel != state.residentBaseLevel) {
+                    respecify(entry.texture(), state, chain);
+                }
+                continue;
+            }
+
+            if (state.targetBaseLevel == state.residentBaseLevel || diskCache == null
+                    || tickIndex < state.retryAfterTick || inflight >= MAX_INFLIGHT_LOADS) {
+                continue;
+            }
+            state.pendingLoad = CompletableFuture.supplyAsync(
+                    () -> diskCache.reload(state.cacheKey, state.cacheCompressed), loader);
+            inflight++;
+        }
+    }
+
+    private static void respecify(TextureRepository.Texture texture, TextureStreamState state, TextureMipChain chain) {
+        if (chain.width() != state.baseWidth || chain.height() != state.baseHeight) {
+            logger.warn("流送纹理尺寸与缓存条目不一致，停止流送: {}", state.cacheKey);
+            texture.stream = null;
+            return;
+        }
+        int baseLevel = Math.min(state.targetBaseLevel, Math.min(state.maxBaseLevel, chain.levelCount() - 1));
+        try {
+            texture.vramSize = TextureGpuLoader.respecify(texture.tex, chain, baseLevel);
+            state.levelBytes = TextureStreamState.levelBytesOf(chain);
+            state.residentBaseLevel = baseLevel;
+        } catch (RuntimeException e) {
+            logger.error("流送纹理重建失败: {}", state.cacheKey, e);
+            texture.stream = null;
+        }
+    }
+
+    private record Streamed(TextureRepository.Texture texture, TextureStreamState state) {
+    }
+}
@@ -6,7 +6,7 @@ import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
-/** 文件职责：管理纹理待释放队列的 VRAM 预算与 TTL 驱逐。 */
+/** 文件职责：管理纹理待释放队列的 VRAM 预算与 TTL 驱逐，并为全局预算提供按需驱逐。 */
 final class VramBudgetManager {
     private static final long TEXTURE_TTL_MS = 60_000;
 
@@ -67,6 +67,15 @@ final class VramBudgetManager {
         pendingTextureCount.set(0);
     }
 
+    /** 按释放顺序驱逐待释放纹理，直到释放至少 bytesToFree 字节或队列为空 */
+    long evictPending(Map<String, TextureRepository.TextureSlot> slots, long bytesToFree) {
+        long before = pendingReleaseVram.get();
+        while (before - pendingReleaseVram.get() < bytesToFree && pendingTextureCount.get() > 0) {
+            if (!evictOldestPending(slots)) break;
+        }
+        return before - pendingReleaseVram.get();
+    }
+
     long getPendingReleaseVram() {
         return pendingReleaseVram.get();
     }
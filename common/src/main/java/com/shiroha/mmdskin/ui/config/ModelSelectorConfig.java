@@ -139,6 +139,7 @@ public class ModelSelectorConfig {
 
         data.playerModels.put(playerName, modelName);
         save();
+        PlayerModelSyncService.markModelsChanged();
 
         net.minecraft.client.Minecraft mc = net.minecraft.client.Minecraft.getInstance();
         if (mc.player != null && mc.player.getName().getString().equals(playerName)) {
@@ -149,6 +150,7 @@ public class ModelSelectorConfig {
     public void removePlayerModel(String playerName) {
         if (data.playerModels.remove(playerName) != null) {
             save();
+            PlayerModelSyncService.markModelsChanged();
         }
     }
 
@@ -13,6 +13,8 @@ public final class NetworkOpCode {
     public static final int REQUEST_ALL_MODELS = 10;
     public static final int STAGE_MULTI = 11;
     public static final int BONE_SYNC = 12;
+    /** 二进制舞台协议；STAGE_MULTI 保留为旧客户端的 S3 文本通道 */
+    public static final int STAGE_BINARY = 13;
 
 
     public static boolean isStringPayload(int opCode) {
@@ -21,7 +23,10 @@ public final class NetworkOpCode {
                 || opCode == STAGE_MULTI;
     }
 
-    
+    public static boolean isBinaryPayload(int opCode) {
+        return opCode == BONE_SYNC || opCode == STAGE_BINARY;
+    }
+
     public static boolean isEntityStringPayload(int opCode) {
         return opCode == MAID_MODEL || opCode == MAID_ACTION;
     }
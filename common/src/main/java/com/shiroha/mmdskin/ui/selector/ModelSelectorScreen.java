@@ -3,6 +3,7 @@ package com.shiroha.mmdskin.ui.selector;
 
 import com.shiroha.mmdskin.ui.chrome.TranslucentTrayChrome;
 import com.shiroha.mmdskin.ui.selector.application.ModelSelectionApplicationService;
+import com.shiroha.mmdskin.ui.selector.port.ModelSelectionGateway;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.screens.Screen;
@@ -13,6 +14,8 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /** 文件职责：提供玩家模型选择原生界面。 */
 public class ModelSelectorScreen extends Screen {
@@ -32,8 +35,22 @@ public class ModelSelectorScreen extends Screen {
     private static final int CARD_GAP = 4;
 
     private final List<ModelSelectionApplicationService.ModelCard> modelCards = new ArrayList<>();
+    /** 目录监听线程推送的增删事件，在渲染线程上应用 */
+    private final Queue<CatalogUpdate> pendingCatalogUpdates = new ConcurrentLinkedQueue<>();
+    private final ModelSelectionGateway.CatalogListener catalogListener = new ModelSelectionGateway.CatalogListener() {
+        @Override
+        public void modelAdded(String modelName) {
+            pendingCatalogUpdates.add(new CatalogUpdate(modelName, true));
+        }
+
+        @Override
+        public void modelRemoved(String modelName) {
+            pendingCatalogUpdates.add(new CatalogUpdate(modelName, false));
+        }
+    };
 
     private String currentModel;
+    private boolean catalogListening;
     private boolean pendingClose;
     private String pendingSettingsModel;
 
@@ -52,19 +69,33 @@ public class ModelSelectorScreen extends Screen {
 
     public ModelSelectorScreen() {
         super(Component.translatable("gui.mmdskin.model_selector"));
-        reloadModelCards();
     }
 
     @Override
     protected void init() {
         super.init();
+        // 首次打开或从设置界面返回时重新订阅，并重载以补上离开期间的变化
+        if (!catalogListening) {
+            catalogListening = true;
+            pendingCatalogUpdates.clear();
+            SERVICE.addCatalogListener(catalogListener);
+            reloadModelCards();
+        }
         updateLayout();
     }
 
+    @Override
+    public void removed() {
+        SERVICE.removeCatalogListener(catalogListener);
+        catalogListening = false;
+        super.removed();
+    }
+
     @Override
     public void render(GuiGraphics guiGraphics, int mouseX, int mouseY, float partialTick) {
         Minecraft minecraft = Minecraft.getInstance();
         try {
+            applyCatalogUpdates();
             updateLayout();
             updateHoverState(mouseX, mouseY);
             updateScrollAnimation();
@@ -269,6 +300,17 @@ public class ModelSelectorScreen extends Screen {
         currentModel = SERVICE.getCurrentModel();
     }
 
+    private void applyCatalogUpdates() {
+        CatalogUpdate update;
+        while ((update = pendingCatalogUpdates.poll()) != null) {
+            if (update.added()) {
+                SERVICE.addModelCard(modelCards, update.modelName());
+            } else {
+                SERVICE.removeModelCard(modelCards, update.modelName());
+            }
+        }
+    }
+
     private void refreshModels() {
         SERVICE.refreshModelCatalog();
         reloadModelCards();
@@ -327,6 +369,9 @@ public class ModelSelectorScreen extends Screen {
         return value.substring(0, maxChars - 2) + "..";
     }
 
+    private record CatalogUpdate(String modelName, boolean added) {
+    }
+
     record UiRect(int x, int y, int w, int h) {
         static UiRect empty() {
             return new UiRect(0, 0, 0, 0);
@@ -1,12 +1,18 @@
 package com.shiroha.mmdskin.ui.selector.adapter;
 
 import com.shiroha.mmdskin.asset.catalog.ModelCatalogEntry;
+import com.shiroha.mmdskin.asset.catalog.ModelCatalogIndex;
 import com.shiroha.mmdskin.ui.config.ModelSelectorConfig;
 import com.shiroha.mmdskin.ui.selector.port.ModelSelectionGateway;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 public class DefaultModelSelectionGateway implements ModelSelectionGateway {
+    private final Map<CatalogListener, Consumer<ModelCatalogIndex.Change>> catalogListeners = new ConcurrentHashMap<>();
+
     @Override
     public List<String> loadAvailableModelNames() {
         return ModelCatalogEntry.scanModels().stream()
@@ -33,4 +39,27 @@ public class DefaultModelSelectionGateway implements ModelSelectionGateway {
     public String getQuickSlotModel(int slot) {
         return ModelSelectorConfig.getInstance().getQuickSlotModel(slot);
     }
+
+    @Override
+    public void addCatalogListener(CatalogListener listener) {
+        Consumer<ModelCatalogIndex.Change> adapter = change -> {
+            switch (change.kind()) {
+                case ADDED -> listener.modelAdded(change.entry().getDisplayName());
+                case REMOVED -> listener.modelRemoved(change.entry().getDisplayName());
+                case UPDATED -> {
+                }
+            }
+        };
+        if (catalogListeners.putIfAbsent(listener, adapter) == null) {
+            ModelCatalogEntry.playerModelIndex().addListener(adapter);
+        }
+    }
+
+    @Override
+    public void removeCatalogListener(CatalogListener listener) {
+        Consumer<ModelCatalogIndex.Change> adapter = catalogListeners.remove(listener);
+        if (adapter != null) {
+            ModelCatalogEntry.playerModelIndex().removeListener(adapter);
+        }
+    }
 }
@@ -35,6 +35,33 @@ public class ModelSelectionApplicationService {
         gateway.refreshModelCatalog();
     }
 
+    public void addCatalogListener(ModelSelectionGateway.CatalogListener listener) {
+        gateway.addCatalogListener(listener);
+    }
+
+    public void removeCatalogListener(ModelSelectionGateway.CatalogListener listener) {
+        gateway.removeCatalogListener(listener);
+    }
+
+    /** 增量插入目录新增的模型卡片，默认模型保持首位，其余按名称（忽略大小写）排序 */
+    public void addModelCard(List<ModelCard> cards, String modelName) {
+        int insertAt = cards.size();
+        for (int i = 0; i < cards.size(); i++) {
+            ModelCard card = cards.get(i);
+            if (card.displayName().equals(modelName)) {
+                return;
+            }
+            if (card.configurable() && insertAt == cards.size() && card.displayName().compareToIgnoreCase(modelName) > 0) {
+                insertAt = i;
+            }
+        }
+        cards.add(insertAt, new ModelCard(modelName, true));
+    }
+
+    public void removeModelCard(List<ModelCard> cards, String modelName) {
+        cards.removeIf(card -> card.configurable() && card.displayName().equals(modelName));
+    }
+
     public void selectModel(String modelName) {
         gateway.setSelectedModel(modelName);
         runtimeGateway.afterLocalModelSelection(modelName);
@@ -12,4 +12,15 @@ public interface ModelSelectionGateway {
     void setSelectedModel(String modelName);
 
     String getQuickSlotModel(int slot);
+
+    /** 订阅模型目录的增删事件，回调可能来自后台线程 */
+    void addCatalogListener(CatalogListener listener);
+
+    void removeCatalogListener(CatalogListener listener);
+
+    interface CatalogListener {
+        void modelAdded(String modelName);
+
+        void modelRemoved(String modelName);
+    }
 }
@@ -0,0 +1,125 @@
+package com.shiroha.mmdskin.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 文件职责：用 WatchService 监听若干目录（不递归），目录内条目增删改时在后台线程回调所属目录。
+ * 平台不支持或注册失败时返回 false，由调用方退回定时重扫。
+ */
+public final class DirectoryWatcher implements Closeable {
+    private static final Logger logger = LogManager.getLogger();
+
+    private final String threadName;
+    private final Consumer<Path> listener;
+    private final Map<WatchKey, Path> directoriesByKey = new ConcurrentHashMap<>();
+    private final Map<Path, WatchKey> keysByDirectory = new ConcurrentHashMap<>();
+    private WatchService service;
+    private Thread thread;
+    private boolean unavailable;
+
+    public DirectoryWatcher(String threadName, Consumer<Path> listener) {
+        this.threadName = threadName;
+        this.listener = listener;
+    }
+
+    /** 开始监听目录；已在监听时直接返回 true，目录不存在或无法监听时返回 false */
+    public synchronized boolean watch(Path directory) {
+        Path normalized = directory.toAbsolutePath().normalize();
+        WatchKey existing = keysByDirectory.get(normalized);
+        if (existing != null && existing.isValid()) {
+            return true;
+        }
+        if (!Files.isDirectory(normalized) || !ensureStarted()) {
+            return false;
+        }
+        try {
+            WatchKey key = normalized.register(service,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            directoriesByKey.put(key, normalized);
+            keysByDirectory.put(normalized, key);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.debug("无法监听目录 {}: {}", normalized, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                logger.debug("关闭目录监听失败: {}", e.getMessage());
+            }
+            service = null;
+        }
+        directoriesByKey.clear();
+        keysByDirectory.clear();
+    }
+
+    private boolean ensureStarted() {
+        if (service != null) {
+            return true;
+        }
+        if (unavailable) {
+            return false;
+        }
+        try {
+            service = FileSystems.getDefault().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            logger.warn("目录监听不可用，将定时重扫: {}", e.getMessage());
+            unavailable = true;
+            return false;
+        }
+        WatchService watchService = service;
+        thread = new Thread(() -> pollLoop(watchService), threadName);
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    private void pollLoop(WatchService watchService) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path directory = directoriesByKey.get(key);
+                // 只关心"目录变了"，事件内容（含 OVERFLOW）不区分
+                key.pollEvents();
+                if (!key.reset()) {
+                    directoriesByKey.remove(key);
+                    if (directory != null) {
+                        keysByDirectory.remove(directory, key);
+                    }
+                }
+                if (directory != null) {
+                    try {
+                        listener.accept(directory);
+                    } catch (RuntimeException e) {
+                        logger.warn("目录变化回调失败 {}: {}", directory, e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ignored) {
+            // close() 后正常退出
+        }
+    }
+}
@@ -0,0 +1,158 @@
+#version 430 core
+layout(local_size_x = 256) in;
+
+// 每个模型一条记录，全部偏移均以元素（顶点 / 骨骼 / float）为单位
+struct ModelRecord {
+    uint vertexBase;
+    uint vertexCount;
+    uint groupBase;
+    uint boneBase;
+    uint boneCount;
+    uint morphWeightBase;
+    uint morphCount;
+    uint morphOffsetBase;
+    uint uvMorphWeightBase;
+    uint uvMorphCount;
+    uint uvMorphOffsetBase;
+    uint reserved;
+};
+
+// 共享顶点 arena（只读）
+layout(std430, binding = 0) readonly buffer OriginalPositions {
+    float origPositions[];
+};
+layout(std430, binding = 1) readonly buffer OriginalNormals {
+    float origNormals[];
+};
+layout(std430, binding = 2) readonly buffer BoneIndicesBuffer {
+    int boneIndices[];
+};
+layout(std430, binding = 3) readonly buffer BoneWeightsBuffer {
+    float boneWeights[];
+};
+// 本批次打包的骨骼矩阵
+layout(std430, binding = 4) readonly buffer BoneMatrices {
+    mat4 boneMatrices[];
+};
+// 顶点 / UV Morph 偏移 arena 与本批次打包的权重
+layout(std430, binding = 5) readonly buffer MorphOffsets {
+    float morphOffsets[];
+};
+layout(std430, binding = 6) readonly buffer MorphWeights {
+    float morphWeights[];
+};
+// 共享输出 arena（写入）
+layout(std430, binding = 7) writeonly buffer SkinnedPositions {
+    float skinnedPositions[];
+};
+layout(std430, binding = 8) writeonly buffer SkinnedNormals {
+    float skinnedNormals[];
+};
+layout(std430, binding = 9) readonly buffer OriginalUVs {
+    float origUVs[];
+};
+layout(std430, binding = 12) writeonly buffer SkinnedUVs {
+    float skinnedUVs[];
+};
+layout(std430, binding = 13) readonly buffer ModelRecords {
+    ModelRecord records[];
+};
+
+uniform int RecordCount;
+uniform int MaxBones;
+
+// 按 groupBase 二分查找当前工作组所属的模型
+uint findRecord(uint group) {
+    uint lo = 0u;
+    uint hi = uint(RecordCount) - 1u;
+    while (lo < hi) {
+        uint mid = (lo + hi + 1u) >> 1;
+        if (records[mid].groupBase <= group) {
+            lo = mid;
+        } else {
+            hi = mid - 1u;
+        }
+    }
+    return lo;
+}
+
+void main() {
+    if (RecordCount <= 0) return;
+
+    ModelRecord rec = records[findRecord(gl_WorkGroupID.x)];
+    uint local = (gl_WorkGroupID.x - rec.groupBase) * gl_WorkGroupSize.x + gl_LocalInvocationID.x;
+    if (local >= rec.vertexCount) return;
+
+    uint vid = rec.vertexBase + local;
+    uint base3 = vid * 3u;
+    uint base4 = vid * 4u;
+    uint base2 = vid * 2u;
+
+    vec3 pos = vec3(origPositions[base3], origPositions[base3 + 1u], origPositions[base3 + 2u]);
+    vec3 nor = vec3(origNormals[base3], origNormals[base3 + 1u], origNormals[base3 + 2u]);
+
+    // 应用顶点 Morph 偏移
+    for (uint m = 0u; m < rec.morphCount && m < 128u; m++) {
+        float w = morphWeights[rec.morphWeightBase + m];
+        if (w > 0.001) {
+            uint offsetIdx = rec.morphOffsetBase + m * rec.vertexCount * 3u + local * 3u;
+            pos.x += morphOffsets[offsetIdx] * w;
+            pos.y += morphOffsets[offsetIdx + 1u] * w;
+            pos.z += morphOffsets[offsetIdx + 2u] * w;
+        }
+    }
+
+    ivec4 bi = ivec4(
+            boneIndices[base4], boneIndices[base4 + 1u],
+            boneIndices[base4 + 2u], boneIndices[base4 + 3u]
+    );
+    vec4 bw = vec4(
+            boneWeights[base4], boneWeights[base4 + 1u],
+            boneWeights[base4 + 2u], boneWeights[base4 + 3u]
+    );
+
+    int boneLimit = min(int(rec.boneCount), MaxBones);
+    float totalWeight = 0.0;
+    for (int i = 0; i < 4; i++) {
+        if (bi[i] >= 0 && bi[i] < boneLimit) {
+            totalWeight += bw[i];
+        }
+    }
+
+    mat4 skinMatrix = mat4(0.0);
+    if (totalWeight > 0.001) {
+        float invWeight = 1.0 / totalWeight;
+        for (int i = 0; i < 4; i++) {
+            if (bi[i] >= 0 && bi[i] < boneLimit && bw[i] > 0.0) {
+                skinMatrix += boneMatrices[rec.boneBase + uint(bi[i])] * (bw[i] * invWeight);
+            }
+        }
+    } else {
+        skinMatrix = mat4(1.0);
+    }
+
+    vec4 skinnedPos = skinMatrix * vec4(pos, 1.0);
+    vec3 skinnedNor = normalize(mat3(skinMatrix) * nor);
+
+    skinnedPositions[base3] = skinnedPos.x;
+    skinnedPositions[base3 + 1u] = skinnedPos.y;
+    skinnedPositions[base3 + 2u] = skinnedPos.z;
+
+    skinnedNormals[base3] = skinnedNor.x;
+    skinnedNormals[base3 + 1u] = skinnedNor.y;
+    skinnedNormals[base3 + 2u] = skinnedNor.z;
+
+    // 应用 UV Morph 偏移并写入输出
+    float u = origUVs[base2];
+    float v = origUVs[base2 + 1u];
+    for (uint m = 0u; m < rec.uvMorphCount && m < 32u; m++) {
+        float w = morphWeights[rec.uvMorphWeightBase + m];
+        if (abs(w) > 0.001) {
+            uint uvIdx = rec.uvMorphOffsetBase + m * rec.vertexCount * 2u + local * 2u;
+            u += morphOffsets[uvIdx] * w;
+            v += morphOffsets[uvIdx + 1u] * w;
+        }
+    }
+    skinnedUVs[base2] = u;
+    skinnedUVs[base2 + 1u] = v;
+}
@@ -0,0 +1,155 @@
+package com.shiroha.mmdskin.asset.catalog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** 文件职责：验证模型目录索引的内存查找、后台初始扫描、模型文件优先级、监听增量更新与无法监听时的定时重扫。 */
+class ModelCatalogIndexTest {
+    @TempDir
+    Path tempDir;
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    @Test
+    void lookupsShouldNotTouchFileSystemAfterIndexing() throws IOException {
+        model("alice", "alice.pmx");
+        ModelCatalogIndex index = new ModelCatalogIndex(tempDir::toFile, now::get, false);
+        assertNotNull(index.find("alice"));
+
+        deleteTree(tempDir.resolve("alice"));
+
+        assertNotNull(index.find("alice"));
+        assertNull(index.find("bob"));
+    }
+
+    @Test
+    void findShouldNotWaitForInitialScan() throws IOException {
+        model("alice", "alice.pmx");
+        List<Runnable> pending = new ArrayList<>();
+        ModelCatalogIndex index = new ModelCatalogIndex(tempDir::toFile, now::get, false, pending::add);
+
+        assertNull(index.find("alice"));
+        assertNull(index.find("alice"));
+        assertFalse(index.isLoaded());
+        assertEquals(1, pending.size());
+
+        pending.get(0).run();
+        assertTrue(index.isLoaded());
+        assertNotNull(index.find("alice"));
+    }
+
+    @Test
+    void listingShouldCompleteInitialScanItself() throws IOException {
+        model("alice", "alice.pmx");
+        List<Runnable> pending = new ArrayList<>();
+        ModelCatalogIndex index = new ModelCatalogIndex(tempDir::toFile, now::get, false, pending::add);
+        List<ModelCatalogIndex.Change> changes = new CopyOnWriteArrayList<>();
+        index.addListener(changes::add);
+        assertNull(index.find("alice"));
+
+        assertEquals(1, index.models().size());
+        pending.forEach(Runnable::run);
+        assertEquals(1, changes.size());
+    }
+
+    @Test
+    void folderShouldPreferPmxThenModelFileName() throws IOException {
+        model("mix", "b.vrm", "z.pmx", "model.pmx", "a.pmd");
+        model("avatar", "avatar.vrm");
+        model("empty", "readme.txt");
+        ModelCatalogIndex index = new ModelCatalogIndex(tempDir::toFile, now::get, false);
+
+        assertEquals("model.pmx", index.find("mix").getModelFileName());
+        assertTrue(index.find("avatar").isVRM());
+        assertNull(index.find("empty"));
+        assertEquals(List.of("avatar", "mix"), index.models().stream().map(ModelCatalogEntry::getFolderName).toList());
+    }
+
+    @Test
+    void unwatchedRootShouldRescanOnlyFromListingAfterInterval() throws IOException {
+        ModelCatalogIndex index = new ModelCatalogIndex(tempDir::toFile, now::get, false);
+        List<ModelCatalogIndex.Change> changes = new CopyOnWriteArrayList<>();
+        index.addListener(changes::add);
+        assertEquals(List.of(), index.models());
+
+        model("bob", "bob.pmd");
+        assertNull(index.find("bob"));
+        assertEquals(List.of(), index.models());
+
+        now.addAndGet(ModelCatalogIndex.UNWATCHED_REFRESH_MS);
+        assertEquals(1, index.models().size());
+        assertNotNull(index.find("bob"));
+        assertEquals(List.of(ModelCatalogIndex.ChangeKind.ADDED), changes.stream().map(ModelCatalogIndex.Change::kind).toList());
+    }
+
+    @Test
+    void watchedFoldersShouldPushIncrementalChanges() throws Exception {
+        model("alice", "alice.pmx");
+        ModelCatalogIndex index = new ModelCatalogIndex(tempDir::toFile);
+        List<ModelCatalogIndex.Change> changes = new CopyOnWriteArrayList<>();
+        index.addListener(changes::add);
+        awaitLoaded(index);
+        assertNotNull(index.find("alice"));
+
+        model("bob", "bob.pmx");
+        awaitChange(changes, ModelCatalogIndex.ChangeKind.ADDED, "bob");
+        assertNotNull(index.find("bob"));
+
+        Files.writeString(tempDir.resolve("alice").resolve("alice.pmx"), "resized model");
+        awaitChange(changes, ModelCatalogIndex.ChangeKind.UPDATED, "alice");
+
+        deleteTree(tempDir.resolve("bob"));
+        awaitChange(changes, ModelCatalogIndex.ChangeKind.REMOVED, "bob");
+        assertNull(index.find("bob"));
+    }
+
+    private static void awaitLoaded(ModelCatalogIndex index) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000L;
+        while (!index.isLoaded() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20L);
+        }
+        assertTrue(index.isLoaded());
+    }
+
+    private void awaitChange(List<ModelCatalogIndex.Change> changes, ModelCatalogIndex.ChangeKind kind, String folder)
+            throws InterruptedException {
+        // 部分平台的 WatchService 为轮询实现，留足等待时间
+        long deadline = System.currentTimeMillis() + 15_000L;
+        while (System.currentTimeMillis() < deadline) {
+            if (changes.stream().anyMatch(c -> c.kind() == kind && c.folderName().equals(folder))) {
+                return;
+            }
+            Thread.sleep(20L);
+        }
+        throw new AssertionError("未收到 " + kind + " " + folder + "，实际: " + changes);
+    }
+
+    private void model(String folder, String... files) throws IOException {
+        Path dir = Files.createDirectories(tempDir.resolve(folder));
+        for (String file : files) {
+            Files.writeString(dir.resolve(file), file);
+        }
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        try (var paths = Files.list(dir)) {
+            for (Path path : paths.toList()) {
+                Files.delete(path);
+            }
+        }
+        Files.delete(dir);
+    }
+}
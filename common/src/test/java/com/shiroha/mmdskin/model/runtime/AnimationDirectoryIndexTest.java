@@ -0,0 +1,107 @@
+package com.shiroha.mmdskin.model.runtime;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/** 文件职责：验证动画目录索引只扫描一次、变化后重扫以及无法监听时按间隔刷新。 */
+class AnimationDirectoryIndexTest {
+    @TempDir
+    Path tempDir;
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    @Test
+    void repeatedLookupsShouldReuseOneScan() throws IOException {
+        Files.writeString(tempDir.resolve("Idle.vmd"), "");
+        Files.writeString(tempDir.resolve("b.fbx"), "");
+        Files.writeString(tempDir.resolve("a.FBX"), "");
+        AnimationDirectoryIndex index = new AnimationDirectoryIndex(now::get, false);
+        String dir = tempDir.toString();
+
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(index.find(dir, "idle.vmd"));
+            assertNull(index.find(dir, "walk.vmd"));
+        }
+
+        assertEquals(List.of("a.FBX", "b.fbx"), index.fbxFiles(dir).stream().map(File::getName).toList());
+        assertEquals(1L, index.scanCount());
+    }
+
+    @Test
+    void invalidatedDirectoryShouldBeRescanned() throws IOException {
+        AnimationDirectoryIndex index = new AnimationDirectoryIndex(now::get, false);
+        String dir = tempDir.toString();
+        assertNull(index.find(dir, "walk.vmd"));
+
+        Files.writeString(tempDir.resolve("walk.vmd"), "");
+        index.invalidate(tempDir);
+
+        assertNotNull(index.find(dir, "walk.vmd"));
+        assertEquals(2L, index.scanCount());
+    }
+
+    @Test
+    void rescanShouldNotifyListenerButFirstScanShouldNot() {
+        AnimationDirectoryIndex index = new AnimationDirectoryIndex(now::get, false);
+        List<Path> rescanned = new ArrayList<>();
+        index.setRescanListener(rescanned::add);
+        String dir = tempDir.toString();
+
+        index.find(dir, "idle.vmd");
+        index.find(dir, "idle.vmd");
+        assertEquals(List.of(), rescanned);
+
+        index.invalidate(tempDir);
+        index.find(dir, "idle.vmd");
+        assertEquals(List.of(tempDir.toAbsolutePath().normalize()), rescanned);
+    }
+
+    @Test
+    void watchedDirectoryShouldPickUpNewFiles() throws Exception {
+        AnimationDirectoryIndex index = new AnimationDirectoryIndex();
+        String dir = tempDir.toString();
+        assertNull(index.find(dir, "wave.vmd"));
+
+        Files.writeString(tempDir.resolve("wave.vmd"), "");
+
+        // 部分平台的 WatchService 为轮询实现，留足等待时间
+        long deadline = System.currentTimeMillis() + 15_000L;
+        while (index.find(dir, "wave.vmd") == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20L);
+        }
+        assertNotNull(index.find(dir, "wave.vmd"));
+    }
+
+    @Test
+    void unwatchedDirectoryShouldExpire() throws IOException {
+        AnimationDirectoryIndex index = new AnimationDirectoryIndex(now::get, false);
+        String dir = tempDir.toString();
+        assertNull(index.find(dir, "jump.vmd"));
+
+        Files.writeString(tempDir.resolve("jump.vmd"), "");
+        assertNull(index.find(dir, "jump.vmd"));
+        now.addAndGet(AnimationDirectoryIndex.UNWATCHED_REFRESH_MS);
+
+        assertNotNull(index.find(dir, "jump.vmd"));
+    }
+
+    @Test
+    void missingDirectoryShouldYieldNothing() {
+        AnimationDirectoryIndex index = new AnimationDirectoryIndex(now::get, false);
+        String dir = tempDir.resolve("absent").toString();
+
+        assertNull(index.find(dir, "idle.vmd"));
+        assertEquals(List.of(), index.fbxFiles(dir));
+    }
+}
@@ -0,0 +1,149 @@
+package com.shiroha.mmdskin.model.runtime;
+
+import com.shiroha.mmdskin.bridge.runtime.NativeAnimationPort;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** 文件职责：验证 FBX 动作栈索引的命中、失效、持久化以及与 native 一致的匹配规则。 */
+class FbxStackIndexTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void unchangedFileShouldBeListedOnce() throws IOException {
+        ListingAnimationPort port = new ListingAnimationPort(List.of("Walk", "Run"));
+        FbxStackIndex index = new FbxStackIndex(port, null);
+        File fbx = touch("mixamo.fbx");
+
+        assertEquals(List.of("Walk", "Run"), index.stacks(fbx));
+        assertEquals(List.of("Walk", "Run"), index.stacks(fbx));
+        assertEquals(1, port.listings.size());
+
+        fbx.setLastModified(fbx.lastModified() + 10_000L);
+        index.stacks(fbx);
+        assertEquals(2, port.listings.size());
+    }
+
+    @Test
+    void savedIndexShouldSkipListingInNextSession() throws IOException {
+        File indexFile = tempDir.resolve("cache").resolve("fbx_stacks.json").toFile();
+        File fbx = touch("pack.fbx");
+        FbxStackIndex first = new FbxStackIndex(new ListingAnimationPort(List.of("Dance")), indexFile);
+        first.stacks(fbx);
+        first.saveIfDirty();
+
+        ListingAnimationPort port = new ListingAnimationPort(List.of("Other"));
+        FbxStackIndex second = new FbxStackIndex(port, indexFile);
+
+        assertEquals(List.of("Dance"), second.stacks(fbx));
+        assertEquals(0, port.listings.size());
+    }
+
+    @Test
+    void matchingShouldFollowNativeRules() throws IOException {
+        FbxStackIndex index = new FbxStackIndex(new ListingAnimationPort(List.of("mixamo.com|Idle_Loop")), null);
+        File fbx = touch("idle.fbx");
+
+        assertTrue(index.mayContain(fbx, "idle_loop"));
+        assertTrue(index.mayContain(fbx, "IDLE"));
+        assertFalse(index.mayContain(fbx, "walk"));
+    }
+
+    @Test
+    void unlistableFileShouldStayCandidateAndUnrecorded() throws IOException {
+        ListingAnimationPort port = new ListingAnimationPort(null);
+        FbxStackIndex index = new FbxStackIndex(port, null);
+        File fbx = touch("broken.fbx");
+
+        assertTrue(index.mayContain(fbx, "walk"));
+        assertNull(index.stacks(fbx));
+        assertEquals(2, port.listings.size());
+    }
+
+    private File touch(String name) throws IOException {
+        return Files.writeString(tempDir.resolve(name), name).toFile();
+    }
+
+    private static final class ListingAnimationPort implements NativeAnimationPort {
+        private final List<String> stacks;
+        private final List<String> listings = new ArrayList<>();
+
+        private ListingAnimationPort(List<String> stacks) {
+            this.stacks = stacks;
+        }
+
+        @Override
+        public long loadAnimation(long modelHandle, String animationPath) {
+            return 0L;
+        }
+
+        @Override
+        public void deleteAnimation(long animationHandle) {
+        }
+
+        @Override
+        public void mergeAnimation(long mergedAnimationHandle, long sourceAnimationHandle) {
+        }
+
+        @Override
+        public boolean hasCameraData(long animationHandle) {
+            return false;
+        }
+
+        @Override
+        public boolean hasBoneData(long animationHandle) {
+            return false;
+        }
+
+        @Override
+        public boolean hasMorphData(long animationHandle) {
+            return false;
+        }
+
+        @Override
+        public float getAnimationMaxFrame(long animationHandle) {
+            return 0.0f;
+        }
+
+        @Override
+        public void seekLayer(long modelHandle, long layer, float frame) {
+        }
+
+        @Override
+        public void getCameraTransform(long animationHandle, float frame, ByteBuffer targetBuffer) {
+        }
+
+        @Override
+        public long bakeAnimation(long animationHandle, boolean includeBones) {
+            return 0L;
+        }
+
+        @Override
+        public long getAnimationMemoryUsage(long animationHandle) {
+            return 0L;
+        }
+
+        @Override
+        public boolean preloadFbxAsync(String fbxPath) {
+            return true;
+        }
+
+        @Override
+        public List<String> listFbxStacks(String fbxPath) {
+            listings.add(fbxPath);
+            return stacks;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.shiroha.mmdskin.model.runtime;
+
+import com.shiroha.mmdskin.bridge.runtime.NativeAnimationPort;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/** 文件职责：验证共享动画句柄池的按键共享、引用计数释放、修改时间缓存与失败记忆。 */
+class SharedAnimationPoolTest {
+    private static final long ANIMATION_BYTES = 4096L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void vmdShouldBeSharedAcrossModelsAndDeletedWithLastReference() throws IOException {
+        CountingAnimationPort port = new CountingAnimationPort();
+        SharedAnimationPool pool = new SharedAnimationPool(port);
+        String idle = touch("idle.vmd").getAbsolutePath();
+
+        long first = pool.acquire(idle, 1L, "modelA");
+        long second = pool.acquire(idle, 2L, "modelB");
+
+        assertEquals(first, second);
+        assertEquals(1, port.loads.size());
+        assertEquals(new SharedAnimationPool.PoolStats(1, 2, ANIMATION_BYTES, ANIMATION_BYTES), pool.stats());
+
+        pool.release(first);
+        assertEquals(List.of(), port.deletes);
+        pool.release(second);
+        assertEquals(List.of(first), port.deletes);
+        assertEquals(new SharedAnimationPool.PoolStats(0, 0, 0L, 0L), pool.stats());
+    }
+
+    @Test
+    void fbxShouldBeSharedPerSkeletonOnly() throws IOException {
+        CountingAnimationPort port = new CountingAnimationPort();
+        SharedAnimationPool pool = new SharedAnimationPool(port);
+        String walk = touch("mixamo.fbx").getAbsolutePath() + "#Walk";
+
+        long a1 = pool.acquire(walk, 1L, "modelA");
+        long a2 = pool.acquire(walk, 2L, "modelA");
+        long b = pool.acquire(walk, 3L, "modelB");
+
+        assertEquals(a1, a2);
+        assertNotEquals(a1, b);
+        assertEquals(2, port.loads.size());
+    }
+
+    @Test
+    void modifiedFileShouldLoadFreshCopyAfterDirectoryRescan() throws IOException {
+        CountingAnimationPort port = new CountingAnimationPort();
+        SharedAnimationPool pool = new SharedAnimationPool(port);
+        File file = touch("run.vmd");
+
+        long before = pool.acquire(file.getAbsolutePath(), 1L, "modelA");
+        file.setLastModified(file.lastModified() + 10_000L);
+        assertEquals(before, pool.acquire(file.getAbsolutePath(), 1L, "modelA"));
+
+        pool.invalidateDirectory(tempDir);
+        long after = pool.acquire(file.getAbsolutePath(), 1L, "modelA");
+
+        assertNotEquals(before, after);
+        assertEquals(2, pool.stats().animations());
+    }
+
+    @Test
+    void missingStackShouldOnlyBeParsedOnce() throws IOException {
+        CountingAnimationPort port = new CountingAnimationPort();
+        port.failing = true;
+        SharedAnimationPool pool = new SharedAnimationPool(port);
+        String missing = touch("pack.fbx").getAbsolutePath() + "#Dance";
+
+        assertEquals(0L, pool.acquire(missing, 1L, "modelA"));
+        assertEquals(0L, pool.acquire(missing, 1L, "modelA"));
+
+        assertEquals(1, port.loads.size());
+        assertEquals(0, pool.stats().references());
+
+        pool.invalidateDirectory(tempDir);
+        assertEquals(0L, pool.acquire(missing, 1L, "modelA"));
+        assertEquals(2, port.loads.size());
+    }
+
+    @Test
+    void missesShouldBeBounded() throws IOException {
+        CountingAnimationPort port = new CountingAnimationPort();
+        port.failing = true;
+        SharedAnimationPool pool = new SharedAnimationPool(port);
+        String pack = touch("pack.fbx").getAbsolutePath();
+
+        for (int i = 0; i <= SharedAnimationPool.MAX_MISSES; i++) {
+            pool.acquire(pack + "#Stack" + i, 1L, "modelA");
+        }
+        pool.acquire(pack + "#Stack0", 1L, "modelA");
+        pool.acquire(pack + "#Stack" + SharedAnimationPool.MAX_MISSES, 1L, "modelA");
+
+        assertEquals(SharedAnimationPool.MAX_MISSES + 2, port.loads.size());
+    }
+
+    private File touch(String name) throws IOException {
+        return Files.writeString(tempDir.resolve(name), name).toFile();
+    }
+
+    private static final class CountingAnimationPort implements NativeAnimationPort {
+        private final List<String> loads = new ArrayList<>();
+        private final List<Long> deletes = new ArrayList<>();
+        private boolean failing;
+        private long nextHandle = 100L;
+
+        @Override
+        public long loadAnimation(long modelHandle, String animationPath) {
+            loads.add(animationPath);
+            return failing ? 0L : nextHandle++;
+        }
+
+        @Override
+        public void deleteAnimation(long animationHandle) {
+            deletes.add(animationHandle);
+        }
+
+        @Override
+        public void mergeAnimation(long mergedAnimationHandle, long sourceAnimationHandle) {
+        }
+
+        @Override
+        public boolean hasCameraData(long animationHandle) {
+            return false;
+        }
+
+        @Override
+        public boolean hasBoneData(long animationHandle) {
+            return true;
+        }
+
+        @Override
+        public boolean hasMorphData(long animationHandle) {
+            return false;
+        }
+
+        @Override
+        public float getAnimationMaxFrame(long animationHandle) {
+            return 0.0f;
+        }
+
+        @Override
+        public void seekLayer(long modelHandle, long layer, float frame) {
+        }
+
+        @Override
+        public void getCameraTransform(long animationHandle, float frame, ByteBuffer targetBuffer) {
+        }
+
+        @Override
+        public long bakeAnimation(long animationHandle, boolean includeBones) {
+            return 0L;
+        }
+
+        @Override
+        public long getAnimationMemoryUsage(long animationHandle) {
+            return ANIMATION_BYTES;
+        }
+
+        @Override
+        public boolean preloadFbxAsync(String fbxPath) {
+            return false;
+        }
+
+        @Override
+        public List<String> listFbxStacks(String fbxPath) {
+            return null;
+        }
+    }
+}
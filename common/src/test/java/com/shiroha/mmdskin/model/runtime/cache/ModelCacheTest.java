@@ -0,0 +1,82 @@
+package com.shiroha.mmdskin.model.runtime.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/** 文件职责：验证模型缓存的按权重预算与 LRU 淘汰行为。 */
+class ModelCacheTest {
+    private static final long MB = 1024L * 1024L;
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    private ModelCache<Long> newCache() {
+        return new ModelCache<>("test", ramMb -> ramMb * MB, ramMb -> 0L, now::get);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedIdleEntryWhenRamBudgetIsExceeded() {
+        ModelCache<Long> cache = newCache();
+        List<Long> disposed = new ArrayList<>();
+        cache.put("a", 3000L);
+        cache.put("b", 2000L);
+
+        now.addAndGet(10_000L);
+        assertNotNull(cache.get("a"));
+        cache.tick(disposed::add);
+
+        assertEquals(List.of(2000L), disposed);
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(3000L * MB, cache.stats().ramBytes());
+    }
+
+    @Test
+    void shouldKeepEntriesInUseEvenWhenOverBudget() {
+        ModelCache<Long> cache = newCache();
+        List<Long> disposed = new ArrayList<>();
+        cache.put("a", 3000L);
+        cache.put("b", 2000L);
+
+        cache.tick(disposed::add);
+
+        assertEquals(List.of(), disposed);
+        assertEquals(2, cache.size());
+        assertEquals(0, cache.pendingSize());
+    }
+
+    @Test
+    void shouldKeepIdleEntriesWithinBudget() {
+        ModelCache<Long> cache = newCache();
+        List<Long> disposed = new ArrayList<>();
+        cache.put("a", 10L);
+        cache.put("b", 10L);
+
+        now.addAndGet(600_000L);
+        cache.tick(disposed::add);
+
+        assertEquals(List.of(), disposed);
+        assertEquals(2, cache.pendingSize());
+    }
+
+    @Test
+    void shouldCountHitsAndMisses() {
+        ModelCache<Long> cache = newCache();
+        cache.put("a", 1L);
+
+        cache.get("a");
+        cache.get("a");
+        cache.get("missing");
+
+        ModelCache.CacheStats stats = cache.stats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(2.0 / 3.0, stats.hitRate(), 1e-9);
+    }
+}
@@ -0,0 +1,119 @@
+package com.shiroha.mmdskin.player.sync;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** 文件职责：验证骨骼姿势量化精度与同步包编解码往返。 */
+class BonePoseCodecTest {
+
+    @Test
+    void rotationQuantizationShouldStayWithinQuarterDegree() {
+        Random random = new Random(7);
+        float[] source = new float[4];
+        float[] decoded = new float[4];
+        float maxError = 0.0f;
+        for (int i = 0; i < 10000; i++) {
+            randomQuaternion(random, source, 0);
+            BonePoseQuantizer.unpackRotation(BonePoseQuantizer.packRotation(source, 0), decoded, 0);
+            maxError = Math.max(maxError, BonePoseQuantizer.angleBetween(source, 0, decoded, 0));
+        }
+        assertTrue(Math.toDegrees(maxError) < 0.25, "最大误差 " + Math.toDegrees(maxError) + "°");
+    }
+
+    @Test
+    void zeroQuaternionShouldDecodeAsIdentity() {
+        float[] decoded = new float[4];
+        BonePoseQuantizer.unpackRotation(BonePoseQuantizer.packRotation(new float[4], 0), decoded, 0);
+        assertEquals(1.0, decoded[3], 1.0e-3);
+    }
+
+    @Test
+    void shouldRoundTripDeltaFrame() {
+        int bones = 40;
+        float[] pose = randomPose(new Random(3), bones);
+        int[] indices = {2, 3, 17, 39};
+        byte[] masks = {
+                BonePoseCodec.HAS_ROTATION,
+                BonePoseCodec.HAS_ROTATION | BonePoseCodec.HAS_TRANSLATION,
+                BonePoseCodec.HAS_TRANSLATION,
+                BonePoseCodec.HAS_ROTATION
+        };
+
+        byte[] data = BonePoseCodec.encode(1000, 990, false, 123456, bones, indices, masks, indices.length, pose);
+        BonePoseFrame frame = BonePoseCodec.decode(data);
+
+        assertNotNull(frame);
+        assertFalse(frame.keyframe);
+        assertEquals(1000, frame.sequence);
+        assertEquals(990, frame.keyframeSequence);
+        assertEquals(123456, frame.senderTimeMs);
+        assertEquals(bones, frame.boneCount);
+        assertTrue(Arrays.equals(indices, frame.indices));
+        assertTrue(Arrays.equals(masks, frame.masks));
+
+        float[] rebuilt = new float[pose.length];
+        frame.applyTo(rebuilt);
+        int base = 3 * BonePoseCodec.FLOATS_PER_BONE;
+        assertEquals(pose[base], rebuilt[base], 1.0 / BonePoseQuantizer.TRANSLATION_SCALE);
+        assertTrue(BonePoseQuantizer.angleBetween(pose, base + 3, rebuilt, base + 3) < 0.005f);
+        assertEquals(0.0, rebuilt[2 * BonePoseCodec.FLOATS_PER_BONE], 0.0);
+    }
+
+    @Test
+    void keyframeShouldStayCompact() {
+        int bones = 200;
+        int[] indices = new int[bones];
+        byte[] masks = new byte[bones];
+        for (int i = 0; i < bones; i++) {
+            indices[i] = i;
+            masks[i] = BonePoseCodec.HAS_ROTATION | BonePoseCodec.HAS_TRANSLATION;
+        }
+        byte[] data = BonePoseCodec.encode(1, 1, true, 0, bones, indices, masks, bones, randomPose(new Random(5), bones));
+
+        // 原始 float 姿势为 200 * 28 字节
+        assertTrue(data.length <= 12 * bones + 16, "关键帧大小 " + data.length);
+    }
+
+    @Test
+    void shouldRejectTruncatedOrTrailingData() {
+        int[] indices = {0, 1};
+        byte[] masks = {BonePoseCodec.HAS_ROTATION, BonePoseCodec.HAS_ROTATION};
+        byte[] data = BonePoseCodec.encode(5, 5, true, 0, 2, indices, masks, 2, randomPose(new Random(1), 2));
+
+        assertNull(BonePoseCodec.decode(Arrays.copyOf(data, data.length - 1)));
+        assertNull(BonePoseCodec.decode(Arrays.copyOf(data, data.length + 1)));
+        assertNull(BonePoseCodec.decode(new byte[]{9, 0}));
+    }
+
+    static float[] randomPose(Random random, int bones) {
+        float[] pose = new float[bones * BonePoseCodec.FLOATS_PER_BONE];
+        for (int bone = 0; bone < bones; bone++) {
+            int base = bone * BonePoseCodec.FLOATS_PER_BONE;
+            pose[base] = random.nextFloat() * 4.0f - 2.0f;
+            pose[base + 1] = random.nextFloat() * 4.0f - 2.0f;
+            pose[base + 2] = random.nextFloat() * 4.0f - 2.0f;
+            randomQuaternion(random, pose, base + 3);
+        }
+        return pose;
+    }
+
+    static void randomQuaternion(Random random, float[] out, int offset) {
+        float lengthSq = 0.0f;
+        for (int i = 0; i < 4; i++) {
+            out[offset + i] = (float) random.nextGaussian();
+            lengthSq += out[offset + i] * out[offset + i];
+        }
+        float inv = 1.0f / (float) Math.sqrt(lengthSq);
+        for (int i = 0; i < 4; i++) {
+            out[offset + i] *= inv;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.shiroha.mmdskin.player.sync;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** 文件职责：验证骨骼同步发送端的关键帧/增量选择、自适应间隔与带宽限流。 */
+class BonePoseEncoderTest {
+    private static final int BONES = 60;
+
+    @Test
+    void shouldSendKeyframeThenOnlyChangedBones() {
+        BonePoseEncoder encoder = new BonePoseEncoder();
+        float[] pose = BonePoseCodecTest.randomPose(new Random(11), BONES);
+
+        BonePoseEncoder.Packet first = encoder.build(pose, BONES, 0L);
+        assertNotNull(first);
+        assertTrue(first.keyframe());
+        encoder.commit(first, pose, BONES, 0L, 0);
+
+        rotateAboutX(pose, 7, 0.2f);
+        pose[12 * BonePoseCodec.FLOATS_PER_BONE + 1] += 0.5f;
+
+        BonePoseEncoder.Packet delta = encoder.build(pose, BONES, 100L);
+        assertNotNull(delta);
+        assertFalse(delta.keyframe());
+        BonePoseFrame frame = BonePoseCodec.decode(delta.data());
+        assertNotNull(frame);
+        assertEquals(first.sequence(), frame.keyframeSequence);
+        assertEquals(2, frame.count);
+        assertEquals(7, frame.indices[0]);
+        assertEquals(BonePoseCodec.HAS_ROTATION, frame.masks[0]);
+        assertEquals(12, frame.indices[1]);
+        assertEquals(BonePoseCodec.HAS_TRANSLATION, frame.masks[1]);
+        assertTrue(delta.data().length < first.data().length / 10);
+    }
+
+    @Test
+    void shouldStayQuietWhilePoseIsStill() {
+        BonePoseEncoder encoder = new BonePoseEncoder();
+        float[] pose = BonePoseCodecTest.randomPose(new Random(13), BONES);
+        BonePoseEncoder.Packet first = encoder.build(pose, BONES, 0L);
+        encoder.commit(first, pose, BONES, 0L, 0);
+
+        assertNull(encoder.build(pose, BONES, 10L), "未到发送间隔");
+        assertNull(encoder.build(pose, BONES, 500L), "姿势未变化");
+        BonePoseEncoder.Packet heartbeat = encoder.build(pose, BONES, 1000L);
+        assertNotNull(heartbeat);
+        assertFalse(heartbeat.keyframe());
+        encoder.commit(heartbeat, pose, BONES, 1000L, 0);
+
+        BonePoseEncoder.Packet refresh = encoder.build(pose, BONES, 2000L);
+        assertNotNull(refresh);
+        assertTrue(refresh.keyframe(), "到期后重新发送关键帧");
+    }
+
+    @Test
+    void intervalShouldAdaptToMotionAndBudget() {
+        assertEquals(BonePoseEncoder.MIN_INTERVAL_MS, BonePoseEncoder.nextInterval(1.0f, 100, 0));
+        assertEquals(BonePoseEncoder.MAX_INTERVAL_MS, BonePoseEncoder.nextInterval(0.0f, 100, 0));
+        // 1000 字节的包在 2000 B/s 预算下至少间隔 500ms
+        assertEquals(500, BonePoseEncoder.nextInterval(1.0f, 1000, 2000));
+    }
+
+    @Test
+    void limiterShouldEnforceBudgetPerPlayerWindow() {
+        BoneSyncBandwidthLimiter limiter = new BoneSyncBandwidthLimiter();
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+
+        assertTrue(limiter.tryConsume(a, 600, 0L, 1000));
+        assertFalse(limiter.tryConsume(a, 600, 500L, 1000));
+        assertTrue(limiter.tryConsume(b, 600, 500L, 1000));
+        assertTrue(limiter.tryConsume(a, 600, 1000L, 1000));
+
+        assertEquals(1200, limiter.totalBytes(a));
+        assertEquals(1, limiter.droppedPackets(a));
+        assertEquals(1200, limiter.windowBytes(1200L));
+        limiter.remove(a);
+        assertEquals(0, limiter.totalBytes(a));
+    }
+
+    private static void rotateAboutX(float[] pose, int bone, float angle) {
+        int offset = bone * BonePoseCodec.FLOATS_PER_BONE + 3;
+        float s = (float) Math.sin(angle / 2.0);
+        float c = (float) Math.cos(angle / 2.0);
+        float x = pose[offset];
+        float y = pose[offset + 1];
+        float z = pose[offset + 2];
+        float w = pose[offset + 3];
+        pose[offset] = c * x + s * w;
+        pose[offset + 1] = c * y + s * z;
+        pose[offset + 2] = c * z - s * y;
+        pose[offset + 3] = c * w - s * x;
+    }
+}
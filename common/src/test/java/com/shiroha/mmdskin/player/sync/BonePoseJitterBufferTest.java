@@ -0,0 +1,75 @@
+package com.shiroha.mmdskin.player.sync;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** 文件职责：验证远端骨骼姿势抖动缓冲的插值、乱序丢弃与关键帧依赖。 */
+class BonePoseJitterBufferTest {
+    private static final int BONES = 2;
+
+    @Test
+    void shouldInterpolateBetweenSnapshotsAfterDelay() {
+        BonePoseJitterBuffer buffer = new BonePoseJitterBuffer();
+        assertTrue(buffer.push(keyframe(1, 0, 0.0f), 1000L));
+        assertTrue(buffer.push(delta(2, 1, 100, 1.0f), 1100L));
+
+        float[] out = new float[BONES * BonePoseCodec.FLOATS_PER_BONE];
+        int delay = buffer.delayMs();
+        assertTrue(delay >= BonePoseJitterBuffer.MIN_DELAY_MS && delay <= BonePoseJitterBuffer.MAX_DELAY_MS);
+
+        assertTrue(buffer.sample(1000L + delay + 50, out));
+        assertEquals(0.5, out[0], 0.01);
+        assertEquals(1.0, out[6], 1.0e-3);
+
+        assertTrue(buffer.sample(1000L + delay + 5000, out));
+        assertEquals(1.0, out[0], 0.01, "缺包时保持最后姿势，不外推");
+    }
+
+    @Test
+    void shouldDropReorderedAndOrphanedDeltas() {
+        BonePoseJitterBuffer buffer = new BonePoseJitterBuffer();
+        assertTrue(buffer.push(keyframe(10, 0, 0.0f), 0L));
+        assertTrue(buffer.push(delta(12, 10, 100, 1.0f), 100L));
+
+        assertFalse(buffer.push(delta(11, 10, 50, 0.5f), 120L), "迟到的旧包");
+        assertFalse(buffer.push(delta(13, 9, 150, 0.5f), 150L), "依赖已失效的关键帧");
+        assertFalse(buffer.push(new BonePoseFrame(14, 10, false, 200, BONES + 1, 0), 200L), "骨骼数不匹配");
+        assertTrue(buffer.push(keyframe(15, 250, 2.0f), 250L));
+    }
+
+    @Test
+    void deltaShouldOnlyOverrideItsOwnFields() {
+        BonePoseJitterBuffer buffer = new BonePoseJitterBuffer();
+        buffer.push(keyframe(1, 0, 3.0f), 0L);
+        buffer.push(delta(2, 1, 100, 5.0f), 100L);
+
+        float[] out = new float[BONES * BonePoseCodec.FLOATS_PER_BONE];
+        buffer.sample(10_000L, out);
+        assertEquals(5.0, out[0], 1.0e-3);
+        assertEquals(3.0, out[BonePoseCodec.FLOATS_PER_BONE], 1.0e-3);
+    }
+
+    private static BonePoseFrame keyframe(int sequence, int timeMs, float x) {
+        BonePoseFrame frame = new BonePoseFrame(sequence, sequence, true, timeMs, BONES, BONES);
+        for (int i = 0; i < BONES; i++) {
+            frame.indices[i] = i;
+            frame.masks[i] = BonePoseCodec.HAS_ROTATION | BonePoseCodec.HAS_TRANSLATION;
+            int base = i * BonePoseCodec.FLOATS_PER_BONE;
+            frame.values[base] = x;
+            frame.values[base + 6] = 1.0f;
+        }
+        return frame;
+    }
+
+    /** 只改变第 0 根骨骼的平移 */
+    private static BonePoseFrame delta(int sequence, int keyframeSequence, int timeMs, float x) {
+        BonePoseFrame frame = new BonePoseFrame(sequence, keyframeSequence, false, timeMs, BONES, 1);
+        frame.indices[0] = 0;
+        frame.masks[0] = BonePoseCodec.HAS_TRANSLATION;
+        frame.values[0] = x;
+        return frame;
+    }
+}
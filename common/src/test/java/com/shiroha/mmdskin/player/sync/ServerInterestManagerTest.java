@@ -0,0 +1,173 @@
+package com.shiroha.mmdskin.player.sync;
+
+import com.shiroha.mmdskin.ui.network.NetworkOpCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** 文件职责：验证服务端兴趣管理的视野判定、模型按需补发、同 tick 合并与流量统计。 */
+class ServerInterestManagerTest {
+    private static final double RANGE = 64.0;
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID carol = UUID.randomUUID();
+    private final List<Sent> sent = new ArrayList<>();
+    private final ServerInterestManager.Delivery delivery = (target, message) -> sent.add(new Sent(target, message));
+    private ServerInterestManager manager;
+
+    private record Sent(UUID target, InterestMessage message) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        manager = new ServerInterestManager();
+        ServerModelRegistry.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ServerModelRegistry.clear();
+    }
+
+    @Test
+    void modelShouldOnlyReachPlayersInViewAndBeDeliveredOnEnter() {
+        ServerModelRegistry.updateModel(alice, "miku");
+        manager.tick(List.of(at(alice, 0), at(bob, 10), at(carol, 500)), RANGE, delivery);
+
+        assertEquals(1, count(bob, NetworkOpCode.MODEL_SELECT));
+        assertEquals(0, count(carol, NetworkOpCode.MODEL_SELECT));
+
+        sent.clear();
+        manager.tick(List.of(at(alice, 0), at(bob, 10), at(carol, 500)), RANGE, delivery);
+        assertTrue(sent.isEmpty(), "已下发的模型不应重复发送");
+
+        manager.tick(List.of(at(alice, 0), at(bob, 10), at(carol, 40)), RANGE, delivery);
+        assertEquals(1, count(carol, NetworkOpCode.MODEL_SELECT));
+        assertTrue(manager.isVisible(carol, alice));
+    }
+
+    @Test
+    void visibilityShouldUseExitMargin() {
+        manager.tick(List.of(at(alice, 0), at(bob, RANGE - 1)), RANGE, delivery);
+        assertTrue(manager.isVisible(alice, bob));
+
+        manager.tick(List.of(at(alice, 0), at(bob, RANGE + ServerInterestManager.EXIT_MARGIN / 2)), RANGE, delivery);
+        assertTrue(manager.isVisible(alice, bob), "在回差范围内保持可见");
+
+        manager.tick(List.of(at(alice, 0), at(bob, RANGE + ServerInterestManager.EXIT_MARGIN * 2)), RANGE, delivery);
+        assertFalse(manager.isVisible(alice, bob));
+    }
+
+    @Test
+    void morphAndAnimationBurstsShouldCoalescePerTick() {
+        List<ServerInterestManager.TrackedPlayer> online = List.of(at(alice, 0), at(bob, 5), at(carol, 900));
+        manager.tick(online, RANGE, delivery);
+        sent.clear();
+
+        for (int i = 0; i < 5; i++) {
+            manager.submit(alice, InterestMessage.ofText(NetworkOpCode.MORPH_SYNC, alice, "smile" + i), delivery);
+            manager.submit(alice, InterestMessage.ofText(NetworkOpCode.CUSTOM_ANIM, alice, "wave" + i), delivery);
+        }
+        assertTrue(sent.isEmpty(), "表情与动作在 tick 末尾统一下发");
+
+        manager.tick(online, RANGE, delivery);
+
+        assertEquals(2, sent.size());
+        assertEquals("smile4", find(bob, NetworkOpCode.MORPH_SYNC).text());
+        assertEquals("wave4", find(bob, NetworkOpCode.CUSTOM_ANIM).text());
+        assertEquals(8, manager.getCoalescedMessages());
+        // 全服广播需 10 条消息 * 2 名观察者 = 20 个包
+        assertEquals(18, manager.getSuppressedPackets());
+        assertTrue(manager.getSavedBytes() > 0);
+    }
+
+    @Test
+    void latestMorphShouldBeReplayedWhenPlayerEntersView() {
+        manager.tick(List.of(at(alice, 0), at(bob, 900)), RANGE, delivery);
+        manager.submit(alice, InterestMessage.ofText(NetworkOpCode.MORPH_SYNC, alice, "angry"), delivery);
+        manager.tick(List.of(at(alice, 0), at(bob, 900)), RANGE, delivery);
+        assertTrue(sent.isEmpty());
+
+        manager.tick(List.of(at(alice, 0), at(bob, 20)), RANGE, delivery);
+        assertEquals("angry", find(bob, NetworkOpCode.MORPH_SYNC).text());
+    }
+
+    @Test
+    void immediateMessagesShouldOnlyReachObservers() {
+        manager.tick(List.of(at(alice, 0), at(bob, 5), at(carol, 900)), RANGE, delivery);
+        sent.clear();
+
+        manager.submit(alice, InterestMessage.ofBinary(NetworkOpCode.BONE_SYNC, alice, new byte[64]), delivery);
+
+        assertEquals(1, sent.size());
+        assertEquals(bob, sent.get(0).target());
+    }
+
+    @Test
+    void requestAllModelsShouldRedeliverVisibleModelsAndClearCacheOnLeave() {
+        ServerModelRegistry.updateModel(alice, "miku");
+        manager.tick(List.of(at(alice, 0), at(bob, 5)), RANGE, delivery);
+        sent.clear();
+
+        manager.onRequestAllModels(bob);
+        manager.tick(List.of(at(alice, 0), at(bob, 5)), RANGE, delivery);
+        assertEquals(1, count(bob, NetworkOpCode.MODEL_SELECT));
+
+        ServerModelRegistry.updateModel(alice, "");
+        sent.clear();
+        manager.tick(List.of(at(alice, 0), at(bob, 5)), RANGE, delivery);
+        assertEquals("", find(bob, NetworkOpCode.MODEL_SELECT).text(), "取消模型也需通知视野内玩家");
+
+        manager.onPlayerLeave(alice);
+        assertFalse(manager.isVisible(bob, alice));
+    }
+
+    @Test
+    void relayShouldFollowObserversAcrossViewChangesAndDisappearance() {
+        manager.tick(List.of(at(alice, 0), at(bob, 5), at(carol, 10)), RANGE, delivery);
+        sent.clear();
+
+        manager.tick(List.of(at(alice, 0), at(bob, 5), at(carol, 900)), RANGE, delivery);
+        manager.submit(alice, InterestMessage.ofText(NetworkOpCode.RESET_PHYSICS, alice, null), delivery);
+        assertEquals(1, count(bob, NetworkOpCode.RESET_PHYSICS));
+        assertEquals(0, count(carol, NetworkOpCode.RESET_PHYSICS));
+
+        // bob 未经 onPlayerLeave 直接从在线列表消失
+        manager.tick(List.of(at(alice, 0), at(carol, 10)), RANGE, delivery);
+        sent.clear();
+        manager.submit(alice, InterestMessage.ofText(NetworkOpCode.RESET_PHYSICS, alice, null), delivery);
+        assertEquals(0, count(bob, NetworkOpCode.RESET_PHYSICS));
+        assertEquals(1, count(carol, NetworkOpCode.RESET_PHYSICS));
+        assertFalse(manager.isVisible(alice, bob));
+
+        manager.onPlayerLeave(carol);
+        sent.clear();
+        manager.submit(alice, InterestMessage.ofText(NetworkOpCode.RESET_PHYSICS, alice, null), delivery);
+        assertTrue(sent.isEmpty());
+    }
+
+    private static ServerInterestManager.TrackedPlayer at(UUID uuid, double x) {
+        return new ServerInterestManager.TrackedPlayer(uuid, "minecraft:overworld", x, 64.0, 0.0);
+    }
+
+    private long count(UUID target, int opCode) {
+        return sent.stream().filter(s -> s.target().equals(target) && s.message().opCode() == opCode).count();
+    }
+
+    private InterestMessage find(UUID target, int opCode) {
+        return sent.stream()
+                .filter(s -> s.target().equals(target) && s.message().opCode() == opCode)
+                .map(Sent::message)
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,49 @@
+package com.shiroha.mmdskin.render.backend.gpu;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** 文件职责：验证 arena 区间分配的首次适配、合并与扩容行为。 */
+class ArenaRangeAllocatorTest {
+    @Test
+    void shouldReuseFreedRangeAndMergeNeighbours() {
+        ArenaRangeAllocator allocator = new ArenaRangeAllocator(100);
+
+        long first = allocator.allocate(30);
+        long second = allocator.allocate(30);
+        long third = allocator.allocate(30);
+        assertEquals(0, first);
+        assertEquals(30, second);
+        assertEquals(60, third);
+        assertEquals(-1, allocator.allocate(20));
+
+        allocator.free(first, 30);
+        allocator.free(second, 30);
+        assertEquals(0, allocator.allocate(50));
+        assertEquals(80, allocator.used());
+    }
+
+    @Test
+    void shouldGrowByExtendingTrailingFreeRange() {
+        ArenaRangeAllocator allocator = new ArenaRangeAllocator(100);
+        allocator.allocate(80);
+
+        assertEquals(-1, allocator.allocate(50));
+        assertEquals(130, allocator.requiredCapacity(50));
+
+        allocator.grow(130);
+        assertEquals(80, allocator.allocate(50));
+        assertEquals(130, allocator.used());
+    }
+
+    @Test
+    void shouldIgnoreInvalidRequests() {
+        ArenaRangeAllocator allocator = new ArenaRangeAllocator(10);
+
+        assertEquals(-1, allocator.allocate(0));
+        allocator.free(5, 20);
+        assertEquals(0, allocator.used());
+        assertEquals(0, allocator.allocate(10));
+    }
+}
@@ -0,0 +1,31 @@
+package com.shiroha.mmdskin.render.policy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** 文件职责：验证物理细节等级的距离分级与 native 等级映射。 */
+class PhysicsLodTest {
+
+    @Test
+    void distanceShouldGradeFromFullToFrozen() {
+        double max = 24.0d;
+        assertEquals(PhysicsLod.FULL, PhysicsLod.forDistance(0.0d, max));
+        assertEquals(PhysicsLod.FULL, PhysicsLod.forDistance(12.0d * 12.0d, max));
+        assertEquals(PhysicsLod.HALF, PhysicsLod.forDistance(15.0d * 15.0d, max));
+        assertEquals(PhysicsLod.QUARTER, PhysicsLod.forDistance(24.0d * 24.0d, max));
+        assertEquals(PhysicsLod.FROZEN, PhysicsLod.forDistance(30.0d * 30.0d, max));
+        assertEquals(PhysicsLod.FULL, PhysicsLod.forDistance(1.0e6d, 0.0d));
+    }
+
+    @Test
+    void onlySteppingLevelsShouldBeSimulated() {
+        assertTrue(PhysicsLod.QUARTER.isSimulated());
+        assertEquals(4, PhysicsLod.QUARTER.stepInterval());
+        assertFalse(PhysicsLod.FROZEN.isSimulated());
+        assertFalse(PhysicsLod.OFF.isSimulated());
+        assertEquals(3, PhysicsLod.FROZEN.nativeLevel());
+    }
+}
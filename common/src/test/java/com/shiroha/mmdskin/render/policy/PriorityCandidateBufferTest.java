@@ -0,0 +1,47 @@
+package com.shiroha.mmdskin.render.policy;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** 文件职责：验证候选缓冲区的部分选择与完整排序的前缀一致，且可跨帧复用。 */
+class PriorityCandidateBufferTest {
+
+    @Test
+    void nearestPrefixShouldMatchFullSort() {
+        Random random = new Random(42L);
+        PriorityCandidateBuffer<Integer> buffer = new PriorityCandidateBuffer<>();
+        for (int round = 0; round < 200; round++) {
+            int size = 1 + random.nextInt(700);
+            int limit = random.nextInt(size + 20);
+            double[] distances = new double[size];
+            buffer.clear();
+            for (int i = 0; i < size; i++) {
+                // 取整制造重复距离
+                distances[i] = Math.floor(random.nextDouble() * 400.0d);
+                buffer.add(i, distances[i]);
+            }
+
+            int ranked = buffer.selectNearest(limit);
+            double[] expected = distances.clone();
+            Arrays.sort(expected);
+            assertEquals(Math.min(limit, size), ranked);
+            for (int rank = 0; rank < ranked; rank++) {
+                assertEquals(expected[rank], buffer.distanceAt(rank));
+                assertEquals(distances[buffer.itemAt(rank)], buffer.distanceAt(rank));
+            }
+        }
+    }
+
+    @Test
+    void emptyOrZeroLimitShouldSelectNothing() {
+        PriorityCandidateBuffer<String> buffer = new PriorityCandidateBuffer<>();
+        assertEquals(0, buffer.selectNearest(5));
+        buffer.add("a", 1.0d);
+        assertEquals(0, buffer.selectNearest(0));
+        assertEquals(1, buffer.selectNearest(5));
+        assertEquals("a", buffer.itemAt(0));
+    }
+}
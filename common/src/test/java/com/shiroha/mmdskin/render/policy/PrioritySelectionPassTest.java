@@ -0,0 +1,111 @@
+package com.shiroha.mmdskin.render.policy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** 文件职责：验证每帧优先级选择的可见上限、本地玩家处理、物理预算冻结与并行墙钟耗时。 */
+class PrioritySelectionPassTest {
+    private static final long FRAME = 7L;
+    private static final double PHYSICS_DISTANCE = 24.0d;
+
+    private final PrioritySelectionPass pass = new PrioritySelectionPass();
+
+    @Test
+    void visibleCapShouldKeepNearestCandidates() {
+        SubjectState[] states = candidates(5.0d, 1.0d, 4.0d, 2.0d, 3.0d);
+
+        pass.select(FRAME, 3, false, 0.0f, PHYSICS_DISTANCE);
+
+        assertEquals(3, pass.visibleCount());
+        assertEquals(0, pass.physicsCount());
+        assertEquals(-1L, states[0].visibleFrame);
+        assertEquals(FRAME, states[1].visibleFrame);
+        assertEquals(FRAME, states[3].visibleFrame);
+        assertEquals(FRAME, states[4].visibleFrame);
+        assertEquals(-1L, states[2].visibleFrame);
+    }
+
+    @Test
+    void localPlayerShouldTakeVisibleSlotAndFullPhysics() {
+        pass.begin(1);
+        SubjectState local = new SubjectState();
+        pass.addLocalPlayer(local, FRAME, true);
+        SubjectState near = new SubjectState();
+        SubjectState far = new SubjectState();
+        pass.addCandidate(far, 2.0d);
+        pass.addCandidate(near, 1.0d);
+
+        pass.select(FRAME, 2, true, 0.0f, PHYSICS_DISTANCE);
+
+        assertEquals(FRAME, local.visibleFrame);
+        assertEquals(PhysicsLod.FULL, local.physicsLod);
+        assertEquals(FRAME, near.visibleFrame);
+        assertEquals(-1L, far.visibleFrame);
+        assertEquals(2, pass.physicsCount());
+    }
+
+    @Test
+    void budgetShouldFreezeEveryModelBeyondFirstOverrun() {
+        pass.begin(1);
+        SubjectState a = candidate(1.0d, 1.0f);
+        SubjectState b = candidate(4.0d, 3.0f);
+        SubjectState c = candidate(9.0d, 0.1f);
+
+        pass.select(FRAME, 0, true, 2.0f, PHYSICS_DISTANCE);
+
+        assertEquals(PhysicsLod.FULL, a.physicsLod);
+        // b 超出预算后冻结，c 虽然便宜也不越过 b 启用物理
+        assertEquals(PhysicsLod.FROZEN, b.physicsLod);
+        assertEquals(PhysicsLod.FROZEN, c.physicsLod);
+        assertEquals(FRAME, c.physicsFrame);
+        assertEquals(3, pass.visibleCount());
+        assertEquals(1, pass.physicsCount());
+    }
+
+    @Test
+    void distanceLodShouldDivideCostByStepInterval() {
+        pass.begin(1);
+        // 20 格处为 1/4 频，4ms 的模型只计 1ms
+        SubjectState quarter = candidate(20.0d * 20.0d, 4.0f);
+
+        pass.select(FRAME, 0, true, 1.5f, PHYSICS_DISTANCE);
+
+        assertEquals(PhysicsLod.QUARTER, quarter.physicsLod);
+        assertEquals(1, pass.physicsCount());
+    }
+
+    @Test
+    void budgetShouldCountParallelWallTime() {
+        pass.begin(2);
+        // 两个线程各承担 1.5ms，墙钟耗时 1.5ms；第三个模型无论放在哪个线程都会到 2.5ms
+        SubjectState a = candidate(1.0d, 1.5f);
+        SubjectState b = candidate(4.0d, 1.5f);
+        SubjectState c = candidate(9.0d, 1.0f);
+
+        pass.select(FRAME, 0, true, 2.0f, PHYSICS_DISTANCE);
+
+        assertEquals(PhysicsLod.FULL, a.physicsLod);
+        assertEquals(PhysicsLod.FULL, b.physicsLod);
+        assertEquals(PhysicsLod.FROZEN, c.physicsLod);
+        assertEquals(2, pass.physicsCount());
+        assertEquals(1.5d, pass.physicsWallMs(), 1e-6d);
+    }
+
+    private SubjectState[] candidates(double... distances) {
+        pass.begin(1);
+        SubjectState[] states = new SubjectState[distances.length];
+        for (int i = 0; i < distances.length; i++) {
+            states[i] = new SubjectState();
+            pass.addCandidate(states[i], distances[i]);
+        }
+        return states;
+    }
+
+    private SubjectState candidate(double distanceSq, float costMs) {
+        SubjectState state = new SubjectState();
+        state.physicsCostMs = costMs;
+        pass.addCandidate(state, distanceSq);
+        return state;
+    }
+}
@@ -262,5 +262,25 @@ class StageClientPacketHandlerTest {
         @Override
         public void getCameraTransform(long animationHandle, float frame, java.nio.ByteBuffer targetBuffer) {
         }
+
+        @Override
+        public long bakeAnimation(long animationHandle, boolean includeBones) {
+            return 0L;
+        }
+
+        @Override
+        public long getAnimationMemoryUsage(long animationHandle) {
+            return 0L;
+        }
+
+        @Override
+        public boolean preloadFbxAsync(String fbxPath) {
+            return false;
+        }
+
+        @Override
+        public List<String> listFbxStacks(String fbxPath) {
+            return null;
+        }
     }
 }
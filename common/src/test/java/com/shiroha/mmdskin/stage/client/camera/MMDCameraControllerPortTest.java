@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -234,6 +235,26 @@ class MMDCameraControllerPortTest {
         @Override
         public void getCameraTransform(long animationHandle, float frame, java.nio.ByteBuffer targetBuffer) {
         }
+
+        @Override
+        public long bakeAnimation(long animationHandle, boolean includeBones) {
+            return 0L;
+        }
+
+        @Override
+        public long getAnimationMemoryUsage(long animationHandle) {
+            return 0L;
+        }
+
+        @Override
+        public boolean preloadFbxAsync(String fbxPath) {
+            return false;
+        }
+
+        @Override
+        public List<String> listFbxStacks(String fbxPath) {
+            return null;
+        }
     }
 
     private static final class FakePlayerSyncPort implements StagePlayerSyncPort {
@@ -321,5 +342,25 @@ class MMDCameraControllerPortTest {
         @Override
         public void getCameraTransform(long animationHandle, float frame, java.nio.ByteBuffer targetBuffer) {
         }
+
+        @Override
+        public long bakeAnimation(long animationHandle, boolean includeBones) {
+            return 0L;
+        }
+
+        @Override
+        public long getAnimationMemoryUsage(long animationHandle) {
+            return 0L;
+        }
+
+        @Override
+        public boolean preloadFbxAsync(String fbxPath) {
+            return false;
+        }
+
+        @Override
+        public List<String> listFbxStacks(String fbxPath) {
+            return null;
+        }
     }
 }
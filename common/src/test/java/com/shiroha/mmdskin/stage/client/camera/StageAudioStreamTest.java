@@ -0,0 +1,162 @@
+package com.shiroha.mmdskin.stage.client.camera;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 文件职责：无需 OpenAL 地校验舞台音频流式管线的定位精度、分块连续性与常驻内存上限。
+ * 整段解码与流式解码的耗时对比见 benchmark 源集中的 StageAudioDecodeBenchmark。
+ */
+class StageAudioStreamTest {
+    private static final int SAMPLE_RATE = 44100;
+    private static final int CHANNELS = 2;
+    private static final int SECONDS = 60;
+    private static final int CHUNK_FRAMES = SAMPLE_RATE / 4;
+    private static final int CHUNK_COUNT = 8;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void wavDecoderShouldSeekSampleAccurately() throws IOException {
+        File wav = writeTestWav(5);
+        try (StageAudioDecoder decoder = StageAudioDecoder.open(wav)) {
+            assertEquals(SAMPLE_RATE, decoder.sampleRate());
+            assertEquals(CHANNELS, decoder.channels());
+            assertEquals(5L * SAMPLE_RATE, decoder.totalFrames());
+
+            ShortBuffer out = ByteBuffer.allocateDirect(64 * CHANNELS * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
+            for (long target : new long[]{12345L, 7L, 3L * SAMPLE_RATE + 1}) {
+                decoder.seek(target);
+                out.clear();
+                assertEquals(64, decoder.read(out));
+                for (int i = 0; i < 64; i++) {
+                    assertEquals(sampleAt(target + i, 0), out.get(i * CHANNELS), "frame " + (target + i));
+                    assertEquals(sampleAt(target + i, 1), out.get(i * CHANNELS + 1), "frame " + (target + i));
+                }
+            }
+        }
+    }
+
+    @Test
+    void streamShouldDeliverContiguousChunksAndHonourSeek() throws Exception {
+        File wav = writeTestWav(5);
+        long totalFrames = 5L * SAMPLE_RATE;
+        try (StageAudioStream stream = new StageAudioStream(StageAudioDecoder.open(wav), CHUNK_FRAMES, 4)) {
+            stream.start();
+
+            long expected = 0L;
+            boolean seeked = false;
+            while (true) {
+                StageAudioStream.Chunk chunk = stream.take(2000L);
+                assertNotNull(chunk, "解码线程应持续产出数据");
+                assertEquals(expected, chunk.startFrame);
+                if (chunk.frames > 0) {
+                    assertEquals(sampleAt(chunk.startFrame, 1), chunk.data.getShort(2));
+                }
+                expected += chunk.frames;
+                boolean end = chunk.endOfStream;
+                stream.recycle(chunk);
+                if (!seeked && expected >= 2L * CHUNK_FRAMES) {
+                    // 定位后旧数据全部作废，下一块必须从目标帧开始
+                    expected = 3L * SAMPLE_RATE + 17;
+                    stream.seek(expected);
+                    seeked = true;
+                    continue;
+                }
+                if (end) {
+                    break;
+                }
+            }
+            assertEquals(totalFrames, expected);
+        }
+    }
+
+    @Test
+    void streamShouldKeepResidentMemoryFarBelowFullDecode() throws Exception {
+        File wav = writeTestWav(SECONDS);
+        long fullBytes = decodeFully(wav);
+
+        long streamedFrames = 0L;
+        try (StageAudioStream stream = new StageAudioStream(StageAudioDecoder.open(wav), CHUNK_FRAMES, CHUNK_COUNT)) {
+            long residentBytes = stream.residentBytes();
+            assertTrue(residentBytes * 20 < fullBytes, "流式常驻 " + residentBytes + " 字节, 整段 " + fullBytes + " 字节");
+
+            stream.start();
+            StageAudioStream.Chunk chunk;
+            while ((chunk = stream.take(5000L)) != null) {
+                streamedFrames += chunk.frames;
+                boolean end = chunk.endOfStream;
+                stream.recycle(chunk);
+                if (end) {
+                    break;
+                }
+            }
+            assertEquals(fullBytes / (stream.channels() * 2L), streamedFrames);
+        }
+    }
+
+    /** 把整首音频解码进一块内存，返回 PCM 字节数 */
+    private static long decodeFully(File file) throws IOException {
+        try (StageAudioDecoder decoder = StageAudioDecoder.open(file)) {
+            ShortBuffer out = ByteBuffer.allocateDirect(CHUNK_FRAMES * decoder.channels() * 2)
+                    .order(ByteOrder.nativeOrder()).asShortBuffer();
+            long frames = 0L;
+            short[] all = new short[0];
+            int read;
+            while ((read = decoder.read(out)) > 0) {
+                int samples = read * decoder.channels();
+                long needed = (frames + read) * decoder.channels();
+                if (needed > all.length) {
+                    all = Arrays.copyOf(all, (int) Math.max(needed, all.length * 2L));
+                }
+                out.flip();
+                out.get(all, (int) (frames * decoder.channels()), samples);
+                out.clear();
+                frames += read;
+            }
+            return frames * decoder.channels() * 2L;
+        }
+    }
+
+    private File writeTestWav(int seconds) throws IOException {
+        int frames = seconds * SAMPLE_RATE;
+        byte[] pcm = new byte[frames * CHANNELS * 2];
+        for (int frame = 0; frame < frames; frame++) {
+            for (int channel = 0; channel < CHANNELS; channel++) {
+                short value = sampleAt(frame, channel);
+                int offset = (frame * CHANNELS + channel) * 2;
+                pcm[offset] = (byte) value;
+                pcm[offset + 1] = (byte) (value >> 8);
+            }
+        }
+        AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, CHANNELS, true, false);
+        File file = tempDir.resolve("stream_" + seconds + "s.wav").toFile();
+        try (AudioInputStream input = new AudioInputStream(new ByteArrayInputStream(pcm), format, frames)) {
+            AudioSystem.write(input, AudioFileFormat.Type.WAVE, file);
+        }
+        return file;
+    }
+
+    /** 每帧唯一可辨的样本值，用于校验定位与拼接位置 */
+    private static short sampleAt(long frame, int channel) {
+        return (short) ((frame * 7 + channel * 13) % 32749 - 16374);
+    }
+}
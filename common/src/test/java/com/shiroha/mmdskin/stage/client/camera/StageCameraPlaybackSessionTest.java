@@ -3,6 +3,9 @@ package com.shiroha.mmdskin.stage.client.camera;
 import com.shiroha.mmdskin.bridge.runtime.NativeAnimationPort;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -62,18 +65,57 @@ class StageCameraPlaybackSessionTest {
                 new FakeAnimationPort(true, true, 100.0f, 150.0f)
         );
         session.setPlaybackSpeed(1.0f);
-        session.setTargetSyncFrame(25.0f);
+        // 偏差超过对齐阈值，直接跳到主机位置
+        session.observeClock(StageMasterClock.Source.HOST, 25.0 / 30.0);
 
-        StagePlaybackAdvance advance = session.advance(1.0f, 30.0f, 1.15f, 0.85f, 2.0f);
+        StagePlaybackAdvance advance = session.advance(1.0f, 30.0f);
 
-        assertEquals(34.5f, advance.frame());
-        assertEquals(34.5f, session.currentFrame());
+        assertEquals(55.0f, advance.frame(), 1e-3);
+        assertEquals(55.0f, session.currentFrame(), 1e-3);
         assertTrue(session.shouldBroadcastFrameSync(1));
         assertFalse(session.shouldBroadcastFrameSync(2));
         assertTrue(session.shouldBroadcastFrameSync(2));
     }
 
+    @Test
+    void clearingPresentationShouldResetClock() {
+        StageCameraPlaybackSession session = new StageCameraPlaybackSession();
+        session.observeClock(StageMasterClock.Source.AUDIO, 12.0);
+        session.advance(0.5f, 30.0f);
+
+        session.clearPresentationState();
+
+        assertEquals(0.0, session.clock().position(), 0.0);
+        assertEquals(StageMasterClock.Source.WALL, session.clock().source());
+    }
+
+    @Test
+    void bakingShouldCoverCameraAndOptionallyMotionBones() {
+        StageCameraPlaybackSession session = new StageCameraPlaybackSession();
+        FakeAnimationPort port = new FakeAnimationPort(false, true, 96.0f, 240.0f);
+        session.configureStagePlayback(10L, 20L, 30L, "miku", 0.0f, port);
+
+        assertEquals(100L, session.bakeStageAnimations(port, false));
+        assertEquals(List.of("20:false"), port.bakes);
+
+        port.bakes.clear();
+        assertEquals(200L, session.bakeStageAnimations(port, true));
+        assertEquals(List.of("20:false", "10:true"), port.bakes);
+    }
+
+    @Test
+    void sharedMotionAndCameraHandleShouldBakeOnce() {
+        StageCameraPlaybackSession session = new StageCameraPlaybackSession();
+        FakeAnimationPort port = new FakeAnimationPort(true, false, 96.0f, 240.0f);
+        session.configureStagePlayback(10L, 20L, 30L, "miku", 0.0f, port);
+
+        session.bakeStageAnimations(port, true);
+
+        assertEquals(List.of("10:true"), port.bakes);
+    }
+
     private static final class FakeAnimationPort implements NativeAnimationPort {
+        private final List<String> bakes = new ArrayList<>();
         private final boolean motionHasCamera;
         private final boolean cameraHasCamera;
         private final float motionMaxFrame;
@@ -138,5 +180,26 @@ class StageCameraPlaybackSessionTest {
         @Override
         public void getCameraTransform(long animationHandle, float frame, java.nio.ByteBuffer targetBuffer) {
         }
+
+        @Override
+        public long bakeAnimation(long animationHandle, boolean includeBones) {
+            bakes.add(animationHandle + ":" + includeBones);
+            return 100L;
+        }
+
+        @Override
+        public long getAnimationMemoryUsage(long animationHandle) {
+            return 0L;
+        }
+
+        @Override
+        public boolean preloadFbxAsync(String fbxPath) {
+            return false;
+        }
+
+        @Override
+        public List<String> listFbxStacks(String fbxPath) {
+            return null;
+        }
     }
 }
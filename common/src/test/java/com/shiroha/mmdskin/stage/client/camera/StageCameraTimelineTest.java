@@ -9,42 +9,27 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 /** 文件职责：验证舞台相机时间线与状态迁移的纯计算行为。 */
 class StageCameraTimelineTest {
     @Test
-    void shouldUseCatchupSpeedWhenFrameDriftExceedsTolerance() {
-        StagePlaybackAdvance advance = StageCameraTimeline.advanceFrame(
-                10.0f,
-                20.0f,
-                1.0f,
-                1.0f,
-                200.0f,
-                30.0f,
-                1.15f,
-                0.85f,
-                2.0f
-        );
-
-        assertEquals(44.5f, advance.frame());
-        assertEquals(1.15f, advance.effectiveSpeed());
-        assertEquals(20.0f, advance.targetSyncFrame());
+    void shouldDeriveFrameFromMasterClock() {
+        StageMasterClock clock = new StageMasterClock();
+
+        StagePlaybackAdvance advance = StageCameraTimeline.advanceFrame(clock, 1.0f, 1.0f, 200.0f, 30.0f);
+
+        assertEquals(30.0f, advance.frame());
+        assertEquals(1.0f, advance.effectiveSpeed());
+        assertEquals(0.0f, advance.driftFrames());
         assertFalse(advance.completed());
     }
 
     @Test
-    void shouldClearSyncTargetWhenDriftFallsWithinTolerance() {
-        StagePlaybackAdvance advance = StageCameraTimeline.advanceFrame(
-                10.0f,
-                11.0f,
-                1.0f,
-                0.5f,
-                200.0f,
-                30.0f,
-                1.15f,
-                0.85f,
-                2.0f
-        );
-
-        assertEquals(25.0f, advance.frame());
-        assertEquals(-1.0f, advance.targetSyncFrame());
-        assertEquals(1.0f, advance.effectiveSpeed());
+    void shouldCorrectSmallDriftThroughBoundedRate() {
+        StageMasterClock clock = new StageMasterClock();
+        clock.observe(StageMasterClock.Source.HOST, 0.1);
+
+        StagePlaybackAdvance advance = StageCameraTimeline.advanceFrame(clock, 0.1f, 1.0f, 200.0f, 30.0f);
+
+        assertTrue(advance.effectiveSpeed() > 1.0f);
+        assertTrue(advance.effectiveSpeed() <= 1.0f + (float) StageMasterClock.MAX_RATE_ADJUST);
+        assertTrue(advance.driftFrames() > 0.0f && advance.driftFrames() < 3.0f);
     }
 
     @Test
@@ -0,0 +1,135 @@
+package com.shiroha.mmdskin.stage.client.camera;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 文件职责：用可复现的时序轨迹回放验证舞台主时钟的锁相行为。
+ * 轨迹由固定种子生成，模拟渲染帧抖动与卡顿、声卡时钟偏差、OpenAL 按混音周期更新的采样偏移以及带网络延迟的主机帧同步。
+ */
+class StageMasterClockTest {
+    private static final int SAMPLE_RATE = 44100;
+    /** OpenAL 混音周期：AL_SAMPLE_OFFSET 按该粒度阶梯式前进 */
+    private static final int MIXER_PERIOD = 1024;
+    private static final double VMD_FRAME_SECONDS = 1.0 / 30.0;
+
+    @Test
+    void audioReferenceShouldStaySampleLockedUnderFrameJitter() {
+        double deviceSkew = 1.003;
+        double[] deltas = renderFrameTrace(new Random(11), 60.0);
+        StageMasterClock clock = new StageMasterClock();
+
+        double wall = 0.0;
+        double maxError = 0.0;
+        double maxRateDeviation = 0.0;
+        for (double delta : deltas) {
+            double audioTrue = wall * deviceSkew;
+            double audioObserved = Math.floor(audioTrue * SAMPLE_RATE / MIXER_PERIOD) * MIXER_PERIOD / SAMPLE_RATE;
+            clock.observe(StageMasterClock.Source.AUDIO, audioObserved);
+            clock.advance(delta, 1.0);
+            wall += delta;
+            if (wall > 5.0) {
+                maxError = Math.max(maxError, Math.abs(clock.position() - wall * deviceSkew));
+                maxRateDeviation = Math.max(maxRateDeviation, Math.abs(clock.rate() - 1.0));
+            }
+        }
+
+        assertTrue(maxError < VMD_FRAME_SECONDS / 2, "最大偏差 " + maxError * 1000 + " ms");
+        assertTrue(maxRateDeviation <= StageMasterClock.MAX_RATE_ADJUST + 1e-9);
+        assertEquals(deviceSkew - 1.0, clock.frequencyOffset(), 0.001);
+        assertEquals(0L, clock.snapCount());
+    }
+
+    @Test
+    void hostReferenceShouldConvergeWithoutSpeedWobble() {
+        Random random = new Random(23);
+        double hostSkew = 1.005;
+        double meanLatency = 0.08;
+        double[] deltas = renderFrameTrace(random, 90.0);
+        StageMasterClock clock = new StageMasterClock();
+        clock.reset(-0.2);
+
+        double wall = 0.0;
+        double nextSync = 0.0;
+        double maxError = 0.0;
+        double maxRateDeviation = 0.0;
+        for (double delta : deltas) {
+            if (wall >= nextSync) {
+                // 同步包携带主机发送时刻的帧，到达时已过去一段网络延迟
+                double latency = meanLatency + (random.nextDouble() - 0.5) * 0.06;
+                clock.observe(StageMasterClock.Source.HOST, (wall - latency) * hostSkew);
+                nextSync += 2.0;
+            }
+            clock.advance(delta, 1.0);
+            wall += delta;
+            if (wall > 30.0) {
+                double expected = (wall - meanLatency) * hostSkew;
+                maxError = Math.max(maxError, Math.abs(clock.position() - expected));
+                maxRateDeviation = Math.max(maxRateDeviation, Math.abs(clock.rate() - 1.0));
+            }
+        }
+
+        assertTrue(maxError < VMD_FRAME_SECONDS, "最大偏差 " + maxError * 1000 + " ms");
+        // 收敛后只剩频率补偿，不再出现旧实现 ±15% 的追赶摆动
+        assertTrue(maxRateDeviation < 0.02, "最大速率偏移 " + maxRateDeviation);
+        assertEquals(0L, clock.snapCount());
+    }
+
+    @Test
+    void largeJumpShouldSnapInsteadOfRamping() {
+        StageMasterClock clock = new StageMasterClock();
+        for (int i = 0; i < 60; i++) {
+            clock.observe(StageMasterClock.Source.AUDIO, i / 60.0);
+            clock.advance(1.0 / 60.0, 1.0);
+        }
+
+        clock.observe(StageMasterClock.Source.AUDIO, 42.0);
+
+        assertEquals(1L, clock.snapCount());
+        assertEquals(42.0, clock.position(), 1e-9);
+        clock.advance(1.0 / 60.0, 1.0);
+        assertEquals(1.0, clock.rate(), 0.01);
+    }
+
+    @Test
+    void slaveAudioShouldBePulledTowardMaster() {
+        StageMasterClock clock = new StageMasterClock();
+        double slave = -0.1;
+        double[] deltas = renderFrameTrace(new Random(5), 10.0);
+        for (double delta : deltas) {
+            double slaveRate = clock.slaveRate(slave, 1.0);
+            assertTrue(Math.abs(slaveRate - 1.0) <= StageMasterClock.MAX_RATE_ADJUST + 1e-9);
+            clock.advance(delta, 1.0);
+            slave += delta * slaveRate;
+        }
+        assertEquals(clock.position(), slave, 0.005);
+    }
+
+    @Test
+    void wallClockShouldAdvanceAtNominalSpeed() {
+        StageMasterClock clock = new StageMasterClock();
+        for (int i = 0; i < 600; i++) {
+            clock.advance(1.0 / 60.0, 1.5);
+        }
+        assertEquals(15.0, clock.position(), 1e-9);
+        assertEquals(StageMasterClock.Source.WALL, clock.source());
+
+        StagePlaybackAdvance advance = StageCameraTimeline.advanceFrame(clock, 0.5f, 1.5f, 460.0f, 30.0f);
+        assertEquals(460.0f, advance.frame(), 1e-3);
+        assertTrue(advance.completed());
+    }
+
+    /** 渲染帧间隔：4~28 ms 抖动，约每 5 秒一次 90 ms 卡顿（与 cappedDeltaSeconds 的上限一致地不超过 0.1 秒） */
+    private static double[] renderFrameTrace(Random random, double seconds) {
+        int frames = (int) (seconds * 60);
+        double[] deltas = new double[frames];
+        for (int i = 0; i < frames; i++) {
+            deltas[i] = i % 300 == 299 ? 0.09 : 0.004 + random.nextDouble() * 0.024;
+        }
+        return deltas;
+    }
+}
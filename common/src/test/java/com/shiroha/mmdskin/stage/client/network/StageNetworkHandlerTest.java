@@ -0,0 +1,77 @@
+package com.shiroha.mmdskin.stage.client.network;
+
+import com.shiroha.mmdskin.stage.protocol.StageBinaryPacketCodec;
+import com.shiroha.mmdskin.stage.protocol.StagePacket;
+import com.shiroha.mmdskin.stage.protocol.StagePacketCodec;
+import com.shiroha.mmdskin.stage.protocol.StagePacketType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** 文件职责：验证舞台包在服务端确认支持二进制前保持文本协议，确认后按连接切换。 */
+class StageNetworkHandlerTest {
+    private final AtomicReference<String> textRef = new AtomicReference<>();
+    private final AtomicReference<byte[]> binaryRef = new AtomicReference<>();
+
+    @AfterEach
+    void tearDown() {
+        StageNetworkHandler.setStageMultiSender(null);
+        StageNetworkHandler.setStageBinarySender(null);
+        StageNetworkHandler.onDisconnect();
+    }
+
+    @Test
+    void shouldSendTextWithCapabilityUntilServerRepliesInBinary() {
+        StageNetworkHandler.setStageMultiSender(textRef::set);
+        StageNetworkHandler.setStageBinarySender(binaryRef::set);
+        UUID sessionId = UUID.randomUUID();
+
+        StageNetworkHandler.sendFrameSync(sessionId, 12.0f);
+
+        assertNull(binaryRef.get());
+        StagePacket textPacket = StagePacketCodec.decode(textRef.get());
+        assertNotNull(textPacket);
+        assertEquals(StagePacketType.FRAME_SYNC, textPacket.type);
+        assertTrue(textPacket.binaryCapable);
+
+        StageNetworkHandler.onBinaryPacketReceived();
+        textRef.set(null);
+        StageNetworkHandler.sendFrameSync(sessionId, 13.0f);
+
+        assertNull(textRef.get());
+        StagePacket binaryPacket = StageBinaryPacketCodec.decode(binaryRef.get());
+        assertNotNull(binaryPacket);
+        assertEquals(13.0f, binaryPacket.frame);
+    }
+
+    @Test
+    void shouldReturnToTextAfterDisconnect() {
+        StageNetworkHandler.setStageMultiSender(textRef::set);
+        StageNetworkHandler.setStageBinarySender(binaryRef::set);
+        StageNetworkHandler.onBinaryPacketReceived();
+        StageNetworkHandler.onDisconnect();
+
+        StageNetworkHandler.sendSessionDissolve(UUID.randomUUID());
+
+        assertNull(binaryRef.get());
+        assertNotNull(StagePacketCodec.decode(textRef.get()));
+    }
+
+    @Test
+    void shouldOmitCapabilityWithoutBinarySender() {
+        StageNetworkHandler.setStageMultiSender(textRef::set);
+
+        StageNetworkHandler.sendSessionDissolve(UUID.randomUUID());
+
+        StagePacket packet = StagePacketCodec.decode(textRef.get());
+        assertNotNull(packet);
+        assertNull(packet.binaryCapable);
+    }
+}
@@ -0,0 +1,114 @@
+package com.shiroha.mmdskin.stage.protocol;
+
+import com.shiroha.mmdskin.stage.domain.model.StageCameraMode;
+import com.shiroha.mmdskin.stage.domain.model.StageDescriptor;
+import com.shiroha.mmdskin.stage.domain.model.StageInviteDecision;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** 文件职责：验证舞台二进制协议的字段往返、标识回退与损坏数据拒绝。 */
+class StageBinaryPacketCodecTest {
+
+    @Test
+    void shouldRoundTripPacket() {
+        StagePacket packet = new StagePacket(StagePacketType.SESSION_STATE);
+        packet.sessionId = "207716c5-6857-4190-a69b-f5937d90bf89";
+        packet.targetPlayerId = "d8016232-9357-4339-8f82-5d11263ae4a5";
+        packet.inviteDecision = StageInviteDecision.ACCEPT;
+        packet.ready = false;
+        packet.cameraMode = StageCameraMode.HOST_CAMERA;
+        packet.frame = 15.25f;
+        packet.heightOffset = -0.5f;
+        packet.descriptor = new StageDescriptor("demo_pack", List.of("dance_a.vmd", "dance_b.vmd"), "camera.vmd", null);
+        packet.motionPackName = "guest_pack";
+        packet.motionFiles = List.of("dance_b.vmd");
+        packet.members = List.of(
+                new StageMemberSnapshot("bd7c1a5e-3f1b-4f0e-9a55-0c2c1f7a9e01", "Alice", "READY", "HOST_CAMERA"),
+                new StageMemberSnapshot("member-2", "ボブ", "READY", null));
+
+        StagePacket decoded = StageBinaryPacketCodec.decode(StageBinaryPacketCodec.encode(packet));
+
+        assertNotNull(decoded);
+        assertEquals(StagePacketType.SESSION_STATE, decoded.type);
+        assertEquals(packet.sessionId, decoded.sessionId);
+        assertEquals(packet.targetPlayerId, decoded.targetPlayerId);
+        assertEquals(packet.inviteDecision, decoded.inviteDecision);
+        assertEquals(Boolean.FALSE, decoded.ready);
+        assertEquals(packet.cameraMode, decoded.cameraMode);
+        assertEquals(packet.frame, decoded.frame);
+        assertEquals(packet.heightOffset, decoded.heightOffset);
+        assertEquals("demo_pack", decoded.descriptor.getPackName());
+        assertEquals(List.of("dance_a.vmd", "dance_b.vmd"), decoded.descriptor.getMotionFiles());
+        assertEquals("camera.vmd", decoded.descriptor.getCameraFile());
+        assertNull(decoded.descriptor.getAudioFile());
+        assertEquals("guest_pack", decoded.motionPackName);
+        assertEquals(List.of("dance_b.vmd"), decoded.motionFiles);
+        assertEquals(2, decoded.members.size());
+        assertEquals(packet.members.get(0).uuid, decoded.members.get(0).uuid);
+        assertEquals("member-2", decoded.members.get(1).uuid);
+        assertEquals("ボブ", decoded.members.get(1).name);
+        assertEquals("READY", decoded.members.get(1).state);
+        assertNull(decoded.members.get(1).cameraMode);
+    }
+
+    @Test
+    void shouldKeepOptionalFieldsAbsent() {
+        StagePacket decoded = StageBinaryPacketCodec.decode(
+                StageBinaryPacketCodec.encode(new StagePacket(StagePacketType.PLAYBACK_STOP)));
+
+        assertNotNull(decoded);
+        assertNull(decoded.sessionId);
+        assertNull(decoded.ready);
+        assertNull(decoded.frame);
+        assertNull(decoded.descriptor);
+        assertTrue(decoded.motionFiles.isEmpty());
+        assertTrue(decoded.members.isEmpty());
+    }
+
+    @Test
+    void shouldPreserveNonCanonicalIdentifiers() {
+        StagePacket packet = new StagePacket(StagePacketType.REMOTE_STAGE_STOP);
+        packet.sessionId = "not-a-uuid";
+        packet.targetPlayerId = "207716C5-6857-4190-A69B-F5937D90BF89";
+
+        StagePacket decoded = StageBinaryPacketCodec.decode(StageBinaryPacketCodec.encode(packet));
+
+        assertEquals("not-a-uuid", decoded.sessionId);
+        assertEquals(packet.targetPlayerId, decoded.targetPlayerId);
+    }
+
+    @Test
+    void shouldEncodeFrameSyncInFewBytes() {
+        StagePacket packet = new StagePacket(StagePacketType.FRAME_SYNC);
+        packet.sessionId = "207716c5-6857-4190-a69b-f5937d90bf89";
+        packet.frame = 1234.5f;
+
+        assertEquals(3 + 17 + 4, StageBinaryPacketCodec.encode(packet).length);
+    }
+
+    @Test
+    void shouldRejectTruncatedOrUnknownData() {
+        StagePacket packet = new StagePacket(StagePacketType.PLAYBACK_START);
+        packet.descriptor = new StageDescriptor("pack", List.of("a.vmd"), null, null);
+        byte[] encoded = StageBinaryPacketCodec.encode(packet);
+
+        assertNull(StageBinaryPacketCodec.decode(null));
+        assertNull(StageBinaryPacketCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+        assertNull(StageBinaryPacketCodec.decode(Arrays.copyOf(encoded, encoded.length + 1)));
+
+        byte[] futureVersion = encoded.clone();
+        futureVersion[0] = (byte) (StageBinaryPacketCodec.FORMAT_VERSION + 1);
+        assertNull(StageBinaryPacketCodec.decode(futureVersion));
+
+        byte[] unknownType = encoded.clone();
+        unknownType[1] = (byte) 0x7F;
+        assertNull(StageBinaryPacketCodec.decode(unknownType));
+    }
+}
@@ -0,0 +1,108 @@
+package com.shiroha.mmdskin.stage.protocol;
+
+import com.shiroha.mmdskin.stage.domain.model.StageCameraMode;
+import com.shiroha.mmdskin.stage.domain.model.StageDescriptor;
+import com.shiroha.mmdskin.stage.domain.model.StageInviteDecision;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 文件职责：逐个舞台包类型验证二进制协议与 S3 文本协议解码结果一致，且二进制体积不到文本的一半。
+ * 编解码吞吐对比见 benchmark 源集中的 StagePacketCodecBenchmark。
+ */
+class StagePacketCodecSizeTest {
+
+    @Test
+    void binaryCodecShouldRoundTripLikeTextForEveryPacketType() {
+        for (StagePacketType type : StagePacketType.values()) {
+            StagePacket packet = samplePacket(type);
+            StagePacket fromText = StagePacketCodec.decode(StagePacketCodec.encode(packet));
+            StagePacket fromBinary = StageBinaryPacketCodec.decode(StageBinaryPacketCodec.encode(packet));
+
+            assertNotNull(fromText, type.name());
+            assertNotNull(fromBinary, type.name());
+            assertEquals(type, fromBinary.type);
+            assertEquals(fromText.sessionId, fromBinary.sessionId, type.name());
+            assertEquals(fromText.targetPlayerId, fromBinary.targetPlayerId, type.name());
+            assertEquals(fromText.inviteDecision, fromBinary.inviteDecision, type.name());
+            assertEquals(fromText.ready, fromBinary.ready, type.name());
+            assertEquals(fromText.cameraMode, fromBinary.cameraMode, type.name());
+            assertEquals(fromText.frame, fromBinary.frame, type.name());
+            assertEquals(fromText.heightOffset, fromBinary.heightOffset, type.name());
+            assertEquals(fromText.motionPackName, fromBinary.motionPackName, type.name());
+            assertEquals(fromText.motionFiles, fromBinary.motionFiles, type.name());
+            assertEquals(fromText.members.size(), fromBinary.members.size(), type.name());
+            for (int i = 0; i < fromText.members.size(); i++) {
+                assertEquals(fromText.members.get(i).uuid, fromBinary.members.get(i).uuid, type.name());
+                assertEquals(fromText.members.get(i).name, fromBinary.members.get(i).name, type.name());
+                assertEquals(fromText.members.get(i).state, fromBinary.members.get(i).state, type.name());
+                assertEquals(fromText.members.get(i).cameraMode, fromBinary.members.get(i).cameraMode, type.name());
+            }
+            if (fromText.descriptor == null) {
+                assertNull(fromBinary.descriptor, type.name());
+            } else {
+                assertEquals(fromText.descriptor.getPackName(), fromBinary.descriptor.getPackName(), type.name());
+                assertEquals(fromText.descriptor.getMotionFiles(), fromBinary.descriptor.getMotionFiles(), type.name());
+                assertEquals(fromText.descriptor.getCameraFile(), fromBinary.descriptor.getCameraFile(), type.name());
+                assertEquals(fromText.descriptor.getAudioFile(), fromBinary.descriptor.getAudioFile(), type.name());
+            }
+        }
+    }
+
+    @Test
+    void binaryCodecShouldBeLessThanHalfTheTextSizeForEveryPacketType() {
+        for (StagePacketType type : StagePacketType.values()) {
+            StagePacket packet = samplePacket(type);
+            int binaryBytes = StageBinaryPacketCodec.encode(packet).length;
+            int textBytes = StagePacketCodec.encode(packet).length();
+
+            assertTrue(binaryBytes * 2 < textBytes, type + " binary=" + binaryBytes + " text=" + textBytes);
+        }
+    }
+
+    /** 按各类型在实际业务中携带的字段构造样本 */
+    private static StagePacket samplePacket(StagePacketType type) {
+        StagePacket packet = new StagePacket(type);
+        packet.sessionId = UUID.randomUUID().toString();
+        switch (type) {
+            case INVITE_REQUEST, INVITE_CANCEL, MEMBER_LEAVE -> packet.targetPlayerId = UUID.randomUUID().toString();
+            case INVITE_RESPONSE -> {
+                packet.targetPlayerId = UUID.randomUUID().toString();
+                packet.inviteDecision = StageInviteDecision.ACCEPT;
+            }
+            case READY_UPDATE -> {
+                packet.targetPlayerId = UUID.randomUUID().toString();
+                packet.ready = true;
+                packet.cameraMode = StageCameraMode.HOST_CAMERA;
+                packet.motionPackName = "guest_pack";
+                packet.motionFiles = List.of("dance_a.vmd", "dance_b.vmd");
+            }
+            case SESSION_STATE -> {
+                List<StageMemberSnapshot> members = new ArrayList<>();
+                for (int i = 0; i < 6; i++) {
+                    members.add(new StageMemberSnapshot(UUID.randomUUID().toString(), "Player" + i, "READY", "HOST_CAMERA"));
+                }
+                packet.members = members;
+            }
+            case PLAYBACK_START, REMOTE_STAGE_START -> {
+                packet.descriptor = new StageDescriptor("demo_pack",
+                        List.of("dance_a.vmd", "dance_b.vmd", "dance_c.vmd"), "camera.vmd", "music.ogg");
+                packet.frame = 0.0f;
+                packet.heightOffset = 0.25f;
+                packet.motionFiles = List.of("dance_b.vmd");
+            }
+            case FRAME_SYNC -> packet.frame = 1234.5f;
+            case SESSION_DISSOLVE, PLAYBACK_STOP, REMOTE_STAGE_STOP -> {
+            }
+        }
+        return packet;
+    }
+}
@@ -11,9 +11,11 @@ import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -119,6 +121,24 @@ class StageServerSessionServiceTest {
         assertEquals(baselinePackets, platform.remotePackets().size());
     }
 
+    @Test
+    void shouldMarkPlayersThatAdvertiseBinarySupport() {
+        UUID hostId = UUID.randomUUID();
+        UUID memberId = UUID.randomUUID();
+        FakePlatform platform = new FakePlatform(
+                player(hostId, "Host"),
+                player(memberId, "Member")
+        );
+
+        StagePacket invite = new StagePacket(StagePacketType.INVITE_REQUEST);
+        invite.sessionId = UUID.randomUUID().toString();
+        invite.targetPlayerId = memberId.toString();
+        invite.binaryCapable = Boolean.TRUE;
+        service.handlePacket(platform, platform.findPlayer(hostId), encode(invite));
+
+        assertEquals(Set.of(hostId), platform.binaryCapablePlayers);
+    }
+
     private void establishAcceptedSession(FakePlatform platform, UUID hostId, UUID memberId, UUID sessionId) {
         StagePacket invite = new StagePacket(StagePacketType.INVITE_REQUEST);
         invite.sessionId = sessionId.toString();
@@ -154,6 +174,7 @@ class StageServerSessionServiceTest {
     private static final class FakePlatform implements StageServerPlatformPort {
         private final Map<UUID, StageServerPlayer> players = new LinkedHashMap<>();
         private final List<SentPacket> packets = new ArrayList<>();
+        private final Set<UUID> binaryCapablePlayers = new HashSet<>();
 
         private FakePlatform(StageServerPlayer... players) {
             for (StageServerPlayer player : players) {
@@ -171,6 +192,11 @@ class StageServerSessionServiceTest {
             return new ArrayList<>(players.values());
         }
 
+        @Override
+        public void markBinaryCapable(UUID playerId) {
+            binaryCapablePlayers.add(playerId);
+        }
+
         @Override
         public void sendPacket(UUID targetPlayerId, UUID sourcePlayerId, StagePacket packet) {
             packets.add(new SentPacket(targetPlayerId, sourcePlayerId, copyPacket(packet)));
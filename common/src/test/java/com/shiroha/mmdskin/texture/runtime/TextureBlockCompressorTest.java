@@ -0,0 +1,115 @@
+package com.shiroha.mmdskin.texture.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** 文件职责：验证 mip 链生成与 BC1/BC3 块压缩的尺寸和解码精度。 */
+class TextureBlockCompressorTest {
+
+    @Test
+    void shouldBuildBoxFilteredMipChainDownToOnePixel() {
+        byte[] pixels = new byte[4 * 2 * 3];
+        for (int i = 0; i < 4 * 2; i++) {
+            pixels[i * 3] = (byte) (i < 4 ? 0 : 200);
+        }
+
+        TextureMipChain chain = TextureMipChain.fromPixels(pixels, 4, 2, false);
+
+        assertEquals(TextureMipChain.Format.RGB8, chain.format());
+        assertEquals(3, chain.levelCount());
+        assertEquals(2, chain.levelWidth(1));
+        assertEquals(1, chain.levelHeight(1));
+        assertEquals(100, chain.level(1)[0] & 0xFF);
+        assertEquals(100, chain.level(2)[0] & 0xFF);
+        assertEquals(4 * 2 * 3 + 2 * 3 + 3, chain.totalBytes());
+    }
+
+    @Test
+    void shouldEncodeOpaqueTextureAsBc1AndTranslucentAsBc3() {
+        TextureMipChain opaque = TextureBlockCompressor.compress(
+                TextureMipChain.fromPixels(solidRgba(5, 5, 10, 20, 30, 255), 5, 5, true));
+        TextureMipChain translucent = TextureBlockCompressor.compress(
+                TextureMipChain.fromPixels(solidRgba(5, 5, 10, 20, 30, 128), 5, 5, true));
+
+        assertEquals(TextureMipChain.Format.BC1, opaque.format());
+        assertEquals(4 * 8, opaque.level(0).length);
+        assertEquals(TextureMipChain.Format.BC3, translucent.format());
+        assertEquals(4 * 16, translucent.level(0).length);
+        assertEquals(opaque.levelCount(), TextureMipChain.mipLevelCount(5, 5));
+        assertTrue(opaque.hasAlpha());
+    }
+
+    @Test
+    void shouldDecodeTwoColorBlockWithinQuantizationError() {
+        byte[] pixels = new byte[4 * 4 * 4];
+        for (int i = 0; i < 16; i++) {
+            boolean bright = (i % 4) >= 2;
+            pixels[i * 4] = (byte) (bright ? 240 : 16);
+            pixels[i * 4 + 1] = (byte) (bright ? 200 : 40);
+            pixels[i * 4 + 2] = (byte) (bright ? 32 : 180);
+            pixels[i * 4 + 3] = (byte) (bright ? 255 : 0);
+        }
+
+        byte[] block = TextureBlockCompressor.compressLevel(pixels, 4, 4, 4, TextureMipChain.Format.BC3);
+
+        for (int i = 0; i < 16; i++) {
+            int[] decoded = decodeBc3Pixel(block, i);
+            for (int c = 0; c < 4; c++) {
+                int expected = pixels[i * 4 + c] & 0xFF;
+                assertTrue(Math.abs(decoded[c] - expected) <= 8,
+                        "像素 " + i + " 通道 " + c + ": " + decoded[c] + " vs " + expected);
+            }
+        }
+    }
+
+    private static byte[] solidRgba(int width, int height, int r, int g, int b, int a) {
+        byte[] pixels = new byte[width * height * 4];
+        for (int i = 0; i < width * height; i++) {
+            pixels[i * 4] = (byte) r;
+            pixels[i * 4 + 1] = (byte) g;
+            pixels[i * 4 + 2] = (byte) b;
+            pixels[i * 4 + 3] = (byte) a;
+        }
+        return pixels;
+    }
+
+    private static int[] decodeBc3Pixel(byte[] block, int pixel) {
+        int a0 = block[0] & 0xFF;
+        int a1 = block[1] & 0xFF;
+        long alphaBits = 0L;
+        for (int i = 0; i < 6; i++) {
+            alphaBits |= (long) (block[2 + i] & 0xFF) << (i * 8);
+        }
+        int alphaIndex = (int) (alphaBits >>> (pixel * 3)) & 0x7;
+        int alpha;
+        if (alphaIndex == 0) {
+            alpha = a0;
+        } else if (alphaIndex == 1) {
+            alpha = a1;
+        } else {
+            alpha = ((8 - alphaIndex) * a0 + (alphaIndex - 1) * a1) / 7;
+        }
+
+        int c0 = (block[8] & 0xFF) | (block[9] & 0xFF) << 8;
+        int c1 = (block[10] & 0xFF) | (block[11] & 0xFF) << 8;
+        int bits = (block[12] & 0xFF) | (block[13] & 0xFF) << 8 | (block[14] & 0xFF) << 16 | (block[15] & 0xFF) << 24;
+        int colorIndex = (bits >>> (pixel * 2)) & 0x3;
+        int[] e0 = new int[3];
+        int[] e1 = new int[3];
+        TextureBlockCompressor.expandRgb565(c0, e0, 0);
+        TextureBlockCompressor.expandRgb565(c1, e1, 0);
+        int[] rgba = new int[4];
+        for (int c = 0; c < 3; c++) {
+            rgba[c] = switch (colorIndex) {
+                case 0 -> e0[c];
+                case 1 -> e1[c];
+                case 2 -> (2 * e0[c] + e1[c]) / 3;
+                default -> (e0[c] + 2 * e1[c]) / 3;
+            };
+        }
+        rgba[3] = alpha;
+        return rgba;
+    }
+}
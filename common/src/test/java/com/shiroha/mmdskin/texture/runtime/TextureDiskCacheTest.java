@@ -0,0 +1,87 @@
+package com.shiroha.mmdskin.texture.runtime;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** 文件职责：验证纹理磁盘缓存的源文件键、读写往返与损坏条目处理。 */
+class TextureDiskCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldKeyEntriesByPathSizeAndModificationTime() throws Exception {
+        Path a = Files.write(tempDir.resolve("a.png"), new byte[]{1, 2, 3});
+        Path b = Files.write(tempDir.resolve("b.png"), new byte[]{1, 2, 3});
+        Files.setLastModifiedTime(a, FileTime.fromMillis(1_000_000L));
+        Files.setLastModifiedTime(b, FileTime.fromMillis(1_000_000L));
+
+        String key = TextureDiskCache.sourceKey(a);
+        assertNotNull(key);
+        assertEquals(key, TextureDiskCache.sourceKey(a));
+        assertNotEquals(key, TextureDiskCache.sourceKey(b));
+
+        Files.setLastModifiedTime(a, FileTime.fromMillis(2_000_000L));
+        assertNotEquals(key, TextureDiskCache.sourceKey(a));
+
+        Files.write(a, new byte[]{1, 2, 3, 4});
+        Files.setLastModifiedTime(a, FileTime.fromMillis(1_000_000L));
+        assertNotEquals(key, TextureDiskCache.sourceKey(a));
+        assertNull(TextureDiskCache.sourceKey(tempDir.resolve("missing.png")));
+    }
+
+    @Test
+    void shouldRoundTripCompressedMipChain() {
+        TextureDiskCache cache = new TextureDiskCache(tempDir.resolve("cache"));
+        TextureMipChain chain = TextureBlockCompressor.compress(
+                TextureMipChain.fromPixels(new byte[8 * 8 * 4], 8, 8, true));
+
+        cache.store("key", chain, true);
+        TextureMipChain loaded = cache.load("key", true);
+
+        assertNotNull(loaded);
+        assertEquals(chain.format(), loaded.format());
+        assertEquals(chain.levelCount(), loaded.levelCount());
+        for (int level = 0; level < chain.levelCount(); level++) {
+            assertArrayEquals(chain.level(level), loaded.level(level));
+        }
+        assertNull(cache.load("key", false));
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void shouldDropCorruptEntries() throws Exception {
+        TextureDiskCache cache = new TextureDiskCache(tempDir);
+        Path entry = cache.entryPath("broken", false);
+        Files.write(entry, new byte[]{0x4D, 0x4D, 0x44, 0x54, 0, 0});
+
+        assertNull(cache.load("broken", false));
+        assertFalse(Files.exists(entry));
+    }
+
+    @Test
+    void shouldTrimLeastRecentlyUsedEntries() throws Exception {
+        TextureDiskCache cache = new TextureDiskCache(tempDir);
+        TextureMipChain chain = TextureMipChain.fromPixels(new byte[4 * 4 * 3], 4, 4, false);
+        cache.store("old", chain, false);
+        cache.store("new", chain, false);
+        Files.setLastModifiedTime(cache.entryPath("old", false), FileTime.fromMillis(1_000L));
+
+        cache.trim(Files.size(cache.entryPath("new", false)));
+
+        assertFalse(Files.exists(cache.entryPath("old", false)));
+        assertTrue(Files.exists(cache.entryPath("new", false)));
+    }
+}
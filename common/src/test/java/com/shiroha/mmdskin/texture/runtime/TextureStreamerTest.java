@@ -0,0 +1,64 @@
+package com.shiroha.mmdskin.texture.runtime;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** 文件职责：验证纹理流送的距离分级与全局预算规划。 */
+class TextureStreamerTest {
+
+    @Test
+    void shouldDropOneMipLevelPerDistanceDoubling() {
+        assertEquals(0, TextureStreamer.desiredBaseLevel(0.0d, 4));
+        assertEquals(0, TextureStreamer.desiredBaseLevel(12.0d * 12.0d, 4));
+        assertEquals(1, TextureStreamer.desiredBaseLevel(20.0d * 20.0d, 4));
+        assertEquals(2, TextureStreamer.desiredBaseLevel(40.0d * 40.0d, 4));
+        assertEquals(4, TextureStreamer.desiredBaseLevel(1000.0d * 1000.0d, 4));
+        assertEquals(4, TextureStreamer.desiredBaseLevel(Double.POSITIVE_INFINITY, 4));
+    }
+
+    @Test
+    void shouldStartAtReducedResolutionAndNeverDropBelowMinimumSize() {
+        TextureMipChain chain = TextureMipChain.fromPixels(new byte[1024 * 512 * 3], 1024, 512, false);
+
+        assertEquals(2, TextureStreamer.initialBaseLevel(chain));
+        TextureStreamState state = new TextureStreamState("k", false, chain, TextureStreamer.MIN_RESIDENT_SIZE, 2);
+        assertEquals(4, state.maxBaseLevel);
+        assertEquals(2, state.residentBaseLevel);
+        assertEquals(chain.totalBytes(), state.bytesFrom(0));
+    }
+
+    @Test
+    void shouldDegradeFarthestTexturesFirstUntilBudgetIsMet() {
+        TextureStreamState near = stateAt(10.0d);
+        TextureStreamState far = stateAt(200.0d);
+        long full = near.bytesFrom(0);
+
+        long total = TextureStreamer.planTargets(List.of(near, far), full + full / 3, 0L);
+
+        assertEquals(0, near.targetBaseLevel);
+        assertTrue(far.targetBaseLevel > 0);
+        assertTrue(total <= full + full / 3);
+    }
+
+    @Test
+    void shouldLeaveTargetsUntouchedWithinBudget() {
+        TextureStreamState near = stateAt(10.0d);
+        TextureStreamState far = stateAt(200.0d);
+
+        long total = TextureStreamer.planTargets(List.of(near, far), Long.MAX_VALUE, 100L);
+
+        assertEquals(0, near.targetBaseLevel);
+        assertEquals(0, far.targetBaseLevel);
+        assertEquals(near.bytesFrom(0) * 2 + 100L, total);
+    }
+
+    private static TextureStreamState stateAt(double distance) {
+        TextureMipChain chain = TextureMipChain.fromPixels(new byte[256 * 256 * 4], 256, 256, true);
+        TextureStreamState state = new TextureStreamState("k", false, chain, TextureStreamer.MIN_RESIDENT_SIZE, 0);
+        state.lastDistanceSq = distance * distance;
+        return state;
+    }
+}
@@ -5,6 +5,7 @@ import com.shiroha.mmdskin.ui.selector.port.ModelSelectionGateway;
 import com.shiroha.mmdskin.ui.selector.port.ModelSelectionRuntimeGateway;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -55,6 +56,24 @@ class ModelSelectionApplicationServiceTest {
         assertEquals(ModelSelectionApplicationService.QuickSwitchStatus.UNBOUND, result.status());
     }
 
+    @Test
+    void catalogChangesShouldUpdateCardsInPlace() {
+        FakeSelectionGateway gateway = new FakeSelectionGateway();
+        gateway.availableModels = List.of("alice", "Carol");
+        ModelSelectionApplicationService service = new ModelSelectionApplicationService(gateway, modelName -> {
+        });
+        List<ModelSelectionApplicationService.ModelCard> cards = new ArrayList<>(service.loadModelCards());
+
+        service.addModelCard(cards, "bob");
+        service.addModelCard(cards, "alice");
+        service.addModelCard(cards, "zed");
+        service.removeModelCard(cards, "Carol");
+        service.removeModelCard(cards, UIConstants.DEFAULT_MODEL_NAME);
+
+        assertEquals(List.of(UIConstants.DEFAULT_MODEL_NAME, "alice", "bob", "zed"),
+                cards.stream().map(ModelSelectionApplicationService.ModelCard::displayName).toList());
+    }
+
     private static final class FakeSelectionGateway implements ModelSelectionGateway {
         private List<String> availableModels = List.of();
         private final String[] quickSlots = new String[4];
@@ -83,6 +102,14 @@ class ModelSelectionApplicationServiceTest {
         public String getQuickSlotModel(int slot) {
             return quickSlots[slot];
         }
+
+        @Override
+        public void addCatalogListener(CatalogListener listener) {
+        }
+
+        @Override
+        public void removeCatalogListener(CatalogListener listener) {
+        }
     }
 
     private static final class FakeRuntimeGateway implements ModelSelectionRuntimeGateway {
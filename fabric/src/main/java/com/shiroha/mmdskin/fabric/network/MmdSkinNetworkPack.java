@@ -2,6 +2,7 @@ package com.shiroha.mmdskin.fabric.network;
 
 import java.util.UUID;
 
+import com.shiroha.mmdskin.player.sync.BoneSyncManager;
 import com.shiroha.mmdskin.player.sync.ClientNetworkBindings;
 import com.shiroha.mmdskin.fabric.register.MmdSkinRegisterCommon;
 import com.shiroha.mmdskin.compat.maid.runtime.MaidMMDModelManager;
@@ -32,6 +33,7 @@ public class MmdSkinNetworkPack {
             case MODEL_SELECT -> NetworkOpCode.MODEL_SELECT;
             case MORPH_SYNC -> NetworkOpCode.MORPH_SYNC;
             case STAGE_MULTI -> NetworkOpCode.STAGE_MULTI;
+            case STAGE_BINARY -> NetworkOpCode.STAGE_BINARY;
             case BONE_SYNC -> NetworkOpCode.BONE_SYNC;
         };
     }
@@ -73,7 +75,10 @@ public class MmdSkinNetworkPack {
         int opCode = buffer.readInt();
         UUID playerUUID = buffer.readUUID();
 
-        if (NetworkOpCode.isStringPayload(opCode)) {
+        if (NetworkOpCode.isBinaryPayload(opCode)) {
+            byte[] data = buffer.readByteArray();
+            handleBinary(opCode, playerUUID, data);
+        } else if (NetworkOpCode.isStringPayload(opCode)) {
             String data = buffer.readUtf();
             handleString(opCode, playerUUID, data);
         } else if (NetworkOpCode.isEntityStringPayload(opCode)) {
@@ -101,6 +106,18 @@ public class MmdSkinNetworkPack {
         }
     }
 
+    private static void handleBinary(int opCode, UUID playerUUID, byte[] data) {
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.player == null) return;
+        if (opCode == NetworkOpCode.STAGE_BINARY) {
+            com.shiroha.mmdskin.stage.client.StageClientPacketHandler.getInstance().handle(playerUUID, data);
+            return;
+        }
+        if (opCode == NetworkOpCode.BONE_SYNC && !playerUUID.equals(mc.player.getUUID())) {
+            BoneSyncManager.onRemotePose(playerUUID, data);
+        }
+    }
+
     private static void handleString(int opCode, UUID playerUUID, String data) {
         Minecraft mc = Minecraft.getInstance();
         if (mc.player == null) return;
@@ -9,6 +9,7 @@ import com.shiroha.mmdskin.player.sync.PlayerModelSyncService;
 import com.shiroha.mmdskin.player.runtime.MmdSkinRendererPlayerHelper;
 import com.shiroha.mmdskin.render.bootstrap.ClientRenderRuntime;
 import com.shiroha.mmdskin.stage.client.StageClientRuntime;
+import com.shiroha.mmdskin.stage.client.network.StageNetworkHandler;
 import com.shiroha.mmdskin.stage.client.camera.MMDCameraController;
 import com.shiroha.mmdskin.ui.QuickModelSwitcher;
 import com.shiroha.mmdskin.ui.config.ModelSelectorConfig;
@@ -17,12 +18,14 @@ import com.shiroha.mmdskin.ui.wheel.ConfigWheelScreen;
 import com.shiroha.mmdskin.ui.wheel.MaidConfigWheelScreen;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
 import net.minecraft.client.KeyMapping;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.player.LocalPlayer;
+import net.minecraft.client.player.RemotePlayer;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.phys.EntityHitResult;
 import net.minecraft.world.phys.HitResult;
@@ -47,6 +50,7 @@ final class FabricClientRuntimeHooks {
         ClientTickEvents.END_CLIENT_TICK.register(client -> onClientTick(minecraft));
         ClientPlayConnectionEvents.JOIN.register((handler, sender, client) -> client.execute(() -> onJoin(client)));
         ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> onDisconnect());
+        ClientEntityEvents.ENTITY_UNLOAD.register((entity, level) -> onEntityUnload(entity));
         HudRenderCallback.EVENT.register((graphics, tickDelta) -> PerformanceHud.render(graphics));
     }
 
@@ -110,12 +114,20 @@ final class FabricClientRuntimeHooks {
         MmdSkinNetworkPack.sendToServer(NetworkOpCode.REQUEST_ALL_MODELS, player.getUUID(), "");
     }
 
+    /** 远端玩家离开当前世界时释放其骨骼同步状态并撤销姿势覆盖 */
+    private void onEntityUnload(Entity entity) {
+        if (entity instanceof RemotePlayer) {
+            BoneSyncManager.onRemotePlayerLeave(entity.getUUID());
+        }
+    }
+
     private void onDisconnect() {
         MMDCameraController.getInstance().exitStageMode();
         PlayerModelSyncService.onDisconnect();
         MmdSkinRendererPlayerHelper.onDisconnect();
         BoneSyncManager.onDisconnect();
         StageClientRuntime.get().sessionService().onDisconnect();
+        StageNetworkHandler.onDisconnect();
     }
 
     private void tryOpenMaidConfigWheel(Minecraft minecraft) {
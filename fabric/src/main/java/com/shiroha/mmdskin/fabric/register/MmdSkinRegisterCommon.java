@@ -1,14 +1,20 @@
 package com.shiroha.mmdskin.fabric.register;
 
 import com.shiroha.mmdskin.fabric.stage.FabricStageSessionRegistry;
+import com.shiroha.mmdskin.player.sync.BoneSyncServerRelay;
+import com.shiroha.mmdskin.player.sync.InterestMessage;
+import com.shiroha.mmdskin.player.sync.ServerInterestManager;
+import com.shiroha.mmdskin.player.sync.ServerInterestTicker;
 import com.shiroha.mmdskin.player.sync.ServerModelRegistry;
 import com.shiroha.mmdskin.ui.network.NetworkOpCode;
 
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
 import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 
 import org.apache.logging.log4j.LogManager;
@@ -41,7 +47,7 @@ public class MmdSkinRegisterCommon {
             int entityId = 0;
             int intArg = 0;
 
-            if (opCode == NetworkOpCode.BONE_SYNC) {
+            if (NetworkOpCode.isBinaryPayload(opCode)) {
                 binaryData = buf.readByteArray();
             } else if (NetworkOpCode.isStringPayload(opCode)) {
                 strData = buf.readUtf();
@@ -57,15 +63,7 @@ public class MmdSkinRegisterCommon {
             }
 
             if (opCode == NetworkOpCode.REQUEST_ALL_MODELS) {
-                server.execute(() -> {
-                    ServerModelRegistry.sendAllTo((modelOwnerUUID, modelName) -> {
-                        FriendlyByteBuf replyBuf = PacketByteBufs.create();
-                        replyBuf.writeInt(NetworkOpCode.MODEL_SELECT);
-                        replyBuf.writeUUID(modelOwnerUUID);
-                        replyBuf.writeUtf(modelName);
-                        ServerPlayNetworking.send(player, SKIN_S2C, replyBuf);
-                    });
-                });
+                server.execute(() -> ServerInterestManager.get().onRequestAllModels(realUUID));
                 return;
             }
 
@@ -75,11 +73,29 @@ public class MmdSkinRegisterCommon {
                 return;
             }
 
+            if (opCode == NetworkOpCode.STAGE_BINARY && binaryData != null) {
+                final byte[] stagePayload = binaryData;
+                server.execute(() -> FabricStageSessionRegistry.getInstance().handlePacket(server, player, stagePayload));
+                return;
+            }
+
+            if (opCode == NetworkOpCode.BONE_SYNC
+                    && (binaryData == null || !BoneSyncServerRelay.allow(realUUID, binaryData.length))) {
+                return;
+            }
+
+            InterestMessage interestMessage = toInterestMessage(opCode, realUUID, strData, intArg, binaryData);
+            if (interestMessage != null) {
+                server.execute(() -> ServerInterestManager.get().submit(realUUID, interestMessage,
+                        (target, message) -> sendTo(server, target, message)));
+                return;
+            }
+
             final FriendlyByteBuf packetBuf = PacketByteBufs.create();
             packetBuf.writeInt(opCode);
             packetBuf.writeUUID(realUUID);
 
-            if (opCode == NetworkOpCode.BONE_SYNC) {
+            if (NetworkOpCode.isBinaryPayload(opCode)) {
                 packetBuf.writeByteArray(binaryData != null ? binaryData : new byte[0]);
             } else if (NetworkOpCode.isStringPayload(opCode)) {
                 packetBuf.writeUtf(strData);
@@ -100,11 +116,44 @@ public class MmdSkinRegisterCommon {
             });
         });
 
+        ServerTickEvents.END_SERVER_TICK.register(server ->
+                ServerInterestTicker.tick(server, (target, message) -> sendTo(server, target, message)));
+
         net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents.DISCONNECT.register(
                 (handler, server) -> {
                     ServerModelRegistry.onPlayerLeave(handler.getPlayer().getUUID());
+                    ServerInterestManager.get().onPlayerLeave(handler.getPlayer().getUUID());
+                    BoneSyncServerRelay.onPlayerLeave(handler.getPlayer().getUUID());
                     FabricStageSessionRegistry.getInstance().onPlayerDisconnect(server, handler.getPlayer());
                 });
     }
-}
 
+    /** 经兴趣管理转发的操作码；女仆相关消息仍全服广播 */
+    private static InterestMessage toInterestMessage(int opCode, UUID subject, String strData, int intArg, byte[] binaryData) {
+        return switch (opCode) {
+            case NetworkOpCode.MODEL_SELECT, NetworkOpCode.MORPH_SYNC, NetworkOpCode.CUSTOM_ANIM ->
+                    strData != null ? InterestMessage.ofText(opCode, subject, strData) : null;
+            case NetworkOpCode.RESET_PHYSICS -> InterestMessage.ofInt(opCode, subject, intArg);
+            case NetworkOpCode.BONE_SYNC -> InterestMessage.ofBinary(opCode, subject, binaryData);
+            default -> null;
+        };
+    }
+
+    private static void sendTo(MinecraftServer server, UUID target, InterestMessage message) {
+        ServerPlayer targetPlayer = server.getPlayerList().getPlayer(target);
+        if (targetPlayer == null) {
+            return;
+        }
+        FriendlyByteBuf buf = PacketByteBufs.create();
+        buf.writeInt(message.opCode());
+        buf.writeUUID(message.subject());
+        if (message.binary() != null) {
+            buf.writeByteArray(message.binary());
+        } else if (message.text() != null) {
+            buf.writeUtf(message.text());
+        } else {
+            buf.writeInt(message.intArg());
+        }
+        ServerPlayNetworking.send(targetPlayer, SKIN_S2C, buf);
+    }
+}
@@ -1,6 +1,7 @@
 package com.shiroha.mmdskin.fabric.stage;
 
 import com.shiroha.mmdskin.fabric.register.MmdSkinRegisterCommon;
+import com.shiroha.mmdskin.stage.protocol.StageBinaryPacketCodec;
 import com.shiroha.mmdskin.stage.protocol.StagePacket;
 import com.shiroha.mmdskin.stage.protocol.StagePacketCodec;
 import com.shiroha.mmdskin.stage.server.application.StageServerSessionService;
@@ -14,11 +15,15 @@ import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class FabricStageSessionRegistry {
     private static final FabricStageSessionRegistry INSTANCE = new FabricStageSessionRegistry();
     private final StageServerSessionService service = StageServerSessionService.getInstance();
+    /** 发送过二进制舞台包或在文本包中声明支持二进制的玩家，回包使用二进制；其余玩家按旧客户端处理 */
+    private final Set<UUID> binaryClients = ConcurrentHashMap.newKeySet();
 
     private FabricStageSessionRegistry() {
     }
@@ -28,11 +33,17 @@ public final class FabricStageSessionRegistry {
     }
 
     public synchronized void handlePacket(MinecraftServer server, ServerPlayer sender, String rawData) {
-        service.handlePacket(new FabricPlatformPort(server), toStageServerPlayer(sender), rawData);
+        service.handlePacket(new FabricPlatformPort(server, binaryClients), toStageServerPlayer(sender), rawData);
+    }
+
+    public synchronized void handlePacket(MinecraftServer server, ServerPlayer sender, byte[] binaryData) {
+        binaryClients.add(sender.getUUID());
+        service.handlePacket(new FabricPlatformPort(server, binaryClients), toStageServerPlayer(sender), binaryData);
     }
 
     public synchronized void onPlayerDisconnect(MinecraftServer server, ServerPlayer player) {
-        service.onPlayerDisconnect(new FabricPlatformPort(server), player.getUUID());
+        service.onPlayerDisconnect(new FabricPlatformPort(server, binaryClients), player.getUUID());
+        binaryClients.remove(player.getUUID());
     }
 
     private StageServerPlayer toStageServerPlayer(ServerPlayer player) {
@@ -41,9 +52,11 @@ public final class FabricStageSessionRegistry {
 
     private static final class FabricPlatformPort implements StageServerPlatformPort {
         private final MinecraftServer server;
+        private final Set<UUID> binaryClients;
 
-        private FabricPlatformPort(MinecraftServer server) {
+        private FabricPlatformPort(MinecraftServer server, Set<UUID> binaryClients) {
             this.server = server;
+            this.binaryClients = binaryClients;
         }
 
         @Override
@@ -62,6 +75,11 @@ public final class FabricStageSessionRegistry {
                     .toList();
         }
 
+        @Override
+        public void markBinaryCapable(UUID playerId) {
+            binaryClients.add(playerId);
+        }
+
         @Override
         public void sendPacket(UUID targetPlayerId, UUID sourcePlayerId, StagePacket packet) {
             ServerPlayer target = server.getPlayerList().getPlayer(targetPlayerId);
@@ -69,9 +87,15 @@ public final class FabricStageSessionRegistry {
                 return;
             }
             FriendlyByteBuf buf = PacketByteBufs.create();
-            buf.writeInt(NetworkOpCode.STAGE_MULTI);
-            buf.writeUUID(sourcePlayerId);
-            buf.writeUtf(StagePacketCodec.encode(packet));
+            if (binaryClients.contains(targetPlayerId)) {
+                buf.writeInt(NetworkOpCode.STAGE_BINARY);
+                buf.writeUUID(sourcePlayerId);
+                buf.writeByteArray(StageBinaryPacketCodec.encode(packet));
+            } else {
+                buf.writeInt(NetworkOpCode.STAGE_MULTI);
+                buf.writeUUID(sourcePlayerId);
+                buf.writeUtf(StagePacketCodec.encode(packet));
+            }
             ServerPlayNetworking.send(target, MmdSkinRegisterCommon.SKIN_S2C, buf);
         }
     }
@@ -97,6 +97,24 @@ public class ModConfigScreen {
             .setSaveConsumer(value -> data.modelPoolMaxCount = value)
             .build());
 
+        performanceCategory.addEntry(entryBuilder
+            .startIntSlider(
+                Component.translatable("gui.mmdskin.mod_settings.model_cache_ram_budget"),
+                data.modelCacheRamBudgetMb, 256, 16384)
+            .setDefaultValue(4096)
+            .setTooltip(Component.translatable("gui.mmdskin.mod_settings.model_cache_ram_budget.tooltip"))
+            .setSaveConsumer(value -> data.modelCacheRamBudgetMb = value)
+            .build());
+
+        performanceCategory.addEntry(entryBuilder
+            .startIntSlider(
+                Component.translatable("gui.mmdskin.mod_settings.model_cache_vram_budget"),
+                data.modelCacheVramBudgetMb, 256, 16384)
+            .setDefaultValue(2048)
+            .setTooltip(Component.translatable("gui.mmdskin.mod_settings.model_cache_vram_budget.tooltip"))
+            .setSaveConsumer(value -> data.modelCacheVramBudgetMb = value)
+            .build());
+
         performanceCategory.addEntry(entryBuilder
             .startBooleanToggle(
                 Component.translatable("gui.mmdskin.mod_settings.gpu_skinning"),
@@ -115,6 +133,24 @@ public class ModConfigScreen {
             .setSaveConsumer(value -> data.gpuMorphEnabled = value)
             .build());
 
+        performanceCategory.addEntry(entryBuilder
+            .startBooleanToggle(
+                Component.translatable("gui.mmdskin.mod_settings.gpu_batch_skinning"),
+                data.gpuBatchSkinningEnabled)
+            .setDefaultValue(true)
+            .setTooltip(Component.translatable("gui.mmdskin.mod_settings.gpu_batch_skinning.tooltip"))
+            .setSaveConsumer(value -> data.gpuBatchSkinningEnabled = value)
+            .build());
+
+        performanceCategory.addEntry(entryBuilder
+            .startBooleanToggle(
+                Component.translatable("gui.mmdskin.mod_settings.persistent_vertex_streaming"),
+                data.persistentVertexStreamingEnabled)
+            .setDefaultValue(false)
+            .setTooltip(Component.translatable("gui.mmdskin.mod_settings.persistent_vertex_streaming.tooltip"))
+            .setSaveConsumer(value -> data.persistentVertexStreamingEnabled = value)
+            .build());
+
         performanceCategory.addEntry(entryBuilder
             .startIntSlider(
                 Component.translatable("gui.mmdskin.mod_settings.max_bones"),
@@ -134,6 +170,72 @@ public class ModConfigScreen {
             .setSaveConsumer(value -> data.textureCacheBudgetMB = value)
             .build());
 
+        performanceCategory.addEntry(entryBuilder
+            .startBooleanToggle(
+                Component.translatable("gui.mmdskin.mod_settings.texture_disk_cache"),
+                data.textureDiskCacheEnabled)
+            .setDefaultValue(true)
+            .setTooltip(Component.translatable("gui.mmdskin.mod_settings.texture_disk_cache.tooltip"))
+            .setSaveConsumer(value -> data.textureDiskCacheEnabled = value)
+            .build());
+
+        performanceCategory.addEntry(entryBuilder
+            .startBooleanToggle(
+                Component.translatable("gui.mmdskin.mod_settings.texture_compression"),
+                data.textureCompressionEnabled)
+            .setDefaultValue(true)
+            .setTooltip(Component.translatable("gui.mmdskin.mod_settings.texture_compression.tooltip"))
+            .setSaveConsumer(value -> data.textureCompressionEnabled = value)
+            .build());
+
+        performanceCategory.addEntry(entryBuilder
+            .startIntSlider(
+                Component.translatable("gui.mmdskin.mod_settings.texture_disk_cache_limit"),
+                data.textureDiskCacheLimitMB, 256, 8192)
+            .setDefaultValue(2048)
+            .setTooltip(Component.translatable("gui.mmdskin.mod_settings.texture_disk_cache_limit.tooltip"))
+            .setTextGetter(value -> Component.literal(value + " MB"))
+            .setSaveConsumer(value -> data.textureDiskCacheLimitMB = value)
+            .build());
+
+        performanceCategory.addEntry(entryBuilder
+            .startBooleanToggle(
+                Component.translatable("gui.mmdskin.mod_settings.texture_streaming"),
+                data.textureStreamingEnabled)
+            .setDefaultValue(true)
+            .setTooltip(Component.translatable("gui.mmdskin.mod_settings.texture_streaming.tooltip"))
+            .setSaveConsumer(value -> data.textureStreamingEnabled = value)
+            .build());
+
+        performanceCategory.addEntry(entryBuilder
+            .startIntSlider(
+                Component.translatable("gui.mmdskin.mod_settings.texture_vram_budget"),
+                data.textureVramBudgetMB, 256, 16384)
+            .setDefaultValue(2048)
+            .setTooltip(Component.translatable("gui.mmdskin.mod_settings.texture_vram_budget.tooltip"))
+            .setTextGetter(value -> Component.literal(value + " MB"))
+            .setSaveConsumer(value -> data.textureVramBudgetMB = value)
+            .build());
+
+        performanceCategory.addEntry(entryBuilder
+            .startBooleanToggle(
+                Component.translatable("gui.mmdskin.mod_settings.bone_sync"),
+                data.boneSyncEnabled)
+            .setDefaultValue(true)
+            .setTooltip(Component.translatable("gui.mmdskin.mod_settings.bone_sync.tooltip"))
+            .setSaveConsumer(value -> data.boneSyncEnabled = value)
+            .build());
+
+        performanceCategory.addEntry(entryBuilder
+            .startIntSlider(
+                Component.translatable("gui.mmdskin.mod_settings.bone_sync_budget"),
+                data.boneSyncBudgetKBps, 2, 64)
+            .setDefaultValue(12)
+            .setTooltip(Component.translatable("gui.mmdskin.mod_settings.bone_sync_budget.tooltip"))
+            .setTextGetter(value -> Component.literal(value + " KB/s"))
+            .setSaveConsumer(value -> data.boneSyncBudgetKBps = value)
+            .build());
+
         performanceCategory.addEntry(entryBuilder
             .startIntSlider(
                 Component.translatable("gui.mmdskin.mod_settings.max_visible_models"),
@@ -363,11 +465,11 @@ public class ModConfigScreen {
 
         physicsCategory.addEntry(entryBuilder
             .startIntSlider(
-                Component.translatable("gui.mmdskin.mod_settings.max_physics_models"),
-                data.maxPhysicsModelsPerFrame, 1, 50)
-            .setDefaultValue(10)
-            .setTooltip(Component.translatable("gui.mmdskin.mod_settings.max_physics_models.tooltip"))
-            .setSaveConsumer(value -> data.maxPhysicsModelsPerFrame = value)
+                Component.translatable("gui.mmdskin.mod_settings.physics_budget"),
+                (int) (data.physicsBudgetMs * 10), 5, 200)
+            .setDefaultValue(40)
+            .setTooltip(Component.translatable("gui.mmdskin.mod_settings.physics_budget.tooltip"))
+            .setSaveConsumer(value -> data.physicsBudgetMs = value / 10.0f)
             .build());
 
         ConfigCategory debugCategory = builder.getOrCreateCategory(
@@ -472,6 +574,8 @@ public class ModConfigScreen {
     }
 
     static void cleanupInvalidMobReplacements(ConfigData data) {
+        // 界面路径：先确保目录索引已建立，避免初始扫描未完成时误删有效配置
+        ModelCatalogEntry.scanModels();
         Iterator<String> iterator = data.mobModelReplacements.values().iterator();
         while (iterator.hasNext()) {
             String modelName = iterator.next();
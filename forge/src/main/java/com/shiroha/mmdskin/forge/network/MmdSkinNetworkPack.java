@@ -4,15 +4,20 @@ import com.shiroha.mmdskin.forge.register.MmdSkinRegisterCommon;
 import com.shiroha.mmdskin.forge.stage.ForgeStageSessionRegistry;
 import com.shiroha.mmdskin.compat.maid.runtime.MaidMMDModelManager;
 import com.shiroha.mmdskin.player.animation.PendingAnimSignalCache;
+import com.shiroha.mmdskin.player.sync.BoneSyncManager;
+import com.shiroha.mmdskin.player.sync.BoneSyncServerRelay;
 import com.shiroha.mmdskin.player.sync.ClientNetworkBindings;
+import com.shiroha.mmdskin.player.sync.InterestMessage;
 import com.shiroha.mmdskin.player.sync.PlayerModelSyncService;
 import com.shiroha.mmdskin.player.runtime.MmdSkinRendererPlayerHelper;
 import com.shiroha.mmdskin.player.sync.MorphSyncHelper;
+import com.shiroha.mmdskin.player.sync.ServerInterestManager;
 import com.shiroha.mmdskin.player.sync.ServerModelRegistry;
 import com.shiroha.mmdskin.ui.network.NetworkOpCode;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.player.Player;
@@ -44,6 +49,7 @@ public class MmdSkinNetworkPack {
             case MODEL_SELECT -> NetworkOpCode.MODEL_SELECT;
             case MORPH_SYNC -> NetworkOpCode.MORPH_SYNC;
             case STAGE_MULTI -> NetworkOpCode.STAGE_MULTI;
+            case STAGE_BINARY -> NetworkOpCode.STAGE_BINARY;
             case BONE_SYNC -> NetworkOpCode.BONE_SYNC;
         };
     }
@@ -84,7 +90,7 @@ public class MmdSkinNetworkPack {
         opCode = buffer.readInt();
         playerUUID = buffer.readUUID();
 
-        if (opCode == NetworkOpCode.BONE_SYNC) {
+        if (NetworkOpCode.isBinaryPayload(opCode)) {
             animId = "";
             arg0 = 0;
             binaryPayload = buffer.readByteArray();
@@ -107,7 +113,7 @@ public class MmdSkinNetworkPack {
         buffer.writeInt(opCode);
         buffer.writeUUID(playerUUID);
 
-        if (opCode == NetworkOpCode.BONE_SYNC) {
+        if (NetworkOpCode.isBinaryPayload(opCode)) {
             buffer.writeByteArray(binaryPayload != null ? binaryPayload : new byte[0]);
         } else if (NetworkOpCode.isStringPayload(opCode)) {
             buffer.writeUtf(animId);
@@ -144,10 +150,7 @@ public class MmdSkinNetworkPack {
         }
 
         if (opCode == NetworkOpCode.REQUEST_ALL_MODELS) {
-            ServerModelRegistry.sendAllTo((modelOwnerUUID, modelName) ->
-                MmdSkinRegisterCommon.channel.send(
-                    PacketDistributor.PLAYER.with(() -> sender),
-                    new MmdSkinNetworkPack(NetworkOpCode.MODEL_SELECT, modelOwnerUUID, modelName)));
+            ServerInterestManager.get().onRequestAllModels(playerUUID);
             return;
         }
 
@@ -158,6 +161,25 @@ public class MmdSkinNetworkPack {
             return;
         }
 
+        if (opCode == NetworkOpCode.STAGE_BINARY) {
+            if (sender.getServer() != null) {
+                ForgeStageSessionRegistry.getInstance().handlePacket(sender.getServer(), sender, binaryPayload);
+            }
+            return;
+        }
+
+        if (opCode == NetworkOpCode.BONE_SYNC && !BoneSyncServerRelay.allow(playerUUID, binaryPayload.length)) {
+            return;
+        }
+
+        InterestMessage interestMessage = toInterestMessage();
+        if (interestMessage != null && sender.getServer() != null) {
+            MinecraftServer server = sender.getServer();
+            ServerInterestManager.get().submit(playerUUID, interestMessage,
+                    (target, message) -> sendTo(server, target, message));
+            return;
+        }
+
         MmdSkinRegisterCommon.channel.send(PacketDistributor.ALL.noArg(), this);
     }
 
@@ -168,7 +190,15 @@ public class MmdSkinNetworkPack {
             com.shiroha.mmdskin.stage.client.StageClientPacketHandler.getInstance().handle(playerUUID, animId);
             return;
         }
+        if (opCode == NetworkOpCode.STAGE_BINARY) {
+            com.shiroha.mmdskin.stage.client.StageClientPacketHandler.getInstance().handle(playerUUID, binaryPayload);
+            return;
+        }
         if (playerUUID.equals(mc.player.getUUID())) return;
+        if (opCode == NetworkOpCode.BONE_SYNC) {
+            BoneSyncManager.onRemotePose(playerUUID, binaryPayload);
+            return;
+        }
         if (mc.level == null) return;
 
         Player target = mc.level.getPlayerByUUID(playerUUID);
@@ -201,5 +231,32 @@ public class MmdSkinNetworkPack {
             default -> {}
         }
     }
+
+    /** 经兴趣管理转发的操作码；女仆相关消息仍全服广播 */
+    private InterestMessage toInterestMessage() {
+        return switch (opCode) {
+            case NetworkOpCode.MODEL_SELECT, NetworkOpCode.MORPH_SYNC, NetworkOpCode.CUSTOM_ANIM ->
+                    InterestMessage.ofText(opCode, playerUUID, animId);
+            case NetworkOpCode.RESET_PHYSICS -> InterestMessage.ofInt(opCode, playerUUID, arg0);
+            case NetworkOpCode.BONE_SYNC -> InterestMessage.ofBinary(opCode, playerUUID, binaryPayload);
+            default -> null;
+        };
+    }
+
+    public static void sendTo(MinecraftServer server, UUID target, InterestMessage message) {
+        ServerPlayer targetPlayer = server.getPlayerList().getPlayer(target);
+        if (targetPlayer == null) {
+            return;
+        }
+        MmdSkinNetworkPack pack;
+        if (message.binary() != null) {
+            pack = new MmdSkinNetworkPack(message.opCode(), message.subject(), message.binary());
+        } else if (message.text() != null) {
+            pack = new MmdSkinNetworkPack(message.opCode(), message.subject(), message.text());
+        } else {
+            pack = new MmdSkinNetworkPack(message.opCode(), message.subject(), message.intArg());
+        }
+        MmdSkinRegisterCommon.channel.send(PacketDistributor.PLAYER.with(() -> targetPlayer), pack);
+    }
 }
 
@@ -3,10 +3,12 @@ package com.shiroha.mmdskin.forge.register;
 import com.shiroha.mmdskin.config.UIConstants;
 import com.shiroha.mmdskin.debug.client.PerformanceHud;
 import com.shiroha.mmdskin.forge.network.MmdSkinNetworkPack;
+import com.shiroha.mmdskin.player.sync.BoneSyncManager;
 import com.shiroha.mmdskin.player.sync.PlayerModelSyncService;
 import com.shiroha.mmdskin.player.runtime.MmdSkinRendererPlayerHelper;
 import com.shiroha.mmdskin.render.bootstrap.ClientRenderRuntime;
 import com.shiroha.mmdskin.stage.client.StageClientRuntime;
+import com.shiroha.mmdskin.stage.client.network.StageNetworkHandler;
 import com.shiroha.mmdskin.stage.client.camera.MMDCameraController;
 import com.shiroha.mmdskin.ui.QuickModelSwitcher;
 import com.shiroha.mmdskin.ui.config.ModelSelectorConfig;
@@ -16,6 +18,7 @@ import com.shiroha.mmdskin.ui.wheel.MaidConfigWheelScreen;
 import java.util.UUID;
 import net.minecraft.client.KeyMapping;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.player.RemotePlayer;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.phys.EntityHitResult;
 import net.minecraft.world.phys.HitResult;
@@ -24,6 +27,7 @@ import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
 import net.minecraftforge.client.event.RenderGuiEvent;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
 import net.minecraftforge.event.entity.living.LivingDeathEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 
@@ -55,6 +59,7 @@ final class ForgeClientRuntimeHooks {
 
         ClientRenderRuntime.get().modelRepository().tick();
         StageClientRuntime.get().animSyncHelper().tickPending();
+        BoneSyncManager.tickLocal();
 
         if (minecraft.screen == null || minecraft.screen instanceof ConfigWheelScreen) {
             boolean keyDown = keyConfigWheel.isDown();
@@ -102,7 +107,16 @@ final class ForgeClientRuntimeHooks {
         MMDCameraController.getInstance().exitStageMode();
         PlayerModelSyncService.onDisconnect();
         MmdSkinRendererPlayerHelper.onDisconnect();
+        BoneSyncManager.onDisconnect();
         StageClientRuntime.get().sessionService().onDisconnect();
+        StageNetworkHandler.onDisconnect();
+    }
+
+    /** 远端玩家离开当前世界时释放其骨骼同步状态并撤销姿势覆盖 */
+    void onEntityLeaveLevel(EntityLeaveLevelEvent event) {
+        if (event.getLevel().isClientSide() && event.getEntity() instanceof RemotePlayer) {
+            BoneSyncManager.onRemotePlayerLeave(event.getEntity().getUUID());
+        }
     }
 
     void onPlayerDeath(LivingDeathEvent event) {
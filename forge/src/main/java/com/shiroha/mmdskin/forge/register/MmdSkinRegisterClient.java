@@ -19,6 +19,7 @@ import net.minecraftforge.client.event.RenderGuiEvent;
 import net.minecraftforge.client.settings.KeyConflictContext;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
 import net.minecraftforge.event.entity.living.LivingDeathEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -128,6 +129,11 @@ public class MmdSkinRegisterClient {
             RUNTIME_HOOKS.onPlayerLoggedOut(event);
         }
 
+        @SubscribeEvent
+        public static void onEntityLeaveLevel(EntityLeaveLevelEvent event) {
+            RUNTIME_HOOKS.onEntityLeaveLevel(event);
+        }
+
         @SubscribeEvent
         public static void onPlayerDeath(LivingDeathEvent event) {
             RUNTIME_HOOKS.onPlayerDeath(event);
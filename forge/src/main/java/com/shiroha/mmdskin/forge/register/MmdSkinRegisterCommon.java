@@ -2,11 +2,15 @@ package com.shiroha.mmdskin.forge.register;
 
 import com.shiroha.mmdskin.forge.network.MmdSkinNetworkPack;
 import com.shiroha.mmdskin.forge.stage.ForgeStageSessionRegistry;
+import com.shiroha.mmdskin.player.sync.BoneSyncServerRelay;
+import com.shiroha.mmdskin.player.sync.ServerInterestManager;
+import com.shiroha.mmdskin.player.sync.ServerInterestTicker;
 import com.shiroha.mmdskin.player.sync.ServerModelRegistry;
 
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.network.NetworkRegistry;
 import net.minecraftforge.network.simple.SimpleChannel;
@@ -28,8 +32,17 @@ public class MmdSkinRegisterCommon {
         channel.registerMessage(0, MmdSkinNetworkPack.class,
                 MmdSkinNetworkPack::pack, MmdSkinNetworkPack::new, MmdSkinNetworkPack::handle);
 
+        MinecraftForge.EVENT_BUS.addListener((TickEvent.ServerTickEvent event) -> {
+            if (event.phase == TickEvent.Phase.END) {
+                ServerInterestTicker.tick(event.getServer(),
+                        (target, message) -> MmdSkinNetworkPack.sendTo(event.getServer(), target, message));
+            }
+        });
+
         MinecraftForge.EVENT_BUS.addListener((PlayerEvent.PlayerLoggedOutEvent event) -> {
             ServerModelRegistry.onPlayerLeave(event.getEntity().getUUID());
+            ServerInterestManager.get().onPlayerLeave(event.getEntity().getUUID());
+            BoneSyncServerRelay.onPlayerLeave(event.getEntity().getUUID());
             if (event.getEntity() instanceof ServerPlayer player && player.getServer() != null) {
                 ForgeStageSessionRegistry.getInstance().onPlayerDisconnect(player.getServer(), player);
             }
@@ -2,6 +2,7 @@ package com.shiroha.mmdskin.forge.stage;
 
 import com.shiroha.mmdskin.forge.network.MmdSkinNetworkPack;
 import com.shiroha.mmdskin.forge.register.MmdSkinRegisterCommon;
+import com.shiroha.mmdskin.stage.protocol.StageBinaryPacketCodec;
 import com.shiroha.mmdskin.stage.protocol.StagePacket;
 import com.shiroha.mmdskin.stage.protocol.StagePacketCodec;
 import com.shiroha.mmdskin.stage.server.application.StageServerSessionService;
@@ -13,11 +14,15 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraftforge.network.PacketDistributor;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class ForgeStageSessionRegistry {
     private static final ForgeStageSessionRegistry INSTANCE = new ForgeStageSessionRegistry();
     private final StageServerSessionService service = StageServerSessionService.getInstance();
+    /** 发送过二进制舞台包或在文本包中声明支持二进制的玩家，回包使用二进制；其余玩家按旧客户端处理 */
+    private final Set<UUID> binaryClients = ConcurrentHashMap.newKeySet();
 
     private ForgeStageSessionRegistry() {
     }
@@ -27,11 +32,17 @@ public final class ForgeStageSessionRegistry {
     }
 
     public synchronized void handlePacket(MinecraftServer server, ServerPlayer sender, String rawData) {
-        service.handlePacket(new ForgePlatformPort(server), toStageServerPlayer(sender), rawData);
+        service.handlePacket(new ForgePlatformPort(server, binaryClients), toStageServerPlayer(sender), rawData);
+    }
+
+    public synchronized void handlePacket(MinecraftServer server, ServerPlayer sender, byte[] binaryData) {
+        binaryClients.add(sender.getUUID());
+        service.handlePacket(new ForgePlatformPort(server, binaryClients), toStageServerPlayer(sender), binaryData);
     }
 
     public synchronized void onPlayerDisconnect(MinecraftServer server, ServerPlayer player) {
-        service.onPlayerDisconnect(new ForgePlatformPort(server), player.getUUID());
+        service.onPlayerDisconnect(new ForgePlatformPort(server, binaryClients), player.getUUID());
+        binaryClients.remove(player.getUUID());
     }
 
     private StageServerPlayer toStageServerPlayer(ServerPlayer player) {
@@ -40,9 +51,11 @@ public final class ForgeStageSessionRegistry {
 
     private static final class ForgePlatformPort implements StageServerPlatformPort {
         private final MinecraftServer server;
+        private final Set<UUID> binaryClients;
 
-        private ForgePlatformPort(MinecraftServer server) {
+        private ForgePlatformPort(MinecraftServer server, Set<UUID> binaryClients) {
             this.server = server;
+            this.binaryClients = binaryClients;
         }
 
         @Override
@@ -61,16 +74,21 @@ public final class ForgeStageSessionRegistry {
                     .toList();
         }
 
+        @Override
+        public void markBinaryCapable(UUID playerId) {
+            binaryClients.add(playerId);
+        }
+
         @Override
         public void sendPacket(UUID targetPlayerId, UUID sourcePlayerId, StagePacket packet) {
             ServerPlayer target = server.getPlayerList().getPlayer(targetPlayerId);
             if (target == null) {
                 return;
             }
-            MmdSkinRegisterCommon.channel.send(
-                    PacketDistributor.PLAYER.with(() -> target),
-                    new MmdSkinNetworkPack(NetworkOpCode.STAGE_MULTI, sourcePlayerId, StagePacketCodec.encode(packet))
-            );
+            MmdSkinNetworkPack pack = binaryClients.contains(targetPlayerId)
+                    ? new MmdSkinNetworkPack(NetworkOpCode.STAGE_BINARY, sourcePlayerId, StageBinaryPacketCodec.encode(packet))
+                    : new MmdSkinNetworkPack(NetworkOpCode.STAGE_MULTI, sourcePlayerId, StagePacketCodec.encode(packet));
+            MmdSkinRegisterCommon.channel.send(PacketDistributor.PLAYER.with(() -> target), pack);
         }
     }
 }
@@ -5,18 +5,44 @@ import com.shiroha.mmdskin.forge.YsmCompat;
 import com.shiroha.mmdskin.player.runtime.FirstPersonManager;
 import com.shiroha.mmdskin.compat.iris.IrisCompat;
 import com.shiroha.mmdskin.player.sync.PlayerModelSyncService;
+import com.shiroha.mmdskin.render.backend.ModelUpdatePhase;
 import net.minecraft.client.Camera;
 import net.minecraft.client.player.AbstractClientPlayer;
 import net.minecraft.client.renderer.LevelRenderer;
 import net.minecraft.world.entity.Entity;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
-/** LevelRenderer Mixin，用于在 MMD 第一人称与 VR 场景下决定本地玩家是否强制渲染。 */
+/**
+ * LevelRenderer Mixin，用于在 MMD 第一人称与 VR 场景下决定本地玩家是否强制渲染，
+ * 并在实体渲染循环前后划定模型更新阶段，使模型在同一帧内先更新后绘制。
+ */
 @Mixin(LevelRenderer.class)
 public abstract class LevelRendererMixin {
 
+    @Inject(
+        method = "renderLevel",
+        at = @At(value = "INVOKE_STRING",
+            target = "Lnet/minecraft/util/profiling/ProfilerFiller;popPush(Ljava/lang/String;)V",
+            args = "ldc=entities")
+    )
+    private void onBeginEntities(CallbackInfo ci) {
+        ModelUpdatePhase.get().beginEntityPass();
+    }
+
+    @Inject(
+        method = "renderLevel",
+        at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/client/renderer/LevelRenderer;checkPoseStack(Lcom/mojang/blaze3d/vertex/PoseStack;)V",
+            ordinal = 0)
+    )
+    private void onEndEntities(CallbackInfo ci) {
+        ModelUpdatePhase.get().endEntityPass();
+    }
+
     @Redirect(
         method = "renderLevel",
         at = @At(value = "INVOKE", target = "Lnet/minecraft/client/Camera;isDetached()Z", ordinal = 0)
@@ -0,0 +1,104 @@
+//! 模型句柄注册表微基准
+//!
+//! 对比旧的 `RwLock<HashMap<i64, Arc<Mutex<MmdModel>>>>` 与无锁槽位注册表在
+//! 50 个模型下的单次 JNI 查询开销（查找句柄 + 锁模型 + 读取字段）。
+//!
+//! 运行：`cargo bench --bench model_registry`
+
+use std::collections::HashMap;
+use std::hint::black_box;
+use std::sync::{Arc, Mutex, RwLock};
+use std::thread;
+use std::time::Instant;
+
+use mmd_engine::jni_bridge::HandleRegistry;
+use mmd_engine::MmdModel;
+
+const MODEL_COUNT: usize = 50;
+const ROUNDS: usize = 200_000;
+const THREADS: usize = 4;
+
+type LegacyRegistry = RwLock<HashMap<i64, Arc<Mutex<MmdModel>>>>;
+
+fn legacy_lookup(registry: &LegacyRegistry, handle: i64) -> usize {
+    let models = registry.read().unwrap();
+    models
+        .get(&handle)
+        .map(|m| m.lock().unwrap().vertex_count())
+        .unwrap_or(0)
+}
+
+fn registry_lookup(registry: &HandleRegistry<Mutex<MmdModel>>, handle: i64) -> usize {
+    registry
+        .get(handle)
+        .map(|m| m.lock().unwrap().vertex_count())
+        .unwrap_or(0)
+}
+
+/// 单线程：每轮对 50 个模型各做一次查询，返回每次调用的平均纳秒数
+fn bench_single<F: Fn(i64) -> usize>(handles: &[i64], lookup: F) -> f64 {
+    for &handle in handles {
+        black_box(lookup(handle));
+    }
+    let start = Instant::now();
+    for _ in 0..ROUNDS {
+        for &handle in handles {
+            black_box(lookup(black_box(handle)));
+        }
+    }
+    start.elapsed().as_nanos() as f64 / (ROUNDS * handles.len()) as f64
+}
+
+/// 多线程：各线程查询互不相交的模型子集（模拟并行更新阶段 + 渲染线程查询）
+fn bench_parallel<F>(handles: &[i64], lookup: F) -> f64
+where
+    F: Fn(i64) -> usize + Sync,
+{
+    let chunk = (handles.len() + THREADS - 1) / THREADS;
+    let start = Instant::now();
+    thread::scope(|scope| {
+        for part in handles.chunks(chunk) {
+            let lookup = &lookup;
+            scope.spawn(move || {
+                for _ in 0..ROUNDS {
+                    for &handle in part {
+                        black_box(lookup(black_box(handle)));
+                    }
+                }
+            });
+        }
+    });
+    start.elapsed().as_nanos() as f64 / (ROUNDS * handles.len()) as f64
+}
+
+fn main() {
+    let legacy: LegacyRegistry = RwLock::new(HashMap::new());
+    let mut legacy_handles = Vec::with_capacity(MODEL_COUNT);
+    for id in 1..=MODEL_COUNT as i64 {
+        legacy
+            .write()
+            .unwrap()
+            .insert(id, Arc::new(Mutex::new(MmdModel::new())));
+        legacy_handles.push(id);
+    }
+
+    let registry = HandleRegistry::new();
+    let handles: Vec<i64> = (0..MODEL_COUNT)
+        .map(|_| registry.insert(Mutex::new(MmdModel::new())))
+        .collect();
+
+    let legacy_single = bench_single(&legacy_handles, |h| legacy_lookup(&legacy, h));
+    let registry_single = bench_single(&handles, |h| registry_lookup(&registry, h));
+    let legacy_parallel = bench_parallel(&legacy_handles, |h| legacy_lookup(&legacy, h));
+    let registry_parallel = bench_parallel(&handles, |h| registry_lookup(&registry, h));
+
+    println!("model_registry ({} models, {} rounds)", MODEL_COUNT, ROUNDS);
+    println!(
+        "  single-thread   RwLock<HashMap>: {:>7.1} ns/call   HandleRegistry: {:>7.1} ns/call",
+        legacy_single, registry_single
+    );
+    println!(
+        "  {} threads       RwLock<HashMap>: {:>7.1} ns/call   HandleRegistry: {:>7.1} ns/call",
+        THREADS, legacy_parallel, registry_parallel
+    );
+}
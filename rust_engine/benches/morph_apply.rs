@@ -0,0 +1,236 @@
+//! 顶点 Morph 应用微基准
+//!
+//! 300 个 Morph（260 顶点 / 30 Group / 10 Flip）、20000 顶点的模型，模拟口型动画：
+//! 40 个 Morph 常驻非零，每帧只有其中 8 个权重变化。对比三种每帧开销：
+//! - 旧实现：重置全部顶点，逐层递归展开 Group/Flip（每层分配子项 Vec），全量叠加活跃 Morph
+//! - 展开图全量：重置全部顶点，按展开图全量叠加（未设置基础位置）
+//! - 展开图增量：只对权重变化的 Morph 叠加差值，再整体拷出变形后位置
+//!
+//! 运行：`cargo bench --bench morph_apply`
+
+use std::hint::black_box;
+use std::time::Instant;
+
+use glam::Vec3;
+use mmd_engine::morph::{GroupMorphOffset, MorphType, VertexMorphOffset};
+use mmd_engine::{BoneManager, Morph, MorphManager};
+
+const VERTEX_COUNT: usize = 20_000;
+const VERTEX_MORPHS: usize = 260;
+const GROUP_MORPHS: usize = 30;
+const FLIP_MORPHS: usize = 10;
+const OFFSETS_PER_MORPH: usize = 400;
+const ACTIVE_MORPHS: usize = 40;
+const CHANGING_PER_FRAME: usize = 8;
+const FRAMES: usize = 2_000;
+
+/// 简单线性同余，避免引入随机数依赖
+struct Lcg(u64);
+
+impl Lcg {
+    fn next(&mut self) -> u32 {
+        self.0 = self
+            .0
+            .wrapping_mul(6364136223846793005)
+            .wrapping_add(1442695040888963407);
+        (self.0 >> 33) as u32
+    }
+
+    fn unit(&mut self) -> f32 {
+        self.next() as f32 / (1u64 << 31) as f32
+    }
+}
+
+fn build_morphs() -> Vec<Morph> {
+    let mut rng = Lcg(7);
+    let mut morphs = Vec::new();
+    for i in 0..VERTEX_MORPHS {
+        let mut morph = Morph::new(format!("v{}", i), MorphType::Vertex);
+        let region = rng.next() as usize % (VERTEX_COUNT - OFFSETS_PER_MORPH * 2);
+        for j in 0..OFFSETS_PER_MORPH {
+            morph.vertex_offsets.push(VertexMorphOffset {
+                vertex_index: (region + j * 2) as u32,
+                offset: Vec3::new(rng.unit(), rng.unit(), rng.unit()) * 0.01,
+            });
+        }
+        morphs.push(morph);
+    }
+    for i in 0..GROUP_MORPHS {
+        let mut morph = Morph::new(format!("g{}", i), MorphType::Group);
+        for _ in 0..4 {
+            morph.group_offsets.push(GroupMorphOffset {
+                morph_index: rng.next() % VERTEX_MORPHS as u32,
+                influence: rng.unit(),
+            });
+        }
+        morphs.push(morph);
+    }
+    for i in 0..FLIP_MORPHS {
+        let mut morph = Morph::new(format!("f{}", i), MorphType::Flip);
+        for _ in 0..3 {
+            morph.group_offsets.push(GroupMorphOffset {
+                morph_index: rng.next() % VERTEX_MORPHS as u32,
+                influence: 1.0,
+            });
+        }
+        morphs.push(morph);
+    }
+    morphs
+}
+
+fn manager(morphs: &[Morph], incremental: bool, base: &[Vec3]) -> MorphManager {
+    let mut manager = MorphManager::new();
+    for morph in morphs {
+        manager.add_morph(morph.clone());
+    }
+    if incremental {
+        manager.set_base_positions(base.to_vec());
+    }
+    manager
+}
+
+/// 活跃 Morph：前 32 个顶点 Morph + 6 个 Group + 2 个 Flip
+fn active_indices() -> Vec<usize> {
+    let mut active: Vec<usize> = (0..ACTIVE_MORPHS - 8).collect();
+    active.extend(VERTEX_MORPHS..VERTEX_MORPHS + 6);
+    active.extend(VERTEX_MORPHS + GROUP_MORPHS..VERTEX_MORPHS + GROUP_MORPHS + 2);
+    active
+}
+
+/// 生成每帧的 (Morph 索引, 权重) 变化序列，三种实现共用
+fn weight_track(active: &[usize]) -> Vec<Vec<(usize, f32)>> {
+    let mut rng = Lcg(11);
+    (0..FRAMES)
+        .map(|frame| {
+            if frame == 0 {
+                return active.iter().map(|&i| (i, 0.5)).collect();
+            }
+            (0..CHANGING_PER_FRAME)
+                .map(|_| (active[rng.next() as usize % active.len()], rng.unit()))
+                .collect()
+        })
+        .collect()
+}
+
+/// 旧实现（仅顶点 / Group / Flip 路径）
+fn legacy_apply(morphs: &[Morph], weights: &[f32], positions: &mut [Vec3]) {
+    let active: Vec<(usize, f32)> = weights
+        .iter()
+        .enumerate()
+        .filter(|(_, w)| w.abs() > 0.001)
+        .map(|(i, w)| (i, *w))
+        .collect();
+    for (index, weight) in active {
+        legacy_apply_single(morphs, index, weight, positions, 0);
+    }
+}
+
+fn legacy_apply_single(
+    morphs: &[Morph],
+    index: usize,
+    weight: f32,
+    positions: &mut [Vec3],
+    depth: u32,
+) {
+    if depth > 16 || weight.abs() < 0.001 {
+        return;
+    }
+    let morph = &morphs[index];
+    match morph.morph_type {
+        MorphType::Vertex => {
+            for offset in &morph.vertex_offsets {
+                positions[offset.vertex_index as usize] += offset.offset * weight;
+            }
+        }
+        MorphType::Group => {
+            let subs: Vec<(usize, f32)> = morph
+                .group_offsets
+                .iter()
+                .map(|sub| (sub.morph_index as usize, weight * sub.influence))
+                .collect();
+            for (sub, sub_weight) in subs {
+                legacy_apply_single(morphs, sub, sub_weight, positions, depth + 1);
+            }
+        }
+        MorphType::Flip => {
+            let count = morph.group_offsets.len();
+            let pick = ((weight.clamp(0.0, 1.0) * count as f32).floor() as usize).min(count - 1);
+            let sub = &morph.group_offsets[pick];
+            legacy_apply_single(
+                morphs,
+                sub.morph_index as usize,
+                sub.influence,
+                positions,
+                depth + 1,
+            );
+        }
+        _ => {}
+    }
+}
+
+fn main() {
+    let morphs = build_morphs();
+    let base: Vec<Vec3> = (0..VERTEX_COUNT)
+        .map(|i| Vec3::new(i as f32 * 0.001, 1.0, 0.0))
+        .collect();
+    let track = weight_track(&active_indices());
+    let mut bones = BoneManager::new();
+
+    // 旧实现
+    let mut weights = vec![0.0f32; morphs.len()];
+    let mut legacy_positions = base.clone();
+    let start = Instant::now();
+    for changes in &track {
+        for &(index, weight) in changes {
+            weights[index] = weight;
+        }
+        legacy_positions.copy_from_slice(&base);
+        legacy_apply(&morphs, &weights, &mut legacy_positions);
+        black_box(&legacy_positions);
+    }
+    let legacy_ns = start.elapsed().as_nanos() as f64 / FRAMES as f64;
+
+    // 展开图全量
+    let mut dense = manager(&morphs, false, &base);
+    let mut dense_positions = base.clone();
+    let start = Instant::now();
+    for changes in &track {
+        for &(index, weight) in changes {
+            dense.set_morph_weight(index, weight);
+        }
+        dense_positions.copy_from_slice(&base);
+        dense.apply_morphs(&mut bones, &mut dense_positions);
+        black_box(&dense_positions);
+    }
+    let dense_ns = start.elapsed().as_nanos() as f64 / FRAMES as f64;
+
+    // 展开图增量
+    let mut sparse = manager(&morphs, true, &base);
+    let mut sparse_positions = vec![Vec3::ZERO; VERTEX_COUNT];
+    let start = Instant::now();
+    for changes in &track {
+        for &(index, weight) in changes {
+            sparse.set_morph_weight(index, weight);
+        }
+        sparse.apply_morphs(&mut bones, &mut sparse_positions);
+        black_box(&sparse_positions);
+    }
+    let sparse_ns = start.elapsed().as_nanos() as f64 / FRAMES as f64;
+
+    let max_error = legacy_positions
+        .iter()
+        .zip(&sparse_positions)
+        .map(|(a, b)| (*a - *b).length())
+        .fold(0.0f32, f32::max);
+
+    println!(
+        "morph_apply ({} morphs, {} vertices, {} frames)",
+        morphs.len(),
+        VERTEX_COUNT,
+        FRAMES
+    );
+    println!("  legacy recursive:  {:>10.0} ns/frame", legacy_ns);
+    println!("  graph dense:       {:>10.0} ns/frame", dense_ns);
+    println!("  graph incremental: {:>10.0} ns/frame", sparse_ns);
+    println!("  max position error vs legacy: {:.2e}", max_error);
+}
@@ -0,0 +1,177 @@
+//! CPU 蒙皮微基准
+//!
+//! 60000 顶点、200 骨骼（BDEF1/BDEF2/BDEF4 混合）下对比：
+//! - 旧路径：rayon 逐顶点 AoS 蒙皮，先写 Vec3 结果再拷入平铺导出缓冲区
+//! - SoA 分组内核：8 顶点一组，直接写导出缓冲区
+//!
+//! 分别在单线程与全部核心的 rayon 线程池中运行，输出每秒蒙皮顶点数。
+//!
+//! 运行：`cargo bench --bench skinning`
+
+use std::hint::black_box;
+use std::time::Instant;
+
+use glam::{Mat4, Quat, Vec3};
+use mmd_engine::model::VertexWeight;
+use mmd_engine::skinning::SoaSkinning;
+use rayon::prelude::*;
+
+const VERTEX_COUNT: usize = 60_000;
+const BONE_COUNT: usize = 200;
+const ROUNDS: usize = 200;
+
+fn weight_of(vertex: usize) -> VertexWeight {
+    let bone = (vertex * 31 % BONE_COUNT) as i32;
+    match vertex % 10 {
+        0..=3 => VertexWeight::Bdef1 { bone },
+        4..=7 => VertexWeight::Bdef2 {
+            bones: [bone, (bone + 1) % BONE_COUNT as i32],
+            weight: 0.6,
+        },
+        _ => VertexWeight::Bdef4 {
+            bones: [bone, (bone + 3) % BONE_COUNT as i32, 0, 1],
+            weights: [0.4, 0.3, 0.2, 0.1],
+        },
+    }
+}
+
+/// 旧路径的单顶点蒙皮
+fn legacy_vertex(
+    position: Vec3,
+    normal: Vec3,
+    weight: &VertexWeight,
+    m: &[Mat4],
+) -> (Vec3, Vec3) {
+    let get = |bone: i32| m.get(bone as usize).copied().unwrap_or(Mat4::IDENTITY);
+    let mut pos = Vec3::ZERO;
+    let mut norm = Vec3::ZERO;
+    let mut add = |matrix: Mat4, w: f32| {
+        pos += matrix.transform_point3(position) * w;
+        norm += matrix.transform_vector3(normal) * w;
+    };
+    match weight {
+        VertexWeight::Bdef1 { bone } => add(get(*bone), 1.0),
+        VertexWeight::Bdef2 { bones, weight } => {
+            add(get(bones[0]), *weight);
+            add(get(bones[1]), 1.0 - *weight);
+        }
+        VertexWeight::Bdef4 { bones, weights } | VertexWeight::Qdef { bones, weights } => {
+            for i in 0..4 {
+                add(get(bones[i]), weights[i]);
+            }
+        }
+        VertexWeight::Sdef { .. } => {}
+    }
+    (pos, norm.normalize_or_zero())
+}
+
+struct Scene {
+    rest_positions: Vec<Vec3>,
+    rest_normals: Vec<Vec3>,
+    weights: Vec<VertexWeight>,
+    matrices: Vec<Mat4>,
+}
+
+fn legacy_skin(
+    scene: &Scene,
+    positions: &mut [Vec3],
+    normals: &mut [Vec3],
+    pos_raw: &mut [f32],
+    norm_raw: &mut [f32],
+) {
+    positions
+        .par_iter_mut()
+        .zip(normals.par_iter_mut())
+        .zip(pos_raw.par_chunks_mut(3))
+        .zip(norm_raw.par_chunks_mut(3))
+        .zip(scene.rest_positions.par_iter())
+        .zip(scene.rest_normals.par_iter())
+        .zip(scene.weights.par_iter())
+        .for_each(
+            |((((((pos_out, norm_out), pos_chunk), norm_chunk), rest), normal), weight)| {
+                let (pos, norm) = legacy_vertex(*rest, *normal, weight, &scene.matrices);
+                *pos_out = pos;
+                *norm_out = norm;
+                pos_chunk.copy_from_slice(&pos.to_array());
+                norm_chunk.copy_from_slice(&norm.to_array());
+            },
+        );
+}
+
+/// 返回每秒蒙皮顶点数（百万）
+fn measure<F: FnMut()>(mut frame: F) -> f64 {
+    for _ in 0..ROUNDS / 10 {
+        frame();
+    }
+    let start = Instant::now();
+    for _ in 0..ROUNDS {
+        frame();
+    }
+    (VERTEX_COUNT * ROUNDS) as f64 / start.elapsed().as_secs_f64() / 1e6
+}
+
+fn run(scene: &Scene, threads: usize) -> (f64, f64, f32) {
+    let pool = rayon::ThreadPoolBuilder::new()
+        .num_threads(threads)
+        .build()
+        .expect("rayon pool");
+    pool.install(|| {
+        let mut positions = vec![Vec3::ZERO; VERTEX_COUNT];
+        let mut normals = vec![Vec3::ZERO; VERTEX_COUNT];
+        let mut legacy_pos = vec![0.0f32; VERTEX_COUNT * 3];
+        let mut legacy_norm = vec![0.0f32; VERTEX_COUNT * 3];
+        let legacy = measure(|| {
+            legacy_skin(scene, &mut positions, &mut normals, &mut legacy_pos, &mut legacy_norm);
+            black_box(&legacy_pos);
+        });
+
+        let mut skinning = SoaSkinning::new(&scene.weights, &scene.rest_normals);
+        let mut soa_pos = vec![0.0f32; VERTEX_COUNT * 3];
+        let mut soa_norm = vec![0.0f32; VERTEX_COUNT * 3];
+        let soa = measure(|| {
+            skinning.prepare_matrices(&scene.matrices);
+            skinning.skin(&scene.rest_positions, &mut soa_pos, &mut soa_norm, threads > 1);
+            black_box(&soa_pos);
+        });
+
+        let max_error = legacy_pos
+            .iter()
+            .zip(&soa_pos)
+            .map(|(a, b)| (a - b).abs())
+            .fold(0.0f32, f32::max);
+        (legacy, soa, max_error)
+    })
+}
+
+fn main() {
+    let scene = Scene {
+        rest_positions: (0..VERTEX_COUNT)
+            .map(|i| Vec3::new((i % 100) as f32 * 0.01, (i / 100) as f32 * 0.01, 0.1))
+            .collect(),
+        rest_normals: (0..VERTEX_COUNT)
+            .map(|i| Vec3::new(0.0, 1.0, (i % 7) as f32 * 0.1).normalize())
+            .collect(),
+        weights: (0..VERTEX_COUNT).map(weight_of).collect(),
+        matrices: (0..BONE_COUNT)
+            .map(|i| {
+                Mat4::from_rotation_translation(
+                    Quat::from_rotation_z(i as f32 * 0.01),
+                    Vec3::new(0.0, i as f32 * 0.02, 0.0),
+                )
+            })
+            .collect(),
+    };
+
+    let cores = std::thread::available_parallelism().map_or(1, |n| n.get());
+    println!(
+        "skinning ({} vertices, {} bones, {} rounds)",
+        VERTEX_COUNT, BONE_COUNT, ROUNDS
+    );
+    for threads in [1, cores] {
+        let (legacy, soa, max_error) = run(&scene, threads);
+        println!(
+            "  {:>2} thread(s)  rayon AoS: {:>7.1} Mvert/s   SoA kernel: {:>7.1} Mvert/s   max error {:.1e}",
+            threads, legacy, soa, max_error
+        );
+    }
+}
@@ -76,7 +76,9 @@ fn main() {
         .include(bullet3_dir)
         .include(wrapper_dir)
         .warnings(false)
-        .opt_level(2);
+        .opt_level(2)
+        // 多个物理世界会在 rayon 线程上并行步进，quickprof 全局剖析树非线程安全
+        .define("BT_NO_PROFILE", None);
 
     // 平台特定设置
     let target = std::env::var("TARGET").unwrap_or_default();
@@ -0,0 +1,289 @@
+//! 预烘焙动画采样缓存
+//!
+//! 舞台开播时把相机轨道（及可选的骨骼轨道）按 VMD 原生帧率逐帧求值一次，
+//! 展开为连续的 f32 数组；之后每帧采样只需按下标取相邻两帧做线性插值，
+//! 不再逐骨骼查找关键帧区间和求贝塞尔曲线。
+//!
+//! 运行时的帧间插值本就是在相邻整数帧之间做 lerp/slerp，
+//! 因此按整数帧烘焙与逐帧求值的结果一致，无需更高的采样率。
+
+use glam::{Quat, Vec3};
+
+use super::interpolation::lerp_f32;
+use super::motion::Motion;
+use super::motion_track::{CameraFrameTransform, CameraMotionTrack, CameraRawFrame, MotionTrack};
+
+/// 相机每帧浮点数：look_at(3) + angle(3) + distance + fov + is_perspective
+const CAMERA_STRIDE: usize = 9;
+/// 骨骼每帧浮点数：translation(3) + orientation(4)
+const BONE_STRIDE: usize = 7;
+/// 骨骼烘焙的内存上限，超出时只烘焙相机
+pub const MAX_BAKED_BONE_BYTES: usize = 64 * 1024 * 1024;
+
+/// 单根骨骼的烘焙轨道
+#[derive(Debug, Clone)]
+pub struct BakedBoneTrack {
+    /// 骨骼名称
+    pub name: String,
+    samples: Vec<f32>,
+}
+
+impl BakedBoneTrack {
+    /// 采样指定帧的平移与旋转（与 BoneMotionTrack::seek_precisely 一致）
+    pub fn sample(&self, frame_index: u32, amount: f32) -> (Vec3, Quat) {
+        let frame_count = self.samples.len() / BONE_STRIDE;
+        let (t0, q0) = read_bone(&self.samples, clamp_index(frame_index, frame_count));
+        if amount > 0.0 {
+            let next = clamp_index(frame_index.saturating_add(1), frame_count);
+            let (t1, q1) = read_bone(&self.samples, next);
+            (t0.lerp(t1, amount), q0.slerp(q1, amount))
+        } else {
+            (t0, q0)
+        }
+    }
+}
+
+/// 预烘焙的动画采样数据
+#[derive(Debug, Clone, Default)]
+pub struct BakedMotion {
+    frame_count: u32,
+    camera: Vec<f32>,
+    bones: Vec<BakedBoneTrack>,
+}
+
+impl BakedMotion {
+    /// 按整数帧 0..=duration 烘焙；include_bones 为 false 或超出内存上限时只烘焙相机
+    pub fn bake(motion: &Motion, include_bones: bool) -> Self {
+        let frame_count = motion.duration() + 1;
+        let factory = motion.bezier_cache();
+
+        let mut camera = Vec::new();
+        if motion.has_camera_data() {
+            camera.reserve_exact(frame_count as usize * CAMERA_STRIDE);
+            for frame in 0..frame_count {
+                let raw = motion.camera_track.seek_raw(frame, factory);
+                camera.extend_from_slice(&[
+                    raw.look_at.x,
+                    raw.look_at.y,
+                    raw.look_at.z,
+                    raw.angle.x,
+                    raw.angle.y,
+                    raw.angle.z,
+                    raw.distance,
+                    raw.fov,
+                    if raw.is_perspective { 1.0 } else { 0.0 },
+                ]);
+            }
+        }
+
+        let mut bones = Vec::new();
+        let bone_bytes = Self::estimate_bone_bytes(motion);
+        if include_bones && bone_bytes > MAX_BAKED_BONE_BYTES {
+            log::warn!(
+                "骨骼烘焙需要 {} KB，超过上限 {} KB，仅烘焙相机",
+                bone_bytes / 1024,
+                MAX_BAKED_BONE_BYTES / 1024
+            );
+        } else if include_bones {
+            bones.reserve_exact(motion.bone_tracks.len());
+            for (name, track) in &motion.bone_tracks {
+                let mut samples = Vec::with_capacity(frame_count as usize * BONE_STRIDE);
+                for frame in 0..frame_count {
+                    let t = track.seek(frame, factory);
+                    samples.extend_from_slice(&[
+                        t.translation.x,
+                        t.translation.y,
+                        t.translation.z,
+                        t.orientation.x,
+                        t.orientation.y,
+                        t.orientation.z,
+                        t.orientation.w,
+                    ]);
+                }
+                bones.push(BakedBoneTrack {
+                    name: name.clone(),
+                    samples,
+                });
+            }
+        }
+
+        Self {
+            frame_count,
+            camera,
+            bones,
+        }
+    }
+
+    /// 骨骼全部烘焙时所需的字节数
+    pub fn estimate_bone_bytes(motion: &Motion) -> usize {
+        (motion.duration() as usize + 1) * motion.bone_tracks.len() * BONE_STRIDE * 4
+    }
+
+    /// 烘焙帧数
+    pub fn frame_count(&self) -> u32 {
+        self.frame_count
+    }
+
+    /// 是否包含相机数据
+    pub fn has_camera(&self) -> bool {
+        !self.camera.is_empty()
+    }
+
+    /// 是否包含骨骼数据
+    pub fn has_bones(&self) -> bool {
+        !self.bones.is_empty()
+    }
+
+    /// 烘焙的骨骼轨道
+    pub fn bones(&self) -> &[BakedBoneTrack] {
+        &self.bones
+    }
+
+    /// 采样数组占用的字节数
+    pub fn byte_size(&self) -> usize {
+        let bone_floats: usize = self.bones.iter().map(|b| b.samples.len()).sum();
+        (self.camera.len() + bone_floats) * std::mem::size_of::<f32>()
+    }
+
+    /// 采样相机变换（与 CameraMotionTrack::seek_precisely 一致），未烘焙相机时返回 None
+    pub fn camera_transform(&self, frame_index: u32, amount: f32) -> Option<CameraFrameTransform> {
+        if self.camera.is_empty() {
+            return None;
+        }
+        let frame_count = self.camera.len() / CAMERA_STRIDE;
+        let f0 = read_camera(&self.camera, clamp_index(frame_index, frame_count));
+        let raw = if amount > 0.0 {
+            let next = clamp_index(frame_index.saturating_add(1), frame_count);
+            let f1 = read_camera(&self.camera, next);
+            CameraRawFrame {
+                look_at: f0.look_at.lerp(f1.look_at, amount),
+                angle: Vec3::new(
+                    lerp_f32(f0.angle.x, f1.angle.x, amount),
+                    lerp_f32(f0.angle.y, f1.angle.y, amount),
+                    lerp_f32(f0.angle.z, f1.angle.z, amount),
+                ),
+                distance: lerp_f32(f0.distance, f1.distance, amount),
+                fov: lerp_f32(f0.fov, f1.fov, amount),
+                is_perspective: f0.is_perspective,
+            }
+        } else {
+            f0
+        };
+        Some(CameraMotionTrack::compute_camera_transform(
+            raw.look_at,
+            raw.angle,
+            raw.distance,
+            raw.fov,
+            raw.is_perspective,
+        ))
+    }
+}
+
+fn clamp_index(frame_index: u32, frame_count: usize) -> usize {
+    (frame_index as usize).min(frame_count.saturating_sub(1))
+}
+
+fn read_camera(samples: &[f32], index: usize) -> CameraRawFrame {
+    let s = &samples[index * CAMERA_STRIDE..(index + 1) * CAMERA_STRIDE];
+    CameraRawFrame {
+        look_at: Vec3::new(s[0], s[1], s[2]),
+        angle: Vec3::new(s[3], s[4], s[5]),
+        distance: s[6],
+        fov: s[7],
+        is_perspective: s[8] != 0.0,
+    }
+}
+
+fn read_bone(samples: &[f32], index: usize) -> (Vec3, Quat) {
+    let s = &samples[index * BONE_STRIDE..(index + 1) * BONE_STRIDE];
+    (
+        Vec3::new(s[0], s[1], s[2]),
+        Quat::from_xyzw(s[3], s[4], s[5], s[6]),
+    )
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+    use crate::animation::keyframe::{BoneKeyframe, CameraKeyframe};
+
+    fn make_motion() -> Motion {
+        let mut motion = Motion::new();
+        let bezier = [40, 10, 90, 120];
+        for (frame, x, angle) in [(0u32, 0.0f32, 0.0f32), (17, 3.0, 1.2), (90, -2.0, 0.4)] {
+            let mut kf = BoneKeyframe::with_transform(
+                frame,
+                Vec3::new(x, 1.0, -x),
+                Quat::from_rotation_y(angle),
+            );
+            kf.interpolation_x = bezier;
+            kf.interpolation_r = bezier;
+            motion.insert_bone_keyframe("センター", kf);
+        }
+        motion.insert_bone_keyframe(
+            "右腕",
+            BoneKeyframe::with_transform(40, Vec3::ZERO, Quat::from_rotation_z(0.7)),
+        );
+        for (frame, distance, yaw) in [(0u32, -45.0f32, 0.0f32), (30, -20.0, 1.5), (75, -30.0, -0.5)] {
+            let mut kf = CameraKeyframe {
+                frame_index: frame,
+                look_at: Vec3::new(0.0, 10.0, yaw),
+                angle: Vec3::new(0.1, yaw, 0.0),
+                distance,
+                ..Default::default()
+            };
+            kf.interpolation.distance = bezier;
+            motion.insert_camera_keyframe(kf);
+        }
+        motion
+    }
+
+    #[test]
+    fn baked_sampling_should_match_keyframe_evaluation() {
+        let motion = make_motion();
+        let baked = BakedMotion::bake(&motion, true);
+        assert_eq!(baked.frame_count(), 91);
+        assert_eq!(baked.bones().len(), 2);
+
+        for step in 0..400u32 {
+            let frame = step as f32 * 0.2371;
+            let (frame_index, amount) = (frame.floor() as u32, frame.fract());
+
+            let exact = motion.find_camera_transform(frame_index, amount);
+            let sampled = baked.camera_transform(frame_index, amount).unwrap();
+            assert!(exact.position.abs_diff_eq(sampled.position, 1e-4));
+            assert!(exact.rotation.abs_diff_eq(sampled.rotation, 1e-5));
+            assert_eq!(exact.fov, sampled.fov);
+
+            for bone in baked.bones() {
+                let exact = motion.find_bone_transform(&bone.name, frame_index, amount);
+                let (translation, orientation) = bone.sample(frame_index, amount);
+                assert!(exact.translation.abs_diff_eq(translation, 1e-5));
+                assert!(exact.orientation.abs_diff_eq(orientation, 1e-5));
+            }
+        }
+    }
+
+    #[test]
+    fn camera_only_bake_should_report_camera_bytes() {
+        let motion = make_motion();
+        let baked = BakedMotion::bake(&motion, false);
+        assert!(baked.has_camera());
+        assert!(!baked.has_bones());
+        assert_eq!(baked.byte_size(), 91 * CAMERA_STRIDE * 4);
+        assert_eq!(
+            BakedMotion::estimate_bone_bytes(&motion),
+            91 * 2 * BONE_STRIDE * 4
+        );
+    }
+
+    #[test]
+    fn closest_keyframe_lookup_should_use_neighbours() {
+        let motion = make_motion();
+        let track = &motion.bone_tracks["センター"];
+        assert_eq!(track.search_closest(0), (Some(0), Some(17)));
+        assert_eq!(track.search_closest(17), (Some(17), Some(90)));
+        assert_eq!(track.search_closest(50), (Some(17), Some(90)));
+        assert_eq!(track.search_closest(200), (Some(90), None));
+    }
+}
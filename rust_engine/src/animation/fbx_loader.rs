@@ -47,6 +47,7 @@ pub struct FbxCache {
     nodes: Vec<FbxNode>,
     stack_names: Vec<String>,
     arm_reference_dirs: HashMap<String, Vec3>,
+    byte_size: usize,
 }
 
 impl FbxCache {
@@ -59,14 +60,28 @@ impl FbxCache {
 
         let stack_names = extract_stack_names(&nodes);
         let arm_reference_dirs = extract_fbx_arm_reference_dirs(&nodes);
+        let byte_size = std::mem::size_of::<Self>()
+            + nodes.capacity() * std::mem::size_of::<FbxNode>()
+            + nodes.iter().map(FbxNode::heap_size).sum::<usize>()
+            + stack_names.iter().map(|name| name.capacity()).sum::<usize>()
+            + arm_reference_dirs
+                .keys()
+                .map(|name| name.capacity() + std::mem::size_of::<Vec3>())
+                .sum::<usize>();
 
         Ok(Self {
             nodes,
             stack_names,
             arm_reference_dirs,
+            byte_size,
         })
     }
 
+    /// 解析结果的估算常驻内存（字节），加载时计算一次
+    pub fn byte_size(&self) -> usize {
+        self.byte_size
+    }
+
     /// 获取所有 AnimationStack 名称
     pub fn stack_names(&self) -> &[String] {
         &self.stack_names
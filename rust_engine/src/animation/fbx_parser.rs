@@ -37,6 +37,20 @@ pub enum FbxProperty {
 }
 
 impl FbxProperty {
+    /// 属性自身之外的堆内存（字节）
+    pub fn heap_size(&self) -> usize {
+        match self {
+            FbxProperty::String(v) => v.capacity(),
+            FbxProperty::Binary(v) => v.capacity(),
+            FbxProperty::BoolArray(v) => v.capacity(),
+            FbxProperty::I32Array(v) => v.capacity() * 4,
+            FbxProperty::I64Array(v) => v.capacity() * 8,
+            FbxProperty::F32Array(v) => v.capacity() * 4,
+            FbxProperty::F64Array(v) => v.capacity() * 8,
+            _ => 0,
+        }
+    }
+
     pub fn as_i64(&self) -> Option<i64> {
         match self {
             FbxProperty::I64(v) => Some(*v),
@@ -95,6 +109,15 @@ impl FbxNode {
     pub fn find_children<'a>(&'a self, name: &'a str) -> impl Iterator<Item = &'a FbxNode> + 'a {
         self.children.iter().filter(move |c| c.name == name)
     }
+
+    /// 估算节点树占用的堆内存（字节），用于 FBX 缓存的字节预算
+    pub fn heap_size(&self) -> usize {
+        self.name.capacity()
+            + self.properties.capacity() * std::mem::size_of::<FbxProperty>()
+            + self.properties.iter().map(FbxProperty::heap_size).sum::<usize>()
+            + self.children.capacity() * std::mem::size_of::<FbxNode>()
+            + self.children.iter().map(FbxNode::heap_size).sum::<usize>()
+    }
 }
 
 /// 解析 FBX 二进制文件，返回顶层节点列表
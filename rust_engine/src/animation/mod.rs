@@ -1,6 +1,7 @@
 //! 动画系统
 
 mod animation_layer;
+mod baked_motion;
 mod bezier_curve;
 pub(crate) mod fbx_bone_mapping;
 pub mod fbx_loader;
@@ -17,6 +18,7 @@ pub use animation_layer::{
     AnimationLayer, AnimationLayerConfig, AnimationLayerManager, AnimationLayerState, BonePose,
     PoseSnapshot,
 };
+pub use baked_motion::{BakedBoneTrack, BakedMotion, MAX_BAKED_BONE_BYTES};
 pub use bezier_curve::{BezierCurve, BezierCurveCache, Curve};
 pub use interpolation::{BoneKeyframeInterpolation, KeyframeInterpolationPoint};
 pub use keyframe::{BoneKeyframe, CameraInterpolation, CameraKeyframe, MorphKeyframe};
@@ -42,6 +42,30 @@ impl Motion {
         }
     }
 
+    /// 估算关键帧数据占用的字节数（按条目大小计，不含 BTreeMap 节点开销）
+    pub fn memory_usage(&self) -> usize {
+        use std::mem::size_of;
+        fn entry<T>(name: &str, count: usize) -> usize {
+            name.len() + count * (size_of::<u32>() + size_of::<T>())
+        }
+        let bones: usize = self
+            .bone_tracks
+            .iter()
+            .map(|(name, t)| entry::<BoneKeyframe>(name, t.len()))
+            .sum();
+        let morphs: usize = self
+            .morph_tracks
+            .iter()
+            .map(|(name, t)| entry::<MorphKeyframe>(name, t.len()))
+            .sum();
+        let iks: usize = self
+            .ik_tracks
+            .iter()
+            .map(|(name, t)| entry::<IkKeyframe>(name, t.keyframes.len()))
+            .sum();
+        bones + morphs + iks + entry::<CameraKeyframe>("", self.camera_track.len())
+    }
+
     /// 获取动画持续时间（最大帧索引）
     pub fn duration(&self) -> u32 {
         let bone_max = self
@@ -107,6 +131,11 @@ impl Motion {
             .seek_precisely(frame_index, amount, &self.bezier_cache)
     }
 
+    /// 贝塞尔曲线缓存（供预烘焙按整数帧求值轨道）
+    pub(crate) fn bezier_cache(&self) -> &BezierCurveCache {
+        &self.bezier_cache
+    }
+
     /// 插入 IK 关键帧
     pub fn insert_ik_keyframe(&mut self, name: &str, keyframe: IkKeyframe) {
         self.ik_tracks
@@ -2,6 +2,7 @@
 
 use glam::{Mat3, Mat4, Quat, Vec3};
 use std::collections::BTreeMap;
+use std::ops::Bound;
 
 use super::bezier_curve::BezierCurveFactory;
 use super::interpolation::{
@@ -59,6 +60,18 @@ impl BoneFrameTransform {
     }
 }
 
+/// 按区间查询取 frame_index 处（含）之前与之后最近的关键帧，O(log n)
+fn closest_entries<T>(
+    keyframes: &BTreeMap<u32, T>,
+    frame_index: u32,
+) -> (Option<(&u32, &T)>, Option<(&u32, &T)>) {
+    let prev = keyframes.range(..=frame_index).next_back();
+    let next = keyframes
+        .range((Bound::Excluded(frame_index), Bound::Unbounded))
+        .next();
+    (prev, next)
+}
+
 /// 动画轨道 trait
 pub trait MotionTrack {
     type Frame;
@@ -121,19 +134,8 @@ impl BoneMotionTrack {
         &self,
         frame_index: u32,
     ) -> (Option<&BoneKeyframe>, Option<&BoneKeyframe>) {
-        let mut prev = None;
-        let mut next = None;
-
-        for (idx, kf) in &self.keyframes {
-            if *idx <= frame_index {
-                prev = Some(kf);
-            } else {
-                next = Some(kf);
-                break;
-            }
-        }
-
-        (prev, next)
+        let (prev, next) = closest_entries(&self.keyframes, frame_index);
+        (prev.map(|(_, kf)| kf), next.map(|(_, kf)| kf))
     }
 }
 
@@ -165,19 +167,8 @@ impl MotionTrack for BoneMotionTrack {
     }
 
     fn search_closest(&self, frame_index: u32) -> (Option<u32>, Option<u32>) {
-        let mut prev = None;
-        let mut next = None;
-
-        for idx in self.keyframes.keys() {
-            if *idx <= frame_index {
-                prev = Some(*idx);
-            } else {
-                next = Some(*idx);
-                break;
-            }
-        }
-
-        (prev, next)
+        let (prev, next) = closest_entries(&self.keyframes, frame_index);
+        (prev.map(|(idx, _)| *idx), next.map(|(idx, _)| *idx))
     }
 
     fn seek(&self, frame_index: u32, bezier_factory: &dyn BezierCurveFactory) -> Self::Frame {
@@ -358,19 +349,8 @@ impl MorphMotionTrack {
         &self,
         frame_index: u32,
     ) -> (Option<&MorphKeyframe>, Option<&MorphKeyframe>) {
-        let mut prev = None;
-        let mut next = None;
-
-        for (idx, kf) in &self.keyframes {
-            if *idx <= frame_index {
-                prev = Some(kf);
-            } else {
-                next = Some(kf);
-                break;
-            }
-        }
-
-        (prev, next)
+        let (prev, next) = closest_entries(&self.keyframes, frame_index);
+        (prev.map(|(_, kf)| kf), next.map(|(_, kf)| kf))
     }
 }
 
@@ -388,19 +368,8 @@ impl MotionTrack for MorphMotionTrack {
     }
 
     fn search_closest(&self, frame_index: u32) -> (Option<u32>, Option<u32>) {
-        let mut prev = None;
-        let mut next = None;
-
-        for idx in self.keyframes.keys() {
-            if *idx <= frame_index {
-                prev = Some(*idx);
-            } else {
-                next = Some(*idx);
-                break;
-            }
-        }
-
-        (prev, next)
+        let (prev, next) = closest_entries(&self.keyframes, frame_index);
+        (prev.map(|(idx, _)| *idx), next.map(|(idx, _)| *idx))
     }
 
     fn seek(&self, frame_index: u32, _bezier_factory: &dyn BezierCurveFactory) -> Self::Frame {
@@ -470,15 +439,10 @@ impl IkMotionTrack {
 
     /// 查找指定帧的 IK 启用状态
     pub fn is_enabled_at(&self, frame_index: u32) -> bool {
-        let mut enabled = true; // 默认启用
-        for (idx, kf) in &self.keyframes {
-            if *idx <= frame_index {
-                enabled = kf.enabled;
-            } else {
-                break;
-            }
-        }
-        enabled
+        self.keyframes
+            .range(..=frame_index)
+            .next_back()
+            .map_or(true, |(_, kf)| kf.enabled) // 默认启用
     }
 
     /// 获取最大帧索引
@@ -520,12 +484,12 @@ impl Default for CameraFrameTransform {
 /// 相机原始插值参数（compute_camera_transform 前的中间表示）
 /// 用于在原始参数层面做帧间插值，避免对 atan2/asin 结果插值导致的不连续跳变
 #[derive(Debug, Clone, Copy)]
-struct CameraRawFrame {
-    look_at: Vec3,
-    angle: Vec3,
-    distance: f32,
-    fov: f32,
-    is_perspective: bool,
+pub(crate) struct CameraRawFrame {
+    pub(crate) look_at: Vec3,
+    pub(crate) angle: Vec3,
+    pub(crate) distance: f32,
+    pub(crate) fov: f32,
+    pub(crate) is_perspective: bool,
 }
 
 impl Default for CameraRawFrame {
@@ -581,24 +545,13 @@ impl CameraMotionTrack {
         &self,
         frame_index: u32,
     ) -> (Option<&CameraKeyframe>, Option<&CameraKeyframe>) {
-        let mut prev = None;
-        let mut next = None;
-
-        for (idx, kf) in &self.keyframes {
-            if *idx <= frame_index {
-                prev = Some(kf);
-            } else {
-                next = Some(kf);
-                break;
-            }
-        }
-
-        (prev, next)
+        let (prev, next) = closest_entries(&self.keyframes, frame_index);
+        (prev.map(|(_, kf)| kf), next.map(|(_, kf)| kf))
     }
 
     /// 从 CameraKeyframe 计算相机世界位置与完整欧拉角（pitch/yaw/roll）
     /// 方向向量法提取 pitch/yaw 保证朝向 look_at，旋转矩阵法提取 roll 保留倾斜
-    fn compute_camera_transform(
+    pub(crate) fn compute_camera_transform(
         look_at: Vec3,
         angle: Vec3,
         distance: f32,
@@ -658,7 +611,7 @@ impl CameraMotionTrack {
     }
 
     /// 求值指定帧的原始参数（整数帧，不经过 compute_camera_transform）
-    fn seek_raw(
+    pub(crate) fn seek_raw(
         &self,
         frame_index: u32,
         bezier_factory: &dyn BezierCurveFactory,
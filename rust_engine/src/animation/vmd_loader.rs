@@ -3,6 +3,7 @@
 use std::fs::File;
 use std::io::{BufReader, Read, Seek};
 use std::path::Path;
+use std::sync::{Arc, RwLock};
 
 use byteorder::{LittleEndian, ReadBytesExt};
 use glam::{Quat, Vec3};
@@ -11,6 +12,7 @@ use crate::morph::MorphManager;
 use crate::skeleton::BoneManager;
 use crate::{MmdError, Result};
 
+use super::baked_motion::BakedMotion;
 use super::keyframe::{
     BoneKeyframe, CameraInterpolation, CameraKeyframe, IkKeyframe, MorphKeyframe,
 };
@@ -408,28 +410,68 @@ fn decode_shift_jis(bytes: &[u8]) -> String {
 }
 
 /// VMD 动画（运行时使用）
-#[derive(Debug, Clone)]
+#[derive(Debug)]
 pub struct VmdAnimation {
     /// Motion 数据
     motion: Motion,
+    /// 预烘焙采样缓存；动画以 Arc 共享给各动画层，烘焙后所有持有者同时生效
+    baked: RwLock<Option<Arc<BakedMotion>>>,
+}
+
+impl Clone for VmdAnimation {
+    /// 克隆出的动画通常随后会被修改（如合并），不沿用烘焙缓存
+    fn clone(&self) -> Self {
+        Self::from_motion(self.motion.clone())
+    }
 }
 
 impl VmdAnimation {
     /// 从 VmdFile 创建
     pub fn from_vmd_file(vmd: VmdFile) -> Self {
-        Self { motion: vmd.motion }
+        Self::from_motion(vmd.motion)
     }
 
     /// 从 Motion 数据直接创建（供 FBX 等外部格式使用）
     pub fn from_motion(motion: Motion) -> Self {
-        Self { motion }
+        Self {
+            motion,
+            baked: RwLock::new(None),
+        }
     }
 
-    /// 获取 Motion 可变引用（用于 FBX 重定向姿态校正等后处理）
+    /// 获取 Motion 可变引用（用于 FBX 重定向姿态校正等后处理），会丢弃烘焙缓存
     pub fn motion_mut(&mut self) -> &mut Motion {
+        *self.baked.get_mut().unwrap_or_else(|e| e.into_inner()) = None;
         &mut self.motion
     }
 
+    /// 按整数帧预烘焙相机轨道（include_bones 时连同骨骼轨道），返回采样数组占用的字节数
+    pub fn bake(&self, include_bones: bool) -> usize {
+        let baked = BakedMotion::bake(&self.motion, include_bones);
+        let bytes = baked.byte_size();
+        let mut slot = self.baked.write().unwrap_or_else(|e| e.into_inner());
+        *slot = if baked.has_camera() || baked.has_bones() {
+            Some(Arc::new(baked))
+        } else {
+            None
+        };
+        bytes
+    }
+
+    /// 释放烘焙缓存，回到逐帧求值关键帧
+    pub fn clear_baked(&self) {
+        *self.baked.write().unwrap_or_else(|e| e.into_inner()) = None;
+    }
+
+    /// 烘焙缓存占用的字节数，未烘焙时为 0
+    pub fn baked_bytes(&self) -> usize {
+        self.baked().map_or(0, |b| b.byte_size())
+    }
+
+    fn baked(&self) -> Option<Arc<BakedMotion>> {
+        self.baked.read().unwrap_or_else(|e| e.into_inner()).clone()
+    }
+
     /// 是否包含相机数据
     pub fn has_camera(&self) -> bool {
         self.motion.has_camera_data()
@@ -455,9 +497,20 @@ impl VmdAnimation {
         let frame = frame.max(0.0);
         let frame_index = frame.floor() as u32;
         let amount = frame.fract();
+        if let Some(transform) = self
+            .baked()
+            .and_then(|b| b.camera_transform(frame_index, amount))
+        {
+            return transform;
+        }
         self.motion.find_camera_transform(frame_index, amount)
     }
 
+    /// 估算动画常驻内存（关键帧数据加烘焙缓存）
+    pub fn memory_usage(&self) -> usize {
+        self.motion.memory_usage() + self.baked_bytes()
+    }
+
     /// 获取相机关键帧数量
     pub fn camera_keyframe_count(&self) -> u32 {
         self.motion.camera_keyframe_count()
@@ -528,26 +581,29 @@ impl VmdAnimation {
         let frame_index = frame.floor() as u32;
         let amount = frame.fract();
 
-        // 应用骨骼动画
-        for bone_name in self.motion.bone_track_names() {
-            if let Some(bone_idx) = bone_manager.find_bone_by_name(bone_name) {
-                let raw = self
-                    .motion
-                    .find_bone_transform(bone_name, frame_index, amount);
-                // VMD 数据经过左手→右手转换，VRM 需要额外做 Y 轴 180° 镜像
-                let translation = bone_manager.convert_vmd_translation(raw.translation);
-                let orientation = bone_manager.convert_vmd_rotation(raw.orientation);
-
-                if weight >= 1.0 {
-                    bone_manager.set_bone_translation(bone_idx, translation);
-                    bone_manager.set_bone_rotation(bone_idx, orientation);
-                } else if weight > 0.0 {
-                    if let Some(bone) = bone_manager.get_bone(bone_idx) {
-                        let blended_translation =
-                            bone.animation_translate.lerp(translation, weight);
-                        let blended_rotation = bone.animation_rotate.slerp(orientation, weight);
-                        bone_manager.set_bone_translation(bone_idx, blended_translation);
-                        bone_manager.set_bone_rotation(bone_idx, blended_rotation);
+        // 应用骨骼动画：已烘焙时直接按下标插值，否则逐骨骼求值关键帧
+        match self.baked().filter(|b| b.has_bones()) {
+            Some(baked) => {
+                for track in baked.bones() {
+                    if let Some(bone_idx) = bone_manager.find_bone_by_name(&track.name) {
+                        let (translation, orientation) = track.sample(frame_index, amount);
+                        Self::apply_bone(bone_manager, bone_idx, translation, orientation, weight);
+                    }
+                }
+            }
+            None => {
+                for bone_name in self.motion.bone_track_names() {
+                    if let Some(bone_idx) = bone_manager.find_bone_by_name(bone_name) {
+                        let raw = self
+                            .motion
+                            .find_bone_transform(bone_name, frame_index, amount);
+                        Self::apply_bone(
+                            bone_manager,
+                            bone_idx,
+                            raw.translation,
+                            raw.orientation,
+                            weight,
+                        );
                     }
                 }
             }
@@ -579,6 +635,31 @@ impl VmdAnimation {
         }
     }
 
+    /// 按权重把一根骨骼的 VMD 变换写入骨骼管理器
+    fn apply_bone(
+        bone_manager: &mut BoneManager,
+        bone_idx: usize,
+        translation: Vec3,
+        orientation: Quat,
+        weight: f32,
+    ) {
+        // VMD 数据经过左手→右手转换，VRM 需要额外做 Y 轴 180° 镜像
+        let translation = bone_manager.convert_vmd_translation(translation);
+        let orientation = bone_manager.convert_vmd_rotation(orientation);
+
+        if weight >= 1.0 {
+            bone_manager.set_bone_translation(bone_idx, translation);
+            bone_manager.set_bone_rotation(bone_idx, orientation);
+        } else if weight > 0.0 {
+            if let Some(bone) = bone_manager.get_bone(bone_idx) {
+                let blended_translation = bone.animation_translate.lerp(translation, weight);
+                let blended_rotation = bone.animation_rotate.slerp(orientation, weight);
+                bone_manager.set_bone_translation(bone_idx, blended_translation);
+                bone_manager.set_bone_rotation(bone_idx, blended_rotation);
+            }
+        }
+    }
+
     /// 检查是否包含骨骼轨道
     pub fn contains_bone_track(&self, name: &str) -> bool {
         self.motion.contains_bone_track(name)
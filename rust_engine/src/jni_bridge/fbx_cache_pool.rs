@@ -0,0 +1,381 @@
+//! FBX 解析缓存池 - 按字节预算 LRU 淘汰，并提供后台预加载队列
+//!
+//! 同一路径同时只解析一次：其他线程（包括预加载线程）会等待在途解析完成后直接复用结果。
+//! 文件修改时间变化的条目视为过期并重新解析。
+
+use std::collections::{HashMap, HashSet};
+use std::path::Path;
+use std::sync::mpsc::{self, Sender};
+use std::sync::{Arc, Condvar, Mutex, MutexGuard};
+use std::thread;
+use std::time::SystemTime;
+
+use crate::Result;
+
+/// 默认字节预算（512 MB）
+pub const DEFAULT_FBX_CACHE_BUDGET: usize = 512 * 1024 * 1024;
+
+/// 解析函数：返回解析结果及其估算字节数
+type Loader<T> = Box<dyn Fn(&str) -> Result<(T, usize)> + Send + Sync>;
+
+struct Entry<T> {
+    value: Arc<T>,
+    bytes: usize,
+    modified: Option<SystemTime>,
+    last_used: u64,
+}
+
+struct State<T> {
+    entries: HashMap<String, Entry<T>>,
+    /// 正在解析的路径
+    pending: HashSet<String>,
+    total_bytes: usize,
+    budget: usize,
+    tick: u64,
+}
+
+/// 缓存统计：条目数、常驻字节、预算
+#[derive(Debug, Clone, Copy, PartialEq, Eq)]
+pub struct FbxCacheStats {
+    pub entries: usize,
+    pub bytes: usize,
+    pub budget: usize,
+}
+
+pub struct FbxCachePool<T> {
+    state: Mutex<State<T>>,
+    loaded: Condvar,
+    loader: Loader<T>,
+    worker: Mutex<Option<Sender<String>>>,
+}
+
+impl<T: Send + Sync + 'static> FbxCachePool<T> {
+    pub fn new<F>(budget: usize, loader: F) -> Self
+    where
+        F: Fn(&str) -> Result<(T, usize)> + Send + Sync + 'static,
+    {
+        Self {
+            state: Mutex::new(State {
+                entries: HashMap::new(),
+                pending: HashSet::new(),
+                total_bytes: 0,
+                budget,
+                tick: 0,
+            }),
+            loaded: Condvar::new(),
+            loader: Box::new(loader),
+            worker: Mutex::new(None),
+        }
+    }
+
+    /// 取得缓存结果，未命中或已过期时在当前线程解析
+    pub fn get_or_load(&self, path: &str) -> Result<Arc<T>> {
+        let modified = file_modified(path);
+        let mut state = self.lock();
+        loop {
+            if let Some(value) = Self::lookup(&mut state, path, modified, true) {
+                return Ok(value);
+            }
+            if !state.pending.contains(path) {
+                break;
+            }
+            state = self.loaded.wait(state).unwrap_or_else(|e| e.into_inner());
+        }
+        state.pending.insert(path.to_string());
+        drop(state);
+
+        // 解析失败或 panic 时也要移除在途标记并唤醒等待者
+        let guard = PendingGuard { pool: self, path };
+        let (value, bytes) = (self.loader)(path)?;
+        let value = Arc::new(value);
+
+        let mut state = self.lock();
+        if let Some(stale) = state.entries.remove(path) {
+            state.total_bytes -= stale.bytes;
+        }
+        state.tick += 1;
+        let tick = state.tick;
+        state.entries.insert(
+            path.to_string(),
+            Entry {
+                value: value.clone(),
+                bytes,
+                modified,
+                last_used: tick,
+            },
+        );
+        state.total_bytes += bytes;
+        Self::evict(&mut state, Some(path));
+        drop(state);
+        drop(guard);
+        Ok(value)
+    }
+
+    /// 只查缓存，不解析也不刷新最近使用时间
+    pub fn peek(&self, path: &str) -> Option<Arc<T>> {
+        let modified = file_modified(path);
+        Self::lookup(&mut self.lock(), path, modified, false)
+    }
+
+    /// 是否已缓存（且未过期）或正在解析
+    pub fn is_warm(&self, path: &str) -> bool {
+        let modified = file_modified(path);
+        let mut state = self.lock();
+        state.pending.contains(path) || Self::lookup(&mut state, path, modified, false).is_some()
+    }
+
+    /// 调整字节预算，超出部分立即按 LRU 淘汰
+    pub fn set_budget(&self, budget: usize) {
+        let mut state = self.lock();
+        state.budget = budget;
+        Self::evict(&mut state, None);
+    }
+
+    pub fn clear(&self) {
+        let mut state = self.lock();
+        state.entries.clear();
+        state.total_bytes = 0;
+    }
+
+    pub fn stats(&self) -> FbxCacheStats {
+        let state = self.lock();
+        FbxCacheStats {
+            entries: state.entries.len(),
+            bytes: state.total_bytes,
+            budget: state.budget,
+        }
+    }
+
+    fn lock(&self) -> MutexGuard<'_, State<T>> {
+        self.state.lock().unwrap_or_else(|e| e.into_inner())
+    }
+
+    fn lookup(
+        state: &mut State<T>,
+        path: &str,
+        modified: Option<SystemTime>,
+        touch: bool,
+    ) -> Option<Arc<T>> {
+        let fresh = state.entries.get(path)?.modified == modified;
+        if !fresh {
+            let stale = state.entries.remove(path)?;
+            state.total_bytes -= stale.bytes;
+            return None;
+        }
+        if touch {
+            state.tick += 1;
+        }
+        let tick = state.tick;
+        let entry = state.entries.get_mut(path)?;
+        if touch {
+            entry.last_used = tick;
+        }
+        Some(entry.value.clone())
+    }
+
+    /// 淘汰最久未使用的条目直到不超预算；keep 指定的条目（刚插入的）不淘汰，
+    /// 因此单个超出预算的文件仍会保留到下一次插入
+    fn evict(state: &mut State<T>, keep: Option<&str>) {
+        while state.total_bytes > state.budget {
+            let victim = state
+                .entries
+                .iter()
+                .filter(|(path, _)| Some(path.as_str()) != keep)
+                .min_by_key(|(_, entry)| entry.last_used)
+                .map(|(path, _)| path.clone());
+            let Some(victim) = victim else {
+                break;
+            };
+            if let Some(entry) = state.entries.remove(&victim) {
+                state.total_bytes -= entry.bytes;
+                log::debug!("FBX 缓存淘汰: {} ({} KB)", victim, entry.bytes / 1024);
+            }
+        }
+    }
+}
+
+impl<T: Send + Sync + 'static> FbxCachePool<T> {
+    /// 提交后台预加载，已缓存或正在解析时直接返回 true；后台线程无法启动时返回 false
+    pub fn preload_async(&'static self, path: &str) -> bool {
+        if self.is_warm(path) {
+            return true;
+        }
+        let mut worker = self.worker.lock().unwrap_or_else(|e| e.into_inner());
+        if worker.is_none() {
+            *worker = self.spawn_worker();
+        }
+        match worker.as_ref() {
+            Some(sender) => {
+                if sender.send(path.to_string()).is_ok() {
+                    return true;
+                }
+                *worker = None;
+                false
+            }
+            None => false,
+        }
+    }
+
+    fn spawn_worker(&'static self) -> Option<Sender<String>> {
+        let (sender, receiver) = mpsc::channel::<String>();
+        let spawned = thread::Builder::new()
+            .name("MMD-FbxPreload".into())
+            .spawn(move || {
+                for path in receiver {
+                    if let Err(e) = self.get_or_load(&path) {
+                        log::error!("FBX 后台预加载失败 {}: {}", path, e);
+                    }
+                }
+            });
+        match spawned {
+            Ok(_) => Some(sender),
+            Err(e) => {
+                log::error!("FBX 预加载线程启动失败: {}", e);
+                None
+            }
+        }
+    }
+}
+
+struct PendingGuard<'a, T: Send + Sync + 'static> {
+    pool: &'a FbxCachePool<T>,
+    path: &'a str,
+}
+
+impl<T: Send + Sync + 'static> Drop for PendingGuard<'_, T> {
+    fn drop(&mut self) {
+        self.pool.lock().pending.remove(self.path);
+        self.pool.loaded.notify_all();
+    }
+}
+
+fn file_modified(path: &str) -> Option<SystemTime> {
+    std::fs::metadata(Path::new(path))
+        .and_then(|meta| meta.modified())
+        .ok()
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+    use crate::MmdError;
+    use std::sync::atomic::{AtomicUsize, Ordering};
+    use std::time::Duration;
+
+    fn counting_pool(budget: usize, loads: Arc<AtomicUsize>) -> FbxCachePool<String> {
+        FbxCachePool::new(budget, move |path: &str| {
+            loads.fetch_add(1, Ordering::SeqCst);
+            if path.starts_with("bad") {
+                return Err(MmdError::FbxParse("bad".into()));
+            }
+            // 路径形如 "name:bytes"
+            let bytes = path.rsplit(':').next().unwrap().parse().unwrap();
+            Ok((path.to_string(), bytes))
+        })
+    }
+
+    #[test]
+    fn repeated_gets_should_parse_once() {
+        let loads = Arc::new(AtomicUsize::new(0));
+        let pool = counting_pool(1000, loads.clone());
+        let first = pool.get_or_load("a:100").unwrap();
+        let second = pool.get_or_load("a:100").unwrap();
+        assert!(Arc::ptr_eq(&first, &second));
+        assert_eq!(loads.load(Ordering::SeqCst), 1);
+        assert_eq!(
+            pool.stats(),
+            FbxCacheStats {
+                entries: 1,
+                bytes: 100,
+                budget: 1000
+            }
+        );
+    }
+
+    #[test]
+    fn least_recently_used_should_be_evicted_first() {
+        let loads = Arc::new(AtomicUsize::new(0));
+        let pool = counting_pool(250, loads.clone());
+        pool.get_or_load("a:100").unwrap();
+        pool.get_or_load("b:100").unwrap();
+        pool.get_or_load("a:100").unwrap();
+        pool.get_or_load("c:100").unwrap();
+
+        assert!(pool.peek("a:100").is_some());
+        assert!(pool.peek("b:100").is_none());
+        assert!(pool.peek("c:100").is_some());
+        assert_eq!(pool.stats().bytes, 200);
+    }
+
+    #[test]
+    fn oversized_entry_should_stay_until_next_insert() {
+        let loads = Arc::new(AtomicUsize::new(0));
+        let pool = counting_pool(100, loads.clone());
+        pool.get_or_load("a:50").unwrap();
+        pool.get_or_load("big:500").unwrap();
+        assert!(pool.peek("a:50").is_none());
+        assert!(pool.peek("big:500").is_some());
+
+        pool.get_or_load("c:50").unwrap();
+        assert!(pool.peek("big:500").is_none());
+        assert_eq!(pool.stats().bytes, 50);
+    }
+
+    #[test]
+    fn shrinking_budget_should_evict_immediately() {
+        let loads = Arc::new(AtomicUsize::new(0));
+        let pool = counting_pool(1000, loads.clone());
+        pool.get_or_load("a:300").unwrap();
+        pool.get_or_load("b:300").unwrap();
+        pool.set_budget(400);
+        assert_eq!(pool.stats().entries, 1);
+        assert!(pool.peek("b:300").is_some());
+    }
+
+    #[test]
+    fn failed_load_should_not_block_later_attempts() {
+        let loads = Arc::new(AtomicUsize::new(0));
+        let pool = counting_pool(1000, loads.clone());
+        assert!(pool.get_or_load("bad:1").is_err());
+        assert!(pool.get_or_load("bad:1").is_err());
+        assert_eq!(loads.load(Ordering::SeqCst), 2);
+        assert!(!pool.is_warm("bad:1"));
+    }
+
+    #[test]
+    fn concurrent_gets_should_share_one_parse() {
+        let loads = Arc::new(AtomicUsize::new(0));
+        let counter = loads.clone();
+        let pool = Arc::new(FbxCachePool::new(1000, move |path: &str| {
+            counter.fetch_add(1, Ordering::SeqCst);
+            thread::sleep(Duration::from_millis(50));
+            Ok((path.to_string(), 10))
+        }));
+        let threads: Vec<_> = (0..4)
+            .map(|_| {
+                let pool = pool.clone();
+                thread::spawn(move || pool.get_or_load("shared").unwrap())
+            })
+            .collect();
+        for handle in threads {
+            handle.join().unwrap();
+        }
+        assert_eq!(loads.load(Ordering::SeqCst), 1);
+    }
+
+    #[test]
+    fn preload_should_warm_in_background() {
+        let loads = Arc::new(AtomicUsize::new(0));
+        let pool: &'static FbxCachePool<String> =
+            Box::leak(Box::new(counting_pool(1000, loads.clone())));
+        assert!(pool.preload_async("warm:10"));
+
+        let deadline = std::time::Instant::now() + Duration::from_secs(5);
+        while pool.peek("warm:10").is_none() && std::time::Instant::now() < deadline {
+            thread::sleep(Duration::from_millis(5));
+        }
+        assert!(pool.peek("warm:10").is_some());
+        pool.get_or_load("warm:10").unwrap();
+        assert_eq!(loads.load(Ordering::SeqCst), 1);
+    }
+}
@@ -0,0 +1,311 @@
+//! 无锁句柄注册表
+//!
+//! 槽位数组 + 代数（generation）校验：句柄 = (generation << 32) | (slot + 1)。
+//! 读取路径只有几次原子操作，不获取任何锁，也不做哈希查找；
+//! 注册/删除在内部互斥锁下串行执行（频率远低于每帧的 JNI 查询）。
+//!
+//! 删除时先推进代数并清空槽位，再等待仍在克隆 Arc 的读者退出后才交出引用，
+//! 因此读者拿到的 Arc 始终有效；旧句柄在槽位复用后因代数不匹配被拒绝。
+
+use std::hint::spin_loop;
+use std::marker::PhantomData;
+use std::ptr;
+use std::sync::atomic::{AtomicPtr, AtomicU32, Ordering};
+use std::sync::{Arc, Mutex};
+
+/// 每段槽位数量（段一经分配不再移动，读者可安全持有槽位引用）
+const SEGMENT_SIZE: usize = 256;
+/// 最大段数（总容量 65536 个同时存活的句柄）
+const MAX_SEGMENTS: usize = 256;
+/// 代数上限，保证句柄在 Java 侧始终为正数
+const MAX_GENERATION: u32 = 0x7FFF_FFFF;
+
+struct Slot<T> {
+    generation: AtomicU32,
+    readers: AtomicU32,
+    value: AtomicPtr<T>,
+}
+
+impl<T> Slot<T> {
+    fn new() -> Self {
+        Self {
+            generation: AtomicU32::new(1),
+            readers: AtomicU32::new(0),
+            value: AtomicPtr::new(ptr::null_mut()),
+        }
+    }
+}
+
+struct Segment<T> {
+    slots: Box<[Slot<T>]>,
+}
+
+struct SlotAllocator {
+    next_slot: usize,
+    free_slots: Vec<usize>,
+    live_count: usize,
+}
+
+/// 基于槽位数组的句柄注册表
+pub struct HandleRegistry<T> {
+    segments: Box<[AtomicPtr<Segment<T>>]>,
+    allocator: Mutex<SlotAllocator>,
+    _marker: PhantomData<Arc<T>>,
+}
+
+impl<T> HandleRegistry<T> {
+    pub fn new() -> Self {
+        let segments = (0..MAX_SEGMENTS)
+            .map(|_| AtomicPtr::new(ptr::null_mut()))
+            .collect::<Vec<_>>()
+            .into_boxed_slice();
+        Self {
+            segments,
+            allocator: Mutex::new(SlotAllocator {
+                next_slot: 0,
+                free_slots: Vec::new(),
+                live_count: 0,
+            }),
+            _marker: PhantomData,
+        }
+    }
+
+    /// 注册对象并返回句柄；容量耗尽时返回 0（与加载失败一致）
+    pub fn insert(&self, value: T) -> i64 {
+        let mut allocator = self.allocator.lock().unwrap_or_else(|e| e.into_inner());
+        let index = match allocator.free_slots.pop() {
+            Some(index) => index,
+            None => {
+                let index = allocator.next_slot;
+                if !self.ensure_segment(index) {
+                    log::error!("句柄注册表已满（{} 个槽位）", SEGMENT_SIZE * MAX_SEGMENTS);
+                    return 0;
+                }
+                allocator.next_slot += 1;
+                index
+            }
+        };
+
+        let slot = match self.slot(index) {
+            Some(slot) => slot,
+            None => return 0,
+        };
+        let raw = Arc::into_raw(Arc::new(value)) as *mut T;
+        slot.value.store(raw, Ordering::Release);
+        allocator.live_count += 1;
+        encode_handle(index, slot.generation.load(Ordering::Acquire))
+    }
+
+    /// 按句柄获取对象（无锁）；句柄无效、已删除或代数不匹配时返回 None
+    pub fn get(&self, handle: i64) -> Option<Arc<T>> {
+        let (index, generation) = decode_handle(handle)?;
+        let slot = self.slot(index)?;
+        if slot.generation.load(Ordering::Acquire) != generation {
+            return None;
+        }
+
+        slot.readers.fetch_add(1, Ordering::SeqCst);
+        let raw = slot.value.load(Ordering::SeqCst);
+        let result = if !raw.is_null() && slot.generation.load(Ordering::SeqCst) == generation {
+            // SAFETY: readers 计数期间删除方会等待，raw 指向的 Arc 仍持有强引用
+            unsafe {
+                Arc::increment_strong_count(raw as *const T);
+                Some(Arc::from_raw(raw as *const T))
+            }
+        } else {
+            None
+        };
+        slot.readers.fetch_sub(1, Ordering::SeqCst);
+        result
+    }
+
+    /// 删除句柄并交出注册表持有的引用；由调用方决定在何处析构
+    pub fn remove(&self, handle: i64) -> Option<Arc<T>> {
+        let (index, generation) = decode_handle(handle)?;
+        let slot = self.slot(index)?;
+
+        let raw = {
+            let mut allocator = self.allocator.lock().unwrap_or_else(|e| e.into_inner());
+            if slot.generation.load(Ordering::Acquire) != generation {
+                return None;
+            }
+            slot.generation.store(next_generation(generation), Ordering::SeqCst);
+            let raw = slot.value.swap(ptr::null_mut(), Ordering::SeqCst);
+            while slot.readers.load(Ordering::SeqCst) != 0 {
+                spin_loop();
+            }
+            allocator.free_slots.push(index);
+            if !raw.is_null() {
+                allocator.live_count -= 1;
+            }
+            raw
+        };
+
+        if raw.is_null() {
+            None
+        } else {
+            // SAFETY: raw 来自 insert 中的 Arc::into_raw，且已从槽位摘除，只会被还原一次
+            Some(unsafe { Arc::from_raw(raw as *const T) })
+        }
+    }
+
+    /// 当前存活的句柄数量
+    pub fn len(&self) -> usize {
+        self.allocator
+            .lock()
+            .unwrap_or_else(|e| e.into_inner())
+            .live_count
+    }
+
+    pub fn is_empty(&self) -> bool {
+        self.len() == 0
+    }
+
+    fn slot(&self, index: usize) -> Option<&Slot<T>> {
+        let segment = self.segments.get(index / SEGMENT_SIZE)?;
+        let segment = segment.load(Ordering::Acquire);
+        if segment.is_null() {
+            return None;
+        }
+        // SAFETY: 段只在注册表析构时释放，发布后内容不再移动
+        unsafe { (*segment).slots.get(index % SEGMENT_SIZE) }
+    }
+
+    /// 确保 index 所在段已分配（仅在 allocator 锁内调用）
+    fn ensure_segment(&self, index: usize) -> bool {
+        let segment = match self.segments.get(index / SEGMENT_SIZE) {
+            Some(segment) => segment,
+            None => return false,
+        };
+        if segment.load(Ordering::Acquire).is_null() {
+            let slots = (0..SEGMENT_SIZE)
+                .map(|_| Slot::new())
+                .collect::<Vec<_>>()
+                .into_boxed_slice();
+            let raw = Box::into_raw(Box::new(Segment { slots }));
+            segment.store(raw, Ordering::Release);
+        }
+        true
+    }
+}
+
+impl<T> Default for HandleRegistry<T> {
+    fn default() -> Self {
+        Self::new()
+    }
+}
+
+impl<T> Drop for HandleRegistry<T> {
+    fn drop(&mut self) {
+        for segment in self.segments.iter() {
+            let raw_segment = segment.swap(ptr::null_mut(), Ordering::AcqRel);
+            if raw_segment.is_null() {
+                continue;
+            }
+            // SAFETY: &mut self 保证没有并发读者，段与值都只在此处释放一次
+            let segment = unsafe { Box::from_raw(raw_segment) };
+            for slot in segment.slots.iter() {
+                let raw = slot.value.swap(ptr::null_mut(), Ordering::AcqRel);
+                if !raw.is_null() {
+                    drop(unsafe { Arc::from_raw(raw as *const T) });
+                }
+            }
+        }
+    }
+}
+
+fn encode_handle(index: usize, generation: u32) -> i64 {
+    ((generation as i64) << 32) | (index as i64 + 1)
+}
+
+fn decode_handle(handle: i64) -> Option<(usize, u32)> {
+    if handle <= 0 {
+        return None;
+    }
+    let index = (handle & 0xFFFF_FFFF) as usize;
+    if index == 0 {
+        return None;
+    }
+    Some((index - 1, (handle >> 32) as u32))
+}
+
+fn next_generation(generation: u32) -> u32 {
+    if generation >= MAX_GENERATION {
+        1
+    } else {
+        generation + 1
+    }
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+    use std::thread;
+
+    #[test]
+    fn insert_get_remove_should_roundtrip() {
+        let registry = HandleRegistry::new();
+        let handle = registry.insert(42u32);
+        assert!(handle > 0);
+        assert_eq!(registry.get(handle).map(|v| *v), Some(42));
+        assert_eq!(registry.len(), 1);
+
+        assert_eq!(registry.remove(handle).map(|v| *v), Some(42));
+        assert!(registry.get(handle).is_none());
+        assert!(registry.remove(handle).is_none());
+        assert!(registry.is_empty());
+    }
+
+    #[test]
+    fn stale_handle_should_be_rejected_after_slot_reuse() {
+        let registry = HandleRegistry::new();
+        let first = registry.insert(1u32);
+        registry.remove(first);
+        let second = registry.insert(2u32);
+
+        assert_eq!(first & 0xFFFF_FFFF, second & 0xFFFF_FFFF);
+        assert_ne!(first, second);
+        assert!(registry.get(first).is_none());
+        assert!(registry.remove(first).is_none());
+        assert_eq!(registry.get(second).map(|v| *v), Some(2));
+    }
+
+    #[test]
+    fn invalid_handles_should_return_none() {
+        let registry: HandleRegistry<u32> = HandleRegistry::new();
+        assert!(registry.get(0).is_none());
+        assert!(registry.get(-1).is_none());
+        assert!(registry.get(1 << 32).is_none());
+        assert!(registry.get(encode_handle(SEGMENT_SIZE * 3, 1)).is_none());
+    }
+
+    #[test]
+    fn readers_should_keep_value_alive_across_concurrent_remove() {
+        let registry = Arc::new(HandleRegistry::new());
+        let handles: Vec<i64> = (0..64).map(|i| registry.insert(vec![i; 16])).collect();
+
+        let readers: Vec<_> = (0..4)
+            .map(|_| {
+                let registry = Arc::clone(&registry);
+                let handles = handles.clone();
+                thread::spawn(move || {
+                    for _ in 0..2000 {
+                        for &handle in &handles {
+                            if let Some(value) = registry.get(handle) {
+                                assert_eq!(value.len(), 16);
+                            }
+                        }
+                    }
+                })
+            })
+            .collect();
+
+        for &handle in &handles {
+            registry.remove(handle);
+        }
+        for reader in readers {
+            reader.join().unwrap();
+        }
+        assert!(registry.is_empty());
+    }
+}
@@ -1,10 +1,14 @@
 //! JNI 绑定层 - 与 Java 代码交互
 
 mod animation_handle;
+mod fbx_cache_pool;
+mod handle_registry;
 mod model_handle;
 mod native_func;
 
 pub use animation_handle::AnimationHandle;
+pub use fbx_cache_pool::{FbxCachePool, FbxCacheStats, DEFAULT_FBX_CACHE_BUDGET};
+pub use handle_registry::HandleRegistry;
 pub use model_handle::ModelHandle;
 pub use native_func::*;
 
@@ -17,13 +21,17 @@ use crate::animation::VmdAnimation;
 use crate::model::MmdModel;
 use crate::texture::Texture;
 
-/// FBX 文件解析缓存（避免重复解析大文件）
-pub static FBX_CACHE: Lazy<RwLock<HashMap<String, Arc<FbxCache>>>> =
-    Lazy::new(|| RwLock::new(HashMap::new()));
+/// FBX 文件解析缓存（避免重复解析大文件），按字节预算 LRU 淘汰
+pub static FBX_CACHE: Lazy<FbxCachePool<FbxCache>> = Lazy::new(|| {
+    FbxCachePool::new(DEFAULT_FBX_CACHE_BUDGET, |path: &str| {
+        let cache = FbxCache::load(path)?;
+        let bytes = cache.byte_size();
+        Ok((cache, bytes))
+    })
+});
 
-/// 全局模型存储
-pub static MODELS: Lazy<RwLock<HashMap<i64, Arc<Mutex<MmdModel>>>>> =
-    Lazy::new(|| RwLock::new(HashMap::new()));
+/// 全局模型存储（无锁槽位注册表，JNI 每帧高频查询）
+pub static MODELS: Lazy<HandleRegistry<Mutex<MmdModel>>> = Lazy::new(HandleRegistry::new);
 
 /// 全局动画存储
 pub static ANIMATIONS: Lazy<RwLock<HashMap<i64, Arc<VmdAnimation>>>> =
@@ -42,10 +50,7 @@ fn next_handle_id() -> i64 {
 
 /// 注册模型并返回句柄
 pub fn register_model(model: MmdModel) -> i64 {
-    let id = next_handle_id();
-    let mut models = MODELS.write().unwrap();
-    models.insert(id, Arc::new(Mutex::new(model)));
-    id
+    MODELS.insert(Mutex::new(model))
 }
 
 /// 注册动画并返回句柄
@@ -8,7 +8,7 @@ use std::sync::Arc;
 
 use crate::animation::fbx_loader;
 use crate::animation::{VmdAnimation, VmdFile};
-use crate::model::{load_pmx, load_vrm};
+use crate::model::{load_pmx_cached, load_vrm_cached, tick_models_parallel};
 use crate::texture::load_texture;
 
 use super::{
@@ -90,7 +90,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_CopyDataToByteBuffer(
 // 模型相关函数
 // ============================================================================
 
-/// 加载 PMX 模型
+/// 加载 PMX 模型（优先使用同目录下的 .mmdcache 预处理缓存）
 #[no_mangle]
 pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_LoadModelPMX(
     mut env: JNIEnv,
@@ -104,7 +104,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_LoadModelPMX(
         Err(_) => return 0,
     };
 
-    match load_pmx(&filename_str) {
+    match load_pmx_cached(&filename_str) {
         Ok(mut model) => {
             // 自动初始化物理系统
             if !model.rigid_bodies.is_empty() {
@@ -144,8 +144,9 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_DeleteModel(
     _class: JClass,
     model: jlong,
 ) {
-    let mut models = MODELS.write().unwrap_or_else(|e| e.into_inner());
-    models.remove(&model);
+    // 在注册表锁外释放模型，避免大模型析构阻塞其他句柄的注册/删除
+    let removed = MODELS.remove(model);
+    drop(removed);
 }
 
 /// 更新模型
@@ -155,13 +156,74 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_UpdateModel(
     _class: JClass,
     model: jlong,
     delta_time: jfloat,
-) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+) -> jboolean {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
-        // 更新动画（内部已包含物理更新）
-        model.tick_animation(delta_time);
+        // 更新动画（内部已包含物理更新），返回姿势是否变化
+        return model.tick_animation(delta_time) as jboolean;
     }
+    0
+}
+
+/// 批量更新模型（帧级更新阶段）
+///
+/// 先通过无锁注册表收集模型引用，再交给 rayon 并行推进，
+/// 并行更新期间不会阻塞模型加载/删除。不存在或已失效的句柄直接跳过（姿势视为未变化）。
+/// physics_costs 为 Java 侧渲染时已读取的物理步进耗时，用于安排提交顺序，无需再逐个加锁读取。
+/// 各模型姿势是否变化写回 pose_changed。
+#[no_mangle]
+pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_UpdateModelsBatch(
+    env: JNIEnv,
+    _class: JClass,
+    models: jni::objects::JLongArray,
+    delta_times: jni::objects::JFloatArray,
+    cpu_skinning: jni::objects::JBooleanArray,
+    physics_costs: jni::objects::JFloatArray,
+    pose_changed: jni::objects::JBooleanArray,
+    count: jint,
+) {
+    if count <= 0 {
+        return;
+    }
+    let count = count as usize;
+    let mut handles = vec![0 as jlong; count];
+    let mut deltas = vec![0.0f32; count];
+    let mut skinning_flags = vec![0 as jboolean; count];
+    let mut costs = vec![0.0f32; count];
+    if env.get_long_array_region(&models, 0, &mut handles).is_err()
+        || env
+            .get_float_array_region(&delta_times, 0, &mut deltas)
+            .is_err()
+        || env
+            .get_boolean_array_region(&cpu_skinning, 0, &mut skinning_flags)
+            .is_err()
+        || env
+            .get_float_array_region(&physics_costs, 0, &mut costs)
+            .is_err()
+    {
+        return;
+    }
+
+    let mut slots = Vec::with_capacity(count);
+    let jobs: Vec<_> = handles
+        .iter()
+        .zip(deltas.iter())
+        .zip(skinning_flags.iter())
+        .zip(costs.iter())
+        .enumerate()
+        .filter_map(|(slot, (((handle, delta), skinning), cost))| {
+            let model = MODELS.get(*handle)?;
+            slots.push(slot);
+            Some((model, *delta, *skinning != 0, *cost))
+        })
+        .collect();
+    let changed = tick_models_parallel(&jobs);
+
+    let mut changed_flags = vec![0 as jboolean; count];
+    for (slot, pose_changed) in slots.into_iter().zip(changed) {
+        changed_flags[slot] = pose_changed as jboolean;
+    }
+    let _ = env.set_boolean_array_region(&pose_changed, 0, &changed_flags);
 }
 
 // ============================================================================
@@ -175,9 +237,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetVertexCount(
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .map(|m| m.lock().unwrap().vertex_count() as jlong)
         .unwrap_or(0)
 }
@@ -191,9 +252,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetPoss(
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .map(|m| {
             let mg = m.lock().unwrap();
             if mg.update_positions_raw.is_empty() {
@@ -212,9 +272,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetNormals(
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .map(|m| {
             let mg = m.lock().unwrap();
             if mg.update_normals_raw.is_empty() {
@@ -233,9 +292,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetUVs(
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .map(|m| {
             let mg = m.lock().unwrap();
             if mg.update_uvs_raw.is_empty() {
@@ -268,9 +326,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetIndexCount(
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .map(|m| m.lock().unwrap().index_count() as jlong)
         .unwrap_or(0)
 }
@@ -282,9 +339,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetIndices(
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .map(|m| m.lock().unwrap().get_indices_ptr() as jlong)
         .unwrap_or(0)
 }
@@ -300,9 +356,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetMaterialCount(
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .map(|m| m.lock().unwrap().material_count() as jlong)
         .unwrap_or(0)
 }
@@ -315,8 +370,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetMaterialTex(
     model: jlong,
     pos: jlong,
 ) -> jstring {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let idx = pos as usize;
         if idx < model.materials.len() {
@@ -341,8 +395,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetMaterialSpTex(
     model: jlong,
     pos: jlong,
 ) -> jstring {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let idx = pos as usize;
         if idx < model.materials.len() {
@@ -367,8 +420,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetMaterialToonTex(
     model: jlong,
     pos: jlong,
 ) -> jstring {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let idx = pos as usize;
         if idx < model.materials.len() {
@@ -400,8 +452,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetMaterialAmbient(
     model: jlong,
     pos: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let idx = pos as usize;
         if idx < model.materials.len() {
@@ -430,8 +481,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetMaterialDiffuse(
     model: jlong,
     pos: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let idx = pos as usize;
         if idx < model.materials.len() {
@@ -460,8 +510,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetMaterialSpecular(
     model: jlong,
     pos: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let idx = pos as usize;
         if idx < model.materials.len() {
@@ -490,9 +539,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetMaterialSpecularPo
     model: jlong,
     pos: jlong,
 ) -> jfloat {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .and_then(|m| {
             let model = m.lock().unwrap();
             model
@@ -511,9 +559,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetMaterialAlpha(
     model: jlong,
     pos: jlong,
 ) -> jfloat {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .and_then(|m| {
             let model = m.lock().unwrap();
             model.materials.get(pos as usize).map(|mat| mat.diffuse.w)
@@ -613,9 +660,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetMaterialBothFace(
     model: jlong,
     pos: jlong,
 ) -> jboolean {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .and_then(|m| {
             let model = m.lock().unwrap();
             model
@@ -638,9 +684,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetSubMeshCount(
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .map(|m| m.lock().unwrap().submesh_count() as jlong)
         .unwrap_or(0)
 }
@@ -653,8 +698,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetSubMeshMaterialID(
     model: jlong,
     pos: jlong,
 ) -> jint {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let idx = pos as usize;
         if idx < model.submeshes.len() {
@@ -672,8 +716,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetSubMeshBeginIndex(
     model: jlong,
     pos: jlong,
 ) -> jint {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let idx = pos as usize;
         if idx < model.submeshes.len() {
@@ -691,8 +734,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetSubMeshVertexCount
     model: jlong,
     pos: jlong,
 ) -> jint {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let idx = pos as usize;
         if idx < model.submeshes.len() {
@@ -721,8 +763,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_ChangeModelAnim(
         let animations = ANIMATIONS.read().unwrap();
         animations.get(&anim).cloned()
     };
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         let layer_id = layer as usize;
         model.set_layer_animation(layer_id, anim_opt);
@@ -737,8 +778,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_ResetModelPhysics(
     _class: JClass,
     model: jlong,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.reset_physics();
     }
@@ -774,8 +814,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_LoadAnimation(
 
     // FBX 手臂校正需要模型骨骼位置，先提取后释放 MODELS 锁
     let arm_positions = if is_fbx {
-        let models = MODELS.read().unwrap();
-        if let Some(model_arc) = models.get(&model_handle) {
+        if let Some(model_arc) = MODELS.get(model_handle) {
             let model = model_arc.lock().unwrap();
             let mut pos = std::collections::HashMap::new();
             for name in &[
@@ -803,25 +842,13 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_LoadAnimation(
     };
 
     let result = if is_fbx {
-        // 使用 FBX 缓存避免重复解析大文件
-        let cache = {
-            let cache_map = FBX_CACHE.read().unwrap();
-            cache_map.get(file_path).cloned()
-        };
-        let cache = match cache {
-            Some(c) => c,
-            None => match fbx_loader::FbxCache::load(file_path) {
-                Ok(c) => {
-                    let arc = Arc::new(c);
-                    let mut cache_map = FBX_CACHE.write().unwrap();
-                    cache_map.insert(file_path.to_string(), arc.clone());
-                    arc
-                }
-                Err(e) => {
-                    log::error!("FBX 解析失败: {}", e);
-                    return 0;
-                }
-            },
+        // 使用 FBX 缓存避免重复解析大文件；后台预加载中的文件会等待其完成而不重复解析
+        let cache = match FBX_CACHE.get_or_load(file_path) {
+            Ok(c) => c,
+            Err(e) => {
+                log::error!("FBX 解析失败: {}", e);
+                return 0;
+            }
         };
         cache.load_animation(stack_name).map(|mut anim| {
             fbx_loader::apply_arm_retarget_correction_with_reference(
@@ -855,18 +882,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_PreloadFbxFile(
         Ok(s) => s.into(),
         Err(_) => return 0,
     };
-    {
-        let cache_map = FBX_CACHE.read().unwrap();
-        if cache_map.contains_key(&path) {
-            return 1; // 已缓存
-        }
-    }
-    match fbx_loader::FbxCache::load(&path) {
-        Ok(c) => {
-            let mut cache_map = FBX_CACHE.write().unwrap();
-            cache_map.insert(path, Arc::new(c));
-            1
-        }
+    match FBX_CACHE.get_or_load(&path) {
+        Ok(_) => 1,
         Err(e) => {
             log::error!("FBX 预加载失败: {}", e);
             0
@@ -874,6 +891,39 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_PreloadFbxFile(
     }
 }
 
+/// 提交 FBX 后台预加载，立即返回；已缓存或已在解析时返回 true
+#[no_mangle]
+pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_PreloadFbxFileAsync(
+    mut env: JNIEnv,
+    _class: JClass,
+    filename: JString,
+) -> jboolean {
+    let path: String = match env.get_string(&filename) {
+        Ok(s) => s.into(),
+        Err(_) => return 0,
+    };
+    FBX_CACHE.preload_async(&path) as jboolean
+}
+
+/// 设置 FBX 缓存字节预算，超出部分按最近最少使用淘汰
+#[no_mangle]
+pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetFbxCacheBudget(
+    _env: JNIEnv,
+    _class: JClass,
+    bytes: jlong,
+) {
+    FBX_CACHE.set_budget(bytes.max(0) as usize);
+}
+
+/// 查询 FBX 缓存当前常驻字节数
+#[no_mangle]
+pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetFbxCacheMemoryUsage(
+    _env: JNIEnv,
+    _class: JClass,
+) -> jlong {
+    FBX_CACHE.stats().bytes as jlong
+}
+
 /// 列出 FBX 文件中所有 AnimationStack 名称（JSON 数组）
 #[no_mangle]
 pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_ListFbxStacks(
@@ -885,20 +935,13 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_ListFbxStacks(
         Ok(s) => s.into(),
         Err(_) => return ptr::null_mut(),
     };
-    // 优先从缓存获取
-    let stacks = {
-        let cache_map = FBX_CACHE.read().unwrap();
-        cache_map.get(&path).map(|c| c.stack_names().to_vec())
-    };
-    let stacks = match stacks {
-        Some(s) => s,
-        None => match fbx_loader::list_fbx_stacks(&path) {
-            Ok(s) => s,
-            Err(e) => {
-                log::error!("列出 FBX Stack 失败: {}", e);
-                return ptr::null_mut();
-            }
-        },
+    // 经缓存解析：列出动作栈后通常紧接着加载其中之一，解析结果可直接复用
+    let stacks = match FBX_CACHE.get_or_load(&path) {
+        Ok(cache) => cache.stack_names().to_vec(),
+        Err(e) => {
+            log::error!("列出 FBX Stack 失败: {}", e);
+            return ptr::null_mut();
+        }
     };
     let json = serde_json::to_string(&stacks).unwrap_or_else(|_| "[]".to_string());
     match env.new_string(&json) {
@@ -913,8 +956,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_ClearFbxCache(
     _env: JNIEnv,
     _class: JClass,
 ) {
-    let mut cache_map = FBX_CACHE.write().unwrap();
-    cache_map.clear();
+    FBX_CACHE.clear();
 }
 
 /// 删除动画
@@ -1004,6 +1046,39 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetCameraTransform(
     }
 }
 
+/// 预烘焙动画采样：按整数帧把相机轨道（include_bones 时连同骨骼轨道）展开为连续数组，
+/// 此后相机与骨骼采样只做相邻帧插值。返回采样数组占用的字节数，句柄无效时返回 0
+#[no_mangle]
+pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_BakeAnimation(
+    _env: JNIEnv,
+    _class: JClass,
+    anim: jlong,
+    include_bones: jboolean,
+) -> jlong {
+    // 烘焙耗时与动画长度成正比，先取出 Arc 再释放锁
+    let animation = {
+        let animations = ANIMATIONS.read().unwrap();
+        animations.get(&anim).cloned()
+    };
+    match animation {
+        Some(animation) => animation.bake(include_bones != 0) as jlong,
+        None => 0,
+    }
+}
+
+/// 估算动画常驻内存（字节），句柄无效时返回 0
+#[no_mangle]
+pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetAnimationMemoryUsage(
+    _env: JNIEnv,
+    _class: JClass,
+    anim: jlong,
+) -> jlong {
+    let animations = ANIMATIONS.read().unwrap();
+    animations
+        .get(&anim)
+        .map_or(0, |animation| animation.memory_usage() as jlong)
+}
+
 /// 查询动画是否包含骨骼关键帧
 #[no_mangle]
 pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_HasBoneData(
@@ -1092,8 +1167,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetModelTransform(
     m32: jfloat,
     m33: jfloat,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         let transform = glam::Mat4::from_cols_array(&[
             m00, m01, m02, m03, m10, m11, m12, m13, m20, m21, m22, m23, m30, m31, m32, m33,
@@ -1115,8 +1189,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetModelPositionAndYa
     pos_z: jfloat,
     yaw: jfloat,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.set_model_position_and_yaw(pos_x, pos_y, pos_z, yaw);
     }
@@ -1133,8 +1206,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetHeadAngle(
     head_z: jfloat,
     _is_head_in_sync: jboolean,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.set_head_angle(head_x, head_y, head_z);
     }
@@ -1151,8 +1223,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetEyeAngle(
     eye_x: jfloat,
     eye_y: jfloat,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.set_eye_angle(eye_x, eye_y);
     }
@@ -1167,8 +1238,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetEyeMaxAngle(
     model: jlong,
     max_angle: jfloat,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.set_eye_max_angle(max_angle);
     }
@@ -1182,8 +1252,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetEyeTrackingEnabled
     model: jlong,
     enabled: jboolean,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.set_eye_tracking_enabled(enabled != 0);
     }
@@ -1196,9 +1265,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_IsEyeTrackingEnabled(
     _class: JClass,
     model: jlong,
 ) -> jboolean {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .map(|m| {
             let model = m.lock().unwrap();
             if model.is_eye_tracking_enabled() {
@@ -1218,8 +1286,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetAutoBlinkEnabled(
     model: jlong,
     enabled: jboolean,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.set_auto_blink_enabled(enabled != 0);
     }
@@ -1232,9 +1299,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_IsAutoBlinkEnabled(
     _class: JClass,
     model: jlong,
 ) -> jboolean {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .map(|m| {
             let model = m.lock().unwrap();
             if model.is_auto_blink_enabled() {
@@ -1257,8 +1323,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetBlinkParams(
     interval: jfloat,
     duration: jfloat,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.set_blink_params(interval, duration);
     }
@@ -1277,8 +1342,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_PlayLayer(
     model: jlong,
     layer: jlong,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.play_layer(layer as usize);
     }
@@ -1293,8 +1357,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_StopLayer(
     model: jlong,
     layer: jlong,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.stop_layer(layer as usize);
     }
@@ -1309,8 +1372,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_PauseLayer(
     model: jlong,
     layer: jlong,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.pause_layer(layer as usize);
     }
@@ -1325,8 +1387,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_ResumeLayer(
     model: jlong,
     layer: jlong,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.resume_layer(layer as usize);
     }
@@ -1343,8 +1404,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetLayerWeight(
     layer: jlong,
     weight: jfloat,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.set_layer_weight(layer as usize, weight);
     }
@@ -1361,8 +1421,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetLayerSpeed(
     layer: jlong,
     speed: jfloat,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.set_layer_speed(layer as usize, speed);
     }
@@ -1379,8 +1438,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SeekLayer(
     layer: jlong,
     frame: jfloat,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.seek_layer(layer as usize, frame);
     }
@@ -1399,8 +1457,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetLayerFadeTimes(
     fade_in: jfloat,
     fade_out: jfloat,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.set_layer_fade_times(layer as usize, fade_in, fade_out);
     }
@@ -1430,8 +1487,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_TransitionLayerTo(
     } else {
         None
     };
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.transition_layer_to(layer as usize, anim, transition_time);
     }
@@ -1446,8 +1502,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetLayerMaxFrame(
     model: jlong,
     layer: jlong,
 ) -> jfloat {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         return model.get_layer_max_frame(layer as usize) as jfloat;
     }
@@ -1462,8 +1517,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_IsLayerAnimationFinis
     model: jlong,
     layer: jlong,
 ) -> jboolean {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         if model.is_layer_finished(layer as usize) {
             1
@@ -1494,8 +1548,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetLayerBoneMask(
         }
     };
 
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         let ok = model.set_layer_bone_mask_by_name(layer as usize, name_opt.as_deref());
         if ok {
@@ -1527,8 +1580,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetLayerBoneExclude(
         }
     };
 
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         let ok = model.set_layer_bone_exclude_by_name(layer as usize, name_opt.as_deref());
         if ok {
@@ -1551,8 +1603,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetLayerLoop(
     layer: jlong,
     loop_play: jboolean,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.set_layer_loop(layer as usize, loop_play != 0);
     }
@@ -1721,12 +1772,10 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetRightHandMat(
     model: jlong,
     mat: jlong,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model_guard = model_arc.lock().unwrap();
         let hand_mat = model_guard.get_right_hand_matrix();
         drop(model_guard);
-        drop(models);
         let mut matrices = MATRICES.lock().unwrap();
         if let Some(m) = matrices.get_mut(&mat) {
             *m = hand_mat;
@@ -1742,12 +1791,10 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetLeftHandMat(
     model: jlong,
     mat: jlong,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model_guard = model_arc.lock().unwrap();
         let hand_mat = model_guard.get_left_hand_matrix();
         drop(model_guard);
-        drop(models);
         let mut matrices = MATRICES.lock().unwrap();
         if let Some(m) = matrices.get_mut(&mat) {
             *m = hand_mat;
@@ -1766,8 +1813,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_InitPhysics(
     _class: JClass,
     model: jlong,
 ) -> jboolean {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         if model.init_physics() {
             return 1;
@@ -1783,8 +1829,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_ResetPhysics(
     _class: JClass,
     model: jlong,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.reset_physics();
     }
@@ -1798,13 +1843,26 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetPhysicsEnabled(
     model: jlong,
     enabled: jboolean,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.set_physics_enabled(enabled != 0);
     }
 }
 
+/// 设置物理细节等级（0=每帧，1=1/2 频率，2=1/4 频率，3=冻结）
+#[no_mangle]
+pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetPhysicsLod(
+    _env: JNIEnv,
+    _class: JClass,
+    model: jlong,
+    level: jint,
+) {
+    if let Some(model_arc) = MODELS.get(model) {
+        let mut model = model_arc.lock().unwrap();
+        model.set_physics_lod(crate::physics::PhysicsLod::from_level(level));
+    }
+}
+
 /// 获取物理是否启用
 #[no_mangle]
 pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_IsPhysicsEnabled(
@@ -1812,8 +1870,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_IsPhysicsEnabled(
     _class: JClass,
     model: jlong,
 ) -> jboolean {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         if model.is_physics_enabled() {
             return 1;
@@ -1829,8 +1886,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_HasPhysics(
     _class: JClass,
     model: jlong,
 ) -> jboolean {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         if model.has_physics() {
             return 1;
@@ -1839,6 +1895,20 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_HasPhysics(
     0
 }
 
+/// 获取平滑后的单帧物理步进耗时（毫秒），物理未运行过时为 0
+#[no_mangle]
+pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetPhysicsStepTime(
+    _env: JNIEnv,
+    _class: JClass,
+    model: jlong,
+) -> jfloat {
+    if let Some(model_arc) = MODELS.get(model) {
+        let model = model_arc.lock().unwrap();
+        return model.physics_step_time_ms();
+    }
+    0.0
+}
+
 /// 获取物理调试信息（返回 JSON 字符串）
 #[no_mangle]
 pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetPhysicsDebugInfo(
@@ -1846,8 +1916,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetPhysicsDebugInfo(
     _class: JClass,
     model: jlong,
 ) -> jstring {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let debug_info = model.get_physics_debug_info();
         if let Ok(s) = env.new_string(&debug_info) {
@@ -1871,8 +1940,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_IsMaterialVisible(
     model: jlong,
     index: jint,
 ) -> jboolean {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         if model.is_material_visible(index as usize) {
             1
@@ -1893,8 +1961,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetMaterialVisible(
     index: jint,
     visible: jboolean,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.set_material_visible(index as usize, visible != 0);
     }
@@ -1913,8 +1980,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetMaterialVisibleByN
         Ok(s) => s.into(),
         Err(_) => return 0,
     };
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.set_material_visible_by_name(&name_str, visible != 0) as jint
     } else {
@@ -1930,8 +1996,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetAllMaterialsVisibl
     model: jlong,
     visible: jboolean,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.set_all_materials_visible(visible != 0);
     }
@@ -1945,8 +2010,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetMaterialName(
     model: jlong,
     index: jint,
 ) -> jstring {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         if let Some(name) = model.get_material_name(index as usize) {
             if let Ok(s) = env.new_string(name) {
@@ -1966,8 +2030,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetMaterialNames(
     _class: JClass,
     model: jlong,
 ) -> jstring {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let names = model.get_material_names();
         // 构建简单的 JSON 数组
@@ -1999,9 +2062,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetBoneCount(
     _class: JClass,
     model: jlong,
 ) -> jint {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .map(|m| m.lock().unwrap().bone_manager.bone_count() as jint)
         .unwrap_or(0)
 }
@@ -2014,8 +2076,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetSkinningMatrices(
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let matrices = model.bone_manager.get_skinning_matrices();
         if !matrices.is_empty() {
@@ -2033,8 +2094,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_CopySkinningMatricesT
     model: jlong,
     buffer: JByteBuffer,
 ) -> jint {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let matrices = model.bone_manager.get_skinning_matrices();
         if matrices.is_empty() {
@@ -2072,8 +2132,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetBoneIndices(
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let ptr = model.get_bone_indices_ptr();
         if ptr.is_null() {
@@ -2093,8 +2152,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_CopyBoneIndicesToBuff
     buffer: JByteBuffer,
     vertex_count: jint,
 ) -> jint {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let ptr = model.get_bone_indices_ptr();
         if ptr.is_null() {
@@ -2131,8 +2189,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetBoneWeights(
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let ptr = model.get_bone_weights_ptr();
         if ptr.is_null() {
@@ -2152,8 +2209,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_CopyBoneWeightsToBuff
     buffer: JByteBuffer,
     vertex_count: jint,
 ) -> jint {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let ptr = model.get_bone_weights_ptr();
         if ptr.is_null() {
@@ -2190,8 +2246,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetOriginalPositions(
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let ptr = model.get_original_positions_ptr();
         if ptr.is_null() {
@@ -2211,8 +2266,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_CopyOriginalPositions
     buffer: JByteBuffer,
     vertex_count: jint,
 ) -> jint {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let ptr = model.get_original_positions_ptr();
         if ptr.is_null() {
@@ -2249,8 +2303,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetOriginalNormals(
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let ptr = model.get_original_normals_ptr();
         if ptr.is_null() {
@@ -2270,8 +2323,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_CopyOriginalNormalsTo
     buffer: JByteBuffer,
     vertex_count: jint,
 ) -> jint {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let ptr = model.get_original_normals_ptr();
         if ptr.is_null() {
@@ -2308,8 +2360,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetGpuSkinningDebugIn
     _class: JClass,
     model: jlong,
 ) -> jstring {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
 
         let vertex_count = model.vertices.len();
@@ -2386,12 +2437,12 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_UpdateAnimationOnly(
     _class: JClass,
     model: jlong,
     delta_time: jfloat,
-) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+) -> jboolean {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
-        model.tick_animation_no_skinning(delta_time);
+        return model.tick_animation_no_skinning(delta_time) as jboolean;
     }
+    0
 }
 
 /// 初始化 GPU 蒙皮数据
@@ -2401,8 +2452,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_InitGpuSkinningData(
     _class: JClass,
     model: jlong,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.init_gpu_skinning_data();
     }
@@ -2419,8 +2469,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_InitGpuMorphData(
     _class: JClass,
     model: jlong,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.init_gpu_morph_data();
     }
@@ -2433,9 +2482,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetVertexMorphCount(
     _class: JClass,
     model: jlong,
 ) -> jint {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .map(|m| m.lock().unwrap().get_vertex_morph_count() as jint)
         .unwrap_or(0)
 }
@@ -2447,8 +2495,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetGpuMorphOffsets(
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         return model.get_gpu_morph_offsets_ptr() as jlong;
     }
@@ -2462,9 +2509,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetGpuMorphOffsetsSiz
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .map(|m| m.lock().unwrap().get_gpu_morph_offsets_size() as jlong)
         .unwrap_or(0)
 }
@@ -2476,8 +2522,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetGpuMorphWeights(
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         return model.get_gpu_morph_weights_ptr() as jlong;
     }
@@ -2491,8 +2536,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SyncGpuMorphWeights(
     _class: JClass,
     model: jlong,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.sync_gpu_morph_weights();
     }
@@ -2506,8 +2550,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_CopyGpuMorphOffsetsTo
     model: jlong,
     buffer: JByteBuffer,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let size = model.get_gpu_morph_offsets_size();
         if size == 0 {
@@ -2544,8 +2587,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_CopyGpuMorphWeightsTo
     model: jlong,
     buffer: JByteBuffer,
 ) -> jint {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let morph_count = model.get_vertex_morph_count();
         if morph_count == 0 {
@@ -2582,8 +2624,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_IsGpuMorphInitialized
     _class: JClass,
     model: jlong,
 ) -> jboolean {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         if model.is_gpu_morph_initialized() {
             return 1;
@@ -2618,8 +2659,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_ApplyVpdMorph(
         Err(_) => return -1,
     };
 
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
 
         match VpdFile::load(&filename_str) {
@@ -2665,8 +2705,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_ResetAllMorphs(
     _class: JClass,
     model: jlong,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.morph_manager.reset_all_weights();
         model.clear_vpd_bone_overrides();
@@ -2688,8 +2727,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetMorphWeightByName(
         Err(_) => return 0,
     };
 
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         if let Some(idx) = model.morph_manager.find_morph_by_name(&name_str) {
             model.morph_manager.set_morph_weight(idx, weight);
@@ -2707,8 +2745,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetMorphCount(
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         return model.morph_manager.morph_count() as jlong;
     }
@@ -2723,8 +2760,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetMorphName(
     model: jlong,
     index: jint,
 ) -> jstring {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         if let Some(morph) = model.morph_manager.get_morph(index as usize) {
             if let Ok(s) = env.new_string(&morph.name) {
@@ -2745,8 +2781,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetMorphWeight(
     model: jlong,
     index: jint,
 ) -> jfloat {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         if let Some(morph) = model.morph_manager.get_morph(index as usize) {
             return morph.weight;
@@ -2764,8 +2799,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetMorphWeight(
     index: jint,
     weight: jfloat,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.morph_manager.set_morph_weight(index as usize, weight);
     }
@@ -2782,8 +2816,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_InitGpuUvMorphData(
     _class: JClass,
     model: jlong,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.init_gpu_uv_morph_data();
     }
@@ -2796,9 +2829,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetUvMorphCount(
     _class: JClass,
     model: jlong,
 ) -> jint {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .map(|m| m.lock().unwrap().get_uv_morph_count() as jint)
         .unwrap_or(0)
 }
@@ -2810,9 +2842,8 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetGpuUvMorphOffsetsS
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    models
-        .get(&model)
+    MODELS
+        .get(model)
         .map(|m| m.lock().unwrap().get_gpu_uv_morph_offsets_size() as jlong)
         .unwrap_or(0)
 }
@@ -2825,8 +2856,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_CopyGpuUvMorphOffsets
     model: jlong,
     buffer: JByteBuffer,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let size = model.get_gpu_uv_morph_offsets_size();
         if size == 0 {
@@ -2863,8 +2893,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_CopyGpuUvMorphWeights
     model: jlong,
     buffer: JByteBuffer,
 ) -> jint {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let morph_count = model.get_uv_morph_count();
         if morph_count == 0 {
@@ -2905,8 +2934,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetMaterialMorphResul
     _class: JClass,
     model: jlong,
 ) -> jint {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         return model.get_material_morph_result_count() as jint;
     }
@@ -2926,8 +2954,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_CopyMaterialMorphResu
     model: jlong,
     buffer: JByteBuffer,
 ) -> jint {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         let result_count = model.get_material_morph_result_count();
         let flat = model.get_material_morph_results_flat();
@@ -3013,8 +3040,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetFirstPersonMode(
     model: jlong,
     enabled: jboolean,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.set_first_person_mode(enabled != 0);
     }
@@ -3027,8 +3053,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_IsFirstPersonMode(
     _class: JClass,
     model: jlong,
 ) -> jboolean {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         if model.is_first_person_enabled() {
             1
@@ -3047,8 +3072,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetHeadBonePositionY(
     _class: JClass,
     model: jlong,
 ) -> jfloat {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         model.get_head_bone_rest_position_y()
     } else {
@@ -3067,8 +3091,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetEyeBonePosition(
     model: jlong,
     out: jni::objects::JFloatArray,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut model = model_arc.lock().unwrap();
         let pos = model.get_eye_bone_animated_position();
         let buf: [f32; 3] = [pos.x, pos.y, pos.z];
@@ -3099,8 +3122,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_BatchGetSubMeshData(
     };
     let output = unsafe { std::slice::from_raw_parts_mut(out_ptr, out_cap) };
 
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         model.batch_get_sub_mesh_data(output) as jint
     } else {
@@ -3108,6 +3130,79 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_BatchGetSubMeshData(
     }
 }
 
+/// 单次拉取 CPU 蒙皮渲染所需的帧快照（顶点 / UV / 子网格表 / 材质 Morph）
+/// 布局见 MmdModel::write_frame_snapshot；返回本次写入的段标志，失败返回 -1
+#[no_mangle]
+pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_FetchFrameSnapshot(
+    env: JNIEnv,
+    _class: JClass,
+    model: jlong,
+    buffer: JByteBuffer,
+) -> jint {
+    let out_ptr = match env.get_direct_buffer_address(&buffer) {
+        Ok(p) => p,
+        Err(_) => return -1,
+    };
+    let out_cap = match env.get_direct_buffer_capacity(&buffer) {
+        Ok(c) => c,
+        Err(_) => return -1,
+    };
+    let output = unsafe { std::slice::from_raw_parts_mut(out_ptr, out_cap) };
+
+    if let Some(model_arc) = MODELS.get(model) {
+        let mut model = model_arc.lock().unwrap();
+        if let Some(flags) = model.write_frame_snapshot(output) {
+            return flags as jint;
+        }
+        log::error!(
+            "FetchFrameSnapshot: 需要 {} 字节, 容量 {}",
+            model.frame_snapshot_size(),
+            out_cap
+        );
+    }
+    -1
+}
+
+/// 将蒙皮后的顶点流直接写入 Java 侧持久映射的显存，返回写入的版本号，模型不存在返回 -1
+/// # Safety
+/// Java 侧必须保证 position/normal 地址可写 vertexCount*12 字节，
+/// uv 地址为 0 或可写 vertexCount*8 字节，且映射在调用期间保持有效
+#[no_mangle]
+pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_WriteVertexStreams(
+    _env: JNIEnv,
+    _class: JClass,
+    model: jlong,
+    position_address: jlong,
+    normal_address: jlong,
+    uv_address: jlong,
+) -> jlong {
+    if position_address == 0 || normal_address == 0 {
+        return -1;
+    }
+    if let Some(model_arc) = MODELS.get(model) {
+        let model = model_arc.lock().unwrap();
+        let vertex_count = model.vertex_count();
+        let (positions, normals, uvs) = unsafe {
+            (
+                std::slice::from_raw_parts_mut(position_address as *mut u8, vertex_count * 12),
+                std::slice::from_raw_parts_mut(normal_address as *mut u8, vertex_count * 12),
+                if uv_address == 0 {
+                    None
+                } else {
+                    Some(std::slice::from_raw_parts_mut(
+                        uv_address as *mut u8,
+                        vertex_count * 8,
+                    ))
+                },
+            )
+        };
+        return model
+            .write_vertex_streams(positions, normals, uvs)
+            .map_or(-1, |revision| revision as jlong);
+    }
+    -1
+}
+
 // ============================================================================
 // 公共 API 相关
 // ============================================================================
@@ -3119,8 +3214,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetBoneNames(
     _class: JClass,
     model: jlong,
 ) -> jstring {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let bone_count = model.bone_manager.bone_count();
         let mut names = Vec::with_capacity(bone_count);
@@ -3148,8 +3242,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_CopyBonePositionsToBu
     model: jlong,
     buffer: JByteBuffer,
 ) -> jint {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let bone_count = model.bone_manager.bone_count();
         if bone_count == 0 {
@@ -3186,6 +3279,65 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_CopyBonePositionsToBu
     0
 }
 
+/// 复制骨骼本地姿势到 ByteBuffer（网络姿势同步采样）
+/// 每根骨骼 7 个 float (tx, ty, tz, qx, qy, qz, qw)，返回写入的骨骼数
+#[no_mangle]
+pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_CopyBoneLocalPoseToBuffer(
+    env: JNIEnv,
+    _class: JClass,
+    model: jlong,
+    buffer: JByteBuffer,
+) -> jint {
+    if let Some(model_arc) = MODELS.get(model) {
+        let model = model_arc.lock().unwrap();
+        let dst = match env.get_direct_buffer_address(&buffer) {
+            Ok(p) => p,
+            Err(_) => return 0,
+        };
+        let capacity = env.get_direct_buffer_capacity(&buffer).unwrap_or(0);
+        let dst_floats = unsafe { std::slice::from_raw_parts_mut(dst as *mut f32, capacity / 4) };
+        return model.copy_local_bone_pose(dst_floats) as jint;
+    }
+    0
+}
+
+/// 设置远端同步的骨骼本地姿势
+/// 每条记录 8 个 4 字节字段 (index:i32, tx, ty, tz, qx, qy, qz, qw)；count 为 0 时清除覆盖
+#[no_mangle]
+pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetSyncedBonePose(
+    env: JNIEnv,
+    _class: JClass,
+    model: jlong,
+    buffer: JByteBuffer,
+    count: jint,
+) {
+    let Some(model_arc) = MODELS.get(model) else {
+        return;
+    };
+    let mut model = model_arc.lock().unwrap();
+    if count <= 0 {
+        model.set_synced_bone_pose(&[]);
+        return;
+    }
+    let src = match env.get_direct_buffer_address(&buffer) {
+        Ok(p) => p,
+        Err(_) => return,
+    };
+    let capacity = env.get_direct_buffer_capacity(&buffer).unwrap_or(0);
+    let count = (count as usize).min(capacity / 32);
+    let words = unsafe { std::slice::from_raw_parts(src as *const u32, count * 8) };
+    let mut poses = Vec::with_capacity(count);
+    for entry in words.chunks_exact(8) {
+        let f = |i: usize| f32::from_bits(entry[i]);
+        poses.push((
+            entry[0] as usize,
+            glam::Vec3::new(f(1), f(2), f(3)),
+            glam::Quat::from_xyzw(f(4), f(5), f(6), f(7)).normalize(),
+        ));
+    }
+    model.set_synced_bone_pose(&poses);
+}
+
 /// 复制实时 UV 数据到 ByteBuffer（经过 UV Morph 变形后）
 /// 每个顶点 2 个 float (u, v)，共 vertexCount * 8 字节
 #[no_mangle]
@@ -3195,8 +3347,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_CopyRealtimeUVsToBuff
     model: jlong,
     buffer: JByteBuffer,
 ) -> jint {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let model = model_arc.lock().unwrap();
         let uv_raw = &model.update_uvs_raw;
         if uv_raw.is_empty() {
@@ -3239,8 +3390,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_GetModelMemoryUsage(
     _class: JClass,
     model: jlong,
 ) -> jlong {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let m = model_arc.lock().unwrap();
         m.memory_usage() as jlong
     } else {
@@ -3267,8 +3417,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetVRTrackingData(
     {
         return;
     }
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut m = model_arc.lock().unwrap();
         m.set_vr_tracking_data(&buf);
     }
@@ -3290,8 +3439,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_ApplyVRTrackingInput(
         return;
     }
 
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut m = model_arc.lock().unwrap();
         m.apply_java_vr_tracking_input_packet(&buf);
     }
@@ -3304,8 +3452,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetVREnabled(
     model: jlong,
     enabled: jboolean,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut m = model_arc.lock().unwrap();
         m.set_vr_enabled(enabled != 0);
     }
@@ -3319,8 +3466,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetVRIKParams(
     model: jlong,
     arm_ik_strength: jfloat,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut m = model_arc.lock().unwrap();
         m.set_vr_ik_strength(arm_ik_strength);
     }
@@ -3336,14 +3482,13 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_SetVRHandMode(
     model: jlong,
     mode: jint,
 ) {
-    let models = MODELS.read().unwrap();
-    if let Some(model_arc) = models.get(&model) {
+    if let Some(model_arc) = MODELS.get(model) {
         let mut m = model_arc.lock().unwrap();
         m.set_vr_hand_mode(mode as u8);
     }
 }
 
-/// 加载 VRM 模型
+/// 加载 VRM 模型（优先使用同目录下的 .mmdcache 预处理缓存）
 #[no_mangle]
 pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_LoadModelVRM(
     mut env: JNIEnv,
@@ -3357,7 +3502,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_LoadModelVRM(
         Err(_) => return 0,
     };
 
-    match load_vrm(&filename_str) {
+    match load_vrm_cached(&filename_str) {
         Ok(model) => register_model(model),
         Err(e) => {
             log::error!("Failed to load VRM: {}", e);
@@ -3373,8 +3518,7 @@ pub extern "system" fn Java_com_shiroha_mmdskin_NativeFunc_IsVrmModel(
     _class: JClass,
     model: jlong,
 ) -> jboolean {
-    let models = MODELS.read().unwrap();
-    if let Some(m) = models.get(&model) {
+    if let Some(m) = MODELS.get(model) {
         let m = m.lock().unwrap();
         if m.is_vrm() {
             1
@@ -0,0 +1,840 @@
+//! 模型二进制预处理缓存（.mmdcache）
+//!
+//! 首次完整解析模型后，将展平的顶点流、索引、权重、子网格表以及 GPU 蒙皮/Morph
+//! 密集表写入源文件旁的缓存文件；后续冷加载通过 mmap 直接读取，跳过重复解析与重建。
+//! 缓存按源文件大小、修改时间与内容哈希校验，任一变化即失效。
+
+use std::fs::{self, File};
+use std::io::{self, BufWriter, Read, Write};
+use std::path::{Path, PathBuf};
+use std::sync::atomic::{AtomicU64, Ordering};
+use std::time::{Instant, UNIX_EPOCH};
+
+use glam::{Vec2, Vec3};
+use memmap2::Mmap;
+
+use super::runtime::{build_gpu_bone_arrays, MmdModel};
+use super::{RuntimeVertex, SubMesh, VertexWeight};
+
+/// 缓存文件扩展名（追加在源文件名之后，如 `model.pmx.mmdcache`）
+pub const CACHE_EXTENSION: &str = "mmdcache";
+
+/// 格式版本，布局或解析语义变化时递增使旧缓存失效
+pub const FORMAT_VERSION: u32 = 1;
+
+const MAGIC: [u8; 4] = *b"MMDC";
+const HEADER_SIZE: usize = 64;
+/// 文件头中源文件修改时间字段的偏移
+const MTIME_FIELD_OFFSET: usize = 24;
+const SECTION_ENTRY_SIZE: usize = 24;
+/// 段起始按 16 字节对齐，便于映射后按元素类型直接访问
+const SECTION_ALIGN: usize = 16;
+/// 每顶点：位置 3 + 法线 3 + UV 2 个 f32
+const VERTEX_FLOATS: usize = 8;
+/// 每权重：类型 u32 + 骨骼 4×i32 + 权重 4×f32 + SDEF 参数 9×f32
+const WEIGHT_RECORD_SIZE: usize = 72;
+const SUBMESH_RECORD_SIZE: usize = 12;
+
+const FNV_OFFSET: u64 = 0xcbf2_9ce4_8422_2325;
+const FNV_PRIME: u64 = 0x0000_0100_0000_01b3;
+
+/// 缓存对应的源模型格式
+#[derive(Clone, Copy, Debug, PartialEq, Eq)]
+pub enum SourceFormat {
+    Pmx = 0,
+    Vrm = 1,
+}
+
+/// 缓存段标识
+#[derive(Clone, Copy, Debug, PartialEq, Eq)]
+pub enum SectionId {
+    Vertices = 1,
+    Indices = 2,
+    Weights = 3,
+    Submeshes = 4,
+    BoneIndices = 5,
+    BoneWeights = 6,
+    VertexMorphIndices = 7,
+    VertexMorphOffsets = 8,
+    UvMorphIndices = 9,
+    UvMorphOffsets = 10,
+    /// VRM：每张内嵌图片是否已成功提取为 PNG（u32 0/1）
+    ExtractedTextures = 11,
+}
+
+/// 源文件指纹
+#[derive(Clone, Copy, Debug, PartialEq, Eq)]
+pub struct SourceFingerprint {
+    pub size: u64,
+    pub mtime_ns: u64,
+    pub hash: u64,
+}
+
+impl SourceFingerprint {
+    pub fn compute(path: &Path) -> io::Result<Self> {
+        let (size, mtime_ns) = stat_source(path)?;
+        Ok(Self {
+            size,
+            mtime_ns,
+            hash: hash_file(path)?,
+        })
+    }
+}
+
+/// 返回源文件对应的缓存路径
+pub fn cache_path_for(source: &Path) -> PathBuf {
+    let mut name = source.as_os_str().to_os_string();
+    name.push(".");
+    name.push(CACHE_EXTENSION);
+    PathBuf::from(name)
+}
+
+/// 写入用的临时文件路径；多个加载线程可能同时为同一源文件生成缓存，按进程与序号区分
+fn temp_path_for(cache_path: &Path) -> PathBuf {
+    static NEXT_TEMP_ID: AtomicU64 = AtomicU64::new(0);
+    let id = NEXT_TEMP_ID.fetch_add(1, Ordering::Relaxed);
+    let mut name = cache_path.as_os_str().to_os_string();
+    name.push(format!(".{}.{}.tmp", std::process::id(), id));
+    PathBuf::from(name)
+}
+
+/// 写入临时文件后原子替换缓存；失败时删除临时文件
+fn replace_atomically(
+    cache_path: &Path,
+    write: impl FnOnce(&mut BufWriter<File>) -> io::Result<()>,
+) -> io::Result<()> {
+    let tmp_path = temp_path_for(cache_path);
+    let result = (|| -> io::Result<()> {
+        let mut out = BufWriter::with_capacity(1 << 20, File::create(&tmp_path)?);
+        write(&mut out)?;
+        out.into_inner().map_err(|e| e.into_error())?.sync_all()?;
+        fs::rename(&tmp_path, cache_path)
+    })();
+    if result.is_err() {
+        let _ = fs::remove_file(&tmp_path);
+    }
+    result
+}
+
+fn stat_source(path: &Path) -> io::Result<(u64, u64)> {
+    let meta = fs::metadata(path)?;
+    let mtime_ns = meta
+        .modified()
+        .ok()
+        .and_then(|t| t.duration_since(UNIX_EPOCH).ok())
+        .map(|d| d.as_nanos() as u64)
+        .unwrap_or(0);
+    Ok((meta.len(), mtime_ns))
+}
+
+/// FNV-1a 流式哈希
+fn fnv1a(mut state: u64, bytes: &[u8]) -> u64 {
+    for &b in bytes {
+        state ^= b as u64;
+        state = state.wrapping_mul(FNV_PRIME);
+    }
+    state
+}
+
+fn hash_file(path: &Path) -> io::Result<u64> {
+    let mut file = File::open(path)?;
+    let mut buf = vec![0u8; 1 << 20];
+    let mut state = FNV_OFFSET;
+    loop {
+        let n = file.read(&mut buf)?;
+        if n == 0 {
+            return Ok(state);
+        }
+        state = fnv1a(state, &buf[..n]);
+    }
+}
+
+// ============================================================================
+// 写入
+// ============================================================================
+
+enum SectionData<'a> {
+    F32(&'a [f32]),
+    I32(&'a [i32]),
+    U32(&'a [u32]),
+    Bytes(Vec<u8>),
+}
+
+impl SectionData<'_> {
+    fn byte_len(&self) -> usize {
+        match self {
+            SectionData::F32(v) => v.len() * 4,
+            SectionData::I32(v) => v.len() * 4,
+            SectionData::U32(v) => v.len() * 4,
+            SectionData::Bytes(v) => v.len(),
+        }
+    }
+
+    fn write_to<W: Write>(&self, out: &mut W) -> io::Result<()> {
+        match self {
+            SectionData::F32(v) => v.iter().try_for_each(|x| out.write_all(&x.to_le_bytes())),
+            SectionData::I32(v) => v.iter().try_for_each(|x| out.write_all(&x.to_le_bytes())),
+            SectionData::U32(v) => v.iter().try_for_each(|x| out.write_all(&x.to_le_bytes())),
+            SectionData::Bytes(v) => out.write_all(v),
+        }
+    }
+}
+
+/// 缓存写入器：段数据借用模型缓冲区，写文件时流式输出，避免整份复制
+pub struct CacheWriter<'a> {
+    format: SourceFormat,
+    header_end: u64,
+    resume_offset: u64,
+    sections: Vec<(SectionId, SectionData<'a>)>,
+}
+
+impl<'a> CacheWriter<'a> {
+    pub fn new(format: SourceFormat) -> Self {
+        Self {
+            format,
+            header_end: 0,
+            resume_offset: 0,
+            sections: Vec::new(),
+        }
+    }
+
+    /// PMX：记录头部结束位置与纹理段起始位置，命中缓存时从后者继续解析
+    pub fn set_resume_offsets(&mut self, header_end: u64, resume_offset: u64) {
+        self.header_end = header_end;
+        self.resume_offset = resume_offset;
+    }
+
+    pub fn add_f32(&mut self, id: SectionId, data: &'a [f32]) {
+        self.sections.push((id, SectionData::F32(data)));
+    }
+
+    pub fn add_i32(&mut self, id: SectionId, data: &'a [i32]) {
+        self.sections.push((id, SectionData::I32(data)));
+    }
+
+    pub fn add_u32(&mut self, id: SectionId, data: &'a [u32]) {
+        self.sections.push((id, SectionData::U32(data)));
+    }
+
+    pub fn add_indices(&mut self, id: SectionId, data: &[usize]) {
+        let mut bytes = Vec::with_capacity(data.len() * 4);
+        for &i in data {
+            bytes.extend_from_slice(&(i as u32).to_le_bytes());
+        }
+        self.sections.push((id, SectionData::Bytes(bytes)));
+    }
+
+    pub fn add_vertices(&mut self, vertices: &[RuntimeVertex]) {
+        let mut bytes = Vec::with_capacity(vertices.len() * VERTEX_FLOATS * 4);
+        for v in vertices {
+            for f in [
+                v.position.x,
+                v.position.y,
+                v.position.z,
+                v.normal.x,
+                v.normal.y,
+                v.normal.z,
+                v.uv.x,
+                v.uv.y,
+            ] {
+                bytes.extend_from_slice(&f.to_le_bytes());
+            }
+        }
+        self.sections.push((SectionId::Vertices, SectionData::Bytes(bytes)));
+    }
+
+    pub fn add_weights(&mut self, weights: &[VertexWeight]) {
+        let mut bytes = Vec::with_capacity(weights.len() * WEIGHT_RECORD_SIZE);
+        for w in weights {
+            encode_weight(w, &mut bytes);
+        }
+        self.sections.push((SectionId::Weights, SectionData::Bytes(bytes)));
+    }
+
+    pub fn add_submeshes(&mut self, submeshes: &[SubMesh]) {
+        let mut bytes = Vec::with_capacity(submeshes.len() * SUBMESH_RECORD_SIZE);
+        for s in submeshes {
+            bytes.extend_from_slice(&s.begin_index.to_le_bytes());
+            bytes.extend_from_slice(&s.index_count.to_le_bytes());
+            bytes.extend_from_slice(&s.material_id.to_le_bytes());
+        }
+        self.sections.push((SectionId::Submeshes, SectionData::Bytes(bytes)));
+    }
+
+    pub fn add_flags(&mut self, id: SectionId, flags: impl Iterator<Item = bool>) {
+        let mut bytes = Vec::new();
+        for flag in flags {
+            bytes.extend_from_slice(&(flag as u32).to_le_bytes());
+        }
+        self.sections.push((id, SectionData::Bytes(bytes)));
+    }
+
+    /// 先写临时文件再原子替换，正在被映射的旧缓存不会被原地修改
+    pub fn write_to(&self, cache_path: &Path, fingerprint: &SourceFingerprint) -> io::Result<()> {
+        let table_end = HEADER_SIZE + self.sections.len() * SECTION_ENTRY_SIZE;
+        let mut offsets = Vec::with_capacity(self.sections.len());
+        let mut cursor = align_up(table_end);
+        for (_, data) in &self.sections {
+            offsets.push(cursor);
+            cursor = align_up(cursor + data.byte_len());
+        }
+
+        let mut header = Vec::with_capacity(table_end);
+        header.extend_from_slice(&MAGIC);
+        header.extend_from_slice(&FORMAT_VERSION.to_le_bytes());
+        header.extend_from_slice(&(self.format as u32).to_le_bytes());
+        header.extend_from_slice(&(self.sections.len() as u32).to_le_bytes());
+        header.extend_from_slice(&fingerprint.size.to_le_bytes());
+        header.extend_from_slice(&fingerprint.mtime_ns.to_le_bytes());
+        header.extend_from_slice(&fingerprint.hash.to_le_bytes());
+        header.extend_from_slice(&self.header_end.to_le_bytes());
+        header.extend_from_slice(&self.resume_offset.to_le_bytes());
+        header.extend_from_slice(&0u64.to_le_bytes());
+        for ((id, data), offset) in self.sections.iter().zip(&offsets) {
+            header.extend_from_slice(&(*id as u32).to_le_bytes());
+            header.extend_from_slice(&0u32.to_le_bytes());
+            header.extend_from_slice(&(*offset as u64).to_le_bytes());
+            header.extend_from_slice(&(data.byte_len() as u64).to_le_bytes());
+        }
+
+        replace_atomically(cache_path, |out| {
+            out.write_all(&header)?;
+            let mut written = header.len();
+            for ((_, data), &offset) in self.sections.iter().zip(&offsets) {
+                write_padding(out, offset - written)?;
+                data.write_to(out)?;
+                written = offset + data.byte_len();
+            }
+            write_padding(out, align_up(written) - written)
+        })
+    }
+}
+
+fn align_up(value: usize) -> usize {
+    (value + SECTION_ALIGN - 1) & !(SECTION_ALIGN - 1)
+}
+
+fn write_padding<W: Write>(out: &mut W, len: usize) -> io::Result<()> {
+    const ZEROS: [u8; SECTION_ALIGN] = [0; SECTION_ALIGN];
+    out.write_all(&ZEROS[..len])
+}
+
+fn encode_weight(weight: &VertexWeight, out: &mut Vec<u8>) {
+    let mut kind = 0u32;
+    let mut bones = [-1i32; 4];
+    let mut weights = [0.0f32; 4];
+    let mut sdef = [0.0f32; 9];
+    match weight {
+        VertexWeight::Bdef1 { bone } => {
+            bones[0] = *bone;
+        }
+        VertexWeight::Bdef2 { bones: b, weight: w } => {
+            kind = 1;
+            bones[..2].copy_from_slice(b);
+            weights[0] = *w;
+        }
+        VertexWeight::Bdef4 { bones: b, weights: w } => {
+            kind = 2;
+            bones = *b;
+            weights = *w;
+        }
+        VertexWeight::Sdef {
+            bones: b,
+            weight: w,
+            c,
+            r0,
+            r1,
+        } => {
+            kind = 3;
+            bones[..2].copy_from_slice(b);
+            weights[0] = *w;
+            sdef = [c.x, c.y, c.z, r0.x, r0.y, r0.z, r1.x, r1.y, r1.z];
+        }
+        VertexWeight::Qdef { bones: b, weights: w } => {
+            kind = 4;
+            bones = *b;
+            weights = *w;
+        }
+    }
+    out.extend_from_slice(&kind.to_le_bytes());
+    bones.iter().for_each(|b| out.extend_from_slice(&b.to_le_bytes()));
+    weights.iter().for_each(|w| out.extend_from_slice(&w.to_le_bytes()));
+    sdef.iter().for_each(|f| out.extend_from_slice(&f.to_le_bytes()));
+}
+
+fn decode_weight(record: &[u8]) -> Option<VertexWeight> {
+    let u32_at = |i: usize| u32::from_le_bytes(record[i..i + 4].try_into().unwrap());
+    let i32_at = |i: usize| i32::from_le_bytes(record[i..i + 4].try_into().unwrap());
+    let f32_at = |i: usize| f32::from_le_bytes(record[i..i + 4].try_into().unwrap());
+    let bones = [i32_at(4), i32_at(8), i32_at(12), i32_at(16)];
+    let weights = [f32_at(20), f32_at(24), f32_at(28), f32_at(32)];
+    let vec3_at = |i: usize| Vec3::new(f32_at(i), f32_at(i + 4), f32_at(i + 8));
+    Some(match u32_at(0) {
+        0 => VertexWeight::Bdef1 { bone: bones[0] },
+        1 => VertexWeight::Bdef2 {
+            bones: [bones[0], bones[1]],
+            weight: weights[0],
+        },
+        2 => VertexWeight::Bdef4 { bones, weights },
+        3 => VertexWeight::Sdef {
+            bones: [bones[0], bones[1]],
+            weight: weights[0],
+            c: vec3_at(36),
+            r0: vec3_at(48),
+            r1: vec3_at(60),
+        },
+        4 => VertexWeight::Qdef { bones, weights },
+        _ => return None,
+    })
+}
+
+/// 完整解析后回写缓存（失败只记录日志，不影响本次加载）
+///
+/// 同时预先构建 GPU 蒙皮数组与密集 Morph 表写入缓存，后续加载的
+/// `InitGpuSkinningData` / `InitGpuMorphData` / `InitGpuUvMorphData` 直接读取。
+pub fn store(source: &Path, format: SourceFormat, model: &MmdModel, resume: Option<(u64, u64)>) {
+    let started = Instant::now();
+    let cache_path = cache_path_for(source);
+    let result = (|| -> io::Result<()> {
+        let fingerprint = SourceFingerprint::compute(source)?;
+        let (bone_indices, bone_weights) =
+            build_gpu_bone_arrays(&model.weights, model.vertices.len());
+        let (vertex_morph_indices, vertex_morph_offsets) = model.build_dense_vertex_morph_table();
+        let (uv_morph_indices, uv_morph_offsets) = model.build_dense_uv_morph_table();
+
+        let mut writer = CacheWriter::new(format);
+        if let Some((header_end, resume_offset)) = resume {
+            writer.set_resume_offsets(header_end, resume_offset);
+        }
+        writer.add_vertices(&model.vertices);
+        writer.add_u32(SectionId::Indices, &model.indices);
+        writer.add_weights(&model.weights);
+        writer.add_submeshes(&model.submeshes);
+        writer.add_i32(SectionId::BoneIndices, &bone_indices);
+        writer.add_f32(SectionId::BoneWeights, &bone_weights);
+        writer.add_indices(SectionId::VertexMorphIndices, &vertex_morph_indices);
+        writer.add_f32(SectionId::VertexMorphOffsets, &vertex_morph_offsets);
+        writer.add_indices(SectionId::UvMorphIndices, &uv_morph_indices);
+        writer.add_f32(SectionId::UvMorphOffsets, &uv_morph_offsets);
+        if format == SourceFormat::Vrm {
+            writer.add_flags(
+                SectionId::ExtractedTextures,
+                model.texture_paths.iter().map(|p| !p.is_empty()),
+            );
+        }
+        writer.write_to(&cache_path, &fingerprint)
+    })();
+
+    match result {
+        Ok(()) => log::info!(
+            "模型缓存已写入: {} ({}ms)",
+            cache_path.display(),
+            started.elapsed().as_millis()
+        ),
+        Err(e) => log::warn!("模型缓存写入失败 {}: {}", cache_path.display(), e),
+    }
+}
+
+// ============================================================================
+// 读取
+// ============================================================================
+
+#[derive(Clone, Copy, Debug)]
+struct SectionEntry {
+    id: u32,
+    offset: usize,
+    len: usize,
+}
+
+/// 已映射并通过校验的模型缓存
+pub struct ModelBinaryCache {
+    map: Mmap,
+    format: u32,
+    fingerprint: SourceFingerprint,
+    header_end: u64,
+    resume_offset: u64,
+    sections: Vec<SectionEntry>,
+}
+
+impl ModelBinaryCache {
+    /// 打开并校验缓存；缓存缺失、版本不符或源文件已变化时返回 None
+    ///
+    /// 大小不同直接失效；修改时间不同时再比对内容哈希，内容未变（如复制文件）仍可复用，
+    /// 并把新的修改时间写回缓存，之后的冷加载无需再次哈希整个源文件。
+    pub fn open_valid(source: &Path, format: SourceFormat) -> Option<Self> {
+        let cache_path = cache_path_for(source);
+        let file = File::open(&cache_path).ok()?;
+        // 缓存文件只通过“临时文件 + 重命名”整体替换，映射期间内容不会被原地修改
+        let map = unsafe { Mmap::map(&file) }.ok()?;
+        let mut cache = match Self::parse(map) {
+            Ok(cache) => cache,
+            Err(e) => {
+                log::warn!("模型缓存无效，将重新生成 {}: {}", cache_path.display(), e);
+                return None;
+            }
+        };
+        if cache.format != format as u32 {
+            return None;
+        }
+
+        let (size, mtime_ns) = stat_source(source).ok()?;
+        if size != cache.fingerprint.size {
+            return None;
+        }
+        if mtime_ns != cache.fingerprint.mtime_ns {
+            let hash = hash_file(source).ok()?;
+            if hash != cache.fingerprint.hash {
+                return None;
+            }
+            if let Err(e) = cache.refresh_mtime(&cache_path, mtime_ns) {
+                log::warn!("更新模型缓存指纹失败 {}: {}", cache_path.display(), e);
+            }
+        }
+        Some(cache)
+    }
+
+    /// 以新的源文件修改时间重写缓存（复制映射内容后原子替换，已映射的旧文件不受影响）
+    fn refresh_mtime(&mut self, cache_path: &Path, mtime_ns: u64) -> io::Result<()> {
+        let bytes: &[u8] = &self.map;
+        let field_end = MTIME_FIELD_OFFSET + 8;
+        replace_atomically(cache_path, |out| {
+            out.write_all(&bytes[..MTIME_FIELD_OFFSET])?;
+            out.write_all(&mtime_ns.to_le_bytes())?;
+            out.write_all(&bytes[field_end..])
+        })?;
+        self.fingerprint.mtime_ns = mtime_ns;
+        Ok(())
+    }
+
+    fn parse(map: Mmap) -> io::Result<Self> {
+        let invalid = |msg: &str| io::Error::new(io::ErrorKind::InvalidData, msg.to_string());
+        let bytes: &[u8] = &map;
+        if bytes.len() < HEADER_SIZE || bytes[0..4] != MAGIC {
+            return Err(invalid("缺少文件头"));
+        }
+        let u32_at = |i: usize| u32::from_le_bytes(bytes[i..i + 4].try_into().unwrap());
+        let u64_at = |i: usize| u64::from_le_bytes(bytes[i..i + 8].try_into().unwrap());
+        if u32_at(4) != FORMAT_VERSION {
+            return Err(invalid("版本不匹配"));
+        }
+        let format = u32_at(8);
+        let section_count = u32_at(12) as usize;
+        let fingerprint = SourceFingerprint {
+            size: u64_at(16),
+            mtime_ns: u64_at(MTIME_FIELD_OFFSET),
+            hash: u64_at(32),
+        };
+        let header_end = u64_at(40);
+        let resume_offset = u64_at(48);
+
+        let table_end = HEADER_SIZE + section_count * SECTION_ENTRY_SIZE;
+        if bytes.len() < table_end {
+            return Err(invalid("段表被截断"));
+        }
+        let mut sections = Vec::with_capacity(section_count);
+        for i in 0..section_count {
+            let base = HEADER_SIZE + i * SECTION_ENTRY_SIZE;
+            let entry = SectionEntry {
+                id: u32_at(base),
+                offset: u64_at(base + 8) as usize,
+                len: u64_at(base + 16) as usize,
+            };
+            if entry.offset.checked_add(entry.len).map_or(true, |end| end > bytes.len()) {
+                return Err(invalid("段越界"));
+            }
+            sections.push(entry);
+        }
+
+        Ok(Self {
+            map,
+            format,
+            fingerprint,
+            header_end,
+            resume_offset,
+            sections,
+        })
+    }
+
+    pub fn header_end(&self) -> u64 {
+        self.header_end
+    }
+
+    pub fn resume_offset(&self) -> u64 {
+        self.resume_offset
+    }
+
+    /// 缓存是否记录了可续读的 PMX 段偏移
+    pub fn has_resume_offsets(&self) -> bool {
+        self.header_end > 0 && self.resume_offset >= self.header_end
+    }
+
+    pub fn section(&self, id: SectionId) -> Option<&[u8]> {
+        self.sections
+            .iter()
+            .find(|s| s.id == id as u32)
+            .map(|s| &self.map[s.offset..s.offset + s.len])
+    }
+
+    pub fn read_f32(&self, id: SectionId) -> Option<Vec<f32>> {
+        let bytes = self.section(id)?;
+        Some(
+            bytes
+                .chunks_exact(4)
+                .map(|c| f32::from_le_bytes(c.try_into().unwrap()))
+                .collect(),
+        )
+    }
+
+    pub fn read_i32(&self, id: SectionId) -> Option<Vec<i32>> {
+        let bytes = self.section(id)?;
+        Some(
+            bytes
+                .chunks_exact(4)
+                .map(|c| i32::from_le_bytes(c.try_into().unwrap()))
+                .collect(),
+        )
+    }
+
+    pub fn read_u32(&self, id: SectionId) -> Option<Vec<u32>> {
+        let bytes = self.section(id)?;
+        Some(
+            bytes
+                .chunks_exact(4)
+                .map(|c| u32::from_le_bytes(c.try_into().unwrap()))
+                .collect(),
+        )
+    }
+
+    pub fn read_indices(&self, id: SectionId) -> Option<Vec<usize>> {
+        self.read_u32(id)
+            .map(|v| v.into_iter().map(|i| i as usize).collect())
+    }
+
+    pub fn read_flags(&self, id: SectionId) -> Option<Vec<bool>> {
+        self.read_u32(id).map(|v| v.into_iter().map(|f| f != 0).collect())
+    }
+
+    pub fn read_vertices(&self) -> Option<Vec<RuntimeVertex>> {
+        let floats = self.read_f32(SectionId::Vertices)?;
+        if floats.len() % VERTEX_FLOATS != 0 {
+            return None;
+        }
+        Some(
+            floats
+                .chunks_exact(VERTEX_FLOATS)
+                .map(|f| RuntimeVertex {
+                    position: Vec3::new(f[0], f[1], f[2]),
+                    normal: Vec3::new(f[3], f[4], f[5]),
+                    uv: Vec2::new(f[6], f[7]),
+                })
+                .collect(),
+        )
+    }
+
+    pub fn read_weights(&self) -> Option<Vec<VertexWeight>> {
+        let bytes = self.section(SectionId::Weights)?;
+        if bytes.len() % WEIGHT_RECORD_SIZE != 0 {
+            return None;
+        }
+        bytes.chunks_exact(WEIGHT_RECORD_SIZE).map(decode_weight).collect()
+    }
+
+    pub fn read_submeshes(&self) -> Option<Vec<SubMesh>> {
+        let bytes = self.section(SectionId::Submeshes)?;
+        if bytes.len() % SUBMESH_RECORD_SIZE != 0 {
+            return None;
+        }
+        Some(
+            bytes
+                .chunks_exact(SUBMESH_RECORD_SIZE)
+                .map(|r| {
+                    SubMesh::new(
+                        u32::from_le_bytes(r[0..4].try_into().unwrap()),
+                        u32::from_le_bytes(r[4..8].try_into().unwrap()),
+                        i32::from_le_bytes(r[8..12].try_into().unwrap()),
+                    )
+                })
+                .collect(),
+        )
+    }
+
+    /// 读取密集 Morph 表；索引越界或长度与顶点数不符时返回 None
+    pub fn read_dense_morph_table(
+        &self,
+        indices_id: SectionId,
+        offsets_id: SectionId,
+        vertex_count: usize,
+        components: usize,
+        morph_count: usize,
+    ) -> Option<(Vec<usize>, Vec<f32>)> {
+        let indices = self.read_indices(indices_id)?;
+        if indices.iter().any(|&i| i >= morph_count) {
+            return None;
+        }
+        let offsets = self.read_f32(offsets_id)?;
+        if offsets.len() != indices.len() * vertex_count * components {
+            return None;
+        }
+        Some((indices, offsets))
+    }
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+    use std::time::{Duration, SystemTime};
+
+    fn temp_source(name: &str, content: &[u8]) -> PathBuf {
+        let dir = std::env::temp_dir().join(format!("mmdcache_test_{}", std::process::id()));
+        fs::create_dir_all(&dir).unwrap();
+        let path = dir.join(name);
+        fs::write(&path, content).unwrap();
+        let _ = fs::remove_file(cache_path_for(&path));
+        path
+    }
+
+    fn write_sample_cache(source: &Path) {
+        let vertices = vec![
+            RuntimeVertex {
+                position: Vec3::new(1.0, 2.0, 3.0),
+                normal: Vec3::new(0.0, 1.0, 0.0),
+                uv: Vec2::new(0.25, 0.75),
+            },
+            RuntimeVertex {
+                position: Vec3::new(-1.0, 0.5, 2.0),
+                normal: Vec3::new(0.0, 0.0, 1.0),
+                uv: Vec2::new(1.0, 0.0),
+            },
+        ];
+        let weights = vec![
+            VertexWeight::Bdef2 {
+                bones: [3, 4],
+                weight: 0.25,
+            },
+            VertexWeight::Sdef {
+                bones: [1, 2],
+                weight: 0.5,
+                c: Vec3::new(0.1, 0.2, 0.3),
+                r0: Vec3::new(0.4, 0.5, 0.6),
+                r1: Vec3::new(0.7, 0.8, 0.9),
+            },
+        ];
+        let indices = [0u32, 1, 0];
+        let morph_offsets = [0.5f32; 6];
+        let fingerprint = SourceFingerprint::compute(source).unwrap();
+
+        let mut writer = CacheWriter::new(SourceFormat::Pmx);
+        writer.set_resume_offsets(40, 120);
+        writer.add_vertices(&vertices);
+        writer.add_u32(SectionId::Indices, &indices);
+        writer.add_weights(&weights);
+        writer.add_submeshes(&[SubMesh::new(0, 3, 0)]);
+        writer.add_indices(SectionId::VertexMorphIndices, &[2]);
+        writer.add_f32(SectionId::VertexMorphOffsets, &morph_offsets);
+        writer
+            .write_to(&cache_path_for(source), &fingerprint)
+            .unwrap();
+    }
+
+    #[test]
+    fn cache_should_roundtrip_sections() {
+        let source = temp_source("roundtrip.pmx", b"PMX source bytes");
+        write_sample_cache(&source);
+
+        let cache = ModelBinaryCache::open_valid(&source, SourceFormat::Pmx).unwrap();
+        assert_eq!(cache.header_end(), 40);
+        assert_eq!(cache.resume_offset(), 120);
+        assert!(cache.has_resume_offsets());
+
+        let vertices = cache.read_vertices().unwrap();
+        assert_eq!(vertices.len(), 2);
+        assert_eq!(vertices[1].position, Vec3::new(-1.0, 0.5, 2.0));
+        assert_eq!(vertices[0].uv, Vec2::new(0.25, 0.75));
+        assert_eq!(cache.read_u32(SectionId::Indices).unwrap(), vec![0, 1, 0]);
+
+        let weights = cache.read_weights().unwrap();
+        match &weights[1] {
+            VertexWeight::Sdef { bones, weight, r1, .. } => {
+                assert_eq!(*bones, [1, 2]);
+                assert_eq!(*weight, 0.5);
+                assert_eq!(*r1, Vec3::new(0.7, 0.8, 0.9));
+            }
+            other => panic!("unexpected weight {:?}", other),
+        }
+
+        let submeshes = cache.read_submeshes().unwrap();
+        assert_eq!(submeshes[0].index_count, 3);
+
+        let (morphs, offsets) = cache
+            .read_dense_morph_table(
+                SectionId::VertexMorphIndices,
+                SectionId::VertexMorphOffsets,
+                2,
+                3,
+                5,
+            )
+            .unwrap();
+        assert_eq!(morphs, vec![2]);
+        assert_eq!(offsets.len(), 6);
+        assert!(cache
+            .read_dense_morph_table(
+                SectionId::VertexMorphIndices,
+                SectionId::VertexMorphOffsets,
+                3,
+                3,
+                5,
+            )
+            .is_none());
+        assert!(cache.section(SectionId::UvMorphOffsets).is_none());
+    }
+
+    #[test]
+    fn cache_should_be_invalidated_when_source_changes() {
+        let source = temp_source("changed.pmx", b"PMX source bytes");
+        write_sample_cache(&source);
+        assert!(ModelBinaryCache::open_valid(&source, SourceFormat::Vrm).is_none());
+
+        fs::write(&source, b"PMX source bytes, edited").unwrap();
+        assert!(ModelBinaryCache::open_valid(&source, SourceFormat::Pmx).is_none());
+    }
+
+    #[test]
+    fn cache_should_survive_touch_when_content_is_unchanged() {
+        let source = temp_source("touched.pmx", b"PMX source bytes");
+        write_sample_cache(&source);
+
+        let file = fs::OpenOptions::new().write(true).open(&source).unwrap();
+        file.set_modified(SystemTime::now() + Duration::from_secs(60))
+            .unwrap();
+        drop(file);
+        assert!(ModelBinaryCache::open_valid(&source, SourceFormat::Pmx).is_some());
+
+        fs::write(&source, b"PMX source bytez").unwrap();
+        assert!(ModelBinaryCache::open_valid(&source, SourceFormat::Pmx).is_none());
+    }
+
+    #[test]
+    fn hash_match_should_store_new_mtime() {
+        let source = temp_source("retouched.pmx", b"PMX source bytes");
+        write_sample_cache(&source);
+
+        let file = fs::OpenOptions::new().write(true).open(&source).unwrap();
+        file.set_modified(SystemTime::now() + Duration::from_secs(60))
+            .unwrap();
+        drop(file);
+        let (_, mtime_ns) = stat_source(&source).unwrap();
+        let cache = ModelBinaryCache::open_valid(&source, SourceFormat::Pmx).unwrap();
+        assert_eq!(cache.fingerprint.mtime_ns, mtime_ns);
+        drop(cache);
+
+        let reopened = ModelBinaryCache::open_valid(&source, SourceFormat::Pmx).unwrap();
+        assert_eq!(reopened.fingerprint.mtime_ns, mtime_ns);
+        assert_eq!(reopened.read_u32(SectionId::Indices).unwrap(), vec![0, 1, 0]);
+    }
+
+    #[test]
+    fn concurrent_writers_should_use_distinct_temp_files() {
+        let cache_path = Path::new("model.pmx.mmdcache");
+        assert_ne!(temp_path_for(cache_path), temp_path_for(cache_path));
+    }
+}
@@ -1,8 +1,12 @@
 //! PMX 模型加载器
 
+use std::cell::Cell;
 use std::fs::File;
-use std::io::BufReader;
-use std::path::Path;
+use std::io::{self, BufReader, Cursor, Read, Seek, SeekFrom};
+use std::path::{Path, PathBuf};
+use std::rc::Rc;
+use std::sync::Arc;
+use std::time::Instant;
 
 use glam::{Vec2, Vec3, Vec4};
 use mmd::pmx::types::DefaultConfig;
@@ -16,23 +20,125 @@ use mmd::{
 use crate::skeleton::Bone;
 use crate::{MmdError, Result};
 
+use super::binary_cache::{self, ModelBinaryCache, SectionId, SourceFormat};
 use super::{MmdMaterial, MmdModel, RuntimeVertex, SubMesh, VertexWeight};
 
+/// 统计已被解析器消费的字节数，用于记录 PMX 各段在文件中的偏移
+struct CountingReader<R> {
+    inner: R,
+    position: Rc<Cell<u64>>,
+}
+
+impl<R: Read> Read for CountingReader<R> {
+    fn read(&mut self, buf: &mut [u8]) -> io::Result<usize> {
+        let n = self.inner.read(buf)?;
+        self.position.set(self.position.get() + n as u64);
+        Ok(n)
+    }
+}
+
+/// 缓存命中时替换解析结果的几何数据
+struct CachedGeometry {
+    vertices: Vec<RuntimeVertex>,
+    indices: Vec<u32>,
+    weights: Vec<VertexWeight>,
+}
+
+impl CachedGeometry {
+    fn read(cache: &ModelBinaryCache) -> Option<Self> {
+        let vertices = cache.read_vertices()?;
+        let weights = cache.read_weights()?;
+        let indices = cache.read_u32(SectionId::Indices)?;
+        let vertex_count = vertices.len() as u32;
+        if weights.len() != vertices.len() || indices.iter().any(|&i| i >= vertex_count) {
+            return None;
+        }
+        Some(Self {
+            vertices,
+            indices,
+            weights,
+        })
+    }
+}
+
+/// 带二进制缓存的 PMX 加载
+///
+/// 缓存有效时顶点与面直接取自缓存，文件只解析头部及纹理段之后的内容；
+/// 否则完整解析并回写缓存。
+pub fn load_pmx_cached<P: AsRef<Path>>(path: P) -> Result<MmdModel> {
+    let path = path.as_ref();
+    let started = Instant::now();
+
+    if let Some(cache) = ModelBinaryCache::open_valid(path, SourceFormat::Pmx) {
+        match load_pmx_from_cache(path, &cache) {
+            Ok(mut model) => {
+                model.attach_binary_cache(Arc::new(cache));
+                log::info!(
+                    "PMX 缓存命中: {} ({}ms)",
+                    path.display(),
+                    started.elapsed().as_millis()
+                );
+                return Ok(model);
+            }
+            Err(e) => log::warn!("PMX 缓存读取失败，回退完整解析: {}", e),
+        }
+    }
+
+    let file = File::open(path).map_err(MmdError::Io)?;
+    let (model, offsets) = parse_pmx(BufReader::new(file), path, None)?;
+    log::info!(
+        "PMX 完整解析: {} ({}ms)",
+        path.display(),
+        started.elapsed().as_millis()
+    );
+    binary_cache::store(path, SourceFormat::Pmx, &model, Some(offsets));
+    Ok(model)
+}
+
+/// 以“原始头部 + 零顶点 + 零面 + 纹理段起的剩余文件”拼接输入流，复用同一解析流程
+fn load_pmx_from_cache(path: &Path, cache: &ModelBinaryCache) -> Result<MmdModel> {
+    if !cache.has_resume_offsets() {
+        return Err(MmdError::PmxParse("缓存缺少段偏移".into()));
+    }
+    let geometry = CachedGeometry::read(cache)
+        .ok_or_else(|| MmdError::PmxParse("缓存几何数据损坏".into()))?;
+
+    let mut file = File::open(path).map_err(MmdError::Io)?;
+    let mut head = vec![0u8; cache.header_end() as usize];
+    file.read_exact(&mut head)?;
+    head.extend_from_slice(&0i32.to_le_bytes());
+    head.extend_from_slice(&0i32.to_le_bytes());
+    file.seek(SeekFrom::Start(cache.resume_offset()))?;
+
+    let reader = Cursor::new(head).chain(BufReader::new(file));
+    parse_pmx(reader, path, Some(geometry)).map(|(model, _)| model)
+}
+
 /// 从 PMX 文件加载模型
 pub fn load_pmx<P: AsRef<Path>>(path: P) -> Result<MmdModel> {
     let file = File::open(path.as_ref()).map_err(|e| MmdError::Io(e))?;
-    let mut reader = BufReader::new(file);
+    parse_pmx(BufReader::new(file), path.as_ref(), None).map(|(model, _)| model)
+}
+
+/// 解析 PMX 流，返回模型及（头部结束位置, 纹理段起始位置）
+fn parse_pmx<R: Read>(
+    reader: R,
+    path: &Path,
+    cached: Option<CachedGeometry>,
+) -> Result<(MmdModel, (u64, u64))> {
+    let position = Rc::new(Cell::new(0u64));
+    let reader = CountingReader {
+        inner: reader,
+        position: position.clone(),
+    };
 
     // 获取模型所在目录（用于组合纹理路径）
-    let model_dir = path
-        .as_ref()
-        .parent()
-        .map(|p| p.to_path_buf())
-        .unwrap_or_default();
+    let model_dir: PathBuf = path.parent().map(|p| p.to_path_buf()).unwrap_or_default();
 
     // 读取头部
-    let header_reader = HeaderReader::new(&mut reader)
+    let header_reader = HeaderReader::new(reader)
         .map_err(|e| MmdError::PmxParse(format!("Header error: {:?}", e)))?;
+    let header_end = position.get();
 
     let model_name = header_reader.model_local_name.clone();
 
@@ -74,6 +180,13 @@ pub fn load_pmx<P: AsRef<Path>>(path: P) -> Result<MmdModel> {
         indices.push(triangle[0] as u32);
     }
 
+    let resume_offset = position.get();
+    if let Some(geometry) = cached {
+        vertices = geometry.vertices;
+        indices = geometry.indices;
+        weights = geometry.weights;
+    }
+
     // 读取纹理（与C++版本一致，组合为完整路径）
     let mut texture_reader = TextureReader::new(surface_reader)
         .map_err(|e| MmdError::PmxParse(format!("Texture reader error: {:?}", e)))?;
@@ -224,7 +337,7 @@ pub fn load_pmx<P: AsRef<Path>>(path: P) -> Result<MmdModel> {
     // 初始化后立即计算一次蒙皮，确保顶点位置正确
     model.update();
 
-    Ok(model)
+    Ok((model, (header_end, resume_offset)))
 }
 
 #[allow(dead_code)]
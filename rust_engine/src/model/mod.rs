@@ -1,5 +1,6 @@
 //! MMD 模型运行时管理
 
+mod binary_cache;
 mod loader;
 mod material;
 mod runtime;
@@ -13,9 +14,9 @@ mod vrm_mesh;
 mod vrm_morph;
 mod vrm_skeleton;
 
-pub use loader::load_pmx;
+pub use loader::{load_pmx, load_pmx_cached};
 pub use material::MmdMaterial;
-pub use runtime::{MmdModel, ModelVrDebugSnapshot};
+pub use runtime::{tick_models_parallel, MmdModel, ModelVrDebugSnapshot};
 pub use submesh::SubMesh;
 pub use vrm_extensions::{
     ColliderShape, ConstraintAxis, ExpressionOverride, FirstPersonConfig,
@@ -24,7 +25,7 @@ pub use vrm_extensions::{
     SpringBoneData, SpringBoneJoint, SpringBoneSpring, VrmExpressionClip, VrmExpressions,
     VrmExtensions, VrmVersion,
 };
-pub use vrm_loader::{load_vrm, load_vrm_with_extensions, LoadedVrmModel};
+pub use vrm_loader::{load_vrm, load_vrm_cached, load_vrm_with_extensions, LoadedVrmModel};
 pub(crate) use vrm_morph::vrm_expression_to_mmd;
 
 use glam::{Vec2, Vec3};
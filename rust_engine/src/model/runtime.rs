@@ -2,8 +2,12 @@
 
 use crate::animation::{AnimationLayerManager, VmdAnimation};
 use crate::morph::MorphManager;
-use crate::physics::MMDPhysics;
+use crate::physics::scheduler::schedule_order;
+use crate::physics::{
+    MMDPhysics, PhysicsLod, PhysicsPoseHistory, PhysicsRateGate, PhysicsStepStats,
+};
 use crate::skeleton::BoneManager;
+use crate::skinning::SoaSkinning;
 use crate::vr::{VrDebugState, VrIkSolver, VrTrackingFrame};
 use crate::vrm_runtime::{
     pmx_controller_hand_tracking_calibration, resolve_java_tracking_frame_for_model,
@@ -15,9 +19,10 @@ use crate::vrm_runtime::{
 use glam::{Mat4, Quat, Vec2, Vec3, Vec4};
 use rayon::prelude::*;
 use std::collections::{HashMap, HashSet};
-use std::sync::Arc;
-use std::time::{SystemTime, UNIX_EPOCH};
+use std::sync::{Arc, Mutex};
+use std::time::{Instant, SystemTime, UNIX_EPOCH};
 
+use super::binary_cache::{ModelBinaryCache, SectionId};
 use super::VrmExtensions;
 use super::{MmdMaterial, RuntimeVertex, SubMesh, VertexWeight};
 
@@ -26,6 +31,9 @@ thread_local! {
     static PRNG_STATE: std::cell::Cell<u32> = std::cell::Cell::new(0);
 }
 
+/// 姿势比较容差：蒙皮矩阵各元素与 Morph 权重的变化都不超过该值时视为姿势未变化
+const POSE_EPSILON: f32 = 1e-5;
+
 #[derive(Clone, Copy, Debug, Default)]
 pub struct ModelVrDebugSnapshot {
     pub head_local_model: Vec3,
@@ -40,6 +48,52 @@ pub struct ModelVrDebugSnapshot {
     pub right_wrist_error_cm: f32,
 }
 
+/// 由顶点权重构建 GPU 蒙皮使用的骨骼索引/权重数组（每顶点 4 个）
+pub(crate) fn build_gpu_bone_arrays(
+    weights: &[VertexWeight],
+    vertex_count: usize,
+) -> (Vec<i32>, Vec<f32>) {
+    let mut bone_indices = vec![-1; vertex_count * 4];
+    let mut bone_weights = vec![0.0; vertex_count * 4];
+
+    for (i, weight) in weights.iter().enumerate().take(vertex_count) {
+        let base = i * 4;
+        match weight {
+            VertexWeight::Bdef1 { bone } => {
+                bone_indices[base] = *bone;
+                bone_weights[base] = 1.0;
+            }
+            VertexWeight::Bdef2 { bones, weight } => {
+                bone_indices[base] = bones[0];
+                bone_indices[base + 1] = bones[1];
+                bone_weights[base] = *weight;
+                bone_weights[base + 1] = 1.0 - *weight;
+            }
+            VertexWeight::Bdef4 { bones, weights } => {
+                for j in 0..4 {
+                    bone_indices[base + j] = bones[j];
+                    bone_weights[base + j] = weights[j];
+                }
+            }
+            VertexWeight::Sdef { bones, weight, .. } => {
+                // SDEF 退化为 BDEF2
+                bone_indices[base] = bones[0];
+                bone_indices[base + 1] = bones[1];
+                bone_weights[base] = *weight;
+                bone_weights[base + 1] = 1.0 - *weight;
+            }
+            VertexWeight::Qdef { bones, weights } => {
+                for j in 0..4 {
+                    bone_indices[base + j] = bones[j];
+                    bone_weights[base + j] = weights[j];
+                }
+            }
+        }
+    }
+
+    (bone_indices, bone_weights)
+}
+
 /// 线程安全的伪随机数生成（0.0 - 1.0），使用 xorshift32
 fn rand_float() -> f32 {
     PRNG_STATE.with(|cell| {
@@ -73,6 +127,7 @@ pub struct MmdModel {
     pub joints: Vec<mmd::pmx::joint::Joint>,
 
     // 运行时数据
+    /// 已应用 Morph、未蒙皮的顶点位置（蒙皮输入）
     pub update_positions: Vec<Vec3>,
     pub update_normals: Vec<Vec3>,
     pub update_uvs: Vec<Vec2>,
@@ -80,6 +135,15 @@ pub struct MmdModel {
     pub update_positions_raw: Vec<f32>,
     pub update_normals_raw: Vec<f32>,
     pub update_uvs_raw: Vec<f32>,
+    /// 蒙皮输出版本号，每次 CPU 蒙皮后递增（帧快照据此判断顶点段是否变化）
+    vertex_revision: u64,
+    /// CPU 蒙皮的 SoA 权重布局，首次蒙皮时构建
+    soa_skinning: Option<SoaSkinning>,
+    /// 上次发布（输出给渲染端）的蒙皮矩阵与 Morph 权重，用于判断姿势是否变化
+    published_skinning_matrices: Vec<Mat4>,
+    published_morph_weights: Vec<f32>,
+    /// 上次发布时是否执行了 CPU 蒙皮；None 表示尚未发布或需强制重新发布
+    published_cpu_skinning: Option<bool>,
 
     // 子系统
     pub bone_manager: BoneManager,
@@ -126,6 +190,13 @@ pub struct MmdModel {
     physics_enabled: bool,
     /// 骨骼变换缓冲区（避免每帧堆分配）
     physics_bone_transforms_buf: Vec<Mat4>,
+    /// 物理步进耗时统计（同步刚体 + 步进 + 回写骨骼）
+    physics_step_stats: PhysicsStepStats,
+    /// 物理细节等级：降频步进或冻结
+    physics_lod: PhysicsLod,
+    physics_rate_gate: PhysicsRateGate,
+    /// 最近两次模拟的物理骨骼局部姿势，用于降频插值与冻结
+    physics_pose_history: PhysicsPoseHistory,
 
     // 材质可见性控制（用于脱外套等功能）
     material_visible: Vec<bool>,
@@ -174,6 +245,9 @@ pub struct MmdModel {
     // VPD 骨骼姿势覆盖（骨骼索引 -> (位移, 旋转)）
     vpd_bone_overrides: HashMap<usize, (Vec3, Quat)>,
 
+    /// 远端玩家网络同步的本地骨骼姿势（非空时覆盖本地动画求值结果）
+    synced_bone_pose: Vec<(usize, Vec3, Quat)>,
+
     // ======== 第一人称模式 ========
     /// 第一人称模式是否启用
     first_person_enabled: bool,
@@ -221,6 +295,9 @@ pub struct MmdModel {
     transition_duration: f32,
     /// 是否正在过渡
     is_transitioning: bool,
+
+    /// 二进制预处理缓存（命中时 GPU 蒙皮/Morph 数据直接从映射文件读取）
+    binary_cache: Option<Arc<ModelBinaryCache>>,
 }
 
 impl MmdModel {
@@ -270,6 +347,10 @@ impl MmdModel {
             physics: None,
             physics_enabled: false,
             physics_bone_transforms_buf: Vec::new(),
+            physics_step_stats: PhysicsStepStats::default(),
+            physics_lod: PhysicsLod::Full,
+            physics_rate_gate: PhysicsRateGate::default(),
+            physics_pose_history: PhysicsPoseHistory::default(),
             material_visible: Vec::new(),
             user_material_visible: Vec::new(),
             bone_indices: Vec::new(),
@@ -289,6 +370,7 @@ impl MmdModel {
             effective_weights_buf: Vec::new(),
             material_morph_results_flat_cache: Vec::new(),
             vpd_bone_overrides: HashMap::new(),
+            synced_bone_pose: Vec::new(),
             vr_hand_mode: 0,
             hand_submesh_flags: Vec::new(),
             hand_detection_initialized: false,
@@ -302,15 +384,26 @@ impl MmdModel {
             transition_progress: 0.0,
             transition_duration: 0.0,
             is_transitioning: false,
+            vertex_revision: 0,
+            soa_skinning: None,
+            published_skinning_matrices: Vec::new(),
+            published_morph_weights: Vec::new(),
+            published_cpu_skinning: None,
             first_person_enabled: false,
             head_bone_index: None,
             head_submesh_flags: Vec::new(),
             head_detection_initialized: false,
             eye_bone_index: None,
             eye_bone_pair: None,
+            binary_cache: None,
         }
     }
 
+    /// 关联已校验的二进制缓存
+    pub(crate) fn attach_binary_cache(&mut self, cache: Arc<ModelBinaryCache>) {
+        self.binary_cache = Some(cache);
+    }
+
     /// 获取顶点数量
     pub fn vertex_count(&self) -> usize {
         self.vertices.len()
@@ -875,11 +968,11 @@ impl MmdModel {
 
     /// 更新 Morph 动画
     pub fn update_morph_animation(&mut self) {
-        // 先将 update_positions 重置为原始顶点位置（因为 apply_morphs 是累加操作）
-        for (i, vertex) in self.vertices.iter().enumerate() {
-            if i < self.update_positions.len() {
-                self.update_positions[i] = vertex.position;
-            }
+        // 基础位置只在首次（或顶点数变化时）交给 MorphManager，此后顶点 Morph 按权重增量更新，
+        // apply_morphs 会把变形后的位置整体写回 update_positions
+        if self.morph_manager.base_vertex_count() != self.vertices.len() {
+            self.morph_manager
+                .set_base_positions(self.vertices.iter().map(|v| v.position).collect());
         }
         // 应用所有 Morph 变形（顶点/骨骼/材质/UV/Group）
         self.morph_manager
@@ -926,52 +1019,50 @@ impl MmdModel {
                 chunk[1] = uv.y;
             });
 
-        // 并行蒙皮计算
-        let vertices = &self.vertices;
-        let weights = &self.weights;
-
-        // 将输出切片分块，每个顶点对应 3 个 f32
-        let pos_raw = &mut self.update_positions_raw;
-        let norm_raw = &mut self.update_normals_raw;
-        let positions = &mut self.update_positions;
-        let normals = &mut self.update_normals;
-
-        // 并行计算所有顶点（使用已应用 Morph 的 update_positions）
-        positions
-            .par_iter_mut()
-            .zip(normals.par_iter_mut())
-            .zip(pos_raw.par_chunks_mut(3))
-            .zip(norm_raw.par_chunks_mut(3))
-            .zip(vertices.par_iter())
-            .zip(weights.par_iter())
-            .for_each(
-                |(((((pos_out, norm_out), pos_chunk), norm_chunk), vertex), weight)| {
-                    // 使用 pos_out（即 update_positions，已应用 Morph）作为蒙皮输入
-                    let morph_position = *pos_out;
-                    let (pos, norm) = compute_vertex_skinning(
-                        morph_position, // 使用已应用 Morph 的位置
-                        vertex.normal,
-                        weight,
-                        &bone_matrices,
-                    );
-
-                    *pos_out = pos;
-                    *norm_out = norm;
-
-                    pos_chunk[0] = pos.x;
-                    pos_chunk[1] = pos.y;
-                    pos_chunk[2] = pos.z;
-                    norm_chunk[0] = norm.x;
-                    norm_chunk[1] = norm.y;
-                    norm_chunk[2] = norm.z;
-                },
+        // SoA 权重布局只依赖权重与静止法线，首次（或顶点数变化时）构建
+        let skinned_count = vertex_count.min(self.weights.len());
+        if self
+            .soa_skinning
+            .as_ref()
+            .map_or(true, |skinning| skinning.vertex_count() != skinned_count)
+        {
+            let rest_normals: Vec<Vec3> = self.vertices.iter().map(|v| v.normal).collect();
+            self.soa_skinning = Some(SoaSkinning::new(&self.weights, &rest_normals));
+        }
+
+        // 分组 SIMD 蒙皮，结果直接写入 JNI/渲染导出缓冲区
+        if let Some(skinning) = self.soa_skinning.as_mut() {
+            skinning.prepare_matrices(bone_matrices);
+            skinning.skin(
+                &self.update_positions,
+                &mut self.update_positions_raw,
+                &mut self.update_normals_raw,
+                true,
             );
 
+            // SDEF 单独走标量通道，覆盖分组内核中的占位结果
+            for &vertex in skinning.sdef_vertices() {
+                let v = vertex as usize;
+                let Some(&position) = self.update_positions.get(v) else {
+                    continue;
+                };
+                let (pos, norm) = compute_vertex_skinning(
+                    position,
+                    self.vertices[v].normal,
+                    &self.weights[v],
+                    bone_matrices,
+                );
+                self.update_positions_raw[v * 3..v * 3 + 3].copy_from_slice(&pos.to_array());
+                self.update_normals_raw[v * 3..v * 3 + 3].copy_from_slice(&norm.to_array());
+            }
+        }
+        self.vertex_revision = self.vertex_revision.wrapping_add(1);
+
         // 调试日志（只在首次执行）
         if !self.debug_logged {
             self.debug_logged = true;
             log::info!(
-                "MMD Debug: vertex_count={}, pos_raw_len={}, uv_raw_len={} (rayon并行蒙皮)",
+                "MMD Debug: vertex_count={}, pos_raw_len={}, uv_raw_len={} (SoA 分组并行蒙皮)",
                 vertex_count,
                 self.update_positions_raw.len(),
                 self.update_uvs_raw.len(),
@@ -1162,10 +1253,11 @@ impl MmdModel {
     }
 
     /// 更新动画（每帧调用）- 多动画层版本（CPU蒙皮模式）
+    ///
+    /// 返回姿势是否变化；未变化时跳过蒙皮，顶点版本号保持不变
     #[allow(unreachable_code)]
-    pub fn tick_animation(&mut self, elapsed: f32) {
-        self.tick_animation_internal(elapsed, true);
-        return;
+    pub fn tick_animation(&mut self, elapsed: f32) -> bool {
+        return self.tick_animation_internal(elapsed, true);
         // 更新所有动画层
         self.animation_layer_manager.update(elapsed);
 
@@ -1639,52 +1731,131 @@ impl MmdModel {
         count
     }
 
-    // ========== GPU 蒙皮相关方法 ==========
+    // ========== 帧快照（CPU 蒙皮单次拉取）==========
 
-    /// 初始化 GPU 蒙皮数据（模型加载后调用）
-    pub fn init_gpu_skinning_data(&mut self) {
+    /// 帧快照所需缓冲区大小（字节）
+    pub fn frame_snapshot_size(&self) -> usize {
+        frame_snapshot_layout(
+            self.vertices.len(),
+            self.submeshes.len(),
+            self.get_material_morph_result_count(),
+        )
+        .total
+    }
+
+    /// 在一次加锁内写出渲染所需的全部动态数据，替代逐缓冲区的 JNI 拉取
+    ///
+    /// 头部布局（32 字节，小端）：
+    /// - offset  0: u32 格式版本（FRAME_SNAPSHOT_VERSION）
+    /// - offset  4: u32 本次写入的段标志（FRAME_SNAPSHOT_*）
+    /// - offset  8: u64 蒙皮版本号（输入：调用方已持有的版本；输出：当前版本）
+    /// - offset 16: i32 顶点数
+    /// - offset 20: i32 子网格数
+    /// - offset 24: i32 材质 Morph 结果数
+    /// - offset 28: u32 跳过掩码（仅输入：调用方自行拉取的段，例如持久映射顶点流）
+    ///
+    /// 之后依次为 positions(v*12) / normals(v*12) / uvs(v*8) / 子网格表(s*20) / 材质 Morph(m*224)，
+    /// 各段偏移只由三个计数决定。顶点段仅在版本号变化时写入，未置位的段保持原内容。
+    ///
+    /// 返回段标志；缓冲区不足或格式不匹配时返回 None
+    pub fn write_frame_snapshot(&mut self, output: &mut [u8]) -> Option<u32> {
         let vertex_count = self.vertices.len();
+        let submesh_count = self.submeshes.len();
+        let morph_count = self.get_material_morph_result_count();
+        let layout = frame_snapshot_layout(vertex_count, submesh_count, morph_count);
+        if output.len() < layout.total {
+            return None;
+        }
 
-        // 初始化骨骼索引和权重缓冲区（每顶点 4 个）
-        self.bone_indices = vec![-1; vertex_count * 4];
-        self.bone_weights = vec![0.0; vertex_count * 4];
+        let known_revision = u64::from_le_bytes(output[8..16].try_into().ok()?);
+        let skip_mask = u32::from_le_bytes(output[28..32].try_into().ok()?);
+        let mut flags = 0u32;
 
-        // 从权重数据填充
-        for (i, weight) in self.weights.iter().enumerate() {
-            let base = i * 4;
-            match weight {
-                VertexWeight::Bdef1 { bone } => {
-                    self.bone_indices[base] = *bone;
-                    self.bone_weights[base] = 1.0;
-                }
-                VertexWeight::Bdef2 { bones, weight } => {
-                    self.bone_indices[base] = bones[0];
-                    self.bone_indices[base + 1] = bones[1];
-                    self.bone_weights[base] = *weight;
-                    self.bone_weights[base + 1] = 1.0 - *weight;
-                }
-                VertexWeight::Bdef4 { bones, weights } => {
-                    for j in 0..4 {
-                        self.bone_indices[base + j] = bones[j];
-                        self.bone_weights[base + j] = weights[j];
-                    }
-                }
-                VertexWeight::Sdef { bones, weight, .. } => {
-                    // SDEF 退化为 BDEF2
-                    self.bone_indices[base] = bones[0];
-                    self.bone_indices[base + 1] = bones[1];
-                    self.bone_weights[base] = *weight;
-                    self.bone_weights[base + 1] = 1.0 - *weight;
-                }
-                VertexWeight::Qdef { bones, weights } => {
-                    for j in 0..4 {
-                        self.bone_indices[base + j] = bones[j];
-                        self.bone_weights[base + j] = weights[j];
-                    }
-                }
+        let raw_len = vertex_count * 3;
+        if known_revision != self.vertex_revision
+            && skip_mask & (FRAME_SNAPSHOT_POSITIONS | FRAME_SNAPSHOT_NORMALS) == 0
+            && self.update_positions_raw.len() == raw_len
+            && self.update_normals_raw.len() == raw_len
+        {
+            copy_f32_section(&self.update_positions_raw, &mut output[layout.positions..]);
+            copy_f32_section(&self.update_normals_raw, &mut output[layout.normals..]);
+            flags |= FRAME_SNAPSHOT_POSITIONS | FRAME_SNAPSHOT_NORMALS;
+
+            if self.uv_morph_count > 0
+                && skip_mask & FRAME_SNAPSHOT_UVS == 0
+                && self.update_uvs_raw.len() == vertex_count * 2
+            {
+                copy_f32_section(&self.update_uvs_raw, &mut output[layout.uvs..]);
+                flags |= FRAME_SNAPSHOT_UVS;
             }
         }
 
+        if self.batch_get_sub_mesh_data(&mut output[layout.submeshes..]) == submesh_count {
+            flags |= FRAME_SNAPSHOT_SUBMESHES;
+        }
+
+        if morph_count > 0 {
+            let flat = self.get_material_morph_results_flat();
+            copy_f32_section(flat, &mut output[layout.material_morphs..]);
+            flags |= FRAME_SNAPSHOT_MATERIAL_MORPHS;
+        }
+
+        output[0..4].copy_from_slice(&FRAME_SNAPSHOT_VERSION.to_le_bytes());
+        output[4..8].copy_from_slice(&flags.to_le_bytes());
+        output[8..16].copy_from_slice(&self.vertex_revision.to_le_bytes());
+        output[16..20].copy_from_slice(&(vertex_count as i32).to_le_bytes());
+        output[20..24].copy_from_slice(&(submesh_count as i32).to_le_bytes());
+        output[24..28].copy_from_slice(&(morph_count as i32).to_le_bytes());
+        Some(flags)
+    }
+
+    /// 将蒙皮输出直接写入调用方提供的顶点流（持久映射显存），返回写入的版本号
+    ///
+    /// 尚未执行过 CPU 蒙皮或目标长度不足时不写入并返回 None，调用方继续使用原槽位。
+    pub fn write_vertex_streams(
+        &self,
+        positions: &mut [u8],
+        normals: &mut [u8],
+        uvs: Option<&mut [u8]>,
+    ) -> Option<u64> {
+        let vertex_count = self.vertices.len();
+        let raw_len = vertex_count * 3;
+        if self.update_positions_raw.len() != raw_len
+            || self.update_normals_raw.len() != raw_len
+            || positions.len() < raw_len * 4
+            || normals.len() < raw_len * 4
+        {
+            return None;
+        }
+
+        copy_f32_section(&self.update_positions_raw, positions);
+        copy_f32_section(&self.update_normals_raw, normals);
+        if let Some(uvs) = uvs {
+            if self.update_uvs_raw.len() == vertex_count * 2 && uvs.len() >= vertex_count * 8 {
+                copy_f32_section(&self.update_uvs_raw, uvs);
+            }
+        }
+        Some(self.vertex_revision)
+    }
+
+    // ========== GPU 蒙皮相关方法 ==========
+
+    /// 初始化 GPU 蒙皮数据（模型加载后调用）
+    pub fn init_gpu_skinning_data(&mut self) {
+        let vertex_count = self.vertices.len();
+
+        // 初始化骨骼索引和权重缓冲区（每顶点 4 个），缓存命中时直接读取
+        let cached = self.binary_cache.as_ref().and_then(|cache| {
+            let indices = cache.read_i32(SectionId::BoneIndices)?;
+            let weights = cache.read_f32(SectionId::BoneWeights)?;
+            (indices.len() == vertex_count * 4 && weights.len() == vertex_count * 4)
+                .then_some((indices, weights))
+        });
+        let (bone_indices, bone_weights) =
+            cached.unwrap_or_else(|| build_gpu_bone_arrays(&self.weights, vertex_count));
+        self.bone_indices = bone_indices;
+        self.bone_weights = bone_weights;
+
         // 初始化原始顶点数据（未蒙皮）
         self.original_positions = Vec::with_capacity(vertex_count * 3);
         self.original_normals = Vec::with_capacity(vertex_count * 3);
@@ -1795,22 +1966,17 @@ impl MmdModel {
             return;
         }
 
-        let vertex_count = self.vertices.len();
-
-        // 收集所有顶点类型的 Morph 索引
-        self.vertex_morph_indices = (0..self.morph_manager.morph_count())
-            .filter_map(|i| {
-                let morph = self.morph_manager.get_morph(i)?;
-                if morph.morph_type == crate::morph::MorphType::Vertex
-                    && !morph.vertex_offsets.is_empty()
-                {
-                    Some(i)
-                } else {
-                    None
-                }
-            })
-            .collect();
-
+        let cached = self.binary_cache.as_ref().and_then(|cache| {
+            cache.read_dense_morph_table(
+                SectionId::VertexMorphIndices,
+                SectionId::VertexMorphOffsets,
+                self.vertices.len(),
+                3,
+                self.morph_manager.morph_count(),
+            )
+        });
+        let (indices, offsets) = cached.unwrap_or_else(|| self.build_dense_vertex_morph_table());
+        self.vertex_morph_indices = indices;
         self.vertex_morph_count = self.vertex_morph_indices.len();
 
         if self.vertex_morph_count == 0 {
@@ -1819,33 +1985,80 @@ impl MmdModel {
             return;
         }
 
-        // 分配密集格式的偏移数据：morph_count * vertex_count * 3 (xyz)
-        let total_floats = self.vertex_morph_count * vertex_count * 3;
-        self.gpu_morph_offsets = vec![0.0f32; total_floats];
+        let total_floats = offsets.len();
+        self.gpu_morph_offsets = offsets;
         self.gpu_morph_weights = vec![0.0f32; self.vertex_morph_count];
 
-        // 填充稀疏数据到密集格式
-        for (morph_idx, &global_morph_idx) in self.vertex_morph_indices.iter().enumerate() {
+        self.gpu_morph_initialized = true;
+        log::info!(
+            "GPU Morph 数据初始化完成: {} 个顶点 Morph, 数据大小 {:.2} MB",
+            self.vertex_morph_count,
+            (total_floats * 4) as f64 / 1024.0 / 1024.0
+        );
+    }
+
+    /// 构建顶点 Morph 密集偏移表（稀疏→密集：morph_count * vertex_count * 3）
+    pub(crate) fn build_dense_vertex_morph_table(&self) -> (Vec<usize>, Vec<f32>) {
+        let vertex_count = self.vertices.len();
+
+        // 收集所有顶点类型的 Morph 索引
+        let indices: Vec<usize> = (0..self.morph_manager.morph_count())
+            .filter(|&i| {
+                self.morph_manager.get_morph(i).map_or(false, |morph| {
+                    morph.morph_type == crate::morph::MorphType::Vertex
+                        && !morph.vertex_offsets.is_empty()
+                })
+            })
+            .collect();
+
+        let mut offsets = vec![0.0f32; indices.len() * vertex_count * 3];
+        for (morph_idx, &global_morph_idx) in indices.iter().enumerate() {
             if let Some(morph) = self.morph_manager.get_morph(global_morph_idx) {
                 let base_offset = morph_idx * vertex_count * 3;
                 for offset in &morph.vertex_offsets {
                     let vid = offset.vertex_index as usize;
                     if vid < vertex_count {
                         let idx = base_offset + vid * 3;
-                        self.gpu_morph_offsets[idx] = offset.offset.x;
-                        self.gpu_morph_offsets[idx + 1] = offset.offset.y;
-                        self.gpu_morph_offsets[idx + 2] = offset.offset.z;
+                        offsets[idx] = offset.offset.x;
+                        offsets[idx + 1] = offset.offset.y;
+                        offsets[idx + 2] = offset.offset.z;
                     }
                 }
             }
         }
+        (indices, offsets)
+    }
 
-        self.gpu_morph_initialized = true;
-        log::info!(
-            "GPU Morph 数据初始化完成: {} 个顶点 Morph, 数据大小 {:.2} MB",
-            self.vertex_morph_count,
-            (total_floats * 4) as f64 / 1024.0 / 1024.0
-        );
+    /// 构建 UV Morph 密集偏移表（稀疏→密集：uv_morph_count * vertex_count * 2）
+    pub(crate) fn build_dense_uv_morph_table(&self) -> (Vec<usize>, Vec<f32>) {
+        let vertex_count = self.vertices.len();
+
+        // 收集所有 UV 类型的 Morph 索引
+        let indices: Vec<usize> = (0..self.morph_manager.morph_count())
+            .filter(|&i| {
+                self.morph_manager.get_morph(i).map_or(false, |morph| {
+                    (morph.morph_type == crate::morph::MorphType::Uv
+                        || morph.morph_type == crate::morph::MorphType::AdditionalUv1)
+                        && !morph.uv_offsets.is_empty()
+                })
+            })
+            .collect();
+
+        let mut offsets = vec![0.0f32; indices.len() * vertex_count * 2];
+        for (morph_idx, &global_morph_idx) in indices.iter().enumerate() {
+            if let Some(morph) = self.morph_manager.get_morph(global_morph_idx) {
+                let base_offset = morph_idx * vertex_count * 2;
+                for offset in &morph.uv_offsets {
+                    let vid = offset.vertex_index as usize;
+                    if vid < vertex_count {
+                        let idx = base_offset + vid * 2;
+                        offsets[idx] = offset.offset.x;
+                        offsets[idx + 1] = offset.offset.y;
+                    }
+                }
+            }
+        }
+        (indices, offsets)
     }
 
     /// 计算并缓存所有 Morph 的有效权重（递归展开 Group/Flip）
@@ -1911,23 +2124,17 @@ impl MmdModel {
             return;
         }
 
-        let vertex_count = self.vertices.len();
-
-        // 收集所有 UV 类型的 Morph 索引
-        self.uv_morph_indices = (0..self.morph_manager.morph_count())
-            .filter_map(|i| {
-                let morph = self.morph_manager.get_morph(i)?;
-                if (morph.morph_type == crate::morph::MorphType::Uv
-                    || morph.morph_type == crate::morph::MorphType::AdditionalUv1)
-                    && !morph.uv_offsets.is_empty()
-                {
-                    Some(i)
-                } else {
-                    None
-                }
-            })
-            .collect();
-
+        let cached = self.binary_cache.as_ref().and_then(|cache| {
+            cache.read_dense_morph_table(
+                SectionId::UvMorphIndices,
+                SectionId::UvMorphOffsets,
+                self.vertices.len(),
+                2,
+                self.morph_manager.morph_count(),
+            )
+        });
+        let (indices, offsets) = cached.unwrap_or_else(|| self.build_dense_uv_morph_table());
+        self.uv_morph_indices = indices;
         self.uv_morph_count = self.uv_morph_indices.len();
 
         if self.uv_morph_count == 0 {
@@ -1936,26 +2143,10 @@ impl MmdModel {
             return;
         }
 
-        // 分配密集格式的偏移数据：uv_morph_count * vertex_count * 2 (uv)
-        let total_floats = self.uv_morph_count * vertex_count * 2;
-        self.gpu_uv_morph_offsets = vec![0.0f32; total_floats];
+        let total_floats = offsets.len();
+        self.gpu_uv_morph_offsets = offsets;
         self.gpu_uv_morph_weights = vec![0.0f32; self.uv_morph_count];
 
-        // 填充稀疏数据到密集格式
-        for (morph_idx, &global_morph_idx) in self.uv_morph_indices.iter().enumerate() {
-            if let Some(morph) = self.morph_manager.get_morph(global_morph_idx) {
-                let base_offset = morph_idx * vertex_count * 2;
-                for offset in &morph.uv_offsets {
-                    let vid = offset.vertex_index as usize;
-                    if vid < vertex_count {
-                        let idx = base_offset + vid * 2;
-                        self.gpu_uv_morph_offsets[idx] = offset.offset.x;
-                        self.gpu_uv_morph_offsets[idx + 1] = offset.offset.y;
-                    }
-                }
-            }
-        }
-
         self.gpu_uv_morph_initialized = true;
         log::info!(
             "GPU UV Morph 数据初始化完成: {} 个 UV Morph, 数据大小 {:.2} KB",
@@ -2137,11 +2328,29 @@ impl MmdModel {
         }
     }
 
-    /// 仅更新动画（不执行 CPU 蒙皮，用于 GPU 蒙皮模式）
+    // ========== 网络骨骼姿势同步 ==========
+
+    /// 设置远端同步姿势，空切片表示恢复本地动画驱动
+    pub fn set_synced_bone_pose(&mut self, poses: &[(usize, Vec3, Quat)]) {
+        self.synced_bone_pose.clear();
+        self.synced_bone_pose.extend_from_slice(poses);
+    }
+
+    /// 按骨骼顺序写出本地姿势，每骨骼 7 个 float（tx, ty, tz, qx, qy, qz, qw）
+    pub fn copy_local_bone_pose(&self, out: &mut [f32]) -> usize {
+        let count = self.bone_manager.bone_count().min(out.len() / 7);
+        for i in 0..count {
+            if let Some((t, r)) = self.bone_manager.local_pose(i) {
+                out[i * 7..i * 7 + 7].copy_from_slice(&[t.x, t.y, t.z, r.x, r.y, r.z, r.w]);
+            }
+        }
+        count
+    }
+
+    /// 仅更新动画（不执行 CPU 蒙皮，用于 GPU 蒙皮模式），返回姿势是否变化
     #[allow(unreachable_code)]
-    pub fn tick_animation_no_skinning(&mut self, elapsed: f32) {
-        self.tick_animation_internal(elapsed, false);
-        return;
+    pub fn tick_animation_no_skinning(&mut self, elapsed: f32) -> bool {
+        return self.tick_animation_internal(elapsed, false);
         self.animation_layer_manager.update(elapsed);
         self.begin_animation();
 
@@ -2209,10 +2418,11 @@ impl MmdModel {
         // 注意：不调用 self.update()，跳过 CPU 蒙皮
     }
 
-    // ========== 物理系统方法 ==========
-
-    /// 初始化物理系统（Bullet3）
-    fn tick_animation_internal(&mut self, elapsed: f32, cpu_skinning: bool) {
+    /// 单帧动画求值：动画层、IK、表情与物理依次更新后发布姿势
+    ///
+    /// cpu_skinning 为 true 时姿势变化才执行 CPU 蒙皮，否则同步 GPU 蒙皮所需的 Morph 权重；
+    /// 返回姿势是否变化。
+    fn tick_animation_internal(&mut self, elapsed: f32, cpu_skinning: bool) -> bool {
         self.with_vrm_runtime_state(|model, runtime_state| {
             runtime_state.apply_inputs(model);
         });
@@ -2263,6 +2473,10 @@ impl MmdModel {
             self.vr_debug_state = VrDebugState::default();
         }
 
+        if !self.synced_bone_pose.is_empty() {
+            self.bone_manager.apply_local_poses(&self.synced_bone_pose);
+        }
+
         self.with_vrm_runtime_state(|model, runtime_state| {
             runtime_state.process_post_ik(model, elapsed);
         });
@@ -2282,8 +2496,11 @@ impl MmdModel {
 
         self.apply_transition_blend(elapsed);
 
+        let pose_changed = self.publish_pose_if_changed(cpu_skinning);
         if cpu_skinning {
-            self.update();
+            if pose_changed {
+                self.update();
+            }
         } else if !self.debug_logged && physics_enabled {
             self.debug_logged = true;
             if let Some(ref physics) = self.physics {
@@ -2300,8 +2517,45 @@ impl MmdModel {
             }
             */
         }
+        pose_changed
     }
 
+    /// 与上次发布的姿势比较，有变化（或首次、蒙皮模式切换）时记录为新的发布姿势并返回 true
+    fn publish_pose_if_changed(&mut self, cpu_skinning: bool) -> bool {
+        let matrices = self.bone_manager.get_skinning_matrices();
+        let morph_count = self.morph_manager.morph_count();
+        let unchanged = self.published_cpu_skinning == Some(cpu_skinning)
+            && self.published_skinning_matrices.len() == matrices.len()
+            && self.published_morph_weights.len() == morph_count
+            && matrices
+                .iter()
+                .zip(&self.published_skinning_matrices)
+                .all(|(current, published)| current.abs_diff_eq(*published, POSE_EPSILON))
+            && self
+                .published_morph_weights
+                .iter()
+                .enumerate()
+                .all(|(i, published)| {
+                    (self.morph_manager.get_morph_weight(i) - published).abs() <= POSE_EPSILON
+                });
+        if unchanged {
+            return false;
+        }
+
+        self.published_skinning_matrices.clear();
+        self.published_skinning_matrices.extend_from_slice(matrices);
+        self.published_morph_weights.clear();
+        for i in 0..morph_count {
+            self.published_morph_weights
+                .push(self.morph_manager.get_morph_weight(i));
+        }
+        self.published_cpu_skinning = Some(cpu_skinning);
+        true
+    }
+
+    // ========== 物理系统方法 ==========
+
+    /// 初始化物理系统（Bullet3）
     pub fn init_physics(&mut self) -> bool {
         if self.rigid_bodies.is_empty() {
             log::debug!("模型没有刚体数据，跳过物理初始化");
@@ -2333,6 +2587,7 @@ impl MmdModel {
 
         self.physics = Some(physics);
         self.physics_enabled = true;
+        self.physics_pose_history.set_bones(Vec::new());
         true
     }
 
@@ -2341,6 +2596,9 @@ impl MmdModel {
         if let Some(ref mut physics) = self.physics {
             physics.reset();
         }
+        // 冻结的模型不再保持重置前的姿势
+        self.physics_pose_history.set_bones(Vec::new());
+        self.physics_rate_gate = PhysicsRateGate::default();
     }
 
     /// 启用/禁用物理
@@ -2362,6 +2620,7 @@ impl MmdModel {
     ///
     /// 流程：sync_bodies → stepSimulation → sync_bones
     /// 所有中间数据复用预分配缓冲区，零堆分配。
+    /// 物理 LOD 降频时只在步进帧模拟，其余帧（以及冻结时）重放保存的物理骨骼姿势。
     pub fn update_physics(&mut self, delta_time: f32) {
         // 全局开关 + per-model 开关双重检查
         if !crate::physics::config::get_config().enabled
@@ -2371,6 +2630,13 @@ impl MmdModel {
             return;
         }
 
+        let lod = self.physics_lod;
+        let Some(step_delta) = self.physics_rate_gate.advance(lod, delta_time) else {
+            self.apply_physics_pose_history(lod);
+            return;
+        };
+        let rate_divisor = lod.step_interval().unwrap_or(1);
+
         // 收集骨骼变换（复用缓冲区，resize + 索引赋值避免 push 分支开销）
         let bone_count = self.bone_manager.bone_count();
         self.physics_bone_transforms_buf
@@ -2380,6 +2646,7 @@ impl MmdModel {
         }
 
         let model_transform = self.model_transform;
+        let step_start = Instant::now();
 
         // 拆分借用：先取出 physics 避免同时借用 self
         let mut physics = self.physics.take().unwrap();
@@ -2387,12 +2654,12 @@ impl MmdModel {
         // 1. 同步运动学刚体
         physics.sync_bodies_with_model_velocity(
             &self.physics_bone_transforms_buf,
-            delta_time,
+            step_delta,
             model_transform,
         );
 
         // 2. Bullet3 步进
-        physics.step_simulation(delta_time);
+        physics.step_simulation(step_delta, rate_divisor);
 
         // 3. 同步物理结果回骨骼（复用内部缓冲区）
         let dynamic_bone_transforms =
@@ -2403,14 +2670,95 @@ impl MmdModel {
                 .set_global_transform_physics(bone_idx, transform);
         }
 
-        let physics_bone_indices = physics.get_dynamic_bone_indices();
-        self.bone_manager
-            .set_physics_bone_indices(physics_bone_indices);
-        self.bone_manager
-            .update_non_physics_children(physics_bone_indices);
-
         // 归还所有权
         self.physics = Some(physics);
+        self.capture_physics_pose();
+
+        if rate_divisor > 1 {
+            // 降频时显示上一次与本次模拟之间的插值姿势
+            self.apply_physics_pose_history(lod);
+        } else if let Some(ref physics) = self.physics {
+            let physics_bone_indices = physics.get_dynamic_bone_indices();
+            self.bone_manager
+                .set_physics_bone_indices(physics_bone_indices);
+            self.bone_manager
+                .update_non_physics_children(physics_bone_indices);
+        }
+        self.physics_step_stats
+            .record(step_start.elapsed().as_secs_f32() * 1000.0);
+    }
+
+    /// 以父骨骼局部空间记录本次模拟后的物理骨骼姿势
+    fn capture_physics_pose(&mut self) {
+        let Some(ref physics) = self.physics else {
+            return;
+        };
+        let dynamic_bones = physics.get_dynamic_bone_indices();
+        if self.physics_pose_history.bones().len() != dynamic_bones.len() {
+            // 按骨骼更新顺序排列，重放时父骨骼先于子骨骼
+            let bones = self
+                .bone_manager
+                .sorted_indices()
+                .iter()
+                .copied()
+                .filter(|index| dynamic_bones.contains(index))
+                .collect();
+            self.physics_pose_history.set_bones(bones);
+        }
+
+        let bone_manager = &self.bone_manager;
+        self.physics_pose_history.capture(|bone| {
+            let global = bone_manager.get_global_transform(bone);
+            let local = match bone_manager.get_bone(bone).and_then(|b| b.parent_id()) {
+                Some(parent) => bone_manager.get_global_transform(parent).inverse() * global,
+                None => global,
+            };
+            let (_, rotation, translation) = local.to_scale_rotation_translation();
+            (translation, rotation)
+        });
+    }
+
+    /// 把保存的物理骨骼姿势（按当前插值系数）接到当前父骨骼上，并刷新非物理子骨骼
+    ///
+    /// 尚未模拟过时不做处理，物理骨骼保持动画姿势。
+    fn apply_physics_pose_history(&mut self, lod: PhysicsLod) {
+        if !self.physics_pose_history.has_pose() {
+            return;
+        }
+        let alpha = self.physics_rate_gate.blend_alpha(lod);
+        for (slot, &bone) in self.physics_pose_history.bones().iter().enumerate() {
+            let (translation, rotation) = self.physics_pose_history.blended(slot, alpha);
+            let local = Mat4::from_rotation_translation(rotation, translation);
+            let global = match self.bone_manager.get_bone(bone).and_then(|b| b.parent_id()) {
+                Some(parent) => self.bone_manager.get_global_transform(parent) * local,
+                None => local,
+            };
+            self.bone_manager
+                .set_global_transform_physics(bone, global);
+        }
+
+        if let Some(ref physics) = self.physics {
+            let physics_bone_indices = physics.get_dynamic_bone_indices();
+            self.bone_manager
+                .set_physics_bone_indices(physics_bone_indices);
+            self.bone_manager
+                .update_non_physics_children(physics_bone_indices);
+        }
+    }
+
+    /// 设置物理细节等级；从冻结恢复时丢弃旧的模型位置，避免惯性力突变
+    pub fn set_physics_lod(&mut self, lod: PhysicsLod) {
+        if self.physics_lod == PhysicsLod::Frozen && lod != PhysicsLod::Frozen {
+            if let Some(ref mut physics) = self.physics {
+                physics.forget_model_motion();
+            }
+        }
+        self.physics_lod = lod;
+    }
+
+    /// 平滑后的单帧物理步进耗时（毫秒），供 Java 侧按时间预算分配物理
+    pub fn physics_step_time_ms(&self) -> f32 {
+        self.physics_step_stats.average_ms()
     }
 
     /// 结束物理更新，清除物理骨骼保护
@@ -2747,6 +3095,7 @@ impl MmdModel {
         total += (self.update_uvs.capacity() * size_of::<Vec2>()) as u64;
         total += (self.update_positions_raw.capacity() * size_of::<f32>()) as u64;
         total += (self.update_normals_raw.capacity() * size_of::<f32>()) as u64;
+        total += self.soa_skinning.as_ref().map_or(0, SoaSkinning::memory_usage);
         total += (self.update_uvs_raw.capacity() * size_of::<f32>()) as u64;
 
         // GPU 蒙皮缓冲区
@@ -2770,6 +3119,7 @@ impl MmdModel {
 
         // 物理缓冲区
         total += (self.physics_bone_transforms_buf.capacity() * size_of::<Mat4>()) as u64;
+        total += self.physics_pose_history.memory_usage();
         total += (self.transition_matrices.capacity() * size_of::<Mat4>()) as u64;
 
         // 材质可见性
@@ -2829,6 +3179,56 @@ fn normalized_material_visibility(source: &[bool], material_count: usize) -> Vec
     visible
 }
 
+/// 帧快照格式版本（布局变化时递增，Java 侧版本不一致则回退逐缓冲区拉取）
+pub const FRAME_SNAPSHOT_VERSION: u32 = 1;
+/// 帧快照头部大小（字节）
+pub const FRAME_SNAPSHOT_HEADER_SIZE: usize = 32;
+pub const FRAME_SNAPSHOT_POSITIONS: u32 = 1;
+pub const FRAME_SNAPSHOT_NORMALS: u32 = 1 << 1;
+pub const FRAME_SNAPSHOT_UVS: u32 = 1 << 2;
+pub const FRAME_SNAPSHOT_SUBMESHES: u32 = 1 << 3;
+pub const FRAME_SNAPSHOT_MATERIAL_MORPHS: u32 = 1 << 4;
+
+/// 帧快照各段的字节偏移
+struct FrameSnapshotLayout {
+    positions: usize,
+    normals: usize,
+    uvs: usize,
+    submeshes: usize,
+    material_morphs: usize,
+    total: usize,
+}
+
+fn frame_snapshot_layout(
+    vertex_count: usize,
+    submesh_count: usize,
+    morph_count: usize,
+) -> FrameSnapshotLayout {
+    let positions = FRAME_SNAPSHOT_HEADER_SIZE;
+    let normals = positions + vertex_count * 12;
+    let uvs = normals + vertex_count * 12;
+    let submeshes = uvs + vertex_count * 8;
+    let material_morphs = submeshes + submesh_count * 20;
+    let total = material_morphs + morph_count * 56 * 4;
+    FrameSnapshotLayout {
+        positions,
+        normals,
+        uvs,
+        submeshes,
+        material_morphs,
+        total,
+    }
+}
+
+fn copy_f32_section(src: &[f32], dst: &mut [u8]) {
+    let byte_len = src.len() * 4;
+    debug_assert!(dst.len() >= byte_len);
+    // SAFETY: 调用方已按布局校验 dst 容量，f32 切片可按字节视图拷贝
+    unsafe {
+        std::ptr::copy_nonoverlapping(src.as_ptr() as *const u8, dst.as_mut_ptr(), byte_len);
+    }
+}
+
 #[cfg(test)]
 mod tests {
     use super::*;
@@ -2836,6 +3236,17 @@ mod tests {
     use crate::vr::{VrTrackedPose, XR_TO_MODEL_SCALE};
     use crate::vrm_runtime::{ArmIkHandCalibration, BodyTrackingCalibration};
 
+    #[test]
+    fn publish_pose_should_report_change_only_once_for_same_pose() {
+        let mut model = MmdModel::new();
+
+        assert!(model.publish_pose_if_changed(true));
+        assert!(!model.publish_pose_if_changed(true));
+        // 蒙皮路径切换需要重新发布
+        assert!(model.publish_pose_if_changed(false));
+        assert!(!model.publish_pose_if_changed(false));
+    }
+
     #[test]
     fn set_first_person_mode_should_restore_user_material_visibility() {
         let mut model = make_material_visibility_test_model();
@@ -2936,6 +3347,70 @@ mod tests {
         );
     }
 
+    #[test]
+    fn write_frame_snapshot_should_skip_vertex_sections_when_revision_is_known() {
+        let mut model = make_material_visibility_test_model();
+        model.vertices = vec![
+            RuntimeVertex {
+                position: Vec3::ZERO,
+                normal: Vec3::Y,
+                uv: Vec2::ZERO,
+            };
+            2
+        ];
+        model.update_positions_raw = vec![1.0, 2.0, 3.0, 4.0, 5.0, 6.0];
+        model.update_normals_raw = vec![0.0, 1.0, 0.0, 0.0, 1.0, 0.0];
+        model.vertex_revision = 7;
+
+        let mut output = vec![0u8; model.frame_snapshot_size()];
+        let flags = model.write_frame_snapshot(&mut output).unwrap();
+        assert_ne!(flags & FRAME_SNAPSHOT_POSITIONS, 0);
+        assert_ne!(flags & FRAME_SNAPSHOT_SUBMESHES, 0);
+        assert_eq!(u64::from_le_bytes(output[8..16].try_into().unwrap()), 7);
+        let first_x = f32::from_le_bytes(output[32..36].try_into().unwrap());
+        assert_eq!(first_x, 1.0);
+
+        let flags = model.write_frame_snapshot(&mut output).unwrap();
+        assert_eq!(flags & (FRAME_SNAPSHOT_POSITIONS | FRAME_SNAPSHOT_NORMALS), 0);
+        assert_ne!(flags & FRAME_SNAPSHOT_SUBMESHES, 0);
+
+        output[8..16].copy_from_slice(&0u64.to_le_bytes());
+        output[28..32].copy_from_slice(&FRAME_SNAPSHOT_POSITIONS.to_le_bytes());
+        let flags = model.write_frame_snapshot(&mut output).unwrap();
+        assert_eq!(flags & FRAME_SNAPSHOT_POSITIONS, 0);
+
+        let mut short = vec![0u8; FRAME_SNAPSHOT_HEADER_SIZE];
+        assert!(model.write_frame_snapshot(&mut short).is_none());
+    }
+
+    #[test]
+    fn write_vertex_streams_should_report_nothing_written_before_first_skin() {
+        let mut model = make_material_visibility_test_model();
+        model.vertices = vec![
+            RuntimeVertex {
+                position: Vec3::ZERO,
+                normal: Vec3::Y,
+                uv: Vec2::ZERO,
+            };
+            2
+        ];
+        let mut positions = vec![0u8; 24];
+        let mut normals = vec![0u8; 24];
+        assert_eq!(model.write_vertex_streams(&mut positions, &mut normals, None), None);
+
+        model.update_positions_raw = vec![1.0, 2.0, 3.0, 4.0, 5.0, 6.0];
+        model.update_normals_raw = vec![0.0, 1.0, 0.0, 0.0, 1.0, 0.0];
+        model.vertex_revision = 3;
+        let mut short = vec![0u8; 12];
+        assert_eq!(model.write_vertex_streams(&mut short, &mut normals, None), None);
+
+        assert_eq!(
+            model.write_vertex_streams(&mut positions, &mut normals, None),
+            Some(3)
+        );
+        assert_eq!(f32::from_le_bytes(positions[12..16].try_into().unwrap()), 4.0);
+    }
+
     fn make_material_visibility_test_model() -> MmdModel {
         let mut model = MmdModel::new();
         model.materials = vec![
@@ -2956,6 +3431,61 @@ mod tests {
         model.init_material_visibility();
         model
     }
+
+    #[test]
+    fn synced_bone_pose_should_round_trip_through_local_pose_copy() {
+        let mut model = MmdModel::new();
+        let mut child = BoneLink::new("Child".to_string());
+        child.parent_index = 0;
+        model.bone_manager.add_bone(BoneLink::new("Root".to_string()));
+        model.bone_manager.add_bone(child);
+        model.bone_manager.build_hierarchy();
+
+        let rotation = Quat::from_rotation_y(0.5);
+        model.set_synced_bone_pose(&[(1, Vec3::new(0.0, 2.0, 0.0), rotation)]);
+        let poses = model.synced_bone_pose.clone();
+        model.bone_manager.apply_local_poses(&poses);
+
+        let mut out = [0.0f32; 14];
+        assert_eq!(model.copy_local_bone_pose(&mut out), 2);
+        assert!((out[8] - 2.0).abs() < 1e-5);
+        let copied = Quat::from_xyzw(out[10], out[11], out[12], out[13]);
+        assert!(copied.dot(rotation).abs() > 1.0 - 1e-5);
+        assert!((model.bone_manager.get_bone(1).unwrap().position().y - 2.0).abs() < 1e-5);
+    }
+}
+
+/// 帧级批量更新：各模型的动画/IK/物理状态互相独立，按模型分发到 rayon 线程池并行推进
+///
+/// 每个任务为（模型、步长、是否 CPU 蒙皮、物理步进耗时）。
+/// `cpu_skinning` 为 false 时仅更新动画（GPU 蒙皮模式），与单模型 JNI 入口保持一致。
+/// 每个模型单独成为一个任务，并按调用方传入的物理耗时从高到低提交，重物理模型不会集中拖在最后；
+/// 耗时由调用方提供，提交前无需逐个锁定模型。
+/// 返回值与 jobs 一一对应，表示各模型姿势是否变化。
+pub fn tick_models_parallel(jobs: &[(Arc<Mutex<MmdModel>>, f32, bool, f32)]) -> Vec<bool> {
+    let costs: Vec<f32> = jobs.iter().map(|(_, _, _, cost)| *cost).collect();
+    let order = schedule_order(&costs);
+
+    let ticked: Vec<(usize, bool)> = order
+        .par_iter()
+        .with_max_len(1)
+        .map(|&slot| {
+            let (model_arc, elapsed, cpu_skinning, _) = &jobs[slot];
+            let mut model = model_arc.lock().unwrap_or_else(|e| e.into_inner());
+            let changed = if *cpu_skinning {
+                model.tick_animation(*elapsed)
+            } else {
+                model.tick_animation_no_skinning(*elapsed)
+            };
+            (slot, changed)
+        })
+        .collect();
+
+    let mut changed = vec![false; jobs.len()];
+    for (slot, pose_changed) in ticked {
+        changed[slot] = pose_changed;
+    }
+    changed
 }
 
 /// 计算单个顶点的蒙皮
@@ -3,7 +3,10 @@
 use glam::{Vec2, Vec3};
 use std::collections::HashMap;
 use std::path::Path;
+use std::sync::Arc;
+use std::time::Instant;
 
+use super::binary_cache::{self, ModelBinaryCache, SectionId, SourceFormat};
 use super::runtime::MmdModel;
 use super::{vrm_extensions, vrm_material, vrm_mesh, vrm_morph, vrm_skeleton};
 use crate::{MmdError, Result};
@@ -194,18 +197,91 @@ fn extract_textures(model_dir: &Path, images: &[gltf::image::Data]) -> Vec<Strin
     paths
 }
 
+/// 缓存命中时复用上次提取的纹理文件；任一应存在的文件缺失则返回 None
+fn reuse_extracted_textures(model_dir: &Path, extracted: &[bool]) -> Option<Vec<String>> {
+    extracted
+        .iter()
+        .enumerate()
+        .map(|(i, &was_extracted)| {
+            if !was_extracted {
+                return Some(String::new());
+            }
+            let full_path = model_dir.join(format!(".vrm_tex_{}.png", i));
+            full_path
+                .is_file()
+                .then(|| full_path.to_string_lossy().replace('\\', "/"))
+        })
+        .collect()
+}
+
 /// 加载 VRM 模型，转换为 MmdModel 复用现有渲染管线
 pub fn load_vrm<P: AsRef<Path>>(path: P) -> Result<MmdModel> {
     load_vrm_with_extensions(path).map(|loaded| loaded.model)
 }
 
+/// 带二进制缓存的 VRM 加载
+///
+/// 缓存有效时只解析 glTF 文档与缓冲区，跳过内嵌图片解码与 PNG 重新编码，
+/// GPU 蒙皮/Morph 数据也直接取自缓存；否则完整加载并回写缓存。
+pub fn load_vrm_cached<P: AsRef<Path>>(path: P) -> Result<MmdModel> {
+    let path = path.as_ref();
+    let started = Instant::now();
+
+    if let Some(cache) = ModelBinaryCache::open_valid(path, SourceFormat::Vrm) {
+        match load_vrm_impl(path, Some(&cache)) {
+            Ok(loaded) => {
+                let mut model = loaded.model;
+                model.attach_binary_cache(Arc::new(cache));
+                log::info!(
+                    "VRM 缓存命中: {} ({}ms)",
+                    path.display(),
+                    started.elapsed().as_millis()
+                );
+                return Ok(model);
+            }
+            Err(e) => log::warn!("VRM 缓存读取失败，回退完整加载: {}", e),
+        }
+    }
+
+    let loaded = load_vrm_impl(path, None)?;
+    log::info!(
+        "VRM 完整加载: {} ({}ms)",
+        path.display(),
+        started.elapsed().as_millis()
+    );
+    binary_cache::store(path, SourceFormat::Vrm, &loaded.model, None);
+    Ok(loaded.model)
+}
+
 /// Loads a VRM model and returns both the runtime model and parsed VRM metadata.
 pub fn load_vrm_with_extensions<P: AsRef<Path>>(path: P) -> Result<LoadedVrmModel> {
-    let path = path.as_ref();
+    load_vrm_impl(path.as_ref(), None)
+}
+
+fn load_vrm_impl(path: &Path, cache: Option<&ModelBinaryCache>) -> Result<LoadedVrmModel> {
     let model_dir = path.parent().unwrap_or_else(|| Path::new("."));
 
-    let (document, buffers, images) =
-        gltf::import(path).map_err(|e| MmdError::VrmParse(format!("glTF 加载失败: {}", e)))?;
+    let (document, buffers, texture_paths) = match cache {
+        Some(cache) => {
+            let gltf::Gltf { document, blob } = gltf::Gltf::open(path)
+                .map_err(|e| MmdError::VrmParse(format!("glTF 加载失败: {}", e)))?;
+            let buffers = gltf::import_buffers(&document, Some(model_dir), blob)
+                .map_err(|e| MmdError::VrmParse(format!("glTF 缓冲区加载失败: {}", e)))?;
+            let extracted = cache
+                .read_flags(SectionId::ExtractedTextures)
+                .filter(|flags| flags.len() == document.images().len())
+                .ok_or_else(|| MmdError::VrmParse("缓存纹理索引不匹配".into()))?;
+            let texture_paths = reuse_extracted_textures(model_dir, &extracted)
+                .ok_or_else(|| MmdError::VrmParse("已提取的纹理文件缺失".into()))?;
+            (document, buffers, texture_paths)
+        }
+        None => {
+            let (document, buffers, images) = gltf::import(path)
+                .map_err(|e| MmdError::VrmParse(format!("glTF 加载失败: {}", e)))?;
+            let texture_paths = extract_textures(model_dir, &images);
+            (document, buffers, texture_paths)
+        }
+    };
 
     let vrm_ext = vrm_extensions::parse_vrm_extensions(&document)?;
     let mut mesh = vrm_mesh::merge_meshes(&document, &buffers)?;
@@ -230,8 +306,6 @@ pub fn load_vrm_with_extensions<P: AsRef<Path>>(path: P) -> Result<LoadedVrmMode
 
     let (materials, _placeholder_paths) = vrm_material::convert_materials(&document, &vrm_ext);
 
-    let texture_paths = extract_textures(model_dir, &images);
-
     let morph_manager = vrm_morph::convert_morph_targets(
         &mesh.morph_targets,
         &vrm_ext.expressions,
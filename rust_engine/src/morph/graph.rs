@@ -0,0 +1,348 @@
+//! Morph 展开图
+//!
+//! 加载后一次性把 Group Morph 展开为"叶子 Morph × 累乘影响度"的扁平项列表（CSR 布局）。
+//! 同一层到达同一叶子的路径合并为一项，累乘影响度低于阈值的路径直接丢弃。
+//! Flip Morph 的选择依赖运行时权重，保留为单独的项，求值时按权重选中候选后继续展开。
+//! 每帧求值只做数组遍历与累加，不分配堆内存。
+
+use super::{Morph, MorphType};
+
+/// 叶子 Morph 的作用对象
+#[derive(Clone, Copy, Debug, PartialEq, Eq)]
+pub(crate) enum LeafKind {
+    Vertex,
+    Bone,
+    Material,
+    Uv,
+    /// Group / Flip 以及暂不处理的类型
+    None,
+}
+
+impl LeafKind {
+    pub(crate) fn of(morph_type: &MorphType) -> Self {
+        match morph_type {
+            MorphType::Vertex => LeafKind::Vertex,
+            MorphType::Bone => LeafKind::Bone,
+            MorphType::Material => LeafKind::Material,
+            MorphType::Uv | MorphType::AdditionalUv1 => LeafKind::Uv,
+            _ => LeafKind::None,
+        }
+    }
+}
+
+/// 展开项：叶子或 Flip，depth 为相对所属 Morph 的嵌套深度
+#[derive(Clone, Copy, Debug)]
+struct Term {
+    target: u32,
+    factor: f32,
+    depth: u32,
+    flip: bool,
+}
+
+/// Flip 候选中无效（越界或自引用）的占位
+const INVALID_OPTION: u32 = u32::MAX;
+
+/// 展开时 Morph 在当前层尚无合并位置
+const NO_SLOT: u32 = u32::MAX;
+
+/// 编译期逐层展开的复用缓冲区
+///
+/// next_slots 记录 Morph 在下一层列表中的位置，leaf_slots 记录叶子在本层项中的位置，每层结束即复位。
+struct ExpandScratch {
+    next_slots: Vec<u32>,
+    leaf_slots: Vec<u32>,
+    level: Vec<(u32, f32)>,
+    next: Vec<(u32, f32)>,
+}
+
+impl ExpandScratch {
+    fn new(morph_count: usize) -> Self {
+        Self {
+            next_slots: vec![NO_SLOT; morph_count],
+            leaf_slots: vec![NO_SLOT; morph_count],
+            level: Vec::new(),
+            next: Vec::new(),
+        }
+    }
+
+    /// 同一层到达同一 Morph 的路径合并为一项
+    fn merge_next(&mut self, next: &mut Vec<(u32, f32)>, index: u32, factor: f32) {
+        let slot = self.next_slots[index as usize];
+        if slot != NO_SLOT {
+            next[slot as usize].1 += factor;
+            return;
+        }
+        self.next_slots[index as usize] = next.len() as u32;
+        next.push((index, factor));
+    }
+}
+
+pub(crate) struct MorphGraph {
+    term_ranges: Vec<(u32, u32)>,
+    terms: Vec<Term>,
+    flip_ranges: Vec<(u32, u32)>,
+    /// (子 Morph 索引, 影响度)
+    flip_options: Vec<(u32, f32)>,
+    leaf_kinds: Vec<LeafKind>,
+}
+
+impl MorphGraph {
+    /// 展开全部 Morph；累乘影响度低于 epsilon 的路径在编译时丢弃
+    pub(crate) fn compile(morphs: &[Morph], max_depth: u32, epsilon: f32) -> Self {
+        let mut graph = Self {
+            term_ranges: Vec::with_capacity(morphs.len()),
+            terms: Vec::new(),
+            flip_ranges: Vec::with_capacity(morphs.len()),
+            flip_options: Vec::new(),
+            leaf_kinds: morphs.iter().map(|m| LeafKind::of(&m.morph_type)).collect(),
+        };
+        let mut scratch = ExpandScratch::new(morphs.len());
+
+        for (index, morph) in morphs.iter().enumerate() {
+            let start = graph.terms.len() as u32;
+            graph.expand(morphs, index, max_depth, epsilon, &mut scratch);
+            graph.term_ranges.push((start, graph.terms.len() as u32));
+
+            let option_start = graph.flip_options.len() as u32;
+            if morph.morph_type == MorphType::Flip {
+                for sub in &morph.group_offsets {
+                    let sub_idx = sub.morph_index as usize;
+                    let target = if sub_idx < morphs.len() && sub_idx != index {
+                        sub.morph_index
+                    } else {
+                        INVALID_OPTION
+                    };
+                    graph.flip_options.push((target, sub.influence));
+                }
+            }
+            graph
+                .flip_ranges
+                .push((option_start, graph.flip_options.len() as u32));
+        }
+        graph
+    }
+
+    /// 逐层展开单个 Morph：Group 向下累乘影响度，Flip 与叶子记为项
+    ///
+    /// 同一层中到达同一 Group 或叶子的多条路径合并为一项（影响度相加），
+    /// 每层的项数不超过 Morph 总数，环状或大扇出的 Group 也不会按路径数指数膨胀。
+    /// Flip 的候选选择依赖各路径自身的权重，不参与合并。
+    fn expand(
+        &mut self,
+        morphs: &[Morph],
+        root: usize,
+        max_depth: u32,
+        epsilon: f32,
+        scratch: &mut ExpandScratch,
+    ) {
+        let mut level = std::mem::take(&mut scratch.level);
+        let mut next = std::mem::take(&mut scratch.next);
+        level.clear();
+        level.push((root as u32, 1.0));
+
+        for depth in 0..=max_depth {
+            let leaf_start = self.terms.len();
+            next.clear();
+            for &(index, factor) in &level {
+                let morph = &morphs[index as usize];
+                match morph.morph_type {
+                    MorphType::Group => {
+                        if depth == max_depth {
+                            continue;
+                        }
+                        for sub in &morph.group_offsets {
+                            let sub_idx = sub.morph_index as usize;
+                            let sub_factor = factor * sub.influence;
+                            if sub_idx >= morphs.len()
+                                || sub_idx == index as usize
+                                || sub_factor.abs() < epsilon
+                            {
+                                continue;
+                            }
+                            if morphs[sub_idx].morph_type == MorphType::Flip {
+                                next.push((sub.morph_index, sub_factor));
+                            } else {
+                                scratch.merge_next(&mut next, sub.morph_index, sub_factor);
+                            }
+                        }
+                    }
+                    MorphType::Flip => self.terms.push(Term {
+                        target: index,
+                        factor,
+                        depth,
+                        flip: true,
+                    }),
+                    _ => {
+                        if self.leaf_kinds[index as usize] != LeafKind::None {
+                            self.push_leaf(leaf_start, index, factor, depth, scratch);
+                        }
+                    }
+                }
+            }
+            for &(index, _) in &next {
+                // Flip 项未登记位置，一并复位无影响
+                scratch.next_slots[index as usize] = NO_SLOT;
+            }
+            for term in &self.terms[leaf_start..] {
+                scratch.leaf_slots[term.target as usize] = NO_SLOT;
+            }
+            if next.is_empty() {
+                break;
+            }
+            std::mem::swap(&mut level, &mut next);
+        }
+
+        scratch.level = level;
+        scratch.next = next;
+    }
+
+    /// 本层已有同一叶子的项时累加影响度，否则追加新项
+    fn push_leaf(
+        &mut self,
+        leaf_start: usize,
+        target: u32,
+        factor: f32,
+        depth: u32,
+        scratch: &mut ExpandScratch,
+    ) {
+        let slot = scratch.leaf_slots[target as usize];
+        if slot != NO_SLOT {
+            self.terms[leaf_start + slot as usize].factor += factor;
+            return;
+        }
+        scratch.leaf_slots[target as usize] = (self.terms.len() - leaf_start) as u32;
+        self.terms.push(Term {
+            target,
+            factor,
+            depth,
+            flip: false,
+        });
+    }
+
+    pub(crate) fn leaf_kind(&self, index: usize) -> LeafKind {
+        self.leaf_kinds[index]
+    }
+
+    /// 把 Morph 以给定权重展开后的叶子有效权重累加到 out
+    pub(crate) fn accumulate(
+        &self,
+        morph_idx: usize,
+        weight: f32,
+        base_depth: u32,
+        max_depth: u32,
+        epsilon: f32,
+        out: &mut [f32],
+    ) {
+        let Some(&(start, end)) = self.term_ranges.get(morph_idx) else {
+            return;
+        };
+        for term in &self.terms[start as usize..end as usize] {
+            let depth = base_depth + term.depth;
+            let w = weight * term.factor;
+            if depth > max_depth || w.abs() < epsilon {
+                continue;
+            }
+            if !term.flip {
+                if let Some(slot) = out.get_mut(term.target as usize) {
+                    *slot += w;
+                }
+                continue;
+            }
+            let (option_start, option_end) = self.flip_ranges[term.target as usize];
+            let count = (option_end - option_start) as usize;
+            if count == 0 {
+                continue;
+            }
+            let index = ((w.clamp(0.0, 1.0) * count as f32).floor() as usize).min(count - 1);
+            let (child, influence) = self.flip_options[option_start as usize + index];
+            // Flip 选中的子 Morph 以自身影响度为权重，不继承上层权重
+            if child != INVALID_OPTION {
+                self.accumulate(child as usize, influence, depth + 1, max_depth, epsilon, out);
+            }
+        }
+    }
+
+    pub(crate) fn memory_usage(&self) -> u64 {
+        use std::mem::size_of;
+        (self.term_ranges.capacity() * size_of::<(u32, u32)>()
+            + self.terms.capacity() * size_of::<Term>()
+            + self.flip_ranges.capacity() * size_of::<(u32, u32)>()
+            + self.flip_options.capacity() * size_of::<(u32, f32)>()
+            + self.leaf_kinds.capacity() * size_of::<LeafKind>()) as u64
+    }
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+    use crate::morph::GroupMorphOffset;
+
+    const MAX_DEPTH: u32 = 16;
+    const EPSILON: f32 = 0.001;
+
+    fn morph(morph_type: MorphType, subs: &[(u32, f32)]) -> Morph {
+        let mut morph = Morph::new(String::new(), morph_type);
+        for &(morph_index, influence) in subs {
+            morph.group_offsets.push(GroupMorphOffset {
+                morph_index,
+                influence,
+            });
+        }
+        morph
+    }
+
+    fn weights(graph: &MorphGraph, index: usize, count: usize) -> Vec<f32> {
+        let mut out = vec![0.0; count];
+        graph.accumulate(index, 1.0, 0, MAX_DEPTH, EPSILON, &mut out);
+        out
+    }
+
+    #[test]
+    fn cyclic_wide_groups_should_stay_bounded() {
+        // 0、1 为顶点；2、3 互相引用且各自扇出到两个叶子，按路径展开约为 4^16 项
+        let morphs = vec![
+            morph(MorphType::Vertex, &[]),
+            morph(MorphType::Vertex, &[]),
+            morph(MorphType::Group, &[(3, 1.0), (3, 1.0), (0, 0.5), (1, 0.5)]),
+            morph(MorphType::Group, &[(2, 1.0), (2, 1.0), (0, 0.5), (1, 0.5)]),
+        ];
+
+        let graph = MorphGraph::compile(&morphs, MAX_DEPTH, EPSILON);
+
+        let (start, end) = graph.term_ranges[2];
+        // 每层每个叶子至多一项
+        assert!(end - start <= 2 * MAX_DEPTH);
+        assert!(graph.terms.len() <= morphs.len() * 2 * MAX_DEPTH as usize);
+        assert!(weights(&graph, 2, morphs.len())[0] > 0.0);
+    }
+
+    #[test]
+    fn decaying_paths_should_be_pruned_at_compile_time() {
+        // 0 为顶点；1、2 互相引用，影响度 0.05 逐层衰减，第三层后低于 epsilon
+        let morphs = vec![
+            morph(MorphType::Vertex, &[]),
+            morph(MorphType::Group, &[(2, 0.05), (0, 1.0)]),
+            morph(MorphType::Group, &[(1, 0.05), (0, 1.0)]),
+        ];
+
+        let graph = MorphGraph::compile(&morphs, MAX_DEPTH, EPSILON);
+
+        let (start, end) = graph.term_ranges[1];
+        assert_eq!(end - start, 3);
+        assert!((weights(&graph, 1, morphs.len())[0] - 1.0525).abs() < 1e-6);
+    }
+
+    #[test]
+    fn same_leaf_at_same_depth_should_merge() {
+        let morphs = vec![
+            morph(MorphType::Vertex, &[]),
+            morph(MorphType::Group, &[(0, 0.25), (0, 0.5)]),
+        ];
+
+        let graph = MorphGraph::compile(&morphs, MAX_DEPTH, EPSILON);
+
+        let (start, end) = graph.term_ranges[1];
+        assert_eq!(end - start, 1);
+        assert!((graph.terms[start as usize].factor - 0.75).abs() < 1e-6);
+    }
+}
@@ -1,18 +1,25 @@
 //! Morph 管理器
 //!
 //! 实现 MMD Morph 系统：Vertex / Bone / Group / Flip / Material / UV Morph。
-//! 支持 Group/Flip Morph 递归展开，并提供 GPU 蒙皮路径的有效权重计算。
+//! Group/Flip 在首次应用时编译为展开图（见 `graph`），并提供 GPU 蒙皮路径的有效权重计算。
+//!
+//! 设置了基础顶点位置后，顶点/UV Morph 按增量应用：常驻的变形后位置缓冲区只对权重变化的
+//! Morph 叠加 (新权重 − 旧权重) × 偏移，每帧无堆分配；为抑制浮点累积误差，按固定间隔整体重建。
 
 use glam::{Vec2, Vec3, Vec4};
 use std::collections::HashMap;
+use std::sync::OnceLock;
 
-use super::{MaterialMorphOffset, Morph, MorphType};
+use super::graph::{LeafKind, MorphGraph};
+use super::{MaterialMorphOffset, Morph};
 use crate::skeleton::BoneManager;
 
 /// Morph 权重阈值，低于此值视为不活跃
 const MORPH_WEIGHT_EPSILON: f32 = 0.001;
 /// Group Morph 最大递归深度（防止循环引用导致无限递归）
 const MAX_GROUP_MORPH_DEPTH: u32 = 16;
+/// 发生过增量更新的帧数达到该值后，从基础位置整体重建一次
+const FULL_REBUILD_INTERVAL: u32 = 1024;
 
 /// 材质变形参数值（乘算或加算共用的字段集合）
 #[derive(Clone, Debug)]
@@ -116,6 +123,15 @@ pub struct MorphManager {
     material_count: usize,
     uv_morph_deltas: Vec<Vec2>,
     vertex_count: usize,
+    /// 展开图，Morph 列表变化时失效
+    graph: OnceLock<MorphGraph>,
+    /// 本帧各叶子 Morph 的有效权重
+    leaf_weights: Vec<f32>,
+    /// 顶点/UV Morph 已叠加到常驻缓冲区的权重
+    applied_weights: Vec<f32>,
+    base_positions: Vec<Vec3>,
+    morphed_positions: Vec<Vec3>,
+    dirty_frames: u32,
 }
 
 impl MorphManager {
@@ -127,6 +143,12 @@ impl MorphManager {
             material_count: 0,
             uv_morph_deltas: Vec::new(),
             vertex_count: 0,
+            graph: OnceLock::new(),
+            leaf_weights: Vec::new(),
+            applied_weights: Vec::new(),
+            base_positions: Vec::new(),
+            morphed_positions: Vec::new(),
+            dirty_frames: 0,
         }
     }
 
@@ -138,12 +160,24 @@ impl MorphManager {
     pub fn set_vertex_count(&mut self, count: usize) {
         self.vertex_count = count;
         self.uv_morph_deltas = vec![Vec2::ZERO; count];
+        self.reset_applied_state();
+    }
+
+    /// 设置未变形的顶点位置，启用增量顶点 Morph
+    pub fn set_base_positions(&mut self, positions: Vec<Vec3>) {
+        self.base_positions = positions;
+        self.reset_applied_state();
+    }
+
+    pub fn base_vertex_count(&self) -> usize {
+        self.base_positions.len()
     }
 
     pub fn add_morph(&mut self, morph: Morph) {
         let index = self.morphs.len();
         self.name_to_index.insert(morph.name.clone(), index);
         self.morphs.push(morph);
+        self.invalidate_graph();
     }
 
     pub fn find_morph_by_name(&self, name: &str) -> Option<usize> {
@@ -158,10 +192,36 @@ impl MorphManager {
         self.morphs.get(index)
     }
 
+    /// 可变访问 Morph，只用于修改权重；偏移、子项、类型或名称须通过 `edit_morph` 修改
     pub fn get_morph_mut(&mut self, index: usize) -> Option<&mut Morph> {
         self.morphs.get_mut(index)
     }
 
+    /// 修改 Morph 的偏移、子项、类型或名称
+    ///
+    /// 比较修改前后的内容：类型或子项变化时展开图失效并整体重建；只有顶点/UV 偏移变化时
+    /// 仅撤回该 Morph 按旧偏移叠加的部分，下次应用时按新偏移重新叠加；其余情况不失效。
+    pub fn edit_morph<R>(&mut self, index: usize, edit: impl FnOnce(&mut Morph) -> R) -> Option<R> {
+        let before = self.morphs.get(index)?.clone();
+        let result = edit(&mut self.morphs[index]);
+        let after = &self.morphs[index];
+
+        if after.name != before.name {
+            if self.name_to_index.get(&before.name) == Some(&index) {
+                self.name_to_index.remove(&before.name);
+            }
+            self.name_to_index.insert(after.name.clone(), index);
+        }
+        if after.morph_type != before.morph_type || after.group_offsets != before.group_offsets {
+            self.invalidate_graph();
+        } else if after.vertex_offsets != before.vertex_offsets
+            || after.uv_offsets != before.uv_offsets
+        {
+            self.retract_applied(index, &before);
+        }
+        Some(result)
+    }
+
     pub fn set_morph_weight(&mut self, index: usize, weight: f32) {
         if let Some(morph) = self.morphs.get_mut(index) {
             morph.set_weight(weight);
@@ -190,47 +250,151 @@ impl MorphManager {
         &self.uv_morph_deltas
     }
 
-    /// 应用所有 Morph（遵循 MMD 规范，Group/Flip 递归展开）
+    /// 应用所有 Morph（遵循 MMD 规范，Group/Flip 按展开图展开）
+    ///
+    /// 设置了基础顶点位置时，positions 被整体写为变形后的位置；否则顶点偏移直接累加到 positions 上。
     pub fn apply_morphs(&mut self, bone_manager: &mut BoneManager, positions: &mut [Vec3]) {
         for result in &mut self.material_morph_results {
             result.reset();
         }
-        for delta in &mut self.uv_morph_deltas {
-            *delta = Vec2::ZERO;
+
+        let morph_count = self.morphs.len();
+        let graph = self.graph.get_or_init(|| {
+            MorphGraph::compile(&self.morphs, MAX_GROUP_MORPH_DEPTH, MORPH_WEIGHT_EPSILON)
+        });
+        self.leaf_weights.clear();
+        self.leaf_weights.resize(morph_count, 0.0);
+        self.applied_weights.resize(morph_count, 0.0);
+        for (i, morph) in self.morphs.iter().enumerate() {
+            if morph.weight.abs() > MORPH_WEIGHT_EPSILON {
+                graph.accumulate(
+                    i,
+                    morph.weight,
+                    0,
+                    MAX_GROUP_MORPH_DEPTH,
+                    MORPH_WEIGHT_EPSILON,
+                    &mut self.leaf_weights,
+                );
+            }
+        }
+
+        let incremental = !self.base_positions.is_empty();
+        if self.dirty_frames >= FULL_REBUILD_INTERVAL {
+            self.morphed_positions.copy_from_slice(&self.base_positions);
+            self.uv_morph_deltas.fill(Vec2::ZERO);
+            self.applied_weights.fill(0.0);
+            self.dirty_frames = 0;
         }
 
-        let active_morphs: Vec<(usize, f32)> = self
-            .morphs
-            .iter()
-            .enumerate()
-            .filter(|(_, m)| m.weight.abs() > MORPH_WEIGHT_EPSILON)
-            .map(|(i, m)| (i, m.weight))
-            .collect();
-
-        for (morph_idx, weight) in active_morphs {
-            // 拆分借用：morphs 只读，material_morph_results / uv_morph_deltas 可写
-            apply_single_morph(
-                &self.morphs,
-                &mut self.material_morph_results,
-                &mut self.uv_morph_deltas,
-                morph_idx,
-                weight,
-                bone_manager,
-                positions,
-                0,
-            );
+        let mut changed = false;
+        for (leaf, morph) in self.morphs.iter().enumerate() {
+            let mut weight = self.leaf_weights[leaf];
+            if weight.abs() < MORPH_WEIGHT_EPSILON {
+                weight = 0.0;
+            }
+            match graph.leaf_kind(leaf) {
+                LeafKind::Vertex if incremental => {
+                    let delta = weight - self.applied_weights[leaf];
+                    if delta != 0.0 {
+                        apply_vertex_morph(
+                            &morph.vertex_offsets,
+                            delta,
+                            &mut self.morphed_positions,
+                        );
+                        self.applied_weights[leaf] = weight;
+                        changed = true;
+                    }
+                }
+                LeafKind::Vertex => {
+                    if weight != 0.0 {
+                        apply_vertex_morph(&morph.vertex_offsets, weight, positions);
+                    }
+                }
+                LeafKind::Uv => {
+                    let delta = weight - self.applied_weights[leaf];
+                    if delta != 0.0 {
+                        apply_uv_morph(&morph.uv_offsets, delta, &mut self.uv_morph_deltas);
+                        self.applied_weights[leaf] = weight;
+                        changed = true;
+                    }
+                }
+                LeafKind::Bone => {
+                    if weight != 0.0 {
+                        apply_bone_morph(&morph.bone_offsets, weight, bone_manager);
+                    }
+                }
+                LeafKind::Material => {
+                    if weight != 0.0 {
+                        apply_material_morph(
+                            &morph.material_offsets,
+                            weight,
+                            &mut self.material_morph_results,
+                        );
+                    }
+                }
+                LeafKind::None => {}
+            }
+        }
+        if changed {
+            self.dirty_frames += 1;
+        }
+
+        if incremental {
+            let count = positions.len().min(self.morphed_positions.len());
+            positions[..count].copy_from_slice(&self.morphed_positions[..count]);
         }
     }
 
-    /// 计算所有 Morph 的有效权重（递归展开 Group/Flip），写入外部缓冲区
+    /// 计算所有 Morph 的有效权重（按展开图展开 Group/Flip），写入外部缓冲区
     pub fn compute_effective_weights_into(&self, out: &mut [f32]) {
+        let graph = self.graph.get_or_init(|| {
+            MorphGraph::compile(&self.morphs, MAX_GROUP_MORPH_DEPTH, MORPH_WEIGHT_EPSILON)
+        });
         for (i, morph) in self.morphs.iter().enumerate() {
             if morph.weight.abs() > MORPH_WEIGHT_EPSILON {
-                accumulate_effective_weight(&self.morphs, i, morph.weight, out, 0);
+                graph.accumulate(
+                    i,
+                    morph.weight,
+                    0,
+                    MAX_GROUP_MORPH_DEPTH,
+                    MORPH_WEIGHT_EPSILON,
+                    out,
+                );
             }
         }
     }
 
+    /// 从常驻缓冲区撤回某个 Morph 按旧偏移叠加的部分
+    fn retract_applied(&mut self, index: usize, before: &Morph) {
+        let applied = self.applied_weights.get(index).copied().unwrap_or(0.0);
+        if applied == 0.0 {
+            return;
+        }
+        match LeafKind::of(&before.morph_type) {
+            LeafKind::Vertex => {
+                apply_vertex_morph(&before.vertex_offsets, -applied, &mut self.morphed_positions)
+            }
+            LeafKind::Uv => apply_uv_morph(&before.uv_offsets, -applied, &mut self.uv_morph_deltas),
+            _ => {}
+        }
+        self.applied_weights[index] = 0.0;
+        self.dirty_frames += 1;
+    }
+
+    fn invalidate_graph(&mut self) {
+        self.graph = OnceLock::new();
+        self.reset_applied_state();
+    }
+
+    /// 丢弃已叠加的增量结果，下一次应用时从基础位置重建
+    fn reset_applied_state(&mut self) {
+        self.morphed_positions.clear();
+        self.morphed_positions.extend_from_slice(&self.base_positions);
+        self.uv_morph_deltas.fill(Vec2::ZERO);
+        self.applied_weights.clear();
+        self.dirty_frames = 0;
+    }
+
     pub fn memory_usage(&self) -> u64 {
         use std::mem::size_of;
         let mut total: u64 = 0;
@@ -239,156 +403,15 @@ impl MorphManager {
             (self.name_to_index.capacity() * (size_of::<String>() + size_of::<usize>())) as u64;
         total += (self.material_morph_results.capacity() * size_of::<MaterialMorphResult>()) as u64;
         total += (self.uv_morph_deltas.capacity() * size_of::<Vec2>()) as u64;
+        total += ((self.leaf_weights.capacity() + self.applied_weights.capacity())
+            * size_of::<f32>()) as u64;
+        total += ((self.base_positions.capacity() + self.morphed_positions.capacity())
+            * size_of::<Vec3>()) as u64;
+        total += self.graph.get().map_or(0, MorphGraph::memory_usage);
         total
     }
 }
 
-/// 递归累加有效权重到目标数组
-fn accumulate_effective_weight(
-    morphs: &[Morph],
-    morph_idx: usize,
-    effective_weight: f32,
-    out: &mut [f32],
-    depth: u32,
-) {
-    if depth > MAX_GROUP_MORPH_DEPTH || effective_weight.abs() < MORPH_WEIGHT_EPSILON {
-        return;
-    }
-    let morph = match morphs.get(morph_idx) {
-        Some(m) => m,
-        None => return,
-    };
-
-    match morph.morph_type {
-        MorphType::Group => {
-            let subs: Vec<(usize, f32)> = morph
-                .group_offsets
-                .iter()
-                .filter_map(|sub| {
-                    let sub_idx = sub.morph_index as usize;
-                    if sub_idx < morphs.len() && sub_idx != morph_idx {
-                        Some((sub_idx, effective_weight * sub.influence))
-                    } else {
-                        None
-                    }
-                })
-                .collect();
-            for (sub_idx, sub_weight) in subs {
-                accumulate_effective_weight(morphs, sub_idx, sub_weight, out, depth + 1);
-            }
-        }
-        MorphType::Flip => {
-            let count = morph.group_offsets.len();
-            if count > 0 {
-                let w = effective_weight.clamp(0.0, 1.0);
-                let index = ((w * count as f32).floor() as usize).min(count - 1);
-                let sub = &morph.group_offsets[index];
-                let sub_idx = sub.morph_index as usize;
-                if sub_idx < morphs.len() && sub_idx != morph_idx {
-                    accumulate_effective_weight(morphs, sub_idx, sub.influence, out, depth + 1);
-                }
-            }
-        }
-        _ => {
-            // 叶子节点：累加有效权重
-            if morph_idx < out.len() {
-                out[morph_idx] += effective_weight;
-            }
-        }
-    }
-}
-
-/// 递归应用单个 Morph（拆分字段借用避免 clone 开销）
-fn apply_single_morph(
-    morphs: &[Morph],
-    material_morph_results: &mut [MaterialMorphResult],
-    uv_morph_deltas: &mut [Vec2],
-    morph_idx: usize,
-    effective_weight: f32,
-    bone_manager: &mut BoneManager,
-    positions: &mut [Vec3],
-    depth: u32,
-) {
-    if depth > MAX_GROUP_MORPH_DEPTH || effective_weight.abs() < MORPH_WEIGHT_EPSILON {
-        return;
-    }
-
-    let morph = match morphs.get(morph_idx) {
-        Some(m) => m,
-        None => return,
-    };
-
-    match morph.morph_type {
-        MorphType::Vertex => {
-            apply_vertex_morph(&morph.vertex_offsets, effective_weight, positions);
-        }
-        MorphType::Bone => {
-            apply_bone_morph(&morph.bone_offsets, effective_weight, bone_manager);
-        }
-        MorphType::Group => {
-            let subs: Vec<(usize, f32)> = morph
-                .group_offsets
-                .iter()
-                .filter_map(|sub| {
-                    let sub_idx = sub.morph_index as usize;
-                    if sub_idx < morphs.len() && sub_idx != morph_idx {
-                        Some((sub_idx, effective_weight * sub.influence))
-                    } else {
-                        None
-                    }
-                })
-                .collect();
-            for (sub_idx, sub_weight) in subs {
-                apply_single_morph(
-                    morphs,
-                    material_morph_results,
-                    uv_morph_deltas,
-                    sub_idx,
-                    sub_weight,
-                    bone_manager,
-                    positions,
-                    depth + 1,
-                );
-            }
-        }
-        MorphType::Flip => {
-            let count = morph.group_offsets.len();
-            if count > 0 {
-                let w = effective_weight.clamp(0.0, 1.0);
-                let index = ((w * count as f32).floor() as usize).min(count - 1);
-                let sub = &morph.group_offsets[index];
-                let sub_idx = sub.morph_index as usize;
-                let sub_influence = sub.influence;
-                if sub_idx < morphs.len() && sub_idx != morph_idx {
-                    apply_single_morph(
-                        morphs,
-                        material_morph_results,
-                        uv_morph_deltas,
-                        sub_idx,
-                        sub_influence,
-                        bone_manager,
-                        positions,
-                        depth + 1,
-                    );
-                }
-            }
-        }
-        MorphType::Material => {
-            apply_material_morph(
-                &morph.material_offsets,
-                effective_weight,
-                material_morph_results,
-            );
-        }
-        MorphType::Uv | MorphType::AdditionalUv1 => {
-            apply_uv_morph(&morph.uv_offsets, effective_weight, uv_morph_deltas);
-        }
-        _ => {
-            // AdditionalUv2/3/4, Impulse 暂不处理
-        }
-    }
-}
-
 fn apply_vertex_morph(offsets: &[super::VertexMorphOffset], weight: f32, positions: &mut [Vec3]) {
     for offset in offsets {
         let idx = offset.vertex_index as usize;
@@ -479,3 +502,184 @@ impl Default for MorphManager {
         Self::new()
     }
 }
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+    use crate::morph::{GroupMorphOffset, MorphType, VertexMorphOffset};
+
+    const VERTEX_COUNT: usize = 64;
+
+    fn base_positions() -> Vec<Vec3> {
+        (0..VERTEX_COUNT)
+            .map(|i| Vec3::new(i as f32, 0.0, -(i as f32)))
+            .collect()
+    }
+
+    fn vertex_morph(name: &str, seed: usize) -> Morph {
+        let mut morph = Morph::new(name.to_string(), MorphType::Vertex);
+        for i in 0..16 {
+            let vertex = (seed * 7 + i * 3) % VERTEX_COUNT;
+            morph.vertex_offsets.push(VertexMorphOffset {
+                vertex_index: vertex as u32,
+                offset: Vec3::new(0.1 * (seed + 1) as f32, i as f32 * 0.01, 1.0),
+            });
+        }
+        morph
+    }
+
+    fn group_morph(name: &str, morph_type: MorphType, subs: &[(u32, f32)]) -> Morph {
+        let mut morph = Morph::new(name.to_string(), morph_type);
+        for &(morph_index, influence) in subs {
+            morph.group_offsets.push(GroupMorphOffset {
+                morph_index,
+                influence,
+            });
+        }
+        morph
+    }
+
+    /// 0..4 顶点，5 = Group(0, 1)，6 = Group(5, 自身, 2)，7 = Flip(3, 4)
+    fn manager() -> MorphManager {
+        let mut manager = MorphManager::new();
+        for i in 0..5 {
+            manager.add_morph(vertex_morph(&format!("v{}", i), i));
+        }
+        manager.add_morph(group_morph("g", MorphType::Group, &[(0, 0.5), (1, 1.0)]));
+        manager.add_morph(group_morph(
+            "nested",
+            MorphType::Group,
+            &[(5, 0.5), (6, 1.0), (2, -1.0)],
+        ));
+        manager.add_morph(group_morph("flip", MorphType::Flip, &[(3, 1.0), (4, 0.5)]));
+        manager.set_vertex_count(VERTEX_COUNT);
+        manager
+    }
+
+    fn dense_positions(manager: &MorphManager) -> Vec<Vec3> {
+        let mut dense = MorphManager::new();
+        for i in 0..manager.morph_count() {
+            dense.add_morph(manager.get_morph(i).unwrap().clone());
+        }
+        let mut positions = base_positions();
+        dense.apply_morphs(&mut BoneManager::new(), &mut positions);
+        positions
+    }
+
+    fn assert_close(actual: &[Vec3], expected: &[Vec3]) {
+        for (a, e) in actual.iter().zip(expected) {
+            assert!((*a - *e).length() < 1e-4, "{:?} != {:?}", a, e);
+        }
+    }
+
+    #[test]
+    fn group_and_flip_should_flatten_to_leaf_weights() {
+        let mut manager = manager();
+        manager.set_morph_weight(6, 1.0);
+        manager.set_morph_weight(7, 0.75);
+        let mut out = vec![0.0; manager.morph_count()];
+        manager.compute_effective_weights_into(&mut out);
+
+        assert!((out[0] - 0.25).abs() < 1e-6);
+        assert!((out[1] - 0.5).abs() < 1e-6);
+        assert!((out[2] + 1.0).abs() < 1e-6);
+        assert_eq!(out[3], 0.0);
+        // Flip 权重 0.75 选中第二个候选，以其影响度为权重
+        assert!((out[4] - 0.5).abs() < 1e-6);
+        assert_eq!(&out[5..], &[0.0, 0.0, 0.0]);
+    }
+
+    #[test]
+    fn incremental_application_should_match_dense_application() {
+        let mut manager = manager();
+        manager.set_base_positions(base_positions());
+        let mut bones = BoneManager::new();
+        let mut positions = vec![Vec3::ZERO; VERTEX_COUNT];
+
+        for frame in 0..200 {
+            for i in 0..manager.morph_count() {
+                let phase = (frame * (i + 3)) as f32 * 0.05;
+                let weight = if (frame + i) % 5 == 0 { 0.0 } else { phase.sin().abs() };
+                manager.set_morph_weight(i, weight);
+            }
+            manager.apply_morphs(&mut bones, &mut positions);
+            assert_close(&positions, &dense_positions(&manager));
+        }
+    }
+
+    #[test]
+    fn clearing_weights_should_restore_base_positions() {
+        let mut manager = manager();
+        manager.set_base_positions(base_positions());
+        let mut bones = BoneManager::new();
+        let mut positions = vec![Vec3::ZERO; VERTEX_COUNT];
+
+        manager.set_morph_weight(6, 0.8);
+        manager.set_morph_weight(3, 0.3);
+        manager.apply_morphs(&mut bones, &mut positions);
+        manager.reset_all_weights();
+        manager.apply_morphs(&mut bones, &mut positions);
+
+        assert_close(&positions, &base_positions());
+    }
+
+    #[test]
+    fn weight_access_and_unchanged_edits_should_keep_graph() {
+        let mut manager = manager();
+        manager.set_base_positions(base_positions());
+        let mut positions = vec![Vec3::ZERO; VERTEX_COUNT];
+        manager.set_morph_weight(5, 0.6);
+        manager.apply_morphs(&mut BoneManager::new(), &mut positions);
+
+        manager.get_morph_mut(2).unwrap().set_weight(0.4);
+        manager.edit_morph(5, |morph| morph.group_offsets[0].influence = 0.5);
+        manager.edit_morph(1, |_| ());
+
+        assert!(manager.graph.get().is_some());
+        assert!(manager.applied_weights.iter().any(|&w| w != 0.0));
+    }
+
+    #[test]
+    fn edited_vertex_offsets_should_match_dense_application() {
+        let mut manager = manager();
+        manager.set_base_positions(base_positions());
+        let mut bones = BoneManager::new();
+        let mut positions = vec![Vec3::ZERO; VERTEX_COUNT];
+        manager.set_morph_weight(5, 0.7);
+        manager.set_morph_weight(0, 0.3);
+        manager.apply_morphs(&mut bones, &mut positions);
+
+        manager.edit_morph(0, |morph| {
+            for offset in &mut morph.vertex_offsets {
+                offset.offset *= -2.0;
+            }
+        });
+        assert!(manager.graph.get().is_some());
+        manager.apply_morphs(&mut bones, &mut positions);
+
+        assert_close(&positions, &dense_positions(&manager));
+    }
+
+    #[test]
+    fn edited_group_offsets_should_rebuild_graph() {
+        let mut manager = manager();
+        manager.set_morph_weight(5, 1.0);
+        let mut out = vec![0.0; manager.morph_count()];
+        manager.compute_effective_weights_into(&mut out);
+        assert!((out[0] - 0.5).abs() < 1e-6);
+
+        manager.edit_morph(5, |morph| morph.group_offsets[0].influence = 0.25);
+        assert!(manager.graph.get().is_none());
+        manager.compute_effective_weights_into(&mut out);
+        assert!((out[0] - 0.25).abs() < 1e-6);
+    }
+
+    #[test]
+    fn renamed_morph_should_be_found_by_new_name() {
+        let mut manager = manager();
+        manager.edit_morph(3, |morph| morph.name = "smile".to_string());
+
+        assert_eq!(manager.find_morph_by_name("smile"), Some(3));
+        assert_eq!(manager.find_morph_by_name("v3"), None);
+    }
+}
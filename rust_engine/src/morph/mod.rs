@@ -1,5 +1,6 @@
 //! Morph 变形系统
 
+mod graph;
 mod manager;
 mod morph;
 
@@ -25,7 +26,7 @@ pub enum MorphType {
 }
 
 /// 顶点 Morph 偏移
-#[derive(Clone, Debug)]
+#[derive(Clone, Debug, PartialEq)]
 pub struct VertexMorphOffset {
     pub vertex_index: u32,
     pub offset: Vec3,
@@ -57,7 +58,7 @@ pub struct MaterialMorphOffset {
 }
 
 /// UV Morph 偏移
-#[derive(Clone, Debug)]
+#[derive(Clone, Debug, PartialEq)]
 pub struct UvMorphOffset {
     pub vertex_index: u32,
     /// UV 偏移 (x, y 为主 UV 偏移，z, w 备用)
@@ -65,7 +66,7 @@ pub struct UvMorphOffset {
 }
 
 /// Group Morph 子项
-#[derive(Clone, Debug)]
+#[derive(Clone, Debug, PartialEq)]
 pub struct GroupMorphOffset {
     pub morph_index: u32,
     pub influence: f32,
@@ -0,0 +1,174 @@
+//! 物理细节等级（LOD）
+//!
+//! 中距离模型降频步进（1/2、1/4），固定步长至多放大到 1/30 秒，只减少每次步进的子步数；
+//! 两次步进之间按父骨骼局部空间插值物理骨骼姿势，远距离模型冻结在最后一次模拟的姿势。
+//! 局部空间保存姿势使动画驱动的父骨骼继续移动时，头发/裙摆仍跟随身体而不脱离。
+
+use glam::{Quat, Vec3};
+
+/// 物理细节等级，与 Java 侧 PhysicsLod 的 native 等级一一对应
+#[derive(Clone, Copy, Debug, Default, PartialEq, Eq)]
+pub enum PhysicsLod {
+    /// 每帧步进
+    #[default]
+    Full,
+    /// 每 2 帧步进一次
+    Half,
+    /// 每 4 帧步进一次
+    Quarter,
+    /// 不再步进，物理骨骼保持最后一次模拟的姿势
+    Frozen,
+}
+
+impl PhysicsLod {
+    pub fn from_level(level: i32) -> Self {
+        match level {
+            1 => PhysicsLod::Half,
+            2 => PhysicsLod::Quarter,
+            3 => PhysicsLod::Frozen,
+            _ => PhysicsLod::Full,
+        }
+    }
+
+    /// 步进间隔帧数；冻结时为 None
+    pub fn step_interval(self) -> Option<u32> {
+        match self {
+            PhysicsLod::Full => Some(1),
+            PhysicsLod::Half => Some(2),
+            PhysicsLod::Quarter => Some(4),
+            PhysicsLod::Frozen => None,
+        }
+    }
+}
+
+/// 降频步进门控：累计跳过帧的时间，到达间隔时一次性交给物理步进
+#[derive(Clone, Copy, Debug, Default)]
+pub struct PhysicsRateGate {
+    frames_since_step: u32,
+    pending: f32,
+}
+
+impl PhysicsRateGate {
+    /// 推进一帧；本帧需要步进时返回累计的步进时长
+    pub fn advance(&mut self, lod: PhysicsLod, elapsed: f32) -> Option<f32> {
+        let Some(interval) = lod.step_interval() else {
+            self.frames_since_step = 0;
+            self.pending = 0.0;
+            return None;
+        };
+        self.pending += elapsed;
+        self.frames_since_step += 1;
+        if self.frames_since_step < interval {
+            return None;
+        }
+        let delta = self.pending;
+        self.frames_since_step = 0;
+        self.pending = 0.0;
+        Some(delta)
+    }
+
+    /// 当前帧在上一次与最新一次模拟姿势之间的插值系数
+    ///
+    /// 步进帧取 1/间隔，之后逐帧增加，下次步进前一帧恰好到达最新姿势。
+    pub fn blend_alpha(&self, lod: PhysicsLod) -> f32 {
+        match lod.step_interval() {
+            Some(interval) => ((self.frames_since_step + 1) as f32 / interval as f32).min(1.0),
+            None => 1.0,
+        }
+    }
+}
+
+/// 最近两次模拟得到的物理骨骼局部姿势（相对父骨骼的平移与旋转）
+#[derive(Debug, Default)]
+pub struct PhysicsPoseHistory {
+    bones: Vec<usize>,
+    previous: Vec<(Vec3, Quat)>,
+    current: Vec<(Vec3, Quat)>,
+}
+
+impl PhysicsPoseHistory {
+    /// 设置物理骨骼（须按父骨骼先于子骨骼的顺序），清空已有姿势
+    pub fn set_bones(&mut self, bones: Vec<usize>) {
+        self.bones = bones;
+        self.previous.clear();
+        self.current.clear();
+    }
+
+    pub fn bones(&self) -> &[usize] {
+        &self.bones
+    }
+
+    /// 是否已记录过模拟姿势
+    pub fn has_pose(&self) -> bool {
+        !self.bones.is_empty() && self.current.len() == self.bones.len()
+    }
+
+    /// 记录一次模拟结果，sample 按骨骼索引给出局部姿势；首次记录时上一姿势等于本次
+    pub fn capture(&mut self, mut sample: impl FnMut(usize) -> (Vec3, Quat)) {
+        std::mem::swap(&mut self.previous, &mut self.current);
+        self.current.clear();
+        for &bone in &self.bones {
+            self.current.push(sample(bone));
+        }
+        if self.previous.len() != self.current.len() {
+            self.previous.clone_from(&self.current);
+        }
+    }
+
+    /// 第 slot 根物理骨骼在两次模拟姿势之间的插值
+    pub fn blended(&self, slot: usize, alpha: f32) -> (Vec3, Quat) {
+        let (from_translation, from_rotation) = self.previous[slot];
+        let (to_translation, to_rotation) = self.current[slot];
+        if alpha >= 1.0 {
+            return (to_translation, to_rotation);
+        }
+        (
+            from_translation.lerp(to_translation, alpha),
+            from_rotation.slerp(to_rotation, alpha),
+        )
+    }
+
+    pub fn memory_usage(&self) -> u64 {
+        use std::mem::size_of;
+        (self.bones.capacity() * size_of::<usize>()
+            + (self.previous.capacity() + self.current.capacity()) * size_of::<(Vec3, Quat)>())
+            as u64
+    }
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+
+    #[test]
+    fn rate_gate_should_accumulate_skipped_frames_into_one_step() {
+        let mut gate = PhysicsRateGate::default();
+
+        assert_eq!(gate.advance(PhysicsLod::Quarter, 0.01), None);
+        assert_eq!(gate.blend_alpha(PhysicsLod::Quarter), 0.5);
+        assert_eq!(gate.advance(PhysicsLod::Quarter, 0.01), None);
+        assert_eq!(gate.advance(PhysicsLod::Quarter, 0.01), None);
+        let delta = gate.advance(PhysicsLod::Quarter, 0.01).unwrap();
+        assert!((delta - 0.04).abs() < 1e-6);
+        assert_eq!(gate.blend_alpha(PhysicsLod::Quarter), 0.25);
+
+        assert_eq!(gate.advance(PhysicsLod::Full, 0.016), Some(0.016));
+        assert_eq!(gate.advance(PhysicsLod::Frozen, 0.016), None);
+        assert_eq!(gate.blend_alpha(PhysicsLod::Frozen), 1.0);
+    }
+
+    #[test]
+    fn pose_history_should_interpolate_between_last_two_captures() {
+        let mut history = PhysicsPoseHistory::default();
+        history.set_bones(vec![3]);
+        assert!(!history.has_pose());
+
+        history.capture(|_| (Vec3::ZERO, Quat::IDENTITY));
+        assert!(history.has_pose());
+        assert_eq!(history.blended(0, 0.5).0, Vec3::ZERO);
+
+        history.capture(|bone| (Vec3::new(bone as f32 - 1.0, 0.0, 0.0), Quat::IDENTITY));
+        assert_eq!(history.blended(0, 0.5).0, Vec3::new(1.0, 0.0, 0.0));
+        assert_eq!(history.blended(0, 1.0).0, Vec3::new(2.0, 0.0, 0.0));
+    }
+}
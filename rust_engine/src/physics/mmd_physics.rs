@@ -15,6 +15,25 @@ use super::config::get_config;
 use super::mmd_joint::MmdJointData;
 use super::mmd_rigid_body::{MmdRigidBodyData, PhysicsMode};
 
+/// 降频步进允许的最大固定步长（秒）；更大的步长会让关节链在约束求解中发散
+const MAX_REDUCED_RATE_FIXED_DT: f32 = 1.0 / 30.0;
+
+/// 计算降频步进的（最大子步数，固定步长）
+///
+/// 全频时沿用配置的子步数与 1/fps 步长。降频时步长随间隔放大但不超过 1/30 秒（且不小于 1/fps），
+/// 子步数只取覆盖一个步进间隔所需的数量，省下的是子步而不是求解精度。
+fn reduced_rate_step(fps: f32, max_substep_count: i32, rate_divisor: u32) -> (i32, f32) {
+    let frame_dt = 1.0 / fps;
+    let divisor = rate_divisor.max(1);
+    if divisor == 1 {
+        return (max_substep_count, frame_dt);
+    }
+    let interval = divisor as f32 * frame_dt;
+    let fixed_dt = interval.min(MAX_REDUCED_RATE_FIXED_DT.max(frame_dt));
+    let substeps = (interval / fixed_dt - 1e-4).ceil() as i32;
+    (substeps.clamp(1, max_substep_count.max(1)), fixed_dt)
+}
+
 /// MMD 物理世界管理器（Bullet3 引擎）
 ///
 /// 移植自 babylon-mmd，管理 Bullet3 世界、刚体、关节。
@@ -301,10 +320,11 @@ impl MMDPhysics {
     ///
     /// Bullet3 没有内置全局速度限制，需在每步后手动截断超速刚体，
     /// 防止卡顿帧或极端力导致的物理爆炸。
-    pub fn step_simulation(&self, delta_time: f32) {
-        let fixed_dt = 1.0 / self.fps;
-        self.world
-            .step(delta_time, self.max_substep_count, fixed_dt);
+    /// rate_divisor > 1 表示物理 LOD 降频，步长与子步数见 [`reduced_rate_step`]。
+    pub fn step_simulation(&self, delta_time: f32, rate_divisor: u32) {
+        let (max_substeps, fixed_dt) =
+            reduced_rate_step(self.fps, self.max_substep_count, rate_divisor);
+        self.world.step(delta_time, max_substeps, fixed_dt);
 
         // 速度钳制
         let config = get_config();
@@ -403,6 +423,11 @@ impl MMDPhysics {
         }
     }
 
+    /// 丢弃上一帧模型位置（冻结后恢复步进时，避免把冻结期间的位移当作瞬时速度）
+    pub fn forget_model_motion(&mut self) {
+        self.prev_model_position = None;
+    }
+
     /// 设置重力
     pub fn set_gravity(&self, x: f32, y: f32, z: f32) {
         self.world.set_gravity(x, y, z);
@@ -492,3 +517,107 @@ impl Drop for MMDPhysics {
         }
     }
 }
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+    use crate::physics::bullet_ffi::{
+        BulletConstraint, BulletRigidBody, BulletShape, RigidBodyInfo, BT_CONSTRAINT_STOP_ERP,
+    };
+    use crate::physics::PhysicsLod;
+
+    const FPS: f32 = 60.0;
+    const LINK_SPACING: f32 = 0.5;
+
+    #[test]
+    fn reduced_rate_should_cap_fixed_step_and_cut_substeps() {
+        assert_eq!(reduced_rate_step(FPS, 5, 1), (5, 1.0 / FPS));
+
+        let (half_substeps, half_dt) = reduced_rate_step(FPS, 5, 2);
+        assert_eq!(half_substeps, 1);
+        assert!((half_dt - 1.0 / 30.0).abs() < 1e-6);
+
+        let (quarter_substeps, quarter_dt) = reduced_rate_step(FPS, 5, 4);
+        assert_eq!(quarter_substeps, 2);
+        assert!((quarter_dt - 1.0 / 30.0).abs() < 1e-6);
+
+        // 物理帧率低于 30 时不把步长缩到 1/fps 以下
+        assert_eq!(reduced_rate_step(20.0, 5, 4).1, 1.0 / 20.0);
+    }
+
+    fn link_info(mass: f32, translation: Vec3) -> RigidBodyInfo {
+        RigidBodyInfo {
+            mass,
+            linear_damping: 0.5,
+            angular_damping: 0.5,
+            friction: 0.5,
+            restitution: 0.0,
+            additional_damping: true,
+            is_kinematic: mass == 0.0,
+            disable_deactivation: true,
+            no_contact_response: false,
+            initial_transform: Mat4::from_translation(translation),
+        }
+    }
+
+    /// 1/4 频率步进一条 6 节关节链，链节不应脱离关节或出现非有限值
+    #[test]
+    fn quarter_rate_joint_chain_should_stay_stable() {
+        let world = BulletWorld::new(0.0, -98.0, 0.0).unwrap();
+        let shape = BulletShape::sphere(0.1).unwrap();
+        let links: Vec<BulletRigidBody> = (0..6)
+            .map(|i| {
+                let mass = if i == 0 { 0.0 } else { 1.0 };
+                let position = Vec3::new(i as f32 * LINK_SPACING, 0.0, 0.0);
+                BulletRigidBody::new(&link_info(mass, position), &shape).unwrap()
+            })
+            .collect();
+        for link in &links {
+            world.add_rigid_body(link, 1, 0);
+        }
+        let half = Vec3::new(LINK_SPACING * 0.5, 0.0, 0.0);
+        let joints: Vec<BulletConstraint> = links
+            .windows(2)
+            .map(|pair| {
+                let joint = BulletConstraint::new_6dof_spring(
+                    &pair[0],
+                    &pair[1],
+                    Mat4::from_translation(half),
+                    Mat4::from_translation(-half),
+                    true,
+                )
+                .unwrap();
+                for axis in 0..6 {
+                    joint.set_param(BT_CONSTRAINT_STOP_ERP, 0.475, axis);
+                }
+                joint.set_linear_lower_limit(0.0, 0.0, 0.0);
+                joint.set_linear_upper_limit(0.0, 0.0, 0.0);
+                joint.set_angular_lower_limit(-1.0, -1.0, -1.0);
+                joint.set_angular_upper_limit(1.0, 1.0, 1.0);
+                world.add_constraint(&joint, true);
+                joint
+            })
+            .collect();
+
+        let divisor = PhysicsLod::Quarter.step_interval().unwrap();
+        let (max_substeps, fixed_dt) = reduced_rate_step(FPS, 5, divisor);
+        for _ in 0..120 {
+            world.step(divisor as f32 / FPS, max_substeps, fixed_dt);
+        }
+
+        for pair in links.windows(2) {
+            let (a, b) = (pair[0].get_position(), pair[1].get_position());
+            assert!(b.is_finite() && pair[1].get_linear_velocity().is_finite());
+            assert!((a.distance(b) - LINK_SPACING).abs() < LINK_SPACING * 0.2);
+        }
+        // 链条在重力下垂落，末端应明显低于固定端
+        assert!(links[5].get_position().y < -LINK_SPACING);
+
+        for joint in &joints {
+            world.remove_constraint(joint);
+        }
+        for link in &links {
+            world.remove_rigid_body(link);
+        }
+    }
+}
@@ -4,9 +4,11 @@ use glam::{Mat4, Vec3};
 
 pub mod bullet_ffi;
 pub mod config;
+mod lod;
 mod mmd_joint;
 mod mmd_physics;
 mod mmd_rigid_body;
+pub mod scheduler;
 
 /// Z 轴翻转变换（左手 ↔ 右手坐标系转换，与 saba InvZ 一致）
 ///
@@ -20,6 +22,8 @@ pub(crate) fn inv_z(m: Mat4) -> Mat4 {
 
 pub use bullet_ffi::{get_alloc_stats, BulletAllocStats};
 pub use config::{get_config, reset_config, set_config, PhysicsConfig};
+pub use lod::{PhysicsLod, PhysicsPoseHistory, PhysicsRateGate};
 pub use mmd_joint::MmdJointData;
 pub use mmd_physics::MMDPhysics;
 pub use mmd_rigid_body::{MmdRigidBodyData, PhysicsMode};
+pub use scheduler::PhysicsStepStats;
@@ -0,0 +1,74 @@
+//! 物理调度
+//!
+//! 每个模型拥有独立的 Bullet 世界（物理在模型局部空间运行，世界之间无交互），
+//! 因此帧级批量更新时各世界可以在线程池中并行步进。固定时间步与渲染插值由
+//! Bullet 的 stepSimulation（固定子步 + MotionState 插值）完成。
+//! 本模块负责：记录各模型的物理步进耗时，并据此安排并行任务的提交顺序。
+
+/// 步进耗时平滑系数（指数滑动平均中新样本的占比）
+const STEP_TIME_SMOOTHING: f32 = 0.2;
+
+/// 单个模型的物理步进耗时统计
+#[derive(Clone, Copy, Debug, Default)]
+pub struct PhysicsStepStats {
+    last_ms: f32,
+    average_ms: f32,
+    sampled: bool,
+}
+
+impl PhysicsStepStats {
+    /// 记录一次步进耗时（毫秒）
+    pub fn record(&mut self, elapsed_ms: f32) {
+        self.last_ms = elapsed_ms;
+        self.average_ms = if self.sampled {
+            self.average_ms + (elapsed_ms - self.average_ms) * STEP_TIME_SMOOTHING
+        } else {
+            elapsed_ms
+        };
+        self.sampled = true;
+    }
+
+    /// 最近一次步进耗时（毫秒）
+    pub fn last_ms(&self) -> f32 {
+        self.last_ms
+    }
+
+    /// 平滑后的步进耗时（毫秒），尚未步进过时为 0
+    pub fn average_ms(&self) -> f32 {
+        self.average_ms
+    }
+}
+
+/// 按预计耗时从高到低排列任务下标（最长任务优先）
+///
+/// 耗时差异大的模型混在一起时，先提交重任务能让线程池尾部只剩轻任务，
+/// 减少最后一个线程单独拖尾的时间。
+pub fn schedule_order(costs: &[f32]) -> Vec<usize> {
+    let mut order: Vec<usize> = (0..costs.len()).collect();
+    order.sort_by(|&a, &b| costs[b].total_cmp(&costs[a]));
+    order
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+
+    #[test]
+    fn step_stats_should_start_from_first_sample_and_smooth_later_ones() {
+        let mut stats = PhysicsStepStats::default();
+        assert_eq!(stats.average_ms(), 0.0);
+
+        stats.record(2.0);
+        assert_eq!(stats.average_ms(), 2.0);
+
+        stats.record(1.0);
+        assert_eq!(stats.last_ms(), 1.0);
+        assert!((stats.average_ms() - 1.8).abs() < 1e-6);
+    }
+
+    #[test]
+    fn schedule_order_should_put_expensive_models_first() {
+        assert_eq!(schedule_order(&[0.2, 1.5, 0.0, 0.7]), vec![1, 3, 0, 2]);
+        assert!(schedule_order(&[]).is_empty());
+    }
+}
@@ -1,8 +1,10 @@
 //! 顶点蒙皮计算
 
 mod skinning;
+mod soa;
 
 pub use skinning::{compute_skinning, SkinningContext};
+pub use soa::SoaSkinning;
 
 use crate::model::VertexWeight;
 use glam::{Mat4, Vec3};
@@ -0,0 +1,335 @@
+//! 按顶点分块的 SoA 线性混合蒙皮
+//!
+//! 顶点按 8 个一组（LANES）重排骨骼索引、权重与静止法线，BDEF1/BDEF2/BDEF4/QDEF 统一补齐为 4 个影响。
+//! 内层循环对同一组的 8 个顶点做相同运算，骨骼矩阵按索引逐通道取出（gather），由编译器向量化为
+//! SSE2/NEON（开启 AVX 时为 8 宽），不依赖运行时指令集检测。结果直接写入交错 xyz 的导出缓冲区。
+//! SDEF 顶点在此处输出占位结果，由调用方在单独的标量通道中覆盖。
+
+use glam::{Mat4, Vec3};
+use rayon::prelude::*;
+
+use crate::model::VertexWeight;
+
+/// 每组顶点数
+pub const LANES: usize = 8;
+/// 每个顶点的骨骼影响数
+const INFLUENCES: usize = 4;
+/// 并行时每个任务至少处理的分组数，避免任务切分开销超过计算本身
+const MIN_BLOCKS_PER_TASK: usize = 64;
+/// 无效骨骼索引（映射到单位矩阵）
+const NO_BONE: u32 = u32::MAX;
+
+/// 3x4 仿射矩阵（行主序）
+type AffineRows = [f32; 12];
+
+pub struct SoaSkinning {
+    vertex_count: usize,
+    /// [分组][影响][通道]
+    bones: Vec<u32>,
+    weights: Vec<f32>,
+    /// [分组][分量 xyz][通道]
+    normals: Vec<f32>,
+    sdef_vertices: Vec<u32>,
+    /// 本帧骨骼矩阵，末尾追加一个单位矩阵
+    matrices: Vec<AffineRows>,
+}
+
+impl SoaSkinning {
+    pub fn new(weights: &[VertexWeight], rest_normals: &[Vec3]) -> Self {
+        let vertex_count = weights.len().min(rest_normals.len());
+        let blocks = (vertex_count + LANES - 1) / LANES;
+        let mut skinning = Self {
+            vertex_count,
+            bones: vec![NO_BONE; blocks * INFLUENCES * LANES],
+            weights: vec![0.0; blocks * INFLUENCES * LANES],
+            normals: vec![0.0; blocks * 3 * LANES],
+            sdef_vertices: Vec::new(),
+            matrices: Vec::new(),
+        };
+
+        for vertex in 0..vertex_count {
+            let block = vertex / LANES;
+            let lane = vertex % LANES;
+            let mut influences = [(-1i32, 0.0f32); INFLUENCES];
+            match &weights[vertex] {
+                VertexWeight::Bdef1 { bone } => influences[0] = (*bone, 1.0),
+                VertexWeight::Bdef2 { bones, weight } => {
+                    influences[0] = (bones[0], *weight);
+                    influences[1] = (bones[1], 1.0 - *weight);
+                }
+                VertexWeight::Bdef4 { bones, weights } | VertexWeight::Qdef { bones, weights } => {
+                    for i in 0..INFLUENCES {
+                        influences[i] = (bones[i], weights[i]);
+                    }
+                }
+                VertexWeight::Sdef { .. } => skinning.sdef_vertices.push(vertex as u32),
+            }
+            for (i, (bone, weight)) in influences.into_iter().enumerate() {
+                let slot = (block * INFLUENCES + i) * LANES + lane;
+                skinning.bones[slot] = if bone < 0 { NO_BONE } else { bone as u32 };
+                skinning.weights[slot] = weight;
+            }
+            let normal = rest_normals[vertex];
+            let base = block * 3 * LANES + lane;
+            skinning.normals[base] = normal.x;
+            skinning.normals[base + LANES] = normal.y;
+            skinning.normals[base + 2 * LANES] = normal.z;
+        }
+        skinning
+    }
+
+    pub fn vertex_count(&self) -> usize {
+        self.vertex_count
+    }
+
+    /// 需要单独处理的 SDEF 顶点
+    pub fn sdef_vertices(&self) -> &[u32] {
+        &self.sdef_vertices
+    }
+
+    /// 把本帧蒙皮矩阵转为行主序 3x4，越界索引统一落到末尾的单位矩阵
+    pub fn prepare_matrices(&mut self, matrices: &[Mat4]) {
+        self.matrices.clear();
+        self.matrices.extend(matrices.iter().map(affine_rows));
+        self.matrices.push(affine_rows(&Mat4::IDENTITY));
+    }
+
+    /// 对 positions（已应用 Morph）蒙皮，结果按交错 xyz 写入 out_positions / out_normals
+    pub fn skin(
+        &self,
+        positions: &[Vec3],
+        out_positions: &mut [f32],
+        out_normals: &mut [f32],
+        parallel: bool,
+    ) {
+        let count = self
+            .vertex_count
+            .min(positions.len())
+            .min(out_positions.len() / 3)
+            .min(out_normals.len() / 3);
+        if count == 0 || self.matrices.is_empty() {
+            return;
+        }
+        let out_positions = &mut out_positions[..count * 3];
+        let out_normals = &mut out_normals[..count * 3];
+
+        if parallel {
+            out_positions
+                .par_chunks_mut(LANES * 3)
+                .zip(out_normals.par_chunks_mut(LANES * 3))
+                .enumerate()
+                .with_min_len(MIN_BLOCKS_PER_TASK)
+                .for_each(|(block, (pos_out, norm_out))| {
+                    self.skin_block(block, positions, pos_out, norm_out);
+                });
+        } else {
+            for (block, (pos_out, norm_out)) in out_positions
+                .chunks_mut(LANES * 3)
+                .zip(out_normals.chunks_mut(LANES * 3))
+                .enumerate()
+            {
+                self.skin_block(block, positions, pos_out, norm_out);
+            }
+        }
+    }
+
+    #[inline]
+    fn skin_block(
+        &self,
+        block: usize,
+        positions: &[Vec3],
+        pos_out: &mut [f32],
+        norm_out: &mut [f32],
+    ) {
+        let lanes = pos_out.len() / 3;
+        let first = block * LANES;
+        let identity = (self.matrices.len() - 1) as u32;
+
+        let mut px = [0.0f32; LANES];
+        let mut py = [0.0f32; LANES];
+        let mut pz = [0.0f32; LANES];
+        for lane in 0..lanes {
+            let p = positions[first + lane];
+            px[lane] = p.x;
+            py[lane] = p.y;
+            pz[lane] = p.z;
+        }
+        let normal_base = block * 3 * LANES;
+        let nx = &self.normals[normal_base..normal_base + LANES];
+        let ny = &self.normals[normal_base + LANES..normal_base + 2 * LANES];
+        let nz = &self.normals[normal_base + 2 * LANES..normal_base + 3 * LANES];
+
+        let mut ox = [0.0f32; LANES];
+        let mut oy = [0.0f32; LANES];
+        let mut oz = [0.0f32; LANES];
+        let mut mx = [0.0f32; LANES];
+        let mut my = [0.0f32; LANES];
+        let mut mz = [0.0f32; LANES];
+        for influence in 0..INFLUENCES {
+            let slot = (block * INFLUENCES + influence) * LANES;
+            let bones = &self.bones[slot..slot + LANES];
+            let weights = &self.weights[slot..slot + LANES];
+            for lane in 0..LANES {
+                let m = &self.matrices[bones[lane].min(identity) as usize];
+                let w = weights[lane];
+                ox[lane] += w * (m[0] * px[lane] + m[1] * py[lane] + m[2] * pz[lane] + m[3]);
+                oy[lane] += w * (m[4] * px[lane] + m[5] * py[lane] + m[6] * pz[lane] + m[7]);
+                oz[lane] += w * (m[8] * px[lane] + m[9] * py[lane] + m[10] * pz[lane] + m[11]);
+                mx[lane] += w * (m[0] * nx[lane] + m[1] * ny[lane] + m[2] * nz[lane]);
+                my[lane] += w * (m[4] * nx[lane] + m[5] * ny[lane] + m[6] * nz[lane]);
+                mz[lane] += w * (m[8] * nx[lane] + m[9] * ny[lane] + m[10] * nz[lane]);
+            }
+        }
+
+        // 与 glam normalize_or_zero 一致：长度为 0 或非有限时输出零向量
+        for lane in 0..LANES {
+            let length_sq = mx[lane] * mx[lane] + my[lane] * my[lane] + mz[lane] * mz[lane];
+            let inv = 1.0 / length_sq.sqrt();
+            let scale = if inv.is_finite() && inv > 0.0 { inv } else { 0.0 };
+            mx[lane] *= scale;
+            my[lane] *= scale;
+            mz[lane] *= scale;
+        }
+
+        for lane in 0..lanes {
+            pos_out[lane * 3] = ox[lane];
+            pos_out[lane * 3 + 1] = oy[lane];
+            pos_out[lane * 3 + 2] = oz[lane];
+            norm_out[lane * 3] = mx[lane];
+            norm_out[lane * 3 + 1] = my[lane];
+            norm_out[lane * 3 + 2] = mz[lane];
+        }
+    }
+
+    pub fn memory_usage(&self) -> u64 {
+        use std::mem::size_of;
+        (self.bones.capacity() * size_of::<u32>()
+            + (self.weights.capacity() + self.normals.capacity()) * size_of::<f32>()
+            + self.sdef_vertices.capacity() * size_of::<u32>()
+            + self.matrices.capacity() * size_of::<AffineRows>()) as u64
+    }
+}
+
+fn affine_rows(m: &Mat4) -> AffineRows {
+    [
+        m.x_axis.x, m.y_axis.x, m.z_axis.x, m.w_axis.x, //
+        m.x_axis.y, m.y_axis.y, m.z_axis.y, m.w_axis.y, //
+        m.x_axis.z, m.y_axis.z, m.z_axis.z, m.w_axis.z,
+    ]
+}
+
+#[cfg(test)]
+mod tests {
+    use super::*;
+    use glam::Quat;
+
+    /// 逐顶点 glam 参考实现（与 MmdModel 原 AoS 路径一致）
+    fn reference(
+        position: Vec3,
+        normal: Vec3,
+        weight: &VertexWeight,
+        matrices: &[Mat4],
+    ) -> (Vec3, Vec3) {
+        let get = |bone: i32| {
+            matrices
+                .get(bone as usize)
+                .copied()
+                .unwrap_or(Mat4::IDENTITY)
+        };
+        let influences: Vec<(Mat4, f32)> = match weight {
+            VertexWeight::Bdef1 { bone } => vec![(get(*bone), 1.0)],
+            VertexWeight::Bdef2 { bones, weight } => {
+                vec![(get(bones[0]), *weight), (get(bones[1]), 1.0 - *weight)]
+            }
+            VertexWeight::Bdef4 { bones, weights } | VertexWeight::Qdef { bones, weights } => {
+                (0..4).map(|i| (get(bones[i]), weights[i])).collect()
+            }
+            VertexWeight::Sdef { .. } => unreachable!(),
+        };
+        let mut pos = Vec3::ZERO;
+        let mut norm = Vec3::ZERO;
+        for (m, w) in influences {
+            pos += m.transform_point3(position) * w;
+            norm += m.transform_vector3(normal) * w;
+        }
+        (pos, norm.normalize_or_zero())
+    }
+
+    fn matrices() -> Vec<Mat4> {
+        (0..6)
+            .map(|i| {
+                Mat4::from_scale_rotation_translation(
+                    Vec3::splat(1.0 + i as f32 * 0.1),
+                    Quat::from_rotation_y(i as f32 * 0.4),
+                    Vec3::new(i as f32, -(i as f32) * 0.5, 2.0),
+                )
+            })
+            .collect()
+    }
+
+    fn weight_of(vertex: usize) -> VertexWeight {
+        match vertex % 5 {
+            0 => VertexWeight::Bdef1 { bone: (vertex % 6) as i32 },
+            1 => VertexWeight::Bdef2 {
+                bones: [1, 4],
+                weight: 0.3,
+            },
+            2 => VertexWeight::Bdef4 {
+                bones: [0, 2, 3, 5],
+                weights: [0.1, 0.2, 0.3, 0.4],
+            },
+            3 => VertexWeight::Qdef {
+                bones: [5, -1, 2, 99],
+                weights: [0.25, 0.25, 0.25, 0.25],
+            },
+            _ => VertexWeight::Bdef1 { bone: -1 },
+        }
+    }
+
+    #[test]
+    fn kernel_should_match_per_vertex_reference() {
+        // 19 个顶点：两个完整分组 + 不满的尾组
+        let count = 19;
+        let weights: Vec<VertexWeight> = (0..count).map(weight_of).collect();
+        let positions: Vec<Vec3> = (0..count)
+            .map(|i| Vec3::new(i as f32 * 0.3, 1.0 - i as f32 * 0.1, 0.5))
+            .collect();
+        let normals: Vec<Vec3> = (0..count)
+            .map(|i| Vec3::new(0.0, 1.0, i as f32 * 0.05).normalize())
+            .collect();
+        let matrices = matrices();
+
+        let mut skinning = SoaSkinning::new(&weights, &normals);
+        skinning.prepare_matrices(&matrices);
+        for parallel in [false, true] {
+            let mut out_pos = vec![f32::NAN; count * 3];
+            let mut out_norm = vec![f32::NAN; count * 3];
+            skinning.skin(&positions, &mut out_pos, &mut out_norm, parallel);
+
+            for v in 0..count {
+                let (pos, norm) = reference(positions[v], normals[v], &weights[v], &matrices);
+                let got_pos = Vec3::from_slice(&out_pos[v * 3..]);
+                let got_norm = Vec3::from_slice(&out_norm[v * 3..]);
+                assert!((got_pos - pos).length() < 1e-4, "vertex {}", v);
+                assert!((got_norm - norm).length() < 1e-4, "vertex {}", v);
+            }
+        }
+    }
+
+    #[test]
+    fn sdef_vertices_should_be_listed_for_separate_pass() {
+        let weights = vec![
+            VertexWeight::Bdef1 { bone: 0 },
+            VertexWeight::Sdef {
+                bones: [0, 1],
+                weight: 0.5,
+                c: Vec3::ZERO,
+                r0: Vec3::ZERO,
+                r1: Vec3::ZERO,
+            },
+        ];
+        let skinning = SoaSkinning::new(&weights, &[Vec3::Y, Vec3::Y]);
+        assert_eq!(skinning.sdef_vertices(), &[1]);
+        assert_eq!(skinning.vertex_count(), 2);
+    }
+}